@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/**
+ * Entry point of the benchmarks jar, accepting the usual JMH command line options.
+ * <br/>
+ * Unless a result format is given with <em>-rf</em>, results are also written as JSON
+ * to <em>achilles-benchmarks.json</em> so that runs can be compared by tooling
+ */
+public class BenchmarkRunner {
+
+    public static final String DEFAULT_RESULT_FILE = "achilles-benchmarks.json";
+
+    public static void main(String[] args) throws Exception {
+        final List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(Arrays.asList("-rf", "json"));
+            if (!arguments.contains("-rff")) {
+                arguments.addAll(Arrays.asList("-rff", DEFAULT_RESULT_FILE));
+            }
+        }
+        new Runner(new CommandLineOptions(arguments.toArray(new String[arguments.size()]))).run();
+    }
+}
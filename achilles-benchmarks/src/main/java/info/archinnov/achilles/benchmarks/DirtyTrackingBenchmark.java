@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import info.archinnov.achilles.benchmarks.entity.CollectionsEntity;
+import info.archinnov.achilles.benchmarks.entity.SimpleEntity;
+import info.archinnov.achilles.benchmarks.support.BenchmarkContext;
+import info.archinnov.achilles.benchmarks.support.EntityFixtures;
+import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
+import info.archinnov.achilles.internal.proxy.EntityInterceptor;
+
+/**
+ * Cost of intercepting setters and collection mutations on a managed entity and recording them in the dirty map.
+ * <br/>
+ * The dirty map is cleared on each invocation so that every call records a fresh change
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DirtyTrackingBenchmark {
+
+    private SimpleEntity simpleProxy;
+    private EntityInterceptor<SimpleEntity> simpleInterceptor;
+    private CollectionsEntity collectionsProxy;
+    private EntityInterceptor<CollectionsEntity> collectionsInterceptor;
+
+    @Setup
+    public void setUp() {
+        final BenchmarkContext context = new BenchmarkContext();
+        final EntityProxifier proxifier = new EntityProxifier();
+
+        final SimpleEntity simple = (SimpleEntity) EntityFixtures.newEntity(EntityFixtures.SIMPLE);
+        simpleProxy = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(simple, context.newContext(simple).getEntityFacade());
+        simpleInterceptor = proxifier.getInterceptor(simpleProxy);
+
+        final CollectionsEntity collections = (CollectionsEntity) EntityFixtures.newEntity(EntityFixtures.COLLECTIONS);
+        collectionsProxy = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(collections, context.newContext(collections).getEntityFacade());
+        collectionsInterceptor = proxifier.getInterceptor(collectionsProxy);
+    }
+
+    @Benchmark
+    public int simpleFieldSetter() {
+        simpleInterceptor.getDirtyMap().clear();
+        simpleProxy.setName("John");
+        simpleProxy.setAge(36);
+        return simpleInterceptor.getDirtyMap().size();
+    }
+
+    @Benchmark
+    public int listElementAtIndex() {
+        collectionsInterceptor.getDirtyMap().clear();
+        collectionsProxy.getTags().set(0, "nosql");
+        return collectionsInterceptor.getDirtyMap().size();
+    }
+
+    @Benchmark
+    public int mapPut() {
+        collectionsInterceptor.getDirtyMap().clear();
+        collectionsProxy.getPreferences().put(4, "FR");
+        return collectionsInterceptor.getDirtyMap().size();
+    }
+}
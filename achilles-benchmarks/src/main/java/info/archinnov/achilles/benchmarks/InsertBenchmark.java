@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import info.archinnov.achilles.benchmarks.support.BenchmarkContext;
+import info.archinnov.achilles.benchmarks.support.EntityFixtures;
+import info.archinnov.achilles.persistence.PersistenceManager;
+
+/**
+ * End to end cost of <em>insert()</em>, which returns a managed proxy, compared to the proxy free <em>insertRaw()</em>.
+ * <br/>
+ * Statements are executed against the in-memory session, which stores the rows without any network round trip
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InsertBenchmark {
+
+    @Param({ EntityFixtures.SIMPLE, EntityFixtures.CLUSTERED, EntityFixtures.COLLECTIONS, EntityFixtures.JSON })
+    public String entity;
+
+    private PersistenceManager manager;
+    private Object instance;
+
+    @Setup
+    public void setUp() {
+        manager = new BenchmarkContext().getManager();
+        instance = EntityFixtures.newEntity(entity);
+    }
+
+    @Benchmark
+    public Object insert() {
+        return manager.insert(instance);
+    }
+
+    @Benchmark
+    public Object insertRaw() {
+        manager.insertRaw(instance);
+        return instance;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import static info.archinnov.achilles.type.OptionsBuilder.noOptions;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.benchmarks.support.BenchmarkContext;
+import info.archinnov.achilles.benchmarks.support.EntityFixtures;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.statement.prepared.PreparedStatementBinder;
+import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+
+/**
+ * Cost of extracting, encoding and binding entity values to INSERT and UPDATE prepared statements.
+ * <br/>
+ * The in-memory prepared statements keep the bound values without serializing them so only the Achilles side is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StatementBindingBenchmark {
+
+    @Param({ EntityFixtures.SIMPLE, EntityFixtures.CLUSTERED, EntityFixtures.COLLECTIONS, EntityFixtures.JSON })
+    public String entity;
+
+    private final PreparedStatementBinder binder = new PreparedStatementBinder();
+    private PersistenceContext.StateHolderFacade stateHolder;
+    private List<PropertyMeta> pms;
+    private PreparedStatement insertPs;
+    private PreparedStatement updatePs;
+
+    @Setup
+    public void setUp() {
+        final BenchmarkContext context = new BenchmarkContext();
+        final Object instance = EntityFixtures.newEntity(entity);
+        final EntityMeta meta = context.getEntityMeta(instance.getClass());
+        stateHolder = context.newContext(instance).getStateHolderFacade();
+        pms = meta.getAllMetasExceptIdAndCounters();
+        final Session session = context.getSession();
+        final PreparedStatementGenerator generator = new PreparedStatementGenerator();
+        insertPs = generator.prepareInsert(session, meta, pms, noOptions());
+        updatePs = generator.prepareUpdateFields(session, meta, pms, noOptions());
+    }
+
+    @Benchmark
+    public BoundStatementWrapper bindForInsert() {
+        return binder.bindForInsert(stateHolder, insertPs, pms);
+    }
+
+    @Benchmark
+    public BoundStatementWrapper bindForUpdate() {
+        return binder.bindForUpdate(stateHolder, updatePs, pms);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import info.archinnov.achilles.internal.utils.UUIDGen;
+
+/**
+ * Throughput of the time UUID and increasing micro timestamp generation as the number of threads grows.
+ * <br/>
+ * The <em>synchronizedTimeUUID</em> baseline reproduces the former single monitor generator, run e.g.
+ * <em>java -jar benchmarks.jar TimeUUIDBenchmark</em> on a multi-core machine to compare both from 1 to 64 threads
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public abstract class TimeUUIDBenchmark {
+
+    @Benchmark
+    public UUID timeUUID() {
+        return UUIDGen.getTimeUUID();
+    }
+
+    @Benchmark
+    public long increasingMicroTimestamp() {
+        return UUIDGen.increasingMicroTimestamp();
+    }
+
+    @Benchmark
+    public long synchronizedTimeUUID(SynchronizedClock clock) {
+        return clock.createTimeSafe();
+    }
+
+    @Threads(1)
+    public static class OneThread extends TimeUUIDBenchmark {
+    }
+
+    @Threads(4)
+    public static class FourThreads extends TimeUUIDBenchmark {
+    }
+
+    @Threads(16)
+    public static class SixteenThreads extends TimeUUIDBenchmark {
+    }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends TimeUUIDBenchmark {
+    }
+
+    @State(Scope.Benchmark)
+    public static class SynchronizedClock {
+
+        private static final long START_EPOCH = -12219292800000L;
+
+        private long lastNanos;
+
+        public synchronized long createTimeSafe() {
+            long nanosSince = (System.currentTimeMillis() - START_EPOCH) * 10000;
+            if (nanosSince > lastNanos) {
+                lastNanos = nanosSince;
+            } else {
+                nanosSince = ++lastNanos;
+            }
+            return nanosSince;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import info.archinnov.achilles.benchmarks.support.BenchmarkContext;
+import info.archinnov.achilles.benchmarks.support.EntityFixtures;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+/**
+ * Cost of encoding entity values to their CQL form and decoding them back, through each property transcoder.
+ * <br/>
+ * The <em>json</em> entity exercises the Jackson based transcoders for non native types
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TranscoderBenchmark {
+
+    @Param({ EntityFixtures.SIMPLE, EntityFixtures.COLLECTIONS, EntityFixtures.JSON })
+    public String entity;
+
+    private List<PropertyMeta> pms;
+    private List<Object> rawValues = new ArrayList<>();
+    private List<Object> encodedValues = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        final BenchmarkContext context = new BenchmarkContext();
+        final Object instance = EntityFixtures.newEntity(entity);
+        final EntityMeta meta = context.getEntityMeta(instance.getClass());
+        pms = meta.getAllMetasExceptIdAndCounters();
+        for (PropertyMeta pm : pms) {
+            final Object rawValue = pm.getValueFromField(instance);
+            rawValues.add(rawValue);
+            encodedValues.add(EntityFixtures.encode(pm, rawValue));
+        }
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) {
+        for (int i = 0; i < pms.size(); i++) {
+            blackhole.consume(EntityFixtures.encode(pms.get(i), rawValues.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for (int i = 0; i < pms.size(); i++) {
+            blackhole.consume(EntityFixtures.decode(pms.get(i), encodedValues.get(i)));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import static info.archinnov.achilles.type.OptionsBuilder.noOptions;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.datastax.driver.core.PreparedStatement;
+import info.archinnov.achilles.benchmarks.support.BenchmarkContext;
+import info.archinnov.achilles.benchmarks.support.PreparedOnceSession;
+import info.archinnov.achilles.benchmarks.support.EntityFixtures;
+import info.archinnov.achilles.inmemory.InMemorySession;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.type.Options;
+
+/**
+ * Cost of generating the UPDATE statement issued on <em>update()</em> for dirty simple fields.
+ * <br/>
+ * Each query is parsed once by a {@link PreparedOnceSession}, so only building the statement and its CQL string
+ * is measured, not the parsing of the in-memory session
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UpdateStatementBenchmark {
+
+    @Param({ EntityFixtures.SIMPLE, EntityFixtures.CLUSTERED, EntityFixtures.JSON })
+    public String entity;
+
+    private final PreparedStatementGenerator generator = new PreparedStatementGenerator();
+    private final Options options = noOptions();
+    private InMemorySession session;
+    private EntityMeta meta;
+    private List<PropertyMeta> dirtyMetas;
+
+    @Setup
+    public void setUp() {
+        final BenchmarkContext context = new BenchmarkContext(new PreparedOnceSession(BenchmarkContext.KEYSPACE));
+        session = context.getSession();
+        meta = context.getEntityMeta(EntityFixtures.entityClass(entity));
+        dirtyMetas = meta.getAllMetasExceptIdAndCounters();
+        // Parse the query once, outside of the measure
+        prepareUpdateFields();
+    }
+
+    @Benchmark
+    public PreparedStatement prepareUpdateFields() {
+        return generator.prepareUpdateFields(session, meta, dirtyMetas, options);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks.entity;
+
+import java.util.UUID;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.EmbeddedId;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Order;
+
+@Entity(table = ClusteredEntity.TABLE_NAME)
+public class ClusteredEntity {
+
+    public static final String TABLE_NAME = "clustered_entity";
+
+    @EmbeddedId
+    private ClusteredKey id;
+
+    @Column
+    private String value;
+
+    public ClusteredEntity() {
+    }
+
+    public ClusteredEntity(ClusteredKey id, String value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    public ClusteredKey getId() {
+        return id;
+    }
+
+    public void setId(ClusteredKey id) {
+        this.id = id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public static class ClusteredKey {
+
+        @Column
+        @Order(1)
+        private Long userId;
+
+        @Column
+        @Order(2)
+        private Integer bucket;
+
+        @Column
+        @Order(3)
+        private UUID messageId;
+
+        public ClusteredKey() {
+        }
+
+        public ClusteredKey(Long userId, Integer bucket, UUID messageId) {
+            this.userId = userId;
+            this.bucket = bucket;
+            this.messageId = messageId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public Integer getBucket() {
+            return bucket;
+        }
+
+        public void setBucket(Integer bucket) {
+            this.bucket = bucket;
+        }
+
+        public UUID getMessageId() {
+            return messageId;
+        }
+
+        public void setMessageId(UUID messageId) {
+            this.messageId = messageId;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks.entity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+
+@Entity(table = CollectionsEntity.TABLE_NAME)
+public class CollectionsEntity {
+
+    public static final String TABLE_NAME = "collections_entity";
+
+    @Id
+    private Long id;
+
+    @Column
+    private List<String> tags;
+
+    @Column
+    private Set<Long> followers;
+
+    @Column
+    private Map<Integer, String> preferences;
+
+    public CollectionsEntity() {
+    }
+
+    public CollectionsEntity(Long id, List<String> tags, Set<Long> followers, Map<Integer, String> preferences) {
+        this.id = id;
+        this.tags = tags;
+        this.followers = followers;
+        this.preferences = preferences;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Set<Long> getFollowers() {
+        return followers;
+    }
+
+    public void setFollowers(Set<Long> followers) {
+        this.followers = followers;
+    }
+
+    public Map<Integer, String> getPreferences() {
+        return preferences;
+    }
+
+    public void setPreferences(Map<Integer, String> preferences) {
+        this.preferences = preferences;
+    }
+}
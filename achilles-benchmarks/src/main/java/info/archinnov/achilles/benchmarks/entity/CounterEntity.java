@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks.entity;
+
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.type.Counter;
+
+@Entity(table = CounterEntity.TABLE_NAME)
+public class CounterEntity {
+
+    public static final String TABLE_NAME = "counter_entity";
+
+    @Id
+    private Long id;
+
+    @Column
+    private String name;
+
+    @Column
+    private Counter views;
+
+    public CounterEntity() {
+    }
+
+    public CounterEntity(Long id, String name, Counter views) {
+        this.id = id;
+        this.name = name;
+        this.views = views;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Counter getViews() {
+        return views;
+    }
+
+    public void setViews(Counter views) {
+        this.views = views;
+    }
+}
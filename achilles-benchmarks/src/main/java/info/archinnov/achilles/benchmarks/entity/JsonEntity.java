@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks.entity;
+
+import java.util.List;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+
+/**
+ * Entity whose non primitive properties are serialized to JSON with Jackson
+ */
+@Entity(table = JsonEntity.TABLE_NAME)
+public class JsonEntity {
+
+    public static final String TABLE_NAME = "json_entity";
+
+    @Id
+    private Long id;
+
+    @Column
+    private Address address;
+
+    @Column
+    private List<Address> previousAddresses;
+
+    public JsonEntity() {
+    }
+
+    public JsonEntity(Long id, Address address, List<Address> previousAddresses) {
+        this.id = id;
+        this.address = address;
+        this.previousAddresses = previousAddresses;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+
+    public void setAddress(Address address) {
+        this.address = address;
+    }
+
+    public List<Address> getPreviousAddresses() {
+        return previousAddresses;
+    }
+
+    public void setPreviousAddresses(List<Address> previousAddresses) {
+        this.previousAddresses = previousAddresses;
+    }
+
+    public static class Address {
+
+        private String street;
+
+        private String city;
+
+        private Integer zipCode;
+
+        public Address() {
+        }
+
+        public Address(String street, String city, Integer zipCode) {
+            this.street = street;
+            this.city = city;
+            this.zipCode = zipCode;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public Integer getZipCode() {
+            return zipCode;
+        }
+
+        public void setZipCode(Integer zipCode) {
+            this.zipCode = zipCode;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks.support;
+
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import info.archinnov.achilles.benchmarks.entity.ClusteredEntity;
+import info.archinnov.achilles.benchmarks.entity.CollectionsEntity;
+import info.archinnov.achilles.benchmarks.entity.CounterEntity;
+import info.archinnov.achilles.benchmarks.entity.JsonEntity;
+import info.archinnov.achilles.benchmarks.entity.SimpleEntity;
+import info.archinnov.achilles.configuration.ArgumentExtractor;
+import info.archinnov.achilles.inmemory.InMemorySession;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.context.SchemaContext;
+import info.archinnov.achilles.internal.metadata.discovery.AchillesBootstrapper;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
+import info.archinnov.achilles.internal.table.EmptyTableMetadataSource;
+import info.archinnov.achilles.internal.utils.ConfigMap;
+import info.archinnov.achilles.persistence.PersistenceManager;
+
+/**
+ * Bootstrap Achilles the same way PersistenceManagerFactory does, on top of an {@link InMemorySession}
+ * whose tables are created from the entity metadata
+ */
+public class BenchmarkContext {
+
+    public static final String KEYSPACE = "benchmarks";
+
+    public static final List<Class<?>> ENTITIES = Arrays.<Class<?>>asList(SimpleEntity.class, ClusteredEntity.class,
+            CollectionsEntity.class, CounterEntity.class, JsonEntity.class);
+
+    private final InMemorySession session;
+    private final ConfigurationContext configContext;
+    private final Map<Class<?>, EntityMeta> entityMetaMap;
+    private final DaoContext daoContext;
+    private final PersistenceContextFactory contextFactory;
+    private final PersistenceManager manager;
+
+    public BenchmarkContext() {
+        this(new InMemorySession(KEYSPACE));
+    }
+
+    public BenchmarkContext(InMemorySession session) {
+        this.session = session;
+        final ConfigMap configMap = new ConfigMap();
+        configMap.put(KEYSPACE_NAME, KEYSPACE);
+        configMap.put(FORCE_TABLE_CREATION, true);
+        final AchillesBootstrapper bootstrapper = new AchillesBootstrapper();
+
+        configContext = new ArgumentExtractor().initConfigContext(configMap);
+        final ParsingResult parsingResult = bootstrapper.buildMetaDatas(configContext, ENTITIES);
+        entityMetaMap = parsingResult.getMetaMap();
+        bootstrapper.validateOrCreateTables(new SchemaContext(configContext, session, KEYSPACE, null,
+                new EmptyTableMetadataSource(), parsingResult));
+        daoContext = bootstrapper.buildDaoContext(session, parsingResult, configContext);
+        contextFactory = new PersistenceContextFactory(daoContext, configContext, entityMetaMap);
+        manager = new BenchmarkPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
+    }
+
+    public InMemorySession getSession() {
+        return session;
+    }
+
+    public ConfigurationContext getConfigContext() {
+        return configContext;
+    }
+
+    public EntityMeta getEntityMeta(Class<?> entityClass) {
+        return entityMetaMap.get(entityClass);
+    }
+
+    public DaoContext getDaoContext() {
+        return daoContext;
+    }
+
+    public PersistenceContext newContext(Object entity) {
+        return contextFactory.newContext(entity);
+    }
+
+    public PersistenceManager getManager() {
+        return manager;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import info.archinnov.achilles.benchmarks.entity.ClusteredEntity;
+import info.archinnov.achilles.benchmarks.entity.ClusteredEntity.ClusteredKey;
+import info.archinnov.achilles.benchmarks.entity.CollectionsEntity;
+import info.archinnov.achilles.benchmarks.entity.CounterEntity;
+import info.archinnov.achilles.benchmarks.entity.JsonEntity;
+import info.archinnov.achilles.benchmarks.entity.JsonEntity.Address;
+import info.archinnov.achilles.benchmarks.entity.SimpleEntity;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.type.CounterBuilder;
+
+/**
+ * Representative entities and the CQL rows they are read from.
+ * <br/>
+ * The <em>entity</em> benchmark parameter takes one of <em>simple</em>, <em>clustered</em>,
+ * <em>collections</em>, <em>counter</em> or <em>json</em>
+ */
+public class EntityFixtures {
+
+    public static final String SIMPLE = "simple";
+    public static final String CLUSTERED = "clustered";
+    public static final String COLLECTIONS = "collections";
+    public static final String COUNTER = "counter";
+    public static final String JSON = "json";
+
+    private static final Map<String, Class<?>> ENTITY_CLASSES = new HashMap<>();
+
+    static {
+        ENTITY_CLASSES.put(SIMPLE, SimpleEntity.class);
+        ENTITY_CLASSES.put(CLUSTERED, ClusteredEntity.class);
+        ENTITY_CLASSES.put(COLLECTIONS, CollectionsEntity.class);
+        ENTITY_CLASSES.put(COUNTER, CounterEntity.class);
+        ENTITY_CLASSES.put(JSON, JsonEntity.class);
+    }
+
+    public static Class<?> entityClass(String entity) {
+        final Class<?> entityClass = ENTITY_CLASSES.get(entity);
+        if (entityClass == null) {
+            throw new IllegalArgumentException("Unknown benchmark entity '" + entity + "', expected one of " + ENTITY_CLASSES.keySet());
+        }
+        return entityClass;
+    }
+
+    public static Object newEntity(String entity) {
+        final Class<?> entityClass = entityClass(entity);
+        if (entityClass == SimpleEntity.class) {
+            return new SimpleEntity(10L, "DuyHai", 35, true, new Date(1400000000000L));
+        } else if (entityClass == ClusteredEntity.class) {
+            return new ClusteredEntity(new ClusteredKey(10L, 201410, UUID.fromString("b1e8f2a0-4f7d-11e4-916c-0800200c9a66")), "message");
+        } else if (entityClass == CollectionsEntity.class) {
+            final Map<Integer, String> preferences = new LinkedHashMap<>();
+            preferences.put(1, "FR");
+            preferences.put(2, "Paris");
+            preferences.put(3, "75014");
+            return new CollectionsEntity(10L, new ArrayList<>(Arrays.asList("cassandra", "java", "orm")),
+                    new LinkedHashSet<>(Arrays.asList(1L, 2L, 3L, 4L)), preferences);
+        } else if (entityClass == CounterEntity.class) {
+            return new CounterEntity(10L, "page", CounterBuilder.incr(5L));
+        } else {
+            return new JsonEntity(10L, new Address("1 rue de Rivoli", "Paris", 75001),
+                    new ArrayList<>(Arrays.asList(new Address("10 Downing Street", "London", 0), new Address("1 Main Street", "Austin", 78701))));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object encode(PropertyMeta pm, Object value) {
+        switch (pm.type()) {
+            case LIST:
+                return pm.encode((List<Object>) value);
+            case SET:
+                return pm.encode((Set<Object>) value);
+            case MAP:
+                return pm.encode((Map<Object, Object>) value);
+            default:
+                return pm.encode(value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object decode(PropertyMeta pm, Object cassandraValue) {
+        switch (pm.type()) {
+            case LIST:
+                return pm.decode((List<Object>) cassandraValue);
+            case SET:
+                return pm.decode((Set<Object>) cassandraValue);
+            case MAP:
+                return pm.decode((Map<Object, Object>) cassandraValue);
+            default:
+                return pm.decode(cassandraValue);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import com.datastax.driver.core.PreparedStatement;
+import info.archinnov.achilles.inmemory.InMemorySession;
+
+/**
+ * In-memory session preparing each distinct query once and returning the prebuilt statement afterwards.
+ * <br/>
+ * Benchmarks of statement generation use it so that the CQL parsing of {@link InMemorySession} stays out of
+ * the measure. Only the lookup of the generated query string remains. Not thread-safe
+ */
+public class PreparedOnceSession extends InMemorySession {
+
+    private final Map<String, PreparedStatement> preparedByQuery = new HashMap<>();
+
+    public PreparedOnceSession(String keyspaceName) {
+        super(keyspaceName);
+    }
+
+    @Override
+    public PreparedStatement prepare(String query) {
+        PreparedStatement prepared = preparedByQuery.get(query);
+        if (prepared == null) {
+            prepared = super.prepare(query);
+            preparedByQuery.put(query, prepared);
+        }
+        return prepared;
+    }
+}
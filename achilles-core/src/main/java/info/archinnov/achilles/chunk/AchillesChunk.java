@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.chunk;
+
+/**
+ * Interface defining the structure of internal Achilles chunk table, storing properties annotated with
+ * {@link info.archinnov.achilles.annotations.Chunked}
+ *
+ * This table creation script is
+ *
+ * <pre class="code"><code class="sql">
+ *
+ *   CREATE TABLE achilles_chunk_table (
+ *      fqcn text,
+ *      primary_key text,
+ *      property_name text,
+ *      chunk_set bigint,
+ *      chunk_index int,
+ *      chunk_data blob,
+ *      current_chunk_set bigint,
+ *      PRIMARY KEY((fqcn,primary_key,property_name),chunk_set,chunk_index));
+ *
+ * </code></pre>
+ *
+ * Each write of a value stores its chunks under a new <em>chunk_set</em>, its write timestamp. The row with
+ * chunk_set = {@link #POINTER_CHUNK_SET} points to the current chunk set through <em>current_chunk_set</em>.
+ * The pointer is only switched once all chunks of the new set are written, so a failed write never
+ * corrupts the previous value
+ */
+public interface AchillesChunk {
+
+    public static final String CQL_CHUNK_TABLE = "achilles_chunk_table";
+    public static final String CQL_CHUNK_FQCN = "fqcn";
+    public static final String CQL_CHUNK_PRIMARY_KEY = "primary_key";
+    public static final String CQL_CHUNK_PROPERTY_NAME = "property_name";
+    public static final String CQL_CHUNK_SET = "chunk_set";
+    public static final String CQL_CHUNK_INDEX = "chunk_index";
+    public static final String CQL_CHUNK_DATA = "chunk_data";
+    public static final String CQL_CHUNK_CURRENT_SET = "current_chunk_set";
+
+    public static final long POINTER_CHUNK_SET = 0L;
+
+    public static enum ChunkQueryType {
+        INSERT, SELECT, DELETE, INSERT_POINTER, SELECT_POINTER;
+    }
+}
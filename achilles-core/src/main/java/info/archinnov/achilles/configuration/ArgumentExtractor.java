@@ -18,6 +18,8 @@ package info.archinnov.achilles.configuration;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BOOTSTRAP_LAZY_ENTITY_ACTIVATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BOOTSTRAP_PARALLELISM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_DEFAULT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_MAP;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT;
@@ -27,8 +29,13 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.ENAB
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITIES_LIST;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_JMX_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_RULES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_SEED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_SESSION;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.JACKSON_MAPPER;
@@ -37,7 +44,24 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.OSGI
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_CACHE_SIZE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PROXIES_WARM_UP_DISABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RELAX_INDEX_VALIDATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCHEMA_FINGERPRINT_FILE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEDICATED_COUNTER_TABLES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HEDGED_READS_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HEDGED_READS_MIN_DELAY_MILLIS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HEDGED_READS_PERCENTILE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_JMX_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_REPORTERS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_REPORTING_PERIOD_SECONDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_JMX_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_SAMPLE_RATE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_SAMPLE_RATE_MAP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_SINKS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_MAX_LOGS_PER_SECOND;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_THRESHOLD_MAP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_THRESHOLD_MILLIS;
 import static javax.validation.Validation.buildDefaultValidatorFactory;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -56,12 +80,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import info.archinnov.achilles.annotations.Entity;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.fault.FaultRule;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.fault.FaultInjector;
+import info.archinnov.achilles.internal.management.MBeanRegistrar;
+import info.archinnov.achilles.internal.metadata.discovery.EntityIndex;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
+import info.archinnov.achilles.internal.table.SchemaFingerprintCache;
+import info.archinnov.achilles.internal.tracing.QueryTraceSampler;
 import info.archinnov.achilles.internal.utils.ConfigMap;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.json.DefaultJacksonMapperFactory;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.metrics.MetricsReporter;
+import info.archinnov.achilles.tracing.Slf4jTraceSink;
+import info.archinnov.achilles.tracing.TraceSink;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.InsertStrategy;
 
@@ -77,10 +111,40 @@ public class ArgumentExtractor {
 
     static final boolean DEFAULT_PROXIES_WARM_UP_DISABLED = true;
 
+    static final int DEFAULT_BOOTSTRAP_PARALLELISM = 8;
+
+    static final boolean DEFAULT_LAZY_ENTITY_ACTIVATION = false;
+
     static final boolean DEFAULT_INDEX_RELAX_VALIDATION = false;
 
     static final InsertStrategy DEFAULT_INSERT_STRATEGY = InsertStrategy.ALL_FIELDS;
 
+    static final int DEFAULT_ADAPTIVE_INSERT_MAX_SHAPES = 8;
+
+    static final boolean DEFAULT_DEDICATED_COUNTER_TABLES = false;
+
+    static final boolean DEFAULT_HEDGED_READS_ENABLED = false;
+
+    static final double DEFAULT_HEDGED_READS_PERCENTILE = 95.0;
+
+    static final long DEFAULT_HEDGED_READS_MIN_DELAY_MILLIS = 5L;
+
+    static final boolean DEFAULT_METRICS_ENABLED = false;
+
+    static final boolean DEFAULT_METRICS_JMX_ENABLED = true;
+
+    static final long DEFAULT_METRICS_REPORTING_PERIOD_SECONDS = 60L;
+
+    static final long DEFAULT_SLOW_STATEMENT_THRESHOLD_MILLIS = 0L;
+
+    static final int DEFAULT_SLOW_STATEMENT_MAX_LOGS_PER_SECOND = 10;
+
+    static final double DEFAULT_QUERY_TRACING_SAMPLE_RATE = 0.0;
+
+    static final boolean DEFAULT_QUERY_TRACING_JMX_ENABLED = false;
+
+    static final boolean DEFAULT_FAULT_INJECTION_ENABLED = false;
+
 
     public List<Class<?>> initEntities(ConfigMap configurationMap, ClassLoader classLoader) {
         log.trace("Extract entities from configuration map");
@@ -110,8 +174,20 @@ public class ArgumentExtractor {
 
         Set<Class<?>> candidateClasses = new HashSet<>();
         if (!packageNames.isEmpty()) {
-            Reflections reflections = new Reflections(packageNames, classLoader);
-            candidateClasses.addAll(reflections.getTypesAnnotatedWith(Entity.class));
+            EntityIndex entityIndex = EntityIndex.load(classLoader);
+            List<String> packagesToScan = new ArrayList<>();
+            for (String packageName : packageNames) {
+                candidateClasses.addAll(entityIndex.loadEntityClasses(packageName));
+                if (entityIndex.covers(packageName)) {
+                    log.debug("Entity classes of package {} resolved from the entity index", packageName);
+                } else {
+                    packagesToScan.add(packageName);
+                }
+            }
+            if (!packagesToScan.isEmpty()) {
+                Reflections reflections = new Reflections(packagesToScan, classLoader);
+                candidateClasses.addAll(reflections.getTypesAnnotatedWith(Entity.class));
+            }
         }
         return new ArrayList<>(candidateClasses);
     }
@@ -120,6 +196,7 @@ public class ArgumentExtractor {
         log.trace("Build ConfigurationContext from configuration map");
 
         ConfigurationContext configContext = new ConfigurationContext();
+        MBeanRegistrar mBeanRegistrar = initMBeanRegistrar(configurationMap);
         configContext.setForceColumnFamilyCreation(initForceTableCreation(configurationMap));
         configContext.setEnableSchemaUpdate(initForceTableUpdate(configurationMap));
         configContext.setEnableSchemaUpdateForTables(initForceTableUpdateMap(configurationMap));
@@ -130,7 +207,21 @@ public class ArgumentExtractor {
         configContext.setWriteConsistencyLevelMap(initWriteConsistencyMap(configurationMap));
         configContext.setBeanValidator(initValidator(configurationMap));
         configContext.setPreparedStatementLRUCacheSize(initPreparedStatementsCacheSize(configurationMap));
+        configContext.setBootstrapParallelism(initBootstrapParallelism(configurationMap));
+        configContext.setLazyEntityActivation(initLazyEntityActivation(configurationMap));
+        configContext.setSchemaFingerprintCache(initSchemaFingerprintCache(configurationMap));
         configContext.setInsertStrategy(initInsertStrategy(configurationMap));
+        configContext.setAdaptiveInsertMaxShapes(initAdaptiveInsertMaxShapes(configurationMap));
+        configContext.setDedicatedCounterTables(initDedicatedCounterTables(configurationMap));
+        configContext.setHedgedReadsEnabled(initHedgedReadsEnabled(configurationMap));
+        configContext.setHedgedReadsPercentile(initHedgedReadsPercentile(configurationMap));
+        configContext.setHedgedReadsMinDelayMillis(initHedgedReadsMinDelayMillis(configurationMap));
+        configContext.setMetricsRegistry(initMetricsRegistry(configurationMap, mBeanRegistrar));
+        configContext.setSlowStatementThresholdMillis(initSlowStatementThresholdMillis(configurationMap));
+        configContext.setSlowStatementThresholdMap(initSlowStatementThresholdMap(configurationMap));
+        configContext.setSlowStatementMaxLogsPerSecond(initSlowStatementMaxLogsPerSecond(configurationMap));
+        configContext.setQueryTraceSampler(initQueryTraceSampler(configurationMap, mBeanRegistrar));
+        configContext.setFaultInjector(initFaultInjector(configurationMap, mBeanRegistrar));
         configContext.setOSGIClassLoader(initOSGIClassLoader(configurationMap));
         configContext.setRelaxIndexValidation(initRelaxIndexValidation(configurationMap));
         return configContext;
@@ -241,10 +332,107 @@ public class ArgumentExtractor {
         return configMap.getTypedOr(PROXIES_WARM_UP_DISABLED, DEFAULT_PROXIES_WARM_UP_DISABLED);
     }
 
+    public int initBootstrapParallelism(ConfigMap configMap) {
+        final int parallelism = configMap.getTypedOr(BOOTSTRAP_PARALLELISM, DEFAULT_BOOTSTRAP_PARALLELISM);
+        Validator.validateTrue(parallelism > 0, "The bootstrap parallelism '%s' should be strictly positive", parallelism);
+        return parallelism;
+    }
+
+    public boolean initLazyEntityActivation(ConfigMap configMap) {
+        return configMap.getTypedOr(BOOTSTRAP_LAZY_ENTITY_ACTIVATION, DEFAULT_LAZY_ENTITY_ACTIVATION);
+    }
+
+    public SchemaFingerprintCache initSchemaFingerprintCache(ConfigMap configMap) {
+        final String fingerprintFile = configMap.getTyped(SCHEMA_FINGERPRINT_FILE);
+        if (StringUtils.isBlank(fingerprintFile)) {
+            return SchemaFingerprintCache.DISABLED;
+        }
+        return new SchemaFingerprintCache(new File(fingerprintFile));
+    }
+
     public InsertStrategy initInsertStrategy(ConfigMap configMap) {
         return configMap.getTypedOr(INSERT_STRATEGY, DEFAULT_INSERT_STRATEGY);
     }
 
+    public int initAdaptiveInsertMaxShapes(ConfigMap configMap) {
+        final Integer maxShapes = configMap.getTypedOr(INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES, DEFAULT_ADAPTIVE_INSERT_MAX_SHAPES);
+        Validator.validateTrue(maxShapes > 0, "The max number of adaptive insert shapes '%s' should be strictly positive", maxShapes);
+        return maxShapes;
+    }
+
+    public boolean initDedicatedCounterTables(ConfigMap configMap) {
+        return configMap.getTypedOr(DEDICATED_COUNTER_TABLES, DEFAULT_DEDICATED_COUNTER_TABLES);
+    }
+
+    public boolean initHedgedReadsEnabled(ConfigMap configMap) {
+        return configMap.getTypedOr(HEDGED_READS_ENABLED, DEFAULT_HEDGED_READS_ENABLED);
+    }
+
+    public double initHedgedReadsPercentile(ConfigMap configMap) {
+        final double percentile = configMap.getTypedOr(HEDGED_READS_PERCENTILE, DEFAULT_HEDGED_READS_PERCENTILE);
+        Validator.validateTrue(percentile > 0 && percentile < 100, "The hedged reads percentile '%s' should be between 0 and 100 exclusive", percentile);
+        return percentile;
+    }
+
+    public long initHedgedReadsMinDelayMillis(ConfigMap configMap) {
+        final long minDelay = configMap.getTypedOr(HEDGED_READS_MIN_DELAY_MILLIS, DEFAULT_HEDGED_READS_MIN_DELAY_MILLIS);
+        Validator.validateTrue(minDelay >= 0, "The hedged reads min delay '%s' should be positive", minDelay);
+        return minDelay;
+    }
+
+    public MBeanRegistrar initMBeanRegistrar(ConfigMap configMap) {
+        return new MBeanRegistrar(configMap.getTypedOr(KEYSPACE_NAME, "default"));
+    }
+
+    public MetricsRegistry initMetricsRegistry(ConfigMap configMap, MBeanRegistrar mBeanRegistrar) {
+        if (!configMap.getTypedOr(METRICS_ENABLED, DEFAULT_METRICS_ENABLED)) {
+            return MetricsRegistry.DISABLED;
+        }
+        final boolean jmxEnabled = configMap.getTypedOr(METRICS_JMX_ENABLED, DEFAULT_METRICS_JMX_ENABLED);
+        final List<MetricsReporter> reporters = configMap.getTypedOr(METRICS_REPORTERS, Collections.<MetricsReporter>emptyList());
+        final long period = configMap.getTypedOr(METRICS_REPORTING_PERIOD_SECONDS, DEFAULT_METRICS_REPORTING_PERIOD_SECONDS);
+        Validator.validateTrue(period > 0, "The metrics reporting period '%s' should be strictly positive", period);
+        return new MetricsRegistry(mBeanRegistrar, jmxEnabled, new ArrayList<>(reporters), period);
+    }
+
+    public long initSlowStatementThresholdMillis(ConfigMap configMap) {
+        final long threshold = configMap.getTypedOr(SLOW_STATEMENT_THRESHOLD_MILLIS, DEFAULT_SLOW_STATEMENT_THRESHOLD_MILLIS);
+        Validator.validateTrue(threshold >= 0, "The slow statement threshold '%s' should be positive", threshold);
+        return threshold;
+    }
+
+    public Map<String, Long> initSlowStatementThresholdMap(ConfigMap configMap) {
+        return configMap.getTypedOr(SLOW_STATEMENT_THRESHOLD_MAP, ImmutableMap.<String, Long>of());
+    }
+
+    public int initSlowStatementMaxLogsPerSecond(ConfigMap configMap) {
+        final int maxLogs = configMap.getTypedOr(SLOW_STATEMENT_MAX_LOGS_PER_SECOND, DEFAULT_SLOW_STATEMENT_MAX_LOGS_PER_SECOND);
+        Validator.validateTrue(maxLogs > 0, "The max number of slow statements logged per second '%s' should be strictly positive", maxLogs);
+        return maxLogs;
+    }
+
+    public QueryTraceSampler initQueryTraceSampler(ConfigMap configMap, MBeanRegistrar mBeanRegistrar) {
+        final double sampleRate = configMap.getTypedOr(QUERY_TRACING_SAMPLE_RATE, DEFAULT_QUERY_TRACING_SAMPLE_RATE);
+        final Map<String, Double> sampleRates = configMap.getTypedOr(QUERY_TRACING_SAMPLE_RATE_MAP, ImmutableMap.<String, Double>of());
+        final boolean jmxEnabled = configMap.getTypedOr(QUERY_TRACING_JMX_ENABLED, DEFAULT_QUERY_TRACING_JMX_ENABLED);
+        if (sampleRate == 0 && sampleRates.isEmpty() && !jmxEnabled) {
+            return QueryTraceSampler.DISABLED;
+        }
+        final List<TraceSink> sinks = configMap.getTypedOr(QUERY_TRACING_SINKS, Arrays.<TraceSink>asList(new Slf4jTraceSink()));
+        return new QueryTraceSampler(mBeanRegistrar, sampleRate, sampleRates, new ArrayList<>(sinks), jmxEnabled);
+    }
+
+    public FaultInjector initFaultInjector(ConfigMap configMap, MBeanRegistrar mBeanRegistrar) {
+        if (!configMap.getTypedOr(FAULT_INJECTION_ENABLED, DEFAULT_FAULT_INJECTION_ENABLED)) {
+            return FaultInjector.DISABLED;
+        }
+        log.warn("Fault injection is enabled, latency and errors may be injected into the statements");
+        final List<FaultRule> rules = configMap.getTypedOr(FAULT_INJECTION_RULES, Collections.<FaultRule>emptyList());
+        final Number seed = configMap.getTyped(FAULT_INJECTION_SEED);
+        final boolean jmxEnabled = configMap.getTypedOr(FAULT_INJECTION_JMX_ENABLED, false);
+        return new FaultInjector(mBeanRegistrar, rules, seed == null ? null : seed.longValue(), jmxEnabled);
+    }
+
     public ClassLoader initOSGIClassLoader(ConfigMap configMap) {
         return configMap.getTyped(OSGI_CLASS_LOADER);
     }
@@ -141,14 +141,134 @@ package info.archinnov.achilles.configuration;
  *
  * <p>If you want to speed up start up, you may disable this behavior. </p>
  *
+ * <h4>Bootstrap</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>BOOTSTRAP_PARALLELISM</strong> (OPTIONAL): number of threads validating the tables and preparing the statements
+ * of the entities at bootstrap. Default = <code>8</code>
+ * </li>
+ * </ul><p>Table creations and schema updates are always executed one at a time to let the cluster reach schema agreement.
+ * A value of <code>1</code> bootstraps the entities sequentially. The duration of each bootstrap phase is logged at <strong>INFO</strong>
+ * level and available with <em>PersistenceManagerFactory.getBootstrapTimings()</em></p>
+ *
+ * <ul >
+ * <li>
+ * <strong>BOOTSTRAP_LAZY_ENTITY_ACTIVATION</strong> (OPTIONAL): defer the table validation/creation and the statements
+ * preparation of each entity to its first use. Default = <code>false</code>
+ * </li>
+ * <li>
+ * <strong>SCHEMA_FINGERPRINT_FILE</strong> (OPTIONAL): path of a local file caching a fingerprint of each successfully
+ * validated table. Default = <code>null</code> (no cache)
+ * </li>
+ * </ul><p>With lazy activation, the entities are still parsed at bootstrap so that mapping errors are raised early, but
+ * each entity table is validated (or created) and its statements prepared the first time the entity is used. The activation
+ * is done once per entity, even when several threads use the entity concurrently.</p>
+ *
+ * <p>The fingerprint of a table is computed from the table meta data and the entity mapping. When both are unchanged since
+ * the last successful validation, the table validation is skipped.</p>
+ *
  * <h4>Insert Strategy</h4>
  *
  * <ul >
  * <li>
- * <strong>INSERT_STRATEGY</strong> (OPTIONAL): choose between <strong><code>ConfigurationParameters.InsertStrategy.ALL_FIELDS</code></strong> and <strong><code>ConfigurationParameters.InsertStrategy.NOT_NULL_FIELDS</code></strong>.
+ * <strong>INSERT_STRATEGY</strong> (OPTIONAL): choose between <strong><code>ConfigurationParameters.InsertStrategy.ALL_FIELDS</code></strong>, <strong><code>ConfigurationParameters.InsertStrategy.NOT_NULL_FIELDS</code></strong>
+ * and <strong><code>ConfigurationParameters.InsertStrategy.ADAPTIVE</code></strong>. With <strong><code>ADAPTIVE</code></strong>, only not null fields are inserted
+ * and only the most frequent insert shapes have a prepared statement; rare shapes are executed as non prepared statements.
  * Default value is <strong><code>ConfigurationParameters.InsertStrategy.ALL_FIELDS</code></strong>. </li>
+ * <li>
+ * <strong>INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES</strong> (OPTIONAL): for entities using <strong><code>InsertStrategy.ADAPTIVE</code></strong>,
+ * max number of insert shapes (distinct sets of not null columns) having a prepared statement. Default value is <strong>8</strong></li>
  * </ul><p>For more details, please check <strong><a href="https://github.com/doanduyhai/Achilles/wiki/Insert-Strategy">Insert Strategy</a></strong></p>
  *
+ * <h4>Counter tables</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>DEDICATED_COUNTER_TABLES</strong> (OPTIONAL): store the simple counters of each entity in a dedicated table named
+ * <em>&lt;entity table&gt;_counters</em> instead of the shared <strong>achilles_counter_table</strong>.
+ * Can be overridden per entity with <strong>{@literal @}CounterTable</strong>. Default value is <strong>false</strong></li>
+ * </ul>
+ *
+ * <h4>Hedged reads</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>HEDGED_READS_ENABLED</strong> (OPTIONAL): send a second attempt for reads which did not complete after the
+ * hedging delay and keep the first answer. Can be overridden per entity with <strong>{@literal @}HedgedReads</strong>.
+ * Default value is <strong>false</strong></li>
+ * <li>
+ * <strong>HEDGED_READS_PERCENTILE</strong> (OPTIONAL): percentile of the recent read latencies of an entity used as
+ * hedging delay. Default value is <strong>95.0</strong></li>
+ * <li>
+ * <strong>HEDGED_READS_MIN_DELAY_MILLIS</strong> (OPTIONAL): lower bound of the hedging delay, also used until enough
+ * latencies are recorded. Default value is <strong>5</strong></li>
+ * </ul>
+ *
+ * <h4>Metrics</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>METRICS_ENABLED</strong> (OPTIONAL): record, per entity and per operation, the number of executions, errors and
+ * the latency distribution, plus the prepared statements cache activity and the proxy creations.
+ * Default value is <strong>false</strong></li>
+ * <li>
+ * <strong>METRICS_JMX_ENABLED</strong> (OPTIONAL): expose the metrics as JMX MBeans under the <em>info.archinnov.achilles</em>
+ * domain. Default value is <strong>true</strong></li>
+ * <li>
+ * <strong>METRICS_REPORTERS</strong> (OPTIONAL): list of <strong>MetricsReporter</strong> receiving periodically a snapshot
+ * of the metrics</li>
+ * <li>
+ * <strong>METRICS_REPORTING_PERIOD_SECONDS</strong> (OPTIONAL): period between two reports. Default value is <strong>60</strong></li>
+ * </ul>
+ *
+ * <h4>Slow statements log</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>SLOW_STATEMENT_THRESHOLD_MILLIS</strong> (OPTIONAL): log with the <strong>ACHILLES_SLOW_STATEMENT</strong> logger
+ * the statements taking longer than this threshold. Default value is <strong>0</strong> (disabled)</li>
+ * <li>
+ * <p><strong>SLOW_STATEMENT_THRESHOLD_MAP</strong> (OPTIONAL): map(String,Long) of thresholds, in milliseconds, for tables.
+ * A threshold of 0 disables the log for the table</p>
+ * <li>
+ * <strong>SLOW_STATEMENT_MAX_LOGS_PER_SECOND</strong> (OPTIONAL): max number of slow statements logged per second, the
+ * others are only counted. Default value is <strong>10</strong></li>
+ * </ul>
+ *
+ * <h4>Query tracing sampling</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>QUERY_TRACING_SAMPLE_RATE</strong> (OPTIONAL): rate, between 0 and 1, of statements traced with Cassandra
+ * query tracing. The traces are fetched on a background thread. Default value is <strong>0</strong></li>
+ * <li>
+ * <p><strong>QUERY_TRACING_SAMPLE_RATE_MAP</strong> (OPTIONAL): map(String,Double) of sample rates for tables</p>
+ * <li>
+ * <strong>QUERY_TRACING_SINKS</strong> (OPTIONAL): list of <em>info.archinnov.achilles.tracing.TraceSink</em> receiving
+ * the traces. Default value is a <em>Slf4jTraceSink</em> logging with the <strong>ACHILLES_QUERY_TRACE</strong> logger</li>
+ * <li>
+ * <strong>QUERY_TRACING_JMX_ENABLED</strong> (OPTIONAL): expose the sample rates, modifiable at runtime, and the
+ * <em>RingBufferTraceSink</em> sinks as JMX MBeans. Default value is <strong>false</strong></li>
+ * </ul>
+ *
+ * <h4>Fault injection</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>FAULT_INJECTION_ENABLED</strong> (OPTIONAL): inject latency and errors into the statements, for performance
+ * and resilience testing. Must never be set in production. Default value is <strong>false</strong></li>
+ * <li>
+ * <strong>FAULT_INJECTION_RULES</strong> (OPTIONAL): list of <em>info.archinnov.achilles.fault.FaultRule</em> applied
+ * from bootstrap. Rules can also be added at runtime with <em>PersistenceManagerFactory.getFaultInjection()</em></li>
+ * <li>
+ * <strong>FAULT_INJECTION_SEED</strong> (OPTIONAL): seed of the random source, to reproduce the same latencies and
+ * errors from one run to another</li>
+ * <li>
+ * <strong>FAULT_INJECTION_JMX_ENABLED</strong> (OPTIONAL): expose the fault injection, modifiable at runtime, as a JMX
+ * MBean. Default value is <strong>false</strong></li>
+ * </ul>
+ *
  * <h4>OSGI Class loader</h4>
  *
  * <ul >
@@ -186,7 +306,37 @@ public enum ConfigurationParameters {
 
     PROXIES_WARM_UP_DISABLED("achilles.proxies.warm.up.disabled"),
 
+    BOOTSTRAP_PARALLELISM("achilles.bootstrap.parallelism"),
+    BOOTSTRAP_LAZY_ENTITY_ACTIVATION("achilles.bootstrap.lazy.entity.activation"),
+    SCHEMA_FINGERPRINT_FILE("achilles.schema.fingerprint.file"),
+
     INSERT_STRATEGY("achilles.insert.strategy"),
+    INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES("achilles.insert.strategy.adaptive.max.shapes"),
+
+    DEDICATED_COUNTER_TABLES("achilles.counter.dedicated.tables"),
+
+    HEDGED_READS_ENABLED("achilles.hedged.reads.enabled"),
+    HEDGED_READS_PERCENTILE("achilles.hedged.reads.percentile"),
+    HEDGED_READS_MIN_DELAY_MILLIS("achilles.hedged.reads.min.delay.millis"),
+
+    METRICS_ENABLED("achilles.metrics.enabled"),
+    METRICS_JMX_ENABLED("achilles.metrics.jmx.enabled"),
+    METRICS_REPORTERS("achilles.metrics.reporters"),
+    METRICS_REPORTING_PERIOD_SECONDS("achilles.metrics.reporting.period.seconds"),
+
+    SLOW_STATEMENT_THRESHOLD_MILLIS("achilles.slow.statement.threshold.millis"),
+    SLOW_STATEMENT_THRESHOLD_MAP("achilles.slow.statement.threshold.map"),
+    SLOW_STATEMENT_MAX_LOGS_PER_SECOND("achilles.slow.statement.max.logs.per.second"),
+
+    QUERY_TRACING_SAMPLE_RATE("achilles.query.tracing.sample.rate"),
+    QUERY_TRACING_SAMPLE_RATE_MAP("achilles.query.tracing.sample.rate.map"),
+    QUERY_TRACING_SINKS("achilles.query.tracing.sinks"),
+    QUERY_TRACING_JMX_ENABLED("achilles.query.tracing.jmx.enabled"),
+
+    FAULT_INJECTION_ENABLED("achilles.fault.injection.enabled"),
+    FAULT_INJECTION_RULES("achilles.fault.injection.rules"),
+    FAULT_INJECTION_SEED("achilles.fault.injection.seed"),
+    FAULT_INJECTION_JMX_ENABLED("achilles.fault.injection.jmx.enabled"),
 
     OSGI_CLASS_LOADER("achilles.osgi.class.loader"),
 
@@ -30,6 +30,21 @@ package info.archinnov.achilles.counter;
  *      PRIMARY KEY((fqcn,primary_key),property_name));
  *
  * </code></pre>
+ *
+ * Counters annotated with {@literal @}ShardedCounter are stored in a distinct table where the shard index
+ * is the last partition component, so that all shards can be read with a single <em>IN</em> query
+ *
+ * <pre class="code"><code class="sql">
+ *
+ *   CREATE TABLE achilles_sharded_counter_table (
+ *      fqcn text,
+ *      primary_key text,
+ *      shard int,
+ *      property_name text,
+ *      counter_value counter,
+ *      PRIMARY KEY((fqcn,primary_key,shard),property_name));
+ *
+ * </code></pre>
  * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Counters#simple-counters-mapping" target="_blank">Simple counter support</a>
  */
 public interface AchillesCounter {
@@ -40,6 +55,9 @@ public interface AchillesCounter {
 	public static final String CQL_COUNTER_PROPERTY_NAME = "property_name";
 	public static final String CQL_COUNTER_VALUE = "counter_value";
 
+	public static final String CQL_SHARDED_COUNTER_TABLE = "achilles_sharded_counter_table";
+	public static final String CQL_COUNTER_SHARD = "shard";
+
 	public static enum CQLQueryType {
 		INCR, DECR, SELECT, DELETE;
 	}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.fault;
+
+import java.util.List;
+
+/**
+ * Runtime control of the fault injection of a PersistenceManagerFactory, see
+ * <strong>FAULT_INJECTION_ENABLED</strong>
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   FaultInjection faultInjection = pmf.getFaultInjection();
+ *   faultInjection.addRule(FaultRule.forAllTables().withLatency(LatencyDistribution.fixed(50)).build());
+ *   ...
+ *   faultInjection.clearRules();
+ * </code></pre>
+ *
+ * For each statement, the first rule matching its table and type applies
+ */
+public interface FaultInjection {
+
+    void addRule(FaultRule rule);
+
+    /**
+     * @return active rules, in matching order
+     */
+    List<FaultRule> getRules();
+
+    void clearRules();
+
+    /**
+     * Suspend or resume the injection, keeping the rules
+     */
+    void setActive(boolean active);
+
+    boolean isActive();
+
+    /**
+     * @return number of statements delayed so far
+     */
+    long getDelayedCount();
+
+    /**
+     * @return number of errors raised so far
+     */
+    long getFailedCount();
+}
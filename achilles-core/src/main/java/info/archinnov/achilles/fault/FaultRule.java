@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.fault;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Latency and error injected into the statements of a table, see <strong>FAULT_INJECTION_ENABLED</strong>
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   FaultRule.forTable("users")
+ *      .onStatements(StatementType.SELECT)
+ *      .withLatency(LatencyDistribution.uniform(5, 20))
+ *      .withError(InjectedError.TIMEOUT, 0.01)
+ *      .build();
+ * </code></pre>
+ *
+ * The latency is added before the statement is sent, then the error, if drawn, is raised instead of executing
+ * the statement. Batches are not bound to an entity so only rules for all tables apply to them
+ */
+public class FaultRule {
+
+    private final String tableName;
+    private final Set<StatementType> statementTypes;
+    private final LatencyDistribution latency;
+    private final InjectedError error;
+    private final double errorRate;
+
+    private FaultRule(Builder builder) {
+        this.tableName = builder.tableName;
+        this.statementTypes = Collections.unmodifiableSet(builder.statementTypes);
+        this.latency = builder.latency;
+        this.error = builder.error;
+        this.errorRate = builder.errorRate;
+    }
+
+    public static Builder forAllTables() {
+        return new Builder(null);
+    }
+
+    public static Builder forTable(String tableName) {
+        Validator.validateNotBlank(tableName, "The table name of a fault rule should not be blank");
+        return new Builder(tableName.toLowerCase());
+    }
+
+    /**
+     * @param tableName
+     *            table of the statement, <em>null</em> if unknown
+     * @param statementType
+     *            type of the statement
+     */
+    public boolean matches(String tableName, StatementType statementType) {
+        return (this.tableName == null || this.tableName.equals(tableName))
+                && (statementTypes.isEmpty() || statementTypes.contains(statementType));
+    }
+
+    /**
+     * @return targeted table, <em>null</em> for all tables
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return targeted statement types, empty for all types
+     */
+    public Set<StatementType> getStatementTypes() {
+        return statementTypes;
+    }
+
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+
+    public InjectedError getError() {
+        return error;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return "FaultRule{table=" + (tableName == null ? "*" : tableName) + ", statements="
+                + (statementTypes.isEmpty() ? "*" : statementTypes) + ", latency=" + latency + ", error="
+                + (error == null ? "none" : error + " at rate " + errorRate) + "}";
+    }
+
+    public static class Builder {
+        private final String tableName;
+        private final Set<StatementType> statementTypes = EnumSet.noneOf(StatementType.class);
+        private LatencyDistribution latency = LatencyDistribution.NONE;
+        private InjectedError error;
+        private double errorRate = 0;
+
+        private Builder(String tableName) {
+            this.tableName = tableName;
+        }
+
+        /**
+         * Restrict the rule to some statement types. By default all statement types are targeted
+         */
+        public Builder onStatements(StatementType... statementTypes) {
+            this.statementTypes.addAll(Arrays.asList(statementTypes));
+            return this;
+        }
+
+        public Builder withLatency(LatencyDistribution latency) {
+            Validator.validateNotNull(latency, "The injected latency distribution should not be null");
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * @param error
+         *            error to raise
+         * @param errorRate
+         *            fraction, between 0 and 1, of the targeted statements failing with the error
+         */
+        public Builder withError(InjectedError error, double errorRate) {
+            Validator.validateNotNull(error, "The injected error should not be null");
+            Validator.validateTrue(errorRate >= 0 && errorRate <= 1, "The injected error rate '%s' should be between 0 and 1",
+                    errorRate);
+            this.error = error;
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public FaultRule build() {
+            return new FaultRule(this);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.fault;
+
+/**
+ * Error raised by a {@link FaultRule}, as the driver would raise it
+ */
+public enum InjectedError {
+    /**
+     * <em>ReadTimeoutException</em> for SELECT statements, <em>WriteTimeoutException</em> for the others
+     */
+    TIMEOUT,
+    /**
+     * <em>UnavailableException</em>: not enough live replicas
+     */
+    UNAVAILABLE,
+    /**
+     * <em>NoHostAvailableException</em>: no coordinator could be contacted
+     */
+    NO_HOST_AVAILABLE
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.fault;
+
+import java.util.Random;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Distribution of the latency added to a statement by a {@link FaultRule}
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   // 2 to 5 ms, with 1% of statements taking 800 ms
+ *   LatencyDistribution.withTail(LatencyDistribution.uniform(2, 5), 0.01, LatencyDistribution.fixed(800));
+ * </code></pre>
+ */
+public abstract class LatencyDistribution {
+
+    public static final LatencyDistribution NONE = fixed(0);
+
+    /**
+     * @param random
+     *            random source of the fault injection, seeded when <strong>FAULT_INJECTION_SEED</strong> is set
+     * @return next latency in milliseconds
+     */
+    public abstract long nextMillis(Random random);
+
+    public static LatencyDistribution fixed(final long millis) {
+        Validator.validateTrue(millis >= 0, "The injected latency '%s' should be positive", millis);
+        return new LatencyDistribution() {
+            @Override
+            public long nextMillis(Random random) {
+                return millis;
+            }
+
+            @Override
+            public String toString() {
+                return millis + " ms";
+            }
+        };
+    }
+
+    public static LatencyDistribution uniform(final long minMillis, final long maxMillis) {
+        Validator.validateTrue(minMillis >= 0 && minMillis <= maxMillis,
+                "The injected latency range [%s, %s] should be positive and ordered", minMillis, maxMillis);
+        return new LatencyDistribution() {
+            @Override
+            public long nextMillis(Random random) {
+                return minMillis + (long) (random.nextDouble() * (maxMillis - minMillis + 1));
+            }
+
+            @Override
+            public String toString() {
+                return minMillis + "-" + maxMillis + " ms";
+            }
+        };
+    }
+
+    /**
+     * Use the <em>tail</em> distribution for a <em>tailRate</em> fraction of the statements and the <em>base</em>
+     * distribution for the others
+     */
+    public static LatencyDistribution withTail(final LatencyDistribution base, final double tailRate,
+            final LatencyDistribution tail) {
+        Validator.validateNotNull(base, "The base latency distribution should not be null");
+        Validator.validateNotNull(tail, "The tail latency distribution should not be null");
+        Validator.validateTrue(tailRate >= 0 && tailRate <= 1, "The tail rate '%s' should be between 0 and 1", tailRate);
+        return new LatencyDistribution() {
+            @Override
+            public long nextMillis(Random random) {
+                return random.nextDouble() < tailRate ? tail.nextMillis(random) : base.nextMillis(random);
+            }
+
+            @Override
+            public String toString() {
+                return base + " with " + tailRate + " tail of " + tail;
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.fault;
+
+/**
+ * Type of the statements targeted by a {@link FaultRule}
+ */
+public enum StatementType {
+    SELECT,
+    INSERT,
+    UPDATE,
+    DELETE,
+    BATCH;
+
+    /**
+     * @param queryString
+     *            CQL query
+     * @return type of the query, <em>null</em> if it is not a DML query
+     */
+    public static StatementType of(String queryString) {
+        final String query = queryString.trim();
+        for (StatementType type : values()) {
+            if (query.regionMatches(true, 0, type.name(), 0, type.name().length())) {
+                return type;
+            }
+        }
+        return query.regionMatches(true, 0, "BEGIN", 0, 5) ? BATCH : null;
+    }
+}
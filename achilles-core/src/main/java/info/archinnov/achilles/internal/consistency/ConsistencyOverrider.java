@@ -19,6 +19,7 @@ package info.archinnov.achilles.internal.consistency;
 import static info.archinnov.achilles.internal.context.AbstractFlushContext.FlushType.BATCH;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.google.common.base.Optional;
 import info.archinnov.achilles.internal.context.AbstractFlushContext;
 import info.archinnov.achilles.internal.context.facade.PersistentStateHolder;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -40,29 +41,31 @@ public class ConsistencyOverrider {
 
     public ConsistencyLevel getReadLevel(PersistentStateHolder context) {
         EntityMeta entityMeta = context.getEntityMeta();
-        ConsistencyLevel readLevel = context.getConsistencyLevel().isPresent() ? context.getConsistencyLevel().get() : entityMeta.getReadConsistencyLevel();
-        log.trace("Read consistency level : " + readLevel);
+        final Optional<ConsistencyLevel> runtimeLevel = context.getConsistencyLevel();
+        ConsistencyLevel readLevel = runtimeLevel.isPresent() ? runtimeLevel.get() : entityMeta.getReadConsistencyLevel();
+        log.trace("Read consistency level : {}", readLevel);
         return readLevel;
     }
 
     public ConsistencyLevel getWriteLevel(PersistentStateHolder context) {
         EntityMeta entityMeta = context.getEntityMeta();
-        ConsistencyLevel writeLevel = context.getConsistencyLevel().isPresent() ? context.getConsistencyLevel().get() : entityMeta.getWriteConsistencyLevel();
-        log.trace("Write consistency level : " + writeLevel);
+        final Optional<ConsistencyLevel> runtimeLevel = context.getConsistencyLevel();
+        ConsistencyLevel writeLevel = runtimeLevel.isPresent() ? runtimeLevel.get() : entityMeta.getWriteConsistencyLevel();
+        log.trace("Write consistency level : {}", writeLevel);
         return writeLevel;
     }
 
     public ConsistencyLevel getReadLevel(PersistentStateHolder context, PropertyMeta pm) {
-        ConsistencyLevel consistency = context.getConsistencyLevel().isPresent() ? context.getConsistencyLevel().get()
-                : pm.getReadConsistencyLevel();
-        log.trace("Read consistency level : " + consistency);
+        final Optional<ConsistencyLevel> runtimeLevel = context.getConsistencyLevel();
+        ConsistencyLevel consistency = runtimeLevel.isPresent() ? runtimeLevel.get() : pm.getReadConsistencyLevel();
+        log.trace("Read consistency level : {}", consistency);
         return consistency;
     }
 
     public ConsistencyLevel getWriteLevel(PersistentStateHolder context, PropertyMeta pm) {
-        ConsistencyLevel consistency = context.getConsistencyLevel().isPresent() ? context.getConsistencyLevel().get()
-                : pm.getWriteConsistencyLevel();
-        log.trace("Write consistency level : " + consistency);
+        final Optional<ConsistencyLevel> runtimeLevel = context.getConsistencyLevel();
+        ConsistencyLevel consistency = runtimeLevel.isPresent() ? runtimeLevel.get() : pm.getWriteConsistencyLevel();
+        log.trace("Write consistency level : {}", consistency);
         return consistency;
     }
 }
@@ -29,6 +29,7 @@ import java.util.List;
 
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.Statement;
 import com.google.common.base.Optional;
@@ -93,6 +94,10 @@ public abstract class AbstractFlushContext {
 		return daoContext.execute(statementWrapper);
 	}
 
+	public ResultSetFuture executeAsync(AbstractStatementWrapper statementWrapper) {
+		return daoContext.executeAsync(statementWrapper);
+	}
+
 	public ConsistencyLevel getConsistencyLevel() {
 		return consistencyLevel;
 	}
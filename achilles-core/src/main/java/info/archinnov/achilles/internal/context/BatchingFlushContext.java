@@ -15,9 +15,12 @@
  */
 package info.archinnov.achilles.internal.context;
 
+import static info.archinnov.achilles.internal.metrics.MetricsRegistry.BATCH_ENTITY;
+import static info.archinnov.achilles.metrics.Operation.BATCH;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.interceptor.EventHolder;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
@@ -62,8 +65,16 @@ public class BatchingFlushContext extends AbstractFlushContext {
         for(EventHolder eventHolder:eventHolders) {
             eventHolder.triggerInterception();
         }
-        executeBatch(BatchStatement.Type.LOGGED, statementWrappers);
-        executeBatch(BatchStatement.Type.COUNTER, counterStatementWrappers);
+        final MetricsRegistry metricsRegistry = daoContext.getMetricsRegistry();
+        final long startTime = metricsRegistry.startTimer();
+        try {
+            executeBatch(BatchStatement.Type.LOGGED, statementWrappers);
+            executeBatch(BatchStatement.Type.COUNTER, counterStatementWrappers);
+            metricsRegistry.recordSuccess(BATCH_ENTITY, BATCH, startTime);
+        } catch (RuntimeException e) {
+            metricsRegistry.recordFailure(BATCH_ENTITY, BATCH, startTime);
+            throw e;
+        }
 	}
 
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Run the independent tasks of the bootstrap, e.g. the statement preparation or the table validation
+ * of each entity, on a bounded pool of threads.
+ * <br/>
+ * With a parallelism of 1 the tasks are run sequentially by the calling thread. The first task failure
+ * cancels the remaining tasks and is re-thrown as is
+ */
+public class BootstrapExecutor {
+
+    private final int parallelism;
+
+    private ExecutorService executor;
+
+    public BootstrapExecutor(int parallelism) {
+        Validator.validateTrue(parallelism > 0, "The bootstrap parallelism '%s' should be strictly positive", parallelism);
+        this.parallelism = parallelism;
+    }
+
+    public <K, V, R> Map<K, R> transformValues(Map<K, V> input, final Function<? super V, R> function) {
+        final Map<K, Callable<R>> tasks = new HashMap<>();
+        for (final Map.Entry<K, V> entry : input.entrySet()) {
+            tasks.put(entry.getKey(), new Callable<R>() {
+                @Override
+                public R call() {
+                    return function.apply(entry.getValue());
+                }
+            });
+        }
+        return invokeAll(tasks);
+    }
+
+    public <T> void forEach(Collection<T> items, final Function<? super T, ?> function) {
+        final Map<T, Callable<Object>> tasks = new HashMap<>();
+        for (final T item : items) {
+            tasks.put(item, new Callable<Object>() {
+                @Override
+                public Object call() {
+                    function.apply(item);
+                    return null;
+                }
+            });
+        }
+        invokeAll(tasks);
+    }
+
+    public void shutDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private <K, R> Map<K, R> invokeAll(Map<K, Callable<R>> tasks) {
+        final Map<K, R> results = new HashMap<>();
+        if (parallelism == 1 || tasks.size() <= 1) {
+            for (Map.Entry<K, Callable<R>> task : tasks.entrySet()) {
+                results.put(task.getKey(), callUnchecked(task.getValue()));
+            }
+            return results;
+        }
+
+        final ExecutorService executorService = getExecutor();
+        final List<K> keys = new ArrayList<>(tasks.size());
+        final List<Future<R>> futures = new ArrayList<>(tasks.size());
+        for (Map.Entry<K, Callable<R>> task : tasks.entrySet()) {
+            keys.add(task.getKey());
+            futures.add(executorService.submit(task.getValue()));
+        }
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                results.put(keys.get(i), Uninterruptibles.getUninterruptibly(futures.get(i)));
+            }
+        } catch (ExecutionException e) {
+            for (Future<R> future : futures) {
+                future.cancel(true);
+            }
+            throw propagate(e.getCause());
+        }
+        return results;
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                    .setNameFormat("achilles-bootstrap-%d").setDaemon(true).build());
+        }
+        return executor;
+    }
+
+    private <R> R callUnchecked(Callable<R> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw propagate(e);
+        }
+    }
+
+    private RuntimeException propagate(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new AchillesException(throwable);
+    }
+}
@@ -21,6 +21,10 @@ import javax.validation.Validator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.archinnov.achilles.internal.interceptor.DefaultBeanValidationInterceptor;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
+import info.archinnov.achilles.internal.fault.FaultInjector;
+import info.archinnov.achilles.internal.table.SchemaFingerprintCache;
+import info.archinnov.achilles.internal.tracing.QueryTraceSampler;
 import info.archinnov.achilles.json.JacksonMapperFactory;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.InsertStrategy;
@@ -48,8 +52,36 @@ public class ConfigurationContext {
 
     private int preparedStatementLRUCacheSize = 10000;
 
+    private int bootstrapParallelism = 1;
+
+    private boolean lazyEntityActivation;
+
+    private SchemaFingerprintCache schemaFingerprintCache = SchemaFingerprintCache.DISABLED;
+
     private InsertStrategy insertStrategy;
 
+    private int adaptiveInsertMaxShapes = 8;
+
+    private boolean dedicatedCounterTables;
+
+    private boolean hedgedReadsEnabled;
+
+    private double hedgedReadsPercentile = 95.0;
+
+    private long hedgedReadsMinDelayMillis = 5L;
+
+    private MetricsRegistry metricsRegistry = MetricsRegistry.DISABLED;
+
+    private long slowStatementThresholdMillis;
+
+    private Map<String, Long> slowStatementThresholdMap = new HashMap<>();
+
+    private int slowStatementMaxLogsPerSecond = 10;
+
+    private QueryTraceSampler queryTraceSampler = QueryTraceSampler.DISABLED;
+
+    private FaultInjector faultInjector = FaultInjector.DISABLED;
+
     private ClassLoader OSGIClassLoader;
 
     private boolean relaxIndexValidation;
@@ -118,6 +150,30 @@ public class ConfigurationContext {
         this.preparedStatementLRUCacheSize = preparedStatementLRUCacheSize;
     }
 
+    public int getBootstrapParallelism() {
+        return bootstrapParallelism;
+    }
+
+    public void setBootstrapParallelism(int bootstrapParallelism) {
+        this.bootstrapParallelism = bootstrapParallelism;
+    }
+
+    public boolean isLazyEntityActivation() {
+        return lazyEntityActivation;
+    }
+
+    public void setLazyEntityActivation(boolean lazyEntityActivation) {
+        this.lazyEntityActivation = lazyEntityActivation;
+    }
+
+    public SchemaFingerprintCache getSchemaFingerprintCache() {
+        return schemaFingerprintCache;
+    }
+
+    public void setSchemaFingerprintCache(SchemaFingerprintCache schemaFingerprintCache) {
+        this.schemaFingerprintCache = schemaFingerprintCache;
+    }
+
     public InsertStrategy getInsertStrategy() {
         return insertStrategy;
     }
@@ -126,6 +182,14 @@ public class ConfigurationContext {
         this.insertStrategy = insertStrategy;
     }
 
+    public int getAdaptiveInsertMaxShapes() {
+        return adaptiveInsertMaxShapes;
+    }
+
+    public void setAdaptiveInsertMaxShapes(int adaptiveInsertMaxShapes) {
+        this.adaptiveInsertMaxShapes = adaptiveInsertMaxShapes;
+    }
+
     public void setOSGIClassLoader(ClassLoader OSGIClassLoader) {
         this.OSGIClassLoader = OSGIClassLoader;
     }
@@ -174,6 +238,86 @@ public class ConfigurationContext {
         this.writeConsistencyLevelMap = writeConsistencyLevelMap;
     }
 
+    public boolean isDedicatedCounterTables() {
+        return dedicatedCounterTables;
+    }
+
+    public void setDedicatedCounterTables(boolean dedicatedCounterTables) {
+        this.dedicatedCounterTables = dedicatedCounterTables;
+    }
+
+    public boolean isHedgedReadsEnabled() {
+        return hedgedReadsEnabled;
+    }
+
+    public void setHedgedReadsEnabled(boolean hedgedReadsEnabled) {
+        this.hedgedReadsEnabled = hedgedReadsEnabled;
+    }
+
+    public double getHedgedReadsPercentile() {
+        return hedgedReadsPercentile;
+    }
+
+    public void setHedgedReadsPercentile(double hedgedReadsPercentile) {
+        this.hedgedReadsPercentile = hedgedReadsPercentile;
+    }
+
+    public long getHedgedReadsMinDelayMillis() {
+        return hedgedReadsMinDelayMillis;
+    }
+
+    public void setHedgedReadsMinDelayMillis(long hedgedReadsMinDelayMillis) {
+        this.hedgedReadsMinDelayMillis = hedgedReadsMinDelayMillis;
+    }
+
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public long getSlowStatementThresholdMillis() {
+        return slowStatementThresholdMillis;
+    }
+
+    public void setSlowStatementThresholdMillis(long slowStatementThresholdMillis) {
+        this.slowStatementThresholdMillis = slowStatementThresholdMillis;
+    }
+
+    public Map<String, Long> getSlowStatementThresholdMap() {
+        return slowStatementThresholdMap;
+    }
+
+    public void setSlowStatementThresholdMap(Map<String, Long> slowStatementThresholdMap) {
+        this.slowStatementThresholdMap = slowStatementThresholdMap;
+    }
+
+    public int getSlowStatementMaxLogsPerSecond() {
+        return slowStatementMaxLogsPerSecond;
+    }
+
+    public void setSlowStatementMaxLogsPerSecond(int slowStatementMaxLogsPerSecond) {
+        this.slowStatementMaxLogsPerSecond = slowStatementMaxLogsPerSecond;
+    }
+
+    public QueryTraceSampler getQueryTraceSampler() {
+        return queryTraceSampler;
+    }
+
+    public void setQueryTraceSampler(QueryTraceSampler queryTraceSampler) {
+        this.queryTraceSampler = queryTraceSampler;
+    }
+
+    public FaultInjector getFaultInjector() {
+        return faultInjector;
+    }
+
+    public void setFaultInjector(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
     public boolean isRelaxIndexValidation() {
         return relaxIndexValidation;
     }
@@ -15,43 +15,59 @@
  */
 package info.archinnov.achilles.internal.context;
 
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_CURRENT_SET;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DECR;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DELETE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.INCR;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.SELECT;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_VALUE;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.DELETE_ALL;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.SELECT_ALL;
 import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
 import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_FROM_LIST_AT_INDEX;
 import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.SET_TO_LIST_AT_INDEX;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.Update;
 import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
+import info.archinnov.achilles.chunk.AchillesChunk.ChunkQueryType;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.consistency.ConsistencyOverrider;
 import info.archinnov.achilles.internal.context.facade.DaoOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
+import info.archinnov.achilles.internal.statement.slowlog.SlowStatementLog;
+import info.archinnov.achilles.internal.fault.FaultInjector;
+import info.archinnov.achilles.internal.tracing.QueryTraceSampler;
 import info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
+import info.archinnov.achilles.internal.statement.RoutingKeyExtractor;
 import info.archinnov.achilles.internal.statement.StatementGenerator;
 import info.archinnov.achilles.internal.statement.cache.CacheManager;
+import info.archinnov.achilles.internal.statement.cache.InsertShapeTracker;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
+import info.archinnov.achilles.internal.statement.hedging.HedgedReadExecutor;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementBinder;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.NativeStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
 import info.archinnov.achilles.listener.CASResultListener;
 import info.archinnov.achilles.query.slice.SliceQueryProperties;
@@ -69,8 +85,16 @@ public class DaoContext {
 
     protected Map<CQLQueryType, PreparedStatement> counterQueryMap;
 
+    protected Map<Class<?>, Map<CQLQueryType, PreparedStatement>> dedicatedCounterQueryMap;
+
+    protected Map<CQLQueryType, PreparedStatement> shardedCounterQueryMap;
+
     protected Map<Class<?>, Map<CQLQueryType, Map<String, PreparedStatement>>> clusteredCounterQueryMap;
 
+    protected Map<ChunkQueryType, PreparedStatement> chunkQueryMap;
+
+    protected Map<String, EntityMeta> entityMetaByTableName = new HashMap<>();
+
     protected Session session;
 
     protected CacheManager cacheManager;
@@ -81,12 +105,34 @@ public class DaoContext {
 
     protected ConsistencyOverrider overrider = new ConsistencyOverrider();
 
+    protected RoutingKeyExtractor routingKeyExtractor = new RoutingKeyExtractor();
+
+    protected HedgedReadExecutor hedgedReadExecutor = new HedgedReadExecutor();
+
+    protected MetricsRegistry metricsRegistry = MetricsRegistry.DISABLED;
+
+    protected SlowStatementLog slowStatementLog = SlowStatementLog.DISABLED;
+
+    protected QueryTraceSampler queryTraceSampler = QueryTraceSampler.DISABLED;
+
+    protected FaultInjector faultInjector = FaultInjector.DISABLED;
+
+    protected EntityActivator entityActivator;
+
     public void pushInsertStatement(DaoOperations context, List<PropertyMeta> pms) {
         log.debug("Push insert statement for PersistenceContext '{}' and properties '{}'", context, pms);
 
-        PreparedStatement ps = cacheManager.getCacheForEntityInsert(session, dynamicPSCache, context, pms);
-        BoundStatementWrapper bsWrapper = binder.bindForInsert(context, ps, pms);
-        context.pushStatement(bsWrapper);
+        final InsertShapeTracker shapeTracker = context.getEntityMeta().getInsertShapeTracker();
+        if (shapeTracker != null && !shapeTracker.record(pms)) {
+            ConsistencyLevel writeLevel = overrider.getWriteLevel(context);
+            final Pair<Insert, Object[]> pair = statementGenerator.generateInsert(context, pms);
+            context.pushStatement(new RegularStatementWrapper(context.getEntityClass(), pair.left, pair.right, getCQLLevel(writeLevel),
+                    context.getCASResultListener(), context.getSerialConsistencyLevel()));
+        } else {
+            PreparedStatement ps = cacheManager.getCacheForEntityInsert(session, dynamicPSCache, context, pms);
+            BoundStatementWrapper bsWrapper = binder.bindForInsert(context, ps, pms);
+            context.pushStatement(bsWrapper);
+        }
     }
 
     public void pushUpdateStatement(DaoOperations context, List<PropertyMeta> pms) {
@@ -141,41 +187,74 @@ public class DaoContext {
     // Simple counter
     public void bindForSimpleCounterIncrement(DaoOperations context, PropertyMeta counterMeta, Long increment) {
         log.debug("Push simple counter increment statement for PersistenceContext '{}' and value '{}'", context, increment);
-        PreparedStatement ps = counterQueryMap.get(INCR);
         ConsistencyLevel writeLevel = overrider.getWriteLevel(context, counterMeta);
-        BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterIncrementDecrement(context, ps, counterMeta, increment, writeLevel);
+        BoundStatementWrapper bsWrapper = bindSimpleCounterIncrementDecrement(context, INCR, counterMeta, increment, writeLevel);
         context.pushCounterStatement(bsWrapper);
     }
 
     public void incrementSimpleCounter(DaoOperations context, PropertyMeta counterMeta, Long increment, ConsistencyLevel consistencyLevel) {
         log.debug("Increment immediately simple counter for PersistenceContext '{}' and value '{}'", context, increment);
-        PreparedStatement ps = counterQueryMap.get(INCR);
-        BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterIncrementDecrement(context, ps, counterMeta, increment, consistencyLevel);
+        BoundStatementWrapper bsWrapper = bindSimpleCounterIncrementDecrement(context, INCR, counterMeta, increment, consistencyLevel);
         context.executeImmediate(bsWrapper);
     }
 
     public void decrementSimpleCounter(DaoOperations context, PropertyMeta counterMeta, Long decrement, ConsistencyLevel consistencyLevel) {
         log.debug("Decrement immediately simple counter for PersistenceContext '{}' and value '{}'", context, decrement);
-        PreparedStatement ps = counterQueryMap.get(DECR);
-        BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterIncrementDecrement(context, ps, counterMeta, decrement, consistencyLevel);
+        BoundStatementWrapper bsWrapper = bindSimpleCounterIncrementDecrement(context, DECR, counterMeta, decrement, consistencyLevel);
         context.executeImmediate(bsWrapper);
     }
 
     public Row getSimpleCounter(DaoOperations context, PropertyMeta counterMeta, ConsistencyLevel consistencyLevel) {
         log.debug("Get simple counter value for counterMeta '{}' PersistenceContext '{}' using Consistency level '{}'", counterMeta, context, consistencyLevel);
-        PreparedStatement ps = counterQueryMap.get(SELECT);
+        PreparedStatement ps = simpleCounterStatement(context, SELECT);
         BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterSelect(context, ps, counterMeta, consistencyLevel);
         ResultSet resultSet = context.executeImmediate(bsWrapper);
         return returnFirstRowOrNull(resultSet.all());
     }
 
+    public Long getShardedCounter(DaoOperations context, PropertyMeta counterMeta, ConsistencyLevel consistencyLevel) {
+        log.debug("Get sharded counter value for counterMeta '{}' PersistenceContext '{}' using Consistency level '{}'", counterMeta, context, consistencyLevel);
+        PreparedStatement ps = shardedCounterQueryMap.get(SELECT);
+        BoundStatementWrapper bsWrapper = binder.bindForShardedCounterSelect(context, ps, counterMeta, consistencyLevel);
+        ResultSet resultSet = context.executeImmediate(bsWrapper);
+        Long sum = null;
+        for (Row row : resultSet) {
+            sum = (sum == null ? 0L : sum) + row.getLong(CQL_COUNTER_VALUE);
+        }
+        return sum;
+    }
+
     public void bindForSimpleCounterDelete(DaoOperations context, PropertyMeta counterMeta) {
         log.debug("Push simple counter deletion statement for counterMeta '{}' and PersistenceContext '{}'", counterMeta, context);
-        PreparedStatement ps = counterQueryMap.get(DELETE);
-        BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterDelete(context, ps, counterMeta);
+        BoundStatementWrapper bsWrapper;
+        if (counterMeta.isShardedCounter()) {
+            PreparedStatement ps = shardedCounterQueryMap.get(DELETE);
+            bsWrapper = binder.bindForShardedCounterDelete(context, ps, counterMeta);
+        } else {
+            PreparedStatement ps = simpleCounterStatement(context, DELETE);
+            bsWrapper = binder.bindForSimpleCounterDelete(context, ps, counterMeta);
+        }
         context.pushCounterStatement(bsWrapper);
     }
 
+    private BoundStatementWrapper bindSimpleCounterIncrementDecrement(DaoOperations context, CQLQueryType queryType, PropertyMeta counterMeta, Long delta, ConsistencyLevel consistencyLevel) {
+        if (counterMeta.isShardedCounter()) {
+            PreparedStatement ps = shardedCounterQueryMap.get(queryType);
+            int shard = counterMeta.getCounterProperties().pickShard();
+            return binder.bindForShardedCounterIncrementDecrement(context, ps, counterMeta, delta, shard, consistencyLevel);
+        } else {
+            PreparedStatement ps = simpleCounterStatement(context, queryType);
+            return binder.bindForSimpleCounterIncrementDecrement(context, ps, counterMeta, delta, consistencyLevel);
+        }
+    }
+
+    private PreparedStatement simpleCounterStatement(DaoOperations context, CQLQueryType queryType) {
+        if (context.getEntityMeta().hasDedicatedCounterTable()) {
+            return dedicatedCounterQueryMap.get(context.getEntityClass()).get(queryType);
+        }
+        return counterQueryMap.get(queryType);
+    }
+
     // Clustered counter
     public void pushClusteredCounterIncrementStatement(DaoOperations context, PropertyMeta counterMeta, Long increment) {
         log.debug("Push clustered counter increment statement for counterMeta '{}' and PersistenceContext '{}' and value '{}'", counterMeta, context, increment);
@@ -218,6 +297,50 @@ public class DaoContext {
         context.pushCounterStatement(bsWrapper);
     }
 
+    // Chunked values
+    public ResultSetFuture insertChunk(DaoOperations context, PropertyMeta pm, int chunkIndex, ByteBuffer chunk, long timestamp) {
+        log.trace("Insert asynchronously chunk '{}' of property '{}' for PersistenceContext '{}'", chunkIndex, pm, context);
+        PreparedStatement ps = chunkQueryMap.get(ChunkQueryType.INSERT);
+        BoundStatementWrapper bsWrapper = binder.bindForChunkInsert(context, ps, pm, chunkIndex, chunk, timestamp);
+        return context.executeAsync(bsWrapper);
+    }
+
+    public void switchChunkSet(DaoOperations context, PropertyMeta pm, long chunkSet) {
+        log.debug("Switch current chunk set of property '{}' to '{}' for PersistenceContext '{}'", pm, chunkSet, context);
+        PreparedStatement ps = chunkQueryMap.get(ChunkQueryType.INSERT_POINTER);
+        BoundStatementWrapper bsWrapper = binder.bindForChunkPointerInsert(context, ps, pm, chunkSet);
+        context.executeImmediate(bsWrapper);
+    }
+
+    public Long loadCurrentChunkSet(DaoOperations context, PropertyMeta pm) {
+        log.debug("Load current chunk set of property '{}' for PersistenceContext '{}'", pm, context);
+        PreparedStatement ps = chunkQueryMap.get(ChunkQueryType.SELECT_POINTER);
+        BoundStatementWrapper bsWrapper = binder.bindForChunkPointerSelect(context, ps, pm);
+        final Row row = context.executeImmediate(bsWrapper).one();
+        return row == null || row.isNull(CQL_CHUNK_CURRENT_SET) ? null : row.getLong(CQL_CHUNK_CURRENT_SET);
+    }
+
+    public ResultSet loadChunks(DaoOperations context, PropertyMeta pm, long chunkSet) {
+        log.debug("Load chunks of property '{}' for PersistenceContext '{}'", pm, context);
+        PreparedStatement ps = chunkQueryMap.get(ChunkQueryType.SELECT);
+        BoundStatementWrapper bsWrapper = binder.bindForChunkSelect(context, ps, pm, chunkSet);
+        return context.executeImmediate(bsWrapper);
+    }
+
+    public void removeChunks(DaoOperations context, PropertyMeta pm, long timestamp) {
+        log.debug("Remove immediately chunks of property '{}' for PersistenceContext '{}'", pm, context);
+        PreparedStatement ps = chunkQueryMap.get(ChunkQueryType.DELETE);
+        BoundStatementWrapper bsWrapper = binder.bindForChunkDelete(context, ps, pm, timestamp);
+        context.executeImmediate(bsWrapper);
+    }
+
+    public void bindForChunksRemoval(DaoOperations context, PropertyMeta pm, long timestamp) {
+        log.debug("Push chunks deletion statement of property '{}' for PersistenceContext '{}'", pm, context);
+        PreparedStatement ps = chunkQueryMap.get(ChunkQueryType.DELETE);
+        BoundStatementWrapper bsWrapper = binder.bindForChunkDelete(context, ps, pm, timestamp);
+        context.pushStatement(bsWrapper);
+    }
+
     public Row loadEntity(DaoOperations context) {
         log.debug("Load entity for PersistenceContext '{}'", context);
 
@@ -229,12 +352,31 @@ public class DaoContext {
         return returnFirstRowOrNull(rows);
     }
 
+    /**
+     * Validate the table and prepare the statements of the entity if it is used for the first time
+     * in lazy activation mode. No-op otherwise
+     */
+    public void activate(EntityMeta entityMeta) {
+        if (entityActivator != null && entityMeta != null) {
+            entityActivator.activate(entityMeta);
+        }
+    }
+
     public BoundStatementWrapper bindForSliceQuerySelect(SliceQueryProperties<?> sliceQueryProperties, ConsistencyLevel defaultReadConsistencyLevel) {
-        final PreparedStatement ps = cacheManager.getCacheForSliceSelectAndIterator(session, dynamicPSCache, sliceQueryProperties);
+        final EntityMeta entityMeta = sliceQueryProperties.getEntityMeta();
+        activate(entityMeta);
+        final int shapeId = sliceQueryProperties.getStatementShapeId();
+        final PreparedStatement ps;
+        if (shapeId != SliceQueryProperties.NO_STATEMENT_SHAPE && entityMeta.getSliceShapeCache() != null) {
+            ps = cacheManager.getCacheForSliceShape(session, entityMeta.getSliceShapeCache(), sliceQueryProperties, shapeId);
+        } else {
+            ps = cacheManager.getCacheForSliceSelectAndIterator(session, dynamicPSCache, sliceQueryProperties);
+        }
         return buildBSForSliceQuery(sliceQueryProperties, defaultReadConsistencyLevel, ps);
     }
 
     public BoundStatementWrapper bindForSliceQueryDelete(SliceQueryProperties<?> sliceQueryProperties, ConsistencyLevel defaultWriteConsistencyLevel) {
+        activate(sliceQueryProperties.getEntityMeta());
         final PreparedStatement ps = cacheManager.getCacheForSliceDelete(session, dynamicPSCache, sliceQueryProperties);
         return buildBSForSliceQuery(sliceQueryProperties, defaultWriteConsistencyLevel, ps);
     }
@@ -253,6 +395,11 @@ public class DaoContext {
     private List<Row> executeReadWithConsistency(DaoOperations context, PreparedStatement ps, boolean onlyStaticColumns) {
         ConsistencyLevel readLevel = overrider.getReadLevel(context);
         BoundStatementWrapper bsWrapper = binder.bindStatementWithOnlyPKInWhereClause(context, ps, onlyStaticColumns, readLevel);
+        final EntityMeta entityMeta = context.getEntityMeta();
+        if (entityMeta.hasHedgedReads()) {
+            monitor(bsWrapper);
+            return hedgedReadExecutor.execute(session, bsWrapper, entityMeta.getHedgedReadTracker()).all();
+        }
         return context.executeImmediate(bsWrapper).all();
     }
 
@@ -265,21 +412,105 @@ public class DaoContext {
     }
 
     public ResultSet execute(AbstractStatementWrapper statementWrapper) {
+        monitor(statementWrapper);
+        return statementWrapper.execute(session);
+    }
+
+    /**
+     * Execute an idempotent read of the given entity, hedged if the entity has hedged reads enabled
+     */
+    public ResultSet executeRead(EntityMeta entityMeta, AbstractStatementWrapper statementWrapper) {
+        activate(entityMeta);
+        monitor(statementWrapper);
+        if (entityMeta.hasHedgedReads()) {
+            return hedgedReadExecutor.execute(session, statementWrapper, entityMeta.getHedgedReadTracker());
+        }
         return statementWrapper.execute(session);
     }
 
+    public ResultSetFuture executeAsync(AbstractStatementWrapper statementWrapper) {
+        monitor(statementWrapper);
+        return statementWrapper.executeAsync(session);
+    }
+
+    private void monitor(AbstractStatementWrapper statementWrapper) {
+        statementWrapper.setSlowStatementLog(slowStatementLog);
+        statementWrapper.setQueryTraceSampler(queryTraceSampler);
+        statementWrapper.setFaultInjector(faultInjector);
+    }
+
+    public void attachRoutingKey(NativeStatementWrapper statementWrapper) {
+        final String queryString = statementWrapper.getStatement().getQueryString();
+        final Optional<String> tableName = routingKeyExtractor.extractTableName(queryString);
+        if (tableName.isPresent() && entityMetaByTableName.containsKey(tableName.get())) {
+            attachRoutingKey(statementWrapper, entityMetaByTableName.get(tableName.get()));
+        }
+    }
+
+    public void attachRoutingKey(NativeStatementWrapper statementWrapper, EntityMeta meta) {
+        final String queryString = statementWrapper.getStatement().getQueryString();
+        final Optional<ByteBuffer[]> routingKey = routingKeyExtractor.extractRoutingKey(meta, queryString, statementWrapper.getValues());
+        if (routingKey.isPresent()) {
+            log.trace("Attach routing key to native statement {}", queryString);
+            statementWrapper.setRoutingKey(routingKey.get());
+        }
+    }
+
     public PreparedStatement prepare(RegularStatement statement) {
         return session.prepare(statement.getQueryString());
     }
 
     public void executeBatch(BatchStatement batch) {
-        session.execute(batch);
+        final long startTime = slowStatementLog.startTimer();
+        ResultSet resultSet = null;
+        Throwable failure = null;
+        try {
+            faultInjector.inject(null, batch);
+            resultSet = session.execute(batch);
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (slowStatementLog.isSlow(null, startTime)) {
+                final ExecutionInfo executionInfo = resultSet == null ? null : resultSet.getExecutionInfo();
+                slowStatementLog.log(null, batch, "BATCH of " + batch.getStatements().size() + " statements", null,
+                        startTime, executionInfo, failure);
+            }
+        }
     }
 
     public Session getSession() {
         return session;
     }
 
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    void setSlowStatementLog(SlowStatementLog slowStatementLog) {
+        this.slowStatementLog = slowStatementLog;
+    }
+
+    void setQueryTraceSampler(QueryTraceSampler queryTraceSampler) {
+        this.queryTraceSampler = queryTraceSampler;
+    }
+
+    void setFaultInjector(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    public void setEntityActivator(EntityActivator entityActivator) {
+        this.entityActivator = entityActivator;
+    }
+
+    public Cache<StatementCacheKey, PreparedStatement> getDynamicPSCache() {
+        return dynamicPSCache;
+    }
+
     void setDynamicPSCache(Cache<StatementCacheKey, PreparedStatement> dynamicPSCache) {
         this.dynamicPSCache = dynamicPSCache;
     }
@@ -296,11 +527,27 @@ public class DaoContext {
         this.counterQueryMap = counterQueryMap;
     }
 
+    void setDedicatedCounterQueryMap(Map<Class<?>, Map<CQLQueryType, PreparedStatement>> dedicatedCounterQueryMap) {
+        this.dedicatedCounterQueryMap = dedicatedCounterQueryMap;
+    }
+
+    void setShardedCounterQueryMap(Map<CQLQueryType, PreparedStatement> shardedCounterQueryMap) {
+        this.shardedCounterQueryMap = shardedCounterQueryMap;
+    }
+
     void setClusteredCounterQueryMap(Map<Class<?>, Map<CQLQueryType, Map<String,
             PreparedStatement>>> clusteredCounterQueryMap) {
         this.clusteredCounterQueryMap = clusteredCounterQueryMap;
     }
 
+    void setChunkQueryMap(Map<ChunkQueryType, PreparedStatement> chunkQueryMap) {
+        this.chunkQueryMap = chunkQueryMap;
+    }
+
+    void setEntityMetaByTableName(Map<String, EntityMeta> entityMetaByTableName) {
+        this.entityMetaByTableName = entityMetaByTableName;
+    }
+
     void setSession(Session session) {
         this.session = session;
     }
@@ -19,9 +19,11 @@ import static com.google.common.cache.CacheBuilder.newBuilder;
 import static com.google.common.collect.Maps.filterValues;
 import static com.google.common.collect.Maps.transformValues;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.CLUSTERED_COUNTER_FILTER;
+import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.DEDICATED_COUNTER_TABLE_FILTER;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EXCLUDE_CLUSTERED_COUNTER_FILTER;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.PreparedStatement;
@@ -29,12 +31,16 @@ import com.datastax.driver.core.Session;
 import com.google.common.base.Function;
 import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.chunk.AchillesChunk.ChunkQueryType;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
+import info.archinnov.achilles.internal.fault.FaultInjector;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
 import info.archinnov.achilles.internal.statement.cache.CacheManager;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.internal.statement.slowlog.SlowStatementLog;
+import info.archinnov.achilles.internal.tracing.QueryTraceSampler;
 
 public class DaoContextFactory {
     private static final Logger log = LoggerFactory.getLogger(DaoContextFactory.class);
@@ -45,15 +51,28 @@ public class DaoContextFactory {
         log.debug("Build DaoContext");
 
         Map<Class<?>, EntityMeta> metaMap = parsingResult.getMetaMap();
+        BootstrapExecutor executor = new BootstrapExecutor(configContext.getBootstrapParallelism());
+        try {
+            return create(session, parsingResult, configContext, metaMap, executor);
+        } finally {
+            executor.shutDown();
+        }
+    }
+
+    private DaoContext create(Session session, ParsingResult parsingResult, ConfigurationContext configContext,
+            Map<Class<?>, EntityMeta> metaMap, BootstrapExecutor executor) {
+
+        // In lazy activation mode, the statements of each entity are prepared on first use by the EntityActivator
+        Map<Class<?>, EntityMeta> preparedMetaMap = configContext.isLazyEntityActivation()
+                ? ImmutableMap.<Class<?>, EntityMeta>of() : metaMap;
 
-        Map<Class<?>, PreparedStatement> selectPSMap = new HashMap<>(transformValues(metaMap,
-                getSelectPSTransformer(session)));
+        Map<Class<?>, PreparedStatement> selectPSMap = executor.transformValues(preparedMetaMap, getSelectPSTransformer(session));
 
-        Map<Class<?>, Map<String, PreparedStatement>> removePSMap = new HashMap<>(transformValues(
-                filterValues(metaMap, EXCLUDE_CLUSTERED_COUNTER_FILTER), getRemovePSTransformer(session)));
+        Map<Class<?>, Map<String, PreparedStatement>> removePSMap = executor.transformValues(
+                filterValues(preparedMetaMap, EXCLUDE_CLUSTERED_COUNTER_FILTER), getRemovePSTransformer(session));
 
         Cache<StatementCacheKey, PreparedStatement> dynamicPSCache = newBuilder().maximumSize(
-                configContext.getPreparedStatementLRUCacheSize()).build();
+                configContext.getPreparedStatementLRUCacheSize()).recordStats().build();
 
         Map<CQLQueryType, PreparedStatement> counterQueryMap;
         if (parsingResult.hasSimpleCounter()) {
@@ -62,24 +81,94 @@ public class DaoContextFactory {
             counterQueryMap = ImmutableMap.of();
         }
 
-        Map<Class<?>, Map<CQLQueryType, Map<String, PreparedStatement>>> clusteredCounterQueriesMap = new HashMap<>(
-                transformValues(filterValues(metaMap, CLUSTERED_COUNTER_FILTER),
-                        getClusteredCounterTransformer(session)));
+        Map<Class<?>, Map<CQLQueryType, PreparedStatement>> dedicatedCounterQueryMap = executor.transformValues(
+                filterValues(preparedMetaMap, DEDICATED_COUNTER_TABLE_FILTER), getDedicatedCounterTransformer(session));
+
+        Map<CQLQueryType, PreparedStatement> shardedCounterQueryMap;
+        if (parsingResult.hasShardedCounter()) {
+            shardedCounterQueryMap = queryGenerator.prepareShardedCounterQueryMap(session);
+        } else {
+            shardedCounterQueryMap = ImmutableMap.of();
+        }
+
+        Map<ChunkQueryType, PreparedStatement> chunkQueryMap;
+        if (parsingResult.hasChunkedProperty()) {
+            chunkQueryMap = queryGenerator.prepareChunkQueryMap(session);
+        } else {
+            chunkQueryMap = ImmutableMap.of();
+        }
+
+        Map<Class<?>, Map<CQLQueryType, Map<String, PreparedStatement>>> clusteredCounterQueriesMap = executor.transformValues(
+                filterValues(preparedMetaMap, CLUSTERED_COUNTER_FILTER), getClusteredCounterTransformer(session));
+
+        if (configContext.isLazyEntityActivation()) {
+            selectPSMap = new ConcurrentHashMap<>(selectPSMap);
+            removePSMap = new ConcurrentHashMap<>(removePSMap);
+            dedicatedCounterQueryMap = new ConcurrentHashMap<>(dedicatedCounterQueryMap);
+            clusteredCounterQueriesMap = new ConcurrentHashMap<>(clusteredCounterQueriesMap);
+        }
 
         displayPreparedStatementsStats(selectPSMap, removePSMap, counterQueryMap, clusteredCounterQueriesMap);
 
+        Map<String, EntityMeta> entityMetaByTableName = new HashMap<>();
+        for (EntityMeta meta : metaMap.values()) {
+            entityMetaByTableName.put(meta.getTableName().toLowerCase(), meta);
+        }
+
         DaoContext daoContext = new DaoContext();
         daoContext.setDynamicPSCache(dynamicPSCache);
         daoContext.setSelectPSs(selectPSMap);
         daoContext.setRemovePSs(removePSMap);
         daoContext.setCounterQueryMap(counterQueryMap);
+        daoContext.setDedicatedCounterQueryMap(dedicatedCounterQueryMap);
+        daoContext.setShardedCounterQueryMap(shardedCounterQueryMap);
         daoContext.setClusteredCounterQueryMap(clusteredCounterQueriesMap);
+        daoContext.setChunkQueryMap(chunkQueryMap);
+        daoContext.setEntityMetaByTableName(entityMetaByTableName);
+        daoContext.setMetricsRegistry(configContext.getMetricsRegistry());
+        daoContext.setSlowStatementLog(buildSlowStatementLog(configContext, metaMap));
+        daoContext.setQueryTraceSampler(QueryTraceSampler.orDisabled(configContext.getQueryTraceSampler()));
+        daoContext.setFaultInjector(FaultInjector.orDisabled(configContext.getFaultInjector()));
         daoContext.setSession(session);
         daoContext.setCacheManager(new CacheManager(configContext.getPreparedStatementLRUCacheSize()));
 
         return daoContext;
     }
 
+    public void prepareStatementsForEntity(Session session, EntityMeta entityMeta, DaoContext daoContext) {
+        log.debug("Prepare statements for {}", entityMeta);
+        Map<Class<?>, EntityMeta> metaMap = ImmutableMap.<Class<?>, EntityMeta>of(entityMeta.getEntityClass(), entityMeta);
+
+        daoContext.selectPSs.putAll(transformValues(metaMap, getSelectPSTransformer(session)));
+        daoContext.removePSs.putAll(transformValues(filterValues(metaMap, EXCLUDE_CLUSTERED_COUNTER_FILTER),
+                getRemovePSTransformer(session)));
+        daoContext.dedicatedCounterQueryMap.putAll(transformValues(filterValues(metaMap, DEDICATED_COUNTER_TABLE_FILTER),
+                getDedicatedCounterTransformer(session)));
+        daoContext.clusteredCounterQueryMap.putAll(transformValues(filterValues(metaMap, CLUSTERED_COUNTER_FILTER),
+                getClusteredCounterTransformer(session)));
+    }
+
+    SlowStatementLog buildSlowStatementLog(ConfigurationContext configContext, Map<Class<?>, EntityMeta> metaMap) {
+        final Map<String, Long> thresholdByTable = new HashMap<>();
+        if (configContext.getSlowStatementThresholdMap() != null) {
+            for (Map.Entry<String, Long> entry : configContext.getSlowStatementThresholdMap().entrySet()) {
+                thresholdByTable.put(entry.getKey().toLowerCase(), entry.getValue());
+            }
+        }
+        final Map<Class<?>, Long> thresholdByEntity = new HashMap<>();
+        for (Map.Entry<Class<?>, EntityMeta> entry : metaMap.entrySet()) {
+            final Long threshold = thresholdByTable.get(entry.getValue().getTableName().toLowerCase());
+            if (threshold != null) {
+                thresholdByEntity.put(entry.getKey(), threshold);
+            }
+        }
+        if (configContext.getSlowStatementThresholdMillis() == 0 && thresholdByEntity.isEmpty()) {
+            return SlowStatementLog.DISABLED;
+        }
+        return new SlowStatementLog(configContext.getSlowStatementThresholdMillis(), thresholdByEntity,
+                configContext.getSlowStatementMaxLogsPerSecond());
+    }
+
     Function<EntityMeta, PreparedStatement> getSelectPSTransformer(final Session session) {
         return new Function<EntityMeta, PreparedStatement>() {
             @Override
@@ -98,6 +187,15 @@ public class DaoContextFactory {
         };
     }
 
+    Function<EntityMeta, Map<CQLQueryType, PreparedStatement>> getDedicatedCounterTransformer(final Session session) {
+        return new Function<EntityMeta, Map<CQLQueryType, PreparedStatement>>() {
+            @Override
+            public Map<CQLQueryType, PreparedStatement> apply(EntityMeta meta) {
+                return queryGenerator.prepareSimpleCounterQueryMap(session, meta);
+            }
+        };
+    }
+
     Function<EntityMeta, Map<CQLQueryType, Map<String, PreparedStatement>>> getClusteredCounterTransformer(
             final Session session) {
         return new Function<EntityMeta, Map<CQLQueryType, Map<String, PreparedStatement>>>() {
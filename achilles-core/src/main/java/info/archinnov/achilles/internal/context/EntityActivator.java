@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.context;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.Stopwatch;
+import info.archinnov.achilles.internal.metadata.discovery.AchillesBootstrapper;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+
+/**
+ * Validate (or create) the table and prepare the statements of an entity on its first use, when
+ * <strong>BOOTSTRAP_LAZY_ENTITY_ACTIVATION</strong> is enabled.
+ * <br/>
+ * Each entity is activated exactly once, even when first used concurrently by several threads. An activation
+ * failure is re-thrown to the caller and the activation is retried on the next use. Table creations and updates
+ * are executed one at a time to let the cluster reach schema agreement
+ */
+public class EntityActivator {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityActivator.class);
+
+    private final ConcurrentMap<Class<?>, Boolean> activated = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Object> locks = new ConcurrentHashMap<>();
+
+    private final Object schemaLock = new Object();
+
+    private final AchillesBootstrapper bootstrapper;
+
+    private final SchemaContext schemaContext;
+
+    private final DaoContextFactory daoContextFactory;
+
+    private final DaoContext daoContext;
+
+    public EntityActivator(AchillesBootstrapper bootstrapper, SchemaContext schemaContext,
+            DaoContextFactory daoContextFactory, DaoContext daoContext) {
+        this.bootstrapper = bootstrapper;
+        this.schemaContext = schemaContext;
+        this.daoContextFactory = daoContextFactory;
+        this.daoContext = daoContext;
+    }
+
+    public void activate(EntityMeta entityMeta) {
+        final Class<?> entityClass = entityMeta.getEntityClass();
+        if (activated.containsKey(entityClass)) {
+            return;
+        }
+        synchronized (lockFor(entityClass)) {
+            if (activated.containsKey(entityClass)) {
+                return;
+            }
+            final Stopwatch stopwatch = Stopwatch.createStarted();
+            synchronized (schemaLock) {
+                bootstrapper.validateOrCreateTableForEntity(schemaContext, entityMeta);
+            }
+            daoContextFactory.prepareStatementsForEntity(schemaContext.getSession(), entityMeta, daoContext);
+            activated.put(entityClass, true);
+            log.info("Entity {} activated in {} ms", entityClass.getCanonicalName(), stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    public boolean isActivated(Class<?> entityClass) {
+        return activated.containsKey(entityClass);
+    }
+
+    private Object lockFor(Class<?> entityClass) {
+        final Object lock = new Object();
+        final Object existing = locks.putIfAbsent(entityClass, lock);
+        return existing != null ? existing : lock;
+    }
+}
@@ -24,8 +24,13 @@ import static info.archinnov.achilles.interceptor.Event.POST_UPDATE;
 import static info.archinnov.achilles.interceptor.Event.PRE_PERSIST;
 import static info.archinnov.achilles.interceptor.Event.PRE_REMOVE;
 import static info.archinnov.achilles.interceptor.Event.PRE_UPDATE;
+import static info.archinnov.achilles.metrics.Operation.FIND;
+import static info.archinnov.achilles.metrics.Operation.INSERT;
+import static info.archinnov.achilles.metrics.Operation.REMOVE;
+import static info.archinnov.achilles.metrics.Operation.UPDATE;
 import static info.archinnov.achilles.type.Options.CASCondition;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -33,18 +38,21 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.google.common.base.Function;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.internal.consistency.ConsistencyOverrider;
+import info.archinnov.achilles.internal.context.AbstractFlushContext.FlushType;
 import info.archinnov.achilles.internal.context.facade.DaoOperations;
 import info.archinnov.achilles.internal.context.facade.EntityOperations;
 import info.archinnov.achilles.internal.context.facade.PersistenceManagerOperations;
 import info.archinnov.achilles.internal.context.facade.PersistentStateHolder;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
 import info.archinnov.achilles.internal.persistence.operations.EntityInitializer;
 import info.archinnov.achilles.internal.persistence.operations.EntityLoader;
 import info.archinnov.achilles.internal.persistence.operations.EntityPersister;
@@ -54,6 +62,7 @@ import info.archinnov.achilles.internal.persistence.operations.EntityUpdater;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.metrics.Operation;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 import info.archinnov.achilles.type.OptionsBuilder;
@@ -243,35 +252,83 @@ public class PersistenceContext {
         }
 
         public <T> T persist(T rawEntity) {
-            flushContext.triggerInterceptor(entityMeta, rawEntity, PRE_PERSIST);
-            persister.persist(entityFacade);
-            flush();
-            flushContext.triggerInterceptor(entityMeta, rawEntity, POST_PERSIST);
+            persistWithoutProxy(rawEntity);
             return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(rawEntity, entityFacade);
         }
 
-        public void update(Object proxifiedEntity) {
-            flushContext.triggerInterceptor(entityMeta, entity, PRE_UPDATE);
-            updater.update(entityFacade, proxifiedEntity);
-            flush();
-            flushContext.triggerInterceptor(entityMeta, entity, POST_UPDATE);
+        public void persistWithoutProxy(final Object rawEntity) {
+            measure(INSERT, new MeasuredOperation<Void>() {
+                @Override
+                Void execute() {
+                    flushContext.triggerInterceptor(entityMeta, rawEntity, PRE_PERSIST);
+                    persister.persist(entityFacade);
+                    flush();
+                    flushContext.triggerInterceptor(entityMeta, rawEntity, POST_PERSIST);
+                    return null;
+                }
+            });
+        }
+
+        public void update(final Object proxifiedEntity) {
+            measure(UPDATE, new MeasuredOperation<Void>() {
+                @Override
+                Void execute() {
+                    flushContext.triggerInterceptor(entityMeta, entity, PRE_UPDATE);
+                    updater.update(entityFacade, proxifiedEntity);
+                    flush();
+                    flushContext.triggerInterceptor(entityMeta, entity, POST_UPDATE);
+                    return null;
+                }
+            });
+        }
+
+        public void updateDetached(final Object snapshot) {
+            measure(UPDATE, new MeasuredOperation<Void>() {
+                @Override
+                Void execute() {
+                    flushContext.triggerInterceptor(entityMeta, entity, PRE_UPDATE);
+                    updater.updateDetached(entityFacade, entity, snapshot);
+                    flush();
+                    flushContext.triggerInterceptor(entityMeta, entity, POST_UPDATE);
+                    return null;
+                }
+            });
+        }
+
+        public void updateDetached() {
+            Object snapshot = loader.load(entityFacade, entityClass);
+            if (snapshot == null) {
+                snapshot = entityMeta.instanciate();
+            }
+            updateDetached(snapshot);
         }
 
         public void remove() {
-            flushContext.triggerInterceptor(entityMeta, entity, PRE_REMOVE);
-            persister.remove(entityFacade);
-            flush();
-            flushContext.triggerInterceptor(entityMeta, entity, POST_REMOVE);
-        }
-
-        public <T> T find(Class<T> entityClass) {
-            T rawEntity = loader.load(entityFacade, entityClass);
-            T proxifiedEntity = null;
-            if (rawEntity != null) {
-                flushContext.triggerInterceptor(entityMeta, rawEntity, POST_LOAD);
-                proxifiedEntity = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(rawEntity, entityFacade);
-            }
-            return proxifiedEntity;
+            measure(REMOVE, new MeasuredOperation<Void>() {
+                @Override
+                Void execute() {
+                    flushContext.triggerInterceptor(entityMeta, entity, PRE_REMOVE);
+                    persister.remove(entityFacade);
+                    flush();
+                    flushContext.triggerInterceptor(entityMeta, entity, POST_REMOVE);
+                    return null;
+                }
+            });
+        }
+
+        public <T> T find(final Class<T> entityClass) {
+            return measure(FIND, new MeasuredOperation<T>() {
+                @Override
+                T execute() {
+                    T rawEntity = loader.load(entityFacade, entityClass);
+                    T proxifiedEntity = null;
+                    if (rawEntity != null) {
+                        flushContext.triggerInterceptor(entityMeta, rawEntity, POST_LOAD);
+                        proxifiedEntity = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(rawEntity, entityFacade);
+                    }
+                    return proxifiedEntity;
+                }
+            });
         }
 
         public <T> T getProxy(Class<T> entityClass) {
@@ -306,6 +363,30 @@ public class PersistenceContext {
         protected void flush() {
             flushContext.flush();
         }
+
+        /**
+         * Writes enqueued in a batch are not executed until the batch is flushed, which records them once as a
+         * BATCH operation. Timing them here would only measure the enqueueing.
+         */
+        private <T> T measure(Operation operation, MeasuredOperation<T> measuredOperation) {
+            if (operation != FIND && flushContext.type() == FlushType.BATCH) {
+                return measuredOperation.execute();
+            }
+            final MetricsRegistry metricsRegistry = configContext.getMetricsRegistry();
+            final long startTime = metricsRegistry.startTimer();
+            try {
+                final T result = measuredOperation.execute();
+                metricsRegistry.recordSuccess(entityClass, operation, startTime);
+                return result;
+            } catch (RuntimeException e) {
+                metricsRegistry.recordFailure(entityClass, operation, startTime);
+                throw e;
+            }
+        }
+    }
+
+    private static abstract class MeasuredOperation<T> {
+        abstract T execute();
     }
 
     public class EntityFacade extends StateHolderFacade implements EntityOperations {
@@ -346,6 +427,10 @@ public class PersistenceContext {
         public Long getSimpleCounter(PropertyMeta counterMeta, ConsistencyLevel consistency) {
             log.trace("Get counter value for counterMeta '{}' with consistency level '{}'", counterMeta, consistency);
 
+            if (counterMeta.isShardedCounter()) {
+                return daoContext.getShardedCounter(daoFacade, counterMeta, consistency);
+            }
+
             Row row = daoContext.getSimpleCounter(daoFacade, counterMeta, consistency);
             if (row != null) {
                 return row.getLong(CQL_COUNTER_VALUE);
@@ -375,6 +460,35 @@ public class PersistenceContext {
         public void bindForClusteredCounterRemoval() {
             daoContext.bindForClusteredCounterDelete(daoFacade);
         }
+
+        // Chunked values
+        public ResultSetFuture insertChunk(PropertyMeta chunkedMeta, int chunkIndex, ByteBuffer chunk, long timestamp) {
+            return daoContext.insertChunk(daoFacade, chunkedMeta, chunkIndex, chunk, timestamp);
+        }
+
+        public void switchChunkSet(PropertyMeta chunkedMeta, long chunkSet) {
+            daoContext.switchChunkSet(daoFacade, chunkedMeta, chunkSet);
+        }
+
+        public Long loadCurrentChunkSet(PropertyMeta chunkedMeta) {
+            return daoContext.loadCurrentChunkSet(daoFacade, chunkedMeta);
+        }
+
+        public ResultSet loadChunks(PropertyMeta chunkedMeta, long chunkSet) {
+            return daoContext.loadChunks(daoFacade, chunkedMeta, chunkSet);
+        }
+
+        public void removeChunks(PropertyMeta chunkedMeta, long timestamp) {
+            daoContext.removeChunks(daoFacade, chunkedMeta, timestamp);
+        }
+
+        public void bindForChunksRemoval(PropertyMeta chunkedMeta, long timestamp) {
+            daoContext.bindForChunksRemoval(daoFacade, chunkedMeta, timestamp);
+        }
+
+        public boolean isBatchMode() {
+            return flushContext.type() == FlushType.BATCH;
+        }
     }
 
     public class DaoFacade extends StateHolderFacade implements DaoOperations {
@@ -393,5 +507,9 @@ public class PersistenceContext {
         public ResultSet executeImmediate(AbstractStatementWrapper bsWrapper) {
             return flushContext.executeImmediate(bsWrapper);
         }
+
+        public ResultSetFuture executeAsync(AbstractStatementWrapper bsWrapper) {
+            return flushContext.executeAsync(bsWrapper);
+        }
     }
 }
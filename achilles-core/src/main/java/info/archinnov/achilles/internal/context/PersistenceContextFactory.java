@@ -63,6 +63,7 @@ public class PersistenceContextFactory {
 		Validator.validateNotNull(entity, "entity should not be null for persistence context creation");
 		Class<?> entityClass = proxifier.deriveBaseClass(entity);
 		EntityMeta meta = entityMetaMap.get(entityClass);
+		daoContext.activate(meta);
 		return new PersistenceContext(meta, configContext, daoContext, flushContext, entity, options);
 	}
 
@@ -83,6 +84,7 @@ public class PersistenceContextFactory {
 		Validator.validateNotNull(entityClass, "entityClass should not be null for persistence context creation");
 		Validator.validateNotNull(primaryKey, "primaryKey should not be null for persistence context creation");
 		EntityMeta meta = entityMetaMap.get(entityClass);
+		daoContext.activate(meta);
 		return new PersistenceContext(meta, configContext, daoContext, flushContext, entityClass, primaryKey, options);
 	}
 
@@ -92,6 +94,7 @@ public class PersistenceContextFactory {
 				"Build new PersistenceContext for slice query on entity class '{}' with partition key components '{}' and Consistency Level '{}'",
 				entityClass, partitionComponents, cl);
 		EntityMeta meta = entityMetaMap.get(entityClass);
+		daoContext.activate(meta);
 		PropertyMeta idMeta = meta.getIdMeta();
 		Object embeddedId = invoker.instantiateEmbeddedIdWithPartitionComponents(idMeta, partitionComponents);
 
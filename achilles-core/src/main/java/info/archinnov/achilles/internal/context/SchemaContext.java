@@ -16,23 +16,32 @@
 
 package info.archinnov.achilles.internal.context;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.TableMetadata;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
+import info.archinnov.achilles.internal.table.SchemaFingerprintCache;
 import info.archinnov.achilles.internal.table.TableCreator;
+import info.archinnov.achilles.internal.table.TableMetadataSource;
 import info.archinnov.achilles.internal.table.TableUpdater;
 import info.archinnov.achilles.internal.table.TableValidator;
 
 public class SchemaContext {
+    private static final Logger log = LoggerFactory.getLogger(SchemaContext.class);
+
     private ConfigurationContext configContext;
 
     private Cluster cluster;
 
+    private TableMetadataSource tableMetadataSource;
+
     private Session session;
 
     private String keyspaceName;
@@ -41,19 +50,27 @@ public class SchemaContext {
 
     private boolean hasCounter;
 
+    private boolean hasChunkedProperty;
+
+    private boolean hasShardedCounter;
+
     protected TableCreator tableCreator = new TableCreator();
 
     protected TableValidator tableValidator = new TableValidator();
 
     protected TableUpdater tableUpdater = new TableUpdater();
 
-    public SchemaContext(ConfigurationContext configContext, Session session, String keyspaceName, Cluster cluster, ParsingResult parsingResult) {
+    public SchemaContext(ConfigurationContext configContext, Session session, String keyspaceName, Cluster cluster,
+            TableMetadataSource tableMetadataSource, ParsingResult parsingResult) {
         this.configContext = configContext;
         this.session = session;
         this.keyspaceName = keyspaceName;
         this.cluster = cluster;
+        this.tableMetadataSource = tableMetadataSource;
         this.entityMetaMap = parsingResult.getMetaMap();
         this.hasCounter = parsingResult.hasSimpleCounter();
+        this.hasChunkedProperty = parsingResult.hasChunkedProperty();
+        this.hasShardedCounter = parsingResult.hasShardedCounter();
     }
 
     public Session getSession() {
@@ -64,30 +81,96 @@ public class SchemaContext {
         return hasCounter;
     }
 
+    public boolean hasChunkedProperty() {
+        return hasChunkedProperty;
+    }
+
+    public boolean hasShardedCounter() {
+        return hasShardedCounter;
+    }
+
+    public int getBootstrapParallelism() {
+        return configContext.getBootstrapParallelism();
+    }
+
+    public boolean isLazyEntityActivation() {
+        return configContext.isLazyEntityActivation();
+    }
+
     public Set<Entry<Class<?>, EntityMeta>> entityMetaEntrySet() {
         return entityMetaMap.entrySet();
     }
 
     public void validateForEntity(EntityMeta entityMeta, TableMetadata tableMetaData) {
+        final SchemaFingerprintCache fingerprintCache = configContext.getSchemaFingerprintCache();
+        final String fingerprint = fingerprintCache.fingerprint(entityMeta, tableMetaData, configContext);
+        if (fingerprintCache.isUnchanged(tableMetaData, fingerprint)) {
+            log.debug("Skip validation of unchanged table {} for {}", tableMetaData.getName(), entityMeta);
+            return;
+        }
         tableValidator.validateForEntity(entityMeta, tableMetaData, configContext);
+        fingerprintCache.record(tableMetaData, fingerprint);
+    }
+
+    public void validateDedicatedCounterTable(EntityMeta entityMeta, TableMetadata tableMetaData) {
+        final SchemaFingerprintCache fingerprintCache = configContext.getSchemaFingerprintCache();
+        final String fingerprint = fingerprintCache.fingerprint(entityMeta, tableMetaData, configContext);
+        if (fingerprintCache.isUnchanged(tableMetaData, fingerprint)) {
+            log.debug("Skip validation of unchanged counter table {} for {}", tableMetaData.getName(), entityMeta);
+            return;
+        }
+        tableValidator.validateDedicatedCounterTable(entityMeta, tableMetaData);
+        fingerprintCache.record(tableMetaData, fingerprint);
+    }
+
+    public void saveSchemaFingerprints() {
+        configContext.getSchemaFingerprintCache().save();
+    }
+
+    public void saveSchemaFingerprintsInBackground() {
+        configContext.getSchemaFingerprintCache().saveInBackground();
     }
 
     public void validateAchillesCounter() {
         tableValidator.validateAchillesCounter(cluster.getMetadata().getKeyspace(keyspaceName), keyspaceName);
     }
 
+    public void validateAchillesChunk() {
+        tableValidator.validateAchillesChunk(cluster.getMetadata().getKeyspace(keyspaceName), keyspaceName);
+    }
+
+    public void validateAchillesShardedCounter() {
+        tableValidator.validateAchillesShardedCounter(cluster.getMetadata().getKeyspace(keyspaceName), keyspaceName);
+    }
+
     public Map<String, TableMetadata> fetchTableMetaData() {
-        return tableCreator.fetchTableMetaData(cluster.getMetadata().getKeyspace(keyspaceName), keyspaceName);
+        return tableMetadataSource.fetchTableMetaData(keyspaceName);
+    }
+
+    public Map<String, TableMetadata> fetchTableMetaData(Collection<String> tableNames) {
+        return tableMetadataSource.fetchTableMetaData(keyspaceName, tableNames);
     }
 
     public void createTableForEntity(EntityMeta entityMeta) {
         tableCreator.createTableForEntity(session, entityMeta, configContext);
     }
 
+    public void createDedicatedCounterTable(EntityMeta entityMeta) {
+        tableCreator.createDedicatedCounterTable(session, entityMeta, configContext);
+    }
+
     public void createTableForCounter() {
         tableCreator.createTableForCounter(session, configContext);
     }
 
+    public void createTableForShardedCounter() {
+        tableCreator.createTableForShardedCounter(session, configContext);
+    }
+
+    public void createTableForChunk() {
+        tableCreator.createTableForChunk(session, configContext);
+    }
+
     public void updateForEntity(EntityMeta entityMeta, TableMetadata tableMetaData) {
         tableUpdater.updateTableForEntity(session, entityMeta, tableMetaData);
     }
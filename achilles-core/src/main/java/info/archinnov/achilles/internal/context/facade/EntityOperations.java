@@ -16,7 +16,10 @@
 
 package info.archinnov.achilles.internal.context.facade;
 
+import java.nio.ByteBuffer;
 import java.util.List;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
@@ -53,4 +56,19 @@ public interface EntityOperations extends PersistentStateHolder {
 
     public void bindForClusteredCounterRemoval();
 
+    // Chunked values
+    public ResultSetFuture insertChunk(PropertyMeta chunkedMeta, int chunkIndex, ByteBuffer chunk, long timestamp);
+
+    public void switchChunkSet(PropertyMeta chunkedMeta, long chunkSet);
+
+    public Long loadCurrentChunkSet(PropertyMeta chunkedMeta);
+
+    public ResultSet loadChunks(PropertyMeta chunkedMeta, long chunkSet);
+
+    public void removeChunks(PropertyMeta chunkedMeta, long timestamp);
+
+    public void bindForChunksRemoval(PropertyMeta chunkedMeta, long timestamp);
+
+    public boolean isBatchMode();
+
 }
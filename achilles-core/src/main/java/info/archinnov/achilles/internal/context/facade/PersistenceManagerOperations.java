@@ -25,8 +25,14 @@ public interface PersistenceManagerOperations extends PersistentStateHolder {
 
     public <T> T persist(T rawEntity);
 
+    public void persistWithoutProxy(Object rawEntity);
+
     public void update(Object proxifiedEntity);
 
+    public void updateDetached(Object snapshot);
+
+    public void updateDetached();
+
     public void remove();
 
     public <T> T find(Class<T> entityClass);
@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.fault;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.ReadTimeoutException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import com.google.common.util.concurrent.Uninterruptibles;
+import info.archinnov.achilles.fault.FaultInjection;
+import info.archinnov.achilles.fault.FaultRule;
+import info.archinnov.achilles.fault.InjectedError;
+import info.archinnov.achilles.fault.LatencyDistribution;
+import info.archinnov.achilles.fault.StatementType;
+import info.archinnov.achilles.internal.management.LazyDaemonExecutor;
+import info.archinnov.achilles.internal.management.MBeanRegistrar;
+import info.archinnov.achilles.internal.management.ManagedComponent;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Inject latency and errors into the statements, before they are sent to Cassandra.
+ *
+ * Synchronous statements are delayed in the calling thread. Asynchronous statements are sent later by a
+ * single scheduling thread, so the caller is never blocked. With a seed, the latencies and errors drawn
+ * are reproducible as long as the statements are executed in the same order
+ */
+public class FaultInjector extends ManagedComponent implements FaultInjection, FaultInjectorMBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FaultInjector.class);
+
+    public static final FaultInjector DISABLED = new FaultInjector();
+
+    static final String ALL = "*";
+
+    private final boolean jmxEnabled;
+    private final Random random;
+    private final List<FaultRule> rules = new CopyOnWriteArrayList<>();
+    private volatile boolean active = true;
+
+    private final AtomicLong delayedCount = new AtomicLong(0);
+    private final AtomicLong failedCount = new AtomicLong(0);
+
+    private final LazyDaemonExecutor<ScheduledExecutorService> delayExecutor = new LazyDaemonExecutor<ScheduledExecutorService>(
+            "achilles-fault-injection-%d") {
+        @Override
+        protected ScheduledExecutorService create(ThreadFactory threadFactory) {
+            return new ScheduledThreadPoolExecutor(1, threadFactory);
+        }
+    };
+
+    private FaultInjector() {
+        this.jmxEnabled = false;
+        this.random = null;
+    }
+
+    /**
+     * @param seed
+     *            seed of the random source, <em>null</em> for a non reproducible injection
+     */
+    public FaultInjector(MBeanRegistrar mBeanRegistrar, List<FaultRule> rules, Long seed, boolean jmxEnabled) {
+        super(mBeanRegistrar);
+        this.jmxEnabled = jmxEnabled;
+        this.random = seed == null ? null : new Random(seed);
+        for (FaultRule rule : rules) {
+            addRule(rule);
+        }
+    }
+
+    public static FaultInjector orDisabled(FaultInjector faultInjector) {
+        return orDisabled(faultInjector, DISABLED);
+    }
+
+    /**
+     * Delay the calling thread then raise the drawn error, if any
+     */
+    public void inject(Class<?> entityClass, Statement statement) {
+        final Fault fault = draw(entityClass, statement);
+        if (fault == null) {
+            return;
+        }
+        if (fault.delayMillis > 0) {
+            Uninterruptibles.sleepUninterruptibly(fault.delayMillis, TimeUnit.MILLISECONDS);
+        }
+        if (fault.error != null) {
+            throw fault.error;
+        }
+    }
+
+    /**
+     * Execute asynchronously the statement once the drawn latency has elapsed, or fail with the drawn error
+     */
+    public ResultSetFuture executeAsync(final Session session, final Statement statement, Class<?> entityClass) {
+        final Fault fault = draw(entityClass, statement);
+        if (fault == null) {
+            return session.executeAsync(statement);
+        }
+        final DelayedResultSetFuture future = new DelayedResultSetFuture();
+        final Runnable execution = new Runnable() {
+            @Override
+            public void run() {
+                if (fault.error != null) {
+                    future.fail(fault.error);
+                } else {
+                    future.forward(session.executeAsync(statement));
+                }
+            }
+        };
+        final ScheduledExecutorService executor = fault.delayMillis > 0 ? delayExecutor.get() : null;
+        if (executor != null) {
+            executor.schedule(execution, fault.delayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            execution.run();
+        }
+        return future;
+    }
+
+    Fault draw(Class<?> entityClass, Statement statement) {
+        if (!enabled || !active || rules.isEmpty()) {
+            return null;
+        }
+        final StatementType statementType = statementTypeOf(statement);
+        if (statementType == null) {
+            return null;
+        }
+        final String tableName = entityClass == null ? null : tableNameByEntity.get(entityClass);
+        for (FaultRule rule : rules) {
+            if (rule.matches(tableName, statementType)) {
+                final Random random = random();
+                final long delayMillis = rule.getLatency().nextMillis(random);
+                final boolean failing = rule.getError() != null && random.nextDouble() < rule.getErrorRate();
+                if (delayMillis > 0) {
+                    delayedCount.incrementAndGet();
+                }
+                if (failing) {
+                    failedCount.incrementAndGet();
+                }
+                if (delayMillis == 0 && !failing) {
+                    return null;
+                }
+                return new Fault(delayMillis, failing ? errorFor(rule.getError(), statementType, statement) : null);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Register the JMX MBean
+     */
+    @Override
+    protected void onStart() {
+        if (jmxEnabled) {
+            mBeanRegistrar.register(this, this, "FaultInjection");
+        }
+    }
+
+    /**
+     * Stop the scheduling of delayed statements. Statements executed afterwards are no longer delayed
+     */
+    @Override
+    protected void onShutDown() {
+        delayExecutor.shutDown();
+    }
+
+    @Override
+    public void addRule(FaultRule rule) {
+        Validator.validateNotNull(rule, "The fault rule should not be null");
+        log.info("Inject faults with rule {}", rule);
+        rules.add(rule);
+    }
+
+    @Override
+    public List<FaultRule> getRules() {
+        return new ArrayList<>(rules);
+    }
+
+    @Override
+    public void clearRules() {
+        rules.clear();
+    }
+
+    @Override
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    @Override
+    public String[] getRuleDescriptions() {
+        final List<String> descriptions = new ArrayList<>();
+        for (FaultRule rule : rules) {
+            descriptions.add(rule.toString());
+        }
+        return descriptions.toArray(new String[descriptions.size()]);
+    }
+
+    @Override
+    public void addLatencyRule(String tableName, String statementTypes, long minMillis, long maxMillis) {
+        addRule(ruleBuilder(tableName, statementTypes).withLatency(LatencyDistribution.uniform(minMillis, maxMillis))
+                .build());
+    }
+
+    @Override
+    public void addErrorRule(String tableName, String statementTypes, String error, double errorRate) {
+        Validator.validateNotBlank(error, "The injected error should not be blank");
+        addRule(ruleBuilder(tableName, statementTypes).withError(InjectedError.valueOf(error.trim().toUpperCase()),
+                errorRate).build());
+    }
+
+    @Override
+    public long getDelayedCount() {
+        return delayedCount.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    void setDelayExecutor(ScheduledExecutorService delayExecutor) {
+        this.delayExecutor.set(delayExecutor);
+    }
+
+    private FaultRule.Builder ruleBuilder(String tableName, String statementTypes) {
+        final FaultRule.Builder builder = StringUtils.isBlank(tableName) || ALL.equals(tableName.trim()) ? FaultRule
+                .forAllTables() : FaultRule.forTable(tableName.trim());
+        if (StringUtils.isNotBlank(statementTypes) && !ALL.equals(statementTypes.trim())) {
+            for (String statementType : StringUtils.split(statementTypes, ',')) {
+                builder.onStatements(StatementType.valueOf(statementType.trim().toUpperCase()));
+            }
+        }
+        return builder;
+    }
+
+    private Random random() {
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    private StatementType statementTypeOf(Statement statement) {
+        if (statement instanceof BatchStatement) {
+            return StatementType.BATCH;
+        } else if (statement instanceof BoundStatement) {
+            return StatementType.of(((BoundStatement) statement).preparedStatement().getQueryString());
+        } else if (statement instanceof RegularStatement) {
+            return StatementType.of(((RegularStatement) statement).getQueryString());
+        }
+        return null;
+    }
+
+    private DriverException errorFor(InjectedError error, StatementType statementType, Statement statement) {
+        final ConsistencyLevel consistencyLevel = statement.getConsistencyLevel() == null ? ConsistencyLevel.ONE
+                : statement.getConsistencyLevel();
+        switch (error) {
+            case TIMEOUT:
+                if (statementType == StatementType.SELECT) {
+                    return new ReadTimeoutException(consistencyLevel, 0, 1, false);
+                }
+                return new WriteTimeoutException(consistencyLevel, statementType == StatementType.BATCH ? WriteType.BATCH
+                        : WriteType.SIMPLE, 0, 1);
+            case UNAVAILABLE:
+                return new UnavailableException(consistencyLevel, 1, 0);
+            default:
+                return new NoHostAvailableException(Collections.<InetSocketAddress, Throwable>emptyMap());
+        }
+    }
+
+    static class Fault {
+        final long delayMillis;
+        final DriverException error;
+
+        Fault(long delayMillis, DriverException error) {
+            this.delayMillis = delayMillis;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.fault;
+
+public interface FaultInjectorMBean {
+
+    boolean isActive();
+
+    void setActive(boolean active);
+
+    String[] getRuleDescriptions();
+
+    void clearRules();
+
+    /**
+     * @param tableName
+     *            targeted table, <em>*</em> for all tables
+     * @param statementTypes
+     *            comma separated statement types, <em>*</em> for all types
+     */
+    void addLatencyRule(String tableName, String statementTypes, long minMillis, long maxMillis);
+
+    /**
+     * @param tableName
+     *            targeted table, <em>*</em> for all tables
+     * @param statementTypes
+     *            comma separated statement types, <em>*</em> for all types
+     * @param error
+     *            TIMEOUT, UNAVAILABLE or NO_HOST_AVAILABLE
+     */
+    void addErrorRule(String tableName, String statementTypes, String error, double errorRate);
+
+    long getDelayedCount();
+
+    long getFailedCount();
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.management;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Executor of a component, backed by daemon threads and created at its first use.
+ * <br/>
+ * Once shut down, no executor is created anymore and {@link #get()} returns <em>null</em>
+ */
+public abstract class LazyDaemonExecutor<T extends ExecutorService> {
+
+    private final String nameFormat;
+    private volatile T executor;
+    private boolean shutDown = false;
+
+    protected LazyDaemonExecutor(String nameFormat) {
+        this.nameFormat = nameFormat;
+    }
+
+    protected abstract T create(ThreadFactory threadFactory);
+
+    public T get() {
+        T current = executor;
+        if (current == null) {
+            synchronized (this) {
+                if (executor == null && !shutDown) {
+                    executor = create(new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build());
+                }
+                current = executor;
+            }
+        }
+        return current;
+    }
+
+    public synchronized void shutDown() {
+        shutDown = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public synchronized void set(T executor) {
+        this.executor = executor;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.management;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+/**
+ * Register the JMX MBeans of one PersistenceManagerFactory under the <em>JMX_DOMAIN</em> domain.
+ * <br/>
+ * The factory name is resolved once, at the first registration, and shared by every component of the factory.
+ * If another factory of the JVM already uses this name, a <em>-N</em> suffix is appended.
+ * The name is released once every component has unregistered its MBeans
+ */
+public class MBeanRegistrar {
+
+    private static final Logger log = LoggerFactory.getLogger(MBeanRegistrar.class);
+
+    public static final String JMX_DOMAIN = "info.archinnov.achilles";
+
+    private static final Set<String> RESERVED_FACTORY_NAMES = new HashSet<>();
+
+    private final String baseName;
+    private final ListMultimap<Object, ObjectName> registeredNamesByOwner = ArrayListMultimap.create();
+    private String factoryName;
+
+    public MBeanRegistrar(String baseName) {
+        this.baseName = baseName;
+    }
+
+    /**
+     * @return the factory name used in the MBean names, or the base name while nothing is registered
+     */
+    public synchronized String getFactoryName() {
+        return factoryName != null ? factoryName : baseName;
+    }
+
+    /**
+     * Register an MBean named <em>JMX_DOMAIN:type=[type],factory=[factory name],[properties]</em>
+     *
+     * @param owner component to which the MBean belongs, see {@link #unregisterAll(Object)}
+     * @param properties additional key properties, each one as <em>key=value</em>
+     */
+    public synchronized void register(Object owner, Object mBean, String type, String... properties) {
+        final String objectName = JMX_DOMAIN + ":type=" + type + ",factory=" + resolveFactoryName()
+                + (properties.length > 0 ? "," + StringUtils.join(properties, ",") : "");
+        try {
+            final ObjectName name = new ObjectName(objectName);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mBean, name);
+            registeredNamesByOwner.put(owner, name);
+        } catch (JMException e) {
+            log.warn("Cannot register Achilles MBean {}", objectName, e);
+        }
+    }
+
+    /**
+     * Unregister the MBeans of a component
+     */
+    public synchronized void unregisterAll(Object owner) {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final List<ObjectName> names = registeredNamesByOwner.removeAll(owner);
+        for (ObjectName name : names) {
+            try {
+                mBeanServer.unregisterMBean(name);
+            } catch (JMException e) {
+                log.warn("Cannot unregister Achilles MBean {}", name, e);
+            }
+        }
+        if (registeredNamesByOwner.isEmpty() && factoryName != null) {
+            synchronized (RESERVED_FACTORY_NAMES) {
+                RESERVED_FACTORY_NAMES.remove(factoryName);
+            }
+            factoryName = null;
+        }
+    }
+
+    private String resolveFactoryName() {
+        if (factoryName == null) {
+            String candidate = baseName;
+            int suffix = 1;
+            while (!reserve(candidate)) {
+                candidate = baseName + "-" + (++suffix);
+            }
+            factoryName = candidate;
+        }
+        return factoryName;
+    }
+
+    private static boolean reserve(String candidate) {
+        synchronized (RESERVED_FACTORY_NAMES) {
+            if (RESERVED_FACTORY_NAMES.contains(candidate)) {
+                return false;
+            }
+            try {
+                final ObjectName pattern = new ObjectName(JMX_DOMAIN + ":factory=" + candidate + ",*");
+                if (!ManagementFactory.getPlatformMBeanServer().queryNames(pattern, null).isEmpty()) {
+                    return false;
+                }
+            } catch (JMException e) {
+                log.warn("Cannot look up the Achilles MBeans of factory {}", candidate, e);
+            }
+            RESERVED_FACTORY_NAMES.add(candidate);
+            return true;
+        }
+    }
+}
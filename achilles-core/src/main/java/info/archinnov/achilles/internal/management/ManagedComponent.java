@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.management;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+
+/**
+ * Optional component of a PersistenceManagerFactory, e.g. metrics, query tracing or fault injection.
+ * <br/>
+ * A disabled component has no MBean registrar and does nothing. An enabled one resolves the table name of
+ * each entity when started, and unregisters its MBeans when shut down
+ */
+public abstract class ManagedComponent {
+
+    protected final boolean enabled;
+    protected final MBeanRegistrar mBeanRegistrar;
+
+    protected volatile Map<Class<?>, String> tableNameByEntity = Collections.emptyMap();
+    private volatile boolean started = false;
+
+    /**
+     * Disabled component
+     */
+    protected ManagedComponent() {
+        this.enabled = false;
+        this.mBeanRegistrar = null;
+    }
+
+    protected ManagedComponent(MBeanRegistrar mBeanRegistrar) {
+        this.enabled = true;
+        this.mBeanRegistrar = mBeanRegistrar;
+    }
+
+    protected static <T extends ManagedComponent> T orDisabled(T component, T disabled) {
+        return component == null ? disabled : component;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Resolve the table names of the entities then start the component
+     */
+    public synchronized void start(Map<Class<?>, EntityMeta> entityMetaMap) {
+        if (!enabled || started) {
+            return;
+        }
+        final Map<Class<?>, String> tableNames = new HashMap<>();
+        for (Map.Entry<Class<?>, EntityMeta> entry : entityMetaMap.entrySet()) {
+            tableNames.put(entry.getKey(), entry.getValue().getTableName().toLowerCase());
+        }
+        tableNameByEntity = tableNames;
+        started = true;
+        onStart();
+    }
+
+    /**
+     * Stop the component and unregister its MBeans
+     */
+    public synchronized void shutDown() {
+        if (!enabled) {
+            return;
+        }
+        started = false;
+        onShutDown();
+        mBeanRegistrar.unregisterAll(this);
+    }
+
+    protected abstract void onStart();
+
+    protected abstract void onShutDown();
+}
@@ -16,19 +16,24 @@
 
 package info.archinnov.achilles.internal.metadata.discovery;
 
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_TABLE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_SHARDED_COUNTER_TABLE;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.TableMetadata;
+import com.google.common.base.Function;
 import info.archinnov.achilles.interceptor.Interceptor;
+import info.archinnov.achilles.internal.context.BootstrapExecutor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.DaoContextFactory;
+import info.archinnov.achilles.internal.context.EntityActivator;
 import info.archinnov.achilles.internal.context.SchemaContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.EntityParser;
@@ -36,6 +41,7 @@ import info.archinnov.achilles.internal.metadata.parsing.PropertyParser;
 import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
 import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.metamodel.EntityMetamodel;
 
 public class AchillesBootstrapper {
     private static final Logger log = LoggerFactory.getLogger(AchillesBootstrapper.class);
@@ -46,6 +52,8 @@ public class AchillesBootstrapper {
 
     private PropertyParser propertyParser = new PropertyParser();
 
+    private EntityMetamodelBinder metamodelBinder = new EntityMetamodelBinder();
+
     public ParsingResult buildMetaDatas(ConfigurationContext configContext, List<Class<?>> entities) {
         log.debug("Build meta data for candidate entities");
         Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
@@ -53,9 +61,14 @@ public class AchillesBootstrapper {
         for (Class<?> entityClass : entities) {
             EntityParsingContext context = new EntityParsingContext(configContext, entityClass);
             EntityMeta entityMeta = entityParser.parseEntity(context);
+            EntityMetamodel<?> metamodel = metamodelBinder.loadMetamodel(entityClass);
+            if (metamodel != null) {
+                metamodelBinder.bind(entityMeta, metamodel);
+            }
             entityMetaMap.put(entityClass, entityMeta);
 
-            hasSimpleCounter = hasSimpleCounter || (context.hasSimpleCounter() && !entityMeta.isClusteredCounter());
+            hasSimpleCounter = hasSimpleCounter || (context.hasSimpleCounter() && !entityMeta.isClusteredCounter()
+                    && !entityMeta.hasDedicatedCounterTable());
             boolean shouldValidateBean = configContext.isClassConstrained(entityClass);
             if (shouldValidateBean) {
                 configContext.addBeanValidationInterceptor(entityMeta);
@@ -64,23 +77,65 @@ public class AchillesBootstrapper {
         return new ParsingResult(entityMetaMap, hasSimpleCounter);
     }
 
-    public void validateOrCreateTables(SchemaContext schemaContext) {
+    public void validateOrCreateTables(final SchemaContext schemaContext) {
         log.debug("Start schema validation/creation");
-        Map<String, TableMetadata> tableMetaDatas = schemaContext.fetchTableMetaData();
+        final Map<String, TableMetadata> tableMetaDatas = schemaContext.fetchTableMetaData();
+        if (schemaContext.isLazyEntityActivation()) {
+            log.debug("Entity tables will be validated/created on first use");
+        } else {
+            validateOrCreateEntityTables(schemaContext, tableMetaDatas);
+        }
+        validateOrCreateAchillesTables(schemaContext, tableMetaDatas);
+        schemaContext.saveSchemaFingerprints();
+    }
 
-        for (Entry<Class<?>, EntityMeta> entry : schemaContext.entityMetaEntrySet()) {
-            EntityMeta entityMeta = entry.getValue();
-            String tableName = entityMeta.getTableName().toLowerCase();
+    /**
+     * Validate or create the tables of a single entity, on its first use. Only the meta data of its own tables
+     * is fetched and the schema fingerprints are saved in the background
+     */
+    public void validateOrCreateTableForEntity(SchemaContext schemaContext, EntityMeta entityMeta) {
+        log.debug("Start schema validation/creation for {}", entityMeta);
+        final Map<String, TableMetadata> tableMetaDatas = schemaContext.fetchTableMetaData(tableNamesOf(entityMeta));
+        validateExistingTables(schemaContext, tableMetaDatas, entityMeta);
+        createOrUpdateTables(schemaContext, tableMetaDatas, entityMeta);
+        schemaContext.saveSchemaFingerprintsInBackground();
+    }
 
-            if (tableMetaDatas.containsKey(tableName)) {
-                TableMetadata tableMetaData = tableMetaDatas.get(tableName);
-                schemaContext.validateForEntity(entityMeta, tableMetaData);
-                schemaContext.updateForEntity(entityMeta, tableMetaData);
-            } else {
-                schemaContext.createTableForEntity(entry.getValue());
-            }
+    private List<String> tableNamesOf(EntityMeta entityMeta) {
+        final List<String> tableNames = new ArrayList<>();
+        tableNames.add(entityMeta.getTableName().toLowerCase());
+        if (entityMeta.hasDedicatedCounterTable()) {
+            tableNames.add(entityMeta.getCounterTableName().toLowerCase());
+        }
+        return tableNames;
+    }
+
+    private void validateOrCreateEntityTables(final SchemaContext schemaContext, final Map<String, TableMetadata> tableMetaDatas) {
+        final List<EntityMeta> entityMetas = new ArrayList<>();
+        for (Map.Entry<Class<?>, EntityMeta> entry : schemaContext.entityMetaEntrySet()) {
+            entityMetas.add(entry.getValue());
+        }
+
+        final BootstrapExecutor executor = new BootstrapExecutor(schemaContext.getBootstrapParallelism());
+        try {
+            executor.forEach(entityMetas, new Function<EntityMeta, Void>() {
+                @Override
+                public Void apply(EntityMeta entityMeta) {
+                    validateExistingTables(schemaContext, tableMetaDatas, entityMeta);
+                    return null;
+                }
+            });
+        } finally {
+            executor.shutDown();
         }
 
+        // DDL statements are executed one at a time so that the cluster reaches schema agreement after each of them
+        for (EntityMeta entityMeta : entityMetas) {
+            createOrUpdateTables(schemaContext, tableMetaDatas, entityMeta);
+        }
+    }
+
+    private void validateOrCreateAchillesTables(SchemaContext schemaContext, Map<String, TableMetadata> tableMetaDatas) {
         if (schemaContext.hasSimpleCounter()) {
             if (tableMetaDatas.containsKey(CQL_COUNTER_TABLE)) {
                 schemaContext.validateAchillesCounter();
@@ -88,6 +143,50 @@ public class AchillesBootstrapper {
                 schemaContext.createTableForCounter();
             }
         }
+
+        if (schemaContext.hasShardedCounter()) {
+            if (tableMetaDatas.containsKey(CQL_SHARDED_COUNTER_TABLE)) {
+                schemaContext.validateAchillesShardedCounter();
+            } else {
+                schemaContext.createTableForShardedCounter();
+            }
+        }
+
+        if (schemaContext.hasChunkedProperty()) {
+            if (tableMetaDatas.containsKey(CQL_CHUNK_TABLE)) {
+                schemaContext.validateAchillesChunk();
+            } else {
+                schemaContext.createTableForChunk();
+            }
+        }
+    }
+
+    private void validateExistingTables(SchemaContext schemaContext, Map<String, TableMetadata> tableMetaDatas, EntityMeta entityMeta) {
+        String tableName = entityMeta.getTableName().toLowerCase();
+        if (tableMetaDatas.containsKey(tableName)) {
+            schemaContext.validateForEntity(entityMeta, tableMetaDatas.get(tableName));
+        }
+
+        if (entityMeta.hasDedicatedCounterTable()) {
+            String counterTableName = entityMeta.getCounterTableName().toLowerCase();
+            if (tableMetaDatas.containsKey(counterTableName)) {
+                schemaContext.validateDedicatedCounterTable(entityMeta, tableMetaDatas.get(counterTableName));
+            }
+        }
+    }
+
+    private void createOrUpdateTables(SchemaContext schemaContext, Map<String, TableMetadata> tableMetaDatas, EntityMeta entityMeta) {
+        String tableName = entityMeta.getTableName().toLowerCase();
+        if (tableMetaDatas.containsKey(tableName)) {
+            schemaContext.updateForEntity(entityMeta, tableMetaDatas.get(tableName));
+        } else {
+            schemaContext.createTableForEntity(entityMeta);
+        }
+
+        if (entityMeta.hasDedicatedCounterTable()
+                && !tableMetaDatas.containsKey(entityMeta.getCounterTableName().toLowerCase())) {
+            schemaContext.createDedicatedCounterTable(entityMeta);
+        }
     }
 
     public DaoContext buildDaoContext(Session session, ParsingResult parsingResult,
@@ -96,6 +195,11 @@ public class AchillesBootstrapper {
         return daoContextFactory.create(session, parsingResult, configContext);
     }
 
+    public void enableLazyEntityActivation(SchemaContext schemaContext, DaoContext daoContext) {
+        log.debug("Enable lazy entity activation");
+        daoContext.setEntityActivator(new EntityActivator(this, schemaContext, daoContextFactory, daoContext));
+    }
+
     public void addInterceptorsToEntityMetas(List<Interceptor<?>> interceptors, Map<Class<?>,
             EntityMeta> entityMetaMap) {
         for (Interceptor<?> interceptor : interceptors) {
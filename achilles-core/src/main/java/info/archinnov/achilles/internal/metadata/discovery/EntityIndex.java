@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.metadata.discovery;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Index of the entity classes written at compile time by the Achilles annotation processor.
+ * <br/>
+ * Each <em>META-INF/achilles/entities.index</em> resource of the class path lists one entity class name per line.
+ * A package is resolved from the index instead of being scanned only when every class path root holding this
+ * package also ships an index. A package split across an indexed jar and a jar compiled without the processor
+ * is scanned
+ */
+public class EntityIndex {
+    private static final Logger log = LoggerFactory.getLogger(EntityIndex.class);
+
+    public static final String INDEX_RESOURCE = "META-INF/achilles/entities.index";
+
+    private final Set<String> entityClassNames;
+
+    private final Set<String> indexedRoots;
+
+    private final ClassLoader classLoader;
+
+    EntityIndex(Set<String> entityClassNames, Set<String> indexedRoots, ClassLoader classLoader) {
+        this.entityClassNames = entityClassNames;
+        this.indexedRoots = indexedRoots;
+        this.classLoader = classLoader;
+    }
+
+    public static EntityIndex load(ClassLoader osgiClassLoader) {
+        final ClassLoader classLoader = resolveClassLoader(osgiClassLoader);
+        final Set<String> entityClassNames = new TreeSet<>();
+        final Set<String> indexedRoots = new HashSet<>();
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                final URL resource = resources.nextElement();
+                log.debug("Loading entity index {}", resource);
+                readIndex(resource, entityClassNames);
+                indexedRoots.add(rootOf(resource, INDEX_RESOURCE));
+            }
+        } catch (IOException e) {
+            throw new AchillesException("Cannot read the entity index '" + INDEX_RESOURCE + "'", e);
+        }
+        return new EntityIndex(entityClassNames, indexedRoots, classLoader);
+    }
+
+    public boolean covers(String packageName) {
+        if (entityClassNamesIn(packageName).isEmpty()) {
+            return false;
+        }
+        final String packagePath = packageName.trim().replace('.', '/');
+        try {
+            final Enumeration<URL> locations = classLoader.getResources(packagePath);
+            while (locations.hasMoreElements()) {
+                final URL location = locations.nextElement();
+                if (!indexedRoots.contains(rootOf(location, packagePath))) {
+                    log.debug("Package {} is also found in {} which has no entity index", packageName, location);
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot list the class path roots of package {}, it will be scanned", packageName, e);
+            return false;
+        }
+        return true;
+    }
+
+    public List<String> entityClassNamesIn(String packageName) {
+        final String prefix = packageName.trim() + ".";
+        final List<String> classNames = new ArrayList<>();
+        for (String entityClassName : entityClassNames) {
+            if (entityClassName.startsWith(prefix)) {
+                classNames.add(entityClassName);
+            }
+        }
+        return classNames;
+    }
+
+    public List<Class<?>> loadEntityClasses(String packageName) {
+        final List<Class<?>> entityClasses = new ArrayList<>();
+        for (String entityClassName : entityClassNamesIn(packageName)) {
+            try {
+                final Class<?> entityClass = Class.forName(entityClassName, false, classLoader);
+                if (entityClass.isAnnotationPresent(Entity.class)) {
+                    entityClasses.add(entityClass);
+                } else {
+                    log.warn("Ignoring stale entity index entry '{}', the class is no longer annotated with @Entity", entityClassName);
+                }
+            } catch (ClassNotFoundException e) {
+                log.warn("Ignoring stale entity index entry '{}', the class cannot be found", entityClassName);
+            }
+        }
+        return entityClasses;
+    }
+
+    private static ClassLoader resolveClassLoader(ClassLoader classLoader) {
+        if (classLoader != null) {
+            return classLoader;
+        }
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : EntityIndex.class.getClassLoader();
+    }
+
+    private static String rootOf(URL resource, String resourcePath) {
+        final String url = StringUtils.removeEnd(resource.toExternalForm(), "/");
+        return StringUtils.removeEnd(url, resourcePath);
+    }
+
+    private static void readIndex(URL resource, Set<String> entityClassNames) throws IOException {
+        try (InputStream input = resource.openStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String entityClassName = StringUtils.substringBefore(line, "#").trim();
+                if (!entityClassName.isEmpty()) {
+                    entityClassNames.add(entityClassName);
+                }
+            }
+        }
+    }
+}
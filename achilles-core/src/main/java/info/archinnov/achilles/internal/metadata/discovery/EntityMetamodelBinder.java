@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.metadata.discovery;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.metamodel.EntityMetamodel;
+import info.archinnov.achilles.metamodel.PropertyAccessor;
+
+/**
+ * Attach the accessors of the metamodel generated by the Achilles annotation processor, if any,
+ * to the parsed meta data of an entity.
+ * <br/>
+ * A metamodel which no longer matches the entity mapping (stale generated class) is ignored
+ * and the properties keep the reflective field access
+ */
+public class EntityMetamodelBinder {
+    private static final Logger log = LoggerFactory.getLogger(EntityMetamodelBinder.class);
+
+    public EntityMetamodel<?> loadMetamodel(Class<?> entityClass) {
+        final String metamodelClassName = entityClass.getName() + EntityMetamodel.CLASS_SUFFIX;
+        try {
+            final Class<?> metamodelClass = Class.forName(metamodelClassName, true, entityClass.getClassLoader());
+            final Object metamodel = metamodelClass.getField(EntityMetamodel.INSTANCE_FIELD).get(null);
+            if (metamodel instanceof EntityMetamodel) {
+                return (EntityMetamodel<?>) metamodel;
+            }
+            log.warn("The class '{}' is not an Achilles generated metamodel, ignoring it", metamodelClassName);
+        } catch (ClassNotFoundException e) {
+            log.trace("No generated metamodel for entity {}", entityClass.getCanonicalName());
+        } catch (NoSuchFieldException | IllegalAccessException | LinkageError e) {
+            log.warn("Cannot load the generated metamodel '{}', ignoring it : {}", metamodelClassName, e.getMessage());
+        }
+        return null;
+    }
+
+    public void bind(EntityMeta entityMeta, EntityMetamodel<?> metamodel) {
+        if (metamodel.getEntityClass() != entityMeta.getEntityClass()
+                || !metamodel.getTableName().equals(entityMeta.getTableName())) {
+            log.warn("The generated metamodel of entity {} is out of date and will be ignored, please recompile the entity",
+                    entityMeta.getClassName());
+            return;
+        }
+
+        final List<PropertyMeta> propertyMetas = entityMeta.getAllMetas();
+        int boundAccessors = 0;
+        for (PropertyMeta propertyMeta : propertyMetas) {
+            final PropertyAccessor accessor = metamodel.getAccessor(propertyMeta.getField().getName());
+            if (accessor != null) {
+                propertyMeta.setAccessor(accessor);
+                boundAccessors++;
+            }
+        }
+        log.debug("Bound {} generated accessors out of {} properties for entity {}", boundAccessors,
+                propertyMetas.size(), entityMeta.getClassName());
+    }
+}
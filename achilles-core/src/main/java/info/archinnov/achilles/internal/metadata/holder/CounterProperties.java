@@ -15,11 +15,19 @@
  */
 package info.archinnov.achilles.internal.metadata.holder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
 import com.google.common.base.Objects;
 
 public class CounterProperties {
 	private String fqcn;
 	private PropertyMeta idMeta;
+	private int shards = 1;
+	private List<Integer> shardIndexes = Arrays.asList(0);
 
 	public CounterProperties(String fqcn) {
 		this.fqcn = fqcn;
@@ -42,6 +50,31 @@ public class CounterProperties {
 		this.idMeta = idMeta;
 	}
 
+	public int getShards() {
+		return shards;
+	}
+
+	public void setShards(int shards) {
+		this.shards = shards;
+		List<Integer> indexes = new ArrayList<>(shards);
+		for (int i = 0; i < shards; i++) {
+			indexes.add(i);
+		}
+		this.shardIndexes = Collections.unmodifiableList(indexes);
+	}
+
+	public List<Integer> getShardIndexes() {
+		return shardIndexes;
+	}
+
+	public int pickShard() {
+		return ThreadLocalRandom.current().nextInt(shards);
+	}
+
+	public boolean isSharded() {
+		return shards > 1;
+	}
+
 	@Override
 	public String toString() {
 		return Objects.toStringHelper(this.getClass()).add("fqcn", fqcn).add("idMeta", idMeta).toString();
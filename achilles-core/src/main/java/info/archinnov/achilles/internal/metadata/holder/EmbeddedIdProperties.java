@@ -34,14 +34,24 @@ public class EmbeddedIdProperties extends AbstractComponentProperties {
 	private final PartitionComponents partitionComponents;
 	private final ClusteringComponents clusteringComponents;
 	private final List<String> timeUUIDComponents;
+	private final TimeBucketProperties timeBucketProperties;
 
 	public EmbeddedIdProperties(PartitionComponents partitionComponents, ClusteringComponents clusteringComponents,
 			List<Class<?>> componentClasses, List<String> componentNames, List<Field> componentFields,
 			List<Method> componentGetters, List<Method> componentSetters, List<String> timeUUIDComponents) {
+		this(partitionComponents, clusteringComponents, componentClasses, componentNames, componentFields,
+				componentGetters, componentSetters, timeUUIDComponents, null);
+	}
+
+	public EmbeddedIdProperties(PartitionComponents partitionComponents, ClusteringComponents clusteringComponents,
+			List<Class<?>> componentClasses, List<String> componentNames, List<Field> componentFields,
+			List<Method> componentGetters, List<Method> componentSetters, List<String> timeUUIDComponents,
+			TimeBucketProperties timeBucketProperties) {
 		super(componentClasses, componentNames, componentFields, componentGetters, componentSetters);
 		this.partitionComponents = partitionComponents;
 		this.clusteringComponents = clusteringComponents;
 		this.timeUUIDComponents = timeUUIDComponents;
+		this.timeBucketProperties = timeBucketProperties;
 	}
 
 	void validatePartitionComponents(String className,Object...partitionComponents) {
@@ -108,6 +118,10 @@ public class EmbeddedIdProperties extends AbstractComponentProperties {
 		return timeUUIDComponents;
 	}
 
+	public TimeBucketProperties getTimeBucketProperties() {
+		return timeBucketProperties;
+	}
+
 	@Override
 	public String toString() {
 
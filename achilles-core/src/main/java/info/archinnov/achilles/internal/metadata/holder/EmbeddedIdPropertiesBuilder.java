@@ -31,6 +31,7 @@ public class EmbeddedIdPropertiesBuilder {
 	private final List<Method> componentSetters = new ArrayList<>();
 	private final List<String> componentsAsTimeUUID = new ArrayList<>();
 	private List<ClusteringOrder> clusteringOrders;
+	private TimeBucketProperties timeBucketProperties;
 
 	public void addComponentClass(Class<?> clazz) {
 		componentClasses.add(clazz);
@@ -90,6 +91,10 @@ public class EmbeddedIdPropertiesBuilder {
         this.clusteringOrders = clusteringOrders;
 	}
 
+	public void setTimeBucketProperties(TimeBucketProperties timeBucketProperties) {
+		this.timeBucketProperties = timeBucketProperties;
+	}
+
 	public PartitionComponents buildPartitionKeys() {
 		return new PartitionComponents(componentClasses, componentNames,componentFields, componentGetters, componentSetters);
 	}
@@ -100,6 +105,6 @@ public class EmbeddedIdPropertiesBuilder {
 
 	public EmbeddedIdProperties buildEmbeddedIdProperties(PartitionComponents partitionComponents, ClusteringComponents clusteringComponents) {
 		return new EmbeddedIdProperties(partitionComponents, clusteringComponents, componentClasses, componentNames,
-                componentFields,componentGetters, componentSetters, componentsAsTimeUUID);
+                componentFields,componentGetters, componentSetters, componentsAsTimeUUID, timeBucketProperties);
 	}
 }
@@ -16,6 +16,8 @@
 package info.archinnov.achilles.internal.metadata.holder;
 
 import static com.google.common.collect.FluentIterable.from;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyMeta.CHUNKED_FILTER;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyMeta.SHARDED_COUNTER_FILTER;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.counterType;
 import static info.archinnov.achilles.internal.metadata.parsing.PropertyParser.isAssignableFromNativeType;
 import static info.archinnov.achilles.type.Options.CASCondition;
@@ -36,6 +38,9 @@ import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.schemabuilder.Create;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.IndexCondition;
+import info.archinnov.achilles.internal.statement.cache.InsertShapeTracker;
+import info.archinnov.achilles.internal.statement.cache.SliceShapeCache;
+import info.archinnov.achilles.internal.statement.hedging.HedgedReadTracker;
 import info.archinnov.achilles.type.InsertStrategy;
 import info.archinnov.achilles.type.Pair;
 
@@ -48,6 +53,13 @@ public class EntityMeta {
         }
     };
 
+    public static final Predicate<EntityMeta> DEDICATED_COUNTER_TABLE_FILTER = new Predicate<EntityMeta>() {
+        @Override
+        public boolean apply(EntityMeta meta) {
+            return meta.hasDedicatedCounterTable();
+        }
+    };
+
     public static final Predicate<EntityMeta> EXCLUDE_CLUSTERED_COUNTER_FILTER = new Predicate<EntityMeta>() {
         @Override
         public boolean apply(EntityMeta meta) {
@@ -75,7 +87,11 @@ public class EntityMeta {
     private boolean clusteredCounter = false;
     private List<Interceptor<?>> interceptors = new ArrayList<>();
     private InsertStrategy insertStrategy;
+    private InsertShapeTracker insertShapeTracker;
+    private HedgedReadTracker hedgedReadTracker;
+    private SliceShapeCache sliceShapeCache;
     private boolean schemaUpdateEnabled = false;
+    private String counterTableName;
     private boolean hasOnlyStaticColumns = false;
 
     public Object getPrimaryKey(Object entity) {
@@ -158,6 +174,14 @@ public class EntityMeta {
         return idMeta.getClusteringComponentClasses().size();
     }
 
+    public boolean isTimeBucketed() {
+        return idMeta.getTimeBucketProperties() != null;
+    }
+
+    public TimeBucketProperties getTimeBucketProperties() {
+        return idMeta.getTimeBucketProperties();
+    }
+
     public List<Create.Options.ClusteringOrder> getClusteringOrders() {
         return idMeta.getClusteringOrders();
     }
@@ -269,6 +293,34 @@ public class EntityMeta {
         this.insertStrategy = insertStrategy;
     }
 
+    public InsertShapeTracker getInsertShapeTracker() {
+        return insertShapeTracker;
+    }
+
+    public void setInsertShapeTracker(InsertShapeTracker insertShapeTracker) {
+        this.insertShapeTracker = insertShapeTracker;
+    }
+
+    public SliceShapeCache getSliceShapeCache() {
+        return sliceShapeCache;
+    }
+
+    public void setSliceShapeCache(SliceShapeCache sliceShapeCache) {
+        this.sliceShapeCache = sliceShapeCache;
+    }
+
+    public HedgedReadTracker getHedgedReadTracker() {
+        return hedgedReadTracker;
+    }
+
+    public void setHedgedReadTracker(HedgedReadTracker hedgedReadTracker) {
+        this.hedgedReadTracker = hedgedReadTracker;
+    }
+
+    public boolean hasHedgedReads() {
+        return hedgedReadTracker != null;
+    }
+
     public boolean isSchemaUpdateEnabled() {
         return schemaUpdateEnabled;
     }
@@ -277,6 +329,18 @@ public class EntityMeta {
         this.schemaUpdateEnabled = schemaUpdateEnabled;
     }
 
+    public String getCounterTableName() {
+        return counterTableName;
+    }
+
+    public void setCounterTableName(String counterTableName) {
+        this.counterTableName = counterTableName;
+    }
+
+    public boolean hasDedicatedCounterTable() {
+        return counterTableName != null;
+    }
+
     @SuppressWarnings("unchecked")
     public <T> Class<T> getIdClass() {
         return (Class<T>) idClass;
@@ -294,6 +358,14 @@ public class EntityMeta {
         return from(propertyMetas.values()).filter(counterType).toList();
     }
 
+    public List<PropertyMeta> getAllChunkedMetas() {
+        return from(propertyMetas.values()).filter(CHUNKED_FILTER).toList();
+    }
+
+    public List<PropertyMeta> getAllShardedCounterMetas() {
+        return from(propertyMetas.values()).filter(SHARDED_COUNTER_FILTER).toList();
+    }
+
     public boolean isClusteredCounter() {
         return this.clusteredCounter;
     }
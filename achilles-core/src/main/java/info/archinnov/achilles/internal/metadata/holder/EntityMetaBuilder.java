@@ -15,7 +15,11 @@
  */
 package info.archinnov.achilles.internal.metadata.holder;
 
+import static com.google.common.base.Predicates.not;
 import static com.google.common.collect.FluentIterable.from;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyMeta.CHUNKED_FILTER;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyMeta.COUNTER_COLUMN_FILTER;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyMeta.SHARDED_COUNTER_FILTER;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyMeta.STATIC_COLUMN_FILTER;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.excludeCounterType;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.excludeIdAndCounterType;
@@ -29,6 +33,10 @@ import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.google.common.collect.FluentIterable;
+import info.archinnov.achilles.internal.statement.cache.InsertShapeTracker;
+import info.archinnov.achilles.internal.statement.cache.SliceShapeCache;
+import info.archinnov.achilles.internal.statement.hedging.HedgedReadTracker;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.InsertStrategy;
@@ -45,7 +53,12 @@ public class EntityMetaBuilder {
     private Map<String, PropertyMeta> propertyMetas;
     private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
     private InsertStrategy insertStrategy;
+    private int adaptiveInsertMaxShapes;
     private boolean schemaUpdateEnabled;
+    private String counterTableName;
+    private boolean hedgedReads;
+    private double hedgedReadsPercentile;
+    private long hedgedReadsMinDelayMillis;
 
     public static EntityMetaBuilder entityMetaBuilder(PropertyMeta idMeta) {
         return new EntityMetaBuilder(idMeta);
@@ -75,25 +88,36 @@ public class EntityMetaBuilder {
         meta.setSetterMetas(Collections.unmodifiableMap(extractSetterMetas(propertyMetas)));
         meta.setConsistencyLevels(consistencyLevels);
         meta.setInsertStrategy(insertStrategy);
+        if (insertStrategy == InsertStrategy.ADAPTIVE) {
+            meta.setInsertShapeTracker(new InsertShapeTracker(adaptiveInsertMaxShapes));
+        }
+        if (hedgedReads) {
+            meta.setHedgedReadTracker(new HedgedReadTracker(hedgedReadsPercentile, hedgedReadsMinDelayMillis));
+        }
         meta.setSchemaUpdateEnabled(schemaUpdateEnabled);
 
-        List<PropertyMeta> allMetasExceptId = new ArrayList<>(from(propertyMetas.values()).filter(excludeIdType)
-                .toList());
+        // Chunked properties live in the generic chunk table, not in the entity table
+        final FluentIterable<PropertyMeta> columnMetas = from(propertyMetas.values()).filter(not(CHUNKED_FILTER));
+
+        List<PropertyMeta> allMetasExceptId = new ArrayList<>(columnMetas.filter(excludeIdType).toList());
         meta.setAllMetasExceptId(allMetasExceptId);
 
-        List<PropertyMeta> allMetasExceptIdAndCounters = new ArrayList<>(from(propertyMetas.values()).filter(
-                excludeIdAndCounterType).toList());
+        List<PropertyMeta> allMetasExceptIdAndCounters = new ArrayList<>(columnMetas.filter(excludeIdAndCounterType)
+                .toList());
         meta.setAllMetasExceptIdAndCounters(allMetasExceptIdAndCounters);
 
-        List<PropertyMeta> allMetasExceptCounters = new ArrayList<>(from(propertyMetas.values()).filter(
-                excludeCounterType).toList());
+        List<PropertyMeta> allMetasExceptCounters = new ArrayList<>(columnMetas.filter(excludeCounterType).toList());
         meta.setAllMetasExceptCounters(allMetasExceptCounters);
 
         boolean clusteredEntity = idMeta.isEmbeddedId() && idMeta.getClusteringComponentClasses().size() > 0;
         meta.setClusteredEntity(clusteredEntity);
+        if (clusteredEntity) {
+            meta.setSliceShapeCache(new SliceShapeCache(idMeta.getClusteringComponentClasses().size()));
+        }
 
-        boolean clusteredCounter = allMetasExceptId.size() > 0;
-        for (PropertyMeta pm : allMetasExceptId) {
+        final List<PropertyMeta> allPropertiesExceptId = from(propertyMetas.values()).filter(excludeIdType).toList();
+        boolean clusteredCounter = allPropertiesExceptId.size() > 0;
+        for (PropertyMeta pm : allPropertiesExceptId) {
             if (!pm.isCounter()) {
                 clusteredCounter = false;
                 break;
@@ -101,6 +125,13 @@ public class EntityMetaBuilder {
         }
         meta.setClusteredCounter(clusteredCounter);
 
+        // Only plain simple counters go to the dedicated counter table
+        final boolean hasPlainSimpleCounter = !clusteredCounter && from(propertyMetas.values())
+                .filter(COUNTER_COLUMN_FILTER).filter(not(SHARDED_COUNTER_FILTER)).size() > 0;
+        if (hasPlainSimpleCounter) {
+            meta.setCounterTableName(counterTableName);
+        }
+
         final int staticColumnsCount = from(allMetasExceptId).filter(STATIC_COLUMN_FILTER).size();
         if (staticColumnsCount > 0 && staticColumnsCount == allMetasExceptId.size()) {
             meta.setHasOnlyStaticColumns(true);
@@ -160,6 +191,31 @@ public class EntityMetaBuilder {
         return this;
     }
 
+    public EntityMetaBuilder adaptiveInsertMaxShapes(int adaptiveInsertMaxShapes) {
+        this.adaptiveInsertMaxShapes = adaptiveInsertMaxShapes;
+        return this;
+    }
+
+    public EntityMetaBuilder counterTableName(String counterTableName) {
+        this.counterTableName = counterTableName;
+        return this;
+    }
+
+    public EntityMetaBuilder hedgedReads(boolean hedgedReads) {
+        this.hedgedReads = hedgedReads;
+        return this;
+    }
+
+    public EntityMetaBuilder hedgedReadsPercentile(double hedgedReadsPercentile) {
+        this.hedgedReadsPercentile = hedgedReadsPercentile;
+        return this;
+    }
+
+    public EntityMetaBuilder hedgedReadsMinDelayMillis(long hedgedReadsMinDelayMillis) {
+        this.hedgedReadsMinDelayMillis = hedgedReadsMinDelayMillis;
+        return this;
+    }
+
     public EntityMetaBuilder schemaUpdateEnabled(boolean value) {
         this.schemaUpdateEnabled = value;
         return this;
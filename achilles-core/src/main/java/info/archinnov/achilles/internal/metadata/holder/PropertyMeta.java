@@ -18,6 +18,7 @@ package info.archinnov.achilles.internal.metadata.holder;
 import static info.archinnov.achilles.schemabuilder.Create.Options.ClusteringOrder;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -35,8 +36,10 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.metadata.transcoding.DataTranscoder;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.CompressionTracker;
 import info.archinnov.achilles.internal.persistence.operations.InternalCounterImpl;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.metamodel.PropertyAccessor;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
 
@@ -58,6 +61,20 @@ public class PropertyMeta {
         }
     };
 
+    public static final Predicate<PropertyMeta> CHUNKED_FILTER = new Predicate<PropertyMeta>() {
+        @Override
+        public boolean apply(PropertyMeta pm) {
+            return pm.isChunked();
+        }
+    };
+
+    public static final Predicate<PropertyMeta> SHARDED_COUNTER_FILTER = new Predicate<PropertyMeta>() {
+        @Override
+        public boolean apply(PropertyMeta pm) {
+            return pm.isShardedCounter();
+        }
+    };
+
 
     private static final Function<String, String> TO_LOWER_CASE = new Function<String, String>() {
 
@@ -84,10 +101,15 @@ public class PropertyMeta {
     private IndexProperties indexProperties;
     private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
     private boolean timeUUID = false;
+    private boolean binary = false;
+    private CompressionTracker compressionTracker;
+    private ChunkProperties chunkProperties;
     private DataTranscoder transcoder;
+    private Method rowGetter;
     private boolean emptyCollectionAndMapIfNull = false;
     private boolean staticColumn = false;
     private ReflectionInvoker invoker = new ReflectionInvoker();
+    private PropertyAccessor accessor;
 
     public List<Field> getComponentFields() {
         log.trace("Get component fields");
@@ -232,6 +254,10 @@ public class PropertyMeta {
         return embeddedIdProperties != null && embeddedIdProperties.getTimeUUIDComponents().contains(componentName);
     }
 
+    public TimeBucketProperties getTimeBucketProperties() {
+        return embeddedIdProperties != null ? embeddedIdProperties.getTimeBucketProperties() : null;
+    }
+
     public String getOrderingComponent() {
         log.trace("Get ordering component name");
         String component = null;
@@ -383,6 +409,9 @@ public class PropertyMeta {
     public Object getPrimaryKey(Object entity) {
         log.trace("Extract primary from entity {}", entity);
         if (type.isId()) {
+            if (accessor != null && entity != null) {
+                return accessor.get(entity);
+            }
             return invoker.getPrimaryKey(entity, this);
         } else {
             throw new IllegalStateException("Cannot get primary key on a non id field '" + propertyName + "'");
@@ -405,6 +434,9 @@ public class PropertyMeta {
     }
 
     public Object getValueFromField(Object target) {
+        if (accessor != null) {
+            return accessor.get(target);
+        }
         return invoker.getValueFromField(target, field);
     }
 
@@ -412,25 +444,43 @@ public class PropertyMeta {
         return invoker.getValueFromField(target, getter);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> List<T> getListValueFromField(Object target) {
+        if (accessor != null) {
+            return (List<T>) accessor.get(target);
+        }
         return invoker.getListValueFromField(target, field);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> Set<T> getSetValueFromField(Object target) {
+        if (accessor != null) {
+            return (Set<T>) accessor.get(target);
+        }
         return invoker.getSetValueFromField(target, field);
     }
 
+    @SuppressWarnings("unchecked")
     public <K, V> Map<K, V> getMapValueFromField(Object target) {
+        if (accessor != null) {
+            return (Map<K, V>) accessor.get(target);
+        }
         return invoker.getMapValueFromField(target, field);
     }
 
     public void setValueToField(Object target, Object args) {
+        if (accessor != null && (args != null || !field.getType().isPrimitive())) {
+            accessor.set(target, args);
+            return;
+        }
         invoker.setValueToField(target, field, args);
     }
 
     public Class<?> getValueClassForTableCreation() {
         if (timeUUID) {
             return InternalTimeUUID.class;
+        } else if (binary || isCompressed()) {
+            return ByteBuffer.class;
         } else {
             return valueClass;
         }
@@ -543,6 +593,14 @@ public class PropertyMeta {
         this.transcoder = transcoder;
     }
 
+    public Method getRowGetter() {
+        return rowGetter;
+    }
+
+    public void setRowGetter(Method rowGetter) {
+        this.rowGetter = rowGetter;
+    }
+
     public ReflectionInvoker getInvoker() {
         return invoker;
     }
@@ -551,6 +609,14 @@ public class PropertyMeta {
         this.invoker = invoker;
     }
 
+    public PropertyAccessor getAccessor() {
+        return accessor;
+    }
+
+    public void setAccessor(PropertyAccessor accessor) {
+        this.accessor = accessor;
+    }
+
     public boolean isTimeUUID() {
         return timeUUID;
     }
@@ -559,6 +625,42 @@ public class PropertyMeta {
         this.timeUUID = timeUUID;
     }
 
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public void setBinary(boolean binary) {
+        this.binary = binary;
+    }
+
+    public boolean isCompressed() {
+        return compressionTracker != null;
+    }
+
+    public CompressionTracker getCompressionTracker() {
+        return compressionTracker;
+    }
+
+    public void setCompressionTracker(CompressionTracker compressionTracker) {
+        this.compressionTracker = compressionTracker;
+    }
+
+    public boolean isChunked() {
+        return chunkProperties != null;
+    }
+
+    public boolean isShardedCounter() {
+        return counterProperties != null && counterProperties.isSharded();
+    }
+
+    public ChunkProperties getChunkProperties() {
+        return chunkProperties;
+    }
+
+    public void setChunkProperties(ChunkProperties chunkProperties) {
+        this.chunkProperties = chunkProperties;
+    }
+
     public void setEmptyCollectionAndMapIfNull(boolean emptyCollectionAndMapIfNull) {
         this.emptyCollectionAndMapIfNull = emptyCollectionAndMapIfNull;
     }
@@ -17,15 +17,23 @@ package info.archinnov.achilles.internal.metadata.holder;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.internal.cql.TypeMapper;
 import info.archinnov.achilles.internal.metadata.transcoding.CompoundTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.DataTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.ListTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.MapTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.SetTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.SimpleTranscoder;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.BinaryValueCodec;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.Codec;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.CodecFactory;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.CompressedCodec;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.CompressionTracker;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
 
@@ -43,6 +51,10 @@ public class PropertyMetaBuilder {
     private EmbeddedIdProperties embeddedIdProperties;
     private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
     private boolean timeUUID = false;
+    private BinaryCodec<?> binaryCodec;
+    private Integer compressionThreshold;
+    private CompressionTracker compressionTracker;
+    private ChunkProperties chunkProperties;
     private boolean emptyCollectionAndMapIfNull = false;
     private boolean staticColumn = false;
 
@@ -81,8 +93,16 @@ public class PropertyMetaBuilder {
 
         meta.setCounterProperties(counterProperties);
         meta.setConsistencyLevels(consistencyLevels);
-        meta.setTranscoder(determineTranscoder());
+        if (compressionThreshold != null) {
+            compressionTracker = new CompressionTracker();
+        }
+        meta.setTranscoder(determineTranscoder(keyClass, valueClass));
+        final boolean blob = binaryCodec != null || compressionTracker != null;
+        meta.setRowGetter(TypeMapper.getRowMethod(blob ? ByteBuffer.class : valueClass));
         meta.setTimeUUID(timeUUID);
+        meta.setBinary(binaryCodec != null);
+        meta.setCompressionTracker(compressionTracker);
+        meta.setChunkProperties(chunkProperties);
         meta.setEmptyCollectionAndMapIfNull(emptyCollectionAndMapIfNull);
         meta.setStaticColumn(staticColumn);
 
@@ -124,6 +144,21 @@ public class PropertyMetaBuilder {
         return this;
     }
 
+    public PropertyMetaBuilder binaryCodec(BinaryCodec<?> binaryCodec) {
+        this.binaryCodec = binaryCodec;
+        return this;
+    }
+
+    public PropertyMetaBuilder compressionThreshold(Integer compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        return this;
+    }
+
+    public PropertyMetaBuilder chunkProperties(ChunkProperties chunkProperties) {
+        this.chunkProperties = chunkProperties;
+        return this;
+    }
+
     public PropertyMetaBuilder staticColumn(boolean staticColumn) {
         this.staticColumn = staticColumn;
         return this;
@@ -134,20 +169,28 @@ public class PropertyMetaBuilder {
         return this;
     }
 
-    private DataTranscoder determineTranscoder() {
+    private DataTranscoder determineTranscoder(Class<?> keyClass, Class<?> valueClass) {
         switch (type) {
             case EMBEDDED_ID:
-                return new CompoundTranscoder(objectMapper);
+                return new CompoundTranscoder(objectMapper, CodecFactory.create(embeddedIdProperties.getComponentClasses(), objectMapper));
             case ID:
             case COUNTER:
             case SIMPLE:
-                return new SimpleTranscoder(objectMapper);
+                Codec valueCodec = binaryCodec != null ? new BinaryValueCodec(binaryCodec) : CodecFactory.create(
+                        valueClass, objectMapper);
+                if (compressionTracker != null) {
+                    final boolean textual = binaryCodec == null && !byte[].class.equals(valueClass)
+                            && !ByteBuffer.class.equals(valueClass);
+                    valueCodec = new CompressedCodec(valueCodec, textual, compressionThreshold, compressionTracker);
+                }
+                return new SimpleTranscoder(objectMapper, valueCodec);
             case LIST:
-                return new ListTranscoder(objectMapper);
+                return new ListTranscoder(objectMapper, CodecFactory.create(valueClass, objectMapper));
             case SET:
-                return new SetTranscoder(objectMapper);
+                return new SetTranscoder(objectMapper, CodecFactory.create(valueClass, objectMapper));
             case MAP:
-                return new MapTranscoder(objectMapper);
+                return new MapTranscoder(objectMapper, CodecFactory.create(keyClass, objectMapper),
+                        CodecFactory.create(valueClass, objectMapper));
 
             default:
                 return null;
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.holder;
+
+import java.lang.reflect.Field;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.UUID;
+import com.datastax.driver.core.utils.UUIDs;
+import com.google.common.base.Objects;
+import com.google.common.collect.AbstractIterator;
+import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Time bucketing of a partition component, derived from the first clustering component.
+ * A bucket is identified by the start of its time window in epoch milliseconds
+ */
+public class TimeBucketProperties {
+
+    private final int bucketIndex;
+    private final Field bucketField;
+    private final Field sourceField;
+    private final long bucketMillis;
+
+    private ReflectionInvoker invoker = new ReflectionInvoker();
+
+    public TimeBucketProperties(int bucketIndex, Field bucketField, Field sourceField, long bucketMillis) {
+        this.bucketIndex = bucketIndex;
+        this.bucketField = bucketField;
+        this.sourceField = sourceField;
+        this.bucketMillis = bucketMillis;
+    }
+
+    public void assignBucket(Object compoundKey) {
+        final Object sourceValue = invoker.getValueFromField(compoundKey, sourceField);
+        if (sourceValue != null) {
+            invoker.setValueToField(compoundKey, bucketField, bucketOf(toMillis(sourceValue)));
+        }
+    }
+
+    public long bucketOf(long millis) {
+        final long remainder = millis % bucketMillis;
+        return remainder < 0 ? millis - remainder - bucketMillis : millis - remainder;
+    }
+
+    /**
+     * Number of buckets covering [from, to], computed without enumerating them
+     */
+    public long bucketCount(Date from, Date to) {
+        validateTimeRange(from, to);
+        return (bucketOf(to.getTime()) - bucketOf(from.getTime())) / bucketMillis + 1;
+    }
+
+    /**
+     * Buckets covering [from, to], generated lazily in ascending or descending order
+     */
+    public Iterator<Long> bucketsBetween(Date from, Date to, final boolean descending) {
+        validateTimeRange(from, to);
+        final long first = bucketOf(from.getTime());
+        final long last = bucketOf(to.getTime());
+        return new AbstractIterator<Long>() {
+            private long next = descending ? last : first;
+
+            @Override
+            protected Long computeNext() {
+                if (next < first || next > last) {
+                    return endOfData();
+                }
+                final long bucket = next;
+                next = descending ? next - bucketMillis : next + bucketMillis;
+                return bucket;
+            }
+        };
+    }
+
+    /**
+     * Convert a time bound to the type of the source clustering component
+     */
+    public Object toClusteringBound(Date bound, boolean lowerBound) {
+        final Class<?> sourceType = sourceField.getType();
+        if (Long.class.equals(sourceType)) {
+            return bound.getTime();
+        } else if (UUID.class.equals(sourceType)) {
+            return lowerBound ? UUIDs.startOf(bound.getTime()) : UUIDs.endOf(bound.getTime());
+        }
+        return bound;
+    }
+
+    private void validateTimeRange(Date from, Date to) {
+        Validator.validateTrue(!from.after(to), "The lower time bound '%s' should not be after the upper time bound '%s'", from, to);
+    }
+
+    private long toMillis(Object sourceValue) {
+        if (sourceValue instanceof Date) {
+            return ((Date) sourceValue).getTime();
+        } else if (sourceValue instanceof UUID) {
+            return UUIDs.unixTimestamp((UUID) sourceValue);
+        }
+        return (Long) sourceValue;
+    }
+
+    public int getBucketIndex() {
+        return bucketIndex;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this.getClass())
+                .add("bucketField", bucketField.getName())
+                .add("sourceField", sourceField.getName())
+                .add("bucketMillis", bucketMillis)
+                .toString();
+    }
+}
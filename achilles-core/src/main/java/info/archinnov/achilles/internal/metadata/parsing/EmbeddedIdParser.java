@@ -25,12 +25,14 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.UUID;
 import org.reflections.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,10 +41,14 @@ import com.google.common.collect.FluentIterable;
 import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.Order;
 import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.TimeBucket;
 import info.archinnov.achilles.annotations.TimeUUID;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.internal.metadata.holder.EmbeddedIdProperties;
+import info.archinnov.achilles.internal.metadata.holder.ClusteringComponents;
 import info.archinnov.achilles.internal.metadata.holder.EmbeddedIdPropertiesBuilder;
+import info.archinnov.achilles.internal.metadata.holder.PartitionComponents;
+import info.archinnov.achilles.internal.metadata.holder.TimeBucketProperties;
 import info.archinnov.achilles.internal.metadata.parsing.validator.PropertyParsingValidator;
 import info.archinnov.achilles.internal.validation.Validator;
 
@@ -185,8 +191,61 @@ public class EmbeddedIdParser {
             partitionKeysBuilder.addComponentSetter(clusteringKeysBuilder.removeFirstComponentSetter());
         }
 
-        return embeddedIdPropertiesBuilder.buildEmbeddedIdProperties(partitionKeysBuilder.buildPartitionKeys(),
-                clusteringKeysBuilder.buildClusteringKeys());
+        final PartitionComponents partitionComponents = partitionKeysBuilder.buildPartitionKeys();
+        final ClusteringComponents clusteringComponents = clusteringKeysBuilder.buildClusteringKeys();
+        embeddedIdPropertiesBuilder.setTimeBucketProperties(extractTimeBucket(embeddedIdClass, partitionComponents,
+                clusteringComponents));
+
+        return embeddedIdPropertiesBuilder.buildEmbeddedIdProperties(partitionComponents, clusteringComponents);
+    }
+
+    private TimeBucketProperties extractTimeBucket(Class<?> embeddedIdClass, PartitionComponents partitionComponents,
+            ClusteringComponents clusteringComponents) {
+        final String className = embeddedIdClass.getCanonicalName();
+        for (Field clusteringField : clusteringComponents.getComponentFields()) {
+            Validator.validateBeanMappingFalse(filter.hasAnnotation(clusteringField, TimeBucket.class),
+                    "The @TimeBucket component '%s' of @EmbeddedId class '%s' should be a partition key component",
+                    clusteringField.getName(), className);
+        }
+
+        TimeBucketProperties timeBucketProperties = null;
+        final List<Field> partitionFields = partitionComponents.getComponentFields();
+        for (int index = 0; index < partitionFields.size(); index++) {
+            final Field bucketField = partitionFields.get(index);
+            final TimeBucket timeBucket = bucketField.getAnnotation(TimeBucket.class);
+            if (timeBucket == null) {
+                continue;
+            }
+            log.debug("Parse time bucket component {} of embedded id class {}", bucketField.getName(), className);
+
+            final String bucketName = bucketField.getName();
+            Validator.validateBeanMappingTrue(timeBucketProperties == null,
+                    "There should be at most one @TimeBucket component for the @EmbeddedId class '%s'", className);
+            Validator.validateBeanMappingTrue(Long.class.equals(bucketField.getType()),
+                    "The @TimeBucket component '%s' of @EmbeddedId class '%s' should be of type '%s'", bucketName,
+                    className, Long.class.getCanonicalName());
+            Validator.validateBeanMappingTrue(timeBucket.size() > 0,
+                    "The @TimeBucket size of component '%s' of @EmbeddedId class '%s' should be strictly positive",
+                    bucketName, className);
+
+            final List<Field> clusteringFields = clusteringComponents.getComponentFields();
+            Validator.validateBeanMappingTrue(clusteringFields.size() > 0
+                    && clusteringFields.get(0).getName().equals(timeBucket.source()),
+                    "The source '%s' of @TimeBucket component '%s' of @EmbeddedId class '%s' should be the first clustering component",
+                    timeBucket.source(), bucketName, className);
+
+            final Field sourceField = clusteringFields.get(0);
+            final Class<?> sourceType = sourceField.getType();
+            Validator.validateBeanMappingTrue(Date.class.equals(sourceType) || Long.class.equals(sourceType)
+                    || (UUID.class.equals(sourceType) && filter.hasAnnotation(sourceField, TimeUUID.class)),
+                    "The source '%s' of @TimeBucket component '%s' of @EmbeddedId class '%s' should be of type '%s', '%s' or a @TimeUUID '%s'",
+                    timeBucket.source(), bucketName, className, Date.class.getCanonicalName(),
+                    Long.class.getCanonicalName(), UUID.class.getCanonicalName());
+
+            timeBucketProperties = new TimeBucketProperties(index, bucketField, sourceField,
+                    timeBucket.unit().toMillis(timeBucket.size()));
+        }
+        return timeBucketProperties;
     }
 
     private boolean buildPartitionAndClusteringKeys(Class<?> embeddedIdClass, Map<Integer, Field> components,
@@ -26,12 +26,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.google.common.collect.Lists;
 import info.archinnov.achilles.annotations.Consistency;
+import info.archinnov.achilles.annotations.CounterTable;
+import info.archinnov.achilles.annotations.HedgedReads;
 import info.archinnov.achilles.annotations.Entity;
 import info.archinnov.achilles.annotations.Strategy;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.internal.table.TableNameNormalizer;
+import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.InsertStrategy;
 import info.archinnov.achilles.type.Pair;
@@ -237,6 +240,33 @@ public class EntityIntrospector {
         return null;
     }
 
+    public boolean inferHedgedReads(Class<?> entity, ConfigurationContext configContext) {
+        HedgedReads annotation = entity.getAnnotation(HedgedReads.class);
+        boolean hedgedReads = annotation != null ? annotation.value() : configContext.isHedgedReadsEnabled();
+        log.debug("Inferred hedged reads for entity {} : {}", entity.getCanonicalName(), hedgedReads);
+        return hedgedReads;
+    }
+
+    public String inferCounterTableName(Class<?> entity, String tableName, ConfigurationContext configContext) {
+        CounterTable annotation = entity.getAnnotation(CounterTable.class);
+        boolean dedicated = annotation != null ? annotation.dedicated() : configContext.isDedicatedCounterTables();
+        if (!dedicated) {
+            return null;
+        }
+
+        String counterTableName = tableName + "_counters";
+        if (annotation != null && StringUtils.isNotBlank(annotation.name())) {
+            counterTableName = annotation.name();
+        }
+        counterTableName = TableNameNormalizer.normalizerAndValidateColumnFamilyName(counterTableName);
+        Validator.validateBeanMappingFalse(counterTableName.equalsIgnoreCase(tableName),
+                "The dedicated counter table of entity '%s' should not be its own table '%s'",
+                entity.getCanonicalName(), tableName);
+
+        log.debug("Inferred dedicated counter table for entity {} : {}", entity.getCanonicalName(), counterTableName);
+        return counterTableName;
+    }
+
     public InsertStrategy getInsertStrategy(Class<?> type, EntityParsingContext parsingContext) {
         Strategy strategy = type.getAnnotation(Strategy.class);
 
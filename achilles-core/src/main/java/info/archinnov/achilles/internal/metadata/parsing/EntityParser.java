@@ -52,6 +52,7 @@ public class EntityParser {
         String tableComment = introspector.inferTableComment(entityClass, "Create table for entity \"" + entityClass.getName() + "\"");
         Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels = introspector.findConsistencyLevels(entityClass, tableName, context.getConfigContext());
         final InsertStrategy insertStrategy = introspector.getInsertStrategy(entityClass, context);
+        final String counterTableName = introspector.inferCounterTableName(entityClass, tableName, context.getConfigContext());
 
         context.setCurrentConsistencyLevels(consistencyLevels);
 
@@ -84,10 +85,16 @@ public class EntityParser {
                 .tableName(tableName).tableComment(tableComment)
                 .propertyMetas(context.getPropertyMetas()).consistencyLevels(context.getCurrentConsistencyLevels())
                 .insertStrategy(insertStrategy)
+                .adaptiveInsertMaxShapes(context.getConfigContext().getAdaptiveInsertMaxShapes())
                 .schemaUpdateEnabled(context.isSchemaUpdateEnabled(tableName))
+                .counterTableName(counterTableName)
+                .hedgedReads(introspector.inferHedgedReads(entityClass, context.getConfigContext()))
+                .hedgedReadsPercentile(context.getConfigContext().getHedgedReadsPercentile())
+                .hedgedReadsMinDelayMillis(context.getConfigContext().getHedgedReadsMinDelayMillis())
                 .build();
 
         validator.validateStaticColumns(entityMeta,idMeta);
+        validator.validateShardedCounters(entityMeta);
         log.trace("Entity meta built for entity class {} : {}", context.getCurrentEntityClass().getCanonicalName(),entityMeta);
 
         return entityMeta;
@@ -40,22 +40,31 @@ import javax.validation.constraints.NotNull;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import info.archinnov.achilles.annotations.Binary;
+import info.archinnov.achilles.annotations.Chunked;
 import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Compressed;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.EmptyCollectionIfNull;
 import info.archinnov.achilles.annotations.Id;
 import info.archinnov.achilles.annotations.Index;
+import info.archinnov.achilles.annotations.ShardedCounter;
 import info.archinnov.achilles.annotations.TimeUUID;
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.codec.BinaryCodecFactory;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.metadata.holder.CounterProperties;
+import info.archinnov.achilles.internal.metadata.holder.ChunkProperties;
 import info.archinnov.achilles.internal.metadata.holder.EmbeddedIdProperties;
 import info.archinnov.achilles.internal.metadata.holder.IndexProperties;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.metadata.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.internal.metadata.parsing.validator.PropertyParsingValidator;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.SmileCodecFactory;
+import info.archinnov.achilles.internal.reflection.ObjectInstantiator;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Counter;
@@ -112,6 +121,7 @@ public class PropertyParser {
     private EntityIntrospector entityIntrospector = new EntityIntrospector();
     private PropertyParsingValidator validator = new PropertyParsingValidator();
     private PropertyFilter filter = new PropertyFilter();
+    private ObjectInstantiator instantiator = new ObjectInstantiator();
 
     public <T> Class<T> inferValueClassForListOrSet(Type genericType, Class<?> entityClass) {
         log.debug("Infer parameterized value class for collection type {} of entity class {} ", genericType.toString(),
@@ -229,6 +239,10 @@ public class PropertyParser {
 
         validator.validateNoDuplicate(context);
         validator.validateIndexIfSet(context);
+        validator.validateBinaryIfSet(context);
+        validator.validateCompressedIfSet(context);
+        validator.validateChunkedIfSet(context);
+        validator.validateShardedCounterIfSet(context);
 
         Class<?> fieldType = field.getType();
         PropertyMeta propertyMeta;
@@ -305,6 +319,9 @@ public class PropertyParser {
         Field field = context.getCurrentField();
         final boolean staticColumn = isStaticColumn(field);
         boolean timeUUID = isTimeUUID(context, field);
+        BinaryCodec<?> binaryCodec = findBinaryCodec(context, field);
+        Integer compressionThreshold = findCompressionThreshold(field);
+        ChunkProperties chunkProperties = findChunkProperties(field);
 
         Method[] accessors = entityIntrospector.findAccessors(entityClass, field);
         PropertyType type = SIMPLE;
@@ -313,6 +330,7 @@ public class PropertyParser {
                 .propertyName(context.getCurrentPropertyName())
                 .entityClassName(context.getCurrentEntityClass().getCanonicalName()).accessors(accessors)
                 .consistencyLevels(context.getCurrentConsistencyLevels()).field(field).timeuuid(timeUUID)
+                .binaryCodec(binaryCodec).compressionThreshold(compressionThreshold).chunkProperties(chunkProperties)
                 .staticColumn(staticColumn)
                 .build(Void.class, field.getType());
 
@@ -333,6 +351,10 @@ public class PropertyParser {
         PropertyType type = PropertyType.COUNTER;
 
         CounterProperties counterProperties = new CounterProperties(context.getCurrentEntityClass().getCanonicalName());
+        final ShardedCounter shardedCounter = field.getAnnotation(ShardedCounter.class);
+        if (shardedCounter != null) {
+            counterProperties.setShards(shardedCounter.shards());
+        }
 
         PropertyMeta propertyMeta = factory().objectMapper(context.getCurrentObjectMapper()).type(type)
                 .propertyName(context.getCurrentPropertyName())
@@ -500,6 +522,33 @@ public class PropertyParser {
         return timeUUID;
     }
 
+    private BinaryCodec<?> findBinaryCodec(PropertyParsingContext context, Field field) {
+        Binary binary = field.getAnnotation(Binary.class);
+        if (binary == null) {
+            return null;
+        }
+        log.debug("Resolve binary codec for property {} of entity class {}", context.getCurrentPropertyName(),
+                context.getCurrentEntityClass().getCanonicalName());
+        final Class<? extends BinaryCodecFactory> codecFactoryClass = binary.codecFactory();
+        BinaryCodecFactory codecFactory;
+        if (codecFactoryClass == BinaryCodecFactory.class) {
+            codecFactory = SmileCodecFactory.INSTANCE;
+        } else {
+            codecFactory = instantiator.instantiate(codecFactoryClass);
+        }
+        return codecFactory.create(field.getType(), context.getCurrentObjectMapper());
+    }
+
+    private Integer findCompressionThreshold(Field field) {
+        Compressed compressed = field.getAnnotation(Compressed.class);
+        return compressed != null ? compressed.threshold() : null;
+    }
+
+    private ChunkProperties findChunkProperties(Field field) {
+        Chunked chunked = field.getAnnotation(Chunked.class);
+        return chunked != null ? new ChunkProperties(chunked.chunkSize(), chunked.concurrency()) : null;
+    }
+
     private boolean mapNullCollectionAndMapToEmpty(Field field) {
         return filter.hasAnnotation(field, EmptyCollectionIfNull.class) || filter.hasAnnotation(field, NotNull.class);
     }
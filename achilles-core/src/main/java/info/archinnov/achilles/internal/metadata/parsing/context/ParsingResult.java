@@ -37,4 +37,22 @@ public class ParsingResult {
     public boolean hasSimpleCounter() {
         return hasSimpleCounter;
     }
+
+    public boolean hasChunkedProperty() {
+        for (EntityMeta entityMeta : metaMap.values()) {
+            if (!entityMeta.getAllChunkedMetas().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasShardedCounter() {
+        for (EntityMeta entityMeta : metaMap.values()) {
+            if (!entityMeta.getAllShardedCounterMetas().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
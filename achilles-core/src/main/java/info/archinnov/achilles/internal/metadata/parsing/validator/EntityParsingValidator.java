@@ -55,4 +55,11 @@ public class EntityParsingValidator {
             Validator.validateBeanMappingFalse(staticCountersCount == propertyMetasCount,"The entity class '%s' is a clustered counter and thus cannot have only static counter column", className);
         }
     }
+
+    public void validateShardedCounters(EntityMeta entityMeta) {
+        log.debug("Validate that entity class {} is not a clustered counter if it declares sharded counters", entityMeta.getClassName());
+        if (entityMeta.isClusteredCounter()) {
+            Validator.validateBeanMappingTrue(entityMeta.getAllShardedCounterMetas().isEmpty(), "The entity class '%s' is a clustered counter and thus cannot have sharded counter columns", entityMeta.getClassName());
+        }
+    }
 }
@@ -16,17 +16,28 @@
 package info.archinnov.achilles.internal.metadata.parsing.validator;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.ANY;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import info.archinnov.achilles.annotations.Binary;
+import info.archinnov.achilles.annotations.Chunked;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Compressed;
+import info.archinnov.achilles.annotations.ShardedCounter;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.internal.metadata.parsing.PropertyParser;
 import info.archinnov.achilles.internal.metadata.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Counter;
 import info.archinnov.achilles.type.Pair;
 
 public class PropertyParsingValidator {
@@ -97,6 +108,111 @@ public class PropertyParsingValidator {
         }
     }
 
+    public void validateBinaryIfSet(PropertyParsingContext context) {
+        String fieldName = context.getCurrentPropertyName();
+        String className = context.getCurrentEntityClass().getCanonicalName();
+        final Field field = context.getCurrentField();
+        if (field.getAnnotation(Binary.class) != null) {
+            log.debug("Validate that binary property {} of entity class {} is a simple property of non native type",
+                    fieldName, className);
+            final Class<?> fieldType = field.getType();
+            Validator.validateBeanMappingFalse(context.isPrimaryKey() || context.isEmbeddedId(),
+                    "Property '%s' of entity '%s' is a primary key and therefore cannot be stored as binary",
+                    fieldName, className);
+            Validator.validateBeanMappingFalse(Collection.class.isAssignableFrom(fieldType)
+                    || Map.class.isAssignableFrom(fieldType) || Counter.class.isAssignableFrom(fieldType),
+                    "Property '%s' of entity '%s' should be a simple property to be stored as binary", fieldName,
+                    className);
+            Validator.validateBeanMappingFalse(PropertyParser.isSupportedType(fieldType),
+                    "Property '%s' of entity '%s' cannot be stored as binary because the type '%s' is natively supported",
+                    fieldName, className, fieldType.getCanonicalName());
+        }
+    }
+
+    public void validateCompressedIfSet(PropertyParsingContext context) {
+        String fieldName = context.getCurrentPropertyName();
+        String className = context.getCurrentEntityClass().getCanonicalName();
+        final Field field = context.getCurrentField();
+        final Compressed compressed = field.getAnnotation(Compressed.class);
+        if (compressed != null) {
+            log.debug("Validate that compressed property {} of entity class {} is a simple text, binary or JSON property",
+                    fieldName, className);
+            final Class<?> fieldType = field.getType();
+            Validator.validateBeanMappingFalse(context.isPrimaryKey() || context.isEmbeddedId(),
+                    "Property '%s' of entity '%s' is a primary key and therefore cannot be compressed", fieldName,
+                    className);
+            Validator.validateBeanMappingFalse(Collection.class.isAssignableFrom(fieldType)
+                    || Map.class.isAssignableFrom(fieldType) || Counter.class.isAssignableFrom(fieldType),
+                    "Property '%s' of entity '%s' should be a simple property to be compressed", fieldName, className);
+            Validator.validateBeanMappingFalse(PropertyParser.getIndexName(field) != null,
+                    "Property '%s' of entity '%s' is indexed and therefore cannot be compressed", fieldName, className);
+            final boolean compressibleType = String.class.equals(fieldType) || byte[].class.equals(fieldType)
+                    || ByteBuffer.class.equals(fieldType) || !PropertyParser.isSupportedType(fieldType);
+            Validator.validateBeanMappingTrue(compressibleType,
+                    "Property '%s' of entity '%s' cannot be compressed because the type '%s' is neither text, binary nor JSON",
+                    fieldName, className, fieldType.getCanonicalName());
+            Validator.validateBeanMappingTrue(compressed.threshold() >= 0,
+                    "The compression threshold '%s' of property '%s' of entity '%s' should be positive",
+                    compressed.threshold(), fieldName, className);
+        }
+    }
+
+    public void validateChunkedIfSet(PropertyParsingContext context) {
+        String fieldName = context.getCurrentPropertyName();
+        String className = context.getCurrentEntityClass().getCanonicalName();
+        final Field field = context.getCurrentField();
+        final Chunked chunked = field.getAnnotation(Chunked.class);
+        if (chunked != null) {
+            log.debug("Validate that chunked property {} of entity class {} is a simple stream property", fieldName,
+                    className);
+            final Class<?> fieldType = field.getType();
+            final Column column = field.getAnnotation(Column.class);
+            Validator.validateBeanMappingFalse(context.isPrimaryKey() || context.isEmbeddedId(),
+                    "Property '%s' of entity '%s' is a primary key and therefore cannot be chunked", fieldName,
+                    className);
+            Validator.validateBeanMappingTrue(InputStream.class.equals(fieldType)
+                    || ReadableByteChannel.class.equals(fieldType),
+                    "Property '%s' of entity '%s' should be of type '%s' or '%s' to be chunked", fieldName, className,
+                    InputStream.class.getCanonicalName(), ReadableByteChannel.class.getCanonicalName());
+            Validator.validateBeanMappingFalse(PropertyParser.getIndexName(field) != null,
+                    "Property '%s' of entity '%s' is indexed and therefore cannot be chunked", fieldName, className);
+            Validator.validateBeanMappingFalse(field.getAnnotation(Compressed.class) != null
+                    || field.getAnnotation(Binary.class) != null,
+                    "Property '%s' of entity '%s' cannot be chunked and compressed or binary at the same time",
+                    fieldName, className);
+            Validator.validateBeanMappingFalse(column != null && column.staticColumn(),
+                    "Property '%s' of entity '%s' is a static column and therefore cannot be chunked", fieldName,
+                    className);
+            Validator.validateBeanMappingTrue(chunked.chunkSize() > 0,
+                    "The chunk size '%s' of property '%s' of entity '%s' should be strictly positive",
+                    chunked.chunkSize(), fieldName, className);
+            Validator.validateBeanMappingTrue(chunked.concurrency() > 0,
+                    "The chunk concurrency '%s' of property '%s' of entity '%s' should be strictly positive",
+                    chunked.concurrency(), fieldName, className);
+        }
+    }
+
+    public void validateShardedCounterIfSet(PropertyParsingContext context) {
+        String fieldName = context.getCurrentPropertyName();
+        String className = context.getCurrentEntityClass().getCanonicalName();
+        final Field field = context.getCurrentField();
+        final ShardedCounter shardedCounter = field.getAnnotation(ShardedCounter.class);
+        if (shardedCounter != null) {
+            log.debug("Validate that sharded counter property {} of entity class {} is a simple counter", fieldName,
+                    className);
+            final Column column = field.getAnnotation(Column.class);
+            Validator.validateBeanMappingTrue(Counter.class.equals(field.getType()),
+                    "Property '%s' of entity '%s' should be of type '%s' to be a sharded counter", fieldName,
+                    className, Counter.class.getCanonicalName());
+            Validator.validateBeanMappingFalse(column != null && column.staticColumn(),
+                    "Property '%s' of entity '%s' is a static column and therefore cannot be a sharded counter",
+                    fieldName, className);
+            Validator.validateBeanMappingTrue(shardedCounter.shards() > 1,
+                    "The shards count '%s' of counter '%s' of entity '%s' should be at least 2",
+                    shardedCounter.shards(), fieldName, className);
+        }
+    }
+
     public static void validateAllowedTypes(Class<?> type, Set<Class<?>> allowedTypes, String message) {
         log.debug("Validate that type {} is supported", type);
         if (!allowedTypes.contains(type) && !type.isEnum()) {
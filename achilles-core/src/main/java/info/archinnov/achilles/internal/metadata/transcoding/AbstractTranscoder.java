@@ -15,9 +15,6 @@
  */
 package info.archinnov.achilles.internal.metadata.transcoding;
 
-import static info.archinnov.achilles.internal.metadata.parsing.PropertyParser.isAssignableFromNativeType;
-import static info.archinnov.achilles.internal.metadata.parsing.PropertyParser.isSupportedNativeType;
-import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -116,52 +113,6 @@ public abstract class AbstractTranscoder implements DataTranscoder {
                 + pm.type().name() + "'");
     }
 
-    Object encodeInternal(Class<?> sourceType, Object entityValue) {
-        log.trace("Encode {} to CQL type {}", entityValue, sourceType);
-        if (byte.class.isAssignableFrom(sourceType) || Byte.class.isAssignableFrom(sourceType)) {
-            return ByteBuffer.wrap(new byte[] { (byte) entityValue });
-        } else if (byte[].class.isAssignableFrom(sourceType)) {
-            return ByteBuffer.wrap((byte[]) entityValue);
-        } else if (isAssignableFromNativeType(sourceType)) {
-            return entityValue;
-        } else if (sourceType.isEnum()) {
-            return ((Enum<?>) entityValue).name();
-        } else {
-            return forceEncodeToJSON(entityValue);
-        }
-    }
-
-    @SuppressWarnings({ "unchecked", "rawtypes" })
-    Object decodeInternal(Class<?> targetType, Object cassandraValue) {
-        log.trace("Decode {} from CQL type {}", cassandraValue, targetType);
-        if (byte.class.isAssignableFrom(targetType) || Byte.class.isAssignableFrom(targetType)) {
-            byte[] byteBuffer = readByteBuffer(cassandraValue);
-            if (byteBuffer.length < 1) {
-                throw new AchillesException("Error while decoding value '" + cassandraValue + "' to type '"
-                        + targetType.getCanonicalName() + "'");
-            }
-            return byteBuffer[0];
-        } else if (byte[].class.isAssignableFrom(targetType)) {
-            return readByteBuffer(cassandraValue);
-        } else if (isSupportedNativeType(targetType)) {
-            return cassandraValue;
-        } else if (targetType.isEnum()) {
-            return Enum.valueOf((Class) targetType, (String) cassandraValue);
-        } else if (cassandraValue instanceof String) {
-            return forceDecodeFromJSON((String) cassandraValue, targetType);
-        } else {
-            throw new AchillesException("Error while decoding value '" + cassandraValue + "' to type '"
-                    + targetType.getCanonicalName() + "'");
-        }
-    }
-
-    private byte[] readByteBuffer(Object cassandraValue) {
-        ByteBuffer byteBuffer = (ByteBuffer) cassandraValue;
-        byte[] bytes = new byte[byteBuffer.remaining()];
-        byteBuffer.get(bytes);
-        return bytes;
-    }
-
     @Override
     public String forceEncodeToJSON(Object object) {
         log.trace("Force encode {} to JSON", object);
@@ -22,21 +22,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.Codec;
 import info.archinnov.achilles.internal.validation.Validator;
 
 public class CompoundTranscoder extends AbstractTranscoder {
 
     private static final Logger log = LoggerFactory.getLogger(CompoundTranscoder.class);
 
-    public CompoundTranscoder(ObjectMapper objectMapper) {
+    private final List<Codec> componentCodecs;
+
+    public CompoundTranscoder(ObjectMapper objectMapper, List<Codec> componentCodecs) {
         super(objectMapper);
+        this.componentCodecs = componentCodecs;
     }
 
     @Override
     public List<Object> encodeToComponents(PropertyMeta idMeta, Object compoundKey, boolean onlyStaticColumns) {
         log.trace("Encode {} to CQL components", compoundKey);
         List<Object> compoundComponents = new ArrayList<>();
-        List<Class<?>> componentClasses = idMeta.getComponentClasses();
         List<Field> componentFields;
         if (compoundKey != null) {
             if (onlyStaticColumns) {
@@ -46,7 +49,7 @@ public class CompoundTranscoder extends AbstractTranscoder {
             }
             for (int i = 0; i < componentFields.size(); i++) {
                 Object component = invoker.getValueFromField(compoundKey, componentFields.get(i));
-                Object encoded = super.encodeInternal(componentClasses.get(i), component);
+                Object encoded = componentCodecs.get(i).encode(component);
                 compoundComponents.add(encoded);
             }
         }
@@ -61,10 +64,11 @@ public class CompoundTranscoder extends AbstractTranscoder {
         for (Object component : components) {
             if (component != null) {
                 Class<?> componentClass = component.getClass();
-                Validator.validateTrue(componentClasses.contains(componentClass),
+                final int index = componentClasses.indexOf(componentClass);
+                Validator.validateTrue(index >= 0,
                         "The component {} for embedded id {} has an unknown type. Valid types are {}", component, pm
                         .getValueClass().getCanonicalName(), componentClasses);
-                Object encoded = super.encodeInternal(componentClass, component);
+                Object encoded = componentCodecs.get(index).encode(component);
                 encodedComponents.add(encoded);
             }
         }
@@ -77,9 +81,8 @@ public class CompoundTranscoder extends AbstractTranscoder {
         List<Field> componentFields = idMeta.getComponentFields();
 
         List<Object> decodedComponents = new ArrayList<>();
-        List<Class<?>> componentClasses = idMeta.getComponentClasses();
         for (int i = 0; i < components.size(); i++) {
-            Object decoded = super.decodeInternal(componentClasses.get(i), components.get(i));
+            Object decoded = componentCodecs.get(i).decode(components.get(i));
             decodedComponents.add(decoded);
         }
 
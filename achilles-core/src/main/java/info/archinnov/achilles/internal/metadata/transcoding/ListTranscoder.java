@@ -19,18 +19,19 @@ import java.util.ArrayList;
 import java.util.List;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.Codec;
 
 public class ListTranscoder extends SimpleTranscoder {
 
-    public ListTranscoder(ObjectMapper objectMapper) {
-        super(objectMapper);
+    public ListTranscoder(ObjectMapper objectMapper, Codec valueCodec) {
+        super(objectMapper, valueCodec);
     }
 
     @Override
     public List<Object> encode(PropertyMeta pm, List<?> entityValue) {
         List<Object> encoded = new ArrayList<Object>();
         for (Object value : entityValue) {
-            encoded.add(super.encodeInternal(pm.getValueClass(), value));
+            encoded.add(valueCodec.encode(value));
         }
         return encoded;
     }
@@ -39,7 +40,7 @@ public class ListTranscoder extends SimpleTranscoder {
     public List<Object> decode(PropertyMeta pm, List<?> cassandraValue) {
         List<Object> decoded = new ArrayList<Object>();
         for (Object value : cassandraValue) {
-            decoded.add(super.decodeInternal(pm.getValueClass(), value));
+            decoded.add(valueCodec.decode(value));
         }
         return decoded;
     }
@@ -21,29 +21,35 @@ import java.util.Map.Entry;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.Codec;
 
 public class MapTranscoder extends AbstractTranscoder {
 
-	public MapTranscoder(ObjectMapper objectMapper) {
+	private final Codec keyCodec;
+	private final Codec valueCodec;
+
+	public MapTranscoder(ObjectMapper objectMapper, Codec keyCodec, Codec valueCodec) {
 		super(objectMapper);
+		this.keyCodec = keyCodec;
+		this.valueCodec = valueCodec;
 	}
 
 	@Override
 	public Object encode(PropertyMeta pm, Object entityValue) {
-		return super.encodeInternal(pm.getValueClass(), entityValue);
+		return valueCodec.encode(entityValue);
 	}
 
 	@Override
 	public Object encodeKey(PropertyMeta pm, Object entityValue) {
-		return super.encodeInternal(pm.getKeyClass(), entityValue);
+		return keyCodec.encode(entityValue);
 	}
 
 	@Override
 	public Map<Object, Object> encode(PropertyMeta pm, Map<?, ?> entityValue) {
 		Map<Object, Object> encoded = new HashMap<Object, Object>();
 		for (Entry<?, ?> entry : entityValue.entrySet()) {
-			Object encodedKey = super.encodeInternal(pm.getKeyClass(), entry.getKey());
-			Object encodedValue = super.encodeInternal(pm.getValueClass(), entry.getValue());
+			Object encodedKey = keyCodec.encode(entry.getKey());
+			Object encodedValue = valueCodec.encode(entry.getValue());
 			encoded.put(encodedKey, encodedValue);
 		}
 		return encoded;
@@ -51,20 +57,20 @@ public class MapTranscoder extends AbstractTranscoder {
 
 	@Override
 	public Object decode(PropertyMeta pm, Object cassandraValue) {
-		return super.decodeInternal(pm.getValueClass(), cassandraValue);
+		return valueCodec.decode(cassandraValue);
 	}
 
 	@Override
 	public Object decodeKey(PropertyMeta pm, Object cassandraValue) {
-		return super.decodeInternal(pm.getKeyClass(), cassandraValue);
+		return keyCodec.decode(cassandraValue);
 	}
 
 	@Override
 	public Map<Object, Object> decode(PropertyMeta pm, Map<?, ?> cassandraValue) {
 		Map<Object, Object> decoded = new HashMap<Object, Object>();
 		for (Entry<?, ?> entry : cassandraValue.entrySet()) {
-			Object decodedKey = super.decodeInternal(pm.getKeyClass(), entry.getKey());
-			Object decodedValue = super.decodeInternal(pm.getValueClass(), entry.getValue());
+			Object decodedKey = keyCodec.decode(entry.getKey());
+			Object decodedValue = valueCodec.decode(entry.getValue());
 			decoded.put(decodedKey, decodedValue);
 		}
 		return decoded;
@@ -19,18 +19,19 @@ import java.util.HashSet;
 import java.util.Set;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.Codec;
 
 public class SetTranscoder extends SimpleTranscoder {
 
-    public SetTranscoder(ObjectMapper objectMapper) {
-        super(objectMapper);
+    public SetTranscoder(ObjectMapper objectMapper, Codec valueCodec) {
+        super(objectMapper, valueCodec);
     }
 
     @Override
     public Set<Object> encode(PropertyMeta pm, Set<?> entityValue) {
         Set<Object> encoded = new HashSet<Object>();
         for (Object value : entityValue) {
-            encoded.add(super.encodeInternal(pm.getValueClass(), value));
+            encoded.add(valueCodec.encode(value));
         }
         return encoded;
     }
@@ -39,7 +40,7 @@ public class SetTranscoder extends SimpleTranscoder {
     public Set<Object> decode(PropertyMeta pm, Set<?> cassandraValue) {
         Set<Object> decoded = new HashSet<Object>();
         for (Object value : cassandraValue) {
-            decoded.add(super.decodeInternal(pm.getValueClass(), value));
+            decoded.add(valueCodec.decode(value));
         }
         return decoded;
     }
@@ -18,24 +18,25 @@ package info.archinnov.achilles.internal.metadata.transcoding;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
-import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.Codec;
 
 public class SimpleTranscoder extends AbstractTranscoder {
 
-    protected ReflectionInvoker invoker = new ReflectionInvoker();
+    protected final Codec valueCodec;
 
-    public SimpleTranscoder(ObjectMapper objectMapper) {
+    public SimpleTranscoder(ObjectMapper objectMapper, Codec valueCodec) {
         super(objectMapper);
+        this.valueCodec = valueCodec;
     }
 
     @Override
     public Object encode(PropertyMeta pm, Object entityValue) {
-        return super.encodeInternal(pm.getValueClass(), entityValue);
+        return valueCodec.encode(entityValue);
     }
 
     @Override
     public Object decode(PropertyMeta pm, Object cassandraValue) {
-        return super.decodeInternal(pm.getValueClass(), cassandraValue);
+        return valueCodec.decode(cassandraValue);
     }
 
 }
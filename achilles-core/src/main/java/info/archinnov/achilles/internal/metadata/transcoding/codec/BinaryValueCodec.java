@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import java.nio.ByteBuffer;
+import com.google.common.base.Charsets;
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Bridge between a user {@link info.archinnov.achilles.codec.BinaryCodec} and the <strong>blob</strong> column.
+ * A String read from a column not yet migrated to blob is handed over as legacy JSON bytes
+ */
+public class BinaryValueCodec implements Codec {
+
+    private final BinaryCodec<Object> binaryCodec;
+
+    @SuppressWarnings("unchecked")
+    public BinaryValueCodec(BinaryCodec<?> binaryCodec) {
+        this.binaryCodec = (BinaryCodec<Object>) binaryCodec;
+    }
+
+    @Override
+    public Object encode(Object javaValue) {
+        if (javaValue == null) {
+            return null;
+        }
+        return ByteBuffer.wrap(binaryCodec.encode(javaValue));
+    }
+
+    @Override
+    public Object decode(Object cassandraValue) {
+        if (cassandraValue == null) {
+            return null;
+        } else if (cassandraValue instanceof ByteBuffer) {
+            final ByteBuffer byteBuffer = ((ByteBuffer) cassandraValue).duplicate();
+            byte[] bytes = new byte[byteBuffer.remaining()];
+            byteBuffer.get(bytes);
+            return binaryCodec.decode(bytes);
+        } else if (cassandraValue instanceof String) {
+            return binaryCodec.decode(((String) cassandraValue).getBytes(Charsets.UTF_8));
+        }
+        throw new AchillesException("Error while decoding binary value '" + cassandraValue + "'");
+    }
+}
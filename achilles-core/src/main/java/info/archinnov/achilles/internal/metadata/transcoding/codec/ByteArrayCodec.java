@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import java.nio.ByteBuffer;
+
+public class ByteArrayCodec implements Codec {
+
+    public static final ByteArrayCodec INSTANCE = new ByteArrayCodec();
+
+    @Override
+    public Object encode(Object javaValue) {
+        return ByteBuffer.wrap((byte[]) javaValue);
+    }
+
+    @Override
+    public Object decode(Object cassandraValue) {
+        ByteBuffer byteBuffer = (ByteBuffer) cassandraValue;
+        byte[] bytes = new byte[byteBuffer.remaining()];
+        // Read from a duplicate so that the position of the driver buffer is left untouched
+        byteBuffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import java.nio.ByteBuffer;
+import info.archinnov.achilles.exception.AchillesException;
+
+public class ByteCodec implements Codec {
+
+    private final Class<?> targetType;
+
+    public ByteCodec(Class<?> targetType) {
+        this.targetType = targetType;
+    }
+
+    @Override
+    public Object encode(Object javaValue) {
+        return ByteBuffer.wrap(new byte[] { (byte) javaValue });
+    }
+
+    @Override
+    public Object decode(Object cassandraValue) {
+        ByteBuffer byteBuffer = (ByteBuffer) cassandraValue;
+        if (byteBuffer.remaining() < 1) {
+            throw new AchillesException("Error while decoding value '" + cassandraValue + "' to type '"
+                    + targetType.getCanonicalName() + "'");
+        }
+        // Absolute read, the position of the driver buffer is left untouched
+        return byteBuffer.get(byteBuffer.position());
+    }
+}
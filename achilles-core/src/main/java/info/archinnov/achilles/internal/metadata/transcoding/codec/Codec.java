@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+/**
+ * Encode a single Java value to its CQL representation and back.
+ *
+ * One codec is resolved at parsing time for each property value class
+ * (and for each map key or embedded id component class) so that no type
+ * inspection is done for every read or write.
+ */
+public interface Codec {
+
+    Object encode(Object javaValue);
+
+    Object decode(Object cassandraValue);
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import static info.archinnov.achilles.internal.metadata.parsing.PropertyParser.isAssignableFromNativeType;
+import static info.archinnov.achilles.internal.metadata.parsing.PropertyParser.isSupportedNativeType;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class CodecFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(CodecFactory.class);
+
+    public static Codec create(Class<?> type, ObjectMapper objectMapper) {
+        log.trace("Resolve codec for type {}", type);
+        if (type == null) {
+            return null;
+        } else if (byte.class.isAssignableFrom(type) || Byte.class.isAssignableFrom(type)) {
+            return new ByteCodec(type);
+        } else if (byte[].class.isAssignableFrom(type)) {
+            return ByteArrayCodec.INSTANCE;
+        } else if (isSupportedNativeType(type) || isAssignableFromNativeType(type)) {
+            return NativeCodec.INSTANCE;
+        } else if (type.isEnum()) {
+            return new EnumCodec(type);
+        } else {
+            return new JSONCodec(type, objectMapper);
+        }
+    }
+
+    public static List<Codec> create(List<Class<?>> types, ObjectMapper objectMapper) {
+        List<Codec> codecs = new ArrayList<>();
+        if (types != null) {
+            for (Class<?> type : types) {
+                codecs.add(create(type, objectMapper));
+            }
+        }
+        return codecs;
+    }
+}
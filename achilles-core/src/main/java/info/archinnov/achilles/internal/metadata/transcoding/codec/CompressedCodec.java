@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import com.google.common.base.Charsets;
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Compress the value produced by the wrapped codec. The stored blob starts with a one byte header:
+ *
+ * <ul>
+ *     <li><strong>RAW</strong>: followed by the encoded value as is</li>
+ *     <li><strong>DEFLATE</strong>: followed by the original length (int) and the deflated value</li>
+ * </ul>
+ *
+ * Textual codecs (native String or JSON) exchange UTF-8 bytes, the other ones ByteBuffers
+ */
+public class CompressedCodec implements Codec {
+
+    static final byte RAW = 0;
+    static final byte DEFLATE = 1;
+    static final int DEFLATE_HEADER_SIZE = 5;
+
+    private static final ThreadLocal<Deflater> DEFLATERS = new ThreadLocal<Deflater>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater(Deflater.BEST_SPEED);
+        }
+    };
+
+    private static final ThreadLocal<Inflater> INFLATERS = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+
+    private final Codec codec;
+    private final boolean textual;
+    private final int threshold;
+    private final CompressionTracker tracker;
+
+    public CompressedCodec(Codec codec, boolean textual, int threshold, CompressionTracker tracker) {
+        this.codec = codec;
+        this.textual = textual;
+        this.threshold = threshold;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Object encode(Object javaValue) {
+        if (javaValue == null) {
+            return null;
+        }
+        final Object encoded = codec.encode(javaValue);
+        final byte[] original = textual ? ((String) encoded).getBytes(Charsets.UTF_8) : toBytes((ByteBuffer) encoded);
+
+        if (original.length >= threshold) {
+            final byte[] deflated = deflate(original);
+            if (deflated.length + DEFLATE_HEADER_SIZE < original.length + 1) {
+                final ByteBuffer stored = ByteBuffer.allocate(DEFLATE_HEADER_SIZE + deflated.length);
+                stored.put(DEFLATE).putInt(original.length).put(deflated).flip();
+                tracker.record(original.length, stored.remaining(), true);
+                return stored;
+            }
+        }
+        final ByteBuffer stored = ByteBuffer.allocate(1 + original.length);
+        stored.put(RAW).put(original).flip();
+        tracker.record(original.length, stored.remaining(), false);
+        return stored;
+    }
+
+    @Override
+    public Object decode(Object cassandraValue) {
+        if (cassandraValue == null) {
+            return null;
+        }
+        final ByteBuffer stored = ((ByteBuffer) cassandraValue).duplicate();
+        if (!stored.hasRemaining()) {
+            throw new AchillesException("Error while decoding compressed value, the header is missing");
+        }
+        final byte header = stored.get();
+        final byte[] original;
+        if (header == RAW) {
+            original = toBytes(stored);
+        } else if (header == DEFLATE) {
+            original = inflate(stored);
+        } else {
+            throw new AchillesException("Error while decoding compressed value, unknown header '" + header + "'");
+        }
+        return textual ? codec.decode(new String(original, Charsets.UTF_8)) : codec.decode(ByteBuffer.wrap(original));
+    }
+
+    private byte[] deflate(byte[] original) {
+        final Deflater deflater = DEFLATERS.get();
+        deflater.reset();
+        deflater.setInput(original);
+        deflater.finish();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(original.length / 2 + 16);
+        final byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+            final int length = deflater.deflate(chunk);
+            out.write(chunk, 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] inflate(ByteBuffer stored) {
+        final int originalLength = stored.getInt();
+        final byte[] deflated = toBytes(stored);
+        final byte[] original = new byte[originalLength];
+        final Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setInput(deflated);
+        try {
+            int offset = 0;
+            while (offset < originalLength && !inflater.finished()) {
+                final int length = inflater.inflate(original, offset, originalLength - offset);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += length;
+            }
+            if (offset != originalLength) {
+                throw new AchillesException("Error while decoding compressed value, expected " + originalLength
+                        + " bytes but got " + offset);
+            }
+        } catch (DataFormatException e) {
+            throw new AchillesException("Error while decoding compressed value", e);
+        }
+        return original;
+    }
+
+    private byte[] toBytes(ByteBuffer byteBuffer) {
+        final ByteBuffer duplicate = byteBuffer.duplicate();
+        final byte[] bytes = new byte[duplicate.remaining()];
+        duplicate.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import java.util.concurrent.atomic.AtomicLong;
+import info.archinnov.achilles.type.CompressionStatistics;
+
+public class CompressionTracker {
+
+    private final AtomicLong compressedValues = new AtomicLong(0);
+    private final AtomicLong uncompressedValues = new AtomicLong(0);
+    private final AtomicLong originalBytes = new AtomicLong(0);
+    private final AtomicLong storedBytes = new AtomicLong(0);
+
+    public void record(int originalSize, int storedSize, boolean compressed) {
+        if (compressed) {
+            compressedValues.incrementAndGet();
+        } else {
+            uncompressedValues.incrementAndGet();
+        }
+        originalBytes.addAndGet(originalSize);
+        storedBytes.addAndGet(storedSize);
+    }
+
+    public CompressionStatistics getStatistics() {
+        return new CompressionStatistics(compressedValues.get(), uncompressedValues.get(), originalBytes.get(),
+                storedBytes.get());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum codec using lookup tables built once from the enum constants
+ * instead of calling {@code Enum.valueOf()} for each decoding
+ */
+public class EnumCodec implements Codec {
+
+    private final Class<?> enumType;
+    private final String[] namesByOrdinal;
+    private final Map<String, Enum<?>> constantsByName = new HashMap<>();
+
+    public EnumCodec(Class<?> enumType) {
+        this.enumType = enumType;
+        final Object[] constants = enumType.getEnumConstants();
+        this.namesByOrdinal = new String[constants.length];
+        for (Object constant : constants) {
+            final Enum<?> enumConstant = (Enum<?>) constant;
+            namesByOrdinal[enumConstant.ordinal()] = enumConstant.name();
+            constantsByName.put(enumConstant.name(), enumConstant);
+        }
+    }
+
+    @Override
+    public Object encode(Object javaValue) {
+        return namesByOrdinal[((Enum<?>) javaValue).ordinal()];
+    }
+
+    @Override
+    public Object decode(Object cassandraValue) {
+        final Enum<?> constant = constantsByName.get(cassandraValue);
+        if (constant == null) {
+            throw new IllegalArgumentException("No enum constant " + enumType.getCanonicalName() + "." + cassandraValue);
+        }
+        return constant;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.exception.AchillesException;
+
+public class JSONCodec implements Codec {
+
+    private final Class<?> targetType;
+    private final ObjectMapper objectMapper;
+
+    public JSONCodec(Class<?> targetType, ObjectMapper objectMapper) {
+        this.targetType = targetType;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Object encode(Object javaValue) {
+        if (javaValue == null || javaValue instanceof String) {
+            return javaValue;
+        }
+        try {
+            return objectMapper.writeValueAsString(javaValue);
+        } catch (Exception e) {
+            throw new AchillesException("Error while encoding value '" + javaValue + "'", e);
+        }
+    }
+
+    @Override
+    public Object decode(Object cassandraValue) {
+        if (!(cassandraValue instanceof String)) {
+            throw new AchillesException("Error while decoding value '" + cassandraValue + "' to type '"
+                    + targetType.getCanonicalName() + "'");
+        }
+        try {
+            return objectMapper.readValue((String) cassandraValue, targetType);
+        } catch (Exception e) {
+            throw new AchillesException("Error while decoding value '" + cassandraValue + "' to type '"
+                    + targetType.getCanonicalName() + "'", e);
+        }
+    }
+}
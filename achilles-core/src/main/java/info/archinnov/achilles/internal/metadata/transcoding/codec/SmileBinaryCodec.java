@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import java.io.ByteArrayOutputStream;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Jackson Smile codec. The ObjectReader/ObjectWriter are resolved once for the type
+ * from the configured ObjectMapper so that its modules and features are honored.
+ *
+ * Bytes without the Smile header are read as legacy JSON text
+ */
+public class SmileBinaryCodec<T> implements BinaryCodec<T> {
+
+    private final Class<T> type;
+    private final SmileFactory smileFactory;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public SmileBinaryCodec(Class<T> type, ObjectMapper objectMapper, SmileFactory smileFactory) {
+        this.type = type;
+        this.smileFactory = smileFactory;
+        this.reader = objectMapper.reader(type);
+        this.writer = objectMapper.writerWithType(type);
+    }
+
+    @Override
+    public byte[] encode(T value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = smileFactory.createGenerator(out)) {
+            writer.writeValue(generator, value);
+        } catch (Exception e) {
+            throw new AchillesException("Error while encoding value '" + value + "' to Smile", e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public T decode(byte[] bytes) {
+        try {
+            if (hasSmileHeader(bytes)) {
+                try (JsonParser parser = smileFactory.createParser(bytes)) {
+                    return reader.readValue(parser);
+                }
+            } else {
+                return reader.readValue(bytes);
+            }
+        } catch (Exception e) {
+            throw new AchillesException("Error while decoding value to type '" + type.getCanonicalName() + "'", e);
+        }
+    }
+
+    static boolean hasSmileHeader(byte[] bytes) {
+        return bytes.length >= 3 && bytes[0] == SmileConstants.HEADER_BYTE_1
+                && bytes[1] == SmileConstants.HEADER_BYTE_2 && bytes[2] == SmileConstants.HEADER_BYTE_3;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.codec.BinaryCodecFactory;
+
+public class SmileCodecFactory implements BinaryCodecFactory {
+
+    public static final SmileCodecFactory INSTANCE = new SmileCodecFactory();
+
+    private final SmileFactory smileFactory = new SmileFactory();
+
+    @Override
+    public <T> BinaryCodec<T> create(Class<T> type, ObjectMapper objectMapper) {
+        return new SmileBinaryCodec<>(type, objectMapper, smileFactory);
+    }
+}
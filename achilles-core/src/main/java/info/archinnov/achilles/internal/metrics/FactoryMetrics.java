@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+
+public class FactoryMetrics implements FactoryMetricsMBean {
+
+    private final AtomicLong proxyCreations = new AtomicLong(0);
+    private volatile Cache<?, ?> preparedStatementCache;
+
+    void monitorPreparedStatementCache(Cache<?, ?> preparedStatementCache) {
+        this.preparedStatementCache = preparedStatementCache;
+    }
+
+    void recordProxyCreation() {
+        proxyCreations.incrementAndGet();
+    }
+
+    private CacheStats cacheStats() {
+        return preparedStatementCache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : preparedStatementCache.stats();
+    }
+
+    @Override
+    public long getPreparedStatementCacheHits() {
+        return cacheStats().hitCount();
+    }
+
+    @Override
+    public long getPreparedStatementCacheMisses() {
+        return cacheStats().missCount();
+    }
+
+    @Override
+    public long getPreparedStatementCacheEvictions() {
+        return cacheStats().evictionCount();
+    }
+
+    @Override
+    public long getPreparedStatementCacheSize() {
+        return preparedStatementCache == null ? 0 : preparedStatementCache.size();
+    }
+
+    @Override
+    public long getProxyCreations() {
+        return proxyCreations.get();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.cache.Cache;
+import info.archinnov.achilles.internal.management.LazyDaemonExecutor;
+import info.archinnov.achilles.internal.management.MBeanRegistrar;
+import info.archinnov.achilles.internal.management.ManagedComponent;
+import info.archinnov.achilles.metrics.MetricsReporter;
+import info.archinnov.achilles.metrics.MetricsSnapshot;
+import info.archinnov.achilles.metrics.Operation;
+import info.archinnov.achilles.metrics.OperationStatistics;
+
+/**
+ * Per PersistenceManagerFactory metrics: latency histograms and error counts by entity and operation,
+ * prepared statements cache activity and proxy creations.
+ *
+ * When disabled, every recording method returns immediately without reading the clock.
+ * When enabled, the metrics are optionally exposed as JMX MBeans under the <em>JMX_DOMAIN</em> domain
+ * of {@link MBeanRegistrar} and pushed periodically to the configured reporters
+ */
+public class MetricsRegistry extends ManagedComponent {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    public static final MetricsRegistry DISABLED = new MetricsRegistry();
+
+    public static final String NATIVE_QUERY_ENTITY = "NativeQuery";
+    public static final String BATCH_ENTITY = "Batch";
+
+    private final boolean jmxEnabled;
+    private final List<MetricsReporter> reporters;
+    private final long reportingPeriodSeconds;
+
+    private final ConcurrentMap<String, ConcurrentMap<Operation, OperationMetrics>> metricsByEntity = new ConcurrentHashMap<>();
+    private final FactoryMetrics factoryMetrics = new FactoryMetrics();
+
+    private final LazyDaemonExecutor<ScheduledExecutorService> reportingExecutor = new LazyDaemonExecutor<ScheduledExecutorService>(
+            "achilles-metrics-reporter-%d") {
+        @Override
+        protected ScheduledExecutorService create(ThreadFactory threadFactory) {
+            return Executors.newSingleThreadScheduledExecutor(threadFactory);
+        }
+    };
+
+    private MetricsRegistry() {
+        this.jmxEnabled = false;
+        this.reporters = Collections.emptyList();
+        this.reportingPeriodSeconds = 0;
+    }
+
+    public MetricsRegistry(MBeanRegistrar mBeanRegistrar, boolean jmxEnabled, List<MetricsReporter> reporters, long reportingPeriodSeconds) {
+        super(mBeanRegistrar);
+        this.jmxEnabled = jmxEnabled;
+        this.reporters = reporters;
+        this.reportingPeriodSeconds = reportingPeriodSeconds;
+    }
+
+    public static MetricsRegistry orDisabled(MetricsRegistry metricsRegistry) {
+        return orDisabled(metricsRegistry, DISABLED);
+    }
+
+    public String getFactoryName() {
+        return enabled ? mBeanRegistrar.getFactoryName() : null;
+    }
+
+    public long startTimer() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void recordSuccess(Class<?> entityClass, Operation operation, long startTime) {
+        if (enabled) {
+            record(entityName(entityClass), operation, startTime, false);
+        }
+    }
+
+    public void recordFailure(Class<?> entityClass, Operation operation, long startTime) {
+        if (enabled) {
+            record(entityName(entityClass), operation, startTime, true);
+        }
+    }
+
+    public void recordSuccess(String entity, Operation operation, long startTime) {
+        if (enabled) {
+            record(entity, operation, startTime, false);
+        }
+    }
+
+    public void recordFailure(String entity, Operation operation, long startTime) {
+        if (enabled) {
+            record(entity, operation, startTime, true);
+        }
+    }
+
+    public void recordProxyCreation() {
+        if (enabled) {
+            factoryMetrics.recordProxyCreation();
+        }
+    }
+
+    public void monitorPreparedStatementCache(Cache<?, ?> preparedStatementCache) {
+        factoryMetrics.monitorPreparedStatementCache(preparedStatementCache);
+    }
+
+    public MetricsSnapshot getSnapshot() {
+        List<OperationStatistics> statistics = new ArrayList<>();
+        for (ConcurrentMap<Operation, OperationMetrics> metricsByOperation : metricsByEntity.values()) {
+            for (OperationMetrics metrics : metricsByOperation.values()) {
+                statistics.add(metrics.getStatistics());
+            }
+        }
+        return new MetricsSnapshot(getFactoryName(), System.currentTimeMillis(), statistics,
+                factoryMetrics.getPreparedStatementCacheHits(), factoryMetrics.getPreparedStatementCacheMisses(),
+                factoryMetrics.getPreparedStatementCacheEvictions(), factoryMetrics.getProxyCreations());
+    }
+
+    OperationMetrics getOperationMetrics(String entity, Operation operation) {
+        final ConcurrentMap<Operation, OperationMetrics> metricsByOperation = metricsByEntity.get(entity);
+        return metricsByOperation == null ? null : metricsByOperation.get(operation);
+    }
+
+    /**
+     * Register the JMX MBeans and schedule the reporters. Operations recorded before are registered too
+     */
+    @Override
+    protected void onStart() {
+        if (jmxEnabled) {
+            mBeanRegistrar.register(this, factoryMetrics, "Factory");
+        }
+        for (ConcurrentMap<Operation, OperationMetrics> metricsByOperation : metricsByEntity.values()) {
+            for (OperationMetrics metrics : metricsByOperation.values()) {
+                registerOperationMBean(metrics);
+            }
+        }
+        final ScheduledExecutorService executor = reporters.isEmpty() ? null : reportingExecutor.get();
+        if (executor != null) {
+            executor.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    report();
+                }
+            }, reportingPeriodSeconds, reportingPeriodSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stop the reporters
+     */
+    @Override
+    protected void onShutDown() {
+        reportingExecutor.shutDown();
+    }
+
+    void report() {
+        final MetricsSnapshot snapshot = getSnapshot();
+        for (MetricsReporter reporter : reporters) {
+            try {
+                reporter.report(snapshot);
+            } catch (RuntimeException e) {
+                log.warn("Achilles metrics reporter {} failed", reporter.getClass().getName(), e);
+            }
+        }
+    }
+
+    private void record(String entity, Operation operation, long startTime, boolean failed) {
+        final long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime);
+        ConcurrentMap<Operation, OperationMetrics> metricsByOperation = metricsByEntity.get(entity);
+        if (metricsByOperation == null) {
+            final ConcurrentMap<Operation, OperationMetrics> newMetrics = new ConcurrentHashMap<>();
+            metricsByOperation = metricsByEntity.putIfAbsent(entity, newMetrics);
+            if (metricsByOperation == null) {
+                metricsByOperation = newMetrics;
+            }
+        }
+        OperationMetrics metrics = metricsByOperation.get(operation);
+        if (metrics == null) {
+            final OperationMetrics newMetrics = new OperationMetrics(entity, operation);
+            metrics = metricsByOperation.putIfAbsent(operation, newMetrics);
+            if (metrics == null) {
+                metrics = newMetrics;
+                if (isStarted()) {
+                    registerOperationMBean(metrics);
+                }
+            }
+        }
+        metrics.record(latencyMicros, failed);
+    }
+
+    private String entityName(Class<?> entityClass) {
+        return entityClass == null ? "unknown" : entityClass.getName();
+    }
+
+    private void registerOperationMBean(OperationMetrics metrics) {
+        if (jmxEnabled) {
+            mBeanRegistrar.register(this, metrics, "Operation", "entity=" + metrics.getEntity(),
+                    "operation=" + metrics.getOperation());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import info.archinnov.achilles.metrics.Operation;
+import info.archinnov.achilles.metrics.OperationStatistics;
+
+public class OperationMetrics implements OperationMetricsMBean {
+
+    private final String entity;
+    private final Operation operation;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong(0);
+
+    public OperationMetrics(String entity, Operation operation) {
+        this.entity = entity;
+        this.operation = operation;
+    }
+
+    public void record(long latencyMicros, boolean failed) {
+        histogram.record(latencyMicros);
+        if (failed) {
+            errors.incrementAndGet();
+        }
+    }
+
+    public OperationStatistics getStatistics() {
+        return new OperationStatistics(entity, operation, histogram.getCount(), errors.get(), histogram.getMean(),
+                histogram.getPercentile(50), histogram.getPercentile(95), histogram.getPercentile(99), histogram.getMax());
+    }
+
+    @Override
+    public String getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String getOperation() {
+        return operation.name();
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.get();
+    }
+
+    @Override
+    public long getMeanMicros() {
+        return histogram.getMean();
+    }
+
+    @Override
+    public long get50thPercentileMicros() {
+        return histogram.getPercentile(50);
+    }
+
+    @Override
+    public long get95thPercentileMicros() {
+        return histogram.getPercentile(95);
+    }
+
+    @Override
+    public long get99thPercentileMicros() {
+        return histogram.getPercentile(99);
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return histogram.getMax();
+    }
+}
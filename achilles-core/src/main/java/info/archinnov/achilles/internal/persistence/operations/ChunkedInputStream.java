@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_DATA;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import com.datastax.driver.core.Row;
+
+/**
+ * Stream over the rows of a chunked value. Rows are pulled from the driver iterator on demand,
+ * so only the current page of chunks is kept in memory
+ */
+public class ChunkedInputStream extends InputStream {
+
+    private final Iterator<Row> chunks;
+    private ByteBuffer current = ByteBuffer.allocate(0);
+
+    public ChunkedInputStream(Iterator<Row> chunks) {
+        this.chunks = chunks;
+    }
+
+    @Override
+    public int read() {
+        if (!hasRemaining()) {
+            return -1;
+        }
+        return current.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (!hasRemaining()) {
+            return -1;
+        }
+        final int read = Math.min(length, current.remaining());
+        current.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public long skip(long count) {
+        long skipped = 0;
+        while (skipped < count && hasRemaining()) {
+            final int step = (int) Math.min(count - skipped, current.remaining());
+            current.position(current.position() + step);
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return current.remaining();
+    }
+
+    private boolean hasRemaining() {
+        while (!current.hasRemaining()) {
+            if (!chunks.hasNext()) {
+                return false;
+            }
+            final ByteBuffer chunk = chunks.next().getBytes(CQL_CHUNK_DATA);
+            current = chunk != null ? chunk.duplicate() : ByteBuffer.allocate(0);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.persistence.operations;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ResultSet;
+import info.archinnov.achilles.internal.context.facade.EntityOperations;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+public class ChunkedValueLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedValueLoader.class);
+
+    public void loadChunkedValue(EntityOperations context, Object realObject, PropertyMeta chunkedMeta) {
+        log.trace("Loading chunked value of property {} into object {}", chunkedMeta.getPropertyName(), realObject);
+        final Long chunkSet = context.loadCurrentChunkSet(chunkedMeta);
+        Object value = null;
+        if (chunkSet != null) {
+            final ResultSet chunks = context.loadChunks(chunkedMeta, chunkSet);
+            if (!chunks.isExhausted()) {
+                final InputStream stream = new ChunkedInputStream(chunks.iterator());
+                value = ReadableByteChannel.class.equals(chunkedMeta.getValueClass()) ? Channels.newChannel(stream) : stream;
+            }
+        }
+        chunkedMeta.setValueToField(realObject, value);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.persistence.operations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ResultSetFuture;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.context.facade.EntityOperations;
+import info.archinnov.achilles.internal.metadata.holder.ChunkProperties;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.utils.UUIDGen;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Write the values of properties annotated with {@literal @}Chunked into the generic chunk table.
+ *
+ * The stream is read one chunk at a time and each chunk is inserted asynchronously, with at most
+ * <em>concurrency</em> chunks in flight, so that only a bounded number of chunks is held in memory.
+ * <br/>
+ * The chunks of a write go to a new chunk set, identified by the write timestamp. Once all of them are
+ * written the current chunk set pointer is switched, then the previous chunk sets are deleted with a lower
+ * write timestamp. If the stream fails midway, the previous value stays readable and the partial chunk set
+ * is deleted by the next write.
+ * <br/>
+ * Chunks are written outside of the flush context, so writing a chunked value inside a Batch is rejected.
+ * Removing it is allowed since it is a single statement.
+ */
+public class ChunkedValuePersister {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedValuePersister.class);
+
+    public void persistChunkedValues(EntityOperations context, List<PropertyMeta> chunkedMetas) {
+        log.trace("Persisting chunked values using PersistenceContext {}", context);
+        Object entity = context.getEntity();
+        for (PropertyMeta chunkedMeta : chunkedMetas) {
+            Object value = chunkedMeta.getValueFromField(entity);
+            if (value != null) {
+                writeChunks(context, chunkedMeta, value);
+            }
+        }
+    }
+
+    public void updateChunkedValues(EntityOperations context, List<PropertyMeta> chunkedMetas) {
+        log.trace("Updating chunked values using PersistenceContext {}", context);
+        Object entity = context.getEntity();
+        for (PropertyMeta chunkedMeta : chunkedMetas) {
+            Object value = chunkedMeta.getValueFromField(entity);
+            if (value != null) {
+                writeChunks(context, chunkedMeta, value);
+            } else {
+                context.bindForChunksRemoval(chunkedMeta, nextWriteTimestamp(context));
+            }
+        }
+    }
+
+    public void removeChunkedValues(EntityOperations context) {
+        log.trace("Removing chunked values related to entity using PersistenceContext {}", context);
+        final long timestamp = nextWriteTimestamp(context);
+        for (PropertyMeta chunkedMeta : context.getEntityMeta().getAllChunkedMetas()) {
+            context.bindForChunksRemoval(chunkedMeta, timestamp);
+        }
+    }
+
+    private void writeChunks(EntityOperations context, PropertyMeta chunkedMeta, Object value) {
+        final ChunkProperties chunkProperties = chunkedMeta.getChunkProperties();
+        final int chunkSize = chunkProperties.getChunkSize();
+        final int concurrency = chunkProperties.getConcurrency();
+        Validator.validateFalse(context.isBatchMode(), "Cannot write @Chunked property '%s' of entity '%s' inside a Batch because chunks are not part of the batch",
+                chunkedMeta.getPropertyName(), chunkedMeta.getEntityClassName());
+        final InputStream input = toInputStream(value);
+        final long timestamp = nextWriteTimestamp(context);
+
+        log.debug("Writing chunks of {} bytes for property {} of entity {}", chunkSize, chunkedMeta.getPropertyName(),
+                chunkedMeta.getEntityClassName());
+
+        final Deque<ResultSetFuture> inFlight = new ArrayDeque<>(concurrency);
+        int chunkIndex = 0;
+        int length;
+        do {
+            final byte[] chunk = new byte[chunkSize];
+            length = readChunk(input, chunk, chunkedMeta, chunkIndex);
+            if (length == 0 && chunkIndex > 0) {
+                break;
+            }
+            if (inFlight.size() == concurrency) {
+                inFlight.poll().getUninterruptibly();
+            }
+            inFlight.add(context.insertChunk(chunkedMeta, chunkIndex++, ByteBuffer.wrap(chunk, 0, length), timestamp));
+        } while (length == chunkSize);
+
+        while (!inFlight.isEmpty()) {
+            inFlight.poll().getUninterruptibly();
+        }
+        log.trace("{} chunks written for property {}", chunkIndex, chunkedMeta.getPropertyName());
+
+        context.switchChunkSet(chunkedMeta, timestamp);
+        context.removeChunks(chunkedMeta, timestamp - 1);
+    }
+
+    private int readChunk(InputStream input, byte[] chunk, PropertyMeta chunkedMeta, int chunkIndex) {
+        int length = 0;
+        try {
+            while (length < chunk.length) {
+                final int read = input.read(chunk, length, chunk.length - length);
+                if (read < 0) {
+                    break;
+                }
+                length += read;
+            }
+        } catch (IOException e) {
+            throw new AchillesException(String.format("Error while reading chunk '%s' of property '%s' of entity '%s'",
+                    chunkIndex, chunkedMeta.getPropertyName(), chunkedMeta.getEntityClassName()), e);
+        }
+        return length;
+    }
+
+    private InputStream toInputStream(Object value) {
+        if (value instanceof ReadableByteChannel) {
+            return Channels.newInputStream((ReadableByteChannel) value);
+        }
+        return (InputStream) value;
+    }
+
+    /**
+     * Write timestamps in microseconds, strictly increasing so that the deletion of previous chunk sets
+     * (timestamp - 1) never shadows the chunk set being written
+     */
+    private long nextWriteTimestamp(EntityOperations context) {
+        if (context.getTimestamp().isPresent()) {
+            return context.getTimestamp().get();
+        }
+        return UUIDGen.increasingMicroTimestamp();
+    }
+}
@@ -30,6 +30,7 @@ public class EntityLoader {
 
     private EntityMapper mapper = new EntityMapper();
     private CounterLoader counterLoader = new CounterLoader();
+    private ChunkedValueLoader chunkedValueLoader = new ChunkedValueLoader();
 
     public <T> T load(EntityOperations context, Class<T> entityClass) {
         log.debug("Loading entity of class {} using PersistenceContext {}", entityClass, context);
@@ -76,6 +77,8 @@ public class EntityLoader {
         log.trace("Loading property {} into object {}", pm.getPropertyName(), realObject);
         if (pm.isCounter()) {
             counterLoader.loadCounter(context, realObject, pm);
+        } else if (pm.isChunked()) {
+            chunkedValueLoader.loadChunkedValue(context, realObject, pm);
         } else {
             Row row = context.loadProperty(pm);
             if (row == null && pm.isCollectionAndMap()) {
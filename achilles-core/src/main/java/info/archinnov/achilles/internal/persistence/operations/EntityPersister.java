@@ -25,6 +25,8 @@ public class EntityPersister {
 
     private CounterPersister counterPersister = new CounterPersister();
 
+    private ChunkedValuePersister chunkedValuePersister = new ChunkedValuePersister();
+
     public void persist(EntityOperations context) {
         EntityMeta entityMeta = context.getEntityMeta();
         Object entity = context.getEntity();
@@ -34,6 +36,7 @@ public class EntityPersister {
         if (entityMeta.isClusteredCounter()) {
             counterPersister.persistClusteredCounters(context);
         } else {
+            chunkedValuePersister.persistChunkedValues(context, entityMeta.getAllChunkedMetas());
             context.pushInsertStatement();
             counterPersister.persistCounters(context, entityMeta.getAllCounterMetas());
         }
@@ -47,6 +50,7 @@ public class EntityPersister {
         } else {
             context.bindForRemoval(entityMeta.getTableName());
             counterPersister.removeRelatedCounters(context);
+            chunkedValuePersister.removeChunkedValues(context);
         }
     }
 }
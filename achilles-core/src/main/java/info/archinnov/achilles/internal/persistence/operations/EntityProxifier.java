@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.facade.EntityOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -72,7 +73,8 @@ public class EntityProxifier {
 
         log.debug("Build Cglib proxy for entity {} ", entity);
 
-        Class<?> proxyClass = factory.createProxyClass(entity.getClass(), context.getConfigContext());
+        final ConfigurationContext configContext = context.getConfigContext();
+        Class<?> proxyClass = factory.createProxyClass(entity.getClass(), configContext);
 
         @SuppressWarnings("unchecked")
         T instance = (T) instantiator.instantiate(proxyClass);
@@ -88,6 +90,7 @@ public class EntityProxifier {
         }
 
         ((Factory) instance).setCallbacks(new Callback[] { buildInterceptor(context, entity, alreadyLoaded) });
+        configContext.getMetricsRegistry().recordProxyCreation();
         return instance;
     }
 
@@ -16,6 +16,7 @@
 package info.archinnov.achilles.internal.persistence.operations;
 
 import static com.google.common.collect.FluentIterable.from;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker.CHUNKED_FIELD;
 import static info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker.COLLECTION_AND_MAP_FIELD;
 import static info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker.EXTRACT_META;
 import static info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker.SIMPLE_FIELD;
@@ -33,6 +34,7 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker;
+import info.archinnov.achilles.internal.proxy.dirtycheck.EntitySnapshotDiffer;
 import info.archinnov.achilles.internal.validation.Validator;
 
 public class EntityUpdater {
@@ -42,8 +44,9 @@ public class EntityUpdater {
     private PropertyMetaComparator comparator = new PropertyMetaComparator();
 
     private CounterPersister counterPersister = new CounterPersister();
+    private ChunkedValuePersister chunkedValuePersister = new ChunkedValuePersister();
     private EntityProxifier proxifier = new EntityProxifier();
-
+    private EntitySnapshotDiffer snapshotDiffer = new EntitySnapshotDiffer();
 
     public void update(EntityOperations context, Object entity) {
         log.debug("Merging entity of class {} with primary key {}", context.getEntityClass().getCanonicalName(),
@@ -64,8 +67,12 @@ public class EntityUpdater {
         List<DirtyChecker> dirtyCheckers = new ArrayList<>(dirtyMap.values());
 
         if (dirtyCheckers.size() > 0) {
+            final List<PropertyMeta> chunkedMetas = writeDirtyChunkedFields(context, dirtyCheckers);
             pushDirtySimpleFields(context, dirtyCheckers);
             pushCollectionAndMapUpdates(context, dirtyCheckers);
+            for (PropertyMeta chunkedMeta : chunkedMetas) {
+                interceptor.getAlreadyLoaded().remove(chunkedMeta.getGetter());
+            }
             dirtyMap.clear();
         }
 
@@ -78,6 +85,39 @@ public class EntityUpdater {
         interceptor.setTarget(realObject);
     }
 
+    public void updateDetached(EntityOperations context, Object entity, Object snapshot) {
+        log.debug("Merging detached entity of class {} with primary key {}", context.getEntityClass().getCanonicalName(),
+                context.getPrimaryKey());
+
+        EntityMeta entityMeta = context.getEntityMeta();
+
+        Validator.validateNotNull(entity, "Detached entity should not be null for update");
+        Validator.validateNotNull(snapshot, "Snapshot entity should not be null for detached update");
+        Validator.validateNotNull(entityMeta, "entityMeta should not be null for update");
+
+        log.debug("Diffing detached entity against snapshot before merging");
+
+        context.setEntity(entity);
+        List<DirtyChecker> dirtyCheckers = snapshotDiffer.diff(entityMeta, entity, proxifier.getRealObject(snapshot));
+
+        if (dirtyCheckers.size() > 0) {
+            writeDirtyChunkedFields(context, dirtyCheckers);
+            pushDirtySimpleFields(context, dirtyCheckers);
+            pushCollectionAndMapUpdates(context, dirtyCheckers);
+        }
+    }
+
+    private List<PropertyMeta> writeDirtyChunkedFields(EntityOperations context, List<DirtyChecker> dirtyCheckers) {
+        final List<PropertyMeta> chunkedMetas = from(dirtyCheckers)
+                .filter(CHUNKED_FIELD)
+                .transform(EXTRACT_META)
+                .toList();
+        if (chunkedMetas.size() > 0) {
+            chunkedValuePersister.updateChunkedValues(context, chunkedMetas);
+        }
+        return chunkedMetas;
+    }
+
     private void pushCollectionAndMapUpdates(EntityOperations context, List<DirtyChecker> dirtyCheckers) {
         final List<DirtyChecker> collectionsAndMaps = from(dirtyCheckers)
                 .filter(COLLECTION_AND_MAP_FIELD)
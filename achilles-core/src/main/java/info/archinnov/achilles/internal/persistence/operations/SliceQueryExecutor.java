@@ -15,11 +15,16 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static info.archinnov.achilles.metrics.Operation.SLICE;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.google.common.base.Function;
 import com.google.common.collect.FluentIterable;
@@ -30,6 +35,7 @@ import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.iterator.SliceQueryIterator;
 import info.archinnov.achilles.query.slice.SliceQueryProperties;
@@ -45,6 +51,7 @@ public class SliceQueryExecutor {
     private DaoContext daoContext;
     private ConsistencyLevel defaultReadLevel;
     private ConsistencyLevel defaultWriteLevel;
+    private MetricsRegistry metricsRegistry;
 
     public SliceQueryExecutor(PersistenceContextFactory contextFactory, ConfigurationContext configContext,
             DaoContext daoContext) {
@@ -52,6 +59,7 @@ public class SliceQueryExecutor {
         this.daoContext = daoContext;
         this.defaultReadLevel = configContext.getDefaultReadConsistencyLevel();
         this.defaultWriteLevel = configContext.getDefaultWriteConsistencyLevel();
+        this.metricsRegistry = configContext.getMetricsRegistry();
     }
 
     public <T> List<T> get(SliceQueryProperties<T> sliceQueryProperties) {
@@ -61,18 +69,81 @@ public class SliceQueryExecutor {
         List<T> clusteredEntities = new ArrayList<>();
 
         final BoundStatementWrapper bsWrapper = daoContext.bindForSliceQuerySelect(sliceQueryProperties, defaultReadLevel);
-        List<Row> rows = daoContext.execute(bsWrapper).all();
+        final long startTime = metricsRegistry.startTimer();
+        final List<Row> rows;
+        try {
+            rows = daoContext.executeRead(meta, bsWrapper).all();
+            metricsRegistry.recordSuccess(sliceQueryProperties.getEntityClass(), SLICE, startTime);
+        } catch (RuntimeException e) {
+            metricsRegistry.recordFailure(sliceQueryProperties.getEntityClass(), SLICE, startTime);
+            throw e;
+        }
 
         for (Row row : rows) {
-            T clusteredEntity = meta.instanciate();
-            mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
-            meta.intercept(clusteredEntity, Event.POST_LOAD);
-            clusteredEntities.add(clusteredEntity);
+            clusteredEntities.add(this.<T>mapRow(meta, row));
         }
 
         return new ArrayList<>(FluentIterable.from(clusteredEntities).transform(this.<T>getProxyTransformer()).toList());
     }
 
+    public <T> List<T> getFromBuckets(Class<T> entityClass, Iterator<SliceQueryProperties<T>> bucketQueries, int limit, int bucketConcurrency) {
+        log.debug("Get slice query over buckets of entity {}", entityClass);
+        final long startTime = metricsRegistry.startTimer();
+        try {
+            final List<T> clusteredEntities = fetchFromBuckets(bucketQueries, limit, bucketConcurrency);
+            metricsRegistry.recordSuccess(entityClass, SLICE, startTime);
+            return clusteredEntities;
+        } catch (RuntimeException e) {
+            metricsRegistry.recordFailure(entityClass, SLICE, startTime);
+            throw e;
+        }
+    }
+
+    private <T> List<T> fetchFromBuckets(Iterator<SliceQueryProperties<T>> pendingQueries, int limit, int bucketConcurrency) {
+        final Deque<ResultSetFuture> inFlight = new ArrayDeque<>(bucketConcurrency);
+        final List<T> clusteredEntities = new ArrayList<>();
+        EntityMeta meta = null;
+
+        try {
+            while (pendingQueries.hasNext() && inFlight.size() < bucketConcurrency) {
+                meta = executeBucketQuery(pendingQueries.next(), inFlight);
+            }
+
+            while (!inFlight.isEmpty() && clusteredEntities.size() < limit) {
+                final ResultSet resultSet = inFlight.poll().getUninterruptibly();
+                if (pendingQueries.hasNext()) {
+                    executeBucketQuery(pendingQueries.next(), inFlight);
+                }
+                for (Row row : resultSet) {
+                    if (clusteredEntities.size() >= limit) {
+                        break;
+                    }
+                    clusteredEntities.add(this.<T>mapRow(meta, row));
+                }
+            }
+        } finally {
+            // Buckets past the limit, or still running when another bucket failed, are not needed anymore
+            for (ResultSetFuture remaining : inFlight) {
+                remaining.cancel(true);
+            }
+        }
+
+        return new ArrayList<>(FluentIterable.from(clusteredEntities).transform(this.<T>getProxyTransformer()).toList());
+    }
+
+    private <T> EntityMeta executeBucketQuery(SliceQueryProperties<T> bucketQuery, Deque<ResultSetFuture> inFlight) {
+        final BoundStatementWrapper bsWrapper = daoContext.bindForSliceQuerySelect(bucketQuery, defaultReadLevel);
+        inFlight.add(daoContext.executeAsync(bsWrapper));
+        return bucketQuery.getEntityMeta();
+    }
+
+    private <T> T mapRow(EntityMeta meta, Row row) {
+        T clusteredEntity = meta.instanciate();
+        mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
+        meta.intercept(clusteredEntity, Event.POST_LOAD);
+        return clusteredEntity;
+    }
+
     public <T> Iterator<T> iterator(SliceQueryProperties<T> sliceQueryProperties) {
         log.debug("Get iterator for slice query");
         final BoundStatementWrapper bsWrapper = daoContext.bindForSliceQuerySelect(sliceQueryProperties, defaultReadLevel);
@@ -84,7 +155,14 @@ public class SliceQueryExecutor {
     public <T> void delete(SliceQueryProperties<T> sliceQueryProperties) {
         log.debug("Slice delete");
         final BoundStatementWrapper bsWrapper = daoContext.bindForSliceQueryDelete(sliceQueryProperties, defaultWriteLevel);
-        daoContext.execute(bsWrapper);
+        final long startTime = metricsRegistry.startTimer();
+        try {
+            daoContext.execute(bsWrapper);
+            metricsRegistry.recordSuccess(sliceQueryProperties.getEntityClass(), SLICE, startTime);
+        } catch (RuntimeException e) {
+            metricsRegistry.recordFailure(sliceQueryProperties.getEntityClass(), SLICE, startTime);
+            throw e;
+        }
     }
 
     protected <T> PersistenceContext buildContextForQuery(SliceQueryProperties<T> sliceQueryProperties) {
@@ -198,6 +198,11 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
         }
         propertyMeta.setValueToField(obj, value);
         propertyMeta.setValueToField(target, value);
+
+        // A chunked stream must not be reloaded from the chunk table before it is written
+        if (propertyMeta.isChunked()) {
+            alreadyLoaded.add(propertyMeta.getGetter());
+        }
     }
 
     @Override
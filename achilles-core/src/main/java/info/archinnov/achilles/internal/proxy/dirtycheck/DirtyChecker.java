@@ -48,7 +48,14 @@ public class DirtyChecker {
     public static final Predicate<DirtyChecker> SIMPLE_FIELD = new Predicate<DirtyChecker>() {
         @Override
         public boolean apply(DirtyChecker dirtyChecker) {
-            return dirtyChecker.isSimpleField();
+            return dirtyChecker.isSimpleField() && !dirtyChecker.propertyMeta.isChunked();
+        }
+    };
+
+    public static final Predicate<DirtyChecker> CHUNKED_FIELD = new Predicate<DirtyChecker>() {
+        @Override
+        public boolean apply(DirtyChecker dirtyChecker) {
+            return dirtyChecker.propertyMeta.isChunked();
         }
     };
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+import static org.apache.commons.collections.CollectionUtils.isEmpty;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.collections.MapUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.Objects;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+/**
+ * Compute the dirty checkers of a detached entity by comparing
+ * each non id/non counter property with the one of a previously captured snapshot.
+ *
+ * Collections and maps are diffed so that only deltas (add/remove/append) are
+ * emitted whenever possible, falling back to a full assignment otherwise.
+ *
+ * Chunked streams are never loaded into the snapshot, so they are written whenever
+ * the detached entity holds a stream other than the snapshot one.
+ */
+public class EntitySnapshotDiffer {
+
+    private static final Logger log = LoggerFactory.getLogger(EntitySnapshotDiffer.class);
+
+    @SuppressWarnings("unchecked")
+    public List<DirtyChecker> diff(EntityMeta entityMeta, Object entity, Object snapshot) {
+        log.trace("Diffing entity {} against snapshot {}", entity, snapshot);
+
+        List<DirtyChecker> dirtyCheckers = new ArrayList<>();
+        for (PropertyMeta pm : entityMeta.getAllMetasExceptIdAndCounters()) {
+            final Object currentValue = pm.getValueFromField(entity);
+            final Object snapshotValue = pm.getValueFromField(snapshot);
+            if (Objects.equal(currentValue, snapshotValue)) {
+                continue;
+            }
+            DirtyChecker dirtyChecker;
+            switch (pm.type()) {
+                case LIST:
+                    dirtyChecker = diffList(pm, (List<Object>) currentValue, (List<Object>) snapshotValue);
+                    break;
+                case SET:
+                    dirtyChecker = diffSet(pm, (Set<Object>) currentValue, (Set<Object>) snapshotValue);
+                    break;
+                case MAP:
+                    dirtyChecker = diffMap(pm, (Map<Object, Object>) currentValue, (Map<Object, Object>) snapshotValue);
+                    break;
+                default:
+                    dirtyChecker = new SimpleDirtyChecker(pm);
+                    break;
+            }
+            if (dirtyChecker.isSimpleField() || !dirtyChecker.getChangeSets().isEmpty()) {
+                dirtyCheckers.add(dirtyChecker);
+            }
+        }
+        for (PropertyMeta pm : entityMeta.getAllChunkedMetas()) {
+            final Object currentValue = pm.getValueFromField(entity);
+            if (currentValue != null && currentValue != pm.getValueFromField(snapshot)) {
+                dirtyCheckers.add(new SimpleDirtyChecker(pm));
+            }
+        }
+        return dirtyCheckers;
+    }
+
+    private DirtyChecker diffList(PropertyMeta pm, List<Object> current, List<Object> snapshot) {
+        DirtyChecker dirtyChecker = new DirtyChecker(pm);
+        if (isEmpty(current)) {
+            if (!isEmpty(snapshot)) {
+                dirtyChecker.removeAllElements();
+            }
+        } else if (isEmpty(snapshot)) {
+            dirtyChecker.assignValue(new ArrayList<>(current));
+        } else if (current.size() > snapshot.size() && current.subList(0, snapshot.size()).equals(snapshot)) {
+            dirtyChecker.appendListElements(new ArrayList<>(current.subList(snapshot.size(), current.size())));
+        } else if (!current.equals(snapshot)) {
+            dirtyChecker.assignValue(new ArrayList<>(current));
+        }
+        return dirtyChecker;
+    }
+
+    private DirtyChecker diffSet(PropertyMeta pm, Set<Object> current, Set<Object> snapshot) {
+        DirtyChecker dirtyChecker = new DirtyChecker(pm);
+        if (isEmpty(current)) {
+            if (!isEmpty(snapshot)) {
+                dirtyChecker.removeAllElements();
+            }
+        } else if (isEmpty(snapshot)) {
+            dirtyChecker.addElements(new HashSet<>(current));
+        } else {
+            Set<Object> added = new HashSet<>(current);
+            added.removeAll(snapshot);
+            Set<Object> removed = new HashSet<>(snapshot);
+            removed.removeAll(current);
+            if (!removed.isEmpty()) {
+                dirtyChecker.removeElements(removed);
+            }
+            if (!added.isEmpty()) {
+                dirtyChecker.addElements(added);
+            }
+        }
+        return dirtyChecker;
+    }
+
+    private DirtyChecker diffMap(PropertyMeta pm, Map<Object, Object> current, Map<Object, Object> snapshot) {
+        DirtyChecker dirtyChecker = new DirtyChecker(pm);
+        if (MapUtils.isEmpty(current)) {
+            if (MapUtils.isNotEmpty(snapshot)) {
+                dirtyChecker.removeAllElements();
+            }
+        } else if (MapUtils.isEmpty(snapshot)) {
+            dirtyChecker.addElements(new HashMap<>(current));
+        } else {
+            Map<Object, Object> addedOrChanged = new HashMap<>();
+            for (Map.Entry<Object, Object> entry : current.entrySet()) {
+                final Object key = entry.getKey();
+                if (!snapshot.containsKey(key) || !Objects.equal(entry.getValue(), snapshot.get(key))) {
+                    addedOrChanged.put(key, entry.getValue());
+                }
+            }
+            for (Object key : snapshot.keySet()) {
+                if (!current.containsKey(key)) {
+                    dirtyChecker.removeMapEntry(key);
+                }
+            }
+            if (!addedOrChanged.isEmpty()) {
+                dirtyChecker.addElements(addedOrChanged);
+            }
+        }
+        return dirtyChecker;
+    }
+}
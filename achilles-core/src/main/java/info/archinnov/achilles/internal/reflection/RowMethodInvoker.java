@@ -53,7 +53,7 @@ public class RowMethodInvoker {
                     break;
                 case ID:
                 case SIMPLE:
-                    value = invokeOnRowForProperty(row, pm, propertyName, pm.getValueClass());
+                    value = invokeOnRowForProperty(row, pm, propertyName);
                     break;
                 default:
                     break;
@@ -103,10 +103,10 @@ public class RowMethodInvoker {
         }
     }
 
-    private Object invokeOnRowForProperty(Row row, PropertyMeta pm, String propertyName, Class<?> valueClass) {
+    private Object invokeOnRowForProperty(Row row, PropertyMeta pm, String propertyName) {
         log.trace("Extract property {} from CQL row for entity class {}", propertyName, pm.getEntityClassName());
         try {
-            Object rawValue = getRowMethod(valueClass).invoke(row, propertyName);
+            Object rawValue = pm.getRowGetter().invoke(row, propertyName);
             return pm.decode(rawValue);
         } catch (Exception e) {
             throw new AchillesException("Cannot retrieve property '" + propertyName + "' for entity class '"
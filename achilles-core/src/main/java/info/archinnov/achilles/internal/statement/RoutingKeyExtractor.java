@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package info.archinnov.achilles.internal.statement;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.DataType;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import info.archinnov.achilles.internal.cql.TypeMapper;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+/**
+ * Compute the routing key of a parameterized CQL statement from the partition
+ * components of an entity, so that token-aware load balancing can pick a replica
+ * as coordinator.
+ *
+ * A partition component is resolved either from an equality restriction
+ * <em>column = ?</em> in the WHERE clause or from the column list of an <em>INSERT INTO table(...) VALUES(...)</em>.
+ * String literals and quoted identifiers are blanked out before parsing, so a '?' inside them is never
+ * counted as a bind marker.
+ * <br/>
+ * Whenever the parse is ambiguous (several WHERE clauses, a partition component restricted twice, comments,
+ * unbalanced quotes) or one of the partition components cannot be resolved to a bound value
+ * (IN clause, token() function, inlined literal ...), no routing key is returned.
+ * <br/>
+ * Each bound value is serialized with the CQL type of its partition component. A bound value of another
+ * Java type returns no routing key rather than a key for the wrong token.
+ * <br/>
+ * The column patterns are compiled once per entity meta and the resolved bind marker indexes are cached
+ * per entity meta and query string in a bounded cache, so only the bound values are serialized on the hot path.
+ */
+public class RoutingKeyExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingKeyExtractor.class);
+
+    private static final Pattern TABLE_NAME_PATTERN = Pattern.compile(
+            "\\b(?:FROM|INTO|UPDATE)\\s+(?:\"?\\w+\"?\\.)?\"?(\\w+)\"?", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern INSERT_PATTERN = Pattern.compile(
+            "^\\s*INSERT\\s+INTO\\s+[^\\s(]+\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WHERE_PATTERN = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern EQUAL_TO_BIND_MARKER_PATTERN = Pattern.compile("\\s*=\\s*\\?");
+
+    private static final Pattern COMMENT_PATTERN = Pattern.compile("--|//|/\\*|\\$\\$");
+
+    private static final String BIND_MARKER = "?";
+
+    static final int QUERY_CACHE_SIZE = 1000;
+
+    private final LoadingCache<EntityMeta, PartitionColumns> partitionColumnsByMeta = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<EntityMeta, PartitionColumns>() {
+                @Override
+                public PartitionColumns load(EntityMeta meta) {
+                    return new PartitionColumns(meta.getIdMeta());
+                }
+            });
+
+    private final Cache<QueryKey, Optional<List<Integer>>> bindMarkerIndexesByQuery = CacheBuilder.newBuilder()
+            .maximumSize(QUERY_CACHE_SIZE).build();
+
+    private final Cache<String, Optional<String>> tableNameByQuery = CacheBuilder.newBuilder()
+            .maximumSize(QUERY_CACHE_SIZE).build();
+
+    public Optional<String> extractTableName(String queryString) {
+        Optional<String> tableName = tableNameByQuery.getIfPresent(queryString);
+        if (tableName == null) {
+            tableName = parseTableName(queryString);
+            tableNameByQuery.put(queryString, tableName);
+        }
+        return tableName;
+    }
+
+    public Optional<ByteBuffer[]> extractRoutingKey(EntityMeta meta, String queryString, Object[] boundValues) {
+        log.trace("Extract routing key for query {} and entity meta {}", queryString, meta);
+        if (boundValues == null || boundValues.length == 0) {
+            return Optional.absent();
+        }
+        final PartitionColumns partitionColumns = partitionColumnsByMeta.getUnchecked(meta);
+        final QueryKey queryKey = new QueryKey(meta, queryString);
+        Optional<List<Integer>> bindMarkerIndexes = bindMarkerIndexesByQuery.getIfPresent(queryKey);
+        if (bindMarkerIndexes == null) {
+            bindMarkerIndexes = Optional.fromNullable(parseBindMarkerIndexes(partitionColumns, queryString));
+            bindMarkerIndexesByQuery.put(queryKey, bindMarkerIndexes);
+        }
+        if (!bindMarkerIndexes.isPresent()) {
+            return Optional.absent();
+        }
+
+        final List<Integer> valueIndexes = bindMarkerIndexes.get();
+        final ByteBuffer[] routingKey = new ByteBuffer[valueIndexes.size()];
+        for (int i = 0; i < routingKey.length; i++) {
+            final int index = valueIndexes.get(i);
+            if (index >= boundValues.length || boundValues[index] == null) {
+                return Optional.absent();
+            }
+            final Object boundValue = boundValues[index];
+            final DataType dataType = partitionColumns.dataTypes.get(i);
+            if (!dataType.asJavaClass().isInstance(boundValue)) {
+                log.trace("Bound value {} does not match type {} of partition component {}, skip routing", boundValue,
+                        dataType, partitionColumns.names.get(i));
+                return Optional.absent();
+            }
+            routingKey[i] = dataType.serialize(boundValue);
+        }
+        return Optional.of(routingKey);
+    }
+
+    private Optional<String> parseTableName(String queryString) {
+        final Matcher matcher = TABLE_NAME_PATTERN.matcher(queryString);
+        if (matcher.find()) {
+            return Optional.of(matcher.group(1).toLowerCase());
+        }
+        return Optional.absent();
+    }
+
+    private List<Integer> parseBindMarkerIndexes(PartitionColumns partitionColumns, String queryString) {
+        final String maskedQuery = maskQuoted(queryString);
+        if (maskedQuery == null || COMMENT_PATTERN.matcher(maskedQuery).find()) {
+            log.trace("Query {} cannot be parsed unambiguously for routing", queryString);
+            return null;
+        }
+        final Matcher insertMatcher = INSERT_PATTERN.matcher(maskedQuery);
+        return insertMatcher.find()
+                ? indexesFromInsert(partitionColumns.names, insertMatcher.group(1), insertMatcher.group(2))
+                : indexesFromWhereClause(partitionColumns.patterns, maskedQuery);
+    }
+
+    private List<Integer> indexesFromWhereClause(List<Pattern> partitionColumnPatterns, String maskedQuery) {
+        final Matcher whereMatcher = WHERE_PATTERN.matcher(maskedQuery);
+        if (!whereMatcher.find()) {
+            return null;
+        }
+        final int whereEnd = whereMatcher.end();
+        if (whereMatcher.find()) {
+            return null;
+        }
+        final List<Integer> indexes = new ArrayList<>();
+        for (Pattern pattern : partitionColumnPatterns) {
+            final Matcher matcher = pattern.matcher(maskedQuery);
+            if (!matcher.find(whereEnd)) {
+                return null;
+            }
+            final int restrictionStart = matcher.start();
+            final boolean equalToBindMarker = EQUAL_TO_BIND_MARKER_PATTERN.matcher(maskedQuery)
+                    .region(matcher.end(), maskedQuery.length()).lookingAt();
+            if (!equalToBindMarker || matcher.find()) {
+                return null;
+            }
+            indexes.add(countBindMarkers(maskedQuery.substring(0, restrictionStart)));
+        }
+        return indexes;
+    }
+
+    private List<Integer> indexesFromInsert(List<String> partitionColumns, String columnList, String valueList) {
+        final List<String> columns = splitAndTrim(columnList);
+        final List<String> values = splitAndTrim(valueList);
+        if (columns.size() != values.size()) {
+            return null;
+        }
+        final List<Integer> indexes = new ArrayList<>();
+        for (String partitionColumn : partitionColumns) {
+            final int position = columns.indexOf(partitionColumn);
+            if (position < 0 || !BIND_MARKER.equals(values.get(position))) {
+                return null;
+            }
+            indexes.add(countBindMarkers(values.subList(0, position).toString()));
+        }
+        return indexes;
+    }
+
+    private List<String> splitAndTrim(String list) {
+        final List<String> tokens = new ArrayList<>();
+        for (String token : list.split(",")) {
+            tokens.add(token.trim().replace("\"", "").toLowerCase());
+        }
+        return tokens;
+    }
+
+    /**
+     * Blank out string literals and the '?' of quoted identifiers, keeping positions unchanged.
+     *
+     * @return masked query or null when a quote is not closed
+     */
+    private String maskQuoted(String queryString) {
+        final StringBuilder masked = new StringBuilder(queryString.length());
+        char quote = 0;
+        for (int i = 0; i < queryString.length(); i++) {
+            final char c = queryString.charAt(i);
+            if (quote == 0) {
+                if (c == '\'' || c == '"') {
+                    quote = c;
+                }
+                masked.append(c);
+            } else if (c == quote) {
+                if (i + 1 < queryString.length() && queryString.charAt(i + 1) == quote) {
+                    // Doubled quote, escaped inside the literal or identifier
+                    masked.append(quote == '"' ? "\"\"" : "  ");
+                    i++;
+                } else {
+                    quote = 0;
+                    masked.append(c);
+                }
+            } else if (quote == '"' && c != '?') {
+                masked.append(c);
+            } else {
+                masked.append(' ');
+            }
+        }
+        return quote == 0 ? masked.toString() : null;
+    }
+
+    private int countBindMarkers(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static class PartitionColumns {
+        private final List<String> names = new ArrayList<>();
+        private final List<Pattern> patterns = new ArrayList<>();
+        private final List<DataType> dataTypes = new ArrayList<>();
+
+        private PartitionColumns(PropertyMeta idMeta) {
+            if (idMeta.isEmbeddedId()) {
+                for (String componentName : idMeta.getPartitionComponentNames()) {
+                    names.add(componentName.toLowerCase());
+                }
+            } else {
+                names.add(idMeta.getCQL3PropertyName().toLowerCase());
+            }
+            for (String name : names) {
+                patterns.add(Pattern.compile("(?<![\\w\"])\"?" + Pattern.quote(name) + "\"?(?![\\w\"])",
+                        Pattern.CASE_INSENSITIVE));
+            }
+            for (Class<?> partitionClass : idMeta.getPartitionComponentClasses()) {
+                dataTypes.add(TypeMapper.toCQLDataType(partitionClass));
+            }
+        }
+    }
+
+    private static class QueryKey {
+        private final EntityMeta meta;
+        private final String queryString;
+
+        private QueryKey(EntityMeta meta, String queryString) {
+            this.meta = meta;
+            this.queryString = queryString;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final QueryKey that = (QueryKey) o;
+            return meta == that.meta && queryString.equals(that.queryString);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(meta), queryString);
+        }
+    }
+}
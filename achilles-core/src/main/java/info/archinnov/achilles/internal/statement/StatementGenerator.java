@@ -16,6 +16,7 @@
 package info.archinnov.achilles.internal.statement;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.timestamp;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.ttl;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.update;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.Update;
 import com.datastax.driver.core.querybuilder.Update.Assignments;
 import com.google.common.base.Optional;
@@ -83,6 +85,49 @@ public class StatementGenerator {
         return Pair.create(whereClauseAndBoundValues.left, boundValues);
     }
 
+    public Pair<Insert, Object[]> generateInsert(PersistentStateHolder context, List<PropertyMeta> pms) {
+        log.trace("Generate non prepared insert for properties {}", pms);
+
+        final Object entity = context.getEntity();
+        final EntityMeta meta = context.getEntityMeta();
+        final PropertyMeta idMeta = meta.getIdMeta();
+        final Insert insert = insertInto(meta.getTableName());
+        if (context.getOptions().isIfNotExists()) {
+            insert.ifNotExists();
+        }
+
+        List<Object> boundValues = new ArrayList<>();
+        final Object primaryKey = idMeta.getPrimaryKey(entity);
+        if (idMeta.isEmbeddedId()) {
+            final List<String> componentNames = idMeta.getComponentNames();
+            final List<Object> encodedComponents = idMeta.encodeToComponents(primaryKey, false);
+            for (int i = 0; i < encodedComponents.size(); i++) {
+                insert.value(componentNames.get(i), encodedComponents.get(i));
+                boundValues.add(encodedComponents.get(i));
+            }
+        } else {
+            final Object id = idMeta.encode(primaryKey);
+            insert.value(idMeta.getPropertyName(), id);
+            boundValues.add(id);
+        }
+
+        for (PropertyMeta pm : pms) {
+            final Object value = pm.getAndEncodeValueForCassandra(entity);
+            insert.value(pm.getPropertyName(), value);
+            boundValues.add(value);
+        }
+
+        final Integer ttl = context.getTtl().or(0);
+        final Insert.Options insertOptions = insert.using(ttl(ttl));
+        boundValues.add(ttl);
+        final Optional<Long> timestampO = context.getTimestamp();
+        if (timestampO.isPresent()) {
+            insertOptions.and(timestamp(timestampO.get()));
+            boundValues.add(timestampO.get());
+        }
+        return Pair.create(insert, boundValues.toArray());
+    }
+
     private List<Object> addAndEncodeCasConditions(EntityMeta entityMeta, List<CASCondition> CASConditions, Update.Conditions conditions) {
         List<Object> casEncodedValues = new ArrayList<>();
         for (CASCondition CASCondition : CASConditions) {
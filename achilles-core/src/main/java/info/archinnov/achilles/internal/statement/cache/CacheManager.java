@@ -141,6 +141,16 @@ public class CacheManager {
         return ps;
     }
 
+    public PreparedStatement getCacheForSliceShape(Session session, SliceShapeCache sliceShapeCache,
+            SliceQueryProperties sliceQueryProperties, int shapeId) {
+        PreparedStatement ps = sliceShapeCache.get(shapeId);
+        if (ps == null) {
+            log.debug("Prepare slice query statement for shape {} of entity {}", shapeId, sliceQueryProperties.getEntityClass());
+            ps = sliceShapeCache.putIfAbsent(shapeId, generator.prepareSelectSliceQuery(session, sliceQueryProperties));
+        }
+        return ps;
+    }
+
     public PreparedStatement getCacheForSliceDelete(Session session, Cache<StatementCacheKey,PreparedStatement> dynamicPSCache,
             SliceQueryProperties sliceQueryProperties) {
         StatementCacheKey cacheKey = new StatementCacheKey(CacheType.SLICE_QUERY_DELETE, sliceQueryProperties);
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.statement.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.collect.ImmutableSet;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.type.InsertShapeStatistics;
+
+/**
+ * Track, for one entity using the {@code InsertStrategy.ADAPTIVE} strategy, how often
+ * each insert shape (the set of not null inserted columns) is seen.
+ *
+ * Only the <em>maxHotShapes</em> most frequent shapes are flagged as hot and deserve a prepared statement.
+ * A rare shape replaces the coldest hot shape as soon as it becomes more frequent. Frequencies are halved
+ * periodically so that shapes which are no longer used eventually lose their hot status.
+ */
+public class InsertShapeTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(InsertShapeTracker.class);
+
+    static final int TRACKED_SHAPES_PER_HOT_SHAPE = 16;
+    static final int AGING_PERIOD_PER_TRACKED_SHAPE = 64;
+
+    private final int maxHotShapes;
+    private final int maxTrackedShapes;
+    private final long agingPeriod;
+
+    private final ConcurrentMap<Set<String>, AtomicLong> frequencies = new ConcurrentHashMap<>();
+    private volatile Set<Set<String>> hotShapes = ImmutableSet.of();
+    private volatile long admissionThreshold = 0;
+
+    private final AtomicLong recordCount = new AtomicLong(0);
+    private final AtomicLong hotShapeHits = new AtomicLong(0);
+    private final AtomicLong rareShapeHits = new AtomicLong(0);
+    private final AtomicLong promotions = new AtomicLong(0);
+
+    public InsertShapeTracker(int maxHotShapes) {
+        Validator.validateTrue(maxHotShapes > 0, "The max number of hot insert shapes '%s' should be strictly positive", maxHotShapes);
+        this.maxHotShapes = maxHotShapes;
+        this.maxTrackedShapes = maxHotShapes * TRACKED_SHAPES_PER_HOT_SHAPE;
+        this.agingPeriod = (long) maxTrackedShapes * AGING_PERIOD_PER_TRACKED_SHAPE;
+    }
+
+    public boolean record(List<PropertyMeta> pms) {
+        Set<String> shape = new HashSet<>();
+        for (PropertyMeta pm : pms) {
+            shape.add(pm.getPropertyName());
+        }
+        return record(shape);
+    }
+
+    /**
+     * Record an insert with the given shape
+     *
+     * @param shape names of the inserted columns, excluding primary key
+     * @return true if the shape is hot and should use a prepared statement
+     */
+    public boolean record(Set<String> shape) {
+        final long frequency = incrementFrequency(shape);
+        if (recordCount.incrementAndGet() % agingPeriod == 0) {
+            age();
+        }
+
+        boolean hot = hotShapes.contains(shape) || (frequency > admissionThreshold && promote(shape, frequency));
+        if (hot) {
+            hotShapeHits.incrementAndGet();
+        } else {
+            rareShapeHits.incrementAndGet();
+        }
+        return hot;
+    }
+
+    public InsertShapeStatistics getStatistics() {
+        Map<Set<String>, Long> hotShapeFrequencies = new HashMap<>();
+        for (Set<String> hotShape : hotShapes) {
+            hotShapeFrequencies.put(hotShape, frequencyOf(hotShape));
+        }
+        return new InsertShapeStatistics(hotShapeHits.get(), rareShapeHits.get(), promotions.get(),
+                frequencies.size(), hotShapeFrequencies);
+    }
+
+    private long incrementFrequency(Set<String> shape) {
+        AtomicLong frequency = frequencies.get(shape);
+        if (frequency == null) {
+            if (frequencies.size() >= maxTrackedShapes) {
+                return 0;
+            }
+            final AtomicLong newFrequency = new AtomicLong(0);
+            frequency = frequencies.putIfAbsent(ImmutableSet.copyOf(shape), newFrequency);
+            if (frequency == null) {
+                frequency = newFrequency;
+            }
+        }
+        return frequency.incrementAndGet();
+    }
+
+    private synchronized boolean promote(Set<String> shape, long frequency) {
+        if (hotShapes.contains(shape)) {
+            return true;
+        }
+
+        Set<Set<String>> newHotShapes = new HashSet<>(hotShapes);
+        if (newHotShapes.size() >= maxHotShapes) {
+            Set<String> coldest = findColdest(newHotShapes);
+            if (frequencyOf(coldest) >= frequency) {
+                admissionThreshold = frequencyOf(coldest);
+                return false;
+            }
+            log.debug("Insert shape {} replaces shape {} as hot shape", shape, coldest);
+            newHotShapes.remove(coldest);
+        }
+        newHotShapes.add(ImmutableSet.copyOf(shape));
+        promotions.incrementAndGet();
+        hotShapes = ImmutableSet.copyOf(newHotShapes);
+        admissionThreshold = newHotShapes.size() >= maxHotShapes ? frequencyOf(findColdest(newHotShapes)) : 0;
+        return true;
+    }
+
+    private synchronized void age() {
+        log.trace("Aging insert shape frequencies");
+        final Iterator<Map.Entry<Set<String>, AtomicLong>> iterator = frequencies.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Set<String>, AtomicLong> entry = iterator.next();
+            final long halved = entry.getValue().get() / 2;
+            entry.getValue().set(halved);
+            if (halved == 0 && !hotShapes.contains(entry.getKey())) {
+                iterator.remove();
+            }
+        }
+        admissionThreshold = admissionThreshold / 2;
+    }
+
+    private Set<String> findColdest(Set<Set<String>> shapes) {
+        Set<String> coldest = null;
+        long minFrequency = Long.MAX_VALUE;
+        for (Set<String> shape : shapes) {
+            final long frequency = frequencyOf(shape);
+            if (frequency < minFrequency) {
+                minFrequency = frequency;
+                coldest = shape;
+            }
+        }
+        return coldest;
+    }
+
+    private long frequencyOf(Set<String> shape) {
+        final AtomicLong frequency = frequencies.get(shape);
+        return frequency == null ? 0 : frequency.get();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.statement.cache;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import com.datastax.driver.core.PreparedStatement;
+import info.archinnov.achilles.query.slice.SliceQueryProperties;
+
+/**
+ * Prepared SELECT statements of the generated slice DSL of one clustered entity, indexed by statement shape.
+ *
+ * The number of shapes is bounded by the number of clustering components, see
+ * {@link SliceQueryProperties#getStatementShapeId()}, so a plain array replaces the hashed lookup of the LRU cache
+ */
+public class SliceShapeCache {
+
+    private final AtomicReferenceArray<PreparedStatement> statements;
+
+    public SliceShapeCache(int clusteringKeysSize) {
+        this.statements = new AtomicReferenceArray<>(SliceQueryProperties.statementShapeCount(clusteringKeysSize));
+    }
+
+    public PreparedStatement get(int shapeId) {
+        return statements.get(shapeId);
+    }
+
+    /**
+     * @return the statement already cached for this shape, if any, or the given statement
+     */
+    public PreparedStatement putIfAbsent(int shapeId, PreparedStatement ps) {
+        if (statements.compareAndSet(shapeId, null, ps)) {
+            return ps;
+        }
+        return statements.get(shapeId);
+    }
+
+    public int size() {
+        return statements.length();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package info.archinnov.achilles.internal.statement.hedging;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+
+/**
+ * Execute an idempotent read with hedging: if the first attempt has not answered after the delay given by the
+ * {@link HedgedReadTracker}, the same statement is sent again and the first successful answer wins.
+ * The losing attempt is cancelled. The second attempt is routed by the load balancing policy of the cluster,
+ * which normally picks another coordinator from its query plan.
+ * <br/>
+ * Only the latency of the first attempt is fed back to the tracker, and only when this attempt answers the read.
+ * A read won by the hedged attempt records nothing, so the delay is never derived from latencies that hedging
+ * itself has shortened.
+ */
+public class HedgedReadExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgedReadExecutor.class);
+
+    public ResultSet execute(Session session, AbstractStatementWrapper statementWrapper, HedgedReadTracker tracker) {
+        tracker.recordRead();
+        final long start = System.nanoTime();
+        final ResultSetFuture firstAttempt = statementWrapper.executeAsync(session);
+
+        ResultSet resultSet;
+        try {
+            resultSet = firstAttempt.getUninterruptibly(tracker.getDelayMicros(), MICROSECONDS);
+            tracker.recordLatency((System.nanoTime() - start) / 1000);
+        } catch (TimeoutException e) {
+            log.debug("Read not answered after {} micros, sending hedged attempt", tracker.getDelayMicros());
+            tracker.recordHedgeSent();
+            final ResultSetFuture secondAttempt = statementWrapper.executeAsync(session);
+            final ResultSetFuture winner = firstSuccessful(firstAttempt, secondAttempt);
+            if (winner == secondAttempt) {
+                tracker.recordHedgeWon();
+                firstAttempt.cancel(true);
+                resultSet = winner.getUninterruptibly();
+            } else {
+                secondAttempt.cancel(true);
+                resultSet = winner.getUninterruptibly();
+                tracker.recordLatency((System.nanoTime() - start) / 1000);
+            }
+        }
+        return resultSet;
+    }
+
+    /**
+     * Wait for the first attempt which succeeds, or for the last one to fail if all of them fail
+     */
+    private ResultSetFuture firstSuccessful(final ResultSetFuture... attempts) {
+        final SettableFuture<ResultSetFuture> winner = SettableFuture.create();
+        final AtomicInteger failures = new AtomicInteger(0);
+        for (final ResultSetFuture attempt : attempts) {
+            attempt.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    if (succeeded(attempt) || failures.incrementAndGet() == attempts.length) {
+                        winner.set(attempt);
+                    }
+                }
+            }, MoreExecutors.sameThreadExecutor());
+        }
+        try {
+            return Uninterruptibles.getUninterruptibly(winner);
+        } catch (ExecutionException e) {
+            // Never happens, the winner future is only completed with set()
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private boolean succeeded(ResultSetFuture attempt) {
+        try {
+            Uninterruptibles.getUninterruptibly(attempt);
+            return true;
+        } catch (ExecutionException | CancellationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package info.archinnov.achilles.internal.statement.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.type.HedgedReadStatistics;
+
+/**
+ * Track, for one entity with hedged reads, the latencies of its recent reads and derive the hedging delay.
+ *
+ * The last <em>SAMPLE_SIZE</em> latencies are kept in a fixed ring buffer. Once <em>MIN_SAMPLES</em> latencies
+ * are recorded, the delay is refreshed every <em>REFRESH_PERIOD</em> reads to the configured percentile of the buffer,
+ * never going below the configured min delay.
+ */
+public class HedgedReadTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgedReadTracker.class);
+
+    static final int SAMPLE_SIZE = 1024;
+    static final int MIN_SAMPLES = 100;
+    static final int REFRESH_PERIOD = 64;
+
+    private final double percentile;
+    private final long minDelayMicros;
+
+    private final long[] latencies = new long[SAMPLE_SIZE];
+    private long recordCount = 0;
+    private volatile long delayMicros;
+
+    private final AtomicLong reads = new AtomicLong(0);
+    private final AtomicLong hedgesSent = new AtomicLong(0);
+    private final AtomicLong hedgesWon = new AtomicLong(0);
+
+    public HedgedReadTracker(double percentile, long minDelayMillis) {
+        Validator.validateTrue(percentile > 0 && percentile < 100, "The hedged reads percentile '%s' should be between 0 and 100 exclusive", percentile);
+        this.percentile = percentile;
+        this.minDelayMicros = TimeUnit.MILLISECONDS.toMicros(minDelayMillis);
+        this.delayMicros = minDelayMicros;
+    }
+
+    public long getDelayMicros() {
+        return delayMicros;
+    }
+
+    public void recordLatency(long latencyMicros) {
+        long[] snapshot = null;
+        synchronized (latencies) {
+            latencies[(int) (recordCount % SAMPLE_SIZE)] = latencyMicros;
+            recordCount++;
+            if (recordCount >= MIN_SAMPLES && recordCount % REFRESH_PERIOD == 0) {
+                snapshot = Arrays.copyOf(latencies, (int) Math.min(recordCount, SAMPLE_SIZE));
+            }
+        }
+        if (snapshot != null) {
+            Arrays.sort(snapshot);
+            final int index = (int) Math.ceil(percentile / 100 * snapshot.length) - 1;
+            delayMicros = Math.max(minDelayMicros, snapshot[Math.max(index, 0)]);
+            log.trace("Hedging delay refreshed to {} micros", delayMicros);
+        }
+    }
+
+    public void recordRead() {
+        reads.incrementAndGet();
+    }
+
+    public void recordHedgeSent() {
+        hedgesSent.incrementAndGet();
+    }
+
+    public void recordHedgeWon() {
+        hedgesWon.incrementAndGet();
+    }
+
+    public HedgedReadStatistics getStatistics() {
+        return new HedgedReadStatistics(reads.get(), hedgesSent.get(), hedgesWon.get(), delayMicros);
+    }
+}
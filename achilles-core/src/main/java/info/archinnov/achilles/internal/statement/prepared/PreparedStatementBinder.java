@@ -16,6 +16,7 @@
 package info.archinnov.achilles.internal.statement.prepared;
 
 import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.lang.ArrayUtils;
@@ -197,6 +198,42 @@ public class PreparedStatementBinder {
         return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
     }
 
+    public BoundStatementWrapper bindForShardedCounterIncrementDecrement(PersistentStateHolder context, PreparedStatement ps, PropertyMeta pm, Long increment, int shard, ConsistencyLevel consistencyLevel) {
+
+        EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        log.trace("Bind prepared statement {} for sharded counter increment of {} using primary key {}, shard {} and value {}", ps.getQueryString(), pm, primaryKey, shard, increment);
+        Object[] boundValues = ArrayUtils.add(extractValuesForShardedTableBinding(entityMeta, pm, primaryKey, shard), 0, increment);
+
+        BoundStatement bs = ps.bind(boundValues);
+        return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
+    }
+
+    public BoundStatementWrapper bindForShardedCounterSelect(PersistentStateHolder context, PreparedStatement ps, PropertyMeta pm, ConsistencyLevel consistencyLevel) {
+        EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        log.trace("Bind prepared statement {} for sharded counter read of {} using primary key {}", ps.getQueryString(), pm, primaryKey);
+
+        Object[] boundValues = extractValuesForShardedTableBinding(entityMeta, pm, primaryKey, pm.getCounterProperties().getShardIndexes());
+        BoundStatement bs = ps.bind(boundValues);
+        return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
+    }
+
+    public BoundStatementWrapper bindForShardedCounterDelete(PersistentStateHolder context, PreparedStatement ps, PropertyMeta pm) {
+        EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        log.trace("Bind prepared statement {} for sharded counter delete for {} using primary key {}", ps.getQueryString(), pm, primaryKey);
+
+        ConsistencyLevel consistencyLevel = overrider.getWriteLevel(context);
+
+        Object[] boundValues = extractValuesForShardedTableBinding(entityMeta, pm, primaryKey, pm.getCounterProperties().getShardIndexes());
+        BoundStatement bs = ps.bind(boundValues);
+        return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
+    }
+
     public BoundStatementWrapper bindForClusteredCounterIncrementDecrement(PersistentStateHolder context, PreparedStatement ps, PropertyMeta counterMeta,Long increment) {
 
         EntityMeta entityMeta = context.getEntityMeta();
@@ -242,6 +279,75 @@ public class PreparedStatementBinder {
         return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
     }
 
+    public BoundStatementWrapper bindForChunkInsert(PersistentStateHolder context, PreparedStatement ps, PropertyMeta pm, int chunkIndex, ByteBuffer chunk, long timestamp) {
+        EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        log.trace("Bind prepared statement {} for chunk {} of {} using primary key {}", ps.getQueryString(), chunkIndex, pm, primaryKey);
+
+        ConsistencyLevel consistencyLevel = overrider.getWriteLevel(context, pm);
+
+        Object[] boundValues = ArrayUtils.addAll(extractValuesForGenericTableBinding(entityMeta, pm, primaryKey),
+                new Object[] { timestamp, chunkIndex, chunk, context.getTtl().or(0), timestamp });
+        BoundStatement bs = ps.bind(boundValues);
+        return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
+    }
+
+    public BoundStatementWrapper bindForChunkPointerInsert(PersistentStateHolder context, PreparedStatement ps, PropertyMeta pm, long timestamp) {
+        EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        log.trace("Bind prepared statement {} for chunk set {} of {} using primary key {}", ps.getQueryString(), timestamp, pm, primaryKey);
+
+        ConsistencyLevel consistencyLevel = overrider.getWriteLevel(context, pm);
+
+        Object[] boundValues = ArrayUtils.addAll(extractValuesForGenericTableBinding(entityMeta, pm, primaryKey),
+                new Object[] { timestamp, context.getTtl().or(0), timestamp });
+        BoundStatement bs = ps.bind(boundValues);
+        return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
+    }
+
+    public BoundStatementWrapper bindForChunkPointerSelect(PersistentStateHolder context, PreparedStatement ps, PropertyMeta pm) {
+        EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        log.trace("Bind prepared statement {} for current chunk set of {} using primary key {}", ps.getQueryString(), pm, primaryKey);
+
+        ConsistencyLevel consistencyLevel = overrider.getReadLevel(context, pm);
+
+        Object[] boundValues = extractValuesForGenericTableBinding(entityMeta, pm, primaryKey);
+        BoundStatement bs = ps.bind(boundValues);
+        return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
+    }
+
+    public BoundStatementWrapper bindForChunkSelect(PersistentStateHolder context, PreparedStatement ps, PropertyMeta pm, long chunkSet) {
+        EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        log.trace("Bind prepared statement {} for chunks read of {} using primary key {}", ps.getQueryString(), pm, primaryKey);
+
+        ConsistencyLevel consistencyLevel = overrider.getReadLevel(context, pm);
+
+        Object[] boundValues = ArrayUtils.addAll(extractValuesForGenericTableBinding(entityMeta, pm, primaryKey),
+                new Object[] { chunkSet });
+        BoundStatement bs = ps.bind(boundValues);
+        bs.setFetchSize(pm.getChunkProperties().getConcurrency());
+        return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
+    }
+
+    public BoundStatementWrapper bindForChunkDelete(PersistentStateHolder context, PreparedStatement ps, PropertyMeta pm, long timestamp) {
+        EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        log.trace("Bind prepared statement {} for chunks delete of {} using primary key {}", ps.getQueryString(), pm, primaryKey);
+
+        ConsistencyLevel consistencyLevel = overrider.getWriteLevel(context, pm);
+
+        Object[] boundValues = ArrayUtils.addAll(new Object[] { timestamp }, extractValuesForGenericTableBinding(entityMeta, pm, primaryKey));
+        BoundStatement bs = ps.bind(boundValues);
+        return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
+    }
+
     private List<Object> fetchPrimaryKeyValues(EntityMeta entityMeta, Object entity, boolean onlyStaticColumns) {
         List<Object> values = new ArrayList<>();
         Object primaryKey = entityMeta.getPrimaryKey(entity);
@@ -291,7 +397,7 @@ public class PreparedStatementBinder {
         return values;
     }
 
-    private Object[] extractValuesForSimpleCounterBinding(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey) {
+    private Object[] extractValuesForGenericTableBinding(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey) {
         PropertyMeta idMeta = entityMeta.getIdMeta();
         String fqcn = entityMeta.getClassName();
         String primaryKeyAsString = idMeta.forceEncodeToJSON(primaryKey);
@@ -299,4 +405,18 @@ public class PreparedStatementBinder {
 
         return new Object[] { fqcn, primaryKeyAsString, propertyName };
     }
+
+    private Object[] extractValuesForSimpleCounterBinding(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey) {
+        Object[] values = extractValuesForGenericTableBinding(entityMeta, pm, primaryKey);
+        if (entityMeta.hasDedicatedCounterTable()) {
+            // No fqcn column in a dedicated counter table
+            return new Object[] { values[1], values[2] };
+        }
+        return values;
+    }
+
+    private Object[] extractValuesForShardedTableBinding(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey, Object shards) {
+        Object[] values = extractValuesForGenericTableBinding(entityMeta, pm, primaryKey);
+        return new Object[] { values[0], values[1], shards, values[2] };
+    }
 }
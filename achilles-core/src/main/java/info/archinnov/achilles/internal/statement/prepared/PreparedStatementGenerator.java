@@ -19,6 +19,7 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.decr;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.delete;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.in;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.incr;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
@@ -28,6 +29,15 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.ttl;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.update;
 import static com.google.common.collect.FluentIterable.from;
 import static com.google.common.collect.ImmutableMap.of;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_CURRENT_SET;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_DATA;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_FQCN;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_INDEX;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_PRIMARY_KEY;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_PROPERTY_NAME;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_SET;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_TABLE;
+import static info.archinnov.achilles.chunk.AchillesChunk.POINTER_CHUNK_SET;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DECR;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DELETE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.INCR;
@@ -36,7 +46,9 @@ import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_FQCN;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PRIMARY_KEY;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PROPERTY_NAME;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_SHARD;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_VALUE;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_SHARDED_COUNTER_TABLE;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.DELETE_ALL;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.SELECT_ALL;
 import static info.archinnov.achilles.type.Options.CASCondition;
@@ -58,6 +70,7 @@ import com.datastax.driver.core.querybuilder.Select.Selection;
 import com.datastax.driver.core.querybuilder.Update;
 import com.datastax.driver.core.querybuilder.Update.Assignments;
 import com.google.common.base.Optional;
+import info.archinnov.achilles.chunk.AchillesChunk.ChunkQueryType;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
@@ -164,36 +177,129 @@ public class PreparedStatementGenerator {
     }
 
     public Map<CQLQueryType, PreparedStatement> prepareSimpleCounterQueryMap(Session session) {
+        return prepareSimpleCounterQueryMap(session, CQL_COUNTER_TABLE, CQL_COUNTER_FQCN, CQL_COUNTER_PRIMARY_KEY,
+                CQL_COUNTER_PROPERTY_NAME);
+    }
+
+    public Map<CQLQueryType, PreparedStatement> prepareSimpleCounterQueryMap(Session session, EntityMeta meta) {
+        log.trace("Prepare simple counter statements for dedicated counter table {} of entity {}", meta.getCounterTableName(),
+                meta.getClassName());
+        return prepareSimpleCounterQueryMap(session, meta.getCounterTableName(), CQL_COUNTER_PRIMARY_KEY,
+                CQL_COUNTER_PROPERTY_NAME);
+    }
+
+    private Map<CQLQueryType, PreparedStatement> prepareSimpleCounterQueryMap(Session session, String tableName,
+            String... keyColumns) {
+
+        final Update incrUpdate = update(tableName);
+        incrUpdate.with(incr(CQL_COUNTER_VALUE, bindMarker()));
+        final Update decrUpdate = update(tableName);
+        decrUpdate.with(decr(CQL_COUNTER_VALUE, bindMarker()));
+
+        final Update.Where incr = incrUpdate.where();
+        final Update.Where decr = decrUpdate.where();
+        final Select.Where select = select(CQL_COUNTER_VALUE).from(tableName).where();
+        final Delete.Where delete = delete().from(tableName).where();
+        for (String keyColumn : keyColumns) {
+            incr.and(eq(keyColumn, bindMarker()));
+            decr.and(eq(keyColumn, bindMarker()));
+            select.and(eq(keyColumn, bindMarker()));
+            delete.and(eq(keyColumn, bindMarker()));
+        }
+
+        Map<CQLQueryType, PreparedStatement> counterPSMap = new HashMap<>();
+        counterPSMap.put(INCR, session.prepare(incr.getQueryString()));
+        counterPSMap.put(DECR, session.prepare(decr.getQueryString()));
+        counterPSMap.put(SELECT, session.prepare(select.getQueryString()));
+        counterPSMap.put(DELETE, session.prepare(delete.getQueryString()));
 
-        final String incr = update(CQL_COUNTER_TABLE)
+        return counterPSMap;
+    }
+
+    public Map<CQLQueryType, PreparedStatement> prepareShardedCounterQueryMap(Session session) {
+
+        final String incr = update(CQL_SHARDED_COUNTER_TABLE)
                 .with(incr(CQL_COUNTER_VALUE, bindMarker()))
                 .where(eq(CQL_COUNTER_FQCN, bindMarker()))
                 .and(eq(CQL_COUNTER_PRIMARY_KEY, bindMarker()))
+                .and(eq(CQL_COUNTER_SHARD, bindMarker()))
                 .and(eq(CQL_COUNTER_PROPERTY_NAME, bindMarker())).getQueryString();
 
-        final String decr = update(CQL_COUNTER_TABLE)
+        final String decr = update(CQL_SHARDED_COUNTER_TABLE)
                 .with(decr(CQL_COUNTER_VALUE, bindMarker()))
                 .where(eq(CQL_COUNTER_FQCN, bindMarker()))
                 .and(eq(CQL_COUNTER_PRIMARY_KEY, bindMarker()))
+                .and(eq(CQL_COUNTER_SHARD, bindMarker()))
                 .and(eq(CQL_COUNTER_PROPERTY_NAME, bindMarker())).getQueryString();
 
-        final String select = select(CQL_COUNTER_VALUE).from(CQL_COUNTER_TABLE)
+        final String select = select(CQL_COUNTER_VALUE).from(CQL_SHARDED_COUNTER_TABLE)
                 .where(eq(CQL_COUNTER_FQCN, bindMarker()))
                 .and(eq(CQL_COUNTER_PRIMARY_KEY, bindMarker()))
+                .and(in(CQL_COUNTER_SHARD, bindMarker()))
                 .and(eq(CQL_COUNTER_PROPERTY_NAME, bindMarker())).getQueryString();
 
-        final String delete = delete().from(CQL_COUNTER_TABLE)
+        final String delete = delete().from(CQL_SHARDED_COUNTER_TABLE)
                 .where(eq(CQL_COUNTER_FQCN, bindMarker()))
                 .and(eq(CQL_COUNTER_PRIMARY_KEY, bindMarker()))
+                .and(in(CQL_COUNTER_SHARD, bindMarker()))
                 .and(eq(CQL_COUNTER_PROPERTY_NAME, bindMarker())).getQueryString();
 
-        Map<CQLQueryType, PreparedStatement> counterPSMap = new HashMap<>();
-        counterPSMap.put(INCR, session.prepare(incr));
-        counterPSMap.put(DECR, session.prepare(decr));
-        counterPSMap.put(SELECT, session.prepare(select));
-        counterPSMap.put(DELETE, session.prepare(delete));
+        Map<CQLQueryType, PreparedStatement> shardedCounterPSMap = new HashMap<>();
+        shardedCounterPSMap.put(INCR, session.prepare(incr));
+        shardedCounterPSMap.put(DECR, session.prepare(decr));
+        shardedCounterPSMap.put(SELECT, session.prepare(select));
+        shardedCounterPSMap.put(DELETE, session.prepare(delete));
 
-        return counterPSMap;
+        return shardedCounterPSMap;
+    }
+
+    public Map<ChunkQueryType, PreparedStatement> prepareChunkQueryMap(Session session) {
+
+        final String insert = insertInto(CQL_CHUNK_TABLE)
+                .value(CQL_CHUNK_FQCN, bindMarker())
+                .value(CQL_CHUNK_PRIMARY_KEY, bindMarker())
+                .value(CQL_CHUNK_PROPERTY_NAME, bindMarker())
+                .value(CQL_CHUNK_SET, bindMarker())
+                .value(CQL_CHUNK_INDEX, bindMarker())
+                .value(CQL_CHUNK_DATA, bindMarker())
+                .using(ttl(bindMarker())).and(timestamp(bindMarker())).getQueryString();
+
+        final String select = select(CQL_CHUNK_DATA).from(CQL_CHUNK_TABLE)
+                .where(eq(CQL_CHUNK_FQCN, bindMarker()))
+                .and(eq(CQL_CHUNK_PRIMARY_KEY, bindMarker()))
+                .and(eq(CQL_CHUNK_PROPERTY_NAME, bindMarker()))
+                .and(eq(CQL_CHUNK_SET, bindMarker())).getQueryString();
+
+        final String insertPointer = insertInto(CQL_CHUNK_TABLE)
+                .value(CQL_CHUNK_FQCN, bindMarker())
+                .value(CQL_CHUNK_PRIMARY_KEY, bindMarker())
+                .value(CQL_CHUNK_PROPERTY_NAME, bindMarker())
+                .value(CQL_CHUNK_SET, POINTER_CHUNK_SET)
+                .value(CQL_CHUNK_INDEX, 0)
+                .value(CQL_CHUNK_CURRENT_SET, bindMarker())
+                .using(ttl(bindMarker())).and(timestamp(bindMarker())).getQueryString();
+
+        final String selectPointer = select(CQL_CHUNK_CURRENT_SET).from(CQL_CHUNK_TABLE)
+                .where(eq(CQL_CHUNK_FQCN, bindMarker()))
+                .and(eq(CQL_CHUNK_PRIMARY_KEY, bindMarker()))
+                .and(eq(CQL_CHUNK_PROPERTY_NAME, bindMarker()))
+                .and(eq(CQL_CHUNK_SET, POINTER_CHUNK_SET))
+                .and(eq(CQL_CHUNK_INDEX, 0)).getQueryString();
+
+        final String delete = delete().from(CQL_CHUNK_TABLE)
+                .where(eq(CQL_CHUNK_FQCN, bindMarker()))
+                .and(eq(CQL_CHUNK_PRIMARY_KEY, bindMarker()))
+                .and(eq(CQL_CHUNK_PROPERTY_NAME, bindMarker()))
+                .using(timestamp(bindMarker())).getQueryString();
+
+        Map<ChunkQueryType, PreparedStatement> chunkPSMap = new HashMap<>();
+        chunkPSMap.put(ChunkQueryType.INSERT, session.prepare(insert));
+        chunkPSMap.put(ChunkQueryType.SELECT, session.prepare(select));
+        chunkPSMap.put(ChunkQueryType.DELETE, session.prepare(delete));
+        chunkPSMap.put(ChunkQueryType.INSERT_POINTER, session.prepare(insertPointer));
+        chunkPSMap.put(ChunkQueryType.SELECT_POINTER, session.prepare(selectPointer));
+
+        return chunkPSMap;
     }
 
     public Map<CQLQueryType, Map<String, PreparedStatement>> prepareClusteredCounterQueryMap(Session session, EntityMeta meta) {
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.slowlog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Statement;
+import com.google.common.base.Ticker;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Log, at WARN level with the <strong>ACHILLES_SLOW_STATEMENT</strong> logger, the statements whose execution
+ * took longer than the threshold of their entity.
+ *
+ * Each line holds the statement shape, the consistency level, the elapsed time, the queried host and the first
+ * <em>MAX_LOGGED_VALUES</em> bound values, each truncated to <em>MAX_VALUE_LENGTH</em> characters.
+ * A statement whose execution failed is timed and logged the same way, with the class of the exception.
+ * At most <em>maxLogsPerSecond</em> lines are written per second; the number of slow statements skipped
+ * meanwhile is reported with the next line
+ */
+public class SlowStatementLog {
+
+    public static final String ACHILLES_SLOW_STATEMENT = "ACHILLES_SLOW_STATEMENT";
+
+    public static final SlowStatementLog DISABLED = new SlowStatementLog(0L, Collections.<Class<?>, Long>emptyMap(), 1);
+
+    static final int MAX_LOGGED_VALUES = 5;
+    static final int MAX_VALUE_LENGTH = 64;
+
+    private static final Logger log = LoggerFactory.getLogger(ACHILLES_SLOW_STATEMENT);
+    private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long defaultThresholdNanos;
+    private final Map<Class<?>, Long> thresholdNanosByEntity;
+    private final int maxLogsPerSecond;
+    private final boolean enabled;
+
+    private Logger logger = log;
+    private Ticker ticker = Ticker.systemTicker();
+    private long windowStart;
+    private int loggedInWindow = 0;
+    private long suppressed = 0;
+
+    /**
+     * @param defaultThresholdMillis threshold for entities without specific threshold, 0 to disable
+     * @param thresholdMillisByEntity specific thresholds, 0 to disable the log for an entity
+     * @param maxLogsPerSecond max number of slow statements logged per second
+     */
+    public SlowStatementLog(long defaultThresholdMillis, Map<Class<?>, Long> thresholdMillisByEntity, int maxLogsPerSecond) {
+        Validator.validateTrue(maxLogsPerSecond > 0, "The max number of slow statements logged per second '%s' should be strictly positive", maxLogsPerSecond);
+        this.defaultThresholdNanos = TimeUnit.MILLISECONDS.toNanos(defaultThresholdMillis);
+        this.thresholdNanosByEntity = new HashMap<>();
+        boolean anyThreshold = defaultThresholdMillis > 0;
+        for (Map.Entry<Class<?>, Long> entry : thresholdMillisByEntity.entrySet()) {
+            this.thresholdNanosByEntity.put(entry.getKey(), TimeUnit.MILLISECONDS.toNanos(entry.getValue()));
+            anyThreshold |= entry.getValue() > 0;
+        }
+        this.maxLogsPerSecond = maxLogsPerSecond;
+        this.enabled = anyThreshold;
+        this.windowStart = ticker.read() - ONE_SECOND_NANOS;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long startTimer() {
+        return enabled ? ticker.read() : 0L;
+    }
+
+    public boolean isSlow(Class<?> entityClass, long startTime) {
+        if (!enabled) {
+            return false;
+        }
+        final long thresholdNanos = thresholdFor(entityClass);
+        return thresholdNanos > 0 && ticker.read() - startTime >= thresholdNanos;
+    }
+
+    /**
+     * Log a statement for which {@link #isSlow(Class, long)} returned true, unless the rate limit is reached
+     */
+    public void log(Class<?> entityClass, Statement statement, String queryString, Object[] values, long startTime,
+            ExecutionInfo executionInfo, Throwable failure) {
+        final long elapsedNanos = ticker.read() - startTime;
+        final long thresholdNanos = thresholdFor(entityClass);
+        final long skipped = acquire();
+        if (skipped < 0) {
+            return;
+        }
+        final String consistencyLevel = statement.getConsistencyLevel() == null ? "DEFAULT" : statement.getConsistencyLevel().name();
+        final Object host = executionInfo == null ? null : executionInfo.getQueriedHost();
+        logger.warn("Slow statement for {} : [{}] with CONSISTENCY LEVEL [{}] took {} ms (threshold {} ms) on host {}, bound values {}{}{}",
+                entityClass == null ? "unknown" : entityClass.getSimpleName(), queryString, consistencyLevel,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), TimeUnit.NANOSECONDS.toMillis(thresholdNanos), host,
+                sampleValues(values), failure == null ? "" : ", failed with " + failure.getClass().getName(),
+                skipped > 0 ? " (" + skipped + " slow statements not logged before)" : "");
+    }
+
+    long thresholdFor(Class<?> entityClass) {
+        final Long threshold = thresholdNanosByEntity.get(entityClass);
+        return threshold != null ? threshold : defaultThresholdNanos;
+    }
+
+    /**
+     * @return -1 if the rate limit is reached, otherwise the number of slow statements suppressed since the last log
+     */
+    private synchronized long acquire() {
+        final long now = ticker.read();
+        if (now - windowStart >= ONE_SECOND_NANOS) {
+            windowStart = now;
+            loggedInWindow = 0;
+        }
+        if (loggedInWindow >= maxLogsPerSecond) {
+            suppressed++;
+            return -1;
+        }
+        loggedInWindow++;
+        final long skipped = suppressed;
+        suppressed = 0;
+        return skipped;
+    }
+
+    static List<String> sampleValues(Object[] values) {
+        final List<String> sample = new ArrayList<>();
+        if (values == null) {
+            return sample;
+        }
+        for (int i = 0; i < values.length && i < MAX_LOGGED_VALUES; i++) {
+            final String value = String.valueOf(values[i]);
+            sample.add(value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) + "..." : value);
+        }
+        if (values.length > MAX_LOGGED_VALUES) {
+            sample.add("... " + (values.length - MAX_LOGGED_VALUES) + " more");
+        }
+        return sample;
+    }
+
+    void setTicker(Ticker ticker) {
+        this.ticker = ticker;
+        this.windowStart = ticker.read() - ONE_SECOND_NANOS;
+    }
+
+    void setLogger(Logger logger) {
+        this.logger = logger;
+    }
+}
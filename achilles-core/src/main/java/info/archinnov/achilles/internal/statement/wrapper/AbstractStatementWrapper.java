@@ -32,17 +32,25 @@ import org.apache.commons.lang.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.exceptions.TraceRetrievalException;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import info.archinnov.achilles.exception.AchillesCASException;
+import info.archinnov.achilles.internal.fault.FaultInjector;
 import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
+import info.archinnov.achilles.internal.statement.slowlog.SlowStatementLog;
+import info.archinnov.achilles.internal.tracing.QueryTraceSampler;
 import info.archinnov.achilles.listener.CASResultListener;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.TypedMap;
@@ -50,16 +58,20 @@ import info.archinnov.achilles.type.TypedMap;
 public abstract class AbstractStatementWrapper {
     public static final EventComparator EVENT_TRACE_COMPARATOR = new EventComparator();
     public static final String ACHILLES_DML_STATEMENT = "ACHILLES_DML_STATEMENT";
-    protected static final String IF_NOT_EXIST_CLAUSE = " IF NOT EXISTS";
-    protected static final String IF_CLAUSE = " IF ";
     protected static final String CAS_RESULT_COLUMN = "[applied]";
 
     protected static final Logger dmlLogger = LoggerFactory.getLogger(ACHILLES_DML_STATEMENT);
+    protected static final LoggingFlags dmlLogging = LoggingFlags.forLogger(ACHILLES_DML_STATEMENT);
     protected RowMethodInvoker invoker = new RowMethodInvoker();
 
     protected Optional<CASResultListener> casResultListener = Optional.absent();
 
     protected Object[] values = new Object[] { };
+    protected Class<?> entityClass;
+    protected SlowStatementLog slowStatementLog = SlowStatementLog.DISABLED;
+    protected QueryTraceSampler queryTraceSampler = QueryTraceSampler.DISABLED;
+    protected FaultInjector faultInjector = FaultInjector.DISABLED;
+    protected boolean tracingRequested = false;
     protected boolean traceQueryForEntity = false;
     protected boolean displayDMLForEntity = false;
     protected Logger entityLogger;
@@ -68,26 +80,45 @@ public abstract class AbstractStatementWrapper {
         if (ArrayUtils.isNotEmpty(values)) {
             this.values = values;
         }
-        if (entityClass != null && LoggerFactory.getLogger(entityClass) != null) {
-            this.traceQueryForEntity = LoggerFactory.getLogger(entityClass).isTraceEnabled();
-            this.displayDMLForEntity = LoggerFactory.getLogger(entityClass).isDebugEnabled();
-            this.entityLogger = LoggerFactory.getLogger(entityClass);
-        }
-
+        this.entityClass = entityClass;
+        final LoggingFlags entityLogging = LoggingFlags.forEntity(entityClass);
+        this.traceQueryForEntity = entityLogging.isTraceEnabled();
+        this.displayDMLForEntity = entityLogging.isDebugEnabled();
+        this.entityLogger = entityLogging.getLogger();
     }
 
     public Object[] getValues() {
         return values;
     }
 
+    public void setSlowStatementLog(SlowStatementLog slowStatementLog) {
+        this.slowStatementLog = slowStatementLog;
+    }
+
+    public void setQueryTraceSampler(QueryTraceSampler queryTraceSampler) {
+        this.queryTraceSampler = queryTraceSampler;
+    }
+
+    public void setFaultInjector(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
     public abstract ResultSet execute(Session session);
 
+    public ResultSetFuture executeAsync(Session session) {
+        logDMLStatement("");
+        final Statement statement = getStatement();
+        final boolean sampledForTracing = sampleQueryTracing(statement);
+        final long startTime = slowStatementLog.startTimer();
+        return monitor(executeAsyncWithFaults(session, statement), statement, startTime, sampledForTracing);
+    }
+
     public abstract Statement getStatement();
 
     public abstract void logDMLStatement(String indentation);
 
     public static void writeDMLStartBatch(BatchStatement.Type batchType) {
-        if (dmlLogger.isDebugEnabled()) {
+        if (dmlLogging.isDebugEnabled()) {
             if (batchType == LOGGED) {
                 dmlLogger.debug("");
                 dmlLogger.debug("");
@@ -103,7 +134,7 @@ public abstract class AbstractStatementWrapper {
     }
 
     public static void writeDMLEndBatch(BatchStatement.Type batchType, ConsistencyLevel consistencyLevel) {
-        if (dmlLogger.isDebugEnabled()) {
+        if (dmlLogging.isDebugEnabled()) {
             if (batchType == LOGGED) {
                 dmlLogger.debug("");
                 dmlLogger.debug("  ****** BATCH LOGGED END with CONSISTENCY LEVEL [{}] ******", consistencyLevel != null ? consistencyLevel : "DEFAULT");
@@ -129,17 +160,74 @@ public abstract class AbstractStatementWrapper {
         }
     }
 
-    protected boolean isCASInsert(String queryString) {
-        return queryString.contains(IF_NOT_EXIST_CLAUSE);
+    protected void logIfSlow(Statement statement, long startTime, ResultSet resultSet, Throwable failure) {
+        if (slowStatementLog.isSlow(entityClass, startTime)) {
+            final ExecutionInfo executionInfo = resultSet == null ? null : resultSet.getExecutionInfo();
+            slowStatementLog.log(entityClass, statement, queryStringOf(statement), values, startTime, executionInfo, failure);
+        }
+    }
+
+    /**
+     * Execute the statement and log it if slow, whether it succeeds or throws
+     *
+     * @param statement statement sent to Cassandra
+     * @param loggedStatement statement whose query string is logged
+     */
+    protected ResultSet executeAndLogIfSlow(Session session, Statement statement, Statement loggedStatement) {
+        final long startTime = slowStatementLog.startTimer();
+        ResultSet resultSet = null;
+        Throwable failure = null;
+        try {
+            resultSet = executeWithFaults(session, statement);
+            return resultSet;
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            logIfSlow(loggedStatement, startTime, resultSet, failure);
+        }
+    }
+
+    protected ResultSet executeWithFaults(Session session, Statement statement) {
+        faultInjector.inject(entityClass, statement);
+        return session.execute(statement);
     }
 
-    protected boolean isCASOperation(String queryString) {
-        return queryString.contains(IF_CLAUSE);
+    protected ResultSetFuture executeAsyncWithFaults(Session session, Statement statement) {
+        return faultInjector.executeAsync(session, statement, entityClass);
     }
 
-    protected void checkForCASSuccess(String queryString, ResultSet resultSet) {
+    protected ResultSetFuture monitor(ResultSetFuture future, final Statement statement, final long startTime,
+            final boolean sampledForTracing) {
+        if (slowStatementLog.isEnabled() || sampledForTracing) {
+            Futures.addCallback(future, new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(ResultSet resultSet) {
+                    logIfSlow(statement, startTime, resultSet, null);
+                    collectSampledTrace(statement, resultSet, sampledForTracing);
+                }
 
-        if (isCASOperation(queryString)) {
+                @Override
+                public void onFailure(Throwable throwable) {
+                    logIfSlow(statement, startTime, null, throwable);
+                }
+            });
+        }
+        return future;
+    }
+
+    private String queryStringOf(Statement statement) {
+        if (statement instanceof BoundStatement) {
+            return ((BoundStatement) statement).preparedStatement().getQueryString();
+        } else if (statement instanceof RegularStatement) {
+            return ((RegularStatement) statement).getQueryString();
+        }
+        return statement.toString();
+    }
+
+    protected void checkForCASSuccess(StatementShape statementShape, ResultSet resultSet) {
+
+        if (statementShape.isCASOperation()) {
             final Row casResult = resultSet.one();
             if (!casResult.getBool(CAS_RESULT_COLUMN)) {
                 TreeMap<String, Object> currentValues = new TreeMap<>();
@@ -167,7 +255,7 @@ public abstract class AbstractStatementWrapper {
                 }
 
                 Operation operation = UPDATE;
-                if (isCASInsert(queryString)) {
+                if (statementShape.isCASInsert()) {
                     operation = INSERT;
                 }
                 notifyCASError(new CASResult(operation, TypedMap.fromMap(currentValues)));
@@ -192,15 +280,44 @@ public abstract class AbstractStatementWrapper {
         }
     }
 
-    protected Statement activateQueryTracing(Statement statement) {
-        if (dmlLogger.isTraceEnabled() || traceQueryForEntity) {
+    /**
+     * Enable tracing for a synchronous execution when it is sampled, when the trace is logged
+     * or when the statement was traced before being wrapped, disable it otherwise
+     *
+     * @return whether this execution is sampled for tracing
+     */
+    protected boolean activateQueryTracing(Statement statement) {
+        return applyQueryTracing(statement, dmlLogging.isTraceEnabled() || traceQueryForEntity);
+    }
+
+    /**
+     * Enable tracing for an asynchronous execution when it is sampled or when the statement was traced
+     * before being wrapped, disable it otherwise
+     *
+     * @return whether this execution is sampled for tracing
+     */
+    protected boolean sampleQueryTracing(Statement statement) {
+        return applyQueryTracing(statement, false);
+    }
+
+    private boolean applyQueryTracing(Statement statement, boolean traceLogged) {
+        final boolean sampledForTracing = queryTraceSampler.shouldTrace(entityClass);
+        if (sampledForTracing || traceLogged || tracingRequested) {
             statement.enableTracing();
+        } else {
+            statement.disableTracing();
+        }
+        return sampledForTracing;
+    }
+
+    protected void collectSampledTrace(Statement statement, ResultSet resultSet, boolean sampledForTracing) {
+        if (sampledForTracing && resultSet != null) {
+            queryTraceSampler.collect(entityClass, queryStringOf(statement), resultSet.getExecutionInfo());
         }
-        return statement;
     }
 
     protected void tracing(ResultSet resultSet) {
-        if (dmlLogger.isTraceEnabled() || traceQueryForEntity) {
+        if (dmlLogging.isTraceEnabled() || traceQueryForEntity) {
             Logger actualLogger = traceQueryForEntity ? entityLogger : dmlLogger;
             for (ExecutionInfo executionInfo : resultSet.getAllExecutionInfo()) {
                 actualLogger.trace("Query tracing at host {} with achieved consistency level {} ", executionInfo.getQueriedHost(), executionInfo.getAchievedConsistencyLevel());
@@ -33,6 +33,7 @@ public class BoundStatementWrapper extends AbstractStatementWrapper {
         super(entityClass, values);
         super.casResultListener = casResultListener;
         this.boundStatement = bs;
+        super.tracingRequested = bs.isTracing();
         this.boundStatement.setConsistencyLevel(consistencyLevel);
         if (serialConsistencyLevel.isPresent()) {
             boundStatement.setSerialConsistencyLevel(serialConsistencyLevel.get());
@@ -42,10 +43,11 @@ public class BoundStatementWrapper extends AbstractStatementWrapper {
     @Override
     public ResultSet execute(Session session) {
         logDMLStatement("");
-        activateQueryTracing(boundStatement);
-        ResultSet resultSet = session.execute(boundStatement);
+        final boolean sampledForTracing = activateQueryTracing(boundStatement);
+        ResultSet resultSet = executeAndLogIfSlow(session, boundStatement, boundStatement);
         tracing(resultSet);
-        checkForCASSuccess(boundStatement.preparedStatement().getQueryString(), resultSet);
+        collectSampledTrace(boundStatement, resultSet, sampledForTracing);
+        checkForCASSuccess(StatementShape.of(boundStatement.preparedStatement()), resultSet);
         return resultSet;
     }
 
@@ -56,7 +58,7 @@ public class BoundStatementWrapper extends AbstractStatementWrapper {
 
     @Override
     public void logDMLStatement(String indentation) {
-        if (dmlLogger.isDebugEnabled() || displayDMLForEntity) {
+        if (dmlLogging.isDebugEnabled() || displayDMLForEntity) {
             PreparedStatement ps = boundStatement.preparedStatement();
             String queryType = "Prepared statement";
             String queryString = ps.getQueryString();
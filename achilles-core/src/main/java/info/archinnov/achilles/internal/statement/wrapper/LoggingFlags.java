@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.statement.wrapper;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logger of an entity or of the DML statements, with its <em>trace</em> and <em>debug</em> flags
+ * evaluated once and shared by all the statement wrappers.
+ * <br/>
+ * The flags are re-evaluated at most every second so that log levels changed at runtime are taken into account
+ */
+public class LoggingFlags {
+
+    static final long REFRESH_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public static final LoggingFlags NONE = new LoggingFlags(null);
+
+    private static final ConcurrentMap<String, LoggingFlags> FLAGS_BY_LOGGER_NAME = new ConcurrentHashMap<>();
+
+    private final Logger logger;
+    private volatile boolean traceEnabled;
+    private volatile boolean debugEnabled;
+    private volatile long refreshedAt;
+
+    private LoggingFlags(Logger logger) {
+        this.logger = logger;
+        refresh();
+    }
+
+    public static LoggingFlags forEntity(Class<?> entityClass) {
+        return entityClass == null ? NONE : forLogger(entityClass.getName());
+    }
+
+    public static LoggingFlags forLogger(String loggerName) {
+        LoggingFlags flags = FLAGS_BY_LOGGER_NAME.get(loggerName);
+        if (flags == null) {
+            final Logger logger = LoggerFactory.getLogger(loggerName);
+            if (logger == null) {
+                return NONE;
+            }
+            final LoggingFlags newFlags = new LoggingFlags(logger);
+            flags = FLAGS_BY_LOGGER_NAME.putIfAbsent(loggerName, newFlags);
+            if (flags == null) {
+                flags = newFlags;
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * Re-evaluate immediately the flags of all the loggers
+     */
+    public static void refreshAll() {
+        for (LoggingFlags flags : FLAGS_BY_LOGGER_NAME.values()) {
+            flags.refresh();
+        }
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    public boolean isTraceEnabled() {
+        refreshIfStale();
+        return traceEnabled;
+    }
+
+    public boolean isDebugEnabled() {
+        refreshIfStale();
+        return debugEnabled;
+    }
+
+    private void refreshIfStale() {
+        if (logger != null && System.nanoTime() - refreshedAt > REFRESH_PERIOD_NANOS) {
+            refresh();
+        }
+    }
+
+    void refresh() {
+        if (logger != null) {
+            traceEnabled = logger.isTraceEnabled();
+            debugEnabled = logger.isDebugEnabled();
+        }
+        refreshedAt = System.nanoTime();
+    }
+}
@@ -16,9 +16,11 @@
 
 package info.archinnov.achilles.internal.statement.wrapper;
 
+import java.nio.ByteBuffer;
 import org.apache.commons.lang.ArrayUtils;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
 import com.google.common.base.Optional;
@@ -28,29 +30,44 @@ public class NativeStatementWrapper extends AbstractStatementWrapper {
 
 
     private RegularStatement regularStatement;
+    private ByteBuffer[] routingKey;
 
     public NativeStatementWrapper(Class<?> entityClass, RegularStatement regularStatement, Object[] values, Optional<CASResultListener> casResultListener) {
         super(entityClass, values);
         this.regularStatement = regularStatement;
+        super.tracingRequested = regularStatement.isTracing();
         super.casResultListener = casResultListener;
     }
 
     @Override
     public ResultSet execute(Session session) {
         logDMLStatement("");
-        activateQueryTracing(regularStatement);
+        final boolean sampledForTracing = activateQueryTracing(regularStatement);
         ResultSet resultSet;
         if (ArrayUtils.isNotEmpty(super.values)) {
-            resultSet = session.execute(regularStatement.getQueryString(), super.values);
+            resultSet = executeAndLogIfSlow(session, buildParameterizedStatement(), regularStatement);
         } else {
-            resultSet = session.execute(regularStatement);
+            resultSet = executeAndLogIfSlow(session, regularStatement, regularStatement);
         }
 
         tracing(resultSet);
-        checkForCASSuccess(regularStatement.getQueryString(), resultSet);
+        collectSampledTrace(regularStatement, resultSet, sampledForTracing);
+        checkForCASSuccess(StatementShape.of(regularStatement.getQueryString()), resultSet);
         return resultSet;
     }
 
+    @Override
+    public ResultSetFuture executeAsync(Session session) {
+        logDMLStatement("");
+        final boolean sampledForTracing = sampleQueryTracing(regularStatement);
+        final long startTime = slowStatementLog.startTimer();
+        if (ArrayUtils.isNotEmpty(super.values)) {
+            return monitor(executeAsyncWithFaults(session, buildParameterizedStatement()), regularStatement, startTime,
+                    sampledForTracing);
+        }
+        return monitor(executeAsyncWithFaults(session, regularStatement), regularStatement, startTime, sampledForTracing);
+    }
+
     @Override
     public RegularStatement getStatement() {
         return regularStatement;
@@ -58,7 +75,7 @@ public class NativeStatementWrapper extends AbstractStatementWrapper {
 
     @Override
     public void logDMLStatement(String indentation) {
-        if (dmlLogger.isDebugEnabled() || displayDMLForEntity) {
+        if (dmlLogging.isDebugEnabled() || displayDMLForEntity) {
             String queryType = "Parameterized statement";
             String queryString = regularStatement.getQueryString();
             String consistencyLevel = regularStatement.getConsistencyLevel() == null ? "DEFAULT" : regularStatement
@@ -77,6 +94,26 @@ public class NativeStatementWrapper extends AbstractStatementWrapper {
         if (regularStatement.getSerialConsistencyLevel() != null) {
             statement.setSerialConsistencyLevel(regularStatement.getSerialConsistencyLevel());
         }
+
+        if (regularStatement.isTracing()) {
+            statement.enableTracing();
+        }
+
+        if (routingKey != null) {
+            if (routingKey.length == 1) {
+                statement.setRoutingKey(routingKey[0]);
+            } else {
+                statement.setRoutingKey(routingKey);
+            }
+        }
         return statement;
     }
+
+    public ByteBuffer[] getRoutingKey() {
+        return routingKey;
+    }
+
+    public void setRoutingKey(ByteBuffer... routingKey) {
+        this.routingKey = routingKey;
+    }
 }
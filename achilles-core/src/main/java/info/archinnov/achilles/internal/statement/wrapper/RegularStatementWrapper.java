@@ -31,6 +31,7 @@ public class RegularStatementWrapper extends AbstractStatementWrapper {
             ConsistencyLevel consistencyLevel, Optional<CASResultListener> casResultListener, Optional<ConsistencyLevel> serialConsistencyLevel) {
         super(entityClass, boundValues);
         this.regularStatement = regularStatement;
+        super.tracingRequested = regularStatement.isTracing();
         super.casResultListener = casResultListener;
         this.regularStatement.setConsistencyLevel(consistencyLevel);
         if (serialConsistencyLevel.isPresent()) {
@@ -41,10 +42,11 @@ public class RegularStatementWrapper extends AbstractStatementWrapper {
     @Override
     public ResultSet execute(Session session) {
         logDMLStatement("");
-        activateQueryTracing(regularStatement);
-        ResultSet resultSet = session.execute(regularStatement);
+        final boolean sampledForTracing = activateQueryTracing(regularStatement);
+        ResultSet resultSet = executeAndLogIfSlow(session, regularStatement, regularStatement);
         tracing(resultSet);
-        checkForCASSuccess(regularStatement.getQueryString(), resultSet);
+        collectSampledTrace(regularStatement, resultSet, sampledForTracing);
+        checkForCASSuccess(StatementShape.of(regularStatement.getQueryString()), resultSet);
         return resultSet;
     }
 
@@ -55,7 +57,7 @@ public class RegularStatementWrapper extends AbstractStatementWrapper {
 
     @Override
     public void logDMLStatement(String indentation) {
-        if (dmlLogger.isDebugEnabled() || displayDMLForEntity) {
+        if (dmlLogging.isDebugEnabled() || displayDMLForEntity) {
             String queryType = "Parameterized statement";
             String queryString = regularStatement.getQueryString();
             String consistencyLevel = regularStatement.getConsistencyLevel() == null ? "DEFAULT" : regularStatement
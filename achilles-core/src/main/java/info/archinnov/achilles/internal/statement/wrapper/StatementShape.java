@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.statement.wrapper;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Properties of a statement derived from its query string, e.g. whether it is a CAS operation.
+ * <br/>
+ * The shape of a prepared statement is computed once and cached by prepared statement identity,
+ * so binding and executing it again never scans the query string
+ */
+public class StatementShape {
+
+    static final String IF_NOT_EXIST_CLAUSE = " IF NOT EXISTS";
+    static final String IF_CLAUSE = " IF ";
+
+    private static final LoadingCache<PreparedStatement, StatementShape> SHAPES_BY_PREPARED_STATEMENT = CacheBuilder
+            .newBuilder().weakKeys().build(new CacheLoader<PreparedStatement, StatementShape>() {
+                @Override
+                public StatementShape load(PreparedStatement ps) {
+                    return of(ps.getQueryString());
+                }
+            });
+
+    private final boolean casOperation;
+    private final boolean casInsert;
+
+    private StatementShape(boolean casOperation, boolean casInsert) {
+        this.casOperation = casOperation;
+        this.casInsert = casInsert;
+    }
+
+    public static StatementShape of(String queryString) {
+        return new StatementShape(queryString.contains(IF_CLAUSE), queryString.contains(IF_NOT_EXIST_CLAUSE));
+    }
+
+    public static StatementShape of(PreparedStatement ps) {
+        return SHAPES_BY_PREPARED_STATEMENT.getUnchecked(ps);
+    }
+
+    public boolean isCASOperation() {
+        return casOperation;
+    }
+
+    public boolean isCASInsert() {
+        return casInsert;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.table;
+
+import java.util.Collection;
+import java.util.Map;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.TableMetadata;
+
+/**
+ * Read the existing tables from the schema metadata maintained by the driver {@link com.datastax.driver.core.Cluster}
+ */
+public class ClusterTableMetadataSource implements TableMetadataSource {
+
+    private final Cluster cluster;
+
+    protected TableCreator tableCreator = new TableCreator();
+
+    public ClusterTableMetadataSource(Cluster cluster) {
+        this.cluster = cluster;
+    }
+
+    @Override
+    public Map<String, TableMetadata> fetchTableMetaData(String keyspaceName) {
+        return tableCreator.fetchTableMetaData(cluster.getMetadata().getKeyspace(keyspaceName), keyspaceName);
+    }
+
+    @Override
+    public Map<String, TableMetadata> fetchTableMetaData(String keyspaceName, Collection<String> tableNames) {
+        return tableCreator.fetchTableMetaData(cluster.getMetadata().getKeyspace(keyspaceName), keyspaceName, tableNames);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.table;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.incr;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.update;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_FQCN;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PRIMARY_KEY;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PROPERTY_NAME;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_VALUE;
+import java.util.HashSet;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Copy the simple counters of an entity from the shared <strong>achilles_counter_table</strong> into its dedicated
+ * counter table.
+ * <br/>
+ * The shared table is scanned page by page since its partitions cannot be addressed by entity class alone.
+ * Each counter of the dedicated table is incremented by the difference between the source and the target values,
+ * so re-running the migration is harmless as long as the dedicated table is not written concurrently.
+ * The shared table is left untouched.
+ */
+public class CounterTableMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterTableMigrator.class);
+
+    static final int SCAN_FETCH_SIZE = 1000;
+
+    public long migrate(Session session, EntityMeta entityMeta) {
+        final String className = entityMeta.getClassName();
+        Validator.validateTrue(entityMeta.hasDedicatedCounterTable(),
+                "The entity '%s' does not store its counters in a dedicated table", className);
+
+        final String counterTableName = entityMeta.getCounterTableName();
+        log.info("Migrate counters of entity {} from table {} to table {}", className, CQL_COUNTER_TABLE, counterTableName);
+
+        Set<String> propertyNames = new HashSet<>();
+        for (PropertyMeta counterMeta : entityMeta.getAllCounterMetas()) {
+            if (!counterMeta.isShardedCounter()) {
+                propertyNames.add(counterMeta.getPropertyName());
+            }
+        }
+
+        final PreparedStatement readTarget = session.prepare(select(CQL_COUNTER_VALUE).from(counterTableName)
+                .where(eq(CQL_COUNTER_PRIMARY_KEY, bindMarker()))
+                .and(eq(CQL_COUNTER_PROPERTY_NAME, bindMarker())));
+        final PreparedStatement incrementTarget = session.prepare(update(counterTableName)
+                .with(incr(CQL_COUNTER_VALUE, bindMarker()))
+                .where(eq(CQL_COUNTER_PRIMARY_KEY, bindMarker()))
+                .and(eq(CQL_COUNTER_PROPERTY_NAME, bindMarker())));
+
+        final Statement scan = select(CQL_COUNTER_FQCN, CQL_COUNTER_PRIMARY_KEY, CQL_COUNTER_PROPERTY_NAME, CQL_COUNTER_VALUE)
+                .from(CQL_COUNTER_TABLE).setFetchSize(SCAN_FETCH_SIZE);
+
+        long migratedCount = 0;
+        for (Row row : session.execute(scan)) {
+            final String propertyName = row.getString(CQL_COUNTER_PROPERTY_NAME);
+            if (!className.equals(row.getString(CQL_COUNTER_FQCN)) || !propertyNames.contains(propertyName)) {
+                continue;
+            }
+            final String primaryKey = row.getString(CQL_COUNTER_PRIMARY_KEY);
+            final Row target = session.execute(readTarget.bind(primaryKey, propertyName)).one();
+            final long delta = row.getLong(CQL_COUNTER_VALUE) - (target != null ? target.getLong(CQL_COUNTER_VALUE) : 0L);
+            if (delta != 0) {
+                session.execute(incrementTarget.bind(delta, primaryKey, propertyName));
+            }
+            migratedCount++;
+        }
+
+        log.info("Migrated {} counters of entity {} to table {}", migratedCount, className, counterTableName);
+        return migratedCount;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.table;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.TableMetadata;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.management.LazyDaemonExecutor;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+/**
+ * Local cache of the fingerprints of the tables which have been successfully validated against their entity mapping.
+ * <br/>
+ * A fingerprint is a hash of the table meta data and of the entity mapping. When neither of them changed since the
+ * last successful validation, the table does not need to be validated again. The cache is stored as a properties
+ * file, keyed by <em>keyspace.table</em>
+ */
+public class SchemaFingerprintCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaFingerprintCache.class);
+
+    /**
+     * Bump this version whenever the table validation rules change so that the cached fingerprints are discarded
+     */
+    static final String FINGERPRINT_VERSION = "2";
+
+    public static final SchemaFingerprintCache DISABLED = new SchemaFingerprintCache(null);
+
+    private final File file;
+
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean savePending = new AtomicBoolean(false);
+
+    private final LazyDaemonExecutor<ExecutorService> saveExecutor = new LazyDaemonExecutor<ExecutorService>(
+            "achilles-schema-fingerprints-%d") {
+        @Override
+        protected ExecutorService create(ThreadFactory threadFactory) {
+            return Executors.newSingleThreadExecutor(threadFactory);
+        }
+    };
+
+    public SchemaFingerprintCache(File file) {
+        this.file = file;
+        if (file != null) {
+            for (Map.Entry<Object, Object> entry : load().entrySet()) {
+                fingerprints.put(entry.getKey().toString(), entry.getValue().toString());
+            }
+            log.debug("Loaded {} schema fingerprints from {}", fingerprints.size(), file);
+        }
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public String fingerprint(EntityMeta entityMeta, TableMetadata tableMetadata, ConfigurationContext configContext) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final Hasher hasher = Hashing.sha1().newHasher()
+                .putString(FINGERPRINT_VERSION, StandardCharsets.UTF_8)
+                .putString(tableMetadata.exportAsString(), StandardCharsets.UTF_8)
+                .putString(entityMeta.getTableName(), StandardCharsets.UTF_8)
+                .putBoolean(entityMeta.isSchemaUpdateEnabled())
+                .putBoolean(entityMeta.hasDedicatedCounterTable())
+                .putBoolean(configContext.isRelaxIndexValidation());
+        // Properties are sorted so that the fingerprint does not depend on the iteration order of the meta data
+        final List<String> propertySignatures = new ArrayList<>();
+        for (PropertyMeta pm : entityMeta.getAllMetas()) {
+            propertySignatures.add(propertySignature(pm));
+        }
+        Collections.sort(propertySignatures);
+        for (String propertySignature : propertySignatures) {
+            hasher.putString(propertySignature, StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Every property attribute read by {@link TableValidator} must be part of the signature, otherwise a mapping
+     * change would not trigger the validation
+     */
+    private String propertySignature(PropertyMeta pm) {
+        final StringBuilder signature = new StringBuilder(pm.toString())
+                .append('|').append(pm.getCQL3PropertyName())
+                .append('|').append(pm.getKeyClass())
+                .append('|').append(pm.getValueClassForTableCreation())
+                .append('|').append(pm.isIndexed())
+                .append('|').append(pm.isStaticColumn())
+                .append('|').append(pm.isTimeUUID())
+                .append('|').append(pm.isBinary())
+                .append('|').append(pm.isCompressed())
+                .append('|').append(pm.isChunked())
+                .append('|').append(pm.isShardedCounter());
+        if (pm.isEmbeddedId()) {
+            signature.append('|').append(pm.getPartitionComponentNames())
+                    .append('|').append(pm.getPartitionComponentClasses())
+                    .append('|').append(pm.getClusteringComponentNames())
+                    .append('|').append(pm.getClusteringComponentClasses())
+                    .append('|').append(pm.getClusteringOrders());
+            for (String componentName : pm.getComponentNames()) {
+                signature.append('|').append(pm.isPrimaryKeyTimeUUID(componentName));
+            }
+        }
+        return signature.toString();
+    }
+
+    public boolean isUnchanged(TableMetadata tableMetadata, String fingerprint) {
+        return fingerprint != null && fingerprint.equals(fingerprints.get(keyFor(tableMetadata)));
+    }
+
+    public void record(TableMetadata tableMetadata, String fingerprint) {
+        if (fingerprint != null) {
+            fingerprints.put(keyFor(tableMetadata), fingerprint);
+        }
+    }
+
+    /**
+     * Write the fingerprints to the cache file. The fingerprints recorded by other processes sharing the same
+     * file are preserved. Failures are only logged since the cache is a mere optimization
+     */
+    public synchronized void save() {
+        if (!isEnabled()) {
+            return;
+        }
+        final Properties properties = load();
+        properties.putAll(fingerprints);
+        try {
+            final File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            final File tmpFile = new File(parent, file.getName() + ".tmp");
+            try (OutputStream out = new FileOutputStream(tmpFile)) {
+                properties.store(out, "Achilles schema fingerprints");
+            }
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            log.debug("Saved {} schema fingerprints to {}", properties.size(), file);
+        } catch (IOException e) {
+            log.warn("Cannot save the schema fingerprints to {} : {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the fingerprints to the cache file from a background thread. Saves requested while one is already
+     * pending are merged into it
+     */
+    public void saveInBackground() {
+        if (!isEnabled() || !savePending.compareAndSet(false, true)) {
+            return;
+        }
+        final ExecutorService executor = saveExecutor.get();
+        if (executor == null) {
+            savePendingFingerprints();
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                savePendingFingerprints();
+            }
+        });
+    }
+
+    /**
+     * Stop the background saves, writing the fingerprints of a pending one
+     */
+    public void shutDown() {
+        saveExecutor.shutDown();
+        savePendingFingerprints();
+    }
+
+    private synchronized void savePendingFingerprints() {
+        if (savePending.getAndSet(false)) {
+            save();
+        }
+    }
+
+    private Properties load() {
+        final Properties properties = new Properties();
+        if (file.isFile()) {
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+            } catch (IOException e) {
+                log.warn("Cannot read the schema fingerprints from {}, tables will be validated : {}", file, e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private String keyFor(TableMetadata tableMetadata) {
+        return tableMetadata.getKeyspace().getName() + "." + tableMetadata.getName();
+    }
+}
@@ -15,15 +15,26 @@
  */
 package info.archinnov.achilles.internal.table;
 
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_CURRENT_SET;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_DATA;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_FQCN;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_INDEX;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_PRIMARY_KEY;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_PROPERTY_NAME;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_SET;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_TABLE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_FQCN;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PRIMARY_KEY;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PROPERTY_NAME;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_SHARD;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_VALUE;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_SHARDED_COUNTER_TABLE;
 import static info.archinnov.achilles.internal.cql.TypeMapper.toCQLDataType;
 import static info.archinnov.achilles.schemabuilder.Create.Options.ClusteringOrder;
 import static info.archinnov.achilles.schemabuilder.SchemaBuilder.createIndex;
 import static org.apache.commons.lang.StringUtils.isBlank;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -66,6 +77,25 @@ public class TableCreator {
         return tableMetas;
     }
 
+    public Map<String, TableMetadata> fetchTableMetaData(KeyspaceMetadata keyspaceMeta, String keyspaceName,
+            Collection<String> tableNames) {
+
+        log.debug("Fetch existing table meta data of {} from Cassandra", tableNames);
+
+        Map<String, TableMetadata> tableMetas = new HashMap<>();
+
+        Validator.validateTableTrue(keyspaceMeta != null, "Keyspace '%s' doest not exist or cannot be found",
+                keyspaceName);
+
+        for (String tableName : tableNames) {
+            final TableMetadata tableMeta = keyspaceMeta.getTable(tableName);
+            if (tableMeta != null) {
+                tableMetas.put(tableMeta.getName(), tableMeta);
+            }
+        }
+        return tableMetas;
+    }
+
     public void createTableForEntity(Session session, EntityMeta entityMeta, ConfigurationContext configContext) {
 
         log.debug("Create table for entity {}", entityMeta);
@@ -106,6 +136,68 @@ public class TableCreator {
         }
     }
 
+    public void createDedicatedCounterTable(Session session, EntityMeta entityMeta, ConfigurationContext configContext) {
+        final String counterTableName = entityMeta.getCounterTableName();
+        log.debug("Create dedicated counter table {} for entity {}", counterTableName, entityMeta.getClassName());
+
+        if (configContext.isForceColumnFamilyCreation()) {
+            final String createTable = SchemaBuilder.createTable(counterTableName)
+                    .addPartitionKey(CQL_COUNTER_PRIMARY_KEY, DataType.text())
+                    .addClusteringKey(CQL_COUNTER_PROPERTY_NAME, DataType.text())
+                    .addColumn(CQL_COUNTER_VALUE, DataType.counter())
+                    .withOptions().comment("Create dedicated counter table for entity \"" + entityMeta.getClassName() + "\"")
+                    .build();
+
+            session.execute(createTable);
+            DML_LOG.debug(createTable);
+        } else {
+            throw new AchillesInvalidTableException("The required dedicated counter table '" + counterTableName
+                    + "' for entity '" + entityMeta.getClassName() + "' does not exist");
+        }
+    }
+
+    public void createTableForShardedCounter(Session session, ConfigurationContext configContext) {
+        log.debug("Create table for Achilles sharded counters");
+
+        if (configContext.isForceColumnFamilyCreation()) {
+            final String createTable = SchemaBuilder.createTable(CQL_SHARDED_COUNTER_TABLE)
+                    .addPartitionKey(CQL_COUNTER_FQCN, DataType.text())
+                    .addPartitionKey(CQL_COUNTER_PRIMARY_KEY, DataType.text())
+                    .addPartitionKey(CQL_COUNTER_SHARD, DataType.cint())
+                    .addClusteringKey(CQL_COUNTER_PROPERTY_NAME, DataType.text())
+                    .addColumn(CQL_COUNTER_VALUE, DataType.counter())
+                    .withOptions().comment("Create default Achilles sharded counter table \"" + CQL_SHARDED_COUNTER_TABLE + "\"")
+                    .build();
+
+            session.execute(createTable);
+            DML_LOG.debug(createTable);
+        } else {
+            throw new AchillesInvalidTableException("The required generic table '" + CQL_SHARDED_COUNTER_TABLE + "' does not exist");
+        }
+    }
+
+    public void createTableForChunk(Session session, ConfigurationContext configContext) {
+        log.debug("Create table for Achilles chunks");
+
+        if (configContext.isForceColumnFamilyCreation()) {
+            final String createTable = SchemaBuilder.createTable(CQL_CHUNK_TABLE)
+                    .addPartitionKey(CQL_CHUNK_FQCN, DataType.text())
+                    .addPartitionKey(CQL_CHUNK_PRIMARY_KEY, DataType.text())
+                    .addPartitionKey(CQL_CHUNK_PROPERTY_NAME, DataType.text())
+                    .addClusteringKey(CQL_CHUNK_SET, DataType.bigint())
+                    .addClusteringKey(CQL_CHUNK_INDEX, DataType.cint())
+                    .addColumn(CQL_CHUNK_DATA, DataType.blob())
+                    .addColumn(CQL_CHUNK_CURRENT_SET, DataType.bigint())
+                    .withOptions().comment("Create default Achilles chunk table \"" + CQL_CHUNK_TABLE + "\"")
+                    .build();
+
+            session.execute(createTable);
+            DML_LOG.debug(createTable);
+        } else {
+            throw new AchillesInvalidTableException("The required generic table '" + CQL_CHUNK_TABLE + "' does not exist");
+        }
+    }
+
     private void createTable(Session session, EntityMeta entityMeta) {
         String tableName = TableNameNormalizer.normalizerAndValidateColumnFamilyName(entityMeta.getTableName());
         final List<String> indexes = new LinkedList<>();
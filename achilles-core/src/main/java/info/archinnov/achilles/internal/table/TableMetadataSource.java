@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.table;
+
+import java.util.Collection;
+import java.util.Map;
+import com.datastax.driver.core.TableMetadata;
+
+/**
+ * Look up the tables which already exist in a keyspace, so that they are validated instead of created
+ */
+public interface TableMetadataSource {
+
+    /**
+     * @param keyspaceName keyspace to look into
+     * @return existing tables of the keyspace, by table name
+     */
+    Map<String, TableMetadata> fetchTableMetaData(String keyspaceName);
+
+    /**
+     * @param keyspaceName keyspace to look into
+     * @param tableNames tables to look for
+     * @return existing tables among the given ones, by table name
+     */
+    Map<String, TableMetadata> fetchTableMetaData(String keyspaceName, Collection<String> tableNames);
+}
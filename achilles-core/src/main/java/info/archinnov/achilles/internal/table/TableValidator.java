@@ -17,12 +17,24 @@ package info.archinnov.achilles.internal.table;
 
 import static com.datastax.driver.core.DataType.counter;
 import static com.datastax.driver.core.DataType.text;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_CURRENT_SET;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_DATA;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_FQCN;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_INDEX;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_PRIMARY_KEY;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_PROPERTY_NAME;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_SET;
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_TABLE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_FQCN;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PRIMARY_KEY;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PROPERTY_NAME;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_SHARD;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_VALUE;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_SHARDED_COUNTER_TABLE;
 import static info.archinnov.achilles.internal.cql.TypeMapper.toCQLType;
+import static java.util.Arrays.asList;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.List;
 import org.slf4j.Logger;
@@ -125,6 +137,83 @@ public class TableValidator {
                         .getName(), counterTypeName);
     }
 
+    public void validateAchillesChunk(KeyspaceMetadata keyspaceMetaData, String keyspaceName) {
+        log.debug("Validate existing Achilles Chunk table");
+
+        TableMetadata tableMetaData = keyspaceMetaData.getTable(CQL_CHUNK_TABLE);
+        Validator.validateTableTrue(tableMetaData != null, "Cannot find table '%s' from keyspace '%s'",
+                CQL_CHUNK_TABLE, keyspaceName);
+
+        for (String partitionColumn : asList(CQL_CHUNK_FQCN, CQL_CHUNK_PRIMARY_KEY, CQL_CHUNK_PROPERTY_NAME)) {
+            Validator.validateTableTrue(tableMetaData.getColumn(partitionColumn) != null,
+                    "Cannot find column '%s' from table '%s'", partitionColumn, CQL_CHUNK_TABLE);
+            validatePartitionComponent(tableMetaData, partitionColumn, String.class);
+        }
+
+        Validator.validateTableTrue(tableMetaData.getColumn(CQL_CHUNK_SET) != null,
+                "Cannot find column '%s' from table '%s'", CQL_CHUNK_SET, CQL_CHUNK_TABLE);
+        validateClusteringComponent(tableMetaData, CQL_CHUNK_SET, Long.class);
+
+        Validator.validateTableTrue(tableMetaData.getColumn(CQL_CHUNK_INDEX) != null,
+                "Cannot find column '%s' from table '%s'", CQL_CHUNK_INDEX, CQL_CHUNK_TABLE);
+        validateClusteringComponent(tableMetaData, CQL_CHUNK_INDEX, Integer.class);
+
+        ColumnMetadata dataColumn = tableMetaData.getColumn(CQL_CHUNK_DATA);
+        Validator.validateTableTrue(dataColumn != null, "Cannot find column '%s' from table '%s'", CQL_CHUNK_DATA,
+                CQL_CHUNK_TABLE);
+        validateColumnType(CQL_CHUNK_TABLE, CQL_CHUNK_DATA, dataColumn, ByteBuffer.class);
+
+        ColumnMetadata currentSetColumn = tableMetaData.getColumn(CQL_CHUNK_CURRENT_SET);
+        Validator.validateTableTrue(currentSetColumn != null, "Cannot find column '%s' from table '%s'", CQL_CHUNK_CURRENT_SET,
+                CQL_CHUNK_TABLE);
+        validateColumnType(CQL_CHUNK_TABLE, CQL_CHUNK_CURRENT_SET, currentSetColumn, Long.class);
+    }
+
+    public void validateDedicatedCounterTable(EntityMeta entityMeta, TableMetadata tableMetaData) {
+        final String counterTableName = tableMetaData.getName();
+        log.debug("Validate existing dedicated counter table {} for entity {}", counterTableName, entityMeta.getClassName());
+
+        Validator.validateTableTrue(tableMetaData.getColumn(CQL_COUNTER_PRIMARY_KEY) != null,
+                "Cannot find column '%s' from table '%s'", CQL_COUNTER_PRIMARY_KEY, counterTableName);
+        validatePartitionComponent(tableMetaData, CQL_COUNTER_PRIMARY_KEY, String.class);
+
+        Validator.validateTableTrue(tableMetaData.getColumn(CQL_COUNTER_PROPERTY_NAME) != null,
+                "Cannot find column '%s' from table '%s'", CQL_COUNTER_PROPERTY_NAME, counterTableName);
+        validateClusteringComponent(tableMetaData, CQL_COUNTER_PROPERTY_NAME, String.class);
+
+        ColumnMetadata counterValueColumn = tableMetaData.getColumn(CQL_COUNTER_VALUE);
+        Validator.validateTableTrue(counterValueColumn != null, "Cannot find column '%s' from table '%s'",
+                CQL_COUNTER_VALUE, counterTableName);
+        validateColumnType(counterTableName, CQL_COUNTER_VALUE, counterValueColumn, Counter.class);
+    }
+
+    public void validateAchillesShardedCounter(KeyspaceMetadata keyspaceMetaData, String keyspaceName) {
+        log.debug("Validate existing Achilles sharded Counter table");
+
+        TableMetadata tableMetaData = keyspaceMetaData.getTable(CQL_SHARDED_COUNTER_TABLE);
+        Validator.validateTableTrue(tableMetaData != null, "Cannot find table '%s' from keyspace '%s'",
+                CQL_SHARDED_COUNTER_TABLE, keyspaceName);
+
+        for (String partitionColumn : asList(CQL_COUNTER_FQCN, CQL_COUNTER_PRIMARY_KEY)) {
+            Validator.validateTableTrue(tableMetaData.getColumn(partitionColumn) != null,
+                    "Cannot find column '%s' from table '%s'", partitionColumn, CQL_SHARDED_COUNTER_TABLE);
+            validatePartitionComponent(tableMetaData, partitionColumn, String.class);
+        }
+
+        Validator.validateTableTrue(tableMetaData.getColumn(CQL_COUNTER_SHARD) != null,
+                "Cannot find column '%s' from table '%s'", CQL_COUNTER_SHARD, CQL_SHARDED_COUNTER_TABLE);
+        validatePartitionComponent(tableMetaData, CQL_COUNTER_SHARD, Integer.class);
+
+        Validator.validateTableTrue(tableMetaData.getColumn(CQL_COUNTER_PROPERTY_NAME) != null,
+                "Cannot find column '%s' from table '%s'", CQL_COUNTER_PROPERTY_NAME, CQL_SHARDED_COUNTER_TABLE);
+        validateClusteringComponent(tableMetaData, CQL_COUNTER_PROPERTY_NAME, String.class);
+
+        ColumnMetadata counterValueColumn = tableMetaData.getColumn(CQL_COUNTER_VALUE);
+        Validator.validateTableTrue(counterValueColumn != null, "Cannot find column '%s' from table '%s'",
+                CQL_COUNTER_VALUE, CQL_SHARDED_COUNTER_TABLE);
+        validateColumnType(CQL_SHARDED_COUNTER_TABLE, CQL_COUNTER_VALUE, counterValueColumn, Counter.class);
+    }
+
     private void validateCounterColumnForClusteredCounters(TableMetadata tableMetaData, PropertyMeta propertyMeta, boolean schemaUpdateEnabled) {
         String columnName = propertyMeta.getPropertyName().toLowerCase();
 
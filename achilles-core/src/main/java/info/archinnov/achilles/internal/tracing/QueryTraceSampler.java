@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.exceptions.TraceRetrievalException;
+import info.archinnov.achilles.internal.management.LazyDaemonExecutor;
+import info.archinnov.achilles.internal.management.MBeanRegistrar;
+import info.archinnov.achilles.internal.management.ManagedComponent;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.tracing.QueryTraceRecord;
+import info.archinnov.achilles.tracing.RingBufferTraceSink;
+import info.archinnov.achilles.tracing.TraceSink;
+
+/**
+ * Probabilistic sampling of the statements to trace with Cassandra query tracing.
+ *
+ * A statement is sampled with the rate of its table, or the default rate. Rates can be changed at runtime
+ * through the <em>QueryTracing</em> JMX MBean. The traces of the sampled statements are fetched on a single
+ * background thread, never on the request thread, then handed to the sinks. At most <em>MAX_PENDING_TRACES</em>
+ * traces wait to be fetched, the others are dropped. Once shut down, the sampler no longer collects traces
+ */
+public class QueryTraceSampler extends ManagedComponent implements QueryTraceSamplerMBean {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryTraceSampler.class);
+
+    public static final QueryTraceSampler DISABLED = new QueryTraceSampler();
+
+    static final int MAX_PENDING_TRACES = 1000;
+
+    private final boolean jmxEnabled;
+    private final List<TraceSink> sinks;
+
+    private volatile double defaultSampleRate;
+    private final ConcurrentMap<String, Double> sampleRatesByTable = new ConcurrentHashMap<>();
+
+    private final AtomicLong sampledCount = new AtomicLong(0);
+    private final AtomicLong collectedCount = new AtomicLong(0);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+
+    private final LazyDaemonExecutor<ExecutorService> collectExecutor = new LazyDaemonExecutor<ExecutorService>(
+            "achilles-trace-collector-%d") {
+        @Override
+        protected ExecutorService create(ThreadFactory threadFactory) {
+            return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(MAX_PENDING_TRACES), threadFactory, new RejectedExecutionHandler() {
+                        @Override
+                        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+                            droppedCount.incrementAndGet();
+                        }
+                    });
+        }
+    };
+
+    private QueryTraceSampler() {
+        this.jmxEnabled = false;
+        this.sinks = Collections.emptyList();
+    }
+
+    public QueryTraceSampler(MBeanRegistrar mBeanRegistrar, double defaultSampleRate, Map<String, Double> sampleRatesByTable,
+            List<TraceSink> sinks, boolean jmxEnabled) {
+        super(mBeanRegistrar);
+        this.jmxEnabled = jmxEnabled;
+        this.sinks = sinks;
+        setDefaultSampleRate(defaultSampleRate);
+        for (Map.Entry<String, Double> entry : sampleRatesByTable.entrySet()) {
+            setSampleRate(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public static QueryTraceSampler orDisabled(QueryTraceSampler queryTraceSampler) {
+        return orDisabled(queryTraceSampler, DISABLED);
+    }
+
+    public boolean shouldTrace(Class<?> entityClass) {
+        if (!enabled) {
+            return false;
+        }
+        double sampleRate = defaultSampleRate;
+        if (!sampleRatesByTable.isEmpty()) {
+            final String tableName = tableNameByEntity.get(entityClass);
+            final Double tableSampleRate = tableName == null ? null : sampleRatesByTable.get(tableName);
+            if (tableSampleRate != null) {
+                sampleRate = tableSampleRate;
+            }
+        }
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            sampledCount.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fetch asynchronously the trace of a sampled statement and hand it to the sinks
+     */
+    public void collect(final Class<?> entityClass, final String queryString, final ExecutionInfo executionInfo) {
+        if (!enabled || executionInfo == null) {
+            return;
+        }
+        final ExecutorService executor = collectExecutor.get();
+        if (executor == null) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                publish(entityClass, queryString, executionInfo);
+            }
+        });
+    }
+
+    void publish(Class<?> entityClass, String queryString, ExecutionInfo executionInfo) {
+        final QueryTraceRecord record;
+        try {
+            final QueryTrace trace = executionInfo.getQueryTrace();
+            if (trace == null) {
+                return;
+            }
+            record = toRecord(entityClass, queryString, executionInfo, trace);
+        } catch (TraceRetrievalException e) {
+            log.debug("Cannot retrieve trace of statement [{}], reason: {}", queryString, e.getMessage());
+            return;
+        }
+        collectedCount.incrementAndGet();
+        for (TraceSink sink : sinks) {
+            try {
+                sink.accept(record);
+            } catch (RuntimeException e) {
+                log.warn("Achilles trace sink {} failed", sink.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Register the JMX MBeans
+     */
+    @Override
+    protected void onStart() {
+        if (jmxEnabled) {
+            mBeanRegistrar.register(this, this, "QueryTracing");
+            int index = 0;
+            for (TraceSink sink : sinks) {
+                if (sink instanceof RingBufferTraceSink) {
+                    mBeanRegistrar.register(this, sink, "QueryTraceBuffer", "sink=" + (index++));
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop the background collection, the traces of statements executed afterwards are no longer collected
+     */
+    @Override
+    protected void onShutDown() {
+        collectExecutor.shutDown();
+    }
+
+    @Override
+    public double getDefaultSampleRate() {
+        return defaultSampleRate;
+    }
+
+    @Override
+    public void setDefaultSampleRate(double sampleRate) {
+        validateSampleRate(sampleRate);
+        this.defaultSampleRate = sampleRate;
+    }
+
+    @Override
+    public Map<String, Double> getSampleRates() {
+        return new HashMap<>(sampleRatesByTable);
+    }
+
+    @Override
+    public void setSampleRate(String tableName, double sampleRate) {
+        Validator.validateNotBlank(tableName, "The table name to sample should not be blank");
+        validateSampleRate(sampleRate);
+        sampleRatesByTable.put(tableName.toLowerCase(), sampleRate);
+    }
+
+    @Override
+    public void removeSampleRate(String tableName) {
+        sampleRatesByTable.remove(tableName.toLowerCase());
+    }
+
+    @Override
+    public long getSampledCount() {
+        return sampledCount.get();
+    }
+
+    @Override
+    public long getCollectedCount() {
+        return collectedCount.get();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    void setCollectExecutor(ExecutorService collectExecutor) {
+        this.collectExecutor.set(collectExecutor);
+    }
+
+    private QueryTraceRecord toRecord(Class<?> entityClass, String queryString, ExecutionInfo executionInfo, QueryTrace trace) {
+        final List<QueryTrace.Event> events = new ArrayList<>(trace.getEvents());
+        Collections.sort(events, new Comparator<QueryTrace.Event>() {
+            @Override
+            public int compare(QueryTrace.Event event1, QueryTrace.Event event2) {
+                return String.valueOf(event1.getSource()).compareTo(String.valueOf(event2.getSource()));
+            }
+        });
+        final List<QueryTraceRecord.Event> recordEvents = new ArrayList<>(events.size());
+        for (QueryTrace.Event event : events) {
+            recordEvents.add(new QueryTraceRecord.Event(event.getDescription(), String.valueOf(event.getSource()),
+                    event.getSourceElapsedMicros(), event.getThreadName()));
+        }
+        return new QueryTraceRecord(entityClass == null ? "unknown" : entityClass.getName(), queryString,
+                String.valueOf(executionInfo.getQueriedHost()), trace.getTraceId(), trace.getStartedAt(),
+                trace.getDurationMicros(), recordEvents);
+    }
+
+    private void validateSampleRate(double sampleRate) {
+        Validator.validateTrue(sampleRate >= 0 && sampleRate <= 1, "The query tracing sample rate '%s' should be between 0 and 1", sampleRate);
+    }
+}
@@ -27,10 +27,18 @@ import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
  * The goods are here: www.ietf.org/rfc/rfc4122.txt.
+ * <br/>
+ * Time UUIDs take their 100 nanos tick from a single CAS on the last tick issued, max(now, last + 1).
+ * They are unique and strictly increasing across all threads of the JVM, in the order the calls complete.
+ * More than 10k UUIDs in a millisecond run ahead of the wall clock by one tick per extra UUID,
+ * and the clock catches up as soon as the rate drops.
+ * <br/>
+ * Micro timestamps come from a separate CAS clock with the same guarantees
  */
 public class UUIDGen
 {
@@ -41,7 +49,9 @@ public class UUIDGen
     // placement of this singleton is important.  It needs to be instantiated *AFTER* the other statics.
     private static final UUIDGen instance = new UUIDGen();
 
-    private long lastNanos;
+    private final AtomicLong lastNanos = new AtomicLong();
+
+    private final AtomicLong lastMicros = new AtomicLong();
 
     private UUIDGen()
     {
@@ -71,9 +81,11 @@ public class UUIDGen
         return (timestamp / 10) + START_EPOCH * 1000 + remainder;
     }
 
+    /**
+     * @return microseconds since Unix epoch, strictly increasing across all threads
+     */
     public static long increasingMicroTimestamp() {
-        final UUID timeUUID = getTimeUUID();
-        return microsTimestamp(timeUUID);
+        return instance.createMicrosSafe();
     }
 
 
@@ -89,16 +101,29 @@ public class UUIDGen
     }
 
     // needs to return two different values for the same when.
-    // we can generate at most 10k UUIDs per ms.
-    private synchronized long createTimeSafe()
+    // we can generate at most 10k UUIDs per ms before running ahead of the wall clock.
+    private long createTimeSafe()
     {
-        long nanosSince = (System.currentTimeMillis() - START_EPOCH) * 10000;
-        if (nanosSince > lastNanos)
-            lastNanos = nanosSince;
-        else
-            nanosSince = ++lastNanos;
+        final long nanosSince = (System.currentTimeMillis() - START_EPOCH) * 10000;
+        while (true)
+        {
+            final long last = lastNanos.get();
+            final long next = nanosSince > last ? nanosSince : last + 1;
+            if (lastNanos.compareAndSet(last, next))
+                return createTime(next);
+        }
+    }
 
-        return createTime(nanosSince);
+    private long createMicrosSafe()
+    {
+        final long micros = System.currentTimeMillis() * 1000;
+        while (true)
+        {
+            final long last = lastMicros.get();
+            final long next = micros > last ? micros : last + 1;
+            if (lastMicros.compareAndSet(last, next))
+                return next;
+        }
     }
 
 
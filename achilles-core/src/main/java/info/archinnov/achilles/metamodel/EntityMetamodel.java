@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.metamodel;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static metadata of an entity, generated at compile time by the Achilles annotation processor
+ * as the <em>Entity_</em> class living next to the entity.
+ * <br/>
+ * It exposes the table name, the partition keys and clustering columns as well as the
+ * accessors of the non private mapped fields
+ *
+ * @param <T> entity type
+ */
+public abstract class EntityMetamodel<T> {
+
+    public static final String CLASS_SUFFIX = "_";
+
+    public static final String INSTANCE_FIELD = "METAMODEL";
+
+    private final Class<T> entityClass;
+
+    private final String tableName;
+
+    private final List<String> partitionKeys;
+
+    private final List<String> clusteringColumns;
+
+    private final Map<String, PropertyAccessor> accessors = new LinkedHashMap<>();
+
+    protected EntityMetamodel(Class<T> entityClass, String tableName, List<String> partitionKeys, List<String> clusteringColumns) {
+        this.entityClass = entityClass;
+        this.tableName = tableName;
+        this.partitionKeys = Collections.unmodifiableList(partitionKeys);
+        this.clusteringColumns = Collections.unmodifiableList(clusteringColumns);
+    }
+
+    protected void addAccessor(String fieldName, PropertyAccessor accessor) {
+        accessors.put(fieldName, accessor);
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<String> getPartitionKeys() {
+        return partitionKeys;
+    }
+
+    public List<String> getClusteringColumns() {
+        return clusteringColumns;
+    }
+
+    public PropertyAccessor getAccessor(String fieldName) {
+        return accessors.get(fieldName);
+    }
+
+    public Map<String, PropertyAccessor> getAccessors() {
+        return Collections.unmodifiableMap(accessors);
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.metamodel;
+
+/**
+ * Direct access to a mapped field of an entity, generated at compile time by the Achilles annotation processor.
+ * <br/>
+ * When available, it replaces the reflective field access for the property
+ */
+public interface PropertyAccessor {
+
+    Object get(Object entity);
+
+    void set(Object entity, Object value);
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import java.util.List;
+import com.google.common.base.Objects;
+
+/**
+ * Snapshot of the metrics of a PersistenceManagerFactory
+ *
+ * <ul>
+ *     <li><strong>factoryName</strong>: name of the factory, also used in the JMX object names</li>
+ *     <li><strong>timestamp</strong>: time of the snapshot, in milliseconds since epoch</li>
+ *     <li><strong>operations</strong>: statistics of every operation executed at least once</li>
+ *     <li><strong>preparedStatementCacheHits</strong>, <strong>preparedStatementCacheMisses</strong>,
+ *     <strong>preparedStatementCacheEvictions</strong>: dynamic prepared statements cache activity</li>
+ *     <li><strong>proxyCreations</strong>: number of entity proxies created</li>
+ * </ul>
+ */
+public class MetricsSnapshot {
+
+    private final String factoryName;
+    private final long timestamp;
+    private final List<OperationStatistics> operations;
+    private final long preparedStatementCacheHits;
+    private final long preparedStatementCacheMisses;
+    private final long preparedStatementCacheEvictions;
+    private final long proxyCreations;
+
+    public MetricsSnapshot(String factoryName, long timestamp, List<OperationStatistics> operations,
+            long preparedStatementCacheHits, long preparedStatementCacheMisses, long preparedStatementCacheEvictions,
+            long proxyCreations) {
+        this.factoryName = factoryName;
+        this.timestamp = timestamp;
+        this.operations = operations;
+        this.preparedStatementCacheHits = preparedStatementCacheHits;
+        this.preparedStatementCacheMisses = preparedStatementCacheMisses;
+        this.preparedStatementCacheEvictions = preparedStatementCacheEvictions;
+        this.proxyCreations = proxyCreations;
+    }
+
+    public String getFactoryName() {
+        return factoryName;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public List<OperationStatistics> getOperations() {
+        return operations;
+    }
+
+    public long getPreparedStatementCacheHits() {
+        return preparedStatementCacheHits;
+    }
+
+    public long getPreparedStatementCacheMisses() {
+        return preparedStatementCacheMisses;
+    }
+
+    public long getPreparedStatementCacheEvictions() {
+        return preparedStatementCacheEvictions;
+    }
+
+    public long getProxyCreations() {
+        return proxyCreations;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this.getClass())
+                .add("factoryName", factoryName)
+                .add("timestamp", timestamp)
+                .add("operations", operations)
+                .add("preparedStatementCacheHits", preparedStatementCacheHits)
+                .add("preparedStatementCacheMisses", preparedStatementCacheMisses)
+                .add("preparedStatementCacheEvictions", preparedStatementCacheEvictions)
+                .add("proxyCreations", proxyCreations).toString();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import com.google.common.base.Objects;
+
+/**
+ * Snapshot of the metrics of one operation on one entity
+ *
+ * <ul>
+ *     <li><strong>entity</strong>: entity class name. <em>NativeQuery</em> and <em>Batch</em> for operations not bound to an entity</li>
+ *     <li><strong>operation</strong>: instrumented operation</li>
+ *     <li><strong>count</strong>: number of executions, failed ones included</li>
+ *     <li><strong>errors</strong>: number of executions which raised an exception</li>
+ *     <li><strong>meanMicros</strong>, <strong>p50Micros</strong>, <strong>p95Micros</strong>, <strong>p99Micros</strong>,
+ *     <strong>maxMicros</strong>: latency distribution, in microseconds</li>
+ * </ul>
+ */
+public class OperationStatistics {
+
+    private final String entity;
+    private final Operation operation;
+    private final long count;
+    private final long errors;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p95Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+
+    public OperationStatistics(String entity, Operation operation, long count, long errors, long meanMicros,
+            long p50Micros, long p95Micros, long p99Micros, long maxMicros) {
+        this.entity = entity;
+        this.operation = operation;
+        this.count = count;
+        this.errors = errors;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p95Micros = p95Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getMeanMicros() {
+        return meanMicros;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP95Micros() {
+        return p95Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this.getClass())
+                .add("entity", entity)
+                .add("operation", operation)
+                .add("count", count)
+                .add("errors", errors)
+                .add("meanMicros", meanMicros)
+                .add("p50Micros", p50Micros)
+                .add("p95Micros", p95Micros)
+                .add("p99Micros", p99Micros)
+                .add("maxMicros", maxMicros).toString();
+    }
+}
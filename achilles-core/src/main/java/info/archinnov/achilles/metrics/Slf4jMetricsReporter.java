@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Log the metrics at INFO level, one line per operation, with the <strong>ACHILLES_METRICS</strong> logger
+ */
+public class Slf4jMetricsReporter implements MetricsReporter {
+
+    public static final String METRICS_LOGGER = "ACHILLES_METRICS";
+
+    private static final Logger log = LoggerFactory.getLogger(METRICS_LOGGER);
+
+    @Override
+    public void report(MetricsSnapshot snapshot) {
+        if (log.isInfoEnabled()) {
+            log.info("Achilles metrics for '{}': prepared statements cache hits={}, misses={}, evictions={}, proxies created={}",
+                    snapshot.getFactoryName(), snapshot.getPreparedStatementCacheHits(), snapshot.getPreparedStatementCacheMisses(),
+                    snapshot.getPreparedStatementCacheEvictions(), snapshot.getProxyCreations());
+            for (OperationStatistics statistics : snapshot.getOperations()) {
+                log.info("{}", statistics);
+            }
+        }
+    }
+}
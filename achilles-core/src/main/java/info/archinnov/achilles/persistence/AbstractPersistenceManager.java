@@ -39,6 +39,8 @@ import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.context.facade.PersistenceManagerOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.holder.TimeBucketProperties;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
 import info.archinnov.achilles.internal.persistence.operations.OptionsValidator;
@@ -80,6 +82,7 @@ abstract class AbstractPersistenceManager {
     }
 
     protected <T> T insert(final T entity, Options options) {
+        assignTimeBucket(entity);
         entityValidator.validateEntity(entity, entityMetaMap);
 
         optionsValidator.validateOptionsForUpsert(entity, entityMetaMap, options);
@@ -88,17 +91,48 @@ abstract class AbstractPersistenceManager {
         return context.persist(entity);
     }
 
+    protected void insertRaw(final Object entity, Options options) {
+        assignTimeBucket(entity);
+        entityValidator.validateEntity(entity, entityMetaMap);
+
+        optionsValidator.validateOptionsForUpsert(entity, entityMetaMap, options);
+        proxifier.ensureNotProxy(entity);
+        PersistenceManagerOperations context = initPersistenceContext(entity, options);
+        context.persistWithoutProxy(entity);
+    }
+
     protected void update(Object entity, Options options) {
         proxifier.ensureProxy(entity);
         Object realObject = proxifier.getRealObject(entity);
+        assignTimeBucket(realObject);
         entityValidator.validateEntity(realObject, entityMetaMap);
         optionsValidator.validateOptionsForUpsert(entity, entityMetaMap, options);
         PersistenceManagerOperations context = initPersistenceContext(realObject, options);
         context.update(entity);
     }
 
+    protected <T> void updateDetached(T entity, T snapshot, Options options) {
+        Validator.validateNotNull(options, "Options should not be null for detached update");
+        proxifier.ensureNotProxy(entity);
+        assignTimeBucket(entity);
+        entityValidator.validateEntity(entity, entityMetaMap);
+        optionsValidator.validateOptionsForUpsert(entity, entityMetaMap, options);
+        final EntityMeta meta = entityMetaMap.get(proxifier.deriveBaseClass(entity));
+        Validator.validateFalse(meta.isClusteredCounter(), "Cannot update detached clustered counter entity '%s'. Please use a proxy instead", meta.getClassName());
+
+        PersistenceManagerOperations context = initPersistenceContext(entity, options);
+        if (snapshot == null) {
+            context.updateDetached();
+        } else {
+            assignTimeBucket(proxifier.getRealObject(snapshot));
+            entityValidator.validateEntity(proxifier.getRealObject(snapshot), entityMetaMap);
+            context.updateDetached(snapshot);
+        }
+    }
+
     protected void remove(final Object entity, Options options) {
         Object realObject = proxifier.getRealObject(entity);
+        assignTimeBucket(realObject);
         entityValidator.validateEntity(realObject, entityMetaMap);
         PersistenceManagerOperations context = initPersistenceContext(realObject, options);
         context.remove();
@@ -108,6 +142,7 @@ abstract class AbstractPersistenceManager {
         Validator.validateNotNull(entityClass, "The entity class should not be null for removal by id");
         Validator.validateNotNull(primaryKey, "The primary key should not be null for removal by id");
         PersistenceManagerOperations context = initPersistenceContext(entityClass, primaryKey, options);
+        assignTimeBucket(context.getIdMeta(), primaryKey);
         entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
         context.remove();
     }
@@ -119,6 +154,7 @@ abstract class AbstractPersistenceManager {
         Validator.validateTrue(entityMetaMap.containsKey(entityClass),"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
 
         PersistenceManagerOperations context = initPersistenceContext(entityClass, primaryKey, withConsistency(readLevel));
+        assignTimeBucket(context.getIdMeta(), primaryKey);
         entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
         return context.find(entityClass);
     }
@@ -130,6 +166,7 @@ abstract class AbstractPersistenceManager {
         Validator.validateTrue(entityMetaMap.containsKey(entityClass),"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
 
         PersistenceManagerOperations context = initPersistenceContext(entityClass, primaryKey, withConsistency(readLevel));
+        assignTimeBucket(context.getIdMeta(), primaryKey);
         entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
         return context.getProxy(entityClass);
     }
@@ -142,6 +179,28 @@ abstract class AbstractPersistenceManager {
         context.refresh(entity);
     }
 
+    /**
+     * Time buckets are derived from the clustering components rather than provided by the user, so they are
+     * assigned to the primary key of the entity before it is validated
+     */
+    protected void assignTimeBucket(Object entity) {
+        if (entity == null) {
+            return;
+        }
+        final Object realObject = proxifier.getRealObject(entity);
+        final EntityMeta meta = entityMetaMap.get(proxifier.deriveBaseClass(realObject));
+        if (meta != null && meta.isTimeBucketed()) {
+            assignTimeBucket(meta.getIdMeta(), meta.getPrimaryKey(realObject));
+        }
+    }
+
+    protected void assignTimeBucket(PropertyMeta idMeta, Object primaryKey) {
+        final TimeBucketProperties timeBucketProperties = idMeta.getTimeBucketProperties();
+        if (timeBucketProperties != null && primaryKey != null) {
+            timeBucketProperties.assignBucket(primaryKey);
+        }
+    }
+
     protected <T> T initialize(final T entity) {
         proxifier.ensureProxy(entity);
         T realObject = proxifier.getRealObject(entity);
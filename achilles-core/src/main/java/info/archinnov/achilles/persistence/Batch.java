@@ -27,6 +27,7 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.statement.wrapper.NativeQueryLog;
 import info.archinnov.achilles.internal.statement.wrapper.NativeStatementWrapper;
 import info.archinnov.achilles.internal.utils.UUIDGen;
+import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.listener.CASResultListener;
 import info.archinnov.achilles.query.cql.NativeQueryValidator;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -200,6 +201,45 @@ public class Batch extends CommonPersistenceManager {
         }
     }
 
+    /**
+     * Batch insert an entity without building a proxy.
+     *
+     *  <pre class="code"><code class="java">
+     *      Batch batch = manager.createBatch();
+     *
+     *      batch.insertRaw(myEntity);
+     *
+     *      ...
+     *
+     *      batch.flushBatch();
+     *  </code></pre>
+     *
+     * @param entity
+     *            Entity to be inserted
+     */
+    @Override
+    public void insertRaw(Object entity) {
+        super.insertRaw(entity, maybeAddTimestampToStatement(noOptions()));
+    }
+
+    /**
+     * Batch insert an entity with the given options without building a proxy.
+     *
+     * @param entity
+     *            Entity to be inserted
+     * @param options
+     *            options
+     */
+    @Override
+    public void insertRaw(Object entity, Options options) {
+        if (options.getConsistencyLevel().isPresent()) {
+            flushContext = flushContext.duplicateWithNoData();
+            throw new AchillesException("Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
+        } else {
+            super.insertRaw(entity, maybeAddTimestampToStatement(options));
+        }
+    }
+
     /**
      * Batch update a "managed" entity
      *
@@ -285,6 +325,7 @@ public class Batch extends CommonPersistenceManager {
             flushContext = flushContext.duplicateWithNoData();
             throw new AchillesException("Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
         } else {
+            assignTimeBucket(entity);
             entityValidator.validateEntity(entity, entityMetaMap);
 
             if (proxifier.isProxy(entity)) {
@@ -296,6 +337,81 @@ public class Batch extends CommonPersistenceManager {
         }
     }
 
+    /**
+     * Batch update a "detached" entity by diffing it against a snapshot
+     *
+     *  <pre class="code"><code class="java">
+     *      Batch batch = manager.createBatch();
+     *
+     *      batch.updateDetached(detachedUser, snapshotUser);
+     *
+     *      ...
+     *
+     *      batch.flushBatch();
+     *  </code></pre>
+     *
+     * @param entity
+     *            Detached entity to be updated
+     * @param snapshot
+     *            Previously captured state of the entity
+     */
+    @Override
+    public <T> void updateDetached(T entity, T snapshot) {
+        super.updateDetached(entity, snapshot, maybeAddTimestampToStatement(noOptions()));
+    }
+
+    /**
+     * Batch update a "detached" entity by diffing it against a snapshot, with options
+     *
+     * @param entity
+     *            Detached entity to be updated
+     * @param snapshot
+     *            Previously captured state of the entity
+     * @param options
+     *            options
+     */
+    @Override
+    public <T> void updateDetached(T entity, T snapshot, Options options) {
+        Validator.validateNotNull(options, "Options should not be null for detached update");
+        if (options.getConsistencyLevel().isPresent()) {
+            flushContext = flushContext.duplicateWithNoData();
+            throw new AchillesException("Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
+        } else {
+            super.updateDetached(entity, snapshot, maybeAddTimestampToStatement(options));
+        }
+    }
+
+    /**
+     * Batch update a "detached" entity by diffing it against its current state read from Cassandra.
+     * The read is executed immediately, only the resulting update is batched
+     *
+     * @param entity
+     *            Detached entity to be updated
+     */
+    @Override
+    public void updateDetached(Object entity) {
+        super.updateDetached(entity, maybeAddTimestampToStatement(noOptions()));
+    }
+
+    /**
+     * Batch update a "detached" entity by diffing it against its current state read from Cassandra, with options
+     *
+     * @param entity
+     *            Detached entity to be updated
+     * @param options
+     *            options
+     */
+    @Override
+    public void updateDetached(Object entity, Options options) {
+        Validator.validateNotNull(options, "Options should not be null for detached update. To diff against a snapshot, use updateDetached(entity, snapshot)");
+        if (options.getConsistencyLevel().isPresent()) {
+            flushContext = flushContext.duplicateWithNoData();
+            throw new AchillesException("Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
+        } else {
+            super.updateDetached(entity, maybeAddTimestampToStatement(options));
+        }
+    }
+
     /**
      * Batch remove an entity.
      *
@@ -431,6 +547,7 @@ public class Batch extends CommonPersistenceManager {
     public void batchNativeStatementWithCASListener(RegularStatement regularStatement, CASResultListener casResultListener, Object... boundValues) {
         validator.validateUpsertOrDelete(regularStatement);
         final NativeStatementWrapper nativeStatementWrapper = new NativeStatementWrapper(NativeQueryLog.class, regularStatement, boundValues, Optional.fromNullable(casResultListener));
+        daoContext.attachRoutingKey(nativeStatementWrapper);
         flushContext.pushStatement(nativeStatementWrapper);
     }
 
@@ -24,6 +24,7 @@ import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.Options;
 
 public class CommonPersistenceManager extends AbstractPersistenceManager {
@@ -71,6 +72,41 @@ public class CommonPersistenceManager extends AbstractPersistenceManager {
         return super.insert(entity, options);
     }
 
+    /**
+     * Insert an entity without building a proxy. Use this method when the inserted entity
+     * is not used afterwards, to avoid the cost of proxy creation.
+     *
+     *  <pre class="code"><code class="java">
+     *      // Fire and forget
+     *      manager.insertRaw(myEntity);
+     *  </code></pre>
+     *
+     * @param entity
+     *            Entity to be inserted
+     */
+    public void insertRaw(Object entity) {
+        log.debug("Inserting raw entity '{}'", entity);
+        super.insertRaw(entity, noOptions());
+    }
+
+    /**
+     * Insert an entity with the given options without building a proxy.
+     *
+     *  <pre class="code"><code class="java">
+     *      // Fire and forget
+     *      manager.insertRaw(myEntity, OptionsBuilder.withTtl(3600));
+     *  </code></pre>
+     *
+     * @param entity
+     *            Entity to be inserted
+     * @param options
+     *            options
+     */
+    public void insertRaw(Object entity, Options options) {
+        log.debug("Inserting raw entity '{}' with options {} ", entity, options);
+        super.insertRaw(entity, options);
+    }
+
     /**
      * Update a "managed" entity
      *
@@ -110,6 +146,87 @@ public class CommonPersistenceManager extends AbstractPersistenceManager {
     }
 
 
+    /**
+     * Update a "detached" entity (a raw, non proxified instance) by diffing it against a snapshot
+     * of its previous state. Only changed columns and collection/map deltas are written.
+     *
+     *  <pre class="code"><code class="java">
+     *      User snapshot = manager.removeProxy(manager.find(User.class,1L));
+     *      User detached = manager.deserializeFromJSON(User.class, json);
+     *
+     *      manager.updateDetached(detached, snapshot);
+     *  </code></pre>
+     *
+     * Counter fields are ignored, please use a "managed" entity to update counters
+     *
+     * @param entity
+     *            Detached entity to be updated
+     * @param snapshot
+     *            Previously captured state of the entity
+     */
+    public <T> void updateDetached(T entity, T snapshot) {
+        log.debug("Updating detached entity '{}' against snapshot '{}'", entity, snapshot);
+        Validator.validateNotNull(snapshot, "Snapshot should not be null for detached update");
+        super.updateDetached(entity, snapshot, noOptions());
+    }
+
+    /**
+     * Update a "detached" entity by diffing it against a snapshot, with options
+     *
+     *  <pre class="code"><code class="java">
+     *      manager.updateDetached(detached, snapshot, OptionsBuilder.withTtl(10));
+     *  </code></pre>
+     *
+     * @param entity
+     *            Detached entity to be updated
+     * @param snapshot
+     *            Previously captured state of the entity
+     * @param options
+     *            options
+     */
+    public <T> void updateDetached(T entity, T snapshot, Options options) {
+        log.debug("Updating detached entity '{}' against snapshot '{}' with options {}", entity, snapshot, options);
+        Validator.validateNotNull(snapshot, "Snapshot should not be null for detached update");
+        super.updateDetached(entity, snapshot, options);
+    }
+
+    /**
+     * Update a "detached" entity by diffing it against its current state read from Cassandra.
+     * Only changed columns and collection/map deltas are written.
+     *
+     *  <pre class="code"><code class="java">
+     *      User detached = manager.deserializeFromJSON(User.class, json);
+     *
+     *      // Read current state then write only the differences
+     *      manager.updateDetached(detached);
+     *  </code></pre>
+     *
+     * @param entity
+     *            Detached entity to be updated
+     */
+    public void updateDetached(Object entity) {
+        log.debug("Updating detached entity '{}'", entity);
+        super.updateDetached(entity, null, noOptions());
+    }
+
+    /**
+     * Update a "detached" entity by diffing it against its current state read from Cassandra, with options
+     *
+     *  <pre class="code"><code class="java">
+     *      manager.updateDetached(detached, OptionsBuilder.withConsistency(QUORUM));
+     *  </code></pre>
+     *
+     * @param entity
+     *            Detached entity to be updated
+     * @param options
+     *            options
+     */
+    public void updateDetached(Object entity, Options options) {
+        log.debug("Updating detached entity '{}' with options {}", entity, options);
+        Validator.validateNotNull(options, "Options should not be null for detached update. To diff against a snapshot, use updateDetached(entity, snapshot)");
+        super.updateDetached(entity, null, options);
+    }
+
     /**
      * Insert a "transient" entity or update a "managed" entity.
      *
@@ -135,6 +252,7 @@ public class CommonPersistenceManager extends AbstractPersistenceManager {
      *            options
      */
     public <T> T insertOrUpdate(T entity, Options options) {
+        assignTimeBucket(entity);
         entityValidator.validateEntity(entity, entityMetaMap);
         log.debug("Inserting or updating entity '{}' with options {}", proxifier.getRealObject(entity), options);
 
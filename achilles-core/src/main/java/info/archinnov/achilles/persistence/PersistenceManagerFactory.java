@@ -17,35 +17,64 @@ package info.archinnov.achilles.persistence;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BOOTSTRAP_LAZY_ENTITY_ACTIVATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BOOTSTRAP_PARALLELISM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_DEFAULT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_MAP;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_MAP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEDICATED_COUNTER_TABLES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HEDGED_READS_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HEDGED_READS_MIN_DELAY_MILLIS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HEDGED_READS_PERCENTILE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENABLE_SCHEMA_UPDATE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENABLE_SCHEMA_UPDATE_FOR_TABLES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITIES_LIST;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_JMX_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_RULES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_SEED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_JMX_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_REPORTERS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_REPORTING_PERIOD_SECONDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_JMX_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_SAMPLE_RATE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_SAMPLE_RATE_MAP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_SINKS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_MAX_LOGS_PER_SECOND;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_THRESHOLD_MAP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_THRESHOLD_MILLIS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_SESSION;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.JACKSON_MAPPER;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.JACKSON_MAPPER_FACTORY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_CACHE_SIZE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PROXIES_WARM_UP_DISABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RELAX_INDEX_VALIDATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCHEMA_FINGERPRINT_FILE;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Stopwatch;
 import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
+import info.archinnov.achilles.fault.FaultInjection;
+import info.archinnov.achilles.fault.FaultRule;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
@@ -53,12 +82,23 @@ import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.context.SchemaContext;
 import info.archinnov.achilles.internal.metadata.discovery.AchillesBootstrapper;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
 import info.archinnov.achilles.internal.proxy.ProxyClassFactory;
+import info.archinnov.achilles.internal.table.ClusterTableMetadataSource;
+import info.archinnov.achilles.internal.table.CounterTableMigrator;
+import info.archinnov.achilles.internal.table.EmptyTableMetadataSource;
+import info.archinnov.achilles.internal.table.TableMetadataSource;
 import info.archinnov.achilles.internal.utils.ConfigMap;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.metrics.MetricsReporter;
+import info.archinnov.achilles.metrics.MetricsSnapshot;
+import info.archinnov.achilles.tracing.TraceSink;
+import info.archinnov.achilles.type.CompressionStatistics;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.HedgedReadStatistics;
+import info.archinnov.achilles.type.InsertShapeStatistics;
 import info.archinnov.achilles.type.InsertStrategy;
 
 /**
@@ -81,16 +121,26 @@ public class PersistenceManagerFactory {
 
     ConfigMap configurationMap;
 
+    Map<String, Long> bootstrapTimings = new LinkedHashMap<>();
+
     private ArgumentExtractor argumentExtractor = new ArgumentExtractor();
 
     private AchillesBootstrapper bootstrapper = new AchillesBootstrapper();
 
     private ProxyClassFactory proxyClassFactory = new ProxyClassFactory();
+
+    private CounterTableMigrator counterTableMigrator = new CounterTableMigrator();
     private Cluster cluster;
+    private TableMetadataSource tableMetadataSource;
 
 
     PersistenceManagerFactory(Cluster cluster, Map<ConfigurationParameters, Object> configurationMap) {
+        this(cluster, new ClusterTableMetadataSource(cluster), configurationMap);
+    }
+
+    PersistenceManagerFactory(Cluster cluster, TableMetadataSource tableMetadataSource, Map<ConfigurationParameters, Object> configurationMap) {
         this.cluster = cluster;
+        this.tableMetadataSource = tableMetadataSource;
         Validator.validateNotNull(configurationMap, "Configuration map for PersistenceManagerFactory should not be null");
         Validator.validateNotEmpty(configurationMap, "Configuration map for PersistenceManagerFactory should not be empty");
         this.configurationMap = ConfigMap.fromMap(configurationMap);
@@ -101,28 +151,51 @@ public class PersistenceManagerFactory {
 
         log.info("Bootstrapping Achilles PersistenceManagerFactory for keyspace {}", keyspaceName);
 
+        final Stopwatch total = Stopwatch.createStarted();
+        final Stopwatch phase = Stopwatch.createStarted();
         configContext = argumentExtractor.initConfigContext(configurationMap);
         Session session = argumentExtractor.initSession(cluster, configurationMap);
         final ClassLoader classLoader = argumentExtractor.initOSGIClassLoader(configurationMap);
         List<Interceptor<?>> interceptors = argumentExtractor.initInterceptors(configurationMap);
         List<Class<?>> candidateClasses = argumentExtractor.initEntities(configurationMap, classLoader);
 
+        recordPhase("configuration", phase);
+
         ParsingResult parsingResult = parseEntities(candidateClasses);
         this.entityMetaMap = parsingResult.getMetaMap();
 
         bootstrapper.addInterceptorsToEntityMetas(interceptors, parsingResult.getMetaMap());
+        recordPhase("entity parsing", phase);
 
-        SchemaContext schemaContext = new SchemaContext(configContext, session, keyspaceName, cluster, parsingResult);
+        SchemaContext schemaContext = new SchemaContext(configContext, session, keyspaceName, cluster, tableMetadataSource, parsingResult);
         bootstrapper.validateOrCreateTables(schemaContext);
+        recordPhase("schema validation/creation", phase);
 
         daoContext = bootstrapper.buildDaoContext(session, parsingResult, configContext);
+        if (configContext.isLazyEntityActivation()) {
+            bootstrapper.enableLazyEntityActivation(schemaContext, daoContext);
+        }
         contextFactory = new PersistenceContextFactory(daoContext, configContext, parsingResult.getMetaMap());
+        recordPhase("statements preparation", phase);
 
         warmUpProxies();
+        recordPhase("proxies warm up", phase);
 
+        configContext.getMetricsRegistry().monitorPreparedStatementCache(daoContext.getDynamicPSCache());
+        configContext.getMetricsRegistry().start(entityMetaMap);
+        configContext.getQueryTraceSampler().start(entityMetaMap);
+        configContext.getFaultInjector().start(entityMetaMap);
+
+        log.info("Achilles PersistenceManagerFactory bootstrapped in {} ms for {} entities, phases duration in ms : {}",
+                total.elapsed(TimeUnit.MILLISECONDS), entityMetaMap.size(), bootstrapTimings);
         return this;
     }
 
+    private void recordPhase(String phaseName, Stopwatch phase) {
+        bootstrapTimings.put(phaseName, phase.elapsed(TimeUnit.MILLISECONDS));
+        phase.reset().start();
+    }
+
 
     private void warmUpProxies() {
         if (argumentExtractor.initProxyWarmUp(configurationMap)) {
@@ -212,16 +285,126 @@ public class PersistenceManagerFactory {
         return objectMapper.readValue(serialized, type);
     }
 
+    /**
+     * Retrieve the insert shapes statistics of an entity using the <strong>ADAPTIVE</strong> insert strategy
+     * @param entityClass
+     * @return insert shapes statistics
+     */
+    public InsertShapeStatistics getInsertShapeStatistics(Class<?> entityClass) {
+        Validator.validateNotNull(entityClass, "Cannot get insert shape statistics for null entity class");
+        final EntityMeta entityMeta = entityMetaMap.get(entityClass);
+        Validator.validateNotNull(entityMeta, "The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+        Validator.validateNotNull(entityMeta.getInsertShapeTracker(), "The entity class '%s' does not use the ADAPTIVE insert strategy",
+                entityClass.getCanonicalName());
+        return entityMeta.getInsertShapeTracker().getStatistics();
+    }
+
+    /**
+     * Retrieve the hedged reads statistics of an entity having hedged reads enabled
+     * @param entityClass
+     * @return hedged reads statistics
+     */
+    public HedgedReadStatistics getHedgedReadStatistics(Class<?> entityClass) {
+        Validator.validateNotNull(entityClass, "Cannot get hedged read statistics for null entity class");
+        final EntityMeta entityMeta = entityMetaMap.get(entityClass);
+        Validator.validateNotNull(entityMeta, "The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+        Validator.validateTrue(entityMeta.hasHedgedReads(), "The entity class '%s' does not have hedged reads enabled",
+                entityClass.getCanonicalName());
+        return entityMeta.getHedgedReadTracker().getStatistics();
+    }
+
+    /**
+     * Retrieve the compression statistics of the properties annotated with <strong>@Compressed</strong>
+     * @param entityClass
+     * @return compression statistics by property name
+     */
+    public Map<String, CompressionStatistics> getCompressionStatistics(Class<?> entityClass) {
+        Validator.validateNotNull(entityClass, "Cannot get compression statistics for null entity class");
+        final EntityMeta entityMeta = entityMetaMap.get(entityClass);
+        Validator.validateNotNull(entityMeta, "The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+        Map<String, CompressionStatistics> statistics = new HashMap<>();
+        for (PropertyMeta pm : entityMeta.getAllMetas()) {
+            if (pm.isCompressed()) {
+                statistics.put(pm.getPropertyName(), pm.getCompressionTracker().getStatistics());
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Retrieve a snapshot of the metrics recorded since bootstrap, see <strong>METRICS_ENABLED</strong>
+     * @return metrics snapshot
+     */
+    public MetricsSnapshot getMetricsSnapshot() {
+        Validator.validateTrue(configContext.getMetricsRegistry().isEnabled(), "Metrics are not enabled for this PersistenceManagerFactory");
+        return configContext.getMetricsRegistry().getSnapshot();
+    }
+
+    /**
+     * Retrieve the duration in milli secs of each bootstrap phase, in execution order
+     * @return bootstrap phases duration
+     */
+    public Map<String, Long> getBootstrapTimings() {
+        return Collections.unmodifiableMap(bootstrapTimings);
+    }
+
+    /**
+     * Retrieve the fault injection controls, to add or remove latency and error rules at runtime,
+     * see <strong>FAULT_INJECTION_ENABLED</strong>
+     * @return fault injection controls
+     */
+    public FaultInjection getFaultInjection() {
+        Validator.validateTrue(configContext.getFaultInjector().isEnabled(), "Fault injection is not enabled for this PersistenceManagerFactory");
+        return configContext.getFaultInjector();
+    }
+
+    /**
+     * Stop the metrics reporters, the query traces collection and the fault injection, then unregister the JMX MBeans.
+     * The schema fingerprints recorded by lazily activated entities are saved.
+     * <br/>
+     * The Cassandra session and cluster are left open
+     */
+    public void shutDown() {
+        configContext.getMetricsRegistry().shutDown();
+        configContext.getQueryTraceSampler().shutDown();
+        configContext.getFaultInjector().shutDown();
+        configContext.getSchemaFingerprintCache().shutDown();
+    }
+
+    /**
+     * Copy the existing simple counters of an entity from the shared <strong>achilles_counter_table</strong>
+     * into its dedicated counter table, see <strong>{@literal @}CounterTable</strong>.
+     * <br/>
+     * This operation scans the whole shared counter table. It can be re-run safely as long as no
+     * counter of the entity is incremented meanwhile. The shared table is left untouched
+     *
+     * @param entityClass
+     * @return number of migrated counters
+     */
+    public long migrateCountersToDedicatedTable(Class<?> entityClass) {
+        Validator.validateNotNull(entityClass, "Cannot migrate counters for null entity class");
+        final EntityMeta entityMeta = entityMetaMap.get(entityClass);
+        Validator.validateNotNull(entityMeta, "The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+        return counterTableMigrator.migrate(daoContext.getSession(), entityMeta);
+    }
 
     public static class PersistenceManagerFactoryBuilder {
 
         private ConfigMap configMap = new ConfigMap();
         private Cluster cluster;
+        private TableMetadataSource tableMetadataSource;
 
         private PersistenceManagerFactoryBuilder(Cluster cluster) {
             this.cluster = cluster;
             Validator.validateNotNull(cluster, "Cluster object should not be null");
+            this.tableMetadataSource = new ClusterTableMetadataSource(cluster);
+        }
 
+        private PersistenceManagerFactoryBuilder(Session session) {
+            this.tableMetadataSource = new EmptyTableMetadataSource();
+            configMap.put(NATIVE_SESSION, session);
+            configMap.put(KEYSPACE_NAME, session.getLoggedKeyspace());
+            configMap.put(FORCE_TABLE_CREATION, true);
         }
 
         /**
@@ -249,6 +432,20 @@ public class PersistenceManagerFactory {
             return new PersistenceManagerFactoryBuilder(cluster);
         }
 
+        /**
+         * Create a new builder backed by a session which has no Cassandra cluster behind it, like the
+         * <strong>InMemorySession</strong> of the <em>achilles-inmemory</em> test module.
+         * <br/>
+         * The keyspace is the logged keyspace of the session. No schema metadata can be read so tables are always created
+         *
+         * @param session cluster-less session
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public static PersistenceManagerFactoryBuilder inMemory(Session session) {
+            Validator.validateNotNull(session, "In-memory session should not be null");
+            return new PersistenceManagerFactoryBuilder(session);
+        }
+
         /**
          * Define entity packages to scan for '@Entity' classes The packages
          * should be comma-separated
@@ -476,6 +673,45 @@ public class PersistenceManagerFactory {
             return this;
         }
 
+        /**
+         * Define the number of threads validating the tables and preparing the statements at bootstrap.
+         * Table creations and schema updates are still executed one at a time
+         *
+         * @param bootstrapParallelism
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withBootstrapParallelism(int bootstrapParallelism) {
+            configMap.put(BOOTSTRAP_PARALLELISM, bootstrapParallelism);
+            return this;
+        }
+
+        /**
+         * Defer the table validation/creation and the statements preparation of each entity to its first use.
+         * The entities are still parsed at bootstrap
+         *
+         * @param lazyEntityActivation
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder lazyEntityActivation(boolean lazyEntityActivation) {
+            configMap.put(BOOTSTRAP_LAZY_ENTITY_ACTIVATION, lazyEntityActivation);
+            return this;
+        }
+
+        /**
+         * Define the local file caching the fingerprints of the validated tables. Tables whose meta data and
+         * entity mapping did not change since the last successful validation are not validated again
+         *
+         * @param schemaFingerprintFile path of the cache file
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withSchemaFingerprintFile(String schemaFingerprintFile) {
+            configMap.put(SCHEMA_FINGERPRINT_FILE, schemaFingerprintFile);
+            return this;
+        }
+
 
         /**
          * Define the global insert strategy
@@ -490,6 +726,251 @@ public class PersistenceManagerFactory {
             return this;
         }
 
+        /**
+         * Define the max number of insert shapes (distinct sets of not null columns) having a prepared
+         * statement for entities using the <strong>ADAPTIVE</strong> insert strategy
+         *
+         * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Insert-Strategy" target="_blank">Insert Strategy</a>
+         * @param adaptiveInsertMaxShapes
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder adaptiveInsertMaxShapes(int adaptiveInsertMaxShapes) {
+            configMap.put(INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES, adaptiveInsertMaxShapes);
+            return this;
+        }
+
+        /**
+         * Whether to store the simple counters of each entity in a dedicated table instead of the shared
+         * <strong>achilles_counter_table</strong>. Can be overridden per entity with <strong>{@literal @}CounterTable</strong>
+         *
+         * @param dedicatedCounterTables
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder dedicatedCounterTables(boolean dedicatedCounterTables) {
+            configMap.put(DEDICATED_COUNTER_TABLES, dedicatedCounterTables);
+            return this;
+        }
+
+        /**
+         * Whether to hedge the reads of entities: a second attempt is sent when a read did not complete after
+         * the hedging delay. Can be overridden per entity with <strong>{@literal @}HedgedReads</strong>
+         *
+         * @param hedgedReadsEnabled
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder hedgedReadsEnabled(boolean hedgedReadsEnabled) {
+            configMap.put(HEDGED_READS_ENABLED, hedgedReadsEnabled);
+            return this;
+        }
+
+        /**
+         * Define the percentile of the recent read latencies of an entity used as hedging delay
+         *
+         * @param hedgedReadsPercentile
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder hedgedReadsPercentile(double hedgedReadsPercentile) {
+            configMap.put(HEDGED_READS_PERCENTILE, hedgedReadsPercentile);
+            return this;
+        }
+
+        /**
+         * Define the lower bound of the hedging delay, in milliseconds
+         *
+         * @param hedgedReadsMinDelayMillis
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder hedgedReadsMinDelayMillis(long hedgedReadsMinDelayMillis) {
+            configMap.put(HEDGED_READS_MIN_DELAY_MILLIS, hedgedReadsMinDelayMillis);
+            return this;
+        }
+
+        /**
+         * Whether to record latency and throughput metrics per entity and per operation
+         *
+         * @param metricsEnabled
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder metricsEnabled(boolean metricsEnabled) {
+            configMap.put(METRICS_ENABLED, metricsEnabled);
+            return this;
+        }
+
+        /**
+         * Whether to expose the metrics as JMX MBeans when metrics are enabled
+         *
+         * @param metricsJmxEnabled
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder metricsJmxEnabled(boolean metricsJmxEnabled) {
+            configMap.put(METRICS_JMX_ENABLED, metricsJmxEnabled);
+            return this;
+        }
+
+        /**
+         * Define the reporters receiving periodically a snapshot of the metrics
+         *
+         * @param metricsReporters
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withMetricsReporters(List<MetricsReporter> metricsReporters) {
+            configMap.put(METRICS_REPORTERS, metricsReporters);
+            return this;
+        }
+
+        /**
+         * Define the period between two metrics reports, in seconds
+         *
+         * @param metricsReportingPeriodSeconds
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder metricsReportingPeriodSeconds(long metricsReportingPeriodSeconds) {
+            configMap.put(METRICS_REPORTING_PERIOD_SECONDS, metricsReportingPeriodSeconds);
+            return this;
+        }
+
+        /**
+         * Define the threshold above which statements are logged with the <strong>ACHILLES_SLOW_STATEMENT</strong> logger,
+         * in milliseconds. 0 disables the log
+         *
+         * @param slowStatementThresholdMillis
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder slowStatementThresholdMillis(long slowStatementThresholdMillis) {
+            configMap.put(SLOW_STATEMENT_THRESHOLD_MILLIS, slowStatementThresholdMillis);
+            return this;
+        }
+
+        /**
+         * Define the slow statement thresholds of some tables, in milliseconds
+         *
+         * @param slowStatementThresholdMap
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withSlowStatementThresholdMap(Map<String, Long> slowStatementThresholdMap) {
+            configMap.put(SLOW_STATEMENT_THRESHOLD_MAP, slowStatementThresholdMap);
+            return this;
+        }
+
+        /**
+         * Define the max number of slow statements logged per second
+         *
+         * @param slowStatementMaxLogsPerSecond
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder slowStatementMaxLogsPerSecond(int slowStatementMaxLogsPerSecond) {
+            configMap.put(SLOW_STATEMENT_MAX_LOGS_PER_SECOND, slowStatementMaxLogsPerSecond);
+            return this;
+        }
+
+        /**
+         * Define the rate, between 0 and 1, of statements traced with Cassandra query tracing
+         *
+         * @param queryTracingSampleRate
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder queryTracingSampleRate(double queryTracingSampleRate) {
+            configMap.put(QUERY_TRACING_SAMPLE_RATE, queryTracingSampleRate);
+            return this;
+        }
+
+        /**
+         * Define the query tracing sample rates of some tables
+         *
+         * @param queryTracingSampleRateMap
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withQueryTracingSampleRateMap(Map<String, Double> queryTracingSampleRateMap) {
+            configMap.put(QUERY_TRACING_SAMPLE_RATE_MAP, queryTracingSampleRateMap);
+            return this;
+        }
+
+        /**
+         * Define the sinks receiving the sampled query traces
+         *
+         * @param traceSinks
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withQueryTracingSinks(List<TraceSink> traceSinks) {
+            configMap.put(QUERY_TRACING_SINKS, traceSinks);
+            return this;
+        }
+
+        /**
+         * Whether to expose the query tracing sample rates and ring buffer sinks as JMX MBeans
+         *
+         * @param queryTracingJmxEnabled
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder queryTracingJmxEnabled(boolean queryTracingJmxEnabled) {
+            configMap.put(QUERY_TRACING_JMX_ENABLED, queryTracingJmxEnabled);
+            return this;
+        }
+
+        /**
+         * Whether to inject latency and errors into the statements, for performance and resilience testing only
+         *
+         * @param faultInjectionEnabled
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder faultInjectionEnabled(boolean faultInjectionEnabled) {
+            configMap.put(FAULT_INJECTION_ENABLED, faultInjectionEnabled);
+            return this;
+        }
+
+        /**
+         * Define the initial fault injection rules. The first rule matching a statement applies
+         *
+         * @param faultRules
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withFaultRules(List<FaultRule> faultRules) {
+            configMap.put(FAULT_INJECTION_RULES, faultRules);
+            return this;
+        }
+
+        /**
+         * Define the seed of the fault injection random source, for reproducible runs
+         *
+         * @param faultInjectionSeed
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder faultInjectionSeed(long faultInjectionSeed) {
+            configMap.put(FAULT_INJECTION_SEED, faultInjectionSeed);
+            return this;
+        }
+
+        /**
+         * Whether to expose the fault injection controls as a JMX MBean
+         *
+         * @param faultInjectionJmxEnabled
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder faultInjectionJmxEnabled(boolean faultInjectionJmxEnabled) {
+            configMap.put(FAULT_INJECTION_JMX_ENABLED, faultInjectionJmxEnabled);
+            return this;
+        }
+
         /**
          * Whether to relax constraint on existing secondary indices validation
          *
@@ -509,7 +990,7 @@ public class PersistenceManagerFactory {
          * @return PersistenceManagerFactory
          */
         public PersistenceManagerFactory build() {
-            return new PersistenceManagerFactory(cluster, configMap).bootstrap();
+            return new PersistenceManagerFactory(cluster, tableMetadataSource, configMap).bootstrap();
         }
     }
 }
@@ -15,12 +15,16 @@
  */
 package info.archinnov.achilles.query.cql;
 
+import static info.archinnov.achilles.internal.metrics.MetricsRegistry.NATIVE_QUERY_ENTITY;
+import static info.archinnov.achilles.metrics.Operation.NATIVE_QUERY;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
 import info.archinnov.achilles.internal.persistence.operations.NativeQueryMapper;
 import info.archinnov.achilles.internal.statement.wrapper.NativeQueryLog;
 import info.archinnov.achilles.internal.statement.wrapper.NativeStatementWrapper;
@@ -54,6 +58,7 @@ public class NativeQuery {
     public NativeQuery(DaoContext daoContext, RegularStatement regularStatement, Options options, Object... boundValues) {
         this.daoContext = daoContext;
         this.nativeStatementWrapper = new NativeStatementWrapper(NativeQueryLog.class, regularStatement, boundValues, options.getCasResultListener());
+        daoContext.attachRoutingKey(nativeStatementWrapper);
         this.options = options;
         this.boundValues = boundValues;
     }
@@ -68,7 +73,7 @@ public class NativeQuery {
      */
     public List<TypedMap> get() {
         log.debug("Get results for native query {}", nativeStatementWrapper.getStatement());
-        List<Row> rows = daoContext.execute(nativeStatementWrapper).all();
+        List<Row> rows = executeQuery().all();
         return mapper.mapRows(rows);
     }
 
@@ -81,7 +86,7 @@ public class NativeQuery {
      */
     public TypedMap first() {
         log.debug("Get first result for native query {}", nativeStatementWrapper.getStatement());
-        List<Row> rows = daoContext.execute(nativeStatementWrapper).all();
+        List<Row> rows = executeQuery().all();
         List<TypedMap> result = mapper.mapRows(rows);
         if (result.isEmpty())
             return null;
@@ -95,6 +100,19 @@ public class NativeQuery {
      */
     public void execute() {
         log.debug("Execute native query {}", nativeStatementWrapper.getStatement());
-        daoContext.execute(nativeStatementWrapper);
+        executeQuery();
+    }
+
+    private ResultSet executeQuery() {
+        final MetricsRegistry metricsRegistry = daoContext.getMetricsRegistry();
+        final long startTime = metricsRegistry.startTimer();
+        try {
+            final ResultSet resultSet = daoContext.execute(nativeStatementWrapper);
+            metricsRegistry.recordSuccess(NATIVE_QUERY_ENTITY, NATIVE_QUERY, startTime);
+            return resultSet;
+        } catch (RuntimeException e) {
+            metricsRegistry.recordFailure(NATIVE_QUERY_ENTITY, NATIVE_QUERY, startTime);
+            throw e;
+        }
     }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.query.slice;
+
+import static info.archinnov.achilles.query.slice.SliceQueryProperties.DEFAULT_LIMIT;
+import static info.archinnov.achilles.query.slice.SliceQueryProperties.SliceType;
+import static java.util.Arrays.asList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.collect.Iterators;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.TimeBucketProperties;
+import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+/**
+ * Slice DSL over a time range spanning several buckets of an entity with a <strong>@TimeBucket</strong>
+ * partition component.
+ *
+ * <pre class="code"><code class="java">
+ *
+ *  manager.sliceQuery(SensorEvent.class)
+ *      .forBucketedSelect()
+ *      .withPartitionComponents(sensorId)
+ *      .between(yesterday, now)
+ *      .orderByDescending()
+ *      .limit(100)
+ *      .get();
+ *
+ * </code></pre>
+ *
+ * One slice query is issued per covered bucket, at most <em>bucketConcurrency</em> of them in flight at once.
+ * Since the bucket source is the first clustering component, buckets never overlap in clustering order and the
+ * merge is a concatenation in bucket order, stopping as soon as the global limit is reached.
+ * <br/>
+ * Buckets are generated lazily, so no query is issued for buckets past the global limit. The time range
+ * should however cover at most <em>maxBuckets</em> buckets (default = 1000), otherwise the query is rejected
+ * before anything is sent to Cassandra
+ *
+ * @param <TYPE>: type of clustered entity
+ */
+public class BucketedSelectDSL<TYPE> {
+
+    private static final Logger log = LoggerFactory.getLogger(BucketedSelectDSL.class);
+
+    public static final int DEFAULT_BUCKET_CONCURRENCY = 8;
+
+    public static final int DEFAULT_MAX_BUCKETS = 1000;
+
+    private final SliceQueryExecutor sliceQueryExecutor;
+    private final Class<TYPE> entityClass;
+    private final EntityMeta meta;
+    private final TimeBucketProperties timeBucketProperties;
+
+    private List<Object> partitionComponents = Collections.emptyList();
+    private Date fromTime;
+    private Date toTime;
+    private OrderingMode orderingMode = OrderingMode.ASCENDING;
+    private int limit = DEFAULT_LIMIT;
+    private int bucketConcurrency = DEFAULT_BUCKET_CONCURRENCY;
+    private int maxBuckets = DEFAULT_MAX_BUCKETS;
+    private Optional<ConsistencyLevel> consistencyLevelO = Optional.absent();
+
+    protected BucketedSelectDSL(SliceQueryExecutor sliceQueryExecutor, Class<TYPE> entityClass, EntityMeta meta) {
+        Validator.validateTrue(meta.isTimeBucketed(), "Cannot perform bucketed slice query on entity type '%s' because it has no @TimeBucket partition component", meta.getClassName());
+        this.sliceQueryExecutor = sliceQueryExecutor;
+        this.entityClass = entityClass;
+        this.meta = meta;
+        this.timeBucketProperties = meta.getTimeBucketProperties();
+    }
+
+    /**
+     * Provide the partition components other than the time bucket, in declaration order
+     *
+     * @return slice DSL
+     */
+    public BucketedSelectDSL<TYPE> withPartitionComponents(Object... partitionComponents) {
+        log.trace("Add partition key components {}", partitionComponents);
+        final int expectedSize = meta.getPartitionKeysSize() - 1;
+        Validator.validateTrue(partitionComponents.length == expectedSize, "There should be exactly '%s' partition components other than the time bucket for bucketed slice query", expectedSize);
+        this.partitionComponents = asList(partitionComponents);
+        meta.validatePartitionComponents(withBucket(0L).toArray());
+        return this;
+    }
+
+    /**
+     * Restrict the query to the time range [from, to], bounds inclusive
+     *
+     * @return slice DSL
+     */
+    public BucketedSelectDSL<TYPE> between(Date from, Date to) {
+        Validator.validateNotNull(from, "The lower time bound for bucketed slice query should not be null");
+        Validator.validateNotNull(to, "The upper time bound for bucketed slice query should not be null");
+        Validator.validateFalse(from.after(to), "The lower time bound '%s' should not be after the upper time bound '%s'", from, to);
+        this.fromTime = from;
+        this.toTime = to;
+        return this;
+    }
+
+    public BucketedSelectDSL<TYPE> orderByAscending() {
+        this.orderingMode = OrderingMode.ASCENDING;
+        return this;
+    }
+
+    public BucketedSelectDSL<TYPE> orderByDescending() {
+        this.orderingMode = OrderingMode.DESCENDING;
+        return this;
+    }
+
+    /**
+     * Global limit, applied across all buckets
+     *
+     * @return slice DSL
+     */
+    public BucketedSelectDSL<TYPE> limit(int limit) {
+        Validator.validateTrue(limit > 0, "The limit '%s' should be strictly positive", limit);
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Maximum number of bucket queries in flight at once. Default = 8
+     *
+     * @return slice DSL
+     */
+    public BucketedSelectDSL<TYPE> withBucketConcurrency(int bucketConcurrency) {
+        Validator.validateTrue(bucketConcurrency > 0, "The bucket concurrency '%s' should be strictly positive", bucketConcurrency);
+        this.bucketConcurrency = bucketConcurrency;
+        return this;
+    }
+
+    /**
+     * Maximum number of buckets the time range may cover. Default = 1000
+     *
+     * @return slice DSL
+     */
+    public BucketedSelectDSL<TYPE> withMaxBuckets(int maxBuckets) {
+        Validator.validateTrue(maxBuckets > 0, "The max buckets '%s' should be strictly positive", maxBuckets);
+        this.maxBuckets = maxBuckets;
+        return this;
+    }
+
+    public BucketedSelectDSL<TYPE> withConsistency(ConsistencyLevel consistencyLevel) {
+        Validator.validateNotNull(consistencyLevel, "The consistency level should not be null");
+        this.consistencyLevelO = Optional.fromNullable(consistencyLevel);
+        return this;
+    }
+
+    /**
+     * Fan out to all buckets covering the time range and merge the results in clustering order
+     *
+     * @return merged list of entities, at most <em>limit</em>
+     */
+    public List<TYPE> get() {
+        Validator.validateNotNull(fromTime, "The time range should be provided with between(from, to) for bucketed slice query");
+        final long bucketCount = timeBucketProperties.bucketCount(fromTime, toTime);
+        Validator.validateTrue(bucketCount <= maxBuckets, "The time range ['%s', '%s'] covers '%s' buckets of entity '%s', more than the maximum of '%s'. Narrow the time range or raise the maximum with withMaxBuckets()", fromTime, toTime, bucketCount, meta.getClassName(), maxBuckets);
+        log.debug("Bucketed slice query over {} buckets of entity {}", bucketCount, meta.getClassName());
+
+        final Iterator<Long> buckets = timeBucketProperties.bucketsBetween(fromTime, toTime, orderingMode.isReverse());
+        final Iterator<SliceQueryProperties<TYPE>> bucketQueries = Iterators.transform(buckets, toBucketQuery());
+        return sliceQueryExecutor.getFromBuckets(entityClass, bucketQueries, limit, bucketConcurrency);
+    }
+
+    private Function<Long, SliceQueryProperties<TYPE>> toBucketQuery() {
+        final Object lowerBound = timeBucketProperties.toClusteringBound(fromTime, true);
+        final Object upperBound = timeBucketProperties.toClusteringBound(toTime, false);
+        return new Function<Long, SliceQueryProperties<TYPE>>() {
+            @Override
+            public SliceQueryProperties<TYPE> apply(Long bucket) {
+                final SliceQueryProperties<TYPE> properties = SliceQueryProperties.builder(meta, entityClass, SliceType.SELECT)
+                        .partitionKeys(withBucket(bucket))
+                        .partitionKeysName(meta.getPartitionKeysName(meta.getPartitionKeysSize()))
+                        .fromClusteringKeys(asList(lowerBound))
+                        .fromClusteringKeysName(meta.getClusteringKeysName(1))
+                        .toClusteringKeys(asList(upperBound))
+                        .toClusteringKeysName(meta.getClusteringKeysName(1))
+                        .ordering(orderingMode)
+                        .limit(limit);
+                if (consistencyLevelO.isPresent()) {
+                    properties.consistency(consistencyLevelO.get());
+                }
+                return properties;
+            }
+        };
+    }
+
+    private List<Object> withBucket(Long bucket) {
+        final List<Object> components = new ArrayList<>(partitionComponents);
+        components.add(timeBucketProperties.getBucketIndex(), bucket);
+        return components;
+    }
+}
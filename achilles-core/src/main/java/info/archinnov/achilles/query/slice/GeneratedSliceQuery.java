@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.query.slice;
+
+import static info.archinnov.achilles.query.slice.SliceQueryProperties.SliceType;
+import java.util.ArrayList;
+import java.util.List;
+import com.google.common.collect.FluentIterable;
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Base class of the type-safe slice DSL generated by the <strong>achilles-processor</strong> annotation processor
+ * for each clustered entity, e.g.
+ *
+ * <pre class="code"><code class="java">
+ *
+ *  List&lt;ArticleRating&gt; ratings = ArticleRating_.slice(manager)
+ *      .partition(articleId)
+ *      .from(2, now)
+ *      .to(4)
+ *      .limit(20)
+ *      .get();
+ *
+ * </code></pre>
+ *
+ * The number and the types of the partition and clustering components are checked by the compiler so
+ * they are not validated again at runtime. The statement of the query is looked up by its shape
+ * (see {@link SliceQueryProperties#getStatementShapeId()}) instead of a hashed cache key.
+ * <br/>
+ * All the stages of one query share the same slice properties
+ *
+ * @param <TYPE>: type of clustered entity
+ * @param <T>: type of the generated stage
+ */
+public abstract class GeneratedSliceQuery<TYPE, T extends GeneratedSliceQuery<TYPE, T>> extends SliceQueryRootExtended<TYPE, T> {
+
+    protected GeneratedSliceQuery(SliceQueryBuilder<TYPE> sliceQueryBuilder) {
+        super(sliceQueryBuilder.getSliceQueryExecutor(), sliceQueryBuilder.getEntityClass(), sliceQueryBuilder.getMeta(), SliceType.SELECT);
+        final int clusteringKeysSize = meta.getClusteringKeysSize();
+        properties.enableStatementShape()
+                .partitionKeys(new ArrayList<>(meta.getPartitionKeysSize()))
+                .fromClusteringKeys(new ArrayList<>(clusteringKeysSize))
+                .toClusteringKeys(new ArrayList<>(clusteringKeysSize));
+    }
+
+    protected GeneratedSliceQuery(GeneratedSliceQuery<TYPE, ?> previousStage) {
+        super(previousStage.sliceQueryExecutor, previousStage.entityClass, previousStage.meta, previousStage.properties);
+    }
+
+    protected void partitionComponent(Object partitionComponent) {
+        final List<Object> partitionKeys = properties.getPartitionKeys();
+        addComponent(partitionKeys, partitionComponent, "partition");
+        properties.partitionKeysName(meta.getPartitionKeysName(partitionKeys.size()));
+    }
+
+    protected void fromClusteringComponent(Object clusteringComponent) {
+        final List<Object> fromClusteringKeys = properties.getFromClusteringKeys();
+        addComponent(fromClusteringKeys, clusteringComponent, "from clustering");
+        properties.fromClusteringKeysName(meta.getClusteringKeysName(fromClusteringKeys.size()));
+    }
+
+    protected void toClusteringComponent(Object clusteringComponent) {
+        final List<Object> toClusteringKeys = properties.getToClusteringKeys();
+        addComponent(toClusteringKeys, clusteringComponent, "to clustering");
+        properties.toClusteringKeysName(meta.getClusteringKeysName(toClusteringKeys.size()));
+    }
+
+    /**
+     * Get selected entities
+     *
+     * @return list of found entities or empty list
+     */
+    public List<TYPE> get() {
+        return super.getInternal();
+    }
+
+    /**
+     * Get the first selected entity
+     *
+     * @return first found entity or null
+     */
+    public TYPE getOne() {
+        super.properties.limit(1);
+        return FluentIterable.from(super.getInternal()).first().orNull();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T getThis() {
+        return (T) this;
+    }
+
+    private void addComponent(List<Object> components, Object component, String label) {
+        if (component == null) {
+            throw new AchillesException(String.format("The %s component at position '%s' should not be null", label, components.size() + 1));
+        }
+        components.add(component);
+    }
+}
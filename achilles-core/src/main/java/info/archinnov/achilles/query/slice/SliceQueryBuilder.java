@@ -57,6 +57,16 @@ public class SliceQueryBuilder<TYPE> {
         return new IterateDSL<>(sliceQueryExecutor, entityClass, meta, SliceType.ITERATE);
     }
 
+    /**
+     * Create a builder DSL for a SELECT over a time range spanning several buckets
+     * of an entity with a @TimeBucket partition component
+     *
+     * @return BucketedSelectDSL
+     */
+    public BucketedSelectDSL<TYPE> forBucketedSelect() {
+        return new BucketedSelectDSL<>(sliceQueryExecutor, entityClass, meta);
+    }
+
     /**
      * Create a builder DSL for a DELETE statement
      *
@@ -66,4 +76,15 @@ public class SliceQueryBuilder<TYPE> {
         return new DeleteDSL<>(sliceQueryExecutor, entityClass, meta, SliceType.DELETE);
     }
 
+    SliceQueryExecutor getSliceQueryExecutor() {
+        return sliceQueryExecutor;
+    }
+
+    Class<TYPE> getEntityClass() {
+        return entityClass;
+    }
+
+    EntityMeta getMeta() {
+        return meta;
+    }
 }
@@ -57,6 +57,10 @@ public class SliceQueryProperties<T> {
 
     public static final int DEFAULT_LIMIT = 100;
     public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int NO_STATEMENT_SHAPE = -1;
+
+    private static final int BOUNDING_MODES = BoundingMode.values().length;
+    private static final int ORDERING_MODES = OrderingMode.values().length + 1;
 
     private static final Function<String, Object> FROM_NAME_TO_BIND_MARKER = new Function<String, Object>() {
         @Override
@@ -92,6 +96,8 @@ public class SliceQueryProperties<T> {
     private ClusteringOrder clusteringOrder;
 
     private IndexCondition withIndexCondition;
+
+    private boolean statementShape;
     
     private SliceQueryProperties(EntityMeta entityMeta, Class<T> entityClass, SliceType sliceType) {
         this.entityMeta = entityMeta;
@@ -201,6 +207,11 @@ public class SliceQueryProperties<T> {
         return this;
     }
     
+    protected SliceQueryProperties<T> enableStatementShape() {
+        this.statementShape = true;
+        return this;
+    }
+
     public SliceQueryProperties<T> withIndexCondition(IndexCondition withIndexCondition) {
         this.withIndexCondition = withIndexCondition;
         return this;
@@ -373,6 +384,14 @@ public class SliceQueryProperties<T> {
         return partitionKeys;
     }
 
+    public List<Object> getFromClusteringKeys() {
+        return fromClusteringKeys;
+    }
+
+    public List<Object> getToClusteringKeys() {
+        return toClusteringKeys;
+    }
+
     public List<Object> getWithClusteringKeys() {
         return withClusteringKeys;
     }
@@ -380,6 +399,29 @@ public class SliceQueryProperties<T> {
     public IndexCondition getWithIndexCondition() {
         return withIndexCondition;
     }
+
+    /**
+     * Identify the SELECT statement of a slice query built by a generated slice DSL.
+     * The shape only depends on the number of from/to clustering components, the bounding mode,
+     * the ordering and the presence of a limit, so it maps to a slot of a fixed size array
+     * instead of a hashed cache key
+     *
+     * @return the shape id, between 0 and statementShapeCount(clustering components count) - 1,
+     * or NO_STATEMENT_SHAPE if the query is not built by a generated slice DSL or uses IN/index restrictions
+     */
+    public int getStatementShapeId() {
+        if (!statementShape || withIndexCondition != null || isNotEmpty(partitionKeysIn) || isNotEmpty(withClusteringKeys)) {
+            return NO_STATEMENT_SHAPE;
+        }
+        int shapeId = fromClusteringKeys.size() * (entityMeta.getClusteringKeysSize() + 1) + toClusteringKeys.size();
+        shapeId = shapeId * BOUNDING_MODES + boundingMode.ordinal();
+        shapeId = shapeId * ORDERING_MODES + (orderingModeO.isPresent() ? orderingModeO.get().ordinal() + 1 : 0);
+        return shapeId * 2 + (limitO.isPresent() ? 1 : 0);
+    }
+
+    public static int statementShapeCount(int clusteringKeysSize) {
+        return (clusteringKeysSize + 1) * (clusteringKeysSize + 1) * BOUNDING_MODES * ORDERING_MODES * 2;
+    }
     
     @Override
     public boolean equals(Object o) {
@@ -48,6 +48,13 @@ public abstract class SliceQueryRoot<TYPE, T extends SliceQueryRoot<TYPE, T>> {
         this.properties = SliceQueryProperties.builder(meta, entityClass, sliceType);
     }
 
+    protected SliceQueryRoot(SliceQueryExecutor sliceQueryExecutor, Class<TYPE> entityClass, EntityMeta meta, SliceQueryProperties properties) {
+        this.sliceQueryExecutor = sliceQueryExecutor;
+        this.entityClass = entityClass;
+        this.meta = meta;
+        this.properties = properties;
+    }
+
 
 
     protected void withPartitionComponentsInternal(Object... partitionKeyComponents) {
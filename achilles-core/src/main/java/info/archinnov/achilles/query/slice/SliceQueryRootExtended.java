@@ -27,6 +27,10 @@ public abstract class SliceQueryRootExtended<TYPE, T extends SliceQueryRootExten
         super(sliceQueryExecutor, entityClass, meta, sliceType);
     }
 
+    protected SliceQueryRootExtended(SliceQueryExecutor sliceQueryExecutor, Class<TYPE> entityClass, EntityMeta meta, SliceQueryProperties properties) {
+        super(sliceQueryExecutor, entityClass, meta, properties);
+    }
+
     /**
      *
      * Use inclusive upper & lower bounds
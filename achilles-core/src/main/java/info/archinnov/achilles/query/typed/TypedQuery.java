@@ -16,6 +16,7 @@
 package info.archinnov.achilles.query.typed;
 
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EntityState;
+import static info.archinnov.achilles.metrics.Operation.TYPED_QUERY;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.Map.Entry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.google.common.base.Optional;
 import info.archinnov.achilles.interceptor.Event;
@@ -32,6 +34,7 @@ import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
 import info.archinnov.achilles.internal.persistence.operations.EntityMapper;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.statement.wrapper.NativeStatementWrapper;
@@ -56,6 +59,7 @@ public class TypedQuery<T> {
         this.daoContext = daoContext;
         this.encodedBoundValues = meta.encodeBoundValuesForTypedQueries(encodedBoundValues);
         this.nativeStatementWrapper = new NativeStatementWrapper(entityClass, regularStatement, this.encodedBoundValues, Optional.<CASResultListener>absent());
+        daoContext.attachRoutingKey(nativeStatementWrapper, meta);
         this.meta = meta;
         this.contextFactory = contextFactory;
         this.entityState = entityState;
@@ -76,7 +80,7 @@ public class TypedQuery<T> {
     public List<T> get() {
         log.debug("Get results for typed query {}", nativeStatementWrapper.getStatement());
         List<T> result = new ArrayList<>();
-        List<Row> rows = daoContext.execute(nativeStatementWrapper).all();
+        List<Row> rows = executeQuery().all();
         for (Row row : rows) {
             T entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, entityState);
             if (entity != null) {
@@ -101,7 +105,7 @@ public class TypedQuery<T> {
     public T getFirst() {
         log.debug("Get first result for typed query {}", nativeStatementWrapper.getStatement());
         T entity = null;
-        Row row = daoContext.execute(nativeStatementWrapper).one();
+        Row row = executeQuery().one();
         if (row != null) {
             entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, entityState);
             meta.intercept(entity, Event.POST_LOAD);
@@ -112,6 +116,19 @@ public class TypedQuery<T> {
         return entity;
     }
 
+    private ResultSet executeQuery() {
+        final MetricsRegistry metricsRegistry = daoContext.getMetricsRegistry();
+        final long startTime = metricsRegistry.startTimer();
+        try {
+            final ResultSet resultSet = daoContext.executeRead(meta, nativeStatementWrapper);
+            metricsRegistry.recordSuccess(meta.getEntityClass(), TYPED_QUERY, startTime);
+            return resultSet;
+        } catch (RuntimeException e) {
+            metricsRegistry.recordFailure(meta.getEntityClass(), TYPED_QUERY, startTime);
+            throw e;
+        }
+    }
+
     private Map<String, PropertyMeta> transformPropertiesMap(EntityMeta meta) {
         Map<String, PropertyMeta> propertiesMap = new HashMap<>();
         for (Entry<String, PropertyMeta> entry : meta.getPropertyMetas().entrySet()) {
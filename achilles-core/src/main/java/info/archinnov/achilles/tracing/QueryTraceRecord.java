@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.tracing;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cassandra trace of one sampled statement
+ *
+ * <ul>
+ *     <li><strong>entity</strong>: entity class name, <em>unknown</em> for statements not bound to an entity</li>
+ *     <li><strong>queryString</strong>: statement shape, without bound values</li>
+ *     <li><strong>host</strong>: host which coordinated the statement</li>
+ *     <li><strong>traceId</strong>: session id of the trace in the <em>system_traces</em> keyspace</li>
+ *     <li><strong>durationMicros</strong>: server side duration of the statement</li>
+ *     <li><strong>events</strong>: trace events, sorted by source</li>
+ * </ul>
+ */
+public class QueryTraceRecord {
+
+    private static final String EVENT_FORMAT = "%1$-80s | %2$-16s | %3$-24s | %4$-20s";
+
+    private final String entity;
+    private final String queryString;
+    private final String host;
+    private final UUID traceId;
+    private final long startedAt;
+    private final int durationMicros;
+    private final List<Event> events;
+
+    public QueryTraceRecord(String entity, String queryString, String host, UUID traceId, long startedAt,
+            int durationMicros, List<Event> events) {
+        this.entity = entity;
+        this.queryString = queryString;
+        this.host = host;
+        this.traceId = traceId;
+        this.startedAt = startedAt;
+        this.durationMicros = durationMicros;
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public String getQueryString() {
+        return queryString;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public UUID getTraceId() {
+        return traceId;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public int getDurationMicros() {
+        return durationMicros;
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("Trace ").append(traceId).append(" for ").append(entity).append(" : [").append(queryString)
+                .append("] at host ").append(host).append(" took ").append(durationMicros).append(" micros");
+        if (!events.isEmpty()) {
+            builder.append("\n").append(String.format(EVENT_FORMAT, "Description", "Source", "Source elapsed in micros", "Thread name"));
+            for (Event event : events) {
+                builder.append("\n").append(String.format(EVENT_FORMAT, event.getDescription(), event.getSource(),
+                        event.getSourceElapsedMicros(), event.getThreadName()));
+            }
+        }
+        return builder.toString();
+    }
+
+    public static class Event {
+
+        private final String description;
+        private final String source;
+        private final int sourceElapsedMicros;
+        private final String threadName;
+
+        public Event(String description, String source, int sourceElapsedMicros, String threadName) {
+            this.description = description;
+            this.source = source;
+            this.sourceElapsedMicros = sourceElapsedMicros;
+            this.threadName = threadName;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public int getSourceElapsedMicros() {
+            return sourceElapsedMicros;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+    }
+}
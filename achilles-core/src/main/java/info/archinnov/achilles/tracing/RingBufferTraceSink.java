@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Keep in memory the last <em>capacity</em> traces.
+ * <br/>
+ * When <strong>QUERY_TRACING_JMX_ENABLED</strong> is set, the buffer is exposed as a JMX MBean
+ * so the traces can be read from a JMX console
+ */
+public class RingBufferTraceSink implements TraceSink, RingBufferTraceSinkMBean {
+
+    private final int capacity;
+    private final ArrayDeque<QueryTraceRecord> records;
+    private long totalReceived = 0;
+
+    public RingBufferTraceSink(int capacity) {
+        Validator.validateTrue(capacity > 0, "The trace ring buffer capacity '%s' should be strictly positive", capacity);
+        this.capacity = capacity;
+        this.records = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void accept(QueryTraceRecord record) {
+        if (records.size() == capacity) {
+            records.pollFirst();
+        }
+        records.addLast(record);
+        totalReceived++;
+    }
+
+    /**
+     * @return buffered traces, oldest first
+     */
+    public synchronized List<QueryTraceRecord> getRecords() {
+        return new ArrayList<>(records);
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return records.size();
+    }
+
+    @Override
+    public synchronized long getTotalReceived() {
+        return totalReceived;
+    }
+
+    @Override
+    public synchronized String[] getTraces() {
+        final String[] traces = new String[records.size()];
+        int i = 0;
+        for (QueryTraceRecord record : records) {
+            traces[i++] = record.toString();
+        }
+        return traces;
+    }
+
+    @Override
+    public synchronized void clear() {
+        records.clear();
+    }
+}
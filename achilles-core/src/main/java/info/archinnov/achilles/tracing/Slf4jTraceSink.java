@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Log the traces at INFO level with the <strong>ACHILLES_QUERY_TRACE</strong> logger
+ */
+public class Slf4jTraceSink implements TraceSink {
+
+    public static final String QUERY_TRACE_LOGGER = "ACHILLES_QUERY_TRACE";
+
+    private static final Logger log = LoggerFactory.getLogger(QUERY_TRACE_LOGGER);
+
+    @Override
+    public void accept(QueryTraceRecord record) {
+        if (log.isInfoEnabled()) {
+            log.info("{}", record);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.type;
+
+import com.google.common.base.Objects;
+
+/**
+ * Snapshot of the compression statistics of a property annotated with {@code @Compressed}
+ *
+ * <ul>
+ *     <li><strong>compressedValues</strong>: number of values written compressed</li>
+ *     <li><strong>uncompressedValues</strong>: number of values written as is, being under the threshold or not compressible</li>
+ *     <li><strong>originalBytes</strong>: total size of the encoded values before compression</li>
+ *     <li><strong>storedBytes</strong>: total size of the values sent to Cassandra, header included</li>
+ * </ul>
+ */
+public class CompressionStatistics {
+
+    private final long compressedValues;
+    private final long uncompressedValues;
+    private final long originalBytes;
+    private final long storedBytes;
+
+    public CompressionStatistics(long compressedValues, long uncompressedValues, long originalBytes, long storedBytes) {
+        this.compressedValues = compressedValues;
+        this.uncompressedValues = uncompressedValues;
+        this.originalBytes = originalBytes;
+        this.storedBytes = storedBytes;
+    }
+
+    public long getCompressedValues() {
+        return compressedValues;
+    }
+
+    public long getUncompressedValues() {
+        return uncompressedValues;
+    }
+
+    public long getOriginalBytes() {
+        return originalBytes;
+    }
+
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * @return stored bytes / original bytes, 1.0 when nothing has been written yet
+     */
+    public double getCompressionRatio() {
+        return originalBytes == 0 ? 1.0 : (double) storedBytes / originalBytes;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this.getClass())
+                .add("compressedValues", compressedValues)
+                .add("uncompressedValues", uncompressedValues)
+                .add("originalBytes", originalBytes)
+                .add("storedBytes", storedBytes)
+                .add("compressionRatio", getCompressionRatio()).toString();
+    }
+}
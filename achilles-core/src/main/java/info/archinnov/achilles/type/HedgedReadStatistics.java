@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package info.archinnov.achilles.type;
+
+import com.google.common.base.Objects;
+
+/**
+ * Snapshot of the hedged reads statistics for an entity annotated with {@literal @}HedgedReads
+ *
+ * <ul>
+ *     <li><strong>reads</strong>: number of hedgeable reads executed</li>
+ *     <li><strong>hedgesSent</strong>: number of reads for which a second attempt was sent</li>
+ *     <li><strong>hedgesWon</strong>: number of reads answered first by the second attempt</li>
+ *     <li><strong>delayMicros</strong>: current hedging delay, in microseconds</li>
+ * </ul>
+ */
+public class HedgedReadStatistics {
+
+    private final long reads;
+    private final long hedgesSent;
+    private final long hedgesWon;
+    private final long delayMicros;
+
+    public HedgedReadStatistics(long reads, long hedgesSent, long hedgesWon, long delayMicros) {
+        this.reads = reads;
+        this.hedgesSent = hedgesSent;
+        this.hedgesWon = hedgesWon;
+        this.delayMicros = delayMicros;
+    }
+
+    public long getReads() {
+        return reads;
+    }
+
+    public long getHedgesSent() {
+        return hedgesSent;
+    }
+
+    public long getHedgesWon() {
+        return hedgesWon;
+    }
+
+    public long getDelayMicros() {
+        return delayMicros;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this.getClass())
+                .add("reads", reads)
+                .add("hedgesSent", hedgesSent)
+                .add("hedgesWon", hedgesWon)
+                .add("delayMicros", delayMicros).toString();
+    }
+}
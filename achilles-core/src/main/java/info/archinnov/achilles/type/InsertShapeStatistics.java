@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.type;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import com.google.common.base.Objects;
+
+/**
+ * Snapshot of the insert shapes statistics for an entity using {@code InsertStrategy.ADAPTIVE}.
+ * An insert shape is the set of not null columns written by an INSERT
+ *
+ * <ul>
+ *     <li><strong>hotShapeHits</strong>: number of inserts executed with a prepared statement</li>
+ *     <li><strong>rareShapeHits</strong>: number of inserts executed with a non prepared statement</li>
+ *     <li><strong>promotions</strong>: number of times a shape became hot</li>
+ *     <li><strong>trackedShapes</strong>: number of distinct shapes currently tracked</li>
+ *     <li><strong>hotShapeFrequencies</strong>: current hot shapes with their (aged) frequency</li>
+ * </ul>
+ */
+public class InsertShapeStatistics {
+
+    private final long hotShapeHits;
+    private final long rareShapeHits;
+    private final long promotions;
+    private final int trackedShapes;
+    private final Map<Set<String>, Long> hotShapeFrequencies;
+
+    public InsertShapeStatistics(long hotShapeHits, long rareShapeHits, long promotions, int trackedShapes,
+            Map<Set<String>, Long> hotShapeFrequencies) {
+        this.hotShapeHits = hotShapeHits;
+        this.rareShapeHits = rareShapeHits;
+        this.promotions = promotions;
+        this.trackedShapes = trackedShapes;
+        this.hotShapeFrequencies = Collections.unmodifiableMap(hotShapeFrequencies);
+    }
+
+    public long getHotShapeHits() {
+        return hotShapeHits;
+    }
+
+    public long getRareShapeHits() {
+        return rareShapeHits;
+    }
+
+    public double getHotShapeHitRatio() {
+        final long total = hotShapeHits + rareShapeHits;
+        return total == 0 ? 0 : (double) hotShapeHits / total;
+    }
+
+    public long getPromotions() {
+        return promotions;
+    }
+
+    public int getTrackedShapes() {
+        return trackedShapes;
+    }
+
+    public Map<Set<String>, Long> getHotShapeFrequencies() {
+        return hotShapeFrequencies;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this.getClass())
+                .add("hotShapeHits", hotShapeHits)
+                .add("rareShapeHits", rareShapeHits)
+                .add("promotions", promotions)
+                .add("trackedShapes", trackedShapes)
+                .add("hotShapeFrequencies", hotShapeFrequencies).toString();
+    }
+}
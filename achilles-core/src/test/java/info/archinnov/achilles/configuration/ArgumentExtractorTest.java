@@ -15,9 +15,12 @@
  */
 package info.archinnov.achilles.configuration;
 
+import static info.archinnov.achilles.configuration.ArgumentExtractor.DEFAULT_ADAPTIVE_INSERT_MAX_SHAPES;
 import static info.archinnov.achilles.configuration.ArgumentExtractor.DEFAULT_LRU_CACHE_SIZE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BOOTSTRAP_LAZY_ENTITY_ACTIVATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BOOTSTRAP_PARALLELISM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_DEFAULT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_MAP;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT;
@@ -27,16 +30,28 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.ENAB
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITIES_LIST;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_RULES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.FAULT_INJECTION_SEED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_REPORTING_PERIOD_SECONDS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_SESSION;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.JACKSON_MAPPER;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.JACKSON_MAPPER_FACTORY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OSGI_CLASS_LOADER;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_CACHE_SIZE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PROXIES_WARM_UP_DISABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_JMX_ENABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.QUERY_TRACING_SAMPLE_RATE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RELAX_INDEX_VALIDATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCHEMA_FINGERPRINT_FILE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_MAX_LOGS_PER_SECOND;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_THRESHOLD_MAP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_THRESHOLD_MILLIS;
 import static info.archinnov.achilles.type.ConsistencyLevel.ALL;
 import static info.archinnov.achilles.type.ConsistencyLevel.ANY;
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
@@ -48,6 +63,11 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -61,6 +81,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -76,9 +97,17 @@ import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.fault.FaultRule;
+import info.archinnov.achilles.fault.InjectedError;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.bean.validation.FakeValidator;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.fault.FaultInjector;
+import info.archinnov.achilles.internal.management.MBeanRegistrar;
+import info.archinnov.achilles.internal.metadata.discovery.EntityIndex;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
+import info.archinnov.achilles.internal.table.SchemaFingerprintCache;
+import info.archinnov.achilles.internal.tracing.QueryTraceSampler;
 import info.archinnov.achilles.internal.utils.ConfigMap;
 import info.archinnov.achilles.json.JacksonMapperFactory;
 import info.archinnov.achilles.test.more.entity.Entity3;
@@ -93,6 +122,9 @@ public class ArgumentExtractorTest {
     @Rule
     public ExpectedException exception = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Spy
     private ArgumentExtractor extractor = new ArgumentExtractor();
 
@@ -130,6 +162,20 @@ public class ArgumentExtractorTest {
         assertThat(actual).containsOnly(Entity1.class, Entity2.class, Entity3.class);
     }
 
+    @Test
+    public void should_scan_entity_package_split_across_indexed_and_non_indexed_roots() throws Exception {
+        configMap.put(ENTITY_PACKAGES, "info.archinnov.achilles.test.sample.entity,info.archinnov.achilles.test.more.entity");
+        File root = temporaryFolder.newFolder();
+        File index = new File(root, EntityIndex.INDEX_RESOURCE);
+        index.getParentFile().mkdirs();
+        Files.write(index.toPath(), Entity1.class.getName().getBytes(StandardCharsets.UTF_8));
+        ClassLoader classLoader = new URLClassLoader(new URL[] { root.toURI().toURL() }, this.getClass().getClassLoader());
+
+        Collection<Class<?>> actual = extractor.initEntities(configMap, classLoader);
+
+        assertThat(actual).containsOnly(Entity1.class, Entity2.class, Entity3.class);
+    }
+
     @Test
     public void should_init_empty_entity_packages() throws Exception {
         Collection<Class<?>> actual = extractor.initEntities(configMap, this.getClass().getClassLoader());
@@ -379,6 +425,7 @@ public class ArgumentExtractorTest {
         assertThat(configContext.getPreparedStatementLRUCacheSize()).isEqualTo(DEFAULT_LRU_CACHE_SIZE);
         assertThat(configContext.getInsertStrategy()).isEqualTo(ALL_FIELDS);
         assertThat(configContext.getInsertStrategy()).isEqualTo(ALL_FIELDS);
+        assertThat(configContext.getAdaptiveInsertMaxShapes()).isEqualTo(DEFAULT_ADAPTIVE_INSERT_MAX_SHAPES);
     }
 
     @Test
@@ -440,6 +487,55 @@ public class ArgumentExtractorTest {
         assertThat(actual).isEqualTo(10);
     }
 
+    @Test
+    public void should_init_bootstrap_parallelism() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(BOOTSTRAP_PARALLELISM, 4);
+
+        //When Then
+        assertThat(extractor.initBootstrapParallelism(params)).isEqualTo(4);
+        assertThat(extractor.initBootstrapParallelism(new ConfigMap())).isEqualTo(ArgumentExtractor.DEFAULT_BOOTSTRAP_PARALLELISM);
+    }
+
+    @Test
+    public void should_exception_when_bootstrap_parallelism_not_positive() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(BOOTSTRAP_PARALLELISM, 0);
+
+        //When
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The bootstrap parallelism '0' should be strictly positive");
+
+        extractor.initBootstrapParallelism(params);
+    }
+
+    @Test
+    public void should_init_lazy_entity_activation() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(BOOTSTRAP_LAZY_ENTITY_ACTIVATION, true);
+
+        //When Then
+        assertThat(extractor.initLazyEntityActivation(params)).isTrue();
+        assertThat(extractor.initLazyEntityActivation(new ConfigMap())).isFalse();
+    }
+
+    @Test
+    public void should_init_schema_fingerprint_cache() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(SCHEMA_FINGERPRINT_FILE, "target/achilles-fingerprints.properties");
+
+        //When
+        SchemaFingerprintCache actual = extractor.initSchemaFingerprintCache(params);
+
+        //Then
+        assertThat(actual.isEnabled()).isTrue();
+        assertThat(extractor.initSchemaFingerprintCache(new ConfigMap())).isSameAs(SchemaFingerprintCache.DISABLED);
+    }
+
     @Test
     public void should_init_proxy_warmup() throws Exception {
         //Given
@@ -466,6 +562,149 @@ public class ArgumentExtractorTest {
         assertThat(strategy).isEqualTo(ALL_FIELDS);
     }
 
+    @Test
+    public void should_init_adaptive_insert_max_shapes() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES, 3);
+
+        //When
+        final int maxShapes = extractor.initAdaptiveInsertMaxShapes(params);
+
+        //Then
+        assertThat(maxShapes).isEqualTo(3);
+    }
+
+    @Test
+    public void should_exception_when_adaptive_insert_max_shapes_not_positive() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES, 0);
+
+        //When
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The max number of adaptive insert shapes '0' should be strictly positive");
+
+        extractor.initAdaptiveInsertMaxShapes(params);
+    }
+
+    @Test
+    public void should_init_metrics_registry() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(KEYSPACE_NAME, "my_keyspace");
+        params.put(METRICS_ENABLED, true);
+
+        //When
+        final MetricsRegistry registry = extractor.initMetricsRegistry(params, extractor.initMBeanRegistrar(params));
+
+        //Then
+        assertThat(registry.isEnabled()).isTrue();
+        assertThat(registry.getFactoryName()).isEqualTo("my_keyspace");
+        assertThat(extractor.initMetricsRegistry(new ConfigMap(), new MBeanRegistrar("default"))).isSameAs(MetricsRegistry.DISABLED);
+    }
+
+    @Test
+    public void should_exception_when_metrics_reporting_period_not_positive() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(METRICS_ENABLED, true);
+        params.put(METRICS_REPORTING_PERIOD_SECONDS, 0L);
+
+        //When
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The metrics reporting period '0' should be strictly positive");
+
+        extractor.initMetricsRegistry(params, extractor.initMBeanRegistrar(params));
+    }
+
+    @Test
+    public void should_init_slow_statement_parameters() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(SLOW_STATEMENT_THRESHOLD_MILLIS, 200L);
+        params.put(SLOW_STATEMENT_THRESHOLD_MAP, ImmutableMap.of("table1", 50L));
+        params.put(SLOW_STATEMENT_MAX_LOGS_PER_SECOND, 3);
+
+        //When Then
+        assertThat(extractor.initSlowStatementThresholdMillis(params)).isEqualTo(200L);
+        assertThat(extractor.initSlowStatementThresholdMap(params)).containsKey("table1");
+        assertThat(extractor.initSlowStatementMaxLogsPerSecond(params)).isEqualTo(3);
+        assertThat(extractor.initSlowStatementThresholdMillis(new ConfigMap())).isEqualTo(0L);
+        assertThat(extractor.initSlowStatementThresholdMap(new ConfigMap())).isEmpty();
+        assertThat(extractor.initSlowStatementMaxLogsPerSecond(new ConfigMap())).isEqualTo(10);
+    }
+
+    @Test
+    public void should_exception_when_slow_statement_max_logs_not_positive() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(SLOW_STATEMENT_MAX_LOGS_PER_SECOND, 0);
+
+        //When
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The max number of slow statements logged per second '0' should be strictly positive");
+
+        extractor.initSlowStatementMaxLogsPerSecond(params);
+    }
+
+    @Test
+    public void should_init_query_trace_sampler() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(QUERY_TRACING_SAMPLE_RATE, 0.001);
+
+        //When
+        final QueryTraceSampler sampler = extractor.initQueryTraceSampler(params, extractor.initMBeanRegistrar(params));
+
+        //Then
+        assertThat(sampler.isEnabled()).isTrue();
+        assertThat(sampler.getDefaultSampleRate()).isEqualTo(0.001);
+        assertThat(extractor.initQueryTraceSampler(new ConfigMap(), new MBeanRegistrar("default"))).isSameAs(QueryTraceSampler.DISABLED);
+    }
+
+    @Test
+    public void should_init_query_trace_sampler_when_jmx_enabled() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(QUERY_TRACING_JMX_ENABLED, true);
+
+        //When
+        final QueryTraceSampler sampler = extractor.initQueryTraceSampler(params, extractor.initMBeanRegistrar(params));
+
+        //Then
+        assertThat(sampler.isEnabled()).isTrue();
+        assertThat(sampler.getDefaultSampleRate()).isEqualTo(0.0);
+    }
+
+    @Test
+    public void should_init_fault_injector() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        final FaultRule rule = FaultRule.forAllTables().withError(InjectedError.TIMEOUT, 0.1).build();
+        params.put(FAULT_INJECTION_ENABLED, true);
+        params.put(FAULT_INJECTION_RULES, Arrays.asList(rule));
+        params.put(FAULT_INJECTION_SEED, 10L);
+
+        //When
+        final FaultInjector faultInjector = extractor.initFaultInjector(params, extractor.initMBeanRegistrar(params));
+
+        //Then
+        assertThat(faultInjector.isEnabled()).isTrue();
+        assertThat(faultInjector.isActive()).isTrue();
+        assertThat(faultInjector.getRules()).containsExactly(rule);
+    }
+
+    @Test
+    public void should_not_init_fault_injector_by_default() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(FAULT_INJECTION_SEED, 10L);
+
+        //When Then
+        assertThat(extractor.initFaultInjector(params, extractor.initMBeanRegistrar(params))).isSameAs(FaultInjector.DISABLED);
+    }
+
     @Test
     public void should_init_osgi_classloader() throws Exception {
         //Given
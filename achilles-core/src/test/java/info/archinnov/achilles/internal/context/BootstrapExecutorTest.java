@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Uninterruptibles;
+import info.archinnov.achilles.exception.AchillesException;
+
+public class BootstrapExecutorTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private BootstrapExecutor executor;
+
+    @After
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutDown();
+        }
+    }
+
+    @Test
+    public void should_transform_values_in_parallel() throws Exception {
+        //Given
+        executor = new BootstrapExecutor(2);
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        Map<String, Integer> input = ImmutableMap.of("one", 1, "two", 2);
+
+        //When
+        Map<String, String> actual = executor.transformValues(input, new Function<Integer, String>() {
+            @Override
+            public String apply(Integer input) {
+                bothStarted.countDown();
+                Uninterruptibles.awaitUninterruptibly(bothStarted, 5, TimeUnit.SECONDS);
+                return "value" + input;
+            }
+        });
+
+        //Then
+        assertThat(bothStarted.getCount()).isEqualTo(0L);
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get("one")).isEqualTo("value1");
+        assertThat(actual.get("two")).isEqualTo("value2");
+    }
+
+    @Test
+    public void should_run_tasks_on_bootstrap_threads() throws Exception {
+        //Given
+        executor = new BootstrapExecutor(4);
+        final Set<String> threadNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        //When
+        executor.forEach(Arrays.asList(1, 2, 3), new Function<Integer, Void>() {
+            @Override
+            public Void apply(Integer input) {
+                threadNames.add(Thread.currentThread().getName());
+                return null;
+            }
+        });
+
+        //Then
+        assertThat(threadNames).isNotEmpty();
+        for (String threadName : threadNames) {
+            assertThat(threadName).startsWith("achilles-bootstrap-");
+        }
+    }
+
+    @Test
+    public void should_run_tasks_in_calling_thread_when_parallelism_is_one() throws Exception {
+        //Given
+        executor = new BootstrapExecutor(1);
+        final Set<String> threadNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        //When
+        executor.forEach(Arrays.asList(1, 2, 3), new Function<Integer, Void>() {
+            @Override
+            public Void apply(Integer input) {
+                threadNames.add(Thread.currentThread().getName());
+                return null;
+            }
+        });
+
+        //Then
+        assertThat(threadNames).containsOnly(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void should_rethrow_task_failure() throws Exception {
+        //Given
+        executor = new BootstrapExecutor(2);
+
+        //When
+        exception.expect(IllegalStateException.class);
+        exception.expectMessage("failure for 2");
+
+        executor.forEach(Arrays.asList(1, 2), new Function<Integer, Void>() {
+            @Override
+            public Void apply(Integer input) {
+                if (input == 2) {
+                    throw new IllegalStateException("failure for " + input);
+                }
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void should_exception_when_parallelism_not_positive() throws Exception {
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The bootstrap parallelism '0' should be strictly positive");
+
+        new BootstrapExecutor(0);
+    }
+}
@@ -42,6 +42,7 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.internal.statement.slowlog.SlowStatementLog;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -82,6 +83,7 @@ public class DaoContextFactoryTest {
     @Before
     public void setUp() {
         Whitebox.setInternalState(builder, PreparedStatementGenerator.class, queryGenerator);
+        when(configContext.getBootstrapParallelism()).thenReturn(1);
     }
 
     @Test
@@ -132,6 +134,7 @@ public class DaoContextFactoryTest {
         // Given
         Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
         EntityMeta meta = new EntityMeta();
+        meta.setTableName("Complete_Bean");
         PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(SIMPLE).build();
 
         meta.setPropertyMetas(ImmutableMap.of("name", nameMeta));
@@ -152,6 +155,7 @@ public class DaoContextFactoryTest {
         assertThat(Whitebox.<Map<Class<?>, Map<String, PreparedStatement>>>getInternalState(actual, "removePSs")).containsKey(CompleteBean.class);
         assertThat(Whitebox.<Cache<StatementCacheKey, PreparedStatement>>getInternalState(actual, "dynamicPSCache")).isInstanceOf(Cache.class);
         assertThat(Whitebox.<Map<CQLQueryType, PreparedStatement>>getInternalState(actual, "counterQueryMap")).isSameAs(counterQueryMap);
+        assertThat(Whitebox.<Map<String, EntityMeta>>getInternalState(actual, "entityMetaByTableName")).containsKey("complete_bean");
     }
 
     @Test
@@ -159,6 +163,7 @@ public class DaoContextFactoryTest {
         // Given
         Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
         EntityMeta meta = new EntityMeta();
+        meta.setTableName("Complete_Bean");
         PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(SIMPLE).build();
 
         meta.setPropertyMetas(ImmutableMap.of("name", nameMeta));
@@ -179,4 +184,65 @@ public class DaoContextFactoryTest {
         assertThat(Whitebox.<Cache<StatementCacheKey, PreparedStatement>>getInternalState(actual, "dynamicPSCache")).isInstanceOf(Cache.class);
         assertThat(Whitebox.<Map<CQLQueryType, PreparedStatement>>getInternalState(actual, "counterQueryMap")).isEmpty();
     }
+
+    @Test
+    public void should_prepare_entity_statements_on_activation_with_lazy_entity_activation() throws Exception {
+        // Given
+        Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
+        EntityMeta meta = new EntityMeta();
+        meta.setEntityClass(CompleteBean.class);
+        meta.setTableName("Complete_Bean");
+        PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(SIMPLE).build();
+
+        meta.setPropertyMetas(ImmutableMap.of("name", nameMeta));
+        entityMetaMap.put(CompleteBean.class, meta);
+
+        when(queryGenerator.prepareSelectAll(session, meta)).thenReturn(selectEagerPS);
+        when(queryGenerator.prepareRemovePSs(session, meta)).thenReturn(removePSs);
+        when(parsingResult.getMetaMap()).thenReturn(entityMetaMap);
+        when(configContext.getPreparedStatementLRUCacheSize()).thenReturn(100);
+        when(configContext.isLazyEntityActivation()).thenReturn(true);
+
+        // When
+        DaoContext actual = builder.create(session, parsingResult, configContext);
+
+        // Then
+        assertThat(Whitebox.<Map<Class<?>, PreparedStatement>>getInternalState(actual, "selectPSs")).isEmpty();
+        assertThat(Whitebox.<Map<Class<?>, Map<String, PreparedStatement>>>getInternalState(actual, "removePSs")).isEmpty();
+        assertThat(Whitebox.<Map<String, EntityMeta>>getInternalState(actual, "entityMetaByTableName")).containsKey("complete_bean");
+
+        // When
+        builder.prepareStatementsForEntity(session, meta, actual);
+
+        // Then
+        assertThat(Whitebox.<Map<Class<?>, PreparedStatement>>getInternalState(actual, "selectPSs")).containsValue(selectEagerPS);
+        assertThat(Whitebox.<Map<Class<?>, Map<String, PreparedStatement>>>getInternalState(actual, "removePSs")).containsKey(CompleteBean.class);
+    }
+
+    @Test
+    public void should_build_slow_statement_log_with_table_thresholds() throws Exception {
+        // Given
+        EntityMeta meta = new EntityMeta();
+        meta.setTableName("Complete_Bean");
+        Map<Class<?>, EntityMeta> entityMetaMap = ImmutableMap.<Class<?>, EntityMeta>of(CompleteBean.class, meta);
+
+        when(configContext.getSlowStatementThresholdMap()).thenReturn(ImmutableMap.of("complete_bean", 20L));
+        when(configContext.getSlowStatementMaxLogsPerSecond()).thenReturn(10);
+
+        // When
+        SlowStatementLog slowStatementLog = builder.buildSlowStatementLog(configContext, entityMetaMap);
+
+        // Then
+        assertThat(slowStatementLog.isEnabled()).isTrue();
+        assertThat(Whitebox.<Map<Class<?>, Long>>getInternalState(slowStatementLog, "thresholdNanosByEntity")).containsKey(CompleteBean.class);
+    }
+
+    @Test
+    public void should_build_disabled_slow_statement_log_without_threshold() throws Exception {
+        // When
+        SlowStatementLog slowStatementLog = builder.buildSlowStatementLog(configContext, new HashMap<Class<?>, EntityMeta>());
+
+        // Then
+        assertThat(slowStatementLog).isSameAs(SlowStatementLog.DISABLED);
+    }
 }
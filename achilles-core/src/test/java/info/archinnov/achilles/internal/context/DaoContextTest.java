@@ -15,14 +15,17 @@
  */
 package info.archinnov.achilles.internal.context;
 
+import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.update;
 import static com.google.common.base.Optional.fromNullable;
 import static com.google.common.collect.ImmutableMap.of;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DELETE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.INCR;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_VALUE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.SELECT;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.DELETE_ALL;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.SELECT_ALL;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.ID;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
 import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ADD_TO_SET;
 import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_FROM_LIST_AT_INDEX;
@@ -34,7 +37,14 @@ import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
 import static java.util.Arrays.asList;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -54,7 +64,9 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
@@ -76,10 +88,15 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.internal.statement.StatementGenerator;
 import info.archinnov.achilles.internal.statement.cache.CacheManager;
+import info.archinnov.achilles.internal.statement.cache.InsertShapeTracker;
+import info.archinnov.achilles.internal.statement.cache.SliceShapeCache;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementBinder;
+import info.archinnov.achilles.internal.statement.slowlog.SlowStatementLog;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.NativeQueryLog;
+import info.archinnov.achilles.internal.statement.wrapper.NativeStatementWrapper;
 import info.archinnov.achilles.listener.CASResultListener;
 import info.archinnov.achilles.query.slice.SliceQueryProperties;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
@@ -206,6 +223,37 @@ public class DaoContextTest {
         verify(context).pushStatement(bsWrapper);
     }
 
+    @Test
+    public void should_push_non_prepared_insert_for_rare_shape() throws Exception {
+        // Given
+        final PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name").build();
+        final PropertyMeta ageMeta = PropertyMetaTestBuilder.valueClass(Long.class).field("age").build();
+        final InsertShapeTracker shapeTracker = new InsertShapeTracker(1);
+        shapeTracker.record(asList(nameMeta));
+        shapeTracker.record(asList(nameMeta));
+        entityMeta.setInsertShapeTracker(shapeTracker);
+
+        final Insert insertStatement = insertInto("test");
+        Object[] boundValues = new Object[] { 10L, 33L };
+        List<PropertyMeta> pms = asList(ageMeta);
+
+        when(overrider.getWriteLevel(context)).thenReturn(EACH_QUORUM);
+        when(statementGenerator.generateInsert(context, pms)).thenReturn(Pair.create(insertStatement, boundValues));
+        when(context.getCASResultListener()).thenReturn(Optional.<CASResultListener>absent());
+        when(context.getSerialConsistencyLevel()).thenReturn(Optional.<com.datastax.driver.core.ConsistencyLevel>absent());
+
+        // When
+        daoContext.pushInsertStatement(context, pms);
+
+        // Then
+        verify(context).pushStatement(statementWrapperCaptor.capture());
+        final RegularStatementWrapper statementWrapper = statementWrapperCaptor.getValue();
+        assertThat(statementWrapper.getValues()).isEqualTo(boundValues);
+        assertThat(statementWrapper.getStatement().getConsistencyLevel()).isEqualTo(com.datastax.driver.core.ConsistencyLevel.EACH_QUORUM);
+        verifyZeroInteractions(cacheManager);
+        assertThat(shapeTracker.getStatistics().getRareShapeHits()).isEqualTo(1L);
+    }
+
     @Test
     public void should_push_update() throws Exception {
         // Given
@@ -461,6 +509,49 @@ public class DaoContextTest {
         assertThat(actual).isSameAs(row);
     }
 
+    @Test
+    public void should_push_sharded_counter_increment_on_a_shard() throws Exception {
+        // Given
+        Long counterValue = RandomUtils.nextLong();
+        PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name").fqcn("fqcn").build();
+        pm.getCounterProperties().setShards(4);
+        daoContext.shardedCounterQueryMap = ImmutableMap.of(INCR, ps);
+
+        // When
+        when(overrider.getWriteLevel(context, pm)).thenReturn(EACH_QUORUM);
+        when(binder.bindForShardedCounterIncrementDecrement(eq(context), eq(ps), eq(pm), eq(counterValue), anyInt(), eq(EACH_QUORUM))).thenReturn(bsWrapper);
+
+        daoContext.bindForSimpleCounterIncrement(context, pm, counterValue);
+
+        // Then
+        ArgumentCaptor<Integer> shardCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(binder).bindForShardedCounterIncrementDecrement(eq(context), eq(ps), eq(pm), eq(counterValue), shardCaptor.capture(), eq(EACH_QUORUM));
+        assertThat(shardCaptor.getValue()).isGreaterThanOrEqualTo(0).isLessThan(4);
+        verify(context).pushCounterStatement(bsWrapper);
+        verifyZeroInteractions(counterQueryMap);
+    }
+
+    @Test
+    public void should_get_sharded_counter_as_sum_of_shards() throws Exception {
+        // Given
+        ResultSet resultSet = mock(ResultSet.class);
+        Row row1 = mock(Row.class);
+        Row row2 = mock(Row.class);
+        PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name").fqcn("fqcn").build();
+        pm.getCounterProperties().setShards(4);
+        daoContext.shardedCounterQueryMap = ImmutableMap.of(CQLQueryType.SELECT, ps);
+
+        // When
+        when(binder.bindForShardedCounterSelect(context, ps, pm, EACH_QUORUM)).thenReturn(bsWrapper);
+        when(context.executeImmediate(bsWrapper)).thenReturn(resultSet);
+        when(resultSet.iterator()).thenReturn(asList(row1, row2).iterator());
+        when(row1.getLong(CQL_COUNTER_VALUE)).thenReturn(10L);
+        when(row2.getLong(CQL_COUNTER_VALUE)).thenReturn(-3L);
+
+        // Then
+        assertThat(daoContext.getShardedCounter(context, pm, EACH_QUORUM)).isEqualTo(7L);
+    }
+
     @Test
     public void should_bind_simple_counter_delete() throws Exception {
         // Given
@@ -637,10 +728,34 @@ public class DaoContextTest {
         verify(session).execute(batch);
     }
 
+    @Test
+    public void should_log_slow_batch_when_execution_fails() throws Exception {
+        // Given
+        BatchStatement batch = new BatchStatement();
+        batch.add(new SimpleStatement("INSERT INTO table(id) VALUES(1)"));
+        SlowStatementLog slowStatementLog = mock(SlowStatementLog.class);
+        daoContext.setSlowStatementLog(slowStatementLog);
+        IllegalStateException failure = new IllegalStateException("timeout");
+        when(slowStatementLog.isSlow(eq((Class<?>) null), anyLong())).thenReturn(true);
+        when(session.execute(batch)).thenThrow(failure);
+
+        // When
+        try {
+            daoContext.executeBatch(batch);
+        } catch (IllegalStateException e) {
+            assertThat(e).isSameAs(failure);
+        }
+
+        // Then
+        verify(slowStatementLog).log(eq((Class<?>) null), same(batch), eq("BATCH of 1 statements"), isNull(Object[].class),
+                anyLong(), isNull(ExecutionInfo.class), same(failure));
+    }
+
     @Test
     public void should_bind_for_slice_query_select() throws Exception {
         //Given
         final Object[] boundValues = { 10 };
+        when(sliceQueryProperties.getStatementShapeId()).thenReturn(SliceQueryProperties.NO_STATEMENT_SHAPE);
         when(cacheManager.getCacheForSliceSelectAndIterator(session, dynamicPSCache, sliceQueryProperties)).thenReturn(ps);
         when(sliceQueryProperties.getEntityClass()).thenReturn(CompleteBean.class);
         when(sliceQueryProperties.getBoundValues()).thenReturn(boundValues);
@@ -658,6 +773,29 @@ public class DaoContextTest {
         verify(sliceQueryProperties).setFetchSizeToStatement(bs);
     }
 
+    @Test
+    public void should_bind_for_slice_query_select_by_statement_shape() throws Exception {
+        //Given
+        final Object[] boundValues = { 10 };
+        final EntityMeta meta = new EntityMeta();
+        final SliceShapeCache sliceShapeCache = new SliceShapeCache(2);
+        meta.setSliceShapeCache(sliceShapeCache);
+        when(sliceQueryProperties.getEntityMeta()).thenReturn(meta);
+        when(sliceQueryProperties.getStatementShapeId()).thenReturn(5);
+        when(cacheManager.getCacheForSliceShape(session, sliceShapeCache, sliceQueryProperties, 5)).thenReturn(ps);
+        when(sliceQueryProperties.getEntityClass()).thenReturn(CompleteBean.class);
+        when(sliceQueryProperties.getBoundValues()).thenReturn(boundValues);
+        when(sliceQueryProperties.getConsistencyLevelOr(EACH_QUORUM)).thenReturn(LOCAL_QUORUM);
+        when(ps.bind(boundValues)).thenReturn(bs);
+
+        //When
+        final BoundStatementWrapper bsWrapper = daoContext.bindForSliceQuerySelect(sliceQueryProperties, EACH_QUORUM);
+
+        //Then
+        assertThat(bsWrapper.getStatement()).isSameAs(bs);
+        verify(cacheManager, never()).getCacheForSliceSelectAndIterator(session, dynamicPSCache, sliceQueryProperties);
+    }
+
     @Test
     public void should_bind_for_slice_query_delete() throws Exception {
         //Given
@@ -678,4 +816,36 @@ public class DaoContextTest {
         verify(bs).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.LOCAL_QUORUM);
         verify(sliceQueryProperties).setFetchSizeToStatement(bs);
     }
+
+    @Test
+    public void should_attach_routing_key_to_native_statement_on_entity_table() throws Exception {
+        //Given
+        PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID).build();
+        EntityMeta meta = new EntityMeta();
+        meta.setIdMeta(idMeta);
+        daoContext.entityMetaByTableName = ImmutableMap.of("completebean", meta);
+
+        final NativeStatementWrapper wrapper = new NativeStatementWrapper(NativeQueryLog.class,
+                new SimpleStatement("SELECT * FROM CompleteBean WHERE id=?"), new Object[] { 10L }, Optional.<CASResultListener>absent());
+
+        //When
+        daoContext.attachRoutingKey(wrapper);
+
+        //Then
+        assertThat(asList(wrapper.getRoutingKey())).containsExactly(DataType.serializeValue(10L));
+        assertThat(wrapper.buildParameterizedStatement().getRoutingKey()).isEqualTo(DataType.serializeValue(10L));
+    }
+
+    @Test
+    public void should_not_attach_routing_key_to_native_statement_on_unknown_table() throws Exception {
+        //Given
+        final NativeStatementWrapper wrapper = new NativeStatementWrapper(NativeQueryLog.class,
+                new SimpleStatement("SELECT * FROM other WHERE id=?"), new Object[] { 10L }, Optional.<CASResultListener>absent());
+
+        //When
+        daoContext.attachRoutingKey(wrapper);
+
+        //Then
+        assertThat(wrapper.getRoutingKey()).isNull();
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.exception.AchillesInvalidTableException;
+import info.archinnov.achilles.internal.metadata.discovery.AchillesBootstrapper;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityActivatorTest {
+
+    @Mock
+    private AchillesBootstrapper bootstrapper;
+
+    @Mock
+    private SchemaContext schemaContext;
+
+    @Mock
+    private DaoContextFactory daoContextFactory;
+
+    @Mock
+    private DaoContext daoContext;
+
+    @Mock
+    private Session session;
+
+    private EntityMeta meta;
+
+    private EntityActivator activator;
+
+    @Before
+    public void setUp() {
+        meta = new EntityMeta();
+        meta.setEntityClass(CompleteBean.class);
+        when(schemaContext.getSession()).thenReturn(session);
+        activator = new EntityActivator(bootstrapper, schemaContext, daoContextFactory, daoContext);
+    }
+
+    @Test
+    public void should_activate_entity_once() throws Exception {
+        //When
+        activator.activate(meta);
+        activator.activate(meta);
+
+        //Then
+        assertThat(activator.isActivated(CompleteBean.class)).isTrue();
+        verify(bootstrapper, times(1)).validateOrCreateTableForEntity(schemaContext, meta);
+        verify(daoContextFactory, times(1)).prepareStatementsForEntity(session, meta, daoContext);
+    }
+
+    @Test
+    public void should_activate_entity_once_when_used_concurrently() throws Exception {
+        //Given
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                Thread.sleep(50);
+                return null;
+            }
+        }).when(bootstrapper).validateOrCreateTableForEntity(schemaContext, meta);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //When
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await();
+                    activator.activate(meta);
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        //Then
+        verify(bootstrapper, times(1)).validateOrCreateTableForEntity(schemaContext, meta);
+        verify(daoContextFactory, times(1)).prepareStatementsForEntity(session, meta, daoContext);
+    }
+
+    @Test
+    public void should_retry_activation_after_failure() throws Exception {
+        //Given
+        doThrow(new AchillesInvalidTableException("invalid table")).doNothing()
+                .when(bootstrapper).validateOrCreateTableForEntity(schemaContext, meta);
+
+        //When
+        try {
+            activator.activate(meta);
+        } catch (AchillesInvalidTableException e) {
+            assertThat(activator.isActivated(CompleteBean.class)).isFalse();
+        }
+        activator.activate(meta);
+
+        //Then
+        assertThat(activator.isActivated(CompleteBean.class)).isTrue();
+        verify(bootstrapper, times(2)).validateOrCreateTableForEntity(schemaContext, meta);
+        verify(daoContextFactory, times(1)).prepareStatementsForEntity(session, meta, daoContext);
+    }
+}
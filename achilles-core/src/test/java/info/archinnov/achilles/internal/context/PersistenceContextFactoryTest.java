@@ -18,6 +18,7 @@ package info.archinnov.achilles.internal.context;
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
 import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -111,6 +112,7 @@ public class PersistenceContextFactoryTest {
         assertThat(actual.stateHolderFacade.getEntityMeta()).isSameAs(meta);
         assertThat(actual.stateHolderFacade.getIdMeta()).isSameAs(idMeta);
         assertThat(actual.stateHolderFacade.getTtl()).isSameAs(PersistenceContextFactory.NO_TTL);
+        verify(daoContext).activate(meta);
     }
 
     @Test
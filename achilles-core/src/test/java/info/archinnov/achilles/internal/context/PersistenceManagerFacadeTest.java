@@ -23,8 +23,17 @@ import static info.archinnov.achilles.interceptor.Event.POST_UPDATE;
 import static info.archinnov.achilles.interceptor.Event.PRE_PERSIST;
 import static info.archinnov.achilles.interceptor.Event.PRE_REMOVE;
 import static info.archinnov.achilles.interceptor.Event.PRE_UPDATE;
+import static info.archinnov.achilles.metrics.Operation.FIND;
+import static info.archinnov.achilles.metrics.Operation.REMOVE;
+import static info.archinnov.achilles.metrics.Operation.UPDATE;
 import static java.util.Arrays.asList;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -42,8 +51,10 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 import com.google.common.collect.Sets;
+import info.archinnov.achilles.internal.context.AbstractFlushContext.FlushType;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
 import info.archinnov.achilles.internal.persistence.operations.EntityInitializer;
 import info.archinnov.achilles.internal.persistence.operations.EntityLoader;
 import info.archinnov.achilles.internal.persistence.operations.EntityPersister;
@@ -51,6 +62,7 @@ import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.EntityRefresher;
 import info.archinnov.achilles.internal.persistence.operations.EntityUpdater;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.metrics.Operation;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -109,6 +121,7 @@ public class PersistenceManagerFacadeTest {
         when(meta.getIdMeta()).thenReturn(idMeta);
         when(meta.<CompleteBean>getEntityClass()).thenReturn(CompleteBean.class);
         when(configurationContext.getDefaultWriteConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+        when(configurationContext.getMetricsRegistry()).thenReturn(MetricsRegistry.DISABLED);
 
         context = new PersistenceContext(meta, configurationContext, daoContext, flushContext, CompleteBean.class, primaryKey, OptionsBuilder.noOptions());
         facade = context.persistenceManagerFacade;
@@ -142,6 +155,25 @@ public class PersistenceManagerFacadeTest {
         inOrder.verify(flushContext).triggerInterceptor(meta, entity, POST_PERSIST);
     }
 
+    @Test
+    public void should_persist_without_proxy() throws Exception {
+        //Given
+        Object entity = new Object();
+        context.entity = entity;
+
+        //When
+        facade.persistWithoutProxy(entity);
+
+        //Then
+        InOrder inOrder = Mockito.inOrder(flushContext, persister);
+
+        inOrder.verify(flushContext).triggerInterceptor(meta, entity, PRE_PERSIST);
+        inOrder.verify(persister).persist(context.entityFacade);
+        inOrder.verify(flushContext).flush();
+        inOrder.verify(flushContext).triggerInterceptor(meta, entity, POST_PERSIST);
+        verifyZeroInteractions(proxifier);
+    }
+
     @Test
     public void should_update() throws Exception {
         //Given
@@ -160,6 +192,55 @@ public class PersistenceManagerFacadeTest {
         inOrder.verify(flushContext).triggerInterceptor(meta, rawEntity, POST_UPDATE);
     }
 
+    @Test
+    public void should_update_detached_against_snapshot() throws Exception {
+        //Given
+        final CompleteBean rawEntity = new CompleteBean();
+        final CompleteBean snapshot = new CompleteBean();
+        context.entity = rawEntity;
+
+        //When
+        facade.updateDetached(snapshot);
+
+        //Then
+        InOrder inOrder = Mockito.inOrder(flushContext, updater);
+
+        inOrder.verify(flushContext).triggerInterceptor(meta, rawEntity, PRE_UPDATE);
+        inOrder.verify(updater).updateDetached(context.entityFacade, rawEntity, snapshot);
+        inOrder.verify(flushContext).flush();
+        inOrder.verify(flushContext).triggerInterceptor(meta, rawEntity, POST_UPDATE);
+    }
+
+    @Test
+    public void should_update_detached_against_loaded_state() throws Exception {
+        //Given
+        final CompleteBean rawEntity = new CompleteBean();
+        context.entity = rawEntity;
+        when(loader.load(context.entityFacade, CompleteBean.class)).thenReturn(entity);
+
+        //When
+        facade.updateDetached();
+
+        //Then
+        verify(updater).updateDetached(context.entityFacade, rawEntity, entity);
+    }
+
+    @Test
+    public void should_update_detached_against_empty_entity_when_not_found() throws Exception {
+        //Given
+        final CompleteBean rawEntity = new CompleteBean();
+        final CompleteBean emptyEntity = new CompleteBean();
+        context.entity = rawEntity;
+        when(loader.load(context.entityFacade, CompleteBean.class)).thenReturn(null);
+        when(meta.instanciate()).thenReturn(emptyEntity);
+
+        //When
+        facade.updateDetached();
+
+        //Then
+        verify(updater).updateDetached(context.entityFacade, rawEntity, emptyEntity);
+    }
+
     @Test
     public void should_remove() throws Exception {
         //Given
@@ -249,4 +330,79 @@ public class PersistenceManagerFacadeTest {
 
         verify(initializer).initializeEntity(entity, meta);
     }
+
+    @Test
+    public void should_record_write_metrics_when_flushed_immediately() throws Exception {
+        //Given
+        MetricsRegistry metricsRegistry = mock(MetricsRegistry.class);
+        when(configurationContext.getMetricsRegistry()).thenReturn(metricsRegistry);
+        when(metricsRegistry.startTimer()).thenReturn(10L);
+        when(flushContext.type()).thenReturn(FlushType.IMMEDIATE);
+        context.entity = entity;
+
+        //When
+        facade.remove();
+
+        //Then
+        verify(metricsRegistry).recordSuccess(CompleteBean.class, REMOVE, 10L);
+    }
+
+    @Test
+    public void should_record_failure_metrics_and_rethrow() throws Exception {
+        //Given
+        MetricsRegistry metricsRegistry = mock(MetricsRegistry.class);
+        when(configurationContext.getMetricsRegistry()).thenReturn(metricsRegistry);
+        when(metricsRegistry.startTimer()).thenReturn(10L);
+        when(flushContext.type()).thenReturn(FlushType.IMMEDIATE);
+        context.entity = entity;
+        final RuntimeException failure = new RuntimeException("test");
+        doThrow(failure).when(flushContext).flush();
+
+        //When
+        try {
+            facade.update(entity);
+            fail("Expected failure");
+        } catch (RuntimeException e) {
+            assertThat(e).isSameAs(failure);
+        }
+
+        //Then
+        verify(metricsRegistry).recordFailure(CompleteBean.class, UPDATE, 10L);
+        verify(metricsRegistry, never()).recordSuccess(any(Class.class), any(Operation.class), anyLong());
+    }
+
+    @Test
+    public void should_not_record_write_metrics_when_batching() throws Exception {
+        //Given
+        MetricsRegistry metricsRegistry = mock(MetricsRegistry.class);
+        when(configurationContext.getMetricsRegistry()).thenReturn(metricsRegistry);
+        when(flushContext.type()).thenReturn(FlushType.BATCH);
+        context.entity = entity;
+
+        //When
+        facade.persistWithoutProxy(entity);
+        facade.update(entity);
+        facade.updateDetached(entity);
+        facade.remove();
+
+        //Then
+        verify(persister).persist(context.entityFacade);
+        verify(persister).remove(context.entityFacade);
+        verifyZeroInteractions(metricsRegistry);
+    }
+
+    @Test
+    public void should_record_find_metrics_when_batching() throws Exception {
+        //Given
+        MetricsRegistry metricsRegistry = mock(MetricsRegistry.class);
+        when(configurationContext.getMetricsRegistry()).thenReturn(metricsRegistry);
+        when(metricsRegistry.startTimer()).thenReturn(10L);
+        when(flushContext.type()).thenReturn(FlushType.BATCH);
+
+        //When
+        facade.find(CompleteBean.class);
+
+        //Then
+        verify(metricsRegistry).recordSuccess(CompleteBean.class, FIND, 10L);
+    }
 }
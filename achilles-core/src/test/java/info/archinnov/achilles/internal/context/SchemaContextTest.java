@@ -40,7 +40,9 @@ import com.google.common.collect.Sets;
 
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
+import info.archinnov.achilles.internal.table.SchemaFingerprintCache;
 import info.archinnov.achilles.internal.table.TableCreator;
+import info.archinnov.achilles.internal.table.TableMetadataSource;
 import info.archinnov.achilles.internal.table.TableUpdater;
 import info.archinnov.achilles.internal.table.TableValidator;
 
@@ -61,6 +63,9 @@ public class SchemaContextTest {
     @Mock
     private TableCreator tableCreator;
 
+    @Mock
+    private TableMetadataSource tableMetadataSource;
+
 	@Mock
 	private TableUpdater tableUpdater;
 
@@ -70,13 +75,17 @@ public class SchemaContextTest {
     @Mock
     private ConfigurationContext configContext;
 
+    @Mock
+    private SchemaFingerprintCache fingerprintCache;
+
 
     private String keyspaceName = "keyspace";
 
     @Before
     public void setUp() {
         when(configContext.isForceColumnFamilyCreation()).thenReturn(true);
-        context = new SchemaContext(configContext, session, keyspaceName, cluster, new ParsingResult(entityMetaMap, true));
+        when(configContext.getSchemaFingerprintCache()).thenReturn(fingerprintCache);
+        context = new SchemaContext(configContext, session, keyspaceName, cluster, tableMetadataSource, new ParsingResult(entityMetaMap, true));
 
         context.tableCreator=tableCreator;
         context.tableUpdater=tableUpdater;
@@ -123,6 +132,40 @@ public class SchemaContextTest {
         verify(tableValidator).validateForEntity(entityMeta, tableMetaData, configContext);
     }
 
+    @Test
+    public void should_record_fingerprint_after_validation() throws Exception {
+        // Given
+        EntityMeta entityMeta = mock(EntityMeta.class);
+        TableMetadata tableMetaData = mock(TableMetadata.class);
+
+        // When
+        when(fingerprintCache.fingerprint(entityMeta, tableMetaData, configContext)).thenReturn("fingerprint");
+        when(fingerprintCache.isUnchanged(tableMetaData, "fingerprint")).thenReturn(false);
+
+        context.validateForEntity(entityMeta, tableMetaData);
+
+        // Then
+        verify(tableValidator).validateForEntity(entityMeta, tableMetaData, configContext);
+        verify(fingerprintCache).record(tableMetaData, "fingerprint");
+    }
+
+    @Test
+    public void should_skip_validation_of_unchanged_table() throws Exception {
+        // Given
+        EntityMeta entityMeta = mock(EntityMeta.class);
+        TableMetadata tableMetaData = mock(TableMetadata.class);
+
+        // When
+        when(fingerprintCache.fingerprint(entityMeta, tableMetaData, configContext)).thenReturn("fingerprint");
+        when(fingerprintCache.isUnchanged(tableMetaData, "fingerprint")).thenReturn(true);
+
+        context.validateForEntity(entityMeta, tableMetaData);
+
+        // Then
+        verifyZeroInteractions(tableValidator);
+        verify(fingerprintCache, never()).record(tableMetaData, "fingerprint");
+    }
+
     @Test
     public void should_validate_achilles_counter() throws Exception {
         // Given
@@ -140,11 +183,9 @@ public class SchemaContextTest {
     public void should_fetch_table_metas() throws Exception {
         // Given
         Map<String, TableMetadata> expected = new HashMap<>();
-        KeyspaceMetadata keyspaceMeta = mock(KeyspaceMetadata.class);
 
         // When
-        when(cluster.getMetadata().getKeyspace(keyspaceName)).thenReturn(keyspaceMeta);
-        when(tableCreator.fetchTableMetaData(keyspaceMeta, keyspaceName)).thenReturn(expected);
+        when(tableMetadataSource.fetchTableMetaData(keyspaceName)).thenReturn(expected);
 
         Map<String, TableMetadata> actual = context.fetchTableMetaData();
 
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.fault;
+
+import static info.archinnov.achilles.fault.InjectedError.NO_HOST_AVAILABLE;
+import static info.archinnov.achilles.fault.InjectedError.TIMEOUT;
+import static info.archinnov.achilles.fault.InjectedError.UNAVAILABLE;
+import static info.archinnov.achilles.fault.LatencyDistribution.fixed;
+import static info.archinnov.achilles.fault.LatencyDistribution.uniform;
+import static info.archinnov.achilles.fault.StatementType.INSERT;
+import static info.archinnov.achilles.fault.StatementType.SELECT;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.ReadTimeoutException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.fault.FaultRule;
+import info.archinnov.achilles.internal.management.MBeanRegistrar;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+public class FaultInjectorTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private Statement select = new SimpleStatement("SELECT * FROM user_bean WHERE id=1");
+
+    private Statement insert = new SimpleStatement("INSERT INTO user_bean(id,name) VALUES(1,'john')");
+
+    private FaultInjector injector;
+
+    @After
+    public void tearDown() {
+        if (injector != null) {
+            injector.shutDown();
+        }
+    }
+
+    @Test
+    public void should_never_inject_when_disabled() throws Exception {
+        FaultInjector.DISABLED.addRule(FaultRule.forAllTables().withError(TIMEOUT, 1.0).build());
+        try {
+            assertThat(FaultInjector.DISABLED.isEnabled()).isFalse();
+            assertThat(FaultInjector.DISABLED.draw(UserBean.class, select)).isNull();
+            assertThat(FaultInjector.orDisabled(null)).isSameAs(FaultInjector.DISABLED);
+        } finally {
+            FaultInjector.DISABLED.clearRules();
+        }
+    }
+
+    @Test
+    public void should_match_rules_by_table_and_statement_type() throws Exception {
+        //Given
+        injector = build(FaultRule.forTable("User_Bean").onStatements(SELECT).withLatency(fixed(5)).build());
+
+        //When Then
+        assertThat(injector.draw(UserBean.class, select).delayMillis).isEqualTo(5L);
+        assertThat(injector.draw(UserBean.class, insert)).isNull();
+        assertThat(injector.draw(CompleteBean.class, select)).isNull();
+        assertThat(injector.draw(null, new BatchStatement())).isNull();
+        assertThat(injector.getDelayedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_apply_first_matching_rule() throws Exception {
+        //Given
+        injector = build(FaultRule.forTable("user_bean").withLatency(fixed(1)).build(),
+                FaultRule.forAllTables().withLatency(fixed(10)).build());
+
+        //When Then
+        assertThat(injector.draw(UserBean.class, insert).delayMillis).isEqualTo(1L);
+        assertThat(injector.draw(CompleteBean.class, insert).delayMillis).isEqualTo(10L);
+        assertThat(injector.draw(null, new BatchStatement()).delayMillis).isEqualTo(10L);
+    }
+
+    @Test
+    public void should_draw_same_latencies_with_same_seed() throws Exception {
+        //Given
+        final FaultRule rule = FaultRule.forAllTables().withLatency(uniform(0, 1000)).build();
+        final FaultInjector first = new FaultInjector(new MBeanRegistrar("test"), Arrays.asList(rule), 42L, false);
+        final FaultInjector second = new FaultInjector(new MBeanRegistrar("test"), Arrays.asList(rule), 42L, false);
+
+        //When Then
+        for (int i = 0; i < 20; i++) {
+            assertThat(delayOf(first.draw(null, select))).isEqualTo(delayOf(second.draw(null, select)));
+        }
+    }
+
+    @Test
+    public void should_raise_timeout_matching_statement_type() throws Exception {
+        //Given
+        injector = build(FaultRule.forAllTables().withError(TIMEOUT, 1.0).build());
+
+        //When Then
+        assertThat(injector.draw(UserBean.class, select).error).isInstanceOf(ReadTimeoutException.class);
+        assertThat(injector.draw(UserBean.class, insert).error).isInstanceOf(WriteTimeoutException.class);
+        assertThat(injector.getFailedCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_throw_injected_error_on_sync_execution() throws Exception {
+        //Given
+        injector = build(FaultRule.forTable("user_bean").withError(UNAVAILABLE, 1.0).build());
+
+        exception.expect(UnavailableException.class);
+
+        //When
+        injector.inject(UserBean.class, insert);
+    }
+
+    @Test
+    public void should_not_inject_when_inactive() throws Exception {
+        //Given
+        injector = build(FaultRule.forAllTables().withError(NO_HOST_AVAILABLE, 1.0).build());
+
+        //When
+        injector.setActive(false);
+        injector.inject(UserBean.class, insert);
+
+        //Then
+        assertThat(injector.getFailedCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_delay_async_execution_without_blocking_caller() throws Exception {
+        //Given
+        injector = build(FaultRule.forAllTables().withLatency(fixed(200)).build());
+        final Session session = mock(Session.class);
+        final ResultSet resultSet = mock(ResultSet.class);
+        final DelayedResultSetFuture executed = new DelayedResultSetFuture();
+        executed.forward(Futures.immediateFuture(resultSet));
+        when(session.executeAsync(select)).thenReturn(executed);
+
+        //When
+        final ResultSetFuture future = injector.executeAsync(session, select, UserBean.class);
+
+        //Then
+        assertThat(future.isDone()).isFalse();
+        verify(session, never()).executeAsync(select);
+        assertThat(future.getUninterruptibly()).isSameAs(resultSet);
+        verify(session).executeAsync(select);
+    }
+
+    @Test
+    public void should_fail_async_execution_with_injected_error() throws Exception {
+        //Given
+        injector = build(FaultRule.forAllTables().withError(NO_HOST_AVAILABLE, 1.0).build());
+        final Session session = mock(Session.class);
+
+        exception.expect(NoHostAvailableException.class);
+
+        //When
+        injector.executeAsync(session, select, UserBean.class).getUninterruptibly();
+    }
+
+    @Test
+    public void should_manage_rules_at_runtime() throws Exception {
+        //Given
+        injector = build();
+
+        //When
+        injector.addLatencyRule("user_bean", "select, insert", 1, 2);
+        injector.addErrorRule("*", "*", "timeout", 0.5);
+
+        //Then
+        assertThat(injector.getRuleDescriptions()).hasSize(2);
+        assertThat(injector.getRules().get(0).getStatementTypes()).containsOnly(SELECT, INSERT);
+        assertThat(injector.getRules().get(1).getTableName()).isNull();
+
+        //When
+        injector.clearRules();
+
+        //Then
+        assertThat(injector.getRules()).isEmpty();
+    }
+
+    @Test
+    public void should_exception_when_unknown_error() throws Exception {
+        //Given
+        injector = build();
+
+        exception.expect(IllegalArgumentException.class);
+
+        //When
+        injector.addErrorRule("user_bean", null, "overloaded", 1.0);
+    }
+
+    @Test
+    public void should_exception_when_error_rate_out_of_range() throws Exception {
+        exception.expect(AchillesException.class);
+
+        FaultRule.forAllTables().withError(TIMEOUT, 1.5);
+    }
+
+    private FaultInjector build(FaultRule... rules) {
+        final List<FaultRule> ruleList = Arrays.asList(rules);
+        final FaultInjector faultInjector = new FaultInjector(new MBeanRegistrar("test"), ruleList, 1L, false);
+        final EntityMeta userMeta = mock(EntityMeta.class);
+        final EntityMeta completeMeta = mock(EntityMeta.class);
+        when(userMeta.getTableName()).thenReturn("User_Bean");
+        when(completeMeta.getTableName()).thenReturn("CompleteBean");
+        faultInjector.start(ImmutableMap.<Class<?>, EntityMeta>of(UserBean.class, userMeta, CompleteBean.class, completeMeta));
+        return faultInjector;
+    }
+
+    private Long delayOf(FaultInjector.Fault fault) {
+        return fault == null ? 0L : fault.delayMillis;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.management;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+import info.archinnov.achilles.fault.FaultRule;
+import info.archinnov.achilles.internal.fault.FaultInjector;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
+import info.archinnov.achilles.internal.tracing.QueryTraceSampler;
+import info.archinnov.achilles.metrics.MetricsReporter;
+import info.archinnov.achilles.tracing.TraceSink;
+
+public class MBeanRegistrarTest {
+
+    private static final Map<Class<?>, EntityMeta> NO_ENTITY = Collections.emptyMap();
+
+    private MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    @Test
+    public void should_suffix_factory_name_when_already_used() throws Exception {
+        //Given
+        MBeanRegistrar first = new MBeanRegistrar("duplicate");
+        MBeanRegistrar second = new MBeanRegistrar("duplicate");
+        Object owner = new Object();
+
+        //When
+        first.register(owner, new Sample(), "Sample");
+        second.register(owner, new Sample(), "Sample");
+
+        //Then
+        assertThat(first.getFactoryName()).isEqualTo("duplicate");
+        assertThat(second.getFactoryName()).isEqualTo("duplicate-2");
+        assertThat(mBeanServer.isRegistered(new ObjectName("info.archinnov.achilles:type=Sample,factory=duplicate-2"))).isTrue();
+
+        first.unregisterAll(owner);
+        second.unregisterAll(owner);
+        assertThat(mBeanServer.isRegistered(new ObjectName("info.archinnov.achilles:type=Sample,factory=duplicate"))).isFalse();
+        assertThat(second.getFactoryName()).isEqualTo("duplicate");
+    }
+
+    @Test
+    public void should_register_every_component_of_a_factory_under_the_same_name() throws Exception {
+        //Given
+        MBeanRegistrar other = new MBeanRegistrar("shared");
+        Object otherOwner = new Object();
+        other.register(otherOwner, new Sample(), "Sample");
+        MBeanRegistrar registrar = new MBeanRegistrar("shared");
+        MetricsRegistry metricsRegistry = new MetricsRegistry(registrar, true, Collections.<MetricsReporter>emptyList(), 60);
+        QueryTraceSampler queryTraceSampler = new QueryTraceSampler(registrar, 0.0, Collections.<String, Double>emptyMap(),
+                Collections.<TraceSink>emptyList(), true);
+        FaultInjector faultInjector = new FaultInjector(registrar, Collections.<FaultRule>emptyList(), null, true);
+
+        //When
+        metricsRegistry.start(NO_ENTITY);
+        queryTraceSampler.start(NO_ENTITY);
+        faultInjector.start(NO_ENTITY);
+
+        //Then
+        assertThat(metricsRegistry.getFactoryName()).isEqualTo("shared-2");
+        assertThat(mBeanServer.isRegistered(new ObjectName("info.archinnov.achilles:type=Factory,factory=shared-2"))).isTrue();
+        assertThat(mBeanServer.isRegistered(new ObjectName("info.archinnov.achilles:type=QueryTracing,factory=shared-2"))).isTrue();
+        assertThat(mBeanServer.isRegistered(new ObjectName("info.archinnov.achilles:type=FaultInjection,factory=shared-2"))).isTrue();
+
+        //When
+        metricsRegistry.shutDown();
+
+        //Then
+        assertThat(mBeanServer.isRegistered(new ObjectName("info.archinnov.achilles:type=Factory,factory=shared-2"))).isFalse();
+        assertThat(mBeanServer.isRegistered(new ObjectName("info.archinnov.achilles:type=QueryTracing,factory=shared-2"))).isTrue();
+
+        queryTraceSampler.shutDown();
+        faultInjector.shutDown();
+        other.unregisterAll(otherOwner);
+        assertThat(mBeanServer.isRegistered(new ObjectName("info.archinnov.achilles:type=FaultInjection,factory=shared-2"))).isFalse();
+    }
+
+    public interface SampleMBean {
+        int getValue();
+    }
+
+    public static class Sample implements SampleMBean {
+        @Override
+        public int getValue() {
+            return 1;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package info.archinnov.achilles.internal.metadata.discovery;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -47,6 +48,7 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.EntityParser;
 import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
+import info.archinnov.achilles.metamodel.EntityMetamodel;
 import info.archinnov.achilles.test.parser.entity.BeanWithFieldLevelConstraint;
 import info.archinnov.achilles.test.parser.entity.UserBean;
 
@@ -79,6 +81,9 @@ public class AchillesBootstrapperTest {
     @Mock
     private ParsingResult parsingResult;
 
+    @Mock
+    private EntityMetamodelBinder metamodelBinder;
+
     @Captor
     private ArgumentCaptor<EntityParsingContext> contextCaptor;
 
@@ -86,6 +91,8 @@ public class AchillesBootstrapperTest {
     public void setUp() {
         Whitebox.setInternalState(bootstrapper, EntityParser.class, parser);
         Whitebox.setInternalState(bootstrapper, DaoContextFactory.class, factory);
+        Whitebox.setInternalState(bootstrapper, EntityMetamodelBinder.class, metamodelBinder);
+        when(schemaContext.getBootstrapParallelism()).thenReturn(1);
     }
 
     @Test
@@ -104,6 +111,22 @@ public class AchillesBootstrapperTest {
         verify(configContext, never()).addBeanValidationInterceptor(meta);
     }
 
+    @Test
+    public void should_bind_generated_metamodel_to_meta_data() throws Exception {
+        // Given
+        List<Class<?>> entities = Arrays.<Class<?>>asList(UserBean.class);
+        EntityMetamodel<?> metamodel = mock(EntityMetamodel.class);
+
+        when(parser.parseEntity(any(EntityParsingContext.class))).thenReturn(meta);
+        doReturn(metamodel).when(metamodelBinder).loadMetamodel(UserBean.class);
+
+        // When
+        bootstrapper.buildMetaDatas(configContext, entities);
+
+        // Then
+        verify(metamodelBinder).bind(meta, metamodel);
+    }
+
     @Test
     public void should_build_meta_data_with_field_level_constrained_bean() throws Exception {
         // Given
@@ -138,6 +161,43 @@ public class AchillesBootstrapperTest {
         verify(schemaContext).updateForEntity(meta, tableMeta);
     }
 
+    @Test
+    public void should_only_validate_achilles_tables_with_lazy_entity_activation() throws Exception {
+        // Given
+        Map<String, TableMetadata> tableMetaDatas = ImmutableMap.<String, TableMetadata>of(CQL_COUNTER_TABLE, tableMeta);
+
+        // When
+        when(schemaContext.fetchTableMetaData()).thenReturn(tableMetaDatas);
+        when(schemaContext.isLazyEntityActivation()).thenReturn(true);
+        when(schemaContext.hasSimpleCounter()).thenReturn(true);
+
+        bootstrapper.validateOrCreateTables(schemaContext);
+
+        // Then
+        verify(schemaContext, never()).entityMetaEntrySet();
+        verify(schemaContext).validateAchillesCounter();
+        verify(schemaContext).saveSchemaFingerprints();
+    }
+
+    @Test
+    public void should_validate_and_update_table_for_entity() throws Exception {
+        // Given
+        Map<String, TableMetadata> tableMetaDatas = ImmutableMap.of("userbean", tableMeta);
+
+        // When
+        when(schemaContext.fetchTableMetaData(Arrays.asList("userbean"))).thenReturn(tableMetaDatas);
+        when(meta.getTableName()).thenReturn("UserBean");
+
+        bootstrapper.validateOrCreateTableForEntity(schemaContext, meta);
+
+        // Then
+        verify(schemaContext, never()).fetchTableMetaData();
+        verify(schemaContext).validateForEntity(meta, tableMeta);
+        verify(schemaContext).updateForEntity(meta, tableMeta);
+        verify(schemaContext).saveSchemaFingerprintsInBackground();
+        verify(schemaContext, never()).saveSchemaFingerprints();
+    }
+
     @Test
     public void should_create_tables() throws Exception {
         // Given
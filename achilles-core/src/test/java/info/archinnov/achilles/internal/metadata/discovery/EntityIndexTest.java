@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.metadata.discovery;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import info.archinnov.achilles.test.more.entity.Entity3;
+import info.archinnov.achilles.test.sample.entity.Entity1;
+
+public class EntityIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_load_index_from_class_path() throws Exception {
+        //Given
+        ClassLoader classLoader = classLoaderWithIndex("# comment\n" + Entity1.class.getName() + "\n\n" + Entity3.class.getName() + "\n");
+
+        //When
+        EntityIndex entityIndex = EntityIndex.load(classLoader);
+
+        //Then
+        assertThat(entityIndex.entityClassNamesIn("info.archinnov.achilles.test")).containsExactly(Entity3.class.getName(), Entity1.class.getName());
+        assertThat(entityIndex.entityClassNamesIn("info.archinnov.achilles.test.sample.entities")).isEmpty();
+        assertThat(entityIndex.entityClassNamesIn("info.archinnov.achilles.test.more.entity")).containsExactly(Entity3.class.getName());
+        assertThat(entityIndex.loadEntityClasses("info.archinnov.achilles.test")).containsExactly(Entity3.class, Entity1.class);
+    }
+
+    @Test
+    public void should_ignore_stale_entries() throws Exception {
+        //Given
+        ClassLoader classLoader = classLoaderWithIndex(EntityIndexTest.class.getName() + "\n"
+                + "info.archinnov.achilles.internal.metadata.discovery.RemovedEntity\n");
+
+        //When
+        EntityIndex entityIndex = EntityIndex.load(classLoader);
+
+        //Then
+        assertThat(entityIndex.entityClassNamesIn("info.archinnov.achilles.internal.metadata.discovery")).hasSize(2);
+        assertThat(entityIndex.loadEntityClasses("info.archinnov.achilles.internal.metadata.discovery")).isEmpty();
+    }
+
+    @Test
+    public void should_fall_back_to_context_class_loader() throws Exception {
+        //Given
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoaderWithIndex(Entity3.class.getName()));
+
+        //When
+        EntityIndex entityIndex;
+        try {
+            entityIndex = EntityIndex.load(null);
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+
+        //Then
+        assertThat(entityIndex.loadEntityClasses("info.archinnov.achilles.test.more.entity")).containsExactly(Entity3.class);
+    }
+
+    @Test
+    public void should_be_empty_without_index() throws Exception {
+        //When
+        EntityIndex entityIndex = EntityIndex.load(new URLClassLoader(new URL[0], null));
+
+        //Then
+        assertThat(entityIndex.covers("info.archinnov.achilles.test.sample.entity")).isFalse();
+    }
+
+    @Test
+    public void should_cover_package_when_every_root_is_indexed() throws Exception {
+        //Given
+        File indexedRoot = indexedRoot("com.example.entity.User\n");
+        new File(indexedRoot, "com/example/entity").mkdirs();
+        ClassLoader classLoader = new URLClassLoader(new URL[] { indexedRoot.toURI().toURL() }, null);
+
+        //When
+        EntityIndex entityIndex = EntityIndex.load(classLoader);
+
+        //Then
+        assertThat(entityIndex.covers("com.example.entity")).isTrue();
+        assertThat(entityIndex.covers("com.example")).isTrue();
+        assertThat(entityIndex.covers("com.example.entities")).isFalse();
+    }
+
+    @Test
+    public void should_not_cover_package_split_across_indexed_and_non_indexed_roots() throws Exception {
+        //Given
+        File indexedRoot = indexedRoot("com.example.entity.User\n");
+        new File(indexedRoot, "com/example/entity").mkdirs();
+        File nonIndexedRoot = temporaryFolder.newFolder();
+        new File(nonIndexedRoot, "com/example/entity").mkdirs();
+        ClassLoader classLoader = new URLClassLoader(new URL[] { indexedRoot.toURI().toURL(), nonIndexedRoot.toURI().toURL() }, null);
+
+        //When
+        EntityIndex entityIndex = EntityIndex.load(classLoader);
+
+        //Then
+        assertThat(entityIndex.covers("com.example.entity")).isFalse();
+        assertThat(entityIndex.entityClassNamesIn("com.example.entity")).containsExactly("com.example.entity.User");
+    }
+
+    private ClassLoader classLoaderWithIndex(String content) throws Exception {
+        File root = indexedRoot(content);
+        return new URLClassLoader(new URL[] { root.toURI().toURL() }, EntityIndexTest.class.getClassLoader());
+    }
+
+    private File indexedRoot(String content) throws Exception {
+        File root = temporaryFolder.newFolder();
+        File index = new File(root, EntityIndex.INDEX_RESOURCE);
+        index.getParentFile().mkdirs();
+        Files.write(index.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return root;
+    }
+}
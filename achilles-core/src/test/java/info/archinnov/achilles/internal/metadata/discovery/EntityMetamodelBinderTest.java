@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.metadata.discovery;
+
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.ID;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.metamodel.EntityMetamodel;
+import info.archinnov.achilles.metamodel.PropertyAccessor;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityMetamodelBinderTest {
+
+    private EntityMetamodelBinder binder = new EntityMetamodelBinder();
+
+    @Mock
+    private PropertyAccessor nameAccessor;
+
+    private EntityMeta entityMeta;
+
+    private PropertyMeta idMeta;
+
+    private PropertyMeta nameMeta;
+
+    @Before
+    public void setUp() throws Exception {
+        idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID).build();
+        nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").type(SIMPLE).build();
+
+        Map<String, PropertyMeta> propertyMetas = new LinkedHashMap<>();
+        propertyMetas.put("id", idMeta);
+        propertyMetas.put("name", nameMeta);
+
+        entityMeta = new EntityMeta();
+        entityMeta.setEntityClass(CompleteBean.class);
+        entityMeta.setClassName(CompleteBean.class.getCanonicalName());
+        entityMeta.setTableName("CompleteBean");
+        entityMeta.setPropertyMetas(propertyMetas);
+    }
+
+    @Test
+    public void should_not_load_metamodel_when_not_generated() throws Exception {
+        assertThat(binder.loadMetamodel(CompleteBean.class)).isNull();
+    }
+
+    @Test
+    public void should_bind_accessors_by_field_name() throws Exception {
+        //When
+        binder.bind(entityMeta, metamodel("CompleteBean"));
+
+        //Then
+        assertThat(nameMeta.getAccessor()).isSameAs(nameAccessor);
+        assertThat(idMeta.getAccessor()).isNull();
+    }
+
+    @Test
+    public void should_ignore_out_of_date_metamodel() throws Exception {
+        //When
+        binder.bind(entityMeta, metamodel("complete_bean"));
+
+        //Then
+        assertThat(nameMeta.getAccessor()).isNull();
+    }
+
+    private EntityMetamodel<CompleteBean> metamodel(String tableName) {
+        return new EntityMetamodel<CompleteBean>(CompleteBean.class, tableName, Arrays.asList("id"),
+                Collections.<String>emptyList()) {
+            {
+                addAccessor("name", nameAccessor);
+            }
+        };
+    }
+}
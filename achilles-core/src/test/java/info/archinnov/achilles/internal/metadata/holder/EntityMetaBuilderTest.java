@@ -31,6 +31,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import info.archinnov.achilles.query.slice.SliceQueryProperties;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.parser.entity.Bean;
@@ -141,6 +142,7 @@ public class EntityMetaBuilderTest {
 
         assertThat(meta.isClusteredEntity()).isTrue();
         assertThat(meta.isClusteredCounter()).isTrue();
+        assertThat(meta.getSliceShapeCache().size()).isEqualTo(SliceQueryProperties.statementShapeCount(1));
     }
 
 }
@@ -23,9 +23,12 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.internal.metadata.transcoding.DataTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.SimpleTranscoder;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.NativeCodec;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.metamodel.PropertyAccessor;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.parser.entity.CorrectEmbeddedReversedKey;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
@@ -153,7 +156,7 @@ public class PropertyMetaTest {
 
 	@Test
 	public void should_serialize_as_json() throws Exception {
-		SimpleTranscoder transcoder = new SimpleTranscoder(objectMapper);
+		SimpleTranscoder transcoder = new SimpleTranscoder(objectMapper, NativeCodec.INSTANCE);
 		PropertyMeta pm = new PropertyMeta();
 		pm.setType(SIMPLE);
 		pm.setTranscoder(transcoder);
@@ -546,6 +549,42 @@ public class PropertyMetaTest {
 		verify(invoker).setValueToField(entity, pm.getField(), "name");
 	}
 
+	@Test
+	public void should_get_and_set_value_with_generated_accessor() throws Exception {
+
+		CompleteBean entity = new CompleteBean();
+		PropertyAccessor accessor = mock(PropertyAccessor.class);
+
+		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").accessors()
+				.type(SIMPLE).invoker(invoker).build();
+		pm.setAccessor(accessor);
+
+		when(accessor.get(entity)).thenReturn("name");
+
+		assertThat(pm.getValueFromField(entity)).isEqualTo("name");
+		pm.setValueToField(entity, "new_name");
+
+		verify(accessor).set(entity, "new_name");
+		verifyZeroInteractions(invoker);
+	}
+
+	@Test
+	public void should_set_null_to_primitive_with_invoker_even_if_generated_accessor() throws Exception {
+
+		CorrectEmbeddedReversedKey key = new CorrectEmbeddedReversedKey();
+		PropertyAccessor accessor = mock(PropertyAccessor.class);
+
+		PropertyMeta pm = PropertyMetaTestBuilder.of(CorrectEmbeddedReversedKey.class, Void.class, Integer.class)
+				.field("rank").type(SIMPLE).invoker(invoker).build();
+		pm.setField(CorrectEmbeddedReversedKey.class.getDeclaredField("rank"));
+		pm.setAccessor(accessor);
+
+		pm.setValueToField(key, null);
+
+		verify(invoker).setValueToField(key, pm.getField(), null);
+		verifyZeroInteractions(accessor);
+	}
+
 	@Test
 	public void should_get_clustering_component_names() throws Exception {
 		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).compNames("id", "comp1", "comp2").build();
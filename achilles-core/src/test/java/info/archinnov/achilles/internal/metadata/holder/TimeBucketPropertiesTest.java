@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.metadata.holder;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import com.datastax.driver.core.utils.UUIDs;
+
+public class TimeBucketPropertiesTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    public void should_compute_bucket_start() throws Exception {
+        //Given
+        final TimeBucketProperties properties = build(Date.class);
+
+        //Then
+        assertThat(properties.bucketOf(0L)).isEqualTo(0L);
+        assertThat(properties.bucketOf(HOUR - 1)).isEqualTo(0L);
+        assertThat(properties.bucketOf(HOUR)).isEqualTo(HOUR);
+        assertThat(properties.bucketOf(-1L)).isEqualTo(-HOUR);
+    }
+
+    @Test
+    public void should_list_buckets_covering_time_range() throws Exception {
+        //Given
+        final TimeBucketProperties properties = build(Date.class);
+
+        //When
+        final List<Long> buckets = newArrayList(properties.bucketsBetween(new Date(HOUR / 2), new Date(3 * HOUR), false));
+
+        //Then
+        assertThat(buckets).containsExactly(0L, HOUR, 2 * HOUR, 3 * HOUR);
+    }
+
+    @Test
+    public void should_list_buckets_covering_time_range_in_descending_order() throws Exception {
+        //Given
+        final TimeBucketProperties properties = build(Date.class);
+
+        //When
+        final List<Long> buckets = newArrayList(properties.bucketsBetween(new Date(HOUR / 2), new Date(3 * HOUR), true));
+
+        //Then
+        assertThat(buckets).containsExactly(3 * HOUR, 2 * HOUR, HOUR, 0L);
+    }
+
+    @Test
+    public void should_count_buckets_covering_time_range() throws Exception {
+        //Given
+        final TimeBucketProperties properties = build(Date.class);
+
+        //Then
+        assertThat(properties.bucketCount(new Date(HOUR / 2), new Date(3 * HOUR))).isEqualTo(4L);
+        assertThat(properties.bucketCount(new Date(HOUR), new Date(HOUR))).isEqualTo(1L);
+        assertThat(properties.bucketCount(new Date(0L), new Date(365 * 24 * HOUR))).isEqualTo(365 * 24 + 1L);
+    }
+
+    @Test
+    public void should_convert_time_bound_to_source_type() throws Exception {
+        //Given
+        final Date bound = new Date(HOUR);
+
+        //Then
+        assertThat(build(Date.class).toClusteringBound(bound, true)).isEqualTo(bound);
+        assertThat(build(Long.class).toClusteringBound(bound, false)).isEqualTo(HOUR);
+        assertThat(build(UUID.class).toClusteringBound(bound, true)).isEqualTo(UUIDs.startOf(HOUR));
+        assertThat(build(UUID.class).toClusteringBound(bound, false)).isEqualTo(UUIDs.endOf(HOUR));
+    }
+
+    private TimeBucketProperties build(Class<?> sourceType) throws Exception {
+        final String sourceName = Long.class.equals(sourceType) ? "epoch" : sourceType.getSimpleName().toLowerCase();
+        return new TimeBucketProperties(0, Key.class.getDeclaredField("bucket"), Key.class.getDeclaredField(sourceName), HOUR);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Key {
+        private Long bucket;
+        private Date date;
+        private Long epoch;
+        private UUID uuid;
+    }
+}
@@ -18,7 +18,9 @@ package info.archinnov.achilles.internal.metadata.parsing;
 import static info.archinnov.achilles.schemabuilder.Create.Options.ClusteringOrder.Sorting.DESC;
 import static org.fest.assertions.api.Assertions.assertThat;
 import java.lang.reflect.Method;
+import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -27,6 +29,7 @@ import org.mockito.InjectMocks;
 import org.mockito.runners.MockitoJUnitRunner;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.internal.metadata.holder.EmbeddedIdProperties;
+import info.archinnov.achilles.internal.metadata.holder.TimeBucketProperties;
 import info.archinnov.achilles.test.parser.entity.CorrectEmbeddedKey;
 import info.archinnov.achilles.test.parser.entity.CorrectEmbeddedReversedKey;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKeyAsCompoundPartitionKey;
@@ -40,6 +43,8 @@ import info.archinnov.achilles.test.parser.entity.EmbeddedKeyWithNegativeOrder;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKeyWithNoAnnotation;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKeyWithOnlyOneComponent;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKeyWithStaticColumn;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKeyWithTimeBucket;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKeyWithTimeBucketOnWrongSource;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKeyWithTimeUUID;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -107,6 +112,28 @@ public class EmbeddedIdParserTest {
         assertThat(props.getComponentNames()).containsExactly("date", "ranking");
     }
 
+    @Test
+    public void should_parse_embedded_id_with_time_bucket() throws Exception {
+        EmbeddedIdProperties props = parser.parseEmbeddedId(EmbeddedKeyWithTimeBucket.class);
+
+        final TimeBucketProperties timeBucketProperties = props.getTimeBucketProperties();
+        assertThat(timeBucketProperties.getBucketIndex()).isEqualTo(1);
+        assertThat(timeBucketProperties.getBucketMillis()).isEqualTo(TimeUnit.HOURS.toMillis(6));
+
+        final EmbeddedKeyWithTimeBucket key = new EmbeddedKeyWithTimeBucket(10L, new Date(TimeUnit.HOURS.toMillis(7)));
+        timeBucketProperties.assignBucket(key);
+        assertThat(key.getBucket()).isEqualTo(TimeUnit.HOURS.toMillis(6));
+    }
+
+    @Test
+    public void should_exception_when_time_bucket_source_is_not_first_clustering_component() throws Exception {
+        exception.expect(AchillesBeanMappingException.class);
+        exception.expectMessage("The source 'time' of @TimeBucket component 'bucket' of @EmbeddedId class '"
+                + EmbeddedKeyWithTimeBucketOnWrongSource.class.getCanonicalName() + "' should be the first clustering component");
+
+        parser.parseEmbeddedId(EmbeddedKeyWithTimeBucketOnWrongSource.class);
+    }
+
     @Test
     public void should_exception_when_embedded_id_incorrect_type() throws Exception {
         exception.expect(AchillesBeanMappingException.class);
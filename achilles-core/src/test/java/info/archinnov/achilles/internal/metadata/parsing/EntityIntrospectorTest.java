@@ -37,7 +37,9 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.Consistency;
+import info.archinnov.achilles.annotations.CounterTable;
 import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.HedgedReads;
 import info.archinnov.achilles.annotations.Id;
 import info.archinnov.achilles.annotations.Strategy;
 import info.archinnov.achilles.annotations.TimeUUID;
@@ -459,6 +461,85 @@ public class EntityIntrospectorTest {
         assertThat(insertStrategy).isEqualTo(ALL_FIELDS);
     }
 
+    @Test
+    public void should_infer_dedicated_counter_table_from_global_option() throws Exception {
+        //Given
+        when(configContext.isDedicatedCounterTables()).thenReturn(true);
+
+        //When
+        final String counterTableName = introspector.inferCounterTableName(Bean.class, "bean", configContext);
+
+        //Then
+        assertThat(counterTableName).isEqualTo("bean_counters");
+    }
+
+    @Test
+    public void should_not_infer_dedicated_counter_table_by_default() throws Exception {
+        //Given
+        when(configContext.isDedicatedCounterTables()).thenReturn(false);
+
+        //When
+        final String counterTableName = introspector.inferCounterTableName(Bean.class, "bean", configContext);
+
+        //Then
+        assertThat(counterTableName).isNull();
+    }
+
+    @Test
+    public void should_override_global_option_with_counter_table_annotation() throws Exception {
+        //Given
+        @CounterTable(name = "bean_stats")
+        class Test {
+        }
+
+        @CounterTable(dedicated = false)
+        class Shared {
+        }
+        when(configContext.isDedicatedCounterTables()).thenReturn(false, true);
+
+        //When
+        final String counterTableName = introspector.inferCounterTableName(Test.class, "bean", configContext);
+        final String sharedTableName = introspector.inferCounterTableName(Shared.class, "bean", configContext);
+
+        //Then
+        assertThat(counterTableName).isEqualTo("bean_stats");
+        assertThat(sharedTableName).isNull();
+    }
+
+    @Test
+    public void should_exception_when_dedicated_counter_table_is_the_entity_table() throws Exception {
+        //Given
+        @CounterTable(name = "Bean")
+        class Test {
+        }
+
+        expectedEx.expect(AchillesBeanMappingException.class);
+        expectedEx.expectMessage("should not be its own table 'bean'");
+
+        //When
+        introspector.inferCounterTableName(Test.class, "bean", configContext);
+    }
+
+    @Test
+    public void should_infer_hedged_reads_from_global_option_or_annotation() throws Exception {
+        //Given
+        @HedgedReads
+        class Hedged {
+        }
+
+        @HedgedReads(false)
+        class NotHedged {
+        }
+
+        class Default {
+        }
+        when(configContext.isHedgedReadsEnabled()).thenReturn(true);
+
+        //Then
+        assertThat(introspector.inferHedgedReads(Hedged.class, configContext)).isTrue();
+        assertThat(introspector.inferHedgedReads(NotHedged.class, configContext)).isFalse();
+        assertThat(introspector.inferHedgedReads(Default.class, configContext)).isTrue();
+    }
 
     class Bean {
 
@@ -24,6 +24,7 @@ import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
 import static info.archinnov.achilles.type.ConsistencyLevel.THREE;
 import static info.archinnov.achilles.type.ConsistencyLevel.TWO;
 import static org.fest.assertions.api.Assertions.assertThat;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
@@ -44,12 +45,17 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.annotations.Binary;
 import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Chunked;
+import info.archinnov.achilles.annotations.Compressed;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.EmptyCollectionIfNull;
 import info.archinnov.achilles.annotations.Id;
 import info.archinnov.achilles.annotations.Index;
+import info.archinnov.achilles.annotations.ShardedCounter;
 import info.archinnov.achilles.annotations.TimeUUID;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.exception.AchillesException;
@@ -62,6 +68,7 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.internal.metadata.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Counter;
@@ -328,6 +335,224 @@ public class PropertyParserTest {
         assertThat(meta.isTimeUUID()).isTrue();
     }
 
+    @Test
+    public void should_parse_binary_property() throws Exception {
+
+        @SuppressWarnings("unused")
+        class Test {
+            @Binary
+            @Column
+            private UserBean user;
+
+            public UserBean getUser() {
+                return user;
+            }
+
+            public void setUser(UserBean user) {
+                this.user = user;
+            }
+        }
+
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("user"));
+        entityContext.setCurrentObjectMapper(new ObjectMapper());
+
+        PropertyMeta meta = parser.parse(context);
+
+        assertThat(meta.isBinary()).isTrue();
+        assertThat(meta.type()).isEqualTo(PropertyType.SIMPLE);
+        assertThat((Object) meta.getValueClassForTableCreation()).isEqualTo(ByteBuffer.class);
+        assertThat(meta.getRowGetter().getName()).isEqualTo("getBytes");
+        assertThat(meta.encode(new UserBean())).isInstanceOf(ByteBuffer.class);
+    }
+
+    @Test
+    public void should_exception_when_binary_property_of_native_type() throws Exception {
+
+        @SuppressWarnings("unused")
+        class Test {
+            @Binary
+            @Column
+            private String name;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+        }
+
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("name"));
+
+        expectedEx.expect(AchillesBeanMappingException.class);
+        expectedEx.expectMessage("Property 'name' of entity 'null' cannot be stored as binary because the type 'java.lang.String' is natively supported");
+
+        parser.parse(context);
+    }
+
+    @Test
+    public void should_exception_when_binary_property_is_a_collection() throws Exception {
+
+        @SuppressWarnings("unused")
+        class Test {
+            @Binary
+            @Column
+            private List<UserBean> users;
+
+            public List<UserBean> getUsers() {
+                return users;
+            }
+
+            public void setUsers(List<UserBean> users) {
+                this.users = users;
+            }
+        }
+
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("users"));
+
+        expectedEx.expect(AchillesBeanMappingException.class);
+        expectedEx.expectMessage("Property 'users' of entity 'null' should be a simple property to be stored as binary");
+
+        parser.parse(context);
+    }
+
+    @Test
+    public void should_parse_compressed_property() throws Exception {
+
+        @SuppressWarnings("unused")
+        class Test {
+            @Compressed(threshold = 10)
+            @Column
+            private String biography;
+
+            public String getBiography() {
+                return biography;
+            }
+
+            public void setBiography(String biography) {
+                this.biography = biography;
+            }
+        }
+
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("biography"));
+
+        PropertyMeta meta = parser.parse(context);
+
+        assertThat(meta.isCompressed()).isTrue();
+        assertThat((Object) meta.getValueClassForTableCreation()).isEqualTo(ByteBuffer.class);
+        assertThat(meta.getRowGetter().getName()).isEqualTo("getBytes");
+        String biography = "a long biography, a long biography, a long biography";
+        assertThat(meta.decode(meta.encode(biography))).isEqualTo(biography);
+        assertThat(meta.getCompressionTracker().getStatistics().getCompressedValues()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_parse_chunked_property() throws Exception {
+
+        @SuppressWarnings("unused")
+        class Test {
+            @Chunked(chunkSize = 1024, concurrency = 8)
+            @Column
+            private InputStream document;
+
+            public InputStream getDocument() {
+                return document;
+            }
+
+            public void setDocument(InputStream document) {
+                this.document = document;
+            }
+        }
+
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("document"));
+
+        PropertyMeta meta = parser.parse(context);
+
+        assertThat(meta.isChunked()).isTrue();
+        assertThat(meta.getChunkProperties().getChunkSize()).isEqualTo(1024);
+        assertThat(meta.getChunkProperties().getConcurrency()).isEqualTo(8);
+    }
+
+    @Test
+    public void should_exception_when_chunked_property_is_not_a_stream() throws Exception {
+
+        @SuppressWarnings("unused")
+        class Test {
+            @Chunked
+            @Column
+            private byte[] document;
+
+            public byte[] getDocument() {
+                return document;
+            }
+
+            public void setDocument(byte[] document) {
+                this.document = document;
+            }
+        }
+
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("document"));
+
+        expectedEx.expect(AchillesBeanMappingException.class);
+        expectedEx.expectMessage("Property 'document' of entity 'null' should be of type 'java.io.InputStream' or 'java.nio.channels.ReadableByteChannel' to be chunked");
+
+        parser.parse(context);
+    }
+
+    @Test
+    public void should_exception_when_compressed_property_of_numeric_type() throws Exception {
+
+        @SuppressWarnings("unused")
+        class Test {
+            @Compressed
+            @Column
+            private Long count;
+
+            public Long getCount() {
+                return count;
+            }
+
+            public void setCount(Long count) {
+                this.count = count;
+            }
+        }
+
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("count"));
+
+        expectedEx.expect(AchillesBeanMappingException.class);
+        expectedEx.expectMessage("Property 'count' of entity 'null' cannot be compressed because the type 'java.lang.Long' is neither text, binary nor JSON");
+
+        parser.parse(context);
+    }
+
+    @Test
+    public void should_exception_when_compressed_property_is_indexed() throws Exception {
+
+        @SuppressWarnings("unused")
+        class Test {
+            @Compressed
+            @Index
+            @Column
+            private String name;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+        }
+
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("name"));
+
+        expectedEx.expect(AchillesBeanMappingException.class);
+        expectedEx.expectMessage("Property 'name' of entity 'null' is indexed and therefore cannot be compressed");
+
+        parser.parse(context);
+    }
+
     @Test
     public void should_parse_primitive_property() throws Exception {
         @SuppressWarnings("unused")
@@ -376,6 +601,58 @@ public class PropertyParserTest {
         assertThat(context.getCounterMetas().get(0)).isSameAs(meta);
     }
 
+    @Test
+    public void should_parse_sharded_counter_property() throws Exception {
+        @SuppressWarnings("unused")
+        class Test {
+            @ShardedCounter(shards = 8)
+            @Column
+            private Counter counter;
+
+            public Counter getCounter() {
+                return counter;
+            }
+
+            public void setCounter(Counter counter) {
+                this.counter = counter;
+            }
+
+        }
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("counter"));
+
+        PropertyMeta meta = parser.parse(context);
+
+        assertThat(meta.type()).isEqualTo(PropertyType.COUNTER);
+        assertThat(meta.isShardedCounter()).isTrue();
+        assertThat(meta.getCounterProperties().getShards()).isEqualTo(8);
+        assertThat(meta.getCounterProperties().getShardIndexes()).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    public void should_exception_when_sharded_counter_has_less_than_two_shards() throws Exception {
+        @SuppressWarnings("unused")
+        class Test {
+            @ShardedCounter(shards = 1)
+            @Column
+            private Counter counter;
+
+            public Counter getCounter() {
+                return counter;
+            }
+
+            public void setCounter(Counter counter) {
+                this.counter = counter;
+            }
+
+        }
+        PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("counter"));
+
+        expectedEx.expect(AchillesBeanMappingException.class);
+        expectedEx.expectMessage("The shards count '1' of counter 'counter' of entity 'null' should be at least 2");
+
+        parser.parse(context);
+    }
+
     @Test
     public void should_parse_static_counter_property() throws Exception {
         @SuppressWarnings("unused")
@@ -20,13 +20,11 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
-import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -71,134 +69,6 @@ public class AbstractTranscoderTest {
 		Whitebox.setInternalState(transcoder, ReflectionInvoker.class, invoker);
 	}
 
-	@Test
-	public void should_encode_primitive_byte_type() throws Exception {
-
-		Object actual = transcoder.encodeInternal(byte.class, ((byte) 7));
-
-		assertThat(actual).isInstanceOf(ByteBuffer.class);
-		ByteBuffer byteBuffer = (ByteBuffer) actual;
-		assertThat(byteBuffer.array()[0]).isEqualTo((byte) 7);
-	}
-
-	@Test
-	public void should_encode_object_byte_type() throws Exception {
-
-		Object actual = transcoder.encodeInternal(Byte.class, new Byte((byte) 7));
-
-		assertThat(actual).isInstanceOf(ByteBuffer.class);
-		ByteBuffer byteBuffer = (ByteBuffer) actual;
-		assertThat(byteBuffer.array()[0]).isEqualTo((byte) 7);
-	}
-
-	@Test
-	public void should_encode_byte_array_type() throws Exception {
-
-		Object actual = transcoder.encodeInternal(byte[].class, new byte[] { (byte) 7 });
-
-		assertThat(actual).isInstanceOf(ByteBuffer.class);
-		ByteBuffer byteBuffer = (ByteBuffer) actual;
-		assertThat(byteBuffer.array()[0]).isEqualTo((byte) 7);
-	}
-
-	@Test
-	public void should_encode_supported_type() throws Exception {
-
-		Object actual = transcoder.encodeInternal(String.class, "value");
-
-		assertThat(actual).isEqualTo("value");
-	}
-
-	@Test
-	public void should_encode_enum_type() throws Exception {
-		Object actual = transcoder.encodeInternal(PropertyType.class, SIMPLE);
-
-		assertThat(actual).isEqualTo("SIMPLE");
-	}
-
-	@Test
-	public void should_encode_unsopported_type_to_json() throws Exception {
-		UserBean bean = new UserBean();
-		when(objectMapper.writeValueAsString(bean)).thenReturn("json_bean");
-		Object actual = transcoder.encodeInternal(UserBean.class, bean);
-
-		assertThat(actual).isEqualTo("json_bean");
-	}
-
-	@Test
-	public void should_decode_primitive_byte_type() throws Exception {
-		// Given
-		ByteBuffer cassandraValue = ByteBuffer.wrap(new byte[] { (byte) 7 });
-
-		// When
-		Object actual = transcoder.decodeInternal(byte.class, cassandraValue);
-
-		// Then
-		assertThat(actual).isInstanceOf(Byte.class).isEqualTo((byte) 7);
-	}
-
-	@Test
-	public void should_decode_object_byte_type() throws Exception {
-		// Given
-		ByteBuffer cassandraValue = ByteBuffer.wrap(new byte[] { (byte) 7 });
-
-		// When
-		Object actual = transcoder.decodeInternal(Byte.class, cassandraValue);
-
-		// Then
-		assertThat(actual).isInstanceOf(Byte.class).isEqualTo((byte) 7);
-	}
-
-	@Test
-	public void should_decode_byte_array_type() throws Exception {
-		// Given
-		ByteBuffer cassandraValue = ByteBuffer.wrap(new byte[] { (byte) 7 });
-
-		// When
-		Object actual = transcoder.decodeInternal(byte[].class, cassandraValue);
-
-		// Then
-		assertThat(actual).isInstanceOf(byte[].class);
-		byte[] byteArray = (byte[]) actual;
-		assertThat(byteArray[0]).isEqualTo((byte) 7);
-	}
-
-	@Test
-	public void should_decode_supported_type() throws Exception {
-		Object actual = transcoder.decodeInternal(String.class, "value");
-
-		assertThat(actual).isEqualTo("value");
-	}
-
-	@Test
-	public void should_decode_enum_type() throws Exception {
-		Object actual = transcoder.decodeInternal(PropertyType.class, "SIMPLE");
-
-		assertThat(actual).isEqualTo(SIMPLE);
-	}
-
-	@Test
-	public void should_decode_unsopported_type_to_json() throws Exception {
-		UserBean bean = new UserBean();
-		when(objectMapper.readValue("json_bean", UserBean.class)).thenReturn(bean);
-		Object actual = transcoder.decodeInternal(UserBean.class, "json_bean");
-
-		assertThat(actual).isEqualTo(bean);
-	}
-
-	@Test
-	public void should_exception_when_unsupported_type_for_decoding_is_not_string() throws Exception {
-		UserBean bean = new UserBean();
-
-		exception.expect(AchillesException.class);
-		exception.expectMessage("Error while decoding value '" + bean + "' to type '"
-				+ UserBean.class.getCanonicalName() + "'");
-
-		transcoder.decodeInternal(UserBean.class, bean);
-	}
-
-	// /////////////
-
 	@Test
 	public void should_exception_by_default_on_encode_object() throws Exception {
 		UserBean bean = new UserBean();
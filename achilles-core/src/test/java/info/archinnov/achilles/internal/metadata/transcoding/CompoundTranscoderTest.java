@@ -36,6 +36,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.CodecFactory;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
@@ -53,7 +54,8 @@ public class CompoundTranscoderTest {
 
 	@Before
 	public void setUp() {
-		transcoder = new CompoundTranscoder(objectMapper);
+		transcoder = new CompoundTranscoder(objectMapper,
+				CodecFactory.create(Arrays.<Class<?>> asList(Long.class, String.class, PropertyType.class), objectMapper));
 	}
 
 	@Test
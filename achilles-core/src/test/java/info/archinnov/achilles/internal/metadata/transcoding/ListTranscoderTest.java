@@ -25,11 +25,12 @@ import java.util.Arrays;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.NativeCodec;
 import org.junit.Test;
 
 public class ListTranscoderTest {
 
-	private ListTranscoder transcoder = new ListTranscoder(mock(ObjectMapper.class));
+	private ListTranscoder transcoder = new ListTranscoder(mock(ObjectMapper.class), NativeCodec.INSTANCE);
 
 	@Test
 	public void should_encode() throws Exception {
@@ -24,13 +24,15 @@ import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import java.util.Map;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.NativeCodec;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableMap;
 
 public class MapTranscoderTest {
 
-	private MapTranscoder transcoder = new MapTranscoder(mock(ObjectMapper.class));
+	private MapTranscoder transcoder = new MapTranscoder(mock(ObjectMapper.class), NativeCodec.INSTANCE,
+			NativeCodec.INSTANCE);
 
 	@Test
 	public void should_encode() throws Exception {
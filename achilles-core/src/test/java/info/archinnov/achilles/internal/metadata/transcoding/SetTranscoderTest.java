@@ -24,13 +24,14 @@ import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import java.util.Set;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.NativeCodec;
 import org.junit.Test;
 
 import com.google.common.collect.Sets;
 
 public class SetTranscoderTest {
 
-	private SetTranscoder transcoder = new SetTranscoder(mock(ObjectMapper.class));
+	private SetTranscoder transcoder = new SetTranscoder(mock(ObjectMapper.class), NativeCodec.INSTANCE);
 
 	@Test
 	public void should_encode() throws Exception {
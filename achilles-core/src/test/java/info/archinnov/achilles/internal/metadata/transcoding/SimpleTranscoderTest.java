@@ -20,6 +20,7 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.NativeCodec;
 import org.junit.Test;
 
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
@@ -27,7 +28,7 @@ import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 
 public class SimpleTranscoderTest {
 
-	private SimpleTranscoder transcoder = new SimpleTranscoder(mock(ObjectMapper.class));
+	private SimpleTranscoder transcoder = new SimpleTranscoder(mock(ObjectMapper.class), NativeCodec.INSTANCE);
 
 	@Test
 	public void should_encode() throws Exception {
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.metadata.holder.PropertyType;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CodecFactoryTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void should_resolve_codec_once_per_type() throws Exception {
+        assertThat(CodecFactory.create(byte.class, objectMapper)).isInstanceOf(ByteCodec.class);
+        assertThat(CodecFactory.create(Byte.class, objectMapper)).isInstanceOf(ByteCodec.class);
+        assertThat(CodecFactory.create(byte[].class, objectMapper)).isSameAs(ByteArrayCodec.INSTANCE);
+        assertThat(CodecFactory.create(String.class, objectMapper)).isSameAs(NativeCodec.INSTANCE);
+        assertThat(CodecFactory.create(PropertyType.class, objectMapper)).isInstanceOf(EnumCodec.class);
+        assertThat(CodecFactory.create(UserBean.class, objectMapper)).isInstanceOf(JSONCodec.class);
+        assertThat(CodecFactory.create((Class<?>) null, objectMapper)).isNull();
+    }
+
+    @Test
+    public void should_resolve_codecs_for_components() throws Exception {
+        List<Codec> codecs = CodecFactory.create(Arrays.<Class<?>> asList(Long.class, PropertyType.class), objectMapper);
+
+        assertThat(codecs).hasSize(2);
+        assertThat(codecs.get(0)).isSameAs(NativeCodec.INSTANCE);
+        assertThat(codecs.get(1)).isInstanceOf(EnumCodec.class);
+    }
+
+    @Test
+    public void should_encode_primitive_byte_type() throws Exception {
+        Object actual = CodecFactory.create(byte.class, objectMapper).encode((byte) 7);
+
+        assertThat(actual).isInstanceOf(ByteBuffer.class);
+        ByteBuffer byteBuffer = (ByteBuffer) actual;
+        assertThat(byteBuffer.array()[0]).isEqualTo((byte) 7);
+    }
+
+    @Test
+    public void should_encode_object_byte_type() throws Exception {
+        Object actual = CodecFactory.create(Byte.class, objectMapper).encode(new Byte((byte) 7));
+
+        assertThat(actual).isInstanceOf(ByteBuffer.class);
+        ByteBuffer byteBuffer = (ByteBuffer) actual;
+        assertThat(byteBuffer.array()[0]).isEqualTo((byte) 7);
+    }
+
+    @Test
+    public void should_encode_byte_array_type() throws Exception {
+        Object actual = CodecFactory.create(byte[].class, objectMapper).encode(new byte[] { (byte) 7 });
+
+        assertThat(actual).isInstanceOf(ByteBuffer.class);
+        ByteBuffer byteBuffer = (ByteBuffer) actual;
+        assertThat(byteBuffer.array()[0]).isEqualTo((byte) 7);
+    }
+
+    @Test
+    public void should_encode_supported_type() throws Exception {
+        Object actual = CodecFactory.create(String.class, objectMapper).encode("value");
+
+        assertThat(actual).isEqualTo("value");
+    }
+
+    @Test
+    public void should_encode_enum_type() throws Exception {
+        Object actual = CodecFactory.create(PropertyType.class, objectMapper).encode(SIMPLE);
+
+        assertThat(actual).isEqualTo("SIMPLE");
+    }
+
+    @Test
+    public void should_encode_unsupported_type_to_json() throws Exception {
+        UserBean bean = new UserBean();
+        when(objectMapper.writeValueAsString(bean)).thenReturn("json_bean");
+
+        Object actual = CodecFactory.create(UserBean.class, objectMapper).encode(bean);
+
+        assertThat(actual).isEqualTo("json_bean");
+    }
+
+    @Test
+    public void should_decode_primitive_byte_type() throws Exception {
+        // Given
+        ByteBuffer cassandraValue = ByteBuffer.wrap(new byte[] { (byte) 7 });
+
+        // When
+        Object actual = CodecFactory.create(byte.class, objectMapper).decode(cassandraValue);
+
+        // Then
+        assertThat(actual).isInstanceOf(Byte.class).isEqualTo((byte) 7);
+        assertThat(cassandraValue.position()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_decode_object_byte_type() throws Exception {
+        // Given
+        ByteBuffer cassandraValue = ByteBuffer.wrap(new byte[] { (byte) 7 });
+
+        // When
+        Object actual = CodecFactory.create(Byte.class, objectMapper).decode(cassandraValue);
+
+        // Then
+        assertThat(actual).isInstanceOf(Byte.class).isEqualTo((byte) 7);
+    }
+
+    @Test
+    public void should_exception_when_decoding_empty_byte_buffer() throws Exception {
+        exception.expect(AchillesException.class);
+        exception.expectMessage("to type 'byte'");
+
+        CodecFactory.create(byte.class, objectMapper).decode(ByteBuffer.allocate(0));
+    }
+
+    @Test
+    public void should_decode_byte_array_type() throws Exception {
+        // Given
+        ByteBuffer cassandraValue = ByteBuffer.wrap(new byte[] { (byte) 7 });
+
+        // When
+        Object actual = CodecFactory.create(byte[].class, objectMapper).decode(cassandraValue);
+
+        // Then
+        assertThat(actual).isInstanceOf(byte[].class);
+        byte[] byteArray = (byte[]) actual;
+        assertThat(byteArray[0]).isEqualTo((byte) 7);
+        assertThat(cassandraValue.remaining()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_decode_supported_type() throws Exception {
+        Object actual = CodecFactory.create(String.class, objectMapper).decode("value");
+
+        assertThat(actual).isEqualTo("value");
+    }
+
+    @Test
+    public void should_decode_enum_type() throws Exception {
+        Object actual = CodecFactory.create(PropertyType.class, objectMapper).decode("SIMPLE");
+
+        assertThat(actual).isEqualTo(SIMPLE);
+    }
+
+    @Test
+    public void should_exception_when_decoding_unknown_enum_constant() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("No enum constant " + PropertyType.class.getCanonicalName() + ".UNKNOWN");
+
+        CodecFactory.create(PropertyType.class, objectMapper).decode("UNKNOWN");
+    }
+
+    @Test
+    public void should_decode_unsupported_type_from_json() throws Exception {
+        UserBean bean = new UserBean();
+        when(objectMapper.readValue("json_bean", UserBean.class)).thenReturn(bean);
+
+        Object actual = CodecFactory.create(UserBean.class, objectMapper).decode("json_bean");
+
+        assertThat(actual).isEqualTo(bean);
+    }
+
+    @Test
+    public void should_exception_when_unsupported_type_for_decoding_is_not_string() throws Exception {
+        UserBean bean = new UserBean();
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Error while decoding value '" + bean + "' to type '"
+                + UserBean.class.getCanonicalName() + "'");
+
+        CodecFactory.create(UserBean.class, objectMapper).decode(bean);
+    }
+}
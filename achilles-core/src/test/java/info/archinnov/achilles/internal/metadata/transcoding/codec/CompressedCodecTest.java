@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.nio.ByteBuffer;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.CompressionStatistics;
+
+public class CompressedCodecTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private CompressionTracker tracker = new CompressionTracker();
+
+    private CompressedCodec textCodec = new CompressedCodec(NativeCodec.INSTANCE, true, 64, tracker);
+
+    @Test
+    public void should_compress_text_above_threshold() throws Exception {
+        //Given
+        String text = StringUtils.repeat("achilles ", 100);
+
+        //When
+        ByteBuffer stored = (ByteBuffer) textCodec.encode(text);
+        Object decoded = textCodec.decode(stored);
+
+        //Then
+        assertThat(stored.get(stored.position())).isEqualTo(CompressedCodec.DEFLATE);
+        assertThat(stored.remaining()).isLessThan(text.length());
+        assertThat(decoded).isEqualTo(text);
+
+        CompressionStatistics statistics = tracker.getStatistics();
+        assertThat(statistics.getCompressedValues()).isEqualTo(1L);
+        assertThat(statistics.getUncompressedValues()).isEqualTo(0L);
+        assertThat(statistics.getOriginalBytes()).isEqualTo(900L);
+        assertThat(statistics.getStoredBytes()).isEqualTo((long) stored.remaining());
+        assertThat(statistics.getCompressionRatio()).isLessThan(0.5);
+    }
+
+    @Test
+    public void should_store_text_under_threshold_as_is() throws Exception {
+        //When
+        ByteBuffer stored = (ByteBuffer) textCodec.encode("short");
+        Object decoded = textCodec.decode(stored);
+
+        //Then
+        assertThat(stored.get(stored.position())).isEqualTo(CompressedCodec.RAW);
+        assertThat(stored.remaining()).isEqualTo(6);
+        assertThat(decoded).isEqualTo("short");
+        assertThat(tracker.getStatistics().getUncompressedValues()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_compress_bytes_above_threshold() throws Exception {
+        //Given
+        CompressedCodec bytesCodec = new CompressedCodec(ByteArrayCodec.INSTANCE, false, 0, tracker);
+        byte[] bytes = new byte[1000];
+
+        //When
+        ByteBuffer stored = (ByteBuffer) bytesCodec.encode(bytes);
+        byte[] decoded = (byte[]) bytesCodec.decode(stored);
+
+        //Then
+        assertThat(stored.get(stored.position())).isEqualTo(CompressedCodec.DEFLATE);
+        assertThat(decoded).isEqualTo(bytes);
+    }
+
+    @Test
+    public void should_store_incompressible_value_as_is() throws Exception {
+        //Given
+        CompressedCodec bytesCodec = new CompressedCodec(ByteArrayCodec.INSTANCE, false, 0, tracker);
+        byte[] bytes = new byte[] { 7 };
+
+        //When
+        ByteBuffer stored = (ByteBuffer) bytesCodec.encode(bytes);
+
+        //Then
+        assertThat(stored.get(stored.position())).isEqualTo(CompressedCodec.RAW);
+        assertThat((byte[]) bytesCodec.decode(stored)).isEqualTo(bytes);
+    }
+
+    @Test
+    public void should_encode_and_decode_null() throws Exception {
+        assertThat(textCodec.encode(null)).isNull();
+        assertThat(textCodec.decode(null)).isNull();
+    }
+
+    @Test
+    public void should_exception_when_unknown_header() throws Exception {
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Error while decoding compressed value, unknown header '9'");
+
+        textCodec.decode(ByteBuffer.wrap(new byte[] { 9, 1, 2 }));
+    }
+}
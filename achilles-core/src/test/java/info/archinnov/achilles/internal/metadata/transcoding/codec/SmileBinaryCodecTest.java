@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.metadata.transcoding.codec;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.nio.ByteBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Charsets;
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+public class SmileBinaryCodecTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private BinaryCodec<UserBean> codec = SmileCodecFactory.INSTANCE.create(UserBean.class, objectMapper);
+
+    @Test
+    public void should_encode_and_decode_with_smile() throws Exception {
+        //Given
+        UserBean bean = new UserBean();
+        bean.setUserId(10L);
+        bean.setName("DuyHai");
+
+        //When
+        final byte[] bytes = codec.encode(bean);
+        final UserBean actual = codec.decode(bytes);
+
+        //Then
+        assertThat(SmileBinaryCodec.hasSmileHeader(bytes)).isTrue();
+        assertThat(bytes.length).isLessThan(objectMapper.writeValueAsBytes(bean).length);
+        assertThat(actual.getUserId()).isEqualTo(10L);
+        assertThat(actual.getName()).isEqualTo("DuyHai");
+    }
+
+    @Test
+    public void should_decode_legacy_json_text() throws Exception {
+        //Given
+        final byte[] json = "{\"userId\":10,\"name\":\"DuyHai\"}".getBytes(Charsets.UTF_8);
+
+        //When
+        final UserBean actual = codec.decode(json);
+
+        //Then
+        assertThat(SmileBinaryCodec.hasSmileHeader(json)).isFalse();
+        assertThat(actual.getUserId()).isEqualTo(10L);
+        assertThat(actual.getName()).isEqualTo("DuyHai");
+    }
+
+    @Test
+    public void should_exception_when_decoding_invalid_bytes() throws Exception {
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Error while decoding value to type '" + UserBean.class.getCanonicalName() + "'");
+
+        codec.decode(new byte[] { 1, 2, 3 });
+    }
+
+    @Test
+    public void should_encode_to_blob_and_decode_from_blob_or_legacy_text_column() throws Exception {
+        //Given
+        BinaryValueCodec valueCodec = new BinaryValueCodec(codec);
+        UserBean bean = new UserBean();
+        bean.setName("DuyHai");
+
+        //When
+        final Object blob = valueCodec.encode(bean);
+        final UserBean fromBlob = (UserBean) valueCodec.decode(blob);
+        final UserBean fromText = (UserBean) valueCodec.decode("{\"name\":\"DuyHai\"}");
+
+        //Then
+        assertThat(blob).isInstanceOf(ByteBuffer.class);
+        assertThat(((ByteBuffer) blob).position()).isEqualTo(0);
+        assertThat(fromBlob.getName()).isEqualTo("DuyHai");
+        assertThat(fromText.getName()).isEqualTo("DuyHai");
+        assertThat(valueCodec.encode(null)).isNull();
+        assertThat(valueCodec.decode(null)).isNull();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metrics;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void should_map_values_to_contiguous_buckets() throws Exception {
+        for (long value = 0; value < 100000; value++) {
+            final int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.upperBoundOf(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBoundOf(index - 1)).isLessThan(value);
+            }
+        }
+        assertThat(LatencyHistogram.indexOf(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+        assertThat(LatencyHistogram.upperBoundOf(LatencyHistogram.BUCKET_COUNT - 1)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void should_compute_percentiles_within_bucket_precision() throws Exception {
+        //Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        //When
+        for (long value = 1; value <= 10000; value++) {
+            histogram.record(value);
+        }
+
+        //Then
+        assertThat(histogram.getCount()).isEqualTo(10000L);
+        assertThat(histogram.getMean()).isEqualTo(5000L);
+        assertThat(histogram.getMax()).isEqualTo(10000L);
+        assertThat(histogram.getPercentile(50)).isGreaterThanOrEqualTo(5000L).isLessThanOrEqualTo(5000L * 17 / 16);
+        assertThat(histogram.getPercentile(99)).isGreaterThanOrEqualTo(9900L).isLessThanOrEqualTo(10000L);
+        assertThat(histogram.getPercentile(100)).isEqualTo(10000L);
+    }
+
+    @Test
+    public void should_return_zero_when_empty() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getPercentile(99)).isEqualTo(0L);
+        assertThat(histogram.getMean()).isEqualTo(0L);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metrics;
+
+import static info.archinnov.achilles.metrics.Operation.FIND;
+import static info.archinnov.achilles.metrics.Operation.INSERT;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import info.archinnov.achilles.internal.management.MBeanRegistrar;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.metrics.MetricsReporter;
+import info.archinnov.achilles.metrics.MetricsSnapshot;
+import info.archinnov.achilles.metrics.OperationStatistics;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void should_not_record_when_disabled() throws Exception {
+        //Given
+        MetricsRegistry registry = MetricsRegistry.DISABLED;
+
+        //When
+        final long startTime = registry.startTimer();
+        registry.recordSuccess(CompleteBean.class, FIND, startTime);
+        registry.recordProxyCreation();
+
+        //Then
+        assertThat(startTime).isEqualTo(0L);
+        assertThat(registry.getOperationMetrics(CompleteBean.class.getName(), FIND)).isNull();
+        assertThat(registry.getSnapshot().getProxyCreations()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_record_counts_and_errors_per_entity_and_operation() throws Exception {
+        //Given
+        MetricsRegistry registry = new MetricsRegistry(new MBeanRegistrar("test"), false, Collections.<MetricsReporter>emptyList(), 60);
+
+        //When
+        registry.recordSuccess(CompleteBean.class, FIND, registry.startTimer());
+        registry.recordFailure(CompleteBean.class, FIND, registry.startTimer());
+        registry.recordSuccess(CompleteBean.class, INSERT, registry.startTimer());
+        registry.recordProxyCreation();
+
+        //Then
+        final OperationMetrics find = registry.getOperationMetrics(CompleteBean.class.getName(), FIND);
+        assertThat(find.getCount()).isEqualTo(2L);
+        assertThat(find.getErrors()).isEqualTo(1L);
+        assertThat(registry.getOperationMetrics(CompleteBean.class.getName(), INSERT).getCount()).isEqualTo(1L);
+
+        final MetricsSnapshot snapshot = registry.getSnapshot();
+        assertThat(snapshot.getFactoryName()).isEqualTo("test");
+        assertThat(snapshot.getOperations()).hasSize(2);
+        assertThat(snapshot.getProxyCreations()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_expose_prepared_statement_cache_statistics() throws Exception {
+        //Given
+        MetricsRegistry registry = new MetricsRegistry(new MBeanRegistrar("test"), false, Collections.<MetricsReporter>emptyList(), 60);
+        Cache<String, String> cache = CacheBuilder.newBuilder().maximumSize(1).recordStats().build();
+        registry.monitorPreparedStatementCache(cache);
+
+        //When
+        cache.getIfPresent("a");
+        cache.put("a", "a");
+        cache.getIfPresent("a");
+        cache.put("b", "b");
+
+        //Then
+        final MetricsSnapshot snapshot = registry.getSnapshot();
+        assertThat(snapshot.getPreparedStatementCacheHits()).isEqualTo(1L);
+        assertThat(snapshot.getPreparedStatementCacheMisses()).isEqualTo(1L);
+        assertThat(snapshot.getPreparedStatementCacheEvictions()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_register_and_unregister_mbeans() throws Exception {
+        //Given
+        MetricsRegistry registry = new MetricsRegistry(new MBeanRegistrar("mbean_test"), true, Collections.<MetricsReporter>emptyList(), 60);
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        registry.recordSuccess(CompleteBean.class, FIND, registry.startTimer());
+
+        //When
+        registry.start(Collections.<Class<?>, EntityMeta>emptyMap());
+        registry.recordSuccess(CompleteBean.class, INSERT, registry.startTimer());
+
+        //Then
+        final ObjectName factoryName = new ObjectName("info.archinnov.achilles:type=Factory,factory=mbean_test");
+        final ObjectName findName = new ObjectName("info.archinnov.achilles:type=Operation,factory=mbean_test,entity="
+                + CompleteBean.class.getName() + ",operation=FIND");
+        final ObjectName insertName = new ObjectName("info.archinnov.achilles:type=Operation,factory=mbean_test,entity="
+                + CompleteBean.class.getName() + ",operation=INSERT");
+        assertThat(mBeanServer.isRegistered(factoryName)).isTrue();
+        assertThat(mBeanServer.getAttribute(findName, "Count")).isEqualTo(1L);
+        assertThat(mBeanServer.getAttribute(insertName, "Count")).isEqualTo(1L);
+
+        registry.shutDown();
+        assertThat(mBeanServer.isRegistered(factoryName)).isFalse();
+        assertThat(mBeanServer.isRegistered(findName)).isFalse();
+    }
+
+    @Test
+    public void should_report_snapshot_to_every_reporter() throws Exception {
+        //Given
+        MetricsReporter failing = mock(MetricsReporter.class);
+        MetricsReporter reporter = mock(MetricsReporter.class);
+        doThrow(new RuntimeException("test")).when(failing).report(any(MetricsSnapshot.class));
+        MetricsRegistry registry = new MetricsRegistry(new MBeanRegistrar("test"), false, Arrays.asList(failing, reporter), 60);
+        registry.recordSuccess(CompleteBean.class, FIND, registry.startTimer());
+
+        //When
+        registry.report();
+
+        //Then
+        ArgumentCaptor<MetricsSnapshot> captor = ArgumentCaptor.forClass(MetricsSnapshot.class);
+        verify(reporter).report(captor.capture());
+        final OperationStatistics statistics = captor.getValue().getOperations().get(0);
+        assertThat(statistics.getEntity()).isEqualTo(CompleteBean.class.getName());
+        assertThat(statistics.getOperation()).isEqualTo(FIND);
+        assertThat(statistics.getCount()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static info.archinnov.achilles.chunk.AchillesChunk.CQL_CHUNK_DATA;
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.nio.ByteBuffer;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import com.datastax.driver.core.Row;
+
+public class ChunkedInputStreamTest {
+
+    @Test
+    public void should_read_all_chunks_in_order() throws Exception {
+        //Given
+        final Row chunk1 = chunk("hello ");
+        final Row chunk2 = chunk("");
+        final Row chunk3 = chunk("world");
+
+        //When
+        final ChunkedInputStream stream = new ChunkedInputStream(asList(chunk1, chunk2, chunk3).iterator());
+
+        //Then
+        assertThat(IOUtils.toString(stream)).isEqualTo("hello world");
+        assertThat(stream.read()).isEqualTo(-1);
+    }
+
+    @Test
+    public void should_read_byte_by_byte_and_skip() throws Exception {
+        //Given
+        final ChunkedInputStream stream = new ChunkedInputStream(asList(chunk("ab"), chunk("cd")).iterator());
+
+        //When
+        final int first = stream.read();
+        final long skipped = stream.skip(2);
+        final int last = stream.read();
+
+        //Then
+        assertThat(first).isEqualTo('a');
+        assertThat(skipped).isEqualTo(2L);
+        assertThat(last).isEqualTo('d');
+        assertThat(stream.read(new byte[4], 0, 4)).isEqualTo(-1);
+    }
+
+    private Row chunk(String data) {
+        final Row row = mock(Row.class);
+        when(row.getBytes(CQL_CHUNK_DATA)).thenReturn(ByteBuffer.wrap(data.getBytes()));
+        return row;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.InputStream;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChunkedValueLoaderTest {
+
+    private ChunkedValueLoader loader = new ChunkedValueLoader();
+
+    @Mock
+    private PersistenceContext.EntityFacade context;
+
+    @Mock
+    private PropertyMeta chunkedMeta;
+
+    @Mock
+    private ResultSet chunks;
+
+    private Object realObject = new Object();
+
+    @Test
+    public void should_load_chunks_of_current_chunk_set() throws Exception {
+        //Given
+        when(context.loadCurrentChunkSet(chunkedMeta)).thenReturn(100L);
+        when(context.loadChunks(chunkedMeta, 100L)).thenReturn(chunks);
+        when(chunks.isExhausted()).thenReturn(false);
+        when(chunks.iterator()).thenReturn(Collections.<Row>emptyIterator());
+        when(chunkedMeta.getValueClass()).thenReturn((Class) InputStream.class);
+
+        //When
+        loader.loadChunkedValue(context, realObject, chunkedMeta);
+
+        //Then
+        verify(chunkedMeta).setValueToField(eq(realObject), isA(ChunkedInputStream.class));
+    }
+
+    @Test
+    public void should_load_null_when_no_current_chunk_set() throws Exception {
+        //Given
+        when(context.loadCurrentChunkSet(chunkedMeta)).thenReturn(null);
+
+        //When
+        loader.loadChunkedValue(context, realObject, chunkedMeta);
+
+        //Then
+        verify(context, never()).loadChunks(eq(chunkedMeta), anyLong());
+        verify(chunkedMeta).setValueToField(realObject, null);
+    }
+}
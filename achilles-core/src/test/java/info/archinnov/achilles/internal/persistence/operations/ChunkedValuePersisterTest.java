@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.ResultSetFuture;
+import com.google.common.base.Optional;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.metadata.holder.ChunkProperties;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChunkedValuePersisterTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private ChunkedValuePersister persister = new ChunkedValuePersister();
+
+    @Mock
+    private PersistenceContext.EntityFacade context;
+
+    @Mock
+    private EntityMeta meta;
+
+    @Mock
+    private PropertyMeta chunkedMeta;
+
+    @Mock
+    private ResultSetFuture future;
+
+    private Object entity = new Object();
+
+    @Before
+    public void setUp() {
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(context.getEntity()).thenReturn(entity);
+        when(context.getTimestamp()).thenReturn(Optional.<Long>absent());
+        when(chunkedMeta.getChunkProperties()).thenReturn(new ChunkProperties(4, 2));
+        when(context.insertChunk(eq(chunkedMeta), anyInt(), any(ByteBuffer.class), anyLong())).thenReturn(future);
+    }
+
+    @Test
+    public void should_split_value_into_new_chunk_set_then_switch_and_remove_previous_ones() throws Exception {
+        //Given
+        when(chunkedMeta.getValueFromField(entity)).thenReturn(new ByteArrayInputStream("0123456789".getBytes()));
+        final ArgumentCaptor<ByteBuffer> chunkCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+        final ArgumentCaptor<Long> timestampCaptor = ArgumentCaptor.forClass(Long.class);
+        final ArgumentCaptor<Long> switchCaptor = ArgumentCaptor.forClass(Long.class);
+        final ArgumentCaptor<Long> removalCaptor = ArgumentCaptor.forClass(Long.class);
+
+        //When
+        persister.persistChunkedValues(context, asList(chunkedMeta));
+
+        //Then
+        final InOrder inOrder = inOrder(context);
+        inOrder.verify(context).insertChunk(eq(chunkedMeta), eq(0), chunkCaptor.capture(), timestampCaptor.capture());
+        inOrder.verify(context).insertChunk(eq(chunkedMeta), eq(1), chunkCaptor.capture(), timestampCaptor.capture());
+        inOrder.verify(context).insertChunk(eq(chunkedMeta), eq(2), chunkCaptor.capture(), timestampCaptor.capture());
+        inOrder.verify(context).switchChunkSet(eq(chunkedMeta), switchCaptor.capture());
+        inOrder.verify(context).removeChunks(eq(chunkedMeta), removalCaptor.capture());
+        verify(context, never()).insertChunk(eq(chunkedMeta), eq(3), any(ByteBuffer.class), anyLong());
+        verify(future, times(3)).getUninterruptibly();
+
+        assertThat(chunkCaptor.getAllValues().get(0).remaining()).isEqualTo(4);
+        assertThat(chunkCaptor.getAllValues().get(2).remaining()).isEqualTo(2);
+        assertThat(switchCaptor.getValue()).isEqualTo(timestampCaptor.getValue());
+        assertThat(removalCaptor.getValue()).isEqualTo(timestampCaptor.getValue() - 1);
+    }
+
+    @Test
+    public void should_keep_previous_chunks_when_stream_fails() throws Exception {
+        //Given
+        final InputStream failingStream = mock(InputStream.class);
+        when(failingStream.read(any(byte[].class), anyInt(), anyInt())).thenThrow(new IOException("test"));
+        when(chunkedMeta.getValueFromField(entity)).thenReturn(failingStream);
+
+        //When
+        try {
+            persister.persistChunkedValues(context, asList(chunkedMeta));
+            fail("Expected failure");
+        } catch (AchillesException e) {
+            assertThat(e.getCause()).isInstanceOf(IOException.class);
+        }
+
+        //Then
+        verify(context, never()).switchChunkSet(eq(chunkedMeta), anyLong());
+        verify(context, never()).removeChunks(eq(chunkedMeta), anyLong());
+    }
+
+    @Test
+    public void should_exception_when_writing_chunks_in_batch() throws Exception {
+        //Given
+        when(context.isBatchMode()).thenReturn(true);
+        when(chunkedMeta.getValueFromField(entity)).thenReturn(new ByteArrayInputStream("0123".getBytes()));
+        when(chunkedMeta.getPropertyName()).thenReturn("document");
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Cannot write @Chunked property 'document'");
+
+        //When
+        persister.persistChunkedValues(context, asList(chunkedMeta));
+    }
+
+    @Test
+    public void should_write_single_empty_chunk_for_empty_value() throws Exception {
+        //Given
+        when(chunkedMeta.getValueFromField(entity)).thenReturn(new ByteArrayInputStream(new byte[0]));
+
+        //When
+        persister.persistChunkedValues(context, asList(chunkedMeta));
+
+        //Then
+        verify(context).insertChunk(eq(chunkedMeta), eq(0), eq(ByteBuffer.allocate(0)), anyLong());
+        verify(context, never()).insertChunk(eq(chunkedMeta), eq(1), any(ByteBuffer.class), anyLong());
+    }
+
+    @Test
+    public void should_remove_chunks_when_updating_to_null() throws Exception {
+        //Given
+        when(context.getTimestamp()).thenReturn(Optional.fromNullable(100L));
+        when(context.isBatchMode()).thenReturn(true);
+
+        //When
+        persister.updateChunkedValues(context, asList(chunkedMeta));
+
+        //Then
+        verify(context).bindForChunksRemoval(chunkedMeta, 100L);
+        verify(context, never()).insertChunk(eq(chunkedMeta), anyInt(), any(ByteBuffer.class), anyLong());
+    }
+
+    @Test
+    public void should_bind_chunks_removal() throws Exception {
+        //Given
+        when(meta.getAllChunkedMetas()).thenReturn(asList(chunkedMeta));
+
+        //When
+        persister.removeChunkedValues(context);
+
+        //Then
+        verify(context).bindForChunksRemoval(eq(chunkedMeta), anyLong());
+    }
+}
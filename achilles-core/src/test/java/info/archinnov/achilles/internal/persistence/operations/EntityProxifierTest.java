@@ -28,6 +28,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -44,11 +45,14 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.management.MBeanRegistrar;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 import info.archinnov.achilles.internal.proxy.ProxyClassFactory;
 import info.archinnov.achilles.internal.reflection.ObjectInstantiator;
+import info.archinnov.achilles.metrics.MetricsReporter;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
@@ -125,6 +129,8 @@ public class EntityProxifierTest {
         when(context.getConfigContext()).thenReturn(configContext);
         when(factory.createProxyClass(entity.getClass(), configContext)).thenReturn((Class) entity.getClass());
         when(instantiator.instantiate(Mockito.<Class<Factory>>any())).thenReturn(realProxy);
+        final MetricsRegistry metricsRegistry = new MetricsRegistry(new MBeanRegistrar("keyspace"), false, Collections.<MetricsReporter>emptyList(), 60);
+        when(configContext.getMetricsRegistry()).thenReturn(metricsRegistry);
 
         Object proxy = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context);
 
@@ -138,6 +144,7 @@ public class EntityProxifierTest {
         verify(pm).getValueFromField(entity);
         verify(pm).setValueToField(realProxy, value);
         verify(counterMeta).setValueToField(entity,null);
+        assertThat(metricsRegistry.getSnapshot().getProxyCreations()).isEqualTo(1L);
     }
 
     @Test
@@ -18,7 +18,10 @@ package info.archinnov.achilles.internal.persistence.operations;
 
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -31,6 +34,7 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
+import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import info.archinnov.achilles.internal.context.PersistenceContext;
@@ -38,6 +42,7 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker;
+import info.archinnov.achilles.internal.proxy.dirtycheck.EntitySnapshotDiffer;
 import info.archinnov.achilles.internal.proxy.dirtycheck.SimpleDirtyChecker;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
@@ -56,6 +61,9 @@ public class EntityUpdaterTest {
     @Mock
     private EntityProxifier proxifier;
 
+    @Mock
+    private EntitySnapshotDiffer snapshotDiffer;
+
     @Mock
     private EntityInterceptor<CompleteBean> interceptor;
 
@@ -142,4 +150,40 @@ public class EntityUpdaterTest {
         verify(interceptor).setTarget(entity);
 
     }
+
+    @Test
+    public void should_update_detached_entity_with_only_diffed_fields() throws Exception {
+        //Given
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(entity.getId()).buid();
+        when(proxifier.getRealObject(snapshot)).thenReturn(snapshot);
+
+        PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").type(SIMPLE)
+                .accessors().build();
+        DirtyChecker dirtyChecker = new SimpleDirtyChecker(pm);
+        when(snapshotDiffer.diff(meta, entity, snapshot)).thenReturn(asList(dirtyChecker));
+
+        //When
+        entityUpdater.updateDetached(context, entity, snapshot);
+
+        //Then
+        verify(context).setEntity(entity);
+        verify(context).pushUpdateStatement(pmCaptor.capture());
+        assertThat(pmCaptor.getValue()).containsOnly(pm);
+        verifyZeroInteractions(counterPersister);
+    }
+
+    @Test
+    public void should_not_push_any_statement_when_detached_entity_unchanged() throws Exception {
+        //Given
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(entity.getId()).buid();
+        when(proxifier.getRealObject(snapshot)).thenReturn(snapshot);
+        when(snapshotDiffer.diff(meta, entity, snapshot)).thenReturn(new ArrayList<DirtyChecker>());
+
+        //When
+        entityUpdater.updateDetached(context, entity, snapshot);
+
+        //Then
+        verify(context).setEntity(entity);
+        verify(context, never()).pushUpdateStatement(Matchers.<List<PropertyMeta>>any());
+    }
 }
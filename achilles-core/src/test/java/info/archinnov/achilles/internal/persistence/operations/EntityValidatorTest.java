@@ -16,6 +16,8 @@
 
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -108,6 +110,18 @@ public class EntityValidatorTest {
 		entityValidator.validateEntity(bean, entityMeta);
 	}
 
+	@Test
+	public void should_not_assign_time_bucket_when_validating_primary_key() throws Exception {
+		EmbeddedKey clusteredId = new EmbeddedKey(11L, "name");
+
+		when(idMeta.isEmbeddedId()).thenReturn(true);
+		when(idMeta.encodeToComponents(clusteredId, false)).thenReturn(Arrays.<Object> asList(11L, "name"));
+
+		entityValidator.validatePrimaryKey(idMeta, clusteredId);
+
+		verify(idMeta, never()).getTimeBucketProperties();
+	}
+
 	@Test
 	public void should_validate_simple_id() throws Exception {
 		CompleteBean bean = CompleteBeanTestBuilder.builder().id(12L).buid();
@@ -20,7 +20,9 @@ import static info.archinnov.achilles.schemabuilder.Create.Options.ClusteringOrd
 import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
 import static java.util.Arrays.asList;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.util.Arrays;
@@ -35,6 +37,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
@@ -123,7 +127,7 @@ public class SliceQueryExecutorTest {
         List<Row> rows = asList(row);
 
         when(daoContext.bindForSliceQuerySelect(sliceQueryProperties, defaultReadLevel)).thenReturn(bsWrapper);
-        when(daoContext.execute(bsWrapper).all()).thenReturn(rows);
+        when(daoContext.executeRead(meta, bsWrapper).all()).thenReturn(rows);
 
         when(meta.instanciate()).thenReturn(entity);
         when(contextFactory.newContext(entity)).thenReturn(context);
@@ -162,4 +166,66 @@ public class SliceQueryExecutorTest {
         verify(daoContext).execute(bsWrapper);
 
     }
+
+    @Test
+    public void should_stop_issuing_bucket_queries_once_limit_reached() throws Exception {
+        //Given
+        final SliceQueryProperties<ClusteredEntity> bucket1 = bucketQuery();
+        final SliceQueryProperties<ClusteredEntity> bucket2 = bucketQuery();
+        final SliceQueryProperties<ClusteredEntity> bucket3 = bucketQuery();
+        final ResultSetFuture future1 = bucketFuture(bucket1);
+        final ResultSetFuture future2 = bucketFuture(bucket2);
+        final ResultSet resultSet = mock(ResultSet.class);
+        final Row row = mock(Row.class);
+        when(future1.getUninterruptibly()).thenReturn(resultSet);
+        when(resultSet.iterator()).thenReturn(asList(row, row).iterator());
+        when(meta.instanciate()).thenReturn(entity);
+        when(contextFactory.newContext(entity)).thenReturn(context);
+        when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, entityFacade)).thenReturn(entity);
+
+        //When
+        final List<ClusteredEntity> actual = executor.getFromBuckets(ClusteredEntity.class, asList(bucket1, bucket2, bucket3).iterator(), 1, 1);
+
+        //Then
+        assertThat(actual).containsExactly(entity);
+        verify(future2).cancel(true);
+        verify(daoContext, never()).bindForSliceQuerySelect(bucket3, defaultReadLevel);
+    }
+
+    @Test
+    public void should_cancel_in_flight_bucket_queries_when_one_fails() throws Exception {
+        //Given
+        final SliceQueryProperties<ClusteredEntity> bucket1 = bucketQuery();
+        final SliceQueryProperties<ClusteredEntity> bucket2 = bucketQuery();
+        final ResultSetFuture future1 = bucketFuture(bucket1);
+        final ResultSetFuture future2 = bucketFuture(bucket2);
+        final RuntimeException failure = new RuntimeException("test");
+        when(future1.getUninterruptibly()).thenThrow(failure);
+
+        //When
+        try {
+            executor.getFromBuckets(ClusteredEntity.class, asList(bucket1, bucket2).iterator(), 10, 2);
+            fail("Expected failure");
+        } catch (RuntimeException e) {
+            assertThat(e).isSameAs(failure);
+        }
+
+        //Then
+        verify(future2).cancel(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private SliceQueryProperties<ClusteredEntity> bucketQuery() {
+        final SliceQueryProperties<ClusteredEntity> bucketQuery = mock(SliceQueryProperties.class);
+        when(bucketQuery.getEntityMeta()).thenReturn(meta);
+        return bucketQuery;
+    }
+
+    private ResultSetFuture bucketFuture(SliceQueryProperties<ClusteredEntity> bucketQuery) {
+        final BoundStatementWrapper wrapper = mock(BoundStatementWrapper.class);
+        final ResultSetFuture future = mock(ResultSetFuture.class);
+        when(daoContext.bindForSliceQuerySelect(bucketQuery, defaultReadLevel)).thenReturn(wrapper);
+        when(daoContext.executeAsync(wrapper)).thenReturn(future);
+        return future;
+    }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.LIST;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.MAP;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SET;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ADD_TO_MAP;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ADD_TO_SET;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ASSIGN_VALUE_TO_LIST;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_COLLECTION_OR_MAP;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_FROM_MAP;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_FROM_SET;
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyType;
+import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntitySnapshotDifferTest {
+
+    private EntitySnapshotDiffer differ = new EntitySnapshotDiffer();
+
+    @Mock
+    private EntityMeta meta;
+
+    @Test
+    public void should_detect_changed_simple_field_only() throws Exception {
+        //Given
+        PropertyMeta nameMeta = buildMeta("name", String.class, SIMPLE);
+        PropertyMeta ageMeta = buildMeta("age", Long.class, SIMPLE);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(nameMeta, ageMeta));
+
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(10L).name("John").age(30L).buid();
+        CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).name("Helen").age(30L).buid();
+
+        //When
+        List<DirtyChecker> actual = differ.diff(meta, entity, snapshot);
+
+        //Then
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).isSimpleField()).isTrue();
+        assertThat(actual.get(0).getPropertyMeta()).isSameAs(nameMeta);
+    }
+
+    @Test
+    public void should_detect_field_set_to_null() throws Exception {
+        //Given
+        PropertyMeta nameMeta = buildMeta("name", String.class, SIMPLE);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(nameMeta));
+
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(10L).name("John").buid();
+        CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).buid();
+
+        //When
+        List<DirtyChecker> actual = differ.diff(meta, entity, snapshot);
+
+        //Then
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getPropertyMeta()).isSameAs(nameMeta);
+    }
+
+    @Test
+    public void should_append_to_list_when_snapshot_is_prefix() throws Exception {
+        //Given
+        PropertyMeta friendsMeta = buildMeta("friends", String.class, LIST);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(friendsMeta));
+
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(10L).addFriends("a", "b").buid();
+        CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).addFriends("a", "b", "c").buid();
+
+        //When
+        List<DirtyChecker> actual = differ.diff(meta, entity, snapshot);
+
+        //Then
+        assertThat(actual).hasSize(1);
+        final DirtyCheckChangeSet changeSet = actual.get(0).getChangeSets().get(0);
+        assertThat(changeSet.getChangeType()).isEqualTo(APPEND_TO_LIST);
+        assertThat(changeSet.getRawListChanges()).containsExactly("c");
+    }
+
+    @Test
+    public void should_assign_list_when_order_changed() throws Exception {
+        //Given
+        PropertyMeta friendsMeta = buildMeta("friends", String.class, LIST);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(friendsMeta));
+
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(10L).addFriends("a", "b").buid();
+        CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).addFriends("b", "a").buid();
+
+        //When
+        List<DirtyChecker> actual = differ.diff(meta, entity, snapshot);
+
+        //Then
+        final DirtyCheckChangeSet changeSet = actual.get(0).getChangeSets().get(0);
+        assertThat(changeSet.getChangeType()).isEqualTo(ASSIGN_VALUE_TO_LIST);
+        assertThat(changeSet.getRawListChanges()).containsExactly("b", "a");
+    }
+
+    @Test
+    public void should_remove_list_when_emptied() throws Exception {
+        //Given
+        PropertyMeta friendsMeta = buildMeta("friends", String.class, LIST);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(friendsMeta));
+
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(10L).addFriends("a").buid();
+        CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).buid();
+        entity.setFriends(null);
+
+        //When
+        List<DirtyChecker> actual = differ.diff(meta, entity, snapshot);
+
+        //Then
+        assertThat(actual.get(0).getChangeSets().get(0).getChangeType()).isEqualTo(REMOVE_COLLECTION_OR_MAP);
+    }
+
+    @Test
+    public void should_ignore_null_and_empty_list() throws Exception {
+        //Given
+        PropertyMeta friendsMeta = buildMeta("friends", String.class, LIST);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(friendsMeta));
+
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(10L).buid();
+        snapshot.setFriends(null);
+        CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).buid();
+        entity.setFriends(new ArrayList<String>());
+
+        //When
+        List<DirtyChecker> actual = differ.diff(meta, entity, snapshot);
+
+        //Then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    public void should_add_and_remove_set_elements() throws Exception {
+        //Given
+        PropertyMeta followersMeta = buildMeta("followers", String.class, SET);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(followersMeta));
+
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(10L).addFollowers("a", "b").buid();
+        CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).addFollowers("b", "c").buid();
+
+        //When
+        List<DirtyChecker> actual = differ.diff(meta, entity, snapshot);
+
+        //Then
+        final List<DirtyCheckChangeSet> changeSets = actual.get(0).getChangeSets();
+        assertThat(changeSets).hasSize(2);
+        assertThat(changeSets.get(0).getChangeType()).isEqualTo(REMOVE_FROM_SET);
+        assertThat(changeSets.get(0).getRawSetChanges()).containsOnly("a");
+        assertThat(changeSets.get(1).getChangeType()).isEqualTo(ADD_TO_SET);
+        assertThat(changeSets.get(1).getRawSetChanges()).containsOnly("c");
+    }
+
+    @Test
+    public void should_put_changed_entries_and_remove_missing_keys() throws Exception {
+        //Given
+        PropertyMeta preferencesMeta = buildMeta("preferences", String.class, MAP);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(preferencesMeta));
+
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(10L).buid();
+        snapshot.setPreferences(new HashMap<>(ImmutableMap.of(1, "FR", 2, "Paris", 3, "75014")));
+        CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).buid();
+        entity.setPreferences(new HashMap<>(ImmutableMap.of(1, "FR", 2, "London", 4, "SW1")));
+
+        //When
+        List<DirtyChecker> actual = differ.diff(meta, entity, snapshot);
+
+        //Then
+        final List<DirtyCheckChangeSet> changeSets = actual.get(0).getChangeSets();
+        assertThat(changeSets).hasSize(2);
+        assertThat(changeSets.get(0).getChangeType()).isEqualTo(REMOVE_FROM_MAP);
+        assertThat(changeSets.get(0).getRawMapChanges().keySet()).containsOnly(3);
+        assertThat(changeSets.get(1).getChangeType()).isEqualTo(ADD_TO_MAP);
+        assertThat(changeSets.get(1).getRawMapChanges()).isEqualTo(ImmutableMap.<Object, Object>of(2, "London", 4, "SW1"));
+    }
+
+    @Test
+    public void should_return_no_dirty_checker_when_unchanged() throws Exception {
+        //Given
+        PropertyMeta nameMeta = buildMeta("name", String.class, SIMPLE);
+        PropertyMeta followersMeta = buildMeta("followers", String.class, SET);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(nameMeta, followersMeta));
+
+        CompleteBean snapshot = CompleteBeanTestBuilder.builder().id(10L).name("John").addFollowers("a").buid();
+        CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).name("John").buid();
+        entity.setFollowers(Sets.newHashSet("a"));
+
+        //When
+        List<DirtyChecker> actual = differ.diff(meta, entity, snapshot);
+
+        //Then
+        assertThat(actual).isEmpty();
+    }
+
+    private PropertyMeta buildMeta(String field, Class<?> valueClass, PropertyType type) throws Exception {
+        return PropertyMetaTestBuilder.completeBean(Void.class, valueClass).field(field).type(type)
+                .invoker(new ReflectionInvoker()).build();
+    }
+}
@@ -39,6 +39,7 @@ import com.datastax.driver.core.Row;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.cql.TypeMapper;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 
@@ -74,6 +75,7 @@ public class RowMethodInvokerTest {
         when(pm.getPropertyName()).thenReturn("property");
         when(pm.<Integer>getKeyClass()).thenReturn(Integer.class);
         when(pm.<String>getValueClass()).thenReturn(String.class);
+        when(pm.getRowGetter()).thenReturn(TypeMapper.getRowMethod(String.class));
         when(row.isNull("property")).thenReturn(false);
         when(pm.getComponentNames()).thenReturn(compNames);
         when(pm.getComponentClasses()).thenReturn(compClasses);
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package info.archinnov.achilles.internal.statement;
+
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.DataType;
+import com.google.common.base.Optional;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RoutingKeyExtractorTest {
+
+    private RoutingKeyExtractor extractor = new RoutingKeyExtractor();
+
+    @Mock
+    private PropertyMeta idMeta;
+
+    private EntityMeta meta = new EntityMeta();
+
+    @Before
+    public void setUp() {
+        meta.setIdMeta(idMeta);
+    }
+
+    @Test
+    public void should_extract_table_name() throws Exception {
+        assertThat(extractor.extractTableName("SELECT * FROM ks.\"User\" WHERE id=?").get()).isEqualTo("user");
+        assertThat(extractor.extractTableName("INSERT INTO user(id,name) VALUES (?,?)").get()).isEqualTo("user");
+        assertThat(extractor.extractTableName("UPDATE user SET name=? WHERE id=?").get()).isEqualTo("user");
+        assertThat(extractor.extractTableName("DELETE name FROM user WHERE id=?").get()).isEqualTo("user");
+        assertThat(extractor.extractTableName("TRUNCATE user").isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_extract_routing_key_for_simple_id() throws Exception {
+        //Given
+        simpleId();
+
+        //When
+        final Optional<ByteBuffer[]> routingKey = extractor.extractRoutingKey(meta,
+                "SELECT * FROM user WHERE name=? AND id = ? LIMIT ?", new Object[] { "John", 10L, 5 });
+
+        //Then
+        assertThat(routingKey.isPresent()).isTrue();
+        assertThat(asList(routingKey.get())).containsExactly(DataType.serializeValue(10L));
+    }
+
+    @Test
+    public void should_extract_routing_key_for_composite_partition_key_in_declaration_order() throws Exception {
+        //Given
+        when(idMeta.isEmbeddedId()).thenReturn(true);
+        when(idMeta.getPartitionComponentNames()).thenReturn(asList("userId", "bucket"));
+        when(idMeta.getPartitionComponentClasses()).thenReturn(Arrays.<Class<?>>asList(Long.class, Integer.class));
+
+        //When
+        final Optional<ByteBuffer[]> routingKey = extractor.extractRoutingKey(meta,
+                "SELECT * FROM events WHERE bucket=? AND \"userid\"=? AND date>?", new Object[] { 3, 10L, 100L });
+
+        //Then
+        assertThat(routingKey.isPresent()).isTrue();
+        assertThat(asList(routingKey.get())).containsExactly(DataType.serializeValue(10L), DataType.serializeValue(3));
+    }
+
+    @Test
+    public void should_extract_routing_key_from_insert_column_list() throws Exception {
+        //Given
+        simpleId();
+
+        //When
+        final Optional<ByteBuffer[]> routingKey = extractor.extractRoutingKey(meta,
+                "INSERT INTO user(name,age,id) VALUES (?,32,?) USING TTL ?", new Object[] { "John", 10L, 100 });
+
+        //Then
+        assertThat(routingKey.isPresent()).isTrue();
+        assertThat(asList(routingKey.get())).containsExactly(DataType.serializeValue(10L));
+    }
+
+    @Test
+    public void should_not_extract_routing_key_when_partition_key_is_not_bound_by_equality() throws Exception {
+        //Given
+        simpleId();
+
+        //Then
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE id IN ?", new Object[] { asList(10L) }).isPresent()).isFalse();
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE token(id) > ?", new Object[] { 10L }).isPresent()).isFalse();
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE userid = ?", new Object[] { 10L }).isPresent()).isFalse();
+        assertThat(extractor.extractRoutingKey(meta, "INSERT INTO user(id,name) VALUES (10,?)", new Object[] { "John" }).isPresent()).isFalse();
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE id = ?", new Object[] { null }).isPresent()).isFalse();
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE id = 10", new Object[] { }).isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_skip_bind_markers_and_keywords_inside_quoted_literals() throws Exception {
+        //Given
+        simpleId();
+
+        //When
+        final Optional<ByteBuffer[]> routingKey = extractor.extractRoutingKey(meta,
+                "UPDATE user SET name='who? where id = ?', \"what?\"=? WHERE id = ?", new Object[] { "John", 10L });
+        final Optional<ByteBuffer[]> insertRoutingKey = extractor.extractRoutingKey(meta,
+                "INSERT INTO user(name,id) VALUES ('it''s, (?)',?)", new Object[] { 10L });
+
+        //Then
+        assertThat(asList(routingKey.get())).containsExactly(DataType.serializeValue(10L));
+        assertThat(asList(insertRoutingKey.get())).containsExactly(DataType.serializeValue(10L));
+    }
+
+    @Test
+    public void should_not_extract_routing_key_when_parse_is_ambiguous() throws Exception {
+        //Given
+        simpleId();
+
+        //Then
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE id = ? AND id = ?", new Object[] { 10L, 11L }).isPresent()).isFalse();
+        assertThat(extractor.extractRoutingKey(meta, "BEGIN BATCH UPDATE user SET name=? WHERE id=?; DELETE FROM user WHERE id=?; APPLY BATCH",
+                new Object[] { "John", 10L, 11L }).isPresent()).isFalse();
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE id = ? -- name = ?", new Object[] { 10L }).isPresent()).isFalse();
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE name = 'John AND id = ?", new Object[] { 10L }).isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_not_extract_routing_key_when_bound_value_does_not_match_partition_type() throws Exception {
+        //Given
+        simpleId();
+
+        //Then
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE id = ?", new Object[] { 10 }).isPresent()).isFalse();
+        assertThat(extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE id = ?", new Object[] { "10" }).isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_resolve_partition_columns_and_bind_marker_indexes_once() throws Exception {
+        //Given
+        simpleId();
+        final String queryString = "SELECT * FROM user WHERE name=? AND id = ?";
+
+        //When
+        final Optional<ByteBuffer[]> first = extractor.extractRoutingKey(meta, queryString, new Object[] { "John", 10L });
+        final Optional<ByteBuffer[]> second = extractor.extractRoutingKey(meta, queryString, new Object[] { "Helen", 11L });
+        final Optional<ByteBuffer[]> other = extractor.extractRoutingKey(meta, "SELECT * FROM user WHERE id = ?", new Object[] { 12L });
+
+        //Then
+        assertThat(asList(first.get())).containsExactly(DataType.serializeValue(10L));
+        assertThat(asList(second.get())).containsExactly(DataType.serializeValue(11L));
+        assertThat(asList(other.get())).containsExactly(DataType.serializeValue(12L));
+        verify(idMeta, times(1)).getCQL3PropertyName();
+        verify(idMeta, times(1)).getPartitionComponentClasses();
+    }
+
+    private void simpleId() {
+        when(idMeta.isEmbeddedId()).thenReturn(false);
+        when(idMeta.getCQL3PropertyName()).thenReturn("id");
+        when(idMeta.getPartitionComponentClasses()).thenReturn(Arrays.<Class<?>>asList(Long.class));
+    }
+}
@@ -37,6 +37,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import com.datastax.driver.core.querybuilder.Delete;
+import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 import com.datastax.driver.core.querybuilder.Update;
@@ -53,6 +54,7 @@ import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
+import info.archinnov.achilles.type.OptionsBuilder;
 import info.archinnov.achilles.type.Pair;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -118,6 +120,35 @@ public class StatementGeneratorTest {
         assertThat(pair.right[1]).isEqualTo(100L);
     }
 
+    @Test
+    public void should_generate_non_prepared_insert() throws Exception {
+        //Given
+        PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors()
+                .type(ID).invoker(invoker).build();
+        PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").accessors()
+                .type(SIMPLE).invoker(invoker).build();
+
+        EntityMeta meta = new EntityMeta();
+        meta.setTableName("table");
+        meta.setIdMeta(idMeta);
+
+        Long id = RandomUtils.nextLong();
+        CompleteBean entity = builder().id(id).name("John").buid();
+
+        when(context.getEntity()).thenReturn(entity);
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(context.getOptions()).thenReturn(OptionsBuilder.ifNotExists());
+        when(context.getTtl()).thenReturn(Optional.fromNullable(10));
+        when(context.getTimestamp()).thenReturn(Optional.fromNullable(100L));
+
+        //When
+        final Pair<Insert, Object[]> pair = generator.generateInsert(context, asList(nameMeta));
+
+        //Then
+        assertThat(pair.left.getQueryString()).isEqualTo("INSERT INTO table(id,name) VALUES (" + id + ",?) IF NOT EXISTS USING TTL 10 AND TIMESTAMP 100;");
+        assertThat(pair.right).isEqualTo(new Object[] { id, "John", 10, 100L });
+    }
+
     @Test
     public void should_generate_remove_element_at_index_to_list_update() throws Exception {
         //Given
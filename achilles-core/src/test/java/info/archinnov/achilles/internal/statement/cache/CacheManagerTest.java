@@ -310,6 +310,35 @@ public class CacheManagerTest {
         verify(cache).put(cacheKey,ps);
     }
 
+    @Test
+    public void should_get_select_for_slice_query_from_shape_cache() throws Exception {
+        //Given
+        SliceShapeCache sliceShapeCache = new SliceShapeCache(2);
+        sliceShapeCache.putIfAbsent(3, ps);
+
+        //When
+        final PreparedStatement actual = manager.getCacheForSliceShape(session, sliceShapeCache, sliceQueryProperties, 3);
+
+        //Then
+        assertThat(actual).isSameAs(ps);
+        verifyZeroInteractions(generator);
+    }
+
+    @Test
+    public void should_generate_select_for_slice_query_shape() throws Exception {
+        //Given
+        SliceShapeCache sliceShapeCache = new SliceShapeCache(2);
+        when(generator.prepareSelectSliceQuery(session, sliceQueryProperties)).thenReturn(ps);
+
+        //When
+        final PreparedStatement actual = manager.getCacheForSliceShape(session, sliceShapeCache, sliceQueryProperties, 3);
+
+        //Then
+        assertThat(actual).isSameAs(ps);
+        assertThat(sliceShapeCache.get(3)).isSameAs(ps);
+        assertThat(sliceShapeCache.get(2)).isNull();
+    }
+
     @Test
     public void should_get_delete_for_slice_query_from_cache() throws Exception {
         //Given
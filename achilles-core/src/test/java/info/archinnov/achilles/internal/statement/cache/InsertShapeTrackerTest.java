@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.statement.cache;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.Set;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.google.common.collect.ImmutableSet;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.InsertShapeStatistics;
+
+public class InsertShapeTrackerTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private Set<String> nameOnly = ImmutableSet.of("name");
+    private Set<String> nameAndAge = ImmutableSet.of("name", "age");
+    private Set<String> ageOnly = ImmutableSet.of("age");
+
+    @Test
+    public void should_flag_shapes_as_hot_until_max_reached() throws Exception {
+        //Given
+        InsertShapeTracker tracker = new InsertShapeTracker(2);
+
+        //When
+        final boolean first = tracker.record(nameOnly);
+        final boolean second = tracker.record(nameAndAge);
+        final boolean third = tracker.record(ageOnly);
+
+        //Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+
+        final InsertShapeStatistics statistics = tracker.getStatistics();
+        assertThat(statistics.getHotShapeHits()).isEqualTo(2L);
+        assertThat(statistics.getRareShapeHits()).isEqualTo(1L);
+        assertThat(statistics.getPromotions()).isEqualTo(2L);
+        assertThat(statistics.getTrackedShapes()).isEqualTo(3);
+        assertThat(statistics.getHotShapeFrequencies().keySet()).containsOnly(nameOnly, nameAndAge);
+    }
+
+    @Test
+    public void should_replace_coldest_hot_shape_when_rare_shape_becomes_more_frequent() throws Exception {
+        //Given
+        InsertShapeTracker tracker = new InsertShapeTracker(1);
+        tracker.record(nameOnly);
+        tracker.record(nameOnly);
+
+        //When
+        final boolean firstHit = tracker.record(ageOnly);
+        final boolean secondHit = tracker.record(ageOnly);
+        final boolean thirdHit = tracker.record(ageOnly);
+
+        //Then
+        assertThat(firstHit).isFalse();
+        assertThat(secondHit).isFalse();
+        assertThat(thirdHit).isTrue();
+        assertThat(tracker.record(nameOnly)).isFalse();
+        assertThat(tracker.getStatistics().getHotShapeFrequencies().keySet()).containsOnly(ageOnly);
+    }
+
+    @Test
+    public void should_compute_hot_shape_hit_ratio() throws Exception {
+        //Given
+        InsertShapeTracker tracker = new InsertShapeTracker(1);
+        tracker.record(nameOnly);
+        tracker.record(nameOnly);
+        tracker.record(nameOnly);
+        tracker.record(ageOnly);
+
+        //When
+        final double ratio = tracker.getStatistics().getHotShapeHitRatio();
+
+        //Then
+        assertThat(ratio).isEqualTo(0.75);
+    }
+
+    @Test
+    public void should_age_frequencies_to_let_new_shapes_become_hot() throws Exception {
+        //Given
+        InsertShapeTracker tracker = new InsertShapeTracker(1);
+        final long agingPeriod = InsertShapeTracker.TRACKED_SHAPES_PER_HOT_SHAPE * InsertShapeTracker.AGING_PERIOD_PER_TRACKED_SHAPE;
+        for (int i = 0; i < agingPeriod; i++) {
+            tracker.record(nameOnly);
+        }
+
+        //When
+        final Long frequency = tracker.getStatistics().getHotShapeFrequencies().get(nameOnly);
+
+        //Then
+        assertThat(frequency).isEqualTo(agingPeriod / 2);
+    }
+
+    @Test
+    public void should_exception_when_max_hot_shapes_not_positive() throws Exception {
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The max number of hot insert shapes '0' should be strictly positive");
+
+        new InsertShapeTracker(0);
+    }
+}
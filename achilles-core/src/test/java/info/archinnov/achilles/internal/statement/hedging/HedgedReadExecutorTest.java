@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package info.archinnov.achilles.internal.statement.hedging;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.exceptions.ReadTimeoutException;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.type.HedgedReadStatistics;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HedgedReadExecutorTest {
+
+    private HedgedReadExecutor executor = new HedgedReadExecutor();
+
+    private HedgedReadTracker tracker = spy(new HedgedReadTracker(95, 5));
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private AbstractStatementWrapper statementWrapper;
+
+    @Mock
+    private ResultSetFuture firstAttempt;
+
+    @Mock
+    private ResultSetFuture secondAttempt;
+
+    @Mock
+    private ResultSet firstResultSet;
+
+    @Mock
+    private ResultSet secondResultSet;
+
+    @Test
+    public void should_not_hedge_when_first_attempt_answers_in_time() throws Exception {
+        //Given
+        when(statementWrapper.executeAsync(session)).thenReturn(firstAttempt);
+        when(firstAttempt.getUninterruptibly(5000L, MICROSECONDS)).thenReturn(firstResultSet);
+
+        //When
+        final ResultSet actual = executor.execute(session, statementWrapper, tracker);
+
+        //Then
+        assertThat(actual).isSameAs(firstResultSet);
+        final HedgedReadStatistics statistics = tracker.getStatistics();
+        assertThat(statistics.getReads()).isEqualTo(1L);
+        assertThat(statistics.getHedgesSent()).isEqualTo(0L);
+        verify(tracker).recordLatency(anyLong());
+    }
+
+    @Test
+    public void should_take_hedged_attempt_when_it_answers_first() throws Exception {
+        //Given
+        when(statementWrapper.executeAsync(session)).thenReturn(firstAttempt, secondAttempt);
+        when(firstAttempt.getUninterruptibly(anyLong(), any(TimeUnit.class))).thenThrow(new TimeoutException());
+        when(firstAttempt.get()).thenThrow(new ExecutionException(new ReadTimeoutException(null, 1, 2, false)));
+        when(secondAttempt.get()).thenReturn(secondResultSet);
+        when(secondAttempt.getUninterruptibly()).thenReturn(secondResultSet);
+        completeOnListener(secondAttempt);
+
+        //When
+        final ResultSet actual = executor.execute(session, statementWrapper, tracker);
+
+        //Then
+        assertThat(actual).isSameAs(secondResultSet);
+        verify(firstAttempt).cancel(true);
+        verify(secondAttempt, never()).cancel(true);
+
+        final HedgedReadStatistics statistics = tracker.getStatistics();
+        assertThat(statistics.getHedgesSent()).isEqualTo(1L);
+        assertThat(statistics.getHedgesWon()).isEqualTo(1L);
+        verify(tracker, never()).recordLatency(anyLong());
+    }
+
+    @Test
+    public void should_keep_first_attempt_when_it_answers_after_the_hedge_was_sent() throws Exception {
+        //Given
+        when(statementWrapper.executeAsync(session)).thenReturn(firstAttempt, secondAttempt);
+        when(firstAttempt.getUninterruptibly(anyLong(), any(TimeUnit.class))).thenThrow(new TimeoutException());
+        when(firstAttempt.get()).thenReturn(firstResultSet);
+        when(firstAttempt.getUninterruptibly()).thenReturn(firstResultSet);
+        completeOnListener(firstAttempt);
+
+        //When
+        final ResultSet actual = executor.execute(session, statementWrapper, tracker);
+
+        //Then
+        assertThat(actual).isSameAs(firstResultSet);
+        verify(secondAttempt).cancel(true);
+
+        final HedgedReadStatistics statistics = tracker.getStatistics();
+        assertThat(statistics.getHedgesSent()).isEqualTo(1L);
+        assertThat(statistics.getHedgesWon()).isEqualTo(0L);
+        verify(tracker).recordLatency(anyLong());
+    }
+
+    private void completeOnListener(ResultSetFuture attempt) {
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                ((Runnable) invocation.getArguments()[0]).run();
+                return null;
+            }
+        }).when(attempt).addListener(any(Runnable.class), any(Executor.class));
+    }
+}
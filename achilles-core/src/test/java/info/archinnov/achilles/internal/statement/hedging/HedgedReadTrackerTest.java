@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package info.archinnov.achilles.internal.statement.hedging;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.HedgedReadStatistics;
+
+public class HedgedReadTrackerTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void should_use_min_delay_until_enough_latencies_recorded() throws Exception {
+        //Given
+        HedgedReadTracker tracker = new HedgedReadTracker(90, 2);
+
+        //When
+        for (int i = 0; i < HedgedReadTracker.MIN_SAMPLES - 1; i++) {
+            tracker.recordLatency(50000);
+        }
+
+        //Then
+        assertThat(tracker.getDelayMicros()).isEqualTo(2000L);
+    }
+
+    @Test
+    public void should_derive_delay_from_latencies_percentile() throws Exception {
+        //Given
+        HedgedReadTracker tracker = new HedgedReadTracker(90, 2);
+
+        //When
+        for (int i = 0; i < HedgedReadTracker.SAMPLE_SIZE; i++) {
+            tracker.recordLatency(i % 64 * 1000);
+        }
+
+        //Then
+        assertThat(tracker.getDelayMicros()).isEqualTo(57000L);
+    }
+
+    @Test
+    public void should_not_go_below_min_delay() throws Exception {
+        //Given
+        HedgedReadTracker tracker = new HedgedReadTracker(99, 10);
+
+        //When
+        for (int i = 0; i < HedgedReadTracker.SAMPLE_SIZE; i++) {
+            tracker.recordLatency(500);
+        }
+
+        //Then
+        assertThat(tracker.getDelayMicros()).isEqualTo(10000L);
+    }
+
+    @Test
+    public void should_count_reads_and_hedges() throws Exception {
+        //Given
+        HedgedReadTracker tracker = new HedgedReadTracker(95, 5);
+
+        //When
+        tracker.recordRead();
+        tracker.recordRead();
+        tracker.recordHedgeSent();
+        tracker.recordHedgeWon();
+
+        //Then
+        final HedgedReadStatistics statistics = tracker.getStatistics();
+        assertThat(statistics.getReads()).isEqualTo(2L);
+        assertThat(statistics.getHedgesSent()).isEqualTo(1L);
+        assertThat(statistics.getHedgesWon()).isEqualTo(1L);
+        assertThat(statistics.getDelayMicros()).isEqualTo(5000L);
+    }
+
+    @Test
+    public void should_exception_when_percentile_out_of_range() throws Exception {
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The hedged reads percentile '100.0' should be between 0 and 100 exclusive");
+
+        new HedgedReadTracker(100, 5);
+    }
+}
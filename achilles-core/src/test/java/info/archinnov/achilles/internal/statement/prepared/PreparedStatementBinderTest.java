@@ -353,6 +353,32 @@ public class PreparedStatementBinderTest {
         assertThat(asList(actual.getValues())).containsExactly("CompleteBean", primaryKey.toString(), "count");
     }
 
+    @Test
+    public void should_bind_for_simple_counter_select_on_dedicated_counter_table() throws Exception {
+        PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").transcoder(transcoder).invoker(invoker).build();
+
+        EntityMeta meta = new EntityMeta();
+        meta.setClassName("CompleteBean");
+        meta.setIdMeta(idMeta);
+        meta.setCounterTableName("completebean_counters");
+
+        PropertyMeta counterMeta = completeBean(Void.class, Long.class).field("count").transcoder(transcoder).invoker(invoker).build();
+
+        Long primaryKey = RandomUtils.nextLong();
+
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(context.getIdMeta()).thenReturn(idMeta);
+        when(context.getPrimaryKey()).thenReturn(primaryKey);
+
+        when(transcoder.forceEncodeToJSON(primaryKey)).thenReturn(primaryKey.toString());
+        when(ps.bind(primaryKey.toString(), "count")).thenReturn(bs);
+
+        BoundStatementWrapper actual = binder.bindForSimpleCounterSelect(context, ps, counterMeta, ALL);
+
+        verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
+        assertThat(asList(actual.getValues())).containsExactly(primaryKey.toString(), "count");
+    }
+
     @Test
     public void should_bind_for_simple_counter_delete() throws Exception {
         PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").transcoder(transcoder).invoker(invoker).build();
@@ -392,6 +392,25 @@ public class PreparedStatementGeneratorTest {
 
     }
 
+    @Test
+    public void should_prepare_simple_counter_queries_for_dedicated_counter_table() throws Exception {
+        EntityMeta meta = new EntityMeta();
+        meta.setCounterTableName("user_counters");
+
+        when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+        Map<CQLQueryType, PreparedStatement> actual = generator.prepareSimpleCounterQueryMap(session, meta);
+
+        assertThat(actual.keySet()).containsOnly(INCR, DECR, SELECT, DELETE);
+
+        List<String> queries = queryCaptor.getAllValues();
+        assertThat(queries).containsExactly(
+                "UPDATE user_counters SET counter_value=counter_value+? WHERE primary_key=? AND property_name=?;",
+                "UPDATE user_counters SET counter_value=counter_value-? WHERE primary_key=? AND property_name=?;",
+                "SELECT counter_value FROM user_counters WHERE primary_key=? AND property_name=?;",
+                "DELETE FROM user_counters WHERE primary_key=? AND property_name=?;");
+    }
+
     @Test
     public void should_prepare_clustered_counter_queries() throws Exception {
         PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(ID).build();
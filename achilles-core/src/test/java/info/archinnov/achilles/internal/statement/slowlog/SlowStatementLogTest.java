@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.slowlog;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Statement;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+public class SlowStatementLogTest {
+
+    private FakeTicker ticker = new FakeTicker();
+
+    private Logger logger = mock(Logger.class);
+
+    private Statement statement = mock(Statement.class);
+
+    @Before
+    public void setUp() {
+        when(statement.getConsistencyLevel()).thenReturn(ConsistencyLevel.QUORUM);
+    }
+
+    @Test
+    public void should_be_disabled_without_threshold() throws Exception {
+        //Given
+        SlowStatementLog slowLog = new SlowStatementLog(0L, ImmutableMap.<Class<?>, Long>of(UserBean.class, 0L), 10);
+
+        //When Then
+        assertThat(slowLog.isEnabled()).isFalse();
+        assertThat(slowLog.startTimer()).isEqualTo(0L);
+        assertThat(slowLog.isSlow(CompleteBean.class, 0L)).isFalse();
+        assertThat(SlowStatementLog.DISABLED.isEnabled()).isFalse();
+    }
+
+    @Test
+    public void should_use_entity_threshold_over_default_one() throws Exception {
+        //Given
+        SlowStatementLog slowLog = build(100L, ImmutableMap.<Class<?>, Long>of(UserBean.class, 10L), 10);
+        final long startTime = slowLog.startTimer();
+
+        //When
+        ticker.advance(50);
+
+        //Then
+        assertThat(slowLog.isSlow(CompleteBean.class, startTime)).isFalse();
+        assertThat(slowLog.isSlow(UserBean.class, startTime)).isTrue();
+    }
+
+    @Test
+    public void should_disable_log_for_entity_with_zero_threshold() throws Exception {
+        //Given
+        SlowStatementLog slowLog = build(10L, ImmutableMap.<Class<?>, Long>of(UserBean.class, 0L), 10);
+        final long startTime = slowLog.startTimer();
+
+        //When
+        ticker.advance(50);
+
+        //Then
+        assertThat(slowLog.isSlow(CompleteBean.class, startTime)).isTrue();
+        assertThat(slowLog.isSlow(UserBean.class, startTime)).isFalse();
+    }
+
+    @Test
+    public void should_log_statement_with_consistency_elapsed_time_and_values() throws Exception {
+        //Given
+        SlowStatementLog slowLog = build(10L, Collections.<Class<?>, Long>emptyMap(), 10);
+        final long startTime = slowLog.startTimer();
+        ticker.advance(25);
+
+        //When
+        slowLog.log(CompleteBean.class, statement, "SELECT * FROM table WHERE id=?", new Object[] { 10L }, startTime, null, null);
+
+        //Then
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(logger).warn(anyString(), captor.capture(), captor.capture(), captor.capture(), captor.capture(),
+                captor.capture(), captor.capture(), captor.capture(), captor.capture(), captor.capture());
+        final List<Object> args = captor.getAllValues();
+        assertThat(args.get(0)).isEqualTo("CompleteBean");
+        assertThat(args.get(1)).isEqualTo("SELECT * FROM table WHERE id=?");
+        assertThat(args.get(2)).isEqualTo("QUORUM");
+        assertThat(args.get(3)).isEqualTo(25L);
+        assertThat(args.get(4)).isEqualTo(10L);
+        assertThat(args.get(6).toString()).isEqualTo("[10]");
+        assertThat(args.get(7)).isEqualTo("");
+        assertThat(args.get(8)).isEqualTo("");
+    }
+
+    @Test
+    public void should_log_failed_statement_with_exception_class() throws Exception {
+        //Given
+        SlowStatementLog slowLog = build(10L, Collections.<Class<?>, Long>emptyMap(), 10);
+        final long startTime = slowLog.startTimer();
+        ticker.advance(25);
+
+        //When
+        slowLog.log(CompleteBean.class, statement, "SELECT * FROM table WHERE id=?", new Object[] { 10L }, startTime, null,
+                new IllegalStateException("timeout"));
+
+        //Then
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(logger).warn(anyString(), captor.capture(), captor.capture(), captor.capture(), captor.capture(),
+                captor.capture(), captor.capture(), captor.capture(), captor.capture(), captor.capture());
+        assertThat(captor.getAllValues().get(7)).isEqualTo(", failed with java.lang.IllegalStateException");
+    }
+
+    @Test
+    public void should_rate_limit_logs_and_report_suppressed_count() throws Exception {
+        //Given
+        SlowStatementLog slowLog = build(10L, Collections.<Class<?>, Long>emptyMap(), 2);
+
+        //When
+        for (int i = 0; i < 5; i++) {
+            slowLog.log(CompleteBean.class, statement, "query", null, 0L, null, null);
+        }
+
+        //Then
+        verify(logger, times(2)).warn(anyString(), (Object[]) anyVararg());
+
+        //When
+        ticker.advance(1000);
+        slowLog.log(CompleteBean.class, statement, "query", null, 0L, null, null);
+
+        //Then
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(logger, times(3)).warn(anyString(), captor.capture(), captor.capture(), captor.capture(), captor.capture(),
+                captor.capture(), captor.capture(), captor.capture(), captor.capture(), captor.capture());
+        final List<Object> args = captor.getAllValues();
+        assertThat(args.get(args.size() - 1)).isEqualTo(" (3 slow statements not logged before)");
+    }
+
+    @Test
+    public void should_not_be_slow_under_threshold() throws Exception {
+        //Given
+        SlowStatementLog slowLog = build(10L, Collections.<Class<?>, Long>emptyMap(), 1);
+        final long startTime = slowLog.startTimer();
+        ticker.advance(5);
+
+        //When Then
+        assertThat(slowLog.isSlow(CompleteBean.class, startTime)).isFalse();
+        verify(logger, never()).warn(anyString(), (Object[]) anyVararg());
+    }
+
+    @Test
+    public void should_truncate_sampled_values() throws Exception {
+        //Given
+        final StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longValue.append("a");
+        }
+        Object[] values = new Object[] { longValue.toString(), 1, 2, 3, 4, 5, 6 };
+
+        //When
+        final List<String> sample = SlowStatementLog.sampleValues(values);
+
+        //Then
+        assertThat(sample).hasSize(6);
+        assertThat(sample.get(0)).hasSize(SlowStatementLog.MAX_VALUE_LENGTH + 3).endsWith("...");
+        assertThat(sample.get(5)).isEqualTo("... 2 more");
+        assertThat(SlowStatementLog.sampleValues(null)).isEmpty();
+    }
+
+    private SlowStatementLog build(long defaultThreshold, Map<Class<?>, Long> thresholds, int maxLogsPerSecond) {
+        SlowStatementLog slowLog = new SlowStatementLog(defaultThreshold, thresholds, maxLogsPerSecond);
+        slowLog.setTicker(ticker);
+        slowLog.setLogger(logger);
+        return slowLog;
+    }
+
+    private static class FakeTicker extends Ticker {
+
+        private long nanos = TimeUnit.HOURS.toNanos(1);
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long millis) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+    }
+}
@@ -18,18 +18,40 @@ package info.archinnov.achilles.internal.statement.wrapper;
 
 import static com.datastax.driver.core.ConsistencyLevel.LOCAL_SERIAL;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.google.common.base.Optional;
+import info.archinnov.achilles.internal.fault.FaultInjector;
+import info.archinnov.achilles.internal.statement.slowlog.SlowStatementLog;
+import info.archinnov.achilles.internal.tracing.QueryTraceSampler;
 import info.archinnov.achilles.listener.CASResultListener;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
@@ -47,6 +69,12 @@ public class BoundStatementWrapperTest {
     @Mock
     private Session session;
 
+    @Mock
+    private QueryTraceSampler queryTraceSampler;
+
+    @Mock
+    private SlowStatementLog slowStatementLog;
+
     private static final Optional<CASResultListener> NO_LISTENER = Optional.absent();
     private  static final Optional<com.datastax.driver.core.ConsistencyLevel> NO_SERIAL_CONSISTENCY = Optional.absent();
 
@@ -66,6 +94,159 @@ public class BoundStatementWrapperTest {
         verify(bs).setSerialConsistencyLevel(ConsistencyLevel.LOCAL_SERIAL);
     }
 
+    @Test
+    public void should_trace_sampled_statement() throws Exception {
+        //Given
+        wrapper = new BoundStatementWrapper(CompleteBean.class, bs, new Object[] { 1 }, ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        wrapper.setQueryTraceSampler(queryTraceSampler);
+        final ResultSet resultSet = mock(ResultSet.class);
+        final ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn("SELECT");
+        when(queryTraceSampler.shouldTrace(CompleteBean.class)).thenReturn(true);
+        when(session.execute(bs)).thenReturn(resultSet);
+        when(resultSet.getExecutionInfo()).thenReturn(executionInfo);
+
+        //When
+        wrapper.execute(session);
+
+        //Then
+        verify(bs).enableTracing();
+        verify(queryTraceSampler).collect(eq(CompleteBean.class), eq("SELECT"), eq(executionInfo));
+    }
+
+    @Test
+    public void should_disable_tracing_when_not_sampled() throws Exception {
+        //Given
+        wrapper = new BoundStatementWrapper(CompleteBean.class, bs, new Object[] { 1 }, ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        wrapper.setQueryTraceSampler(queryTraceSampler);
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn("SELECT");
+        when(queryTraceSampler.shouldTrace(CompleteBean.class)).thenReturn(true, false);
+
+        //When
+        wrapper.execute(session);
+        wrapper.execute(session);
+
+        //Then
+        final InOrder inOrder = inOrder(bs);
+        inOrder.verify(bs).enableTracing();
+        inOrder.verify(bs).disableTracing();
+    }
+
+    @Test
+    public void should_keep_sampling_decision_per_async_execution() throws Exception {
+        //Given
+        wrapper = new BoundStatementWrapper(CompleteBean.class, bs, new Object[] { 1 }, ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        wrapper.setQueryTraceSampler(queryTraceSampler);
+        final ResultSetFuture sampledFuture = mock(ResultSetFuture.class);
+        final ResultSetFuture notSampledFuture = mock(ResultSetFuture.class);
+        final ResultSet sampledResultSet = mock(ResultSet.class);
+        final ResultSet notSampledResultSet = mock(ResultSet.class);
+        final ExecutionInfo sampledExecutionInfo = mock(ExecutionInfo.class);
+        final List<Runnable> listeners = new ArrayList<>();
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn("SELECT");
+        when(queryTraceSampler.shouldTrace(CompleteBean.class)).thenReturn(true, false);
+        when(session.executeAsync(bs)).thenReturn(sampledFuture, notSampledFuture);
+        when(sampledFuture.get()).thenReturn(sampledResultSet);
+        when(notSampledFuture.get()).thenReturn(notSampledResultSet);
+        when(sampledResultSet.getExecutionInfo()).thenReturn(sampledExecutionInfo);
+        collectListeners(sampledFuture, listeners);
+        collectListeners(notSampledFuture, listeners);
+
+        //When
+        wrapper.executeAsync(session);
+        wrapper.executeAsync(session);
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+
+        //Then
+        verify(queryTraceSampler).collect(CompleteBean.class, "SELECT", sampledExecutionInfo);
+        verify(notSampledResultSet, never()).getExecutionInfo();
+    }
+
+    @Test
+    public void should_inject_fault_before_execution() throws Exception {
+        //Given
+        wrapper = new BoundStatementWrapper(CompleteBean.class, bs, new Object[] { 1 }, ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        final FaultInjector faultInjector = mock(FaultInjector.class);
+        wrapper.setFaultInjector(faultInjector);
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn("SELECT");
+
+        //When
+        wrapper.execute(session);
+
+        //Then
+        final InOrder inOrder = inOrder(faultInjector, session);
+        inOrder.verify(faultInjector).inject(CompleteBean.class, bs);
+        inOrder.verify(session).execute(bs);
+    }
+
+    @Test
+    public void should_log_slow_statement_when_execution_fails() throws Exception {
+        //Given
+        wrapper = new BoundStatementWrapper(CompleteBean.class, bs, new Object[] { 1 }, ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        wrapper.setSlowStatementLog(slowStatementLog);
+        final IllegalStateException failure = new IllegalStateException("timeout");
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn("SELECT");
+        when(slowStatementLog.isSlow(eq(CompleteBean.class), anyLong())).thenReturn(true);
+        when(session.execute(bs)).thenThrow(failure);
+
+        //When
+        try {
+            wrapper.execute(session);
+        } catch (IllegalStateException e) {
+            assertThat(e).isSameAs(failure);
+        }
+
+        //Then
+        verify(slowStatementLog).log(eq(CompleteBean.class), eq(bs), eq("SELECT"), any(Object[].class), anyLong(),
+                isNull(ExecutionInfo.class), same(failure));
+    }
+
+    @Test
+    public void should_log_slow_statement_when_async_execution_fails() throws Exception {
+        //Given
+        wrapper = new BoundStatementWrapper(CompleteBean.class, bs, new Object[] { 1 }, ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        wrapper.setSlowStatementLog(slowStatementLog);
+        final IllegalStateException failure = new IllegalStateException("timeout");
+        final ResultSetFuture future = mock(ResultSetFuture.class);
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn("SELECT");
+        when(slowStatementLog.isEnabled()).thenReturn(true);
+        when(slowStatementLog.isSlow(eq(CompleteBean.class), anyLong())).thenReturn(true);
+        when(session.executeAsync(bs)).thenReturn(future);
+        when(future.get()).thenThrow(new ExecutionException(failure));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ((Runnable) invocation.getArguments()[0]).run();
+                return null;
+            }
+        }).when(future).addListener(any(Runnable.class), any(Executor.class));
+
+        //When
+        wrapper.executeAsync(session);
+
+        //Then
+        verify(slowStatementLog).log(eq(CompleteBean.class), eq(bs), eq("SELECT"), any(Object[].class), anyLong(),
+                isNull(ExecutionInfo.class), same(failure));
+    }
+
+    private void collectListeners(ResultSetFuture future, final List<Runnable> listeners) {
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                listeners.add((Runnable) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(future).addListener(any(Runnable.class), any(Executor.class));
+    }
+
     @Test
     public void should_get_bound_statement() throws Exception {
         //Given
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.statement.wrapper;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.junit.After;
+import org.junit.Test;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+public class LoggingFlagsTest {
+
+    private static final String LOGGER_NAME = "info.archinnov.achilles.test.LoggingFlagsTest";
+
+    @After
+    public void tearDown() {
+        LogManager.getLogger(LOGGER_NAME).setLevel(null);
+        LoggingFlags.refreshAll();
+    }
+
+    @Test
+    public void should_share_flags_of_same_logger() throws Exception {
+        assertThat(LoggingFlags.forEntity(CompleteBean.class)).isSameAs(LoggingFlags.forEntity(CompleteBean.class));
+        assertThat(LoggingFlags.forEntity(CompleteBean.class)).isSameAs(LoggingFlags.forLogger(CompleteBean.class.getName()));
+        assertThat(LoggingFlags.forEntity(CompleteBean.class).getLogger().getName()).isEqualTo(CompleteBean.class.getName());
+    }
+
+    @Test
+    public void should_disable_flags_without_entity() throws Exception {
+        assertThat(LoggingFlags.forEntity(null)).isSameAs(LoggingFlags.NONE);
+        assertThat(LoggingFlags.NONE.isTraceEnabled()).isFalse();
+        assertThat(LoggingFlags.NONE.isDebugEnabled()).isFalse();
+        assertThat(LoggingFlags.NONE.getLogger()).isNull();
+    }
+
+    @Test
+    public void should_refresh_flags_when_log_level_changes() throws Exception {
+        //Given
+        LogManager.getLogger(LOGGER_NAME).setLevel(Level.WARN);
+        final LoggingFlags flags = LoggingFlags.forLogger(LOGGER_NAME);
+        flags.refresh();
+        assertThat(flags.isDebugEnabled()).isFalse();
+
+        //When
+        LogManager.getLogger(LOGGER_NAME).setLevel(Level.TRACE);
+
+        //Then
+        assertThat(flags.isTraceEnabled()).isFalse();
+
+        //When
+        LoggingFlags.refreshAll();
+
+        //Then
+        assertThat(flags.isTraceEnabled()).isTrue();
+        assertThat(flags.isDebugEnabled()).isTrue();
+    }
+}
@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.google.common.base.Optional;
@@ -51,7 +52,22 @@ public class NativeStatementWrapperTest {
 
         assertThat(actual.getValues()).hasSize(1);
         assertThat(actual.getValues()).isEqualTo(boundValues);
+        assertThat(actual.getRoutingKey()).isNull();
     }
 
+    @Test
+    public void should_build_parameterized_statement_with_routing_key() throws Exception {
+        //Given
+        final Insert statement = insertInto("test").value("id", bindMarker("id"));
+        final NativeStatementWrapper wrapper = new NativeStatementWrapper(NativeQueryLog.class, statement, new Object[] { 10L }, Optional.<CASResultListener>absent());
+        final ByteBuffer routingKey = DataType.serializeValue(10L);
+        wrapper.setRoutingKey(routingKey);
+
+        //When
+        final SimpleStatement actual = wrapper.buildParameterizedStatement();
+
+        //Then
+        assertThat(actual.getRoutingKey()).isEqualTo(routingKey);
+    }
 
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.statement.wrapper;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.Test;
+import com.datastax.driver.core.PreparedStatement;
+
+public class StatementShapeTest {
+
+    @Test
+    public void should_detect_cas_operations() throws Exception {
+        final StatementShape insert = StatementShape.of("INSERT INTO table(id,name) VALUES (?,?) IF NOT EXISTS;");
+        final StatementShape update = StatementShape.of("UPDATE table SET name=? WHERE id=? IF name=?;");
+        final StatementShape select = StatementShape.of("SELECT * FROM table WHERE id=?;");
+
+        assertThat(insert.isCASOperation()).isTrue();
+        assertThat(insert.isCASInsert()).isTrue();
+        assertThat(update.isCASOperation()).isTrue();
+        assertThat(update.isCASInsert()).isFalse();
+        assertThat(select.isCASOperation()).isFalse();
+    }
+
+    @Test
+    public void should_compute_shape_of_prepared_statement_once() throws Exception {
+        //Given
+        final PreparedStatement ps = mock(PreparedStatement.class);
+        when(ps.getQueryString()).thenReturn("UPDATE table SET name=? WHERE id=? IF name=?;");
+
+        //When
+        final StatementShape shape = StatementShape.of(ps);
+
+        //Then
+        assertThat(StatementShape.of(ps)).isSameAs(shape);
+        assertThat(shape.isCASOperation()).isTrue();
+        verify(ps, times(1)).getQueryString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.internal.table;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.TableMetadata;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClusterTableMetadataSourceTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private Cluster cluster;
+
+    @Mock
+    private TableCreator tableCreator;
+
+    @Test
+    public void should_fetch_table_metas_from_cluster_metadata() throws Exception {
+        // Given
+        ClusterTableMetadataSource source = new ClusterTableMetadataSource(cluster);
+        source.tableCreator = tableCreator;
+        Map<String, TableMetadata> expected = new HashMap<>();
+        KeyspaceMetadata keyspaceMeta = mock(KeyspaceMetadata.class);
+
+        // When
+        when(cluster.getMetadata().getKeyspace("keyspace")).thenReturn(keyspaceMeta);
+        when(tableCreator.fetchTableMetaData(keyspaceMeta, "keyspace")).thenReturn(expected);
+
+        Map<String, TableMetadata> actual = source.fetchTableMetaData("keyspace");
+
+        // Then
+        assertThat(actual).isSameAs(expected);
+    }
+
+    @Test
+    public void should_fetch_only_given_table_metas_from_cluster_metadata() throws Exception {
+        // Given
+        ClusterTableMetadataSource source = new ClusterTableMetadataSource(cluster);
+        source.tableCreator = tableCreator;
+        Map<String, TableMetadata> expected = new HashMap<>();
+        KeyspaceMetadata keyspaceMeta = mock(KeyspaceMetadata.class);
+
+        // When
+        when(cluster.getMetadata().getKeyspace("keyspace")).thenReturn(keyspaceMeta);
+        when(tableCreator.fetchTableMetaData(keyspaceMeta, "keyspace", Arrays.asList("users"))).thenReturn(expected);
+
+        Map<String, TableMetadata> actual = source.fetchTableMetaData("keyspace", Arrays.asList("users"));
+
+        // Then
+        assertThat(actual).isSameAs(expected);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.table;
+
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_FQCN;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PRIMARY_KEY;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PROPERTY_NAME;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_VALUE;
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import com.datastax.driver.core.querybuilder.Select;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CounterTableMigratorTest {
+
+    private static final String CLASS_NAME = "info.archinnov.achilles.test.Bean";
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private EntityMeta entityMeta;
+
+    @Mock
+    private PropertyMeta countMeta;
+
+    @Mock
+    private PropertyMeta shardedMeta;
+
+    @Mock
+    private PreparedStatement readTarget;
+
+    @Mock
+    private PreparedStatement incrementTarget;
+
+    @Mock
+    private ResultSet scanResultSet;
+
+    @Mock
+    private BoundStatement increment;
+
+    private CounterTableMigrator migrator = new CounterTableMigrator();
+
+    @Before
+    public void setUp() {
+        when(entityMeta.getClassName()).thenReturn(CLASS_NAME);
+        when(entityMeta.hasDedicatedCounterTable()).thenReturn(true);
+        when(entityMeta.getCounterTableName()).thenReturn("bean_counters");
+        when(countMeta.getPropertyName()).thenReturn("count");
+        when(shardedMeta.getPropertyName()).thenReturn("hits");
+        when(shardedMeta.isShardedCounter()).thenReturn(true);
+        when(entityMeta.getAllCounterMetas()).thenReturn(asList(countMeta, shardedMeta));
+
+        when(session.prepare(any(RegularStatement.class))).thenReturn(readTarget, incrementTarget);
+        when(session.execute(isA(Select.class))).thenReturn(scanResultSet);
+        when(incrementTarget.bind(anyLong(), anyString(), anyString())).thenReturn(increment);
+    }
+
+    @Test
+    public void should_exception_when_entity_has_no_dedicated_counter_table() throws Exception {
+        //Given
+        when(entityMeta.hasDedicatedCounterTable()).thenReturn(false);
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The entity '" + CLASS_NAME + "' does not store its counters in a dedicated table");
+
+        //When
+        migrator.migrate(session, entityMeta);
+    }
+
+    @Test
+    public void should_migrate_nothing_when_shared_table_is_empty() throws Exception {
+        //Given
+        scanRows(Collections.<Row>emptyList());
+
+        //When
+        final long migrated = migrator.migrate(session, entityMeta);
+
+        //Then
+        assertThat(migrated).isEqualTo(0L);
+        verify(readTarget, never()).bind(anyString(), anyString());
+        verify(incrementTarget, never()).bind(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    public void should_copy_counters_of_entity_only() throws Exception {
+        //Given
+        scanRows(asList(counterRow(CLASS_NAME, "10", "count", 5L),
+                counterRow("other.Entity", "10", "count", 7L),
+                counterRow(CLASS_NAME, "10", "hits", 3L)));
+        targetValue("10", "count", null);
+
+        //When
+        final long migrated = migrator.migrate(session, entityMeta);
+
+        //Then
+        assertThat(migrated).isEqualTo(1L);
+        verify(incrementTarget).bind(5L, "10", "count");
+        verify(session).execute(increment);
+    }
+
+    @Test
+    public void should_not_increment_already_migrated_counters() throws Exception {
+        //Given
+        scanRows(asList(counterRow(CLASS_NAME, "10", "count", 5L), counterRow(CLASS_NAME, "11", "count", 8L)));
+        targetValue("10", "count", 5L);
+        targetValue("11", "count", 6L);
+
+        //When
+        final long migrated = migrator.migrate(session, entityMeta);
+
+        //Then
+        assertThat(migrated).isEqualTo(2L);
+        verify(incrementTarget, never()).bind(5L, "10", "count");
+        verify(incrementTarget).bind(2L, "11", "count");
+    }
+
+    @Test
+    public void should_resume_partially_failed_migration() throws Exception {
+        //Given
+        scanRows(asList(counterRow(CLASS_NAME, "10", "count", 5L), counterRow(CLASS_NAME, "11", "count", 8L)));
+        targetValue("10", "count", null);
+        targetValue("11", "count", null);
+        when(session.execute(increment)).thenReturn(mock(ResultSet.class)).thenThrow(new WriteTimeoutException(
+                com.datastax.driver.core.ConsistencyLevel.ONE, WriteType.COUNTER, 0, 1));
+
+        try {
+            migrator.migrate(session, entityMeta);
+            fail("The migration should fail on the second counter");
+        } catch (WriteTimeoutException e) {
+            // expected
+        }
+
+        // Only the first counter has been written before the failure
+        when(session.prepare(any(RegularStatement.class))).thenReturn(readTarget, incrementTarget);
+        targetValue("10", "count", 5L);
+        doReturn(mock(ResultSet.class)).when(session).execute(increment);
+
+        //When
+        final long migrated = migrator.migrate(session, entityMeta);
+
+        //Then
+        assertThat(migrated).isEqualTo(2L);
+        verify(incrementTarget, times(1)).bind(5L, "10", "count");
+        verify(incrementTarget, times(2)).bind(8L, "11", "count");
+    }
+
+    private void scanRows(final List<Row> rows) {
+        when(scanResultSet.iterator()).thenAnswer(new Answer<Iterator<Row>>() {
+            @Override
+            public Iterator<Row> answer(InvocationOnMock invocation) throws Throwable {
+                return rows.iterator();
+            }
+        });
+    }
+
+    private Row counterRow(String className, String primaryKey, String propertyName, long value) {
+        final Row row = mock(Row.class);
+        when(row.getString(CQL_COUNTER_FQCN)).thenReturn(className);
+        when(row.getString(CQL_COUNTER_PRIMARY_KEY)).thenReturn(primaryKey);
+        when(row.getString(CQL_COUNTER_PROPERTY_NAME)).thenReturn(propertyName);
+        when(row.getLong(CQL_COUNTER_VALUE)).thenReturn(value);
+        return row;
+    }
+
+    private void targetValue(String primaryKey, String propertyName, Long value) {
+        final BoundStatement read = mock(BoundStatement.class);
+        final ResultSet readResultSet = mock(ResultSet.class);
+        when(readTarget.bind(primaryKey, propertyName)).thenReturn(read);
+        when(session.execute(read)).thenReturn(readResultSet);
+        if (value != null) {
+            final Row target = mock(Row.class);
+            when(target.getLong(CQL_COUNTER_VALUE)).thenReturn(value);
+            when(readResultSet.one()).thenReturn(target);
+        }
+    }
+}
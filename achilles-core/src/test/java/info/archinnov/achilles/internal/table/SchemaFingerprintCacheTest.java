@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.table;
+
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.EMBEDDED_ID;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.ID;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static info.archinnov.achilles.schemabuilder.Create.Options.ClusteringOrder;
+import static info.archinnov.achilles.schemabuilder.Create.Options.ClusteringOrder.Sorting;
+import static info.archinnov.achilles.test.builders.PropertyMetaTestBuilder.completeBean;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.TableMetadata;
+import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.CompressionTracker;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SchemaFingerprintCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private TableMetadata tableMetadata;
+
+    @Mock
+    private ConfigurationContext configContext;
+
+    private EntityMeta entityMeta;
+
+    private PropertyMeta nameMeta;
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = new File(folder.getRoot(), "fingerprints.properties");
+
+        PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(ID).build();
+        nameMeta = completeBean(Void.class, String.class).field("name").type(SIMPLE).build();
+        entityMeta = new EntityMeta();
+        entityMeta.setTableName("users");
+        entityMeta.setIdMeta(idMeta);
+        entityMeta.setPropertyMetas(ImmutableMap.of("id", idMeta, "name", nameMeta));
+
+        when(tableMetadata.getKeyspace().getName()).thenReturn("ks");
+        when(tableMetadata.getName()).thenReturn("users");
+        when(tableMetadata.exportAsString()).thenReturn("CREATE TABLE ks.users (id bigint PRIMARY KEY, name text)");
+    }
+
+    @Test
+    public void should_find_recorded_fingerprint_after_reload() throws Exception {
+        //Given
+        SchemaFingerprintCache cache = new SchemaFingerprintCache(file);
+        String fingerprint = cache.fingerprint(entityMeta, tableMetadata, configContext);
+
+        //When
+        cache.record(tableMetadata, fingerprint);
+        cache.save();
+
+        //Then
+        SchemaFingerprintCache reloaded = new SchemaFingerprintCache(file);
+        assertThat(reloaded.isUnchanged(tableMetadata, reloaded.fingerprint(entityMeta, tableMetadata, configContext))).isTrue();
+    }
+
+    @Test
+    public void should_save_fingerprints_in_background_at_the_latest_on_shut_down() throws Exception {
+        //Given
+        SchemaFingerprintCache cache = new SchemaFingerprintCache(file);
+        String fingerprint = cache.fingerprint(entityMeta, tableMetadata, configContext);
+        cache.record(tableMetadata, fingerprint);
+
+        //When
+        cache.saveInBackground();
+        cache.saveInBackground();
+        cache.shutDown();
+
+        //Then
+        assertThat(new SchemaFingerprintCache(file).isUnchanged(tableMetadata, fingerprint)).isTrue();
+    }
+
+    @Test
+    public void should_detect_table_change() throws Exception {
+        //Given
+        SchemaFingerprintCache cache = new SchemaFingerprintCache(file);
+        cache.record(tableMetadata, cache.fingerprint(entityMeta, tableMetadata, configContext));
+
+        //When
+        when(tableMetadata.exportAsString()).thenReturn("CREATE TABLE ks.users (id bigint PRIMARY KEY, name int)");
+
+        //Then
+        assertThat(cache.isUnchanged(tableMetadata, cache.fingerprint(entityMeta, tableMetadata, configContext))).isFalse();
+    }
+
+    @Test
+    public void should_detect_entity_mapping_change() throws Exception {
+        //Given
+        SchemaFingerprintCache cache = new SchemaFingerprintCache(file);
+        cache.record(tableMetadata, cache.fingerprint(entityMeta, tableMetadata, configContext));
+
+        //When
+        PropertyMeta idMeta = entityMeta.getIdMeta();
+        PropertyMeta ageMeta = completeBean(Void.class, Integer.class).field("name").type(SIMPLE).build();
+        entityMeta.setPropertyMetas(ImmutableMap.of("id", idMeta, "name", ageMeta));
+
+        //Then
+        assertThat(cache.isUnchanged(tableMetadata, cache.fingerprint(entityMeta, tableMetadata, configContext))).isFalse();
+    }
+
+    @Test
+    public void should_detect_column_type_changes() throws Exception {
+        //Given
+        SchemaFingerprintCache cache = new SchemaFingerprintCache(file);
+        Set<String> fingerprints = new HashSet<>();
+        fingerprints.add(cache.fingerprint(entityMeta, tableMetadata, configContext));
+
+        //When
+        nameMeta.setTimeUUID(true);
+        fingerprints.add(cache.fingerprint(entityMeta, tableMetadata, configContext));
+        nameMeta.setTimeUUID(false);
+        nameMeta.setBinary(true);
+        fingerprints.add(cache.fingerprint(entityMeta, tableMetadata, configContext));
+        nameMeta.setBinary(false);
+        nameMeta.setCompressionTracker(new CompressionTracker());
+        fingerprints.add(cache.fingerprint(entityMeta, tableMetadata, configContext));
+        nameMeta.setCompressionTracker(null);
+        nameMeta.setStaticColumn(true);
+        fingerprints.add(cache.fingerprint(entityMeta, tableMetadata, configContext));
+
+        //Then
+        assertThat(fingerprints).hasSize(5);
+    }
+
+    @Test
+    public void should_detect_clustering_order_change() throws Exception {
+        //Given
+        SchemaFingerprintCache cache = new SchemaFingerprintCache(file);
+        entityMeta.setIdMeta(clusteredIdMeta(Sorting.ASC));
+        String ascending = cache.fingerprint(entityMeta, tableMetadata, configContext);
+
+        //When
+        entityMeta.setIdMeta(clusteredIdMeta(Sorting.DESC));
+        String descending = cache.fingerprint(entityMeta, tableMetadata, configContext);
+
+        //Then
+        assertThat(descending).isNotEqualTo(ascending);
+    }
+
+    @Test
+    public void should_keep_fingerprints_saved_by_other_caches() throws Exception {
+        //Given
+        SchemaFingerprintCache first = new SchemaFingerprintCache(file);
+        SchemaFingerprintCache second = new SchemaFingerprintCache(file);
+        String fingerprint = first.fingerprint(entityMeta, tableMetadata, configContext);
+        first.record(tableMetadata, fingerprint);
+        first.save();
+
+        //When
+        second.save();
+
+        //Then
+        assertThat(new SchemaFingerprintCache(file).isUnchanged(tableMetadata, fingerprint)).isTrue();
+    }
+
+    @Test
+    public void should_never_match_when_disabled() throws Exception {
+        //Given
+        SchemaFingerprintCache cache = SchemaFingerprintCache.DISABLED;
+
+        //When
+        String fingerprint = cache.fingerprint(entityMeta, tableMetadata, configContext);
+        cache.record(tableMetadata, fingerprint);
+        cache.save();
+
+        //Then
+        assertThat(fingerprint).isNull();
+        assertThat(cache.isUnchanged(tableMetadata, fingerprint)).isFalse();
+    }
+
+    private PropertyMeta clusteredIdMeta(Sorting sorting) throws Exception {
+        PropertyMeta idMeta = PropertyMetaTestBuilder.valueClass(Object.class).type(EMBEDDED_ID).field("id")
+                .compNames("id", "date").compClasses(Long.class, Long.class)
+                .clusteringOrders(new ClusteringOrder("date", sorting)).build();
+        entityMeta.setPropertyMetas(ImmutableMap.of("id", idMeta, "name", nameMeta));
+        return idMeta;
+    }
+}
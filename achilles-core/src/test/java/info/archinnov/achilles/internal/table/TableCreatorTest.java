@@ -125,6 +125,19 @@ public class TableCreatorTest {
         assertThat(actual.get("table")).isSameAs(tableMeta);
     }
 
+    @Test
+    public void should_fetch_only_existing_given_table_metas() throws Exception {
+        // When
+        when(keyspaceMeta.getTable("table")).thenReturn(tableMeta);
+        when(tableMeta.getName()).thenReturn("table");
+
+        Map<String, TableMetadata> actual = creator.fetchTableMetaData(keyspaceMeta, "keyspace", asList("table", "missing"));
+
+        // Then
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get("table")).isSameAs(tableMeta);
+    }
+
     @Test
     public void should_create_complete_table() throws Exception {
         PropertyMeta idMeta = PropertyMetaTestBuilder.valueClass(Long.class).type(ID).field("id").build();
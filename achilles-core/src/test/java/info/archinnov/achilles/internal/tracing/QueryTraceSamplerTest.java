@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.tracing;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.exceptions.TraceRetrievalException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.management.MBeanRegistrar;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+import info.archinnov.achilles.tracing.QueryTraceRecord;
+import info.archinnov.achilles.tracing.RingBufferTraceSink;
+import info.archinnov.achilles.tracing.TraceSink;
+
+public class QueryTraceSamplerTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private RingBufferTraceSink sink = new RingBufferTraceSink(10);
+
+    @Test
+    public void should_never_trace_when_disabled() throws Exception {
+        assertThat(QueryTraceSampler.DISABLED.shouldTrace(CompleteBean.class)).isFalse();
+        assertThat(QueryTraceSampler.orDisabled(null)).isSameAs(QueryTraceSampler.DISABLED);
+    }
+
+    @Test
+    public void should_sample_with_table_rate_over_default_rate() throws Exception {
+        //Given
+        QueryTraceSampler sampler = build(1.0, ImmutableMap.of("User_Bean", 0.0));
+
+        //When Then
+        assertThat(sampler.shouldTrace(CompleteBean.class)).isTrue();
+        assertThat(sampler.shouldTrace(UserBean.class)).isFalse();
+        assertThat(sampler.getSampledCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_change_sample_rates_at_runtime() throws Exception {
+        //Given
+        QueryTraceSampler sampler = build(0.0, ImmutableMap.<String, Double>of());
+        assertThat(sampler.shouldTrace(UserBean.class)).isFalse();
+
+        //When
+        sampler.setSampleRate("user_bean", 1.0);
+
+        //Then
+        assertThat(sampler.shouldTrace(UserBean.class)).isTrue();
+        assertThat(sampler.shouldTrace(CompleteBean.class)).isFalse();
+        assertThat(sampler.getSampleRates()).containsKey("user_bean");
+
+        //When
+        sampler.removeSampleRate("USER_BEAN");
+        sampler.setDefaultSampleRate(1.0);
+
+        //Then
+        assertThat(sampler.getSampleRates()).isEmpty();
+        assertThat(sampler.shouldTrace(CompleteBean.class)).isTrue();
+    }
+
+    @Test
+    public void should_exception_when_sample_rate_out_of_range() throws Exception {
+        //Given
+        QueryTraceSampler sampler = build(0.0, ImmutableMap.<String, Double>of());
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The query tracing sample rate '1.5' should be between 0 and 1");
+
+        //When
+        sampler.setDefaultSampleRate(1.5);
+    }
+
+    @Test
+    public void should_collect_trace_and_publish_to_sinks() throws Exception {
+        //Given
+        QueryTraceSampler sampler = build(1.0, ImmutableMap.<String, Double>of());
+        final UUID traceId = UUID.randomUUID();
+        final QueryTrace.Event event = mock(QueryTrace.Event.class);
+        when(event.getDescription()).thenReturn("Read 1 live cell");
+        when(event.getSource()).thenReturn(InetAddress.getLoopbackAddress());
+        when(event.getSourceElapsedMicros()).thenReturn(120);
+        final QueryTrace trace = mock(QueryTrace.class);
+        when(trace.getTraceId()).thenReturn(traceId);
+        when(trace.getDurationMicros()).thenReturn(450);
+        when(trace.getEvents()).thenReturn(Arrays.asList(event));
+        final ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+        when(executionInfo.getQueryTrace()).thenReturn(trace);
+
+        //When
+        sampler.collect(CompleteBean.class, "SELECT * FROM complete_bean WHERE id=?", executionInfo);
+
+        //Then
+        assertThat(sink.getRecords()).hasSize(1);
+        final QueryTraceRecord record = sink.getRecords().get(0);
+        assertThat(record.getEntity()).isEqualTo(CompleteBean.class.getName());
+        assertThat(record.getTraceId()).isEqualTo(traceId);
+        assertThat(record.getDurationMicros()).isEqualTo(450);
+        assertThat(record.getEvents()).hasSize(1);
+        assertThat(record.getEvents().get(0).getDescription()).isEqualTo("Read 1 live cell");
+        assertThat(sampler.getCollectedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_skip_trace_not_retrieved() throws Exception {
+        //Given
+        QueryTraceSampler sampler = build(1.0, ImmutableMap.<String, Double>of());
+        final ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+        when(executionInfo.getQueryTrace()).thenThrow(new TraceRetrievalException("timeout"));
+
+        //When
+        sampler.collect(CompleteBean.class, "query", executionInfo);
+
+        //Then
+        assertThat(sink.getRecords()).isEmpty();
+        assertThat(sampler.getCollectedCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_not_collect_once_shut_down() throws Exception {
+        //Given
+        QueryTraceSampler sampler = build(1.0, ImmutableMap.<String, Double>of());
+        final ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+        sampler.shutDown();
+
+        //When
+        sampler.collect(CompleteBean.class, "query", executionInfo);
+
+        //Then
+        verifyZeroInteractions(executionInfo);
+        assertThat(sink.getRecords()).isEmpty();
+    }
+
+    private QueryTraceSampler build(double defaultRate, Map<String, Double> sampleRates) {
+        EntityMeta completeBeanMeta = new EntityMeta();
+        completeBeanMeta.setTableName("complete_bean");
+        EntityMeta userBeanMeta = new EntityMeta();
+        userBeanMeta.setTableName("user_bean");
+
+        QueryTraceSampler sampler = new QueryTraceSampler(new MBeanRegistrar("test"), defaultRate, sampleRates, Arrays.<TraceSink>asList(sink), false);
+        sampler.setCollectExecutor(MoreExecutors.sameThreadExecutor());
+        sampler.start(ImmutableMap.<Class<?>, EntityMeta>of(CompleteBean.class, completeBeanMeta, UserBean.class, userBeanMeta));
+        return sampler;
+    }
+}
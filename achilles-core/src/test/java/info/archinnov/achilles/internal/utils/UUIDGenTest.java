@@ -18,6 +18,17 @@ package info.archinnov.achilles.internal.utils;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -34,4 +45,116 @@ public class UUIDGenTest {
 			timestampInMicros = newTimestampInMicros;
 		}
 	}
+
+	@Test
+	public void should_generate_increasing_time_uuids() throws Exception {
+		UUID timeUUID = UUIDGen.getTimeUUID();
+		assertThat(timeUUID.version()).isEqualTo(1);
+		for (int i = 0; i < 1000; i++) {
+			UUID newTimeUUID = UUIDGen.getTimeUUID();
+			assertThat(newTimeUUID.timestamp()).isGreaterThan(timeUUID.timestamp());
+			timeUUID = newTimeUUID;
+		}
+	}
+
+	@Test
+	public void should_generate_unique_and_per_thread_increasing_time_uuids_concurrently() throws Exception {
+		final Set<UUID> uuids = newConcurrentSet();
+		final int perThread = 20000;
+		runConcurrently(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				long lastTimestamp = 0;
+				for (int i = 0; i < perThread; i++) {
+					final UUID timeUUID = UUIDGen.getTimeUUID();
+					assertThat(timeUUID.timestamp()).isGreaterThan(lastTimestamp);
+					lastTimestamp = timeUUID.timestamp();
+					uuids.add(timeUUID);
+				}
+				return null;
+			}
+		});
+
+		assertThat(uuids).hasSize(8 * perThread);
+	}
+
+	@Test
+	public void should_generate_globally_increasing_time_uuids_concurrently() throws Exception {
+		final Object lock = new Object();
+		final long[] lastTimestamp = new long[1];
+		final int perThread = 20000;
+		runConcurrently(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				for (int i = 0; i < perThread; i++) {
+					// Calls serialized by the lock complete in lock order
+					synchronized (lock) {
+						final long timestamp = UUIDGen.getTimeUUID().timestamp();
+						assertThat(timestamp).isGreaterThan(lastTimestamp[0]);
+						lastTimestamp[0] = timestamp;
+					}
+				}
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void should_not_run_ahead_of_wall_clock_by_more_than_generated_ticks() throws Exception {
+		final int perThread = 20000;
+		final long startTicks = UUIDGen.getTimeUUID().timestamp();
+		runConcurrently(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				for (int i = 0; i < perThread; i++) {
+					UUIDGen.getTimeUUID();
+				}
+				return null;
+			}
+		});
+
+		final long wallClockTicks = (System.currentTimeMillis() + 12219292800000L) * 10000;
+		final long lastTicks = UUIDGen.getTimeUUID().timestamp();
+		assertThat(lastTicks - Math.max(startTicks, wallClockTicks)).isLessThanOrEqualTo(8 * perThread + 1);
+	}
+
+	@Test
+	public void should_generate_unique_micro_timestamps_concurrently() throws Exception {
+		final Set<Long> timestamps = newConcurrentSet();
+		final int perThread = 20000;
+		runConcurrently(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				long lastTimestamp = 0;
+				for (int i = 0; i < perThread; i++) {
+					final long timestamp = UUIDGen.increasingMicroTimestamp();
+					assertThat(timestamp).isGreaterThan(lastTimestamp);
+					lastTimestamp = timestamp;
+					timestamps.add(timestamp);
+				}
+				return null;
+			}
+		});
+
+		assertThat(timestamps).hasSize(8 * perThread);
+	}
+
+	private <T> Set<T> newConcurrentSet() {
+		return Collections.newSetFromMap(new ConcurrentHashMap<T, Boolean>());
+	}
+
+	private void runConcurrently(Callable<Void> task) throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<Void>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(task));
+			}
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
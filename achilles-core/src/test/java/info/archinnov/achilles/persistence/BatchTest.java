@@ -132,6 +132,14 @@ public class BatchTest {
         assertThat(batch.flushContext).isSameAs(newFlushContext);
     }
 
+    @Test
+    public void should_exception_when_update_detached_with_null_options() throws Exception {
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Options should not be null for detached update. To diff against a snapshot, use updateDetached(entity, snapshot)");
+
+        batch.updateDetached(new CompleteBean(), null);
+    }
+
     @Test
     public void should_exception_when_persist_with_consistency() throws Exception {
         exception.expect(AchillesException.class);
@@ -140,6 +148,14 @@ public class BatchTest {
         batch.insert(new CompleteBean(), OptionsBuilder.withConsistency(ONE));
     }
 
+    @Test
+    public void should_exception_when_insert_raw_with_consistency() throws Exception {
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
+
+        batch.insertRaw(new CompleteBean(), OptionsBuilder.withConsistency(ONE));
+    }
+
     @Test
     public void should_exception_when_merge_with_consistency() throws Exception {
         exception.expect(AchillesException.class);
@@ -49,7 +49,11 @@ import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.context.SchemaContext;
 import info.archinnov.achilles.internal.metadata.discovery.AchillesBootstrapper;
+import info.archinnov.achilles.internal.metrics.MetricsRegistry;
+import info.archinnov.achilles.internal.fault.FaultInjector;
+import info.archinnov.achilles.internal.tracing.QueryTraceSampler;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
 import info.archinnov.achilles.internal.proxy.ProxyClassFactory;
 import info.archinnov.achilles.internal.utils.ConfigMap;
@@ -105,8 +109,10 @@ public class PersistenceManagerFactoryTest {
         // Given
         List<Class<?>> candidateClasses = Arrays.asList();
         List<Interceptor<?>> interceptors = Arrays.asList();
+        EntityMeta entityMeta = new EntityMeta();
+        entityMeta.setPropertyMetas(new HashMap<String, PropertyMeta>());
         Map<Class<?>, EntityMeta> entityMetaMap = ImmutableMap.<Class<?>, EntityMeta>of(CompleteBean.class,
-                new EntityMeta());
+                entityMeta);
         ParsingResult parsingResult = new ParsingResult(entityMetaMap, true);
         final ClassLoader classLoader = this.getClass().getClassLoader();
 
@@ -122,6 +128,9 @@ public class PersistenceManagerFactoryTest {
         when(configMap.getTyped(KEYSPACE_NAME)).thenReturn("keyspace");
         when(boostrapper.buildMetaDatas(configContext, candidateClasses)).thenReturn(parsingResult);
         when(configContext.isForceColumnFamilyCreation()).thenReturn(true);
+        when(configContext.getMetricsRegistry()).thenReturn(MetricsRegistry.DISABLED);
+        when(configContext.getQueryTraceSampler()).thenReturn(QueryTraceSampler.DISABLED);
+        when(configContext.getFaultInjector()).thenReturn(FaultInjector.DISABLED);
         when(boostrapper.buildDaoContext(session, parsingResult, configContext)).thenReturn(daoContext);
 
         pmf.bootstrap();
@@ -130,6 +139,8 @@ public class PersistenceManagerFactoryTest {
         assertThat(pmf.entityMetaMap).isSameAs(entityMetaMap);
         assertThat(pmf.configContext).isSameAs(configContext);
         assertThat(pmf.daoContext).isSameAs(daoContext);
+        assertThat(pmf.getBootstrapTimings().keySet()).containsExactly("configuration", "entity parsing",
+                "schema validation/creation", "statements preparation", "proxies warm up");
         PersistenceContextFactory contextFactory = Whitebox.getInternalState(pmf, PersistenceContextFactory.class);
         assertThat(Whitebox.getInternalState(contextFactory, DaoContext.class)).isSameAs(daoContext);
         assertThat(Whitebox.getInternalState(contextFactory, ConfigurationContext.class)).isSameAs(configContext);
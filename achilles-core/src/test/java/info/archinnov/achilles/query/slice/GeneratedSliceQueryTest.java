@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.query.slice;
+
+import static info.archinnov.achilles.schemabuilder.Create.Options.ClusteringOrder;
+import static info.archinnov.achilles.schemabuilder.Create.Options.ClusteringOrder.Sorting;
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
+import info.archinnov.achilles.type.IndexCondition;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GeneratedSliceQueryTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Mock
+    private SliceQueryExecutor executor;
+
+    @Mock
+    private EntityMeta entityMeta;
+
+    private Select select = QueryBuilder.select().from("table");
+
+    private SliceQueryBuilder<String> builder;
+
+    @Before
+    public void setUp() {
+        when(entityMeta.getClusteringOrders()).thenReturn(asList(new ClusteringOrder("col1", Sorting.ASC)));
+        when(entityMeta.getPartitionKeysSize()).thenReturn(1);
+        when(entityMeta.getClusteringKeysSize()).thenReturn(2);
+
+        when(entityMeta.getPartitionKeysName(1)).thenReturn(asList("id"));
+        when(entityMeta.getClusteringKeysName(1)).thenReturn(asList("col1"));
+        when(entityMeta.getClusteringKeysName(2)).thenReturn(asList("col1", "col2"));
+
+        builder = new SliceQueryBuilder<>(executor, String.class, entityMeta);
+    }
+
+    @Test
+    public void should_build_slice_query_from_typed_components() throws Exception {
+        //When
+        final SliceEnd query = new SliceFrom(builder, 10L).orderByDescending().from("a", 1).to("b").limit(5);
+
+        final RegularStatement whereClause = query.properties.generateWhereClauseForSelect(select);
+
+        //Then
+        assertThat(whereClause.getQueryString()).isEqualTo("SELECT * FROM table WHERE id=:id AND (col1,col2)>=(:col1,:col2) AND (col1)<=(:col1) ORDER BY col1 DESC LIMIT :limitSize;");
+        assertThat(query.properties.getBoundValues()).isEqualTo(new Object[] { 10L, "a", 1, "b", 5 });
+    }
+
+    @Test
+    public void should_identify_same_statement_shape_for_different_values() throws Exception {
+        //Given
+        final int shapeCount = SliceQueryProperties.statementShapeCount(2);
+
+        //When
+        final int shape1 = new SliceFrom(builder, 10L).from("a", 1).to("b").limit(5).properties.getStatementShapeId();
+        final int shape2 = new SliceFrom(builder, 11L).limit(7).from("c", 2).to("d").properties.getStatementShapeId();
+        final int exclusiveShape = new SliceFrom(builder, 10L).from("a", 1).to("b").withExclusiveBounds().properties.getStatementShapeId();
+        final int partitionOnlyShape = new SliceFrom(builder, 10L).properties.getStatementShapeId();
+        final int noLimitShape = new SliceFrom(builder, 10L).from("a", 1).to("b").noLimit().properties.getStatementShapeId();
+
+        //Then
+        assertThat(shape1).isEqualTo(shape2);
+        assertThat(asList(shape1, exclusiveShape, partitionOnlyShape, noLimitShape)).doesNotHaveDuplicates();
+        for (int shape : asList(shape1, exclusiveShape, partitionOnlyShape, noLimitShape)) {
+            assertThat(shape).isGreaterThanOrEqualTo(0).isLessThan(shapeCount);
+        }
+    }
+
+    @Test
+    public void should_not_identify_statement_shape_for_dynamic_queries() throws Exception {
+        //When
+        final SelectFromPartition<String> dynamicQuery = builder.forSelect().withPartitionComponents(10L);
+        final SliceEnd indexQuery = new SliceFrom(builder, 10L).to("b").withIndexCondition(new IndexCondition("name", "John"));
+
+        //Then
+        assertThat(dynamicQuery.properties.getStatementShapeId()).isEqualTo(SliceQueryProperties.NO_STATEMENT_SHAPE);
+        assertThat(indexQuery.properties.getStatementShapeId()).isEqualTo(SliceQueryProperties.NO_STATEMENT_SHAPE);
+    }
+
+    @Test
+    public void should_exception_when_null_component() throws Exception {
+        //Given
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The from clustering component at position '2' should not be null");
+
+        //When
+        new SliceFrom(builder, 10L).from("a", null);
+    }
+
+    @Test
+    public void should_get_one() throws Exception {
+        //Given
+        final SliceTo query = new SliceFrom(builder, 10L).from("a", 1);
+        when(executor.get(query.properties)).thenReturn(asList("entity"));
+
+        //When
+        final String actual = query.getOne();
+
+        //Then
+        assertThat(actual).isEqualTo("entity");
+        assertThat(query.properties.getBoundValues()).isEqualTo(new Object[] { 10L, "a", 1, 1 });
+        verify(executor).get(query.properties);
+    }
+
+    private static class SliceFrom extends GeneratedSliceQuery<String, SliceFrom> {
+
+        private SliceFrom(SliceQueryBuilder<String> sliceQueryBuilder, Long id) {
+            super(sliceQueryBuilder);
+            partitionComponent(id);
+        }
+
+        public SliceTo from(String col1, Integer col2) {
+            fromClusteringComponent(col1);
+            fromClusteringComponent(col2);
+            return new SliceTo(this);
+        }
+
+        public SliceEnd to(String col1) {
+            toClusteringComponent(col1);
+            return new SliceEnd(this);
+        }
+    }
+
+    private static class SliceTo extends GeneratedSliceQuery<String, SliceTo> {
+
+        private SliceTo(GeneratedSliceQuery<String, ?> previousStage) {
+            super(previousStage);
+        }
+
+        public SliceEnd to(String col1) {
+            toClusteringComponent(col1);
+            return new SliceEnd(this);
+        }
+    }
+
+    private static class SliceEnd extends GeneratedSliceQuery<String, SliceEnd> {
+
+        private SliceEnd(GeneratedSliceQuery<String, ?> previousStage) {
+            super(previousStage);
+        }
+    }
+}
@@ -106,7 +106,7 @@ public class TypedQueryTest {
         RegularStatement regularStatement = select().from("test");
         initBuilder(regularStatement, meta, meta.getPropertyMetas(), MANAGED);
 
-        when(daoContext.execute(any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
+        when(daoContext.executeRead(eq(meta), any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
         when(mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>>any(), eq(MANAGED))).thenReturn(entity);
         when(contextFactory.newContext(entity)).thenReturn(context);
         when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, entityFacade)).thenReturn(entity);
@@ -131,7 +131,7 @@ public class TypedQueryTest {
         RegularStatement regularStatement = select("id","name").from("test");
         initBuilder(regularStatement, meta, meta.getPropertyMetas(), MANAGED);
 
-        when(daoContext.execute(any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
+        when(daoContext.executeRead(eq(meta), any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
         when(mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>>any(), eq(MANAGED))).thenReturn(entity);
         when(contextFactory.newContext(entity)).thenReturn(context);
         when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, entityFacade)).thenReturn(entity);
@@ -149,7 +149,7 @@ public class TypedQueryTest {
         RegularStatement regularStatement = select().from("test");
         initBuilder(regularStatement, meta, meta.getPropertyMetas(), MANAGED);
 
-        when(daoContext.execute(any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
+        when(daoContext.executeRead(eq(meta), any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
         when(mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>>any(), eq(MANAGED))).thenReturn(null);
 
         List<CompleteBean> actual = builder.get();
@@ -167,7 +167,7 @@ public class TypedQueryTest {
         RegularStatement regularStatement = select().from("test");
         initBuilder(regularStatement, meta, propertyMetas, NOT_MANAGED);
 
-        when(daoContext.execute(any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
+        when(daoContext.executeRead(eq(meta), any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
         when(mapper.mapRowToEntityWithPrimaryKey(meta, row, propertyMetas, NOT_MANAGED)).thenReturn(entity);
 
         List<CompleteBean> actual = builder.get();
@@ -190,7 +190,7 @@ public class TypedQueryTest {
         RegularStatement regularStatement = select("id").from("test");
         initBuilder(regularStatement, meta, meta.getPropertyMetas(), MANAGED);
 
-        when(daoContext.execute(any(AbstractStatementWrapper.class)).one()).thenReturn(row);
+        when(daoContext.executeRead(eq(meta), any(AbstractStatementWrapper.class)).one()).thenReturn(row);
         when(mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>>any(), eq(MANAGED))).thenReturn(entity);
         when(contextFactory.newContext(entity)).thenReturn(context);
         when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, entityFacade)).thenReturn(entity);
@@ -211,7 +211,7 @@ public class TypedQueryTest {
         RegularStatement regularStatement = select("id").from("test");
         initBuilder(regularStatement, meta, meta.getPropertyMetas(), NOT_MANAGED);
 
-        when(daoContext.execute(any(AbstractStatementWrapper.class)).one()).thenReturn(row);
+        when(daoContext.executeRead(eq(meta), any(AbstractStatementWrapper.class)).one()).thenReturn(row);
         when(mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>>any(), eq(NOT_MANAGED))).thenReturn(entity);
 
         CompleteBean actual = builder.getFirst();
@@ -226,7 +226,7 @@ public class TypedQueryTest {
         EntityMeta meta = buildEntityMeta();
         RegularStatement regularStatement = select("id").from("test");
         initBuilder(regularStatement, meta, meta.getPropertyMetas(), NOT_MANAGED);
-        when(daoContext.execute(any(AbstractStatementWrapper.class)).one()).thenReturn(null);
+        when(daoContext.executeRead(eq(meta), any(AbstractStatementWrapper.class)).one()).thenReturn(null);
         CompleteBean actual = builder.getFirst();
 
         assertThat(actual).isNull();
@@ -240,7 +240,7 @@ public class TypedQueryTest {
         EntityMeta meta = buildEntityMeta();
         RegularStatement regularStatement = select().from("test");
         initBuilder(regularStatement, meta, meta.getPropertyMetas(), NOT_MANAGED);
-        when(daoContext.execute(any(AbstractStatementWrapper.class)).one()).thenReturn(row);
+        when(daoContext.executeRead(eq(meta), any(AbstractStatementWrapper.class)).one()).thenReturn(row);
         when(mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>>any(), eq(MANAGED))).thenReturn(null);
 
         CompleteBean actual = builder.getFirst();
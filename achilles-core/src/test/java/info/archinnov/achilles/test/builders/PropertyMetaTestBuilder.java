@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.List;
 import org.apache.commons.lang.StringUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.internal.cql.TypeMapper;
 import info.archinnov.achilles.internal.metadata.holder.ClusteringComponents;
 import info.archinnov.achilles.internal.metadata.holder.CounterProperties;
 import info.archinnov.achilles.internal.metadata.holder.EmbeddedIdProperties;
@@ -36,6 +37,7 @@ import info.archinnov.achilles.internal.metadata.transcoding.ListTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.MapTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.SetTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.SimpleTranscoder;
+import info.archinnov.achilles.internal.metadata.transcoding.codec.CodecFactory;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -115,6 +117,7 @@ public class PropertyMetaTestBuilder<T, K, V> {
         pm.setPropertyName(field);
         pm.setKeyClass(keyClass);
         pm.setValueClass(valueClass);
+        pm.setRowGetter(TypeMapper.getRowMethod(valueClass));
         if (StringUtils.isNotBlank(field) && clazz == CompleteBean.class) {
             pm.setField(clazz.getDeclaredField(field));
         }
@@ -236,19 +239,20 @@ public class PropertyMetaTestBuilder<T, K, V> {
             switch (type) {
                 case ID:
                 case SIMPLE:
-                    pm.setTranscoder(new SimpleTranscoder(objectMapper));
+                    pm.setTranscoder(new SimpleTranscoder(objectMapper, CodecFactory.create(valueClass, objectMapper)));
                     break;
                 case LIST:
-                    pm.setTranscoder(new ListTranscoder(objectMapper));
+                    pm.setTranscoder(new ListTranscoder(objectMapper, CodecFactory.create(valueClass, objectMapper)));
                     break;
                 case SET:
-                    pm.setTranscoder(new SetTranscoder(objectMapper));
+                    pm.setTranscoder(new SetTranscoder(objectMapper, CodecFactory.create(valueClass, objectMapper)));
                     break;
                 case MAP:
-                    pm.setTranscoder(new MapTranscoder(objectMapper));
+                    pm.setTranscoder(new MapTranscoder(objectMapper, CodecFactory.create(keyClass, objectMapper),
+                            CodecFactory.create(valueClass, objectMapper)));
                     break;
                 case EMBEDDED_ID:
-                    pm.setTranscoder(new CompoundTranscoder(objectMapper));
+                    pm.setTranscoder(new CompoundTranscoder(objectMapper, CodecFactory.create(pm.getComponentClasses(), objectMapper)));
                     break;
                 default:
                     break;
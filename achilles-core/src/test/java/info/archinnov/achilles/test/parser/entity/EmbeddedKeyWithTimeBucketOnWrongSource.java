@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.test.parser.entity;
+
+import java.util.Date;
+import info.archinnov.achilles.annotations.Order;
+import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.TimeBucket;
+
+public class EmbeddedKeyWithTimeBucketOnWrongSource {
+
+	@PartitionKey
+	@Order(1)
+	@TimeBucket(source = "time")
+	private Long bucket;
+
+	@Order(2)
+	private String name;
+
+	@Order(3)
+	private Date time;
+
+	public Long getBucket() {
+		return bucket;
+	}
+
+	public void setBucket(Long bucket) {
+		this.bucket = bucket;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Date getTime() {
+		return time;
+	}
+
+	public void setTime(Date time) {
+		this.time = time;
+	}
+}
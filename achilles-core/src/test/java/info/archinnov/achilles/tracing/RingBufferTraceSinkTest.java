@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.tracing;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.Collections;
+import java.util.UUID;
+import org.junit.Test;
+
+public class RingBufferTraceSinkTest {
+
+    @Test
+    public void should_keep_last_traces() throws Exception {
+        //Given
+        RingBufferTraceSink sink = new RingBufferTraceSink(2);
+
+        //When
+        sink.accept(record("query1"));
+        sink.accept(record("query2"));
+        sink.accept(record("query3"));
+
+        //Then
+        assertThat(sink.getSize()).isEqualTo(2);
+        assertThat(sink.getTotalReceived()).isEqualTo(3L);
+        assertThat(sink.getRecords().get(0).getQueryString()).isEqualTo("query2");
+        assertThat(sink.getRecords().get(1).getQueryString()).isEqualTo("query3");
+        assertThat(sink.getTraces()[1]).contains("[query3]");
+    }
+
+    @Test
+    public void should_clear_traces() throws Exception {
+        //Given
+        RingBufferTraceSink sink = new RingBufferTraceSink(2);
+        sink.accept(record("query1"));
+
+        //When
+        sink.clear();
+
+        //Then
+        assertThat(sink.getRecords()).isEmpty();
+        assertThat(sink.getTotalReceived()).isEqualTo(1L);
+    }
+
+    private QueryTraceRecord record(String queryString) {
+        return new QueryTraceRecord("entity", queryString, "localhost", UUID.randomUUID(), 0L, 100,
+                Collections.<QueryTraceRecord.Event>emptyList());
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.inmemory;
+
+import java.util.Collection;
+import java.util.Collections;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.CloseFuture;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.InMemoryCloseFuture;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import info.archinnov.achilles.internal.inmemory.InMemoryEngine;
+import info.archinnov.achilles.internal.inmemory.InMemoryResultSetFuture;
+
+/**
+ * <p>
+ * Session executing CQL statements against sorted in-memory maps instead of a Cassandra cluster.
+ * <br/>
+ * It removes network, serialization and storage costs so that benchmarks measure the Achilles framework
+ * overhead alone, and lets unit tests run a full PersistenceManager without an embedded server
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   PersistenceManagerFactory pmf = PersistenceManagerFactoryBuilder
+ *      .inMemory(new InMemorySession())
+ *      .withEntityPackages("com.myproject.entities")
+ *      .build();
+ * </code></pre>
+ * </p>
+ * <p>
+ * The supported CQL is the subset generated by Achilles and the driver query builder: CREATE TABLE,
+ * INSERT/UPDATE/DELETE by primary key with TTL, TIMESTAMP and lightweight transaction conditions, SELECT
+ * by partition key with clustering slices, IN, ORDER BY and LIMIT, counters, collections, batches and the
+ * native functions (now, dateOf, unixTimestampOf, minTimeuuid, maxTimeuuid, typeAsBlob, blobAsType).
+ * <br/>
+ * Differences with Cassandra:
+ * <ul>
+ *     <li>all tables live in a single keyspace, keyspace prefixes are ignored</li>
+ *     <li>deletions do not leave tombstones</li>
+ *     <li>there is a single replica: TWO and THREE consistency levels are unavailable, other levels are
+ *     only validated</li>
+ *     <li>tracing and execution info are not available</li>
+ *     <li>bound statements keep the Java values without serializing them</li>
+ * </ul>
+ * </p>
+ */
+public class InMemorySession implements Session {
+
+    public static final String DEFAULT_KEYSPACE = "achilles_in_memory";
+
+    private final InMemoryEngine engine;
+    private volatile boolean closed = false;
+
+    public InMemorySession() {
+        this(DEFAULT_KEYSPACE);
+    }
+
+    public InMemorySession(String keyspaceName) {
+        this.engine = new InMemoryEngine(keyspaceName);
+    }
+
+    /**
+     * Remove the data of every table, keeping the schema
+     */
+    public void truncateAll() {
+        engine.getKeyspace().truncateAll();
+    }
+
+    public boolean hasTable(String tableName) {
+        return engine.getKeyspace().hasTable(tableName);
+    }
+
+    @Override
+    public String getLoggedKeyspace() {
+        return engine.getKeyspace().getName();
+    }
+
+    @Override
+    public Session init() {
+        return this;
+    }
+
+    @Override
+    public ResultSet execute(String query) {
+        return execute(new SimpleStatement(query));
+    }
+
+    @Override
+    public ResultSet execute(String query, Object... values) {
+        return execute(new SimpleStatement(query, values));
+    }
+
+    @Override
+    public ResultSet execute(Statement statement) {
+        return executeAsync(statement).getUninterruptibly();
+    }
+
+    @Override
+    public ResultSetFuture executeAsync(String query) {
+        return executeAsync(new SimpleStatement(query));
+    }
+
+    @Override
+    public ResultSetFuture executeAsync(String query, Object... values) {
+        return executeAsync(new SimpleStatement(query, values));
+    }
+
+    @Override
+    public ResultSetFuture executeAsync(Statement statement) {
+        checkNotClosed();
+        try {
+            return InMemoryResultSetFuture.completed(engine.execute(statement));
+        } catch (RuntimeException e) {
+            return InMemoryResultSetFuture.failed(e);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepare(String query) {
+        checkNotClosed();
+        return engine.prepare(query);
+    }
+
+    @Override
+    public PreparedStatement prepare(RegularStatement statement) {
+        final PreparedStatement prepared = prepare(statement.getQueryString());
+        if (statement.getConsistencyLevel() != null) {
+            prepared.setConsistencyLevel(statement.getConsistencyLevel());
+        }
+        if (statement.getSerialConsistencyLevel() != null) {
+            prepared.setSerialConsistencyLevel(statement.getSerialConsistencyLevel());
+        }
+        if (statement.isTracing()) {
+            prepared.enableTracing();
+        }
+        if (statement.getRetryPolicy() != null) {
+            prepared.setRetryPolicy(statement.getRetryPolicy());
+        }
+        return prepared;
+    }
+
+    @Override
+    public ListenableFuture<PreparedStatement> prepareAsync(String query) {
+        try {
+            return Futures.immediateFuture(prepare(query));
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<PreparedStatement> prepareAsync(RegularStatement statement) {
+        try {
+            return Futures.immediateFuture(prepare(statement));
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public CloseFuture closeAsync() {
+        closed = true;
+        return new InMemoryCloseFuture();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return null, there is no cluster behind an in-memory session
+     */
+    @Override
+    public Cluster getCluster() {
+        return null;
+    }
+
+    @Override
+    public State getState() {
+        return new State() {
+            @Override
+            public Session getSession() {
+                return InMemorySession.this;
+            }
+
+            @Override
+            public Collection<Host> getConnectedHosts() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public int getOpenConnections(Host host) {
+                return 0;
+            }
+
+            @Override
+            public int getInFlightQueries(Host host) {
+                return 0;
+            }
+        };
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Could not send request, session is closed");
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.Map;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * SET clause of an UPDATE: <em>c = v</em>, <em>c = c + v</em>, <em>c = c - v</em>, <em>c = v + c</em> or
+ * <em>c[k] = v</em>.
+ * <br/>
+ * Collection updates are applied element by element, see {@link CollectionCell}
+ */
+public class Assignment {
+
+    static enum Operation {
+        SET, ADD, SUBTRACT, PREPEND, SET_ELEMENT
+    }
+
+    final String column;
+    final Operation operation;
+    private final Term element;
+    private final Term term;
+    private DataType type;
+
+    Assignment(String column, Operation operation, Term element, Term term) {
+        this.column = column;
+        this.operation = operation;
+        this.element = element;
+        this.term = term;
+    }
+
+    void resolve(InMemoryTable table) {
+        type = table.typeOf(column);
+        if (table.isPrimaryKey(column)) {
+            throw new InvalidQueryException(String.format("PRIMARY KEY part %s found in SET part", column));
+        }
+        final DataType.Name name = type.getName();
+        if (name == DataType.Name.COUNTER) {
+            if (operation != Operation.ADD && operation != Operation.SUBTRACT) {
+                throw new InvalidQueryException(String.format("Cannot set the value of counter column %s (counters can only be incremented/decremented, not set)", column));
+            }
+            term.resolve(DataType.bigint(), column);
+            return;
+        }
+        switch (operation) {
+            case SET:
+                term.resolve(type, column);
+                break;
+            case SET_ELEMENT:
+                element.resolve(elementKeyType(column, type), column);
+                term.resolve(elementValueType(type), column);
+                break;
+            case PREPEND:
+                if (name != DataType.Name.LIST) {
+                    throw new InvalidQueryException(String.format("Invalid operation for non list column %s", column));
+                }
+                term.resolve(type, column);
+                break;
+            default:
+                if (!type.isCollection()) {
+                    throw new InvalidQueryException(String.format("Invalid operation for non counter column %s", column));
+                }
+                term.resolve(operation == Operation.SUBTRACT && name == DataType.Name.MAP ? DataType.set(type
+                        .getTypeArguments().get(0)) : type, column);
+        }
+    }
+
+    void apply(Map<String, Cell> cells, Object[] values, long timestamp, int ttl, long nowInMillis) {
+        final Object value = term.bind(values);
+        if (type.getName() == DataType.Name.COUNTER) {
+            final Cell existing = StoredRow.liveCell(cells, column, nowInMillis);
+            final long current = existing == null ? 0L : (Long) existing.value;
+            final long delta = value == null ? 0L : (Long) value;
+            cells.put(column, new Cell(current + (operation == Operation.ADD ? delta : -delta), timestamp, 0,
+                    nowInMillis));
+            return;
+        }
+        if (!type.isCollection()) {
+            StoredRow.write(cells, column, new Cell(value, timestamp, ttl, nowInMillis));
+            return;
+        }
+        if (operation == Operation.SET) {
+            CollectionCell.write(cells, column, type, value, timestamp, ttl, nowInMillis);
+            return;
+        }
+        final CollectionCell cell = CollectionCell.in(cells, column, type);
+        try {
+            switch (operation) {
+                case ADD:
+                    cell.add(value, timestamp, ttl, nowInMillis);
+                    break;
+                case PREPEND:
+                    cell.prepend(value, timestamp, ttl, nowInMillis);
+                    break;
+                case SUBTRACT:
+                    cell.subtract(value, timestamp);
+                    break;
+                default:
+                    cell.setElement(element.bind(values), value, timestamp, ttl, nowInMillis);
+            }
+        } finally {
+            CollectionCell.removeIfEmpty(cells, column);
+        }
+    }
+
+    /**
+     * Remove an element of a list (by index) or of a map (by key), for <em>DELETE c[k]</em>
+     */
+    static void deleteElement(Map<String, Cell> cells, String column, Object key, long timestamp, long nowInMillis) {
+        final Cell existing = cells.get(column);
+        if (!(existing instanceof CollectionCell) || key == null) {
+            return;
+        }
+        ((CollectionCell) existing).setElement(key, null, timestamp, 0, nowInMillis);
+        CollectionCell.removeIfEmpty(cells, column);
+    }
+
+    static DataType elementKeyType(String column, DataType type) {
+        switch (type.getName()) {
+            case LIST:
+                return DataType.cint();
+            case MAP:
+                return type.getTypeArguments().get(0);
+            default:
+                throw new InvalidQueryException(String.format("Column %s is not a list or a map", column));
+        }
+    }
+
+    static DataType elementValueType(DataType type) {
+        return type.getName() == DataType.Name.LIST ? type.getTypeArguments().get(0) : type.getTypeArguments()
+                .get(1);
+    }
+}
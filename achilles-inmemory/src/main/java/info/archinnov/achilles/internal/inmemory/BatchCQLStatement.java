@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.List;
+import com.datastax.driver.core.ResultSet;
+
+/**
+ * BEGIN BATCH ... APPLY BATCH query string: the statements are applied in order with the same timestamp
+ */
+public class BatchCQLStatement extends CQLStatement {
+
+    private final List<CQLStatement> statements;
+    private final Term timestamp;
+
+    BatchCQLStatement(List<CQLStatement> statements, Term timestamp) {
+        this.statements = statements;
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    void resolve(InMemoryKeyspace keyspace) {
+        for (CQLStatement statement : statements) {
+            statement.resolve(keyspace);
+        }
+        resolveUsing(null, timestamp);
+    }
+
+    @Override
+    ResultSet execute(InMemoryKeyspace keyspace, Object[] values, long defaultTimestamp, long nowInMillis) {
+        final long batchTimestamp = timestampOf(timestamp, values, defaultTimestamp);
+        for (CQLStatement statement : statements) {
+            statement.execute(keyspace, values, batchTimestamp, nowInMillis);
+        }
+        return emptyResult();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.inmemory;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.UUID;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.datastax.driver.core.utils.UUIDs;
+
+/**
+ * Native CQL function: <em>now</em>, <em>minTimeuuid</em>, <em>maxTimeuuid</em>, <em>dateOf</em>,
+ * <em>unixTimestampOf</em> and the blob conversions <em>typeAsBlob</em> / <em>blobAsType</em>
+ */
+public class CQLFunction {
+
+    final String name;
+    final DataType argumentType;
+    final DataType returnType;
+
+    private CQLFunction(String name, DataType argumentType, DataType returnType) {
+        this.name = name;
+        this.argumentType = argumentType;
+        this.returnType = returnType;
+    }
+
+    /**
+     * @param name
+     *            function name, case insensitive
+     */
+    static CQLFunction get(String name) {
+        switch (name.toLowerCase()) {
+            case "now":
+                return new CQLFunction("now", null, DataType.timeuuid());
+            case "mintimeuuid":
+                return new CQLFunction("minTimeuuid", DataType.timestamp(), DataType.timeuuid());
+            case "maxtimeuuid":
+                return new CQLFunction("maxTimeuuid", DataType.timestamp(), DataType.timeuuid());
+            case "dateof":
+                return new CQLFunction("dateOf", DataType.timeuuid(), DataType.timestamp());
+            case "unixtimestampof":
+                return new CQLFunction("unixTimestampOf", DataType.timeuuid(), DataType.bigint());
+        }
+        for (DataType type : DataType.allPrimitiveTypes()) {
+            final String typeName = type.getName().name().toLowerCase();
+            if (type.getName() == DataType.Name.BLOB || type.getName() == DataType.Name.COUNTER) {
+                continue;
+            }
+            if (name.equalsIgnoreCase(typeName + "asblob")) {
+                return new CQLFunction(typeName + "AsBlob", type, DataType.blob());
+            }
+            if (name.equalsIgnoreCase("blobas" + typeName)) {
+                return new CQLFunction("blobAs" + Character.toUpperCase(typeName.charAt(0)) + typeName.substring(1),
+                        DataType.blob(), type);
+            }
+        }
+        throw new InvalidQueryException(String.format("Unknown CQL3 function %s called", name));
+    }
+
+    Object apply(Object argument) {
+        if (argumentType == null) {
+            return UUIDs.timeBased();
+        }
+        if (argument == null) {
+            return null;
+        }
+        switch (name) {
+            case "minTimeuuid":
+                return UUIDs.startOf(((Date) argument).getTime());
+            case "maxTimeuuid":
+                return UUIDs.endOf(((Date) argument).getTime());
+            case "dateOf":
+                return new Date(UUIDs.unixTimestamp((UUID) argument));
+            case "unixTimestampOf":
+                return UUIDs.unixTimestamp((UUID) argument);
+            default:
+                if (returnType.getName() == DataType.Name.BLOB) {
+                    return argumentType.serialize(argument);
+                }
+                return returnType.deserialize(((ByteBuffer) argument).duplicate());
+        }
+    }
+
+    void checkAssignable(DataType type, String label) {
+        if (!type.equals(returnType) && !(type.getName() == DataType.Name.CUSTOM && returnType.getName() ==
+                DataType.Name.BLOB)) {
+            throw new InvalidQueryException(String.format("Type error: cannot assign result of function %s (type %s) to %s (type %s)",
+                    name, returnType, label, type));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import com.datastax.driver.core.exceptions.SyntaxError;
+
+/**
+ * Split a CQL query string into tokens.
+ * <br/>
+ * Unquoted identifiers and keywords are lower-cased, quoted identifiers keep their case
+ */
+public class CQLLexer {
+
+    private static final Pattern UUID_PATTERN = Pattern
+            .compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("[0-9]+(\\.[0-9]*)?([eE][+-]?[0-9]+)?");
+    private static final Pattern BLOB_PATTERN = Pattern.compile("0[xX][0-9a-fA-F]*");
+
+    public static enum Kind {
+        IDENTIFIER, QUOTED_IDENTIFIER, STRING, NUMBER, UUID, BLOB, MARKER, NAMED_MARKER, SYMBOL, EOF
+    }
+
+    public static class Token {
+        final Kind kind;
+        final String text;
+        final int position;
+
+        Token(Kind kind, String text, int position) {
+            this.kind = kind;
+            this.text = text;
+            this.position = position;
+        }
+
+        boolean is(Kind kind, String text) {
+            return this.kind == kind && this.text.equals(text);
+        }
+
+        boolean isKeyword(String keyword) {
+            return kind == Kind.IDENTIFIER && text.equals(keyword);
+        }
+
+        boolean isSymbol(String symbol) {
+            return kind == Kind.SYMBOL && text.equals(symbol);
+        }
+
+        boolean isName() {
+            return kind == Kind.IDENTIFIER || kind == Kind.QUOTED_IDENTIFIER;
+        }
+
+        @Override
+        public String toString() {
+            return kind == Kind.EOF ? "end of query" : "'" + text + "'";
+        }
+    }
+
+    public List<Token> tokenize(String query) {
+        final List<Token> tokens = new ArrayList<>();
+        final int length = query.length();
+        int i = 0;
+        while (i < length) {
+            final char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && i + 1 < length && query.charAt(i + 1) == '-') {
+                i = skipLine(query, i);
+            } else if (c == '\'') {
+                i = readString(query, i, tokens);
+            } else if (c == '"') {
+                i = readQuotedIdentifier(query, i, tokens);
+            } else if (c == '?') {
+                tokens.add(new Token(Kind.MARKER, "?", i++));
+            } else if (c == ':' && i + 1 < length && isIdentifierStart(query.charAt(i + 1)) && !followsValue(tokens)) {
+                final int end = identifierEnd(query, i + 1);
+                tokens.add(new Token(Kind.NAMED_MARKER, query.substring(i + 1, end).toLowerCase(), i));
+                i = end;
+            } else if (isHexDigit(c) && matchesAt(UUID_PATTERN, query, i)) {
+                tokens.add(new Token(Kind.UUID, query.substring(i, i + 36), i));
+                i += 36;
+            } else if (c == '0' && matchesAt(BLOB_PATTERN, query, i)) {
+                final int end = matchEnd(BLOB_PATTERN, query, i);
+                tokens.add(new Token(Kind.BLOB, query.substring(i, end), i));
+                i = end;
+            } else if (Character.isDigit(c)) {
+                final int end = matchEnd(NUMBER_PATTERN, query, i);
+                tokens.add(new Token(Kind.NUMBER, query.substring(i, end), i));
+                i = end;
+            } else if (isIdentifierStart(c)) {
+                final int end = identifierEnd(query, i);
+                tokens.add(new Token(Kind.IDENTIFIER, query.substring(i, end).toLowerCase(), i));
+                i = end;
+            } else if ((c == '<' || c == '>') && i + 1 < length && query.charAt(i + 1) == '=') {
+                tokens.add(new Token(Kind.SYMBOL, c + "=", i));
+                i += 2;
+            } else if ("()[]{},;=<>+-*.:".indexOf(c) >= 0) {
+                tokens.add(new Token(Kind.SYMBOL, String.valueOf(c), i++));
+            } else {
+                throw new SyntaxError(String.format("Unexpected character '%s' at position %s in query '%s'", c, i,
+                        query));
+            }
+        }
+        tokens.add(new Token(Kind.EOF, "", length));
+        return tokens;
+    }
+
+    /**
+     * A colon following a value separates a map key from its value, it does not start a named marker
+     */
+    private boolean followsValue(List<Token> tokens) {
+        if (tokens.isEmpty()) {
+            return false;
+        }
+        final Token previous = tokens.get(tokens.size() - 1);
+        switch (previous.kind) {
+            case STRING:
+            case NUMBER:
+            case UUID:
+            case BLOB:
+            case MARKER:
+            case NAMED_MARKER:
+                return true;
+            case IDENTIFIER:
+                return previous.text.equals("true") || previous.text.equals("false");
+            case SYMBOL:
+                return previous.text.equals(")") || previous.text.equals("]") || previous.text.equals("}");
+            default:
+                return false;
+        }
+    }
+
+    private int skipLine(String query, int i) {
+        final int end = query.indexOf('\n', i);
+        return end < 0 ? query.length() : end + 1;
+    }
+
+    private int readString(String query, int start, List<Token> tokens) {
+        final StringBuilder value = new StringBuilder();
+        int i = start + 1;
+        while (i < query.length()) {
+            final char c = query.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < query.length() && query.charAt(i + 1) == '\'') {
+                    value.append('\'');
+                    i += 2;
+                    continue;
+                }
+                tokens.add(new Token(Kind.STRING, value.toString(), start));
+                return i + 1;
+            }
+            value.append(c);
+            i++;
+        }
+        throw new SyntaxError(String.format("Unterminated string literal at position %s in query '%s'", start, query));
+    }
+
+    private int readQuotedIdentifier(String query, int start, List<Token> tokens) {
+        final StringBuilder value = new StringBuilder();
+        int i = start + 1;
+        while (i < query.length()) {
+            final char c = query.charAt(i);
+            if (c == '"') {
+                if (i + 1 < query.length() && query.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i += 2;
+                    continue;
+                }
+                tokens.add(new Token(Kind.QUOTED_IDENTIFIER, value.toString(), start));
+                return i + 1;
+            }
+            value.append(c);
+            i++;
+        }
+        throw new SyntaxError(String.format("Unterminated quoted identifier at position %s in query '%s'", start,
+                query));
+    }
+
+    private boolean matchesAt(Pattern pattern, String query, int start) {
+        final Matcher matcher = pattern.matcher(query).region(start, query.length());
+        if (!matcher.lookingAt()) {
+            return false;
+        }
+        final int end = matcher.end();
+        return end == query.length() || !isIdentifierPart(query.charAt(end));
+    }
+
+    private int matchEnd(Pattern pattern, String query, int start) {
+        final Matcher matcher = pattern.matcher(query).region(start, query.length());
+        matcher.lookingAt();
+        return matcher.end();
+    }
+
+    private int identifierEnd(String query, int start) {
+        int i = start;
+        while (i < query.length() && isIdentifierPart(query.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean isIdentifierStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private boolean isHexDigit(char c) {
+        return Character.digit(c, 16) >= 0;
+    }
+}
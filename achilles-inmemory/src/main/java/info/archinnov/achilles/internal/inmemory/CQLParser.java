@@ -0,0 +1,653 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.exceptions.SyntaxError;
+import info.archinnov.achilles.internal.inmemory.CQLLexer.Kind;
+import info.archinnov.achilles.internal.inmemory.CQLLexer.Token;
+import info.archinnov.achilles.internal.inmemory.SelectStatement.Ordering;
+import info.archinnov.achilles.internal.inmemory.SelectStatement.Selector;
+import info.archinnov.achilles.internal.inmemory.SelectStatement.SelectorKind;
+
+/**
+ * Recursive descent parser for the subset of CQL 3 generated by Achilles and the Java driver query builder.
+ * <br/>
+ * Keyspace prefixes of table names are ignored. Bind markers, positional or named, are numbered in their
+ * order of appearance in the query
+ */
+public class CQLParser {
+
+    private static final Map<String, DataType> NATIVE_TYPES = new HashMap<>();
+
+    static {
+        for (DataType type : DataType.allPrimitiveTypes()) {
+            NATIVE_TYPES.put(type.getName().toString(), type);
+        }
+    }
+
+    private static final CQLLexer LEXER = new CQLLexer();
+
+    private final String query;
+    private final List<Token> tokens;
+    private final List<Term.BindMarker> markers = new ArrayList<>();
+    private int position = 0;
+
+    private CQLParser(String query) {
+        this.query = query;
+        this.tokens = LEXER.tokenize(query);
+    }
+
+    public static CQLStatement parse(String query) {
+        final CQLParser parser = new CQLParser(query);
+        final CQLStatement statement = parser.statement();
+        parser.acceptSymbol(";");
+        parser.expect(Kind.EOF);
+        statement.markers = parser.markers;
+        return statement;
+    }
+
+    private CQLStatement statement() {
+        final Token token = next();
+        switch (token.kind == Kind.IDENTIFIER ? token.text : "") {
+            case "select":
+                return select();
+            case "insert":
+                return insert();
+            case "update":
+                return update();
+            case "delete":
+                return delete();
+            case "begin":
+                return batch();
+            case "create":
+                return create();
+            case "truncate":
+                acceptKeyword("table");
+                return new SchemaStatement(SchemaStatement.Action.TRUNCATE, tableName(), false);
+            case "drop":
+                return drop();
+            case "alter":
+            case "use":
+            case "grant":
+            case "revoke":
+                skipToEnd();
+                return new SchemaStatement(SchemaStatement.Action.NONE, null, false);
+            default:
+                throw error(token);
+        }
+    }
+
+    private CQLStatement select() {
+        final boolean distinct = acceptKeyword("distinct");
+        final List<Selector> selectors = new ArrayList<>();
+        if (!acceptSymbol("*")) {
+            do {
+                selectors.add(selector());
+            } while (acceptSymbol(","));
+        }
+        expectKeyword("from");
+        final String table = tableName();
+        final List<Relation> relations = acceptKeyword("where") ? relations() : new ArrayList<Relation>();
+        final List<Ordering> orderings = new ArrayList<>();
+        if (acceptKeyword("order")) {
+            expectKeyword("by");
+            do {
+                final String column = name();
+                final boolean descending = acceptKeyword("desc");
+                if (!descending) {
+                    acceptKeyword("asc");
+                }
+                orderings.add(new Ordering(column, descending));
+            } while (acceptSymbol(","));
+        }
+        final Term limit = acceptKeyword("limit") ? term() : null;
+        if (acceptKeyword("allow")) {
+            expectKeyword("filtering");
+        }
+        return new SelectStatement(table, distinct, selectors, relations, orderings, limit);
+    }
+
+    private Selector selector() {
+        final Token token = peek();
+        final Selector selector;
+        if (token.kind == Kind.IDENTIFIER && peek(1).isSymbol("(")) {
+            next();
+            expectSymbol("(");
+            switch (token.text) {
+                case "count":
+                    if (!acceptSymbol("*")) {
+                        expect(Kind.NUMBER);
+                    }
+                    selector = new Selector(SelectorKind.COUNT, null, null);
+                    break;
+                case "writetime":
+                    selector = new Selector(SelectorKind.WRITETIME, name(), null);
+                    break;
+                case "ttl":
+                    selector = new Selector(SelectorKind.TTL, name(), null);
+                    break;
+                default:
+                    final CQLFunction function = CQLFunction.get(token.text);
+                    selector = new Selector(SelectorKind.FUNCTION, function.argumentType == null ? null : name(),
+                            function, null);
+            }
+            expectSymbol(")");
+        } else {
+            selector = new Selector(SelectorKind.COLUMN, name(), null);
+        }
+        if (acceptKeyword("as")) {
+            return new Selector(selector.kind, selector.column, selector.function, name());
+        }
+        return selector;
+    }
+
+    private CQLStatement insert() {
+        expectKeyword("into");
+        final String table = tableName();
+        expectSymbol("(");
+        final List<String> columns = new ArrayList<>();
+        do {
+            columns.add(name());
+        } while (acceptSymbol(","));
+        expectSymbol(")");
+        expectKeyword("values");
+        expectSymbol("(");
+        final List<Term> terms = new ArrayList<>();
+        do {
+            terms.add(term());
+        } while (acceptSymbol(","));
+        expectSymbol(")");
+        boolean ifNotExists = false;
+        final Term[] using = new Term[2];
+        while (true) {
+            if (acceptKeyword("if")) {
+                expectKeyword("not");
+                expectKeyword("exists");
+                ifNotExists = true;
+            } else if (acceptKeyword("using")) {
+                using(using);
+            } else {
+                break;
+            }
+        }
+        return new InsertStatement(table, columns, terms, ifNotExists, using[0], using[1]);
+    }
+
+    private CQLStatement update() {
+        final String table = tableName();
+        final Term[] using = new Term[2];
+        if (acceptKeyword("using")) {
+            using(using);
+        }
+        expectKeyword("set");
+        final List<Assignment> assignments = new ArrayList<>();
+        do {
+            assignments.add(assignment());
+        } while (acceptSymbol(","));
+        expectKeyword("where");
+        final List<Relation> relations = relations();
+        final List<Condition> conditions = new ArrayList<>();
+        final boolean ifExists = acceptKeyword("if") && conditions(conditions);
+        return new UpdateStatement(table, assignments, relations, conditions, ifExists, using[0], using[1]);
+    }
+
+    private Assignment assignment() {
+        final String column = name();
+        if (acceptSymbol("[")) {
+            final Term element = term();
+            expectSymbol("]");
+            expectSymbol("=");
+            return new Assignment(column, Assignment.Operation.SET_ELEMENT, element, term());
+        }
+        expectSymbol("=");
+        final Token token = peek();
+        if (token.isName() && token.text.equals(column) && (peek(1).isSymbol("+") || peek(1).isSymbol("-"))) {
+            next();
+            final boolean add = next().isSymbol("+");
+            return new Assignment(column, add ? Assignment.Operation.ADD : Assignment.Operation.SUBTRACT, null,
+                    term());
+        }
+        final Term term = term();
+        if (acceptSymbol("+")) {
+            final String prepended = name();
+            if (!prepended.equals(column)) {
+                throw new SyntaxError(String.format("Only expressions of the form X = <value> + X are supported, got %s in query '%s'", prepended, query));
+            }
+            return new Assignment(column, Assignment.Operation.PREPEND, null, term);
+        }
+        return new Assignment(column, Assignment.Operation.SET, null, term);
+    }
+
+    private CQLStatement delete() {
+        final List<DeleteStatement.Target> targets = new ArrayList<>();
+        if (!acceptKeyword("from")) {
+            do {
+                final String column = name();
+                Term element = null;
+                if (acceptSymbol("[")) {
+                    element = term();
+                    expectSymbol("]");
+                }
+                targets.add(new DeleteStatement.Target(column, element));
+            } while (acceptSymbol(","));
+            expectKeyword("from");
+        }
+        final String table = tableName();
+        final Term[] using = new Term[2];
+        if (acceptKeyword("using")) {
+            using(using);
+        }
+        expectKeyword("where");
+        final List<Relation> relations = relations();
+        final List<Condition> conditions = new ArrayList<>();
+        final boolean ifExists = acceptKeyword("if") && conditions(conditions);
+        return new DeleteStatement(table, targets, relations, conditions, ifExists, using[1]);
+    }
+
+    private CQLStatement batch() {
+        if (!acceptKeyword("unlogged")) {
+            acceptKeyword("counter");
+        }
+        expectKeyword("batch");
+        final Term[] using = new Term[2];
+        if (acceptKeyword("using")) {
+            using(using);
+        }
+        final List<CQLStatement> statements = new ArrayList<>();
+        while (!acceptKeyword("apply")) {
+            statements.add(statement());
+            acceptSymbol(";");
+        }
+        expectKeyword("batch");
+        return new BatchCQLStatement(statements, using[1]);
+    }
+
+    private CQLStatement create() {
+        if (!acceptKeyword("table") && !acceptKeyword("columnfamily")) {
+            skipToEnd();
+            return new SchemaStatement(SchemaStatement.Action.NONE, null, false);
+        }
+        final boolean ifNotExists = acceptKeyword("if");
+        if (ifNotExists) {
+            expectKeyword("not");
+            expectKeyword("exists");
+        }
+        final String table = tableName();
+        final LinkedHashMap<String, DataType> columns = new LinkedHashMap<>();
+        final Set<String> staticColumns = new HashSet<>();
+        final List<String> partitionKeys = new ArrayList<>();
+        final List<String> clusteringKeys = new ArrayList<>();
+        expectSymbol("(");
+        do {
+            if (acceptKeyword("primary")) {
+                expectKeyword("key");
+                primaryKey(partitionKeys, clusteringKeys);
+            } else {
+                final String column = name();
+                columns.put(column, type());
+                if (acceptKeyword("static")) {
+                    staticColumns.add(column);
+                }
+                if (acceptKeyword("primary")) {
+                    expectKeyword("key");
+                    partitionKeys.add(column);
+                }
+            }
+        } while (acceptSymbol(","));
+        expectSymbol(")");
+        final Map<String, Boolean> clusteringOrder = new HashMap<>();
+        if (acceptKeyword("with")) {
+            do {
+                tableOption(clusteringOrder);
+            } while (acceptKeyword("and"));
+        }
+        return new CreateTableStatement(table, ifNotExists, columns, staticColumns, partitionKeys, clusteringKeys,
+                clusteringOrder);
+    }
+
+    private void primaryKey(List<String> partitionKeys, List<String> clusteringKeys) {
+        expectSymbol("(");
+        if (acceptSymbol("(")) {
+            do {
+                partitionKeys.add(name());
+            } while (acceptSymbol(","));
+            expectSymbol(")");
+        } else {
+            partitionKeys.add(name());
+        }
+        while (acceptSymbol(",")) {
+            clusteringKeys.add(name());
+        }
+        expectSymbol(")");
+    }
+
+    private void tableOption(Map<String, Boolean> clusteringOrder) {
+        if (acceptKeyword("clustering")) {
+            expectKeyword("order");
+            expectKeyword("by");
+            expectSymbol("(");
+            do {
+                final String column = name();
+                final boolean descending = acceptKeyword("desc");
+                if (!descending) {
+                    acceptKeyword("asc");
+                }
+                clusteringOrder.put(column, descending);
+            } while (acceptSymbol(","));
+            expectSymbol(")");
+        } else if (acceptKeyword("compact")) {
+            expectKeyword("storage");
+        } else {
+            name();
+            expectSymbol("=");
+            int depth = 0;
+            while (peek().kind != Kind.EOF && !peek().isSymbol(";") && (depth > 0 || !peek().isKeyword("and"))) {
+                final Token token = next();
+                if (token.isSymbol("{")) {
+                    depth++;
+                } else if (token.isSymbol("}")) {
+                    depth--;
+                }
+            }
+        }
+    }
+
+    private DataType type() {
+        final Token token = next();
+        if (token.kind == Kind.STRING) {
+            return DataType.custom(token.text);
+        }
+        if (token.kind != Kind.IDENTIFIER) {
+            throw error(token);
+        }
+        switch (token.text) {
+            case "list":
+            case "set":
+                expectSymbol("<");
+                final DataType elementType = type();
+                expectSymbol(">");
+                return token.text.equals("list") ? DataType.list(elementType) : DataType.set(elementType);
+            case "map":
+                expectSymbol("<");
+                final DataType keyType = type();
+                expectSymbol(",");
+                final DataType valueType = type();
+                expectSymbol(">");
+                return DataType.map(keyType, valueType);
+            default:
+                final DataType type = NATIVE_TYPES.get(token.text);
+                if (type == null) {
+                    throw new SyntaxError(String.format("Unknown type %s in query '%s'", token.text, query));
+                }
+                return type;
+        }
+    }
+
+    private CQLStatement drop() {
+        if (!acceptKeyword("table") && !acceptKeyword("columnfamily")) {
+            skipToEnd();
+            return new SchemaStatement(SchemaStatement.Action.NONE, null, false);
+        }
+        final boolean ifExists = acceptKeyword("if");
+        if (ifExists) {
+            expectKeyword("exists");
+        }
+        return new SchemaStatement(SchemaStatement.Action.DROP_TABLE, tableName(), ifExists);
+    }
+
+    private void using(Term[] using) {
+        do {
+            if (acceptKeyword("ttl")) {
+                using[0] = term();
+            } else {
+                expectKeyword("timestamp");
+                using[1] = term();
+            }
+        } while (acceptKeyword("and"));
+    }
+
+    private List<Relation> relations() {
+        final List<Relation> relations = new ArrayList<>();
+        do {
+            relations.add(relation());
+        } while (acceptKeyword("and"));
+        return relations;
+    }
+
+    private Relation relation() {
+        if (acceptSymbol("(")) {
+            final List<String> columns = new ArrayList<>();
+            do {
+                columns.add(name());
+            } while (acceptSymbol(","));
+            expectSymbol(")");
+            final String operator = operator();
+            expectSymbol("(");
+            final List<Term> terms = new ArrayList<>();
+            do {
+                terms.add(term());
+            } while (acceptSymbol(","));
+            expectSymbol(")");
+            return new Relation(columns, operator, terms, true);
+        }
+        final String column = name();
+        if (acceptKeyword("in")) {
+            final List<Term> terms = new ArrayList<>();
+            if (peek().kind == Kind.MARKER || peek().kind == Kind.NAMED_MARKER) {
+                terms.add(term());
+            } else {
+                expectSymbol("(");
+                if (!acceptSymbol(")")) {
+                    do {
+                        terms.add(term());
+                    } while (acceptSymbol(","));
+                    expectSymbol(")");
+                }
+            }
+            return new Relation(Arrays.asList(column), Relation.IN, terms, false);
+        }
+        final String operator = operator();
+        return new Relation(Arrays.asList(column), operator, Arrays.asList(term()), false);
+    }
+
+    /**
+     * @return true for IF EXISTS, false when conditions were parsed
+     */
+    private boolean conditions(List<Condition> conditions) {
+        if (acceptKeyword("exists")) {
+            return true;
+        }
+        do {
+            final String column = name();
+            Term element = null;
+            if (acceptSymbol("[")) {
+                element = term();
+                expectSymbol("]");
+            }
+            conditions.add(new Condition(column, element, operator(), term()));
+        } while (acceptKeyword("and"));
+        return false;
+    }
+
+    private String operator() {
+        final Token token = next();
+        if (token.kind == Kind.SYMBOL && Arrays.asList("=", "<", "<=", ">", ">=").contains(token.text)) {
+            return token.text;
+        }
+        throw error(token);
+    }
+
+    private Term term() {
+        final Token token = next();
+        switch (token.kind) {
+            case MARKER:
+                return marker(null);
+            case NAMED_MARKER:
+                return marker(token.text);
+            case STRING:
+            case NUMBER:
+            case UUID:
+            case BLOB:
+                return new Term.Literal(token.kind, token.text);
+            case IDENTIFIER:
+                if (token.text.equals("null")) {
+                    return new Term.NullLiteral();
+                }
+                if (token.text.equals("true") || token.text.equals("false")) {
+                    return new Term.Literal(token.kind, token.text);
+                }
+                if (acceptSymbol("(")) {
+                    final CQLFunction function = CQLFunction.get(token.text);
+                    final Term argument = function.argumentType == null ? null : term();
+                    expectSymbol(")");
+                    return new Term.FunctionCall(function, argument);
+                }
+                throw error(token);
+            case SYMBOL:
+                if (token.text.equals("-") && peek().kind == Kind.NUMBER) {
+                    return new Term.Literal(Kind.NUMBER, "-" + next().text);
+                }
+                if (token.text.equals("[")) {
+                    final List<Term> elements = new ArrayList<>();
+                    if (!acceptSymbol("]")) {
+                        do {
+                            elements.add(term());
+                        } while (acceptSymbol(","));
+                        expectSymbol("]");
+                    }
+                    return new Term.CollectionLiteral(true, elements, new ArrayList<Term>());
+                }
+                if (token.text.equals("{")) {
+                    return setOrMapLiteral();
+                }
+                throw error(token);
+            default:
+                throw error(token);
+        }
+    }
+
+    private Term setOrMapLiteral() {
+        final List<Term> elements = new ArrayList<>();
+        final List<Term> mapValues = new ArrayList<>();
+        if (acceptSymbol("}")) {
+            return new Term.CollectionLiteral(false, elements, mapValues);
+        }
+        elements.add(term());
+        final boolean map = acceptSymbol(":");
+        if (map) {
+            mapValues.add(term());
+        }
+        while (acceptSymbol(",")) {
+            elements.add(term());
+            if (map) {
+                expectSymbol(":");
+                mapValues.add(term());
+            }
+        }
+        expectSymbol("}");
+        return new Term.CollectionLiteral(false, elements, mapValues);
+    }
+
+    private Term.BindMarker marker(String name) {
+        final Term.BindMarker marker = new Term.BindMarker(markers.size(), name);
+        markers.add(marker);
+        return marker;
+    }
+
+    private String tableName() {
+        final String name = name();
+        return acceptSymbol(".") ? name() : name;
+    }
+
+    private String name() {
+        final Token token = next();
+        if (!token.isName()) {
+            throw error(token);
+        }
+        return token.text;
+    }
+
+    private void skipToEnd() {
+        while (peek().kind != Kind.EOF && !peek().isSymbol(";")) {
+            position++;
+        }
+    }
+
+    private Token peek() {
+        return peek(0);
+    }
+
+    private Token peek(int offset) {
+        return tokens.get(Math.min(position + offset, tokens.size() - 1));
+    }
+
+    private Token next() {
+        final Token token = peek();
+        if (token.kind != Kind.EOF) {
+            position++;
+        }
+        return token;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (peek().isKeyword(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptSymbol(String symbol) {
+        if (peek().isSymbol(symbol)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!acceptKeyword(keyword)) {
+            throw error(peek());
+        }
+    }
+
+    private void expectSymbol(String symbol) {
+        if (!acceptSymbol(symbol)) {
+            throw error(peek());
+        }
+    }
+
+    private void expect(Kind kind) {
+        final Token token = next();
+        if (token.kind != kind) {
+            throw error(token);
+        }
+    }
+
+    private SyntaxError error(Token token) {
+        return new SyntaxError(String.format("line 1:%s no viable alternative at input %s in query '%s'",
+                token.position, token, query));
+    }
+}
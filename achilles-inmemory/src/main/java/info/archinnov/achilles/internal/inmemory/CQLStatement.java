@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * Parsed CQL statement executed by the in-memory session.
+ * <br/>
+ * A statement is parsed and resolved against the schema once, when prepared, then executed with the values
+ * of its bind markers, indexed by their position in the query
+ */
+public abstract class CQLStatement {
+
+    static final String APPLIED = "[applied]";
+
+    private static final ResultMetadata NO_COLUMNS = new ResultMetadata("", "", Collections.<String>emptyList(),
+            Collections.<DataType>emptyList());
+
+    List<Term.BindMarker> markers = new ArrayList<>();
+
+    abstract void resolve(InMemoryKeyspace keyspace);
+
+    abstract ResultSet execute(InMemoryKeyspace keyspace, Object[] values, long timestamp, long nowInMillis);
+
+    public List<Term.BindMarker> getMarkers() {
+        return markers;
+    }
+
+    static ResultSet emptyResult() {
+        return new InMemoryResultSet(NO_COLUMNS, Collections.<Row>emptyList());
+    }
+
+    static ResultSet casResult(String keyspace, InMemoryTable table, boolean applied, List<String> columns,
+            RowView current) {
+        final List<String> names = new ArrayList<>(Arrays.asList(APPLIED));
+        final List<DataType> types = new ArrayList<>(Arrays.asList(DataType.cboolean()));
+        final List<Object> values = new ArrayList<Object>(Arrays.asList(applied));
+        for (String column : columns) {
+            names.add(column);
+            types.add(table.typeOf(column));
+            values.add(current.value(column));
+        }
+        final ResultMetadata metadata = new ResultMetadata(keyspace, table.name, names, types);
+        return new InMemoryResultSet(metadata, Arrays.<Row>asList(new InMemoryRow(metadata, values.toArray())));
+    }
+
+    /**
+     * Columns in the order of <em>SELECT *</em>: partition key, clustering key then the other columns sorted
+     * by name
+     */
+    static List<String> allColumns(InMemoryTable table) {
+        final List<String> columns = new ArrayList<>(table.partitionKeys);
+        columns.addAll(table.clusteringKeys);
+        final List<String> others = new ArrayList<>();
+        for (String column : table.columns.keySet()) {
+            if (!table.isPrimaryKey(column)) {
+                others.add(column);
+            }
+        }
+        Collections.sort(others);
+        columns.addAll(others);
+        return columns;
+    }
+
+    static boolean isApplicable(boolean ifExists, List<Condition> conditions, RowView current, Object[] values) {
+        if (ifExists) {
+            return current.exists();
+        }
+        for (Condition condition : conditions) {
+            if (!condition.isSatisfied(current, values)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static List<String> conditionColumns(List<Condition> conditions) {
+        final List<String> columns = new ArrayList<>();
+        for (Condition condition : conditions) {
+            if (!columns.contains(condition.column)) {
+                columns.add(condition.column);
+            }
+        }
+        return columns;
+    }
+
+    static int intValue(Term term, Object[] values, int defaultValue) {
+        if (term == null) {
+            return defaultValue;
+        }
+        final Object value = term.bind(values);
+        return value == null ? defaultValue : (Integer) value;
+    }
+
+    static long timestampOf(Term term, Object[] values, long defaultTimestamp) {
+        if (term == null) {
+            return defaultTimestamp;
+        }
+        final Object value = term.bind(values);
+        return value == null ? defaultTimestamp : (Long) value;
+    }
+
+    static int ttlOf(Term term, Object[] values) {
+        final int ttl = intValue(term, values, 0);
+        if (ttl < 0) {
+            throw new InvalidQueryException("A TTL must be greater or equal to 0");
+        }
+        return ttl;
+    }
+
+    static void resolveUsing(Term ttl, Term timestamp) {
+        if (ttl != null) {
+            ttl.resolve(DataType.cint(), "[ttl]");
+        }
+        if (timestamp != null) {
+            timestamp.resolve(DataType.bigint(), "[timestamp]");
+        }
+    }
+}
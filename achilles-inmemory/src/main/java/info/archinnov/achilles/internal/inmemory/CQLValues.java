@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+import info.archinnov.achilles.internal.inmemory.CQLLexer.Kind;
+
+/**
+ * Conversion, validation and ordering of the Java values stored by the in-memory session.
+ * <br/>
+ * Values are kept as the Java objects the driver would return for the column type. Collections are copied
+ * into immutable instances, sets and maps being sorted by their element type the way Cassandra does
+ */
+public class CQLValues {
+
+    private static final String[] DATE_PATTERNS = { "yyyy-MM-dd HH:mm:ssZ", "yyyy-MM-dd HH:mm:ss.SSSZ",
+            "yyyy-MM-dd'T'HH:mm:ssZ", "yyyy-MM-dd'T'HH:mm:ss.SSSZ", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm",
+            "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd" };
+
+    private static final Comparator<Object> NATURAL_ORDER = new Comparator<Object>() {
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        public int compare(Object left, Object right) {
+            return ((Comparable) left).compareTo(right);
+        }
+    };
+
+    private static final Comparator<Object> UUID_ORDER = new Comparator<Object>() {
+        @Override
+        public int compare(Object left, Object right) {
+            final UUID first = (UUID) left;
+            final UUID second = (UUID) right;
+            final int versionComparison = Integer.compare(first.version(), second.version());
+            if (versionComparison != 0) {
+                return versionComparison;
+            }
+            if (first.version() == 1) {
+                return TIMEUUID_ORDER.compare(first, second);
+            }
+            return compareUnsigned(first, second);
+        }
+    };
+
+    private static final Comparator<Object> TIMEUUID_ORDER = new Comparator<Object>() {
+        @Override
+        public int compare(Object left, Object right) {
+            final UUID first = (UUID) left;
+            final UUID second = (UUID) right;
+            final int timestampComparison = Long.compare(first.timestamp(), second.timestamp());
+            return timestampComparison != 0 ? timestampComparison : compareUnsigned(first, second);
+        }
+    };
+
+    private static final Comparator<Object> BYTES_ORDER = new Comparator<Object>() {
+        @Override
+        public int compare(Object left, Object right) {
+            final ByteBuffer first = (ByteBuffer) left;
+            final ByteBuffer second = (ByteBuffer) right;
+            final int length = Math.min(first.remaining(), second.remaining());
+            for (int i = 0; i < length; i++) {
+                final int comparison = Integer.compare(first.get(first.position() + i) & 0xFF,
+                        second.get(second.position() + i) & 0xFF);
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return Integer.compare(first.remaining(), second.remaining());
+        }
+    };
+
+    private static final Comparator<Object> INET_ORDER = new Comparator<Object>() {
+        @Override
+        public int compare(Object left, Object right) {
+            return BYTES_ORDER.compare(ByteBuffer.wrap(((InetAddress) left).getAddress()),
+                    ByteBuffer.wrap(((InetAddress) right).getAddress()));
+        }
+    };
+
+    public static Comparator<Object> comparator(DataType type) {
+        switch (type.getName()) {
+            case UUID:
+                return UUID_ORDER;
+            case TIMEUUID:
+                return TIMEUUID_ORDER;
+            case BLOB:
+            case CUSTOM:
+                return BYTES_ORDER;
+            case INET:
+                return INET_ORDER;
+            default:
+                return NATURAL_ORDER;
+        }
+    }
+
+    public static boolean areEqual(DataType type, Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (type.isCollection()) {
+            return left.equals(right);
+        }
+        return comparator(type).compare(left, right) == 0;
+    }
+
+    /**
+     * Validate a bound Java value against its CQL type and copy it into its stored form.
+     * <br/>
+     * Empty collections are stored as <em>null</em>, as Cassandra does not distinguish them from absent ones
+     */
+    public static Object normalize(DataType type, Object value) {
+        if (value == null) {
+            return null;
+        }
+        switch (type.getName()) {
+            case LIST:
+                final List<Object> list = new ArrayList<>();
+                final List<?> sourceList = checkClass(type, value, List.class);
+                for (Object element : sourceList) {
+                    list.add(normalize(type.getTypeArguments().get(0), element));
+                }
+                return list.isEmpty() ? null : Collections.unmodifiableList(list);
+            case SET:
+                final DataType elementType = type.getTypeArguments().get(0);
+                final Set<Object> set = new TreeSet<>(comparator(elementType));
+                final Set<?> sourceSet = checkClass(type, value, Set.class);
+                for (Object element : sourceSet) {
+                    set.add(normalize(elementType, element));
+                }
+                return set.isEmpty() ? null : Collections.unmodifiableSet(set);
+            case MAP:
+                final DataType keyType = type.getTypeArguments().get(0);
+                final DataType valueType = type.getTypeArguments().get(1);
+                final Map<Object, Object> map = new TreeMap<>(comparator(keyType));
+                final Map<?, ?> source = checkClass(type, value, Map.class);
+                for (Map.Entry<?, ?> entry : source.entrySet()) {
+                    map.put(normalize(keyType, entry.getKey()), normalize(valueType, entry.getValue()));
+                }
+                return map.isEmpty() ? null : Collections.unmodifiableMap(map);
+            case BLOB:
+            case CUSTOM:
+                return checkClass(type, value, ByteBuffer.class).duplicate();
+            default:
+                return checkClass(type, value, type.asJavaClass());
+        }
+    }
+
+    public static List<Object> listOrEmpty(Object value) {
+        return value == null ? new ArrayList<>() : new ArrayList<>((Collection<?>) value);
+    }
+
+    /**
+     * Convert a CQL literal into the Java value of the given type
+     */
+    public static Object fromLiteral(Kind kind, String text, DataType type) {
+        try {
+            switch (type.getName()) {
+                case ASCII:
+                case TEXT:
+                case VARCHAR:
+                    expect(kind, Kind.STRING, text, type);
+                    return text;
+                case INT:
+                    expect(kind, Kind.NUMBER, text, type);
+                    return Integer.valueOf(text);
+                case BIGINT:
+                case COUNTER:
+                    expect(kind, Kind.NUMBER, text, type);
+                    return Long.valueOf(text);
+                case VARINT:
+                    expect(kind, Kind.NUMBER, text, type);
+                    return new BigInteger(text);
+                case DECIMAL:
+                    expect(kind, Kind.NUMBER, text, type);
+                    return new BigDecimal(text);
+                case FLOAT:
+                    expect(kind, Kind.NUMBER, text, type);
+                    return Float.valueOf(text);
+                case DOUBLE:
+                    expect(kind, Kind.NUMBER, text, type);
+                    return Double.valueOf(text);
+                case BOOLEAN:
+                    if (kind == Kind.IDENTIFIER && ("true".equals(text) || "false".equals(text))) {
+                        return Boolean.valueOf(text);
+                    }
+                    throw invalidLiteral(text, type);
+                case UUID:
+                case TIMEUUID:
+                    expect(kind, Kind.UUID, text, type);
+                    final UUID uuid = UUID.fromString(text);
+                    if (type.getName() == DataType.Name.TIMEUUID && uuid.version() != 1) {
+                        throw invalidLiteral(text, type);
+                    }
+                    return uuid;
+                case TIMESTAMP:
+                    if (kind == Kind.NUMBER) {
+                        return new Date(Long.parseLong(text));
+                    }
+                    expect(kind, Kind.STRING, text, type);
+                    return parseDate(text, type);
+                case BLOB:
+                case CUSTOM:
+                    expect(kind, Kind.BLOB, text, type);
+                    return hexToBytes(text.substring(2));
+                case INET:
+                    expect(kind, Kind.STRING, text, type);
+                    return InetAddress.getByName(text);
+                default:
+                    throw invalidLiteral(text, type);
+            }
+        } catch (NumberFormatException | UnknownHostException e) {
+            throw invalidLiteral(text, type);
+        }
+    }
+
+    private static void expect(Kind actual, Kind expected, String text, DataType type) {
+        if (actual != expected) {
+            throw invalidLiteral(text, type);
+        }
+    }
+
+    private static InvalidQueryException invalidLiteral(String text, DataType type) {
+        return new InvalidQueryException(String.format("Invalid literal '%s' for type %s", text, type));
+    }
+
+    private static <T> T checkClass(DataType type, Object value, Class<T> expectedClass) {
+        if (!expectedClass.isInstance(value)) {
+            throw new InvalidTypeException(String.format("Invalid value '%s' of class %s for CQL type %s, expecting %s",
+                    value, value.getClass().getCanonicalName(), type, expectedClass.getCanonicalName()));
+        }
+        return expectedClass.cast(value);
+    }
+
+    private static Date parseDate(String text, DataType type) {
+        for (String pattern : DATE_PATTERNS) {
+            final SimpleDateFormat format = new SimpleDateFormat(pattern);
+            format.setLenient(false);
+            if (!pattern.endsWith("Z")) {
+                format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            }
+            try {
+                return format.parse(text);
+            } catch (ParseException e) {
+                // try next pattern
+            }
+        }
+        throw invalidLiteral(text, type);
+    }
+
+    private static ByteBuffer hexToBytes(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new NumberFormatException("Odd number of hexadecimal digits");
+        }
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private static int compareUnsigned(UUID first, UUID second) {
+        final int comparison = compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return comparison != 0 ? comparison : compareUnsigned(first.getLeastSignificantBits(),
+                second.getLeastSignificantBits());
+    }
+
+    private static int compareUnsigned(long first, long second) {
+        return Long.compare(first + Long.MIN_VALUE, second + Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+/**
+ * Stored value of a column with its write timestamp (in microseconds) and its optional expiration
+ */
+public class Cell {
+
+    private static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+    final Object value;
+    final long timestamp;
+    final int ttl;
+    final long expiresAt;
+
+    Cell(Object value, long timestamp, int ttl, long nowInMillis) {
+        this.value = value;
+        this.timestamp = timestamp;
+        this.ttl = ttl;
+        this.expiresAt = ttl > 0 ? nowInMillis + ttl * 1000L : NO_EXPIRATION;
+    }
+
+    /**
+     * Copy of an existing cell with a new value, keeping its expiration
+     */
+    Cell(Cell previous, Object value, long timestamp) {
+        this.value = value;
+        this.timestamp = timestamp;
+        this.ttl = previous.ttl;
+        this.expiresAt = previous.expiresAt;
+    }
+
+    Object value(long nowInMillis) {
+        return value;
+    }
+
+    boolean isLive(long nowInMillis) {
+        return nowInMillis < expiresAt;
+    }
+
+    /**
+     * Delete what was written at or before the given timestamp, returning whether nothing remains of the cell
+     */
+    boolean deleteBefore(long timestamp) {
+        return this.timestamp <= timestamp;
+    }
+
+    Integer remainingTtl(long nowInMillis) {
+        if (ttl <= 0) {
+            return null;
+        }
+        return (int) Math.max(0, (expiresAt - nowInMillis + 999) / 1000);
+    }
+}
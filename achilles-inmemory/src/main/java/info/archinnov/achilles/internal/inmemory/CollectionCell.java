@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * Cell of a list, set or map column.
+ * <br/>
+ * As in Cassandra, each element carries its own timestamp and expiration, and overwriting the whole collection
+ * shadows every element written before it. List elements are keyed by a global sequence: appends take increasing
+ * keys and prepends decreasing ones, so the elements of a single prepend end up in reverse order, like
+ * Cassandra 2.0 does.
+ * <br/>
+ * Removing list elements by value only affects elements written strictly before the removal. This mimics the
+ * read-before-write of Cassandra, where a removal batched with an append does not see the appended elements
+ */
+public class CollectionCell extends Cell {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final DataType type;
+    private final TreeMap<Object, Cell> elements;
+    private long deletedAt = Long.MIN_VALUE;
+
+    private CollectionCell(DataType type) {
+        super(null, Long.MIN_VALUE, 0, 0L);
+        this.type = type;
+        this.elements = new TreeMap<>(CQLValues.comparator(type.getName() == DataType.Name.LIST ? DataType
+                .bigint() : type.getTypeArguments().get(0)));
+    }
+
+    /**
+     * Replace the whole collection, as <em>INSERT</em> and <em>UPDATE ... SET c = v</em> do
+     */
+    static void write(Map<String, Cell> cells, String column, DataType type, Object value, long timestamp, int ttl,
+            long nowInMillis) {
+        final CollectionCell cell = in(cells, column, type);
+        cell.deleteBefore(timestamp - 1);
+        cell.add(value, timestamp, ttl, nowInMillis);
+        removeIfEmpty(cells, column);
+    }
+
+    static CollectionCell in(Map<String, Cell> cells, String column, DataType type) {
+        final Cell existing = cells.get(column);
+        if (existing instanceof CollectionCell) {
+            return (CollectionCell) existing;
+        }
+        final CollectionCell cell = new CollectionCell(type);
+        cells.put(column, cell);
+        return cell;
+    }
+
+    static void removeIfEmpty(Map<String, Cell> cells, String column) {
+        final Cell cell = cells.get(column);
+        if (cell instanceof CollectionCell && ((CollectionCell) cell).elements.isEmpty()) {
+            cells.remove(column);
+        }
+    }
+
+    @Override
+    Object value(long nowInMillis) {
+        switch (type.getName()) {
+            case LIST:
+                final List<Object> list = new ArrayList<>();
+                for (Cell element : elements.values()) {
+                    if (element.isLive(nowInMillis)) {
+                        list.add(element.value);
+                    }
+                }
+                return CQLValues.normalize(type, list);
+            case SET:
+                final Set<Object> set = new LinkedHashSet<>();
+                for (Map.Entry<Object, Cell> entry : elements.entrySet()) {
+                    if (entry.getValue().isLive(nowInMillis)) {
+                        set.add(entry.getKey());
+                    }
+                }
+                return CQLValues.normalize(type, set);
+            default:
+                final Map<Object, Object> map = new LinkedHashMap<>();
+                for (Map.Entry<Object, Cell> entry : elements.entrySet()) {
+                    if (entry.getValue().isLive(nowInMillis)) {
+                        map.put(entry.getKey(), entry.getValue().value);
+                    }
+                }
+                return CQLValues.normalize(type, map);
+        }
+    }
+
+    @Override
+    boolean isLive(long nowInMillis) {
+        for (Cell element : elements.values()) {
+            if (element.isLive(nowInMillis)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    boolean deleteBefore(long timestamp) {
+        deletedAt = Math.max(deletedAt, timestamp);
+        final Iterator<Cell> iterator = elements.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().timestamp <= deletedAt) {
+                iterator.remove();
+            }
+        }
+        return elements.isEmpty();
+    }
+
+    /**
+     * <em>c = c + v</em>
+     */
+    void add(Object value, long timestamp, int ttl, long nowInMillis) {
+        if (value == null) {
+            return;
+        }
+        switch (type.getName()) {
+            case LIST:
+                for (Object element : (List<?>) value) {
+                    put(SEQUENCE.incrementAndGet(), element, timestamp, ttl, nowInMillis);
+                }
+                break;
+            case SET:
+                for (Object element : (Set<?>) value) {
+                    put(element, element, timestamp, ttl, nowInMillis);
+                }
+                break;
+            default:
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    put(entry.getKey(), entry.getValue(), timestamp, ttl, nowInMillis);
+                }
+        }
+    }
+
+    /**
+     * <em>c = v + c</em>, lists only
+     */
+    void prepend(Object value, long timestamp, int ttl, long nowInMillis) {
+        if (value == null) {
+            return;
+        }
+        for (Object element : (List<?>) value) {
+            put(-SEQUENCE.incrementAndGet(), element, timestamp, ttl, nowInMillis);
+        }
+    }
+
+    /**
+     * <em>c = c - v</em>: list elements equal to one of the values, set elements or map keys
+     */
+    void subtract(Object value, long timestamp) {
+        if (value == null) {
+            return;
+        }
+        final Collection<?> removed = (Collection<?>) value;
+        if (type.getName() == DataType.Name.LIST) {
+            final Iterator<Cell> iterator = elements.values().iterator();
+            while (iterator.hasNext()) {
+                final Cell element = iterator.next();
+                if (element.timestamp < timestamp && removed.contains(element.value)) {
+                    iterator.remove();
+                }
+            }
+        } else {
+            for (Object key : removed) {
+                remove(key, timestamp);
+            }
+        }
+    }
+
+    /**
+     * <em>c[k] = v</em>, a null value removing the element
+     */
+    void setElement(Object key, Object value, long timestamp, int ttl, long nowInMillis) {
+        if (type.getName() == DataType.Name.LIST) {
+            key = listKey((Integer) key, nowInMillis);
+        }
+        if (value == null) {
+            remove(key, timestamp);
+        } else {
+            put(key, value, timestamp, ttl, nowInMillis);
+        }
+    }
+
+    private Object listKey(int index, long nowInMillis) {
+        final List<Object> liveKeys = new ArrayList<>();
+        for (Map.Entry<Object, Cell> entry : elements.entrySet()) {
+            if (entry.getValue().isLive(nowInMillis)) {
+                liveKeys.add(entry.getKey());
+            }
+        }
+        if (liveKeys.isEmpty()) {
+            throw new InvalidQueryException("Attempted to set an element on a list which is null");
+        }
+        if (index < 0 || index >= liveKeys.size()) {
+            throw new InvalidQueryException(String.format("List index %s out of bound, list has size %s", index,
+                    liveKeys.size()));
+        }
+        return liveKeys.get(index);
+    }
+
+    private void put(Object key, Object value, long timestamp, int ttl, long nowInMillis) {
+        if (timestamp <= deletedAt) {
+            return;
+        }
+        final Cell existing = elements.get(key);
+        if (existing == null || existing.timestamp <= timestamp) {
+            elements.put(key, new Cell(value, timestamp, ttl, nowInMillis));
+        }
+    }
+
+    private void remove(Object key, long timestamp) {
+        final Cell existing = elements.get(key);
+        if (existing != null && existing.timestamp <= timestamp) {
+            elements.remove(key);
+        }
+    }
+}
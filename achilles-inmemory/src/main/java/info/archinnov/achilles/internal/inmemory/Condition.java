@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.List;
+import java.util.Map;
+import com.datastax.driver.core.DataType;
+
+/**
+ * Lightweight transaction condition <em>IF col op term</em> or <em>IF col[key] op term</em>
+ */
+public class Condition {
+
+    final String column;
+    private final Term element;
+    private final String operator;
+    private final Term term;
+    private DataType type;
+
+    Condition(String column, Term element, String operator, Term term) {
+        this.column = column;
+        this.element = element;
+        this.operator = operator;
+        this.term = term;
+    }
+
+    void resolve(InMemoryTable table) {
+        final DataType columnType = table.typeOf(column);
+        if (element == null) {
+            type = columnType;
+        } else {
+            element.resolve(Assignment.elementKeyType(column, columnType), column);
+            type = Assignment.elementValueType(columnType);
+        }
+        term.resolve(type, column);
+    }
+
+    boolean isSatisfied(RowView current, Object[] values) {
+        Object actual = current.value(column);
+        if (element != null && actual != null) {
+            final Object key = element.bind(values);
+            if (actual instanceof List) {
+                final List<?> list = (List<?>) actual;
+                final int index = (Integer) key;
+                actual = index >= 0 && index < list.size() ? list.get(index) : null;
+            } else {
+                actual = ((Map<?, ?>) actual).get(key);
+            }
+        }
+        final Object expected = term.bind(values);
+        if (actual == null || expected == null) {
+            return Relation.EQ.equals(operator) && actual == expected;
+        }
+        final int comparison = type.isCollection() ? (actual.equals(expected) ? 0 : 1) : CQLValues.comparator(type)
+                .compare(actual, expected);
+        return Relation.satisfies(operator, comparison);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * CREATE TABLE with its columns, primary key and clustering order. Other table options are ignored
+ */
+public class CreateTableStatement extends CQLStatement {
+
+    private final String tableName;
+    private final boolean ifNotExists;
+    private final LinkedHashMap<String, DataType> columns;
+    private final Set<String> staticColumns;
+    private final List<String> partitionKeys;
+    private final List<String> clusteringKeys;
+    private final Map<String, Boolean> clusteringOrder;
+
+    CreateTableStatement(String tableName, boolean ifNotExists, LinkedHashMap<String, DataType> columns,
+            Set<String> staticColumns, List<String> partitionKeys, List<String> clusteringKeys,
+            Map<String, Boolean> clusteringOrder) {
+        this.tableName = tableName;
+        this.ifNotExists = ifNotExists;
+        this.columns = columns;
+        this.staticColumns = staticColumns;
+        this.partitionKeys = partitionKeys;
+        this.clusteringKeys = clusteringKeys;
+        this.clusteringOrder = clusteringOrder;
+    }
+
+    @Override
+    void resolve(InMemoryKeyspace keyspace) {
+        if (partitionKeys.isEmpty()) {
+            throw new InvalidQueryException(String.format("No PRIMARY KEY specifed for table %s", tableName));
+        }
+        for (String key : partitionKeys) {
+            checkKey(key);
+        }
+        for (String key : clusteringKeys) {
+            checkKey(key);
+        }
+        for (String column : clusteringOrder.keySet()) {
+            if (!clusteringKeys.contains(column)) {
+                throw new InvalidQueryException(String.format("Missing CLUSTERING ORDER for column %s", column));
+            }
+        }
+        if (!staticColumns.isEmpty() && clusteringKeys.isEmpty()) {
+            throw new InvalidQueryException("Static columns are only useful (and thus allowed) if the table has at least one clustering column");
+        }
+    }
+
+    private void checkKey(String key) {
+        final DataType type = columns.get(key);
+        if (type == null) {
+            throw new InvalidQueryException(String.format("Unknown definition %s referenced in PRIMARY KEY", key));
+        }
+        if (type.isCollection() || type.getName() == DataType.Name.COUNTER || staticColumns.contains(key)) {
+            throw new InvalidQueryException(String.format("Invalid PRIMARY KEY part %s of type %s", key, type));
+        }
+    }
+
+    @Override
+    ResultSet execute(InMemoryKeyspace keyspace, Object[] values, long timestamp, long nowInMillis) {
+        final boolean[] reversed = new boolean[clusteringKeys.size()];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = Boolean.TRUE.equals(clusteringOrder.get(clusteringKeys.get(i)));
+        }
+        keyspace.create(new InMemoryTable(tableName, columns, partitionKeys, clusteringKeys, reversed,
+                staticColumns), ifNotExists);
+        return emptyResult();
+    }
+}
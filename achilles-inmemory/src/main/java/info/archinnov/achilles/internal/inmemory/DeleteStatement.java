@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * DELETE of rows, columns or collection elements.
+ * <br/>
+ * No tombstone is kept: a deletion removes the cells written at or before its timestamp, so a later write with
+ * an older timestamp is not shadowed
+ */
+public class DeleteStatement extends CQLStatement {
+
+    static class Target {
+        final String column;
+        final Term element;
+        DataType type;
+        boolean staticColumn;
+
+        Target(String column, Term element) {
+            this.column = column;
+            this.element = element;
+        }
+    }
+
+    private final String tableName;
+    private final List<Target> targets;
+    private final List<Relation> relations;
+    private final List<Condition> conditions;
+    private final boolean ifExists;
+    private final Term timestamp;
+    private boolean staticOnly;
+
+    DeleteStatement(String tableName, List<Target> targets, List<Relation> relations, List<Condition> conditions,
+            boolean ifExists, Term timestamp) {
+        this.tableName = tableName;
+        this.targets = targets;
+        this.relations = relations;
+        this.conditions = conditions;
+        this.ifExists = ifExists;
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    void resolve(InMemoryKeyspace keyspace) {
+        final InMemoryTable table = keyspace.table(tableName);
+        staticOnly = !targets.isEmpty();
+        for (Target target : targets) {
+            target.type = table.typeOf(target.column);
+            if (table.isPrimaryKey(target.column)) {
+                throw new InvalidQueryException(String.format("Invalid identifier %s for deletion (should not be a PRIMARY KEY part)", target.column));
+            }
+            if (target.element != null) {
+                target.element.resolve(Assignment.elementKeyType(target.column, target.type), target.column);
+            }
+            target.staticColumn = table.isStatic(target.column);
+            staticOnly &= target.staticColumn;
+        }
+        for (Relation relation : relations) {
+            relation.resolve(table);
+        }
+        for (Condition condition : conditions) {
+            condition.resolve(table);
+        }
+        resolveUsing(null, timestamp);
+    }
+
+    @Override
+    ResultSet execute(InMemoryKeyspace keyspace, Object[] values, long defaultTimestamp, long nowInMillis) {
+        final InMemoryTable table = keyspace.table(tableName);
+        final Restrictions restrictions = new Restrictions(table, relations, values);
+        final List<List<Object>> partitionKeys = restrictions.requirePartitionKeys();
+        final List<List<Object>> clusteringKeys = restrictions.clusteringKeys();
+        final long deleteTimestamp = timestampOf(timestamp, values, defaultTimestamp);
+        final boolean conditional = ifExists || !conditions.isEmpty();
+        if (conditional && (partitionKeys.size() > 1 || clusteringKeys == null || clusteringKeys.size() > 1)) {
+            throw new InvalidQueryException("Conditional deletions require a single fully specified PRIMARY KEY");
+        }
+
+        for (List<Object> partitionKey : partitionKeys) {
+            final Partition partition = conditional ? table.partition(partitionKey) : table.partitions.get(
+                    partitionKey);
+            if (partition == null) {
+                continue;
+            }
+            synchronized (partition) {
+                if (conditional) {
+                    final RowView current = new RowView(table, partition, partition.rows.get(clusteringKeys.get(0)),
+                            nowInMillis);
+                    if (!isApplicable(ifExists, conditions, current, values)) {
+                        return casResult(keyspace.name, table, false, conditionColumns(conditions), current);
+                    }
+                }
+                if (staticOnly) {
+                    deleteTargets(partition, null, values, deleteTimestamp, nowInMillis);
+                } else if (clusteringKeys != null) {
+                    for (List<Object> clustering : clusteringKeys) {
+                        deleteRow(partition, partition.rows.get(clustering), values, deleteTimestamp, nowInMillis);
+                    }
+                } else {
+                    for (StoredRow row : new ArrayList<>(partition.rows.values())) {
+                        if (restrictions.matches(new RowView(table, partition, row, nowInMillis))) {
+                            deleteRow(partition, row, values, deleteTimestamp, nowInMillis);
+                        }
+                    }
+                    if (targets.isEmpty() && !restrictions.restrictsClustering()) {
+                        StoredRow.deleteCells(partition.staticCells, deleteTimestamp);
+                    }
+                }
+            }
+        }
+        if (conditional) {
+            return casResult(keyspace.name, table, true, Collections.<String>emptyList(), null);
+        }
+        return emptyResult();
+    }
+
+    private void deleteRow(Partition partition, StoredRow row, Object[] values, long deleteTimestamp,
+            long nowInMillis) {
+        if (row == null) {
+            return;
+        }
+        if (targets.isEmpty()) {
+            row.delete(deleteTimestamp);
+        } else {
+            deleteTargets(partition, row, values, deleteTimestamp, nowInMillis);
+        }
+        partition.purgeEmptyRow(row);
+    }
+
+    private void deleteTargets(Partition partition, StoredRow row, Object[] values, long deleteTimestamp,
+            long nowInMillis) {
+        for (Target target : targets) {
+            final Map<String, Cell> cells = target.staticColumn ? partition.staticCells : row == null ? null
+                    : row.cells;
+            if (cells == null) {
+                continue;
+            }
+            if (target.element == null) {
+                StoredRow.deleteCell(cells, target.column, deleteTimestamp);
+            } else {
+                Assignment.deleteElement(cells, target.column, target.element.bind(values), deleteTimestamp,
+                        nowInMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.nio.ByteBuffer;
+import com.datastax.driver.core.BoundStatement;
+
+/**
+ * Bound statement keeping the Java values instead of their serialized form.
+ * <br/>
+ * Only <em>bind(Object...)</em> is supported to set the values, the typed setters of the driver are not
+ */
+public class InMemoryBoundStatement extends BoundStatement {
+
+    private final InMemoryPreparedStatement prepared;
+    final Object[] javaValues;
+
+    InMemoryBoundStatement(InMemoryPreparedStatement prepared) {
+        super(prepared);
+        this.prepared = prepared;
+        this.javaValues = new Object[prepared.getVariables().size()];
+    }
+
+    @Override
+    public InMemoryBoundStatement bind(Object... values) {
+        if (values.length > javaValues.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Prepared statement has only %d variables, %d values provided", javaValues.length,
+                    values.length));
+        }
+        System.arraycopy(values, 0, javaValues, 0, values.length);
+        return this;
+    }
+
+    @Override
+    public ByteBuffer getRoutingKey() {
+        return prepared.getRoutingKey();
+    }
+
+    @Override
+    public String getKeyspace() {
+        return prepared.getQueryKeyspace();
+    }
+
+    CQLStatement statement() {
+        return prepared.statement;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+
+/**
+ * Parse, prepare and execute statements against an in-memory keyspace.
+ * <br/>
+ * Write timestamps are generated in microseconds and strictly increasing, so that successive writes of
+ * the same thread are applied in order even within the same millisecond. Consistency levels are only checked
+ * for validity, against a single replica
+ */
+public class InMemoryEngine {
+
+    private final InMemoryKeyspace keyspace;
+    private final AtomicLong lastTimestamp = new AtomicLong();
+
+    public InMemoryEngine(String keyspaceName) {
+        this.keyspace = new InMemoryKeyspace(keyspaceName);
+    }
+
+    public InMemoryKeyspace getKeyspace() {
+        return keyspace;
+    }
+
+    public InMemoryPreparedStatement prepare(String query) {
+        return new InMemoryPreparedStatement(query, keyspace.name, parse(query));
+    }
+
+    public ResultSet execute(Statement statement) {
+        checkReplicas(statement.getConsistencyLevel());
+        final long timestamp = nextTimestamp();
+        final long nowInMillis = System.currentTimeMillis();
+        if (statement instanceof BatchStatement) {
+            for (Statement child : ((BatchStatement) statement).getStatements()) {
+                executeSingle(child, timestamp, nowInMillis);
+            }
+            return CQLStatement.emptyResult();
+        }
+        return executeSingle(statement, timestamp, nowInMillis);
+    }
+
+    private ResultSet executeSingle(Statement statement, long timestamp, long nowInMillis) {
+        if (statement instanceof InMemoryBoundStatement) {
+            final InMemoryBoundStatement bound = (InMemoryBoundStatement) statement;
+            checkConsistencyLevel(statement, bound.statement());
+            return bound.statement().execute(keyspace, bound.javaValues, timestamp, nowInMillis);
+        }
+        if (statement instanceof BoundStatement) {
+            throw new InvalidQueryException("Bound statements must be prepared by the in-memory session");
+        }
+        if (statement instanceof RegularStatement) {
+            final RegularStatement regular = (RegularStatement) statement;
+            final CQLStatement parsed = parse(regular.getQueryString());
+            checkConsistencyLevel(statement, parsed);
+            return parsed.execute(keyspace, deserialize(parsed.getMarkers(), regular.getValues()), timestamp,
+                    nowInMillis);
+        }
+        throw new InvalidQueryException("Unsupported statement type " + statement.getClass().getCanonicalName());
+    }
+
+    private void checkReplicas(ConsistencyLevel consistencyLevel) {
+        if (consistencyLevel == ConsistencyLevel.TWO) {
+            throw new UnavailableException(consistencyLevel, 2, 1);
+        }
+        if (consistencyLevel == ConsistencyLevel.THREE) {
+            throw new UnavailableException(consistencyLevel, 3, 1);
+        }
+    }
+
+    private void checkConsistencyLevel(Statement statement, CQLStatement parsed) {
+        if (parsed instanceof SelectStatement && statement.getConsistencyLevel() == ConsistencyLevel.EACH_QUORUM) {
+            throw new InvalidQueryException("EACH_QUORUM ConsistencyLevel is only supported for writes");
+        }
+    }
+
+    private CQLStatement parse(String query) {
+        final CQLStatement statement = CQLParser.parse(query);
+        statement.resolve(keyspace);
+        return statement;
+    }
+
+    private Object[] deserialize(List<Term.BindMarker> markers, ByteBuffer[] serialized) {
+        final int count = serialized == null ? 0 : serialized.length;
+        if (count != markers.size()) {
+            throw new InvalidQueryException(String.format(
+                    "Invalid amount of bind variables: expected %s, received %s", markers.size(), count));
+        }
+        final Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = serialized[i] == null ? null : markers.get(i).getType().deserialize(serialized[i]
+                    .duplicate());
+        }
+        return values;
+    }
+
+    private long nextTimestamp() {
+        final long now = System.currentTimeMillis() * 1000;
+        while (true) {
+            final long last = lastTimestamp.get();
+            final long next = now > last ? now : last + 1;
+            if (lastTimestamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
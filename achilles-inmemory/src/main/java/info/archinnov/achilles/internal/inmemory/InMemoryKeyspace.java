@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * Tables of the in-memory session, looked up by their lower-cased name.
+ * <br/>
+ * Keyspace prefixes in queries are ignored: all tables live in a single keyspace
+ */
+public class InMemoryKeyspace {
+
+    final String name;
+    private final ConcurrentMap<String, InMemoryTable> tables = new ConcurrentHashMap<>();
+
+    public InMemoryKeyspace(String name) {
+        this.name = name;
+    }
+
+    InMemoryTable table(String tableName) {
+        final InMemoryTable table = tables.get(tableName);
+        if (table == null) {
+            throw new InvalidQueryException(String.format("unconfigured columnfamily %s", tableName));
+        }
+        return table;
+    }
+
+    /**
+     * Creating a table identical to an existing one is a no-op so that several factories can be bootstrapped
+     * against the same session
+     */
+    void create(InMemoryTable table, boolean ifNotExists) {
+        final InMemoryTable existing = tables.putIfAbsent(table.name, table);
+        if (existing != null && !ifNotExists && !existing.hasSameDefinition(table)) {
+            throw new InvalidQueryException(String.format("Cannot add already existing column family \"%s\" to keyspace \"%s\"", table.name, name));
+        }
+    }
+
+    void drop(String tableName, boolean ifExists) {
+        if (tables.remove(tableName) == null && !ifExists) {
+            throw new InvalidQueryException(String.format("unconfigured columnfamily %s", tableName));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean hasTable(String tableName) {
+        return tables.containsKey(tableName.toLowerCase());
+    }
+
+    /**
+     * Remove the data of every table, keeping the schema
+     */
+    public void truncateAll() {
+        for (InMemoryTable table : tables.values()) {
+            table.partitions.clear();
+        }
+    }
+}
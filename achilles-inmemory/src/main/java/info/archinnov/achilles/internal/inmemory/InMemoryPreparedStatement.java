@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PreparedId;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.policies.RetryPolicy;
+
+/**
+ * Statement parsed and resolved against the in-memory schema once, bound with Java values
+ */
+public class InMemoryPreparedStatement implements PreparedStatement {
+
+    final CQLStatement statement;
+    private final String queryString;
+    private final String keyspace;
+    private final ColumnDefinitions variables;
+    private ConsistencyLevel consistencyLevel;
+    private ConsistencyLevel serialConsistencyLevel;
+    private ByteBuffer routingKey;
+    private boolean tracing;
+    private RetryPolicy retryPolicy;
+
+    InMemoryPreparedStatement(String queryString, String keyspace, CQLStatement statement) {
+        this.queryString = queryString;
+        this.keyspace = keyspace;
+        this.statement = statement;
+        final List<String> names = new ArrayList<>();
+        final List<DataType> types = new ArrayList<>();
+        for (Term.BindMarker marker : statement.getMarkers()) {
+            names.add(marker.getName());
+            types.add(marker.getType());
+        }
+        this.variables = ResultMetadata.columnDefinitions(keyspace, "", names, types);
+    }
+
+    @Override
+    public ColumnDefinitions getVariables() {
+        return variables;
+    }
+
+    @Override
+    public InMemoryBoundStatement bind(Object... values) {
+        return new InMemoryBoundStatement(this).bind(values);
+    }
+
+    @Override
+    public InMemoryBoundStatement bind() {
+        return new InMemoryBoundStatement(this);
+    }
+
+    @Override
+    public PreparedStatement setRoutingKey(ByteBuffer routingKey) {
+        this.routingKey = routingKey;
+        return this;
+    }
+
+    @Override
+    public PreparedStatement setRoutingKey(ByteBuffer... routingKeyComponents) {
+        this.routingKey = routingKeyComponents.length == 1 ? routingKeyComponents[0] : null;
+        return this;
+    }
+
+    @Override
+    public ByteBuffer getRoutingKey() {
+        return routingKey;
+    }
+
+    @Override
+    public PreparedStatement setConsistencyLevel(ConsistencyLevel consistencyLevel) {
+        this.consistencyLevel = consistencyLevel;
+        return this;
+    }
+
+    @Override
+    public ConsistencyLevel getConsistencyLevel() {
+        return consistencyLevel;
+    }
+
+    @Override
+    public PreparedStatement setSerialConsistencyLevel(ConsistencyLevel serialConsistencyLevel) {
+        this.serialConsistencyLevel = serialConsistencyLevel;
+        return this;
+    }
+
+    @Override
+    public ConsistencyLevel getSerialConsistencyLevel() {
+        return serialConsistencyLevel;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getQueryKeyspace() {
+        return keyspace;
+    }
+
+    @Override
+    public PreparedStatement enableTracing() {
+        this.tracing = true;
+        return this;
+    }
+
+    @Override
+    public PreparedStatement disableTracing() {
+        this.tracing = false;
+        return this;
+    }
+
+    @Override
+    public boolean isTracing() {
+        return tracing;
+    }
+
+    @Override
+    public PreparedStatement setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    @Override
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * There is no server-side prepared statement id in memory
+     */
+    @Override
+    public PreparedId getPreparedId() {
+        return null;
+    }
+}
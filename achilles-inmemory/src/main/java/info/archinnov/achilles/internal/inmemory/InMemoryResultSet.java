@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Fully fetched result of an in-memory query.
+ * <br/>
+ * There is no execution info since no coordinator is involved
+ */
+public class InMemoryResultSet implements ResultSet {
+
+    private final ResultMetadata metadata;
+    private final List<Row> rows;
+    private int position = 0;
+
+    InMemoryResultSet(ResultMetadata metadata, List<Row> rows) {
+        this.metadata = metadata;
+        this.rows = rows;
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return metadata.definitions;
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return position >= rows.size();
+    }
+
+    @Override
+    public Row one() {
+        return isExhausted() ? null : rows.get(position++);
+    }
+
+    @Override
+    public List<Row> all() {
+        final List<Row> remaining = new ArrayList<>(rows.subList(position, rows.size()));
+        position = rows.size();
+        return remaining;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return !isExhausted();
+            }
+
+            @Override
+            public Row next() {
+                return one();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public int getAvailableWithoutFetching() {
+        return rows.size() - position;
+    }
+
+    @Override
+    public boolean isFullyFetched() {
+        return true;
+    }
+
+    @Override
+    public ListenableFuture<Void> fetchMoreResults() {
+        return Futures.immediateFuture(null);
+    }
+
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+        return null;
+    }
+
+    @Override
+    public List<ExecutionInfo> getAllExecutionInfo() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryResultSet[ exhausted: " + isExhausted() + ", " + metadata.definitions + "]";
+    }
+}
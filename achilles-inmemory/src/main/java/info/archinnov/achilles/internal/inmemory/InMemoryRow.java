@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+
+/**
+ * Row of an in-memory result, holding the Java values directly.
+ * <br/>
+ * Getters follow the driver contract: primitives of null columns are returned as 0/false and null
+ * collections as empty ones
+ */
+public class InMemoryRow implements Row {
+
+    private final ResultMetadata metadata;
+    private final Object[] values;
+
+    InMemoryRow(ResultMetadata metadata, Object[] values) {
+        this.metadata = metadata;
+        this.values = values;
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return metadata.definitions;
+    }
+
+    @Override
+    public boolean isNull(int i) {
+        return value(i) == null;
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        return isNull(metadata.indexOf(name));
+    }
+
+    @Override
+    public boolean getBool(int i) {
+        final Boolean value = get(i, Boolean.class);
+        return value != null && value;
+    }
+
+    @Override
+    public boolean getBool(String name) {
+        return getBool(metadata.indexOf(name));
+    }
+
+    @Override
+    public int getInt(int i) {
+        final Integer value = get(i, Integer.class);
+        return value == null ? 0 : value;
+    }
+
+    @Override
+    public int getInt(String name) {
+        return getInt(metadata.indexOf(name));
+    }
+
+    @Override
+    public long getLong(int i) {
+        final Long value = get(i, Long.class);
+        return value == null ? 0L : value;
+    }
+
+    @Override
+    public long getLong(String name) {
+        return getLong(metadata.indexOf(name));
+    }
+
+    @Override
+    public Date getDate(int i) {
+        return get(i, Date.class);
+    }
+
+    @Override
+    public Date getDate(String name) {
+        return getDate(metadata.indexOf(name));
+    }
+
+    @Override
+    public float getFloat(int i) {
+        final Float value = get(i, Float.class);
+        return value == null ? 0.0f : value;
+    }
+
+    @Override
+    public float getFloat(String name) {
+        return getFloat(metadata.indexOf(name));
+    }
+
+    @Override
+    public double getDouble(int i) {
+        final Double value = get(i, Double.class);
+        return value == null ? 0.0 : value;
+    }
+
+    @Override
+    public double getDouble(String name) {
+        return getDouble(metadata.indexOf(name));
+    }
+
+    @Override
+    public ByteBuffer getBytesUnsafe(int i) {
+        final Object value = value(i);
+        return value == null ? null : metadata.types.get(i).serialize(value);
+    }
+
+    @Override
+    public ByteBuffer getBytesUnsafe(String name) {
+        return getBytesUnsafe(metadata.indexOf(name));
+    }
+
+    @Override
+    public ByteBuffer getBytes(int i) {
+        final ByteBuffer value = get(i, ByteBuffer.class);
+        return value == null ? null : value.duplicate();
+    }
+
+    @Override
+    public ByteBuffer getBytes(String name) {
+        return getBytes(metadata.indexOf(name));
+    }
+
+    @Override
+    public String getString(int i) {
+        return get(i, String.class);
+    }
+
+    @Override
+    public String getString(String name) {
+        return getString(metadata.indexOf(name));
+    }
+
+    @Override
+    public BigInteger getVarint(int i) {
+        return get(i, BigInteger.class);
+    }
+
+    @Override
+    public BigInteger getVarint(String name) {
+        return getVarint(metadata.indexOf(name));
+    }
+
+    @Override
+    public BigDecimal getDecimal(int i) {
+        return get(i, BigDecimal.class);
+    }
+
+    @Override
+    public BigDecimal getDecimal(String name) {
+        return getDecimal(metadata.indexOf(name));
+    }
+
+    @Override
+    public UUID getUUID(int i) {
+        return get(i, UUID.class);
+    }
+
+    @Override
+    public UUID getUUID(String name) {
+        return getUUID(metadata.indexOf(name));
+    }
+
+    @Override
+    public InetAddress getInet(int i) {
+        return get(i, InetAddress.class);
+    }
+
+    @Override
+    public InetAddress getInet(String name) {
+        return getInet(metadata.indexOf(name));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getList(int i, Class<T> elementsClass) {
+        final List<T> value = get(i, List.class);
+        return value == null ? Collections.<T>emptyList() : new ArrayList<>(value);
+    }
+
+    @Override
+    public <T> List<T> getList(String name, Class<T> elementsClass) {
+        return getList(metadata.indexOf(name), elementsClass);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Set<T> getSet(int i, Class<T> elementsClass) {
+        final Set<T> value = get(i, Set.class);
+        return value == null ? Collections.<T>emptySet() : new LinkedHashSet<>(value);
+    }
+
+    @Override
+    public <T> Set<T> getSet(String name, Class<T> elementsClass) {
+        return getSet(metadata.indexOf(name), elementsClass);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getMap(int i, Class<K> keysClass, Class<V> valuesClass) {
+        final Map<K, V> value = get(i, Map.class);
+        return value == null ? Collections.<K, V>emptyMap() : new LinkedHashMap<>(value);
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(String name, Class<K> keysClass, Class<V> valuesClass) {
+        return getMap(metadata.indexOf(name), keysClass, valuesClass);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("Row[");
+        for (int i = 0; i < values.length; i++) {
+            builder.append(i == 0 ? "" : ", ").append(values[i] == null ? "NULL" : values[i]);
+        }
+        return builder.append("]").toString();
+    }
+
+    private Object value(int i) {
+        if (i < 0 || i >= values.length) {
+            throw new IndexOutOfBoundsException("Invalid column index " + i);
+        }
+        return values[i];
+    }
+
+    private <T> T get(int i, Class<T> expectedClass) {
+        final Object value = value(i);
+        if (value != null && !expectedClass.isInstance(value)) {
+            final DataType type = metadata.types.get(i);
+            throw new InvalidTypeException(String.format("Column %s is of type %s", metadata.definitions.getName(i),
+                    type));
+        }
+        return expectedClass.cast(value);
+    }
+}
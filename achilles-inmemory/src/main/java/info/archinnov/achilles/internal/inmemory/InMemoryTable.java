@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * Schema and data of an in-memory table.
+ * <br/>
+ * Partitions are kept in a skip list sorted by partition key, the rows of a partition in a tree map sorted by
+ * the declared clustering order
+ */
+public class InMemoryTable {
+
+    final String name;
+    final Map<String, DataType> columns;
+    final List<String> partitionKeys;
+    final List<String> clusteringKeys;
+    final boolean[] reversed;
+    final Set<String> staticColumns;
+    final boolean counterTable;
+    final Comparator<List<Object>> clusteringComparator;
+    final ConcurrentSkipListMap<List<Object>, Partition> partitions;
+
+    InMemoryTable(String name, LinkedHashMap<String, DataType> columns, List<String> partitionKeys,
+            List<String> clusteringKeys, boolean[] reversed, Set<String> staticColumns) {
+        this.name = name;
+        this.columns = Collections.unmodifiableMap(columns);
+        this.partitionKeys = Collections.unmodifiableList(partitionKeys);
+        this.clusteringKeys = Collections.unmodifiableList(clusteringKeys);
+        this.reversed = reversed;
+        this.staticColumns = Collections.unmodifiableSet(staticColumns);
+        this.counterTable = hasCounterColumn(columns);
+        this.clusteringComparator = new KeyComparator(typesOf(clusteringKeys), reversed);
+        this.partitions = new ConcurrentSkipListMap<>(new KeyComparator(typesOf(partitionKeys),
+                new boolean[partitionKeys.size()]));
+    }
+
+    DataType typeOf(String column) {
+        final DataType type = columns.get(column);
+        if (type == null) {
+            throw new InvalidQueryException(String.format("Undefined name %s in table %s", column, name));
+        }
+        return type;
+    }
+
+    boolean isPartitionKey(String column) {
+        return partitionKeys.contains(column);
+    }
+
+    boolean isClusteringKey(String column) {
+        return clusteringKeys.contains(column);
+    }
+
+    boolean isPrimaryKey(String column) {
+        return isPartitionKey(column) || isClusteringKey(column);
+    }
+
+    boolean isStatic(String column) {
+        return staticColumns.contains(column);
+    }
+
+    Partition partition(List<Object> partitionKey) {
+        Partition partition = partitions.get(partitionKey);
+        if (partition == null) {
+            final Partition created = new Partition(partitionKey, clusteringComparator);
+            partition = partitions.putIfAbsent(partitionKey, created);
+            if (partition == null) {
+                partition = created;
+            }
+        }
+        return partition;
+    }
+
+    boolean hasSameDefinition(InMemoryTable other) {
+        return columns.equals(other.columns) && partitionKeys.equals(other.partitionKeys)
+                && clusteringKeys.equals(other.clusteringKeys) && staticColumns.equals(other.staticColumns);
+    }
+
+    private List<DataType> typesOf(List<String> names) {
+        final List<DataType> types = new ArrayList<>();
+        for (String column : names) {
+            types.add(typeOf(column));
+        }
+        return types;
+    }
+
+    private static boolean hasCounterColumn(Map<String, DataType> columns) {
+        for (DataType type : columns.values()) {
+            if (type.getName() == DataType.Name.COUNTER) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static class KeyComparator implements Comparator<List<Object>> {
+        private final List<Comparator<Object>> comparators = new ArrayList<>();
+        private final boolean[] reversed;
+
+        KeyComparator(List<DataType> types, boolean[] reversed) {
+            for (DataType type : types) {
+                comparators.add(CQLValues.comparator(type));
+            }
+            this.reversed = reversed;
+        }
+
+        @Override
+        public int compare(List<Object> left, List<Object> right) {
+            for (int i = 0; i < comparators.size(); i++) {
+                final int comparison = comparators.get(i).compare(left.get(i), right.get(i));
+                if (comparison != 0) {
+                    return reversed[i] ? -comparison : comparison;
+                }
+            }
+            return 0;
+        }
+    }
+}
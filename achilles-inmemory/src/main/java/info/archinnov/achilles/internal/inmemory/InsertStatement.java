@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * INSERT of a full row, with optional IF NOT EXISTS, TTL and TIMESTAMP
+ */
+public class InsertStatement extends CQLStatement {
+
+    private final String tableName;
+    private final List<String> columns;
+    private final List<Term> terms;
+    private final boolean ifNotExists;
+    private final Term ttl;
+    private final Term timestamp;
+
+    InsertStatement(String tableName, List<String> columns, List<Term> terms, boolean ifNotExists, Term ttl,
+            Term timestamp) {
+        this.tableName = tableName;
+        this.columns = columns;
+        this.terms = terms;
+        this.ifNotExists = ifNotExists;
+        this.ttl = ttl;
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    void resolve(InMemoryKeyspace keyspace) {
+        final InMemoryTable table = keyspace.table(tableName);
+        if (table.counterTable) {
+            throw new InvalidQueryException("INSERT statement are not allowed on counter tables, use UPDATE instead");
+        }
+        if (columns.size() != terms.size()) {
+            throw new InvalidQueryException("Unmatched column names/values");
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            terms.get(i).resolve(table.typeOf(columns.get(i)), columns.get(i));
+        }
+        for (String key : table.partitionKeys) {
+            requireColumn(key);
+        }
+        for (String key : table.clusteringKeys) {
+            requireColumn(key);
+        }
+        resolveUsing(ttl, timestamp);
+    }
+
+    private void requireColumn(String key) {
+        if (!columns.contains(key)) {
+            throw new InvalidQueryException(String.format("Missing mandatory PRIMARY KEY part %s", key));
+        }
+    }
+
+    @Override
+    ResultSet execute(InMemoryKeyspace keyspace, Object[] values, long defaultTimestamp, long nowInMillis) {
+        final InMemoryTable table = keyspace.table(tableName);
+        final Object[] bound = new Object[columns.size()];
+        for (int i = 0; i < bound.length; i++) {
+            bound[i] = terms.get(i).bind(values);
+        }
+        final List<Object> partitionKey = keyOf(table.partitionKeys, bound);
+        final List<Object> clustering = keyOf(table.clusteringKeys, bound);
+        final int timeToLive = ttlOf(ttl, values);
+        final long writeTimestamp = timestampOf(timestamp, values, defaultTimestamp);
+
+        final Partition partition = table.partition(partitionKey);
+        synchronized (partition) {
+            if (ifNotExists) {
+                final RowView current = new RowView(table, partition, partition.rows.get(clustering), nowInMillis);
+                if (current.exists()) {
+                    return casResult(keyspace.name, table, false, allColumns(table), current);
+                }
+            }
+            final StoredRow row = partition.row(clustering);
+            if (row.marker == null || row.marker.timestamp <= writeTimestamp) {
+                row.marker = new Cell(Boolean.TRUE, writeTimestamp, timeToLive, nowInMillis);
+            }
+            for (int i = 0; i < bound.length; i++) {
+                final String column = columns.get(i);
+                if (!table.isPrimaryKey(column)) {
+                    final Map<String, Cell> cells = table.isStatic(column) ? partition.staticCells : row.cells;
+                    final DataType type = table.typeOf(column);
+                    if (type.isCollection()) {
+                        CollectionCell.write(cells, column, type, bound[i], writeTimestamp, timeToLive, nowInMillis);
+                    } else {
+                        StoredRow.write(cells, column, new Cell(bound[i], writeTimestamp, timeToLive, nowInMillis));
+                    }
+                }
+            }
+        }
+        if (ifNotExists) {
+            return casResult(keyspace.name, table, true, Collections.<String>emptyList(), null);
+        }
+        return emptyResult();
+    }
+
+    private List<Object> keyOf(List<String> keyColumns, Object[] bound) {
+        final List<Object> key = new ArrayList<>(keyColumns.size());
+        for (String column : keyColumns) {
+            final Object value = bound[columns.indexOf(column)];
+            if (value == null) {
+                throw new InvalidQueryException(String.format("Invalid null value for PRIMARY KEY part %s", column));
+            }
+            key.add(value);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Partition of a table: the static cells and the CQL rows sorted by their clustering order.
+ * <br/>
+ * Every access to a partition is synchronized on the partition itself
+ */
+public class Partition {
+
+    final List<Object> partitionKey;
+    final Map<String, Cell> staticCells = new HashMap<>();
+    final NavigableMap<List<Object>, StoredRow> rows;
+
+    Partition(List<Object> partitionKey, Comparator<List<Object>> clusteringComparator) {
+        this.partitionKey = partitionKey;
+        this.rows = new TreeMap<>(clusteringComparator);
+    }
+
+    StoredRow row(List<Object> clustering) {
+        StoredRow row = rows.get(clustering);
+        if (row == null) {
+            row = new StoredRow(clustering);
+            rows.put(clustering, row);
+        }
+        return row;
+    }
+
+    boolean hasLiveStaticCells(long nowInMillis) {
+        return StoredRow.hasLiveCell(staticCells, nowInMillis);
+    }
+
+    void purgeEmptyRow(StoredRow row) {
+        if (row.marker == null && row.cells.isEmpty()) {
+            rows.remove(row.clustering);
+        }
+    }
+}
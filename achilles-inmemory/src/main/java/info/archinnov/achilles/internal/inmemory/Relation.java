@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * Restriction of a WHERE clause: <em>col op term</em>, <em>col IN (...)</em> or a multi-column slice
+ * <em>(c1, c2) op (t1, t2)</em>
+ */
+public class Relation {
+
+    static final String EQ = "=";
+    static final String IN = "in";
+
+    final List<String> columns;
+    final String operator;
+    final List<Term> terms;
+    final boolean tuple;
+    private final List<DataType> types = new ArrayList<>();
+
+    Relation(List<String> columns, String operator, List<Term> terms, boolean tuple) {
+        this.columns = columns;
+        this.operator = operator;
+        this.terms = terms;
+        this.tuple = tuple;
+    }
+
+    boolean isEquality() {
+        return !tuple && (EQ.equals(operator) || IN.equals(operator));
+    }
+
+    void resolve(InMemoryTable table) {
+        for (String column : columns) {
+            types.add(table.typeOf(column));
+        }
+        if (tuple) {
+            if (terms.size() != columns.size()) {
+                throw new InvalidQueryException(String.format("Expected %s values for %s", columns.size(), columns));
+            }
+            for (int i = 0; i < terms.size(); i++) {
+                terms.get(i).resolve(types.get(i), columns.get(i));
+            }
+        } else if (IN.equals(operator) && terms.size() == 1 && terms.get(0) instanceof Term.BindMarker) {
+            terms.get(0).resolve(DataType.list(types.get(0)), "in(" + columns.get(0) + ")");
+        } else {
+            for (Term term : terms) {
+                term.resolve(types.get(0), columns.get(0));
+            }
+        }
+    }
+
+    Bound bind(Object[] values) {
+        final List<Object> bound = new ArrayList<>();
+        if (IN.equals(operator) && terms.size() == 1 && terms.get(0) instanceof Term.BindMarker) {
+            bound.addAll(CQLValues.listOrEmpty(terms.get(0).bind(values)));
+        } else {
+            for (Term term : terms) {
+                bound.add(term.bind(values));
+            }
+        }
+        return new Bound(bound);
+    }
+
+    /**
+     * Relation with its values bound for one execution
+     */
+    class Bound {
+        final List<Object> values;
+
+        Bound(List<Object> values) {
+            this.values = values;
+        }
+
+        Relation relation() {
+            return Relation.this;
+        }
+
+        boolean restricts(String column) {
+            return columns.contains(column);
+        }
+
+        boolean matches(List<Object> actual) {
+            if (IN.equals(operator)) {
+                for (Object candidate : values) {
+                    if (CQLValues.areEqual(types.get(0), actual.get(0), candidate)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            int comparison = 0;
+            for (int i = 0; i < columns.size() && comparison == 0; i++) {
+                final Object left = actual.get(i);
+                final Object right = values.get(i);
+                if (left == null || right == null) {
+                    return EQ.equals(operator) && left == right;
+                }
+                final Comparator<Object> comparator = CQLValues.comparator(types.get(i));
+                comparison = types.get(i).isCollection() ? (left.equals(right) ? 0 : 1) : comparator.compare(left,
+                        right);
+            }
+            return satisfies(operator, comparison);
+        }
+    }
+
+    static boolean satisfies(String operator, int comparison) {
+        switch (operator) {
+            case EQ:
+                return comparison == 0;
+            case "<":
+                return comparison < 0;
+            case "<=":
+                return comparison <= 0;
+            case ">":
+                return comparison > 0;
+            case ">=":
+                return comparison >= 0;
+            default:
+                throw new InvalidQueryException("Unsupported operator " + operator);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * Relations of a WHERE clause bound for one execution.
+ * <br/>
+ * Equality and IN relations on the primary key are expanded into the list of targeted keys, the other
+ * relations are evaluated against each candidate row
+ */
+public class Restrictions {
+
+    private final InMemoryTable table;
+    private final List<Relation.Bound> relations = new ArrayList<>();
+
+    Restrictions(InMemoryTable table, List<Relation> relations, Object[] values) {
+        this.table = table;
+        for (Relation relation : relations) {
+            this.relations.add(relation.bind(values));
+        }
+    }
+
+    /**
+     * @return targeted partition keys, or null when the partition key is not fully restricted by equalities
+     */
+    List<List<Object>> partitionKeys() {
+        return expand(table.partitionKeys);
+    }
+
+    /**
+     * @return targeted clustering keys, or null when the clustering key is not fully restricted by equalities
+     */
+    List<List<Object>> clusteringKeys() {
+        return expand(table.clusteringKeys);
+    }
+
+    List<List<Object>> requirePartitionKeys() {
+        final List<List<Object>> keys = partitionKeys();
+        if (keys == null) {
+            throw new InvalidQueryException(String.format("Missing mandatory PRIMARY KEY part %s of table %s",
+                    firstUnrestricted(table.partitionKeys), table.name));
+        }
+        return keys;
+    }
+
+    List<List<Object>> requireClusteringKeys() {
+        final List<List<Object>> keys = clusteringKeys();
+        if (keys == null) {
+            throw new InvalidQueryException(String.format("Missing mandatory PRIMARY KEY part %s of table %s",
+                    firstUnrestricted(table.clusteringKeys), table.name));
+        }
+        return keys;
+    }
+
+    boolean restrictsClustering() {
+        for (Relation.Bound relation : relations) {
+            for (String column : relation.relation().columns) {
+                if (table.isClusteringKey(column)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    boolean restrictsRegularColumns() {
+        for (Relation.Bound relation : relations) {
+            for (String column : relation.relation().columns) {
+                if (!table.isPrimaryKey(column)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    boolean matches(RowView row) {
+        for (Relation.Bound relation : relations) {
+            final List<Object> actual = new ArrayList<>();
+            for (String column : relation.relation().columns) {
+                actual.add(row.value(column));
+            }
+            if (!relation.matches(actual)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<List<Object>> expand(List<String> keyColumns) {
+        List<List<Object>> keys = Collections.singletonList(Collections.emptyList());
+        for (String column : keyColumns) {
+            final Relation.Bound relation = equalityOn(column);
+            if (relation == null) {
+                return null;
+            }
+            final List<List<Object>> expanded = new ArrayList<>();
+            for (List<Object> prefix : keys) {
+                for (Object value : relation.values) {
+                    if (value == null) {
+                        throw new InvalidQueryException(String.format("Invalid null value for PRIMARY KEY part %s",
+                                column));
+                    }
+                    final List<Object> key = new ArrayList<>(prefix);
+                    key.add(value);
+                    expanded.add(key);
+                }
+            }
+            keys = expanded;
+        }
+        return keys;
+    }
+
+    private Relation.Bound equalityOn(String column) {
+        for (Relation.Bound relation : relations) {
+            if (relation.relation().isEquality() && relation.restricts(column)) {
+                return relation;
+            }
+        }
+        return null;
+    }
+
+    private String firstUnrestricted(List<String> keyColumns) {
+        for (String column : keyColumns) {
+            if (equalityOn(column) == null) {
+                return column;
+            }
+        }
+        return null;
+    }
+}
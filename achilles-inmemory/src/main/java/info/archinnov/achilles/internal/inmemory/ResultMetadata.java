@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ColumnDefinitions.Definition;
+import com.datastax.driver.core.DataType;
+
+/**
+ * Column definitions of an in-memory result with the lookup of a column index by name.
+ * <br/>
+ * The driver does not expose constructors for column definitions, they are built by reflection once per
+ * prepared statement
+ */
+public class ResultMetadata {
+
+    private static final Constructor<Definition> DEFINITION_CONSTRUCTOR;
+    private static final Constructor<ColumnDefinitions> DEFINITIONS_CONSTRUCTOR;
+
+    static {
+        try {
+            DEFINITION_CONSTRUCTOR = Definition.class.getDeclaredConstructor(String.class, String.class,
+                    String.class, DataType.class);
+            DEFINITION_CONSTRUCTOR.setAccessible(true);
+            DEFINITIONS_CONSTRUCTOR = ColumnDefinitions.class.getDeclaredConstructor(Definition[].class);
+            DEFINITIONS_CONSTRUCTOR.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Unsupported version of the Java driver", e);
+        }
+    }
+
+    final ColumnDefinitions definitions;
+    final List<DataType> types;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final Map<String, Integer> caseInsensitiveIndexes = new HashMap<>();
+
+    ResultMetadata(String keyspace, String table, List<String> names, List<DataType> types) {
+        this.definitions = columnDefinitions(keyspace, table, names, types);
+        this.types = types;
+        for (int i = names.size() - 1; i >= 0; i--) {
+            indexes.put(names.get(i), i);
+            caseInsensitiveIndexes.put(names.get(i).toLowerCase(), i);
+        }
+    }
+
+    int indexOf(String name) {
+        final boolean quoted = name.startsWith("\"") && name.endsWith("\"") && name.length() > 1;
+        final Integer index = quoted ? indexes.get(name.substring(1, name.length() - 1)) : caseInsensitiveIndexes
+                .get(name.toLowerCase());
+        if (index == null) {
+            throw new IllegalArgumentException(name + " is not a column defined in this metadata");
+        }
+        return index;
+    }
+
+    static ColumnDefinitions columnDefinitions(String keyspace, String table, List<String> names,
+            List<DataType> types) {
+        try {
+            final Definition[] definitions = new Definition[names.size()];
+            for (int i = 0; i < definitions.length; i++) {
+                definitions[i] = DEFINITION_CONSTRUCTOR.newInstance(keyspace, table, names.get(i), types.get(i));
+            }
+            return DEFINITIONS_CONSTRUCTOR.newInstance(new Object[] { definitions });
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot build column definitions for table " + table, e);
+        }
+    }
+}
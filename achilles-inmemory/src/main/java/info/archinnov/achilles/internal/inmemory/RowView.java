@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+/**
+ * Read access to the live values of a row, static and partition key columns included
+ */
+public class RowView {
+
+    private final InMemoryTable table;
+    private final Partition partition;
+    private final StoredRow row;
+    private final long nowInMillis;
+
+    RowView(InMemoryTable table, Partition partition, StoredRow row, long nowInMillis) {
+        this.table = table;
+        this.partition = partition;
+        this.row = row;
+        this.nowInMillis = nowInMillis;
+    }
+
+    Object value(String column) {
+        final int partitionIndex = table.partitionKeys.indexOf(column);
+        if (partitionIndex >= 0) {
+            return partition.partitionKey.get(partitionIndex);
+        }
+        final int clusteringIndex = table.clusteringKeys.indexOf(column);
+        if (clusteringIndex >= 0) {
+            return row == null ? null : row.clustering.get(clusteringIndex);
+        }
+        final Cell cell = cell(column);
+        return cell == null ? null : cell.value(nowInMillis);
+    }
+
+    Cell cell(String column) {
+        if (table.isStatic(column)) {
+            return StoredRow.liveCell(partition.staticCells, column, nowInMillis);
+        }
+        return row == null ? null : row.liveCell(column, nowInMillis);
+    }
+
+    boolean exists() {
+        return row != null && row.isLive(nowInMillis);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import com.datastax.driver.core.ResultSet;
+
+/**
+ * TRUNCATE, DROP TABLE and the schema statements without effect in memory (keyspaces, indexes, ALTER, USE)
+ */
+public class SchemaStatement extends CQLStatement {
+
+    static enum Action {
+        TRUNCATE, DROP_TABLE, NONE
+    }
+
+    private final Action action;
+    private final String tableName;
+    private final boolean ifExists;
+
+    SchemaStatement(Action action, String tableName, boolean ifExists) {
+        this.action = action;
+        this.tableName = tableName;
+        this.ifExists = ifExists;
+    }
+
+    @Override
+    void resolve(InMemoryKeyspace keyspace) {
+        if (action == Action.TRUNCATE) {
+            keyspace.table(tableName);
+        }
+    }
+
+    @Override
+    ResultSet execute(InMemoryKeyspace keyspace, Object[] values, long timestamp, long nowInMillis) {
+        switch (action) {
+            case TRUNCATE:
+                keyspace.table(tableName).partitions.clear();
+                break;
+            case DROP_TABLE:
+                keyspace.drop(tableName, ifExists);
+                break;
+            default:
+                break;
+        }
+        return emptyResult();
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * SELECT by partition key, clustering slice, secondary index or full scan, with ORDER BY and LIMIT
+ */
+public class SelectStatement extends CQLStatement {
+
+    static enum SelectorKind {
+        COLUMN, WRITETIME, TTL, COUNT, FUNCTION
+    }
+
+    static class Selector {
+        final SelectorKind kind;
+        final String column;
+        final CQLFunction function;
+        final String alias;
+
+        Selector(SelectorKind kind, String column, String alias) {
+            this(kind, column, null, alias);
+        }
+
+        Selector(SelectorKind kind, String column, CQLFunction function, String alias) {
+            this.kind = kind;
+            this.column = column;
+            this.function = function;
+            this.alias = alias;
+        }
+
+        String name() {
+            if (alias != null) {
+                return alias;
+            }
+            switch (kind) {
+                case WRITETIME:
+                    return "writetime(" + column + ")";
+                case TTL:
+                    return "ttl(" + column + ")";
+                case COUNT:
+                    return "count";
+                case FUNCTION:
+                    return function.name + "(" + (column == null ? "" : column) + ")";
+                default:
+                    return column;
+            }
+        }
+    }
+
+    static class Ordering {
+        final String column;
+        final boolean descending;
+
+        Ordering(String column, boolean descending) {
+            this.column = column;
+            this.descending = descending;
+        }
+    }
+
+    private final String tableName;
+    private final boolean distinct;
+    private final List<Selector> selectors;
+    private final List<Relation> relations;
+    private final List<Ordering> orderings;
+    private final Term limit;
+
+    private ResultMetadata metadata;
+    private boolean count;
+    private boolean reversed;
+
+    SelectStatement(String tableName, boolean distinct, List<Selector> selectors, List<Relation> relations,
+            List<Ordering> orderings, Term limit) {
+        this.tableName = tableName;
+        this.distinct = distinct;
+        this.selectors = selectors;
+        this.relations = relations;
+        this.orderings = orderings;
+        this.limit = limit;
+    }
+
+    @Override
+    void resolve(InMemoryKeyspace keyspace) {
+        final InMemoryTable table = keyspace.table(tableName);
+        if (selectors.isEmpty()) {
+            for (String column : allColumns(table)) {
+                if (!distinct || table.isPartitionKey(column) || table.isStatic(column)) {
+                    selectors.add(new Selector(SelectorKind.COLUMN, column, null));
+                }
+            }
+        }
+        final List<String> names = new ArrayList<>();
+        final List<DataType> types = new ArrayList<>();
+        for (Selector selector : selectors) {
+            names.add(selector.name());
+            switch (selector.kind) {
+                case COUNT:
+                    count = true;
+                    types.add(DataType.bigint());
+                    break;
+                case WRITETIME:
+                    checkNotCollection(table, selector.column, "writeTime");
+                    types.add(DataType.bigint());
+                    break;
+                case TTL:
+                    checkNotCollection(table, selector.column, "ttl");
+                    types.add(DataType.cint());
+                    break;
+                case FUNCTION:
+                    if (selector.column != null && !table.typeOf(selector.column).equals(selector.function
+                            .argumentType)) {
+                        throw new InvalidQueryException(String.format("Type error: %s cannot be passed as argument 0 of function %s of type %s",
+                                selector.column, selector.function, selector.function.argumentType));
+                    }
+                    types.add(selector.function.returnType);
+                    break;
+                default:
+                    types.add(table.typeOf(selector.column));
+            }
+        }
+        if (count && selectors.size() > 1) {
+            throw new InvalidQueryException("Only COUNT(*) and COUNT(1) can be selected along with an aggregate");
+        }
+        for (Relation relation : relations) {
+            relation.resolve(table);
+        }
+        resolveOrderings(table);
+        if (limit != null) {
+            limit.resolve(DataType.cint(), "[limit]");
+        }
+        metadata = new ResultMetadata(keyspace.name, table.name, names, types);
+    }
+
+    private void checkNotCollection(InMemoryTable table, String column, String function) {
+        if (table.typeOf(column).isCollection()) {
+            throw new InvalidQueryException(String.format("Cannot use selection function %s on collections",
+                    function));
+        }
+    }
+
+    private void resolveOrderings(InMemoryTable table) {
+        for (int i = 0; i < orderings.size(); i++) {
+            final Ordering ordering = orderings.get(i);
+            final int index = table.clusteringKeys.indexOf(ordering.column);
+            if (index < 0) {
+                throw new InvalidQueryException(String.format("Order by is currently only supported on the clustered columns of the PRIMARY KEY, got %s", ordering.column));
+            }
+            final boolean reversedColumn = ordering.descending != table.reversed[index];
+            if (i == 0) {
+                reversed = reversedColumn;
+            } else if (reversed != reversedColumn) {
+                throw new InvalidQueryException("Unsupported order by relation");
+            }
+        }
+    }
+
+    @Override
+    ResultSet execute(InMemoryKeyspace keyspace, Object[] values, long timestamp, long nowInMillis) {
+        final InMemoryTable table = keyspace.table(tableName);
+        final Restrictions restrictions = new Restrictions(table, relations, values);
+        final int limitSize = intValue(limit, values, Integer.MAX_VALUE);
+        if (limitSize <= 0) {
+            throw new InvalidQueryException("LIMIT must be strictly positive");
+        }
+
+        final List<List<Object>> partitionKeys = restrictions.partitionKeys();
+        final Collection<Partition> partitions;
+        if (partitionKeys == null) {
+            partitions = table.partitions.values();
+        } else {
+            partitions = new ArrayList<>();
+            for (List<Object> partitionKey : partitionKeys) {
+                final Partition partition = table.partitions.get(partitionKey);
+                if (partition != null) {
+                    partitions.add(partition);
+                }
+            }
+        }
+
+        final boolean mergeSort = !orderings.isEmpty() && partitions.size() > 1;
+        final int collectLimit = count || mergeSort ? Integer.MAX_VALUE : limitSize;
+        final List<Selected> selected = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (selected.size() >= collectLimit) {
+                break;
+            }
+            synchronized (partition) {
+                collect(table, partition, restrictions, nowInMillis, collectLimit, selected);
+            }
+        }
+
+        if (mergeSort) {
+            Collections.sort(selected, new SelectedComparator(table.clusteringComparator, reversed));
+        }
+        final List<Selected> limited = selected.size() > limitSize ? selected.subList(0, limitSize) : selected;
+        if (count) {
+            final InMemoryRow row = new InMemoryRow(metadata, new Object[] { (long) limited.size() });
+            return new InMemoryResultSet(metadata, Arrays.<Row>asList(row));
+        }
+        final List<Row> rows = new ArrayList<>(limited.size());
+        for (Selected entry : limited) {
+            rows.add(new InMemoryRow(metadata, entry.values));
+        }
+        return new InMemoryResultSet(metadata, rows);
+    }
+
+    private void collect(InMemoryTable table, Partition partition, Restrictions restrictions, long nowInMillis,
+            int collectLimit, List<Selected> selected) {
+        if (distinct) {
+            final RowView view = new RowView(table, partition, firstLiveRow(partition, nowInMillis), nowInMillis);
+            if ((view.exists() || partition.hasLiveStaticCells(nowInMillis)) && restrictions.matches(view)) {
+                selected.add(new Selected(Collections.emptyList(), project(view, nowInMillis)));
+            }
+            return;
+        }
+        final Collection<StoredRow> rows = reversed ? partition.rows.descendingMap().values() : partition.rows
+                .values();
+        boolean found = false;
+        for (StoredRow row : rows) {
+            if (selected.size() >= collectLimit) {
+                return;
+            }
+            final RowView view = new RowView(table, partition, row, nowInMillis);
+            if (view.exists() && restrictions.matches(view)) {
+                selected.add(new Selected(row.clustering, project(view, nowInMillis)));
+            }
+            found |= view.exists();
+        }
+        if (!found && !restrictions.restrictsClustering() && partition.hasLiveStaticCells(nowInMillis)) {
+            final RowView staticView = new RowView(table, partition, null, nowInMillis);
+            if (restrictions.matches(staticView)) {
+                selected.add(new Selected(null, project(staticView, nowInMillis)));
+            }
+        }
+    }
+
+    private StoredRow firstLiveRow(Partition partition, long nowInMillis) {
+        for (StoredRow row : partition.rows.values()) {
+            if (row.isLive(nowInMillis)) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private Object[] project(RowView view, long nowInMillis) {
+        if (count) {
+            return null;
+        }
+        final Object[] projected = new Object[selectors.size()];
+        for (int i = 0; i < projected.length; i++) {
+            final Selector selector = selectors.get(i);
+            switch (selector.kind) {
+                case WRITETIME:
+                    final Cell written = view.cell(selector.column);
+                    projected[i] = written == null ? null : written.timestamp;
+                    break;
+                case TTL:
+                    final Cell expiring = view.cell(selector.column);
+                    projected[i] = expiring == null ? null : expiring.remainingTtl(nowInMillis);
+                    break;
+                case FUNCTION:
+                    projected[i] = selector.function.apply(selector.column == null ? null : view.value(
+                            selector.column));
+                    break;
+                default:
+                    projected[i] = view.value(selector.column);
+            }
+        }
+        return projected;
+    }
+
+    private static class Selected {
+        final List<Object> clustering;
+        final Object[] values;
+
+        Selected(List<Object> clustering, Object[] values) {
+            this.clustering = clustering;
+            this.values = values;
+        }
+    }
+
+    private static class SelectedComparator implements Comparator<Selected> {
+        private final Comparator<List<Object>> clusteringComparator;
+        private final boolean reversed;
+
+        SelectedComparator(Comparator<List<Object>> clusteringComparator, boolean reversed) {
+            this.clusteringComparator = clusteringComparator;
+            this.reversed = reversed;
+        }
+
+        @Override
+        public int compare(Selected left, Selected right) {
+            if (left.clustering == null || right.clustering == null) {
+                return left.clustering == null ? (right.clustering == null ? 0 : -1) : 1;
+            }
+            final int comparison = clusteringComparator.compare(left.clustering, right.clustering);
+            return reversed ? -comparison : comparison;
+        }
+    }
+}
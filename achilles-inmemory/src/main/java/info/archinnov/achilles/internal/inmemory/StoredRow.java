@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CQL row of a partition: its clustering values, an optional row marker written by INSERT and the regular cells
+ */
+public class StoredRow {
+
+    final List<Object> clustering;
+    final Map<String, Cell> cells = new HashMap<>();
+    Cell marker;
+
+    StoredRow(List<Object> clustering) {
+        this.clustering = clustering;
+    }
+
+    boolean isLive(long nowInMillis) {
+        if (marker != null && marker.isLive(nowInMillis)) {
+            return true;
+        }
+        return hasLiveCell(cells, nowInMillis);
+    }
+
+    Cell liveCell(String column, long nowInMillis) {
+        return liveCell(cells, column, nowInMillis);
+    }
+
+    /**
+     * Remove the row marker and every cell written at or before the given timestamp
+     */
+    void delete(long timestamp) {
+        if (marker != null && marker.timestamp <= timestamp) {
+            marker = null;
+        }
+        deleteCells(cells, timestamp);
+    }
+
+    static Cell liveCell(Map<String, Cell> cells, String column, long nowInMillis) {
+        final Cell cell = cells.get(column);
+        return cell != null && cell.isLive(nowInMillis) ? cell : null;
+    }
+
+    static boolean hasLiveCell(Map<String, Cell> cells, long nowInMillis) {
+        for (Cell cell : cells.values()) {
+            if (cell.isLive(nowInMillis)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Last write wins: the cell is replaced unless the existing one has a more recent timestamp. A null value
+     * deletes the existing cell
+     */
+    static void write(Map<String, Cell> cells, String column, Cell cell) {
+        final Cell existing = cells.get(column);
+        if (existing != null && existing.timestamp > cell.timestamp) {
+            return;
+        }
+        if (cell.value == null) {
+            cells.remove(column);
+        } else {
+            cells.put(column, cell);
+        }
+    }
+
+    static void deleteCell(Map<String, Cell> cells, String column, long timestamp) {
+        final Cell existing = cells.get(column);
+        if (existing != null && existing.deleteBefore(timestamp)) {
+            cells.remove(column);
+        }
+    }
+
+    static void deleteCells(Map<String, Cell> cells, long timestamp) {
+        final Iterator<Cell> iterator = cells.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().deleteBefore(timestamp)) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+import info.archinnov.achilles.internal.inmemory.CQLLexer.Kind;
+
+/**
+ * Value expression of a parsed statement: a literal, a bind marker, a function call or a collection literal.
+ * <br/>
+ * The expected CQL type of a term is only known once the statement is resolved against the table schema
+ */
+public abstract class Term {
+
+    abstract void resolve(DataType type, String label);
+
+    abstract Object bind(Object[] values);
+
+    public static class Literal extends Term {
+        private final Kind kind;
+        private final String text;
+        private Object value;
+
+        Literal(Kind kind, String text) {
+            this.kind = kind;
+            this.text = text;
+        }
+
+        @Override
+        void resolve(DataType type, String label) {
+            value = CQLValues.fromLiteral(kind, text, type);
+        }
+
+        @Override
+        Object bind(Object[] values) {
+            return value;
+        }
+    }
+
+    public static class NullLiteral extends Term {
+        @Override
+        void resolve(DataType type, String label) {
+        }
+
+        @Override
+        Object bind(Object[] values) {
+            return null;
+        }
+    }
+
+    public static class FunctionCall extends Term {
+        private final CQLFunction function;
+        private final Term argument;
+
+        FunctionCall(CQLFunction function, Term argument) {
+            this.function = function;
+            this.argument = argument;
+        }
+
+        @Override
+        void resolve(DataType type, String label) {
+            function.checkAssignable(type, label);
+            if (argument != null) {
+                argument.resolve(function.argumentType, function.name + "(" + label + ")");
+            }
+        }
+
+        @Override
+        Object bind(Object[] values) {
+            return function.apply(argument == null ? null : argument.bind(values));
+        }
+    }
+
+    public static class BindMarker extends Term {
+        private final int index;
+        private final String name;
+        private DataType type;
+        private String label;
+
+        BindMarker(int index, String name) {
+            this.index = index;
+            this.name = name;
+        }
+
+        @Override
+        void resolve(DataType type, String label) {
+            this.type = type;
+            this.label = label;
+        }
+
+        @Override
+        Object bind(Object[] values) {
+            return CQLValues.normalize(type, values[index]);
+        }
+
+        public String getName() {
+            return name != null ? name : label;
+        }
+
+        public DataType getType() {
+            return type;
+        }
+    }
+
+    public static class CollectionLiteral extends Term {
+        private final boolean list;
+        private final List<Term> elements;
+        private final List<Term> mapValues;
+        private DataType type;
+
+        CollectionLiteral(boolean list, List<Term> elements, List<Term> mapValues) {
+            this.list = list;
+            this.elements = elements;
+            this.mapValues = mapValues;
+        }
+
+        @Override
+        void resolve(DataType type, String label) {
+            this.type = type;
+            final DataType.Name name = type.getName();
+            final boolean compatible = list ? name == DataType.Name.LIST : (name == DataType.Name.SET && mapValues
+                    .isEmpty()) || (name == DataType.Name.MAP && mapValues.size() == elements.size());
+            if (!compatible) {
+                throw new InvalidQueryException(String.format("Invalid collection literal for %s of type %s", label,
+                        type));
+            }
+            for (Term element : elements) {
+                element.resolve(type.getTypeArguments().get(0), label);
+            }
+            for (Term mapValue : mapValues) {
+                mapValue.resolve(type.getTypeArguments().get(1), label);
+            }
+        }
+
+        @Override
+        Object bind(Object[] values) {
+            switch (type.getName()) {
+                case LIST:
+                    final List<Object> list = new ArrayList<>();
+                    for (Term element : elements) {
+                        list.add(element.bind(values));
+                    }
+                    return CQLValues.normalize(type, list);
+                case SET:
+                    final Set<Object> set = new LinkedHashSet<>();
+                    for (Term element : elements) {
+                        set.add(element.bind(values));
+                    }
+                    return CQLValues.normalize(type, set);
+                default:
+                    final Map<Object, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < elements.size(); i++) {
+                        map.put(elements.get(i).bind(values), mapValues.get(i).bind(values));
+                    }
+                    return CQLValues.normalize(type, map);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+/**
+ * UPDATE of the columns of one or several rows, with optional TTL, TIMESTAMP and IF conditions
+ */
+public class UpdateStatement extends CQLStatement {
+
+    private final String tableName;
+    private final List<Assignment> assignments;
+    private final List<Relation> relations;
+    private final List<Condition> conditions;
+    private final boolean ifExists;
+    private final Term ttl;
+    private final Term timestamp;
+    private boolean staticOnly = true;
+
+    UpdateStatement(String tableName, List<Assignment> assignments, List<Relation> relations,
+            List<Condition> conditions, boolean ifExists, Term ttl, Term timestamp) {
+        this.tableName = tableName;
+        this.assignments = assignments;
+        this.relations = relations;
+        this.conditions = conditions;
+        this.ifExists = ifExists;
+        this.ttl = ttl;
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    void resolve(InMemoryKeyspace keyspace) {
+        final InMemoryTable table = keyspace.table(tableName);
+        for (Assignment assignment : assignments) {
+            assignment.resolve(table);
+            staticOnly &= table.isStatic(assignment.column);
+        }
+        for (Relation relation : relations) {
+            relation.resolve(table);
+        }
+        for (Condition condition : conditions) {
+            condition.resolve(table);
+        }
+        if (table.counterTable && ttl != null) {
+            throw new InvalidQueryException("Cannot provide custom TTL for counter updates");
+        }
+        resolveUsing(ttl, timestamp);
+    }
+
+    @Override
+    ResultSet execute(InMemoryKeyspace keyspace, Object[] values, long defaultTimestamp, long nowInMillis) {
+        final InMemoryTable table = keyspace.table(tableName);
+        final Restrictions restrictions = new Restrictions(table, relations, values);
+        final List<List<Object>> partitionKeys = restrictions.requirePartitionKeys();
+        final List<List<Object>> clusteringKeys = staticOnly && !restrictions.restrictsClustering() ? null
+                : restrictions.requireClusteringKeys();
+        final boolean conditional = ifExists || !conditions.isEmpty();
+        if (conditional && (partitionKeys.size() > 1 || (clusteringKeys != null && clusteringKeys.size() > 1))) {
+            throw new InvalidQueryException("IN on the primary key is not supported with conditional updates");
+        }
+        final int timeToLive = ttlOf(ttl, values);
+        final long writeTimestamp = timestampOf(timestamp, values, defaultTimestamp);
+
+        for (List<Object> partitionKey : partitionKeys) {
+            final Partition partition = table.partition(partitionKey);
+            synchronized (partition) {
+                final List<List<Object>> targets = clusteringKeys == null ? Collections.<List<Object>>singletonList(
+                        null) : clusteringKeys;
+                for (List<Object> clustering : targets) {
+                    final StoredRow existing = clustering == null ? null : partition.rows.get(clustering);
+                    if (conditional) {
+                        final RowView current = new RowView(table, partition, existing, nowInMillis);
+                        if (!isApplicable(ifExists, conditions, current, values)) {
+                            return casResult(keyspace.name, table, false, conditionColumns(conditions), current);
+                        }
+                    }
+                    final StoredRow row = clustering == null ? null : partition.row(clustering);
+                    for (Assignment assignment : assignments) {
+                        final boolean staticColumn = table.isStatic(assignment.column);
+                        assignment.apply(staticColumn ? partition.staticCells : row.cells, values, writeTimestamp,
+                                timeToLive, nowInMillis);
+                    }
+                    if (row != null) {
+                        partition.purgeEmptyRow(row);
+                    }
+                }
+            }
+        }
+        if (conditional) {
+            return casResult(keyspace.name, table, true, Collections.<String>emptyList(), null);
+        }
+        return emptyResult();
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.inmemory;
+
+import static info.archinnov.achilles.type.OptionsBuilder.ifConditions;
+import static info.archinnov.achilles.type.OptionsBuilder.ifNotExists;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import info.archinnov.achilles.exception.AchillesCASException;
+import info.archinnov.achilles.inmemory.entity.Message;
+import info.archinnov.achilles.inmemory.entity.User;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory.PersistenceManagerFactoryBuilder;
+import info.archinnov.achilles.type.CounterBuilder;
+import info.archinnov.achilles.type.Options.CASCondition;
+
+public class InMemoryPersistenceManagerTest {
+
+    private static final InMemorySession session = new InMemorySession();
+
+    private static PersistenceManagerFactory pmf;
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private PersistenceManager manager;
+
+    @BeforeClass
+    public static void bootstrap() {
+        pmf = PersistenceManagerFactoryBuilder.inMemory(session)
+                .withEntities(Arrays.<Class<?>>asList(User.class, Message.class))
+                .build();
+    }
+
+    @AfterClass
+    public static void shutDown() {
+        pmf.shutDown();
+    }
+
+    @Before
+    public void setUp() {
+        session.truncateAll();
+        manager = pmf.createPersistenceManager();
+    }
+
+    @Test
+    public void should_create_tables() throws Exception {
+        assertThat(session.hasTable(User.TABLE_NAME)).isTrue();
+        assertThat(session.hasTable(Message.TABLE_NAME)).isTrue();
+        assertThat(session.hasTable("achilles_counter_table")).isTrue();
+    }
+
+    @Test
+    public void should_insert_and_find() throws Exception {
+        // Given
+        final User user = new User(10L, "John", 33);
+        user.setTags(ImmutableSet.of("java", "cassandra"));
+        user.setPreferences(ImmutableMap.of(1, "FR", 2, "Paris"));
+
+        // When
+        manager.insert(user);
+        final User found = manager.find(User.class, 10L);
+
+        // Then
+        assertThat(found.getName()).isEqualTo("John");
+        assertThat(found.getAge()).isEqualTo(33);
+        assertThat(found.getTags()).containsOnly("java", "cassandra");
+        assertThat(found.getPreferences()).isEqualTo(ImmutableMap.of(1, "FR", 2, "Paris"));
+        assertThat(manager.find(User.class, 11L)).isNull();
+    }
+
+    @Test
+    public void should_update_fields_and_collections() throws Exception {
+        // Given
+        final User user = new User(10L, "John", 33);
+        user.setTags(Sets.newHashSet("java"));
+        user.setPreferences(Maps.newHashMap(ImmutableMap.of(1, "FR")));
+        final User managed = manager.insert(user);
+
+        // When
+        managed.setAge(34);
+        managed.getTags().add("cassandra");
+        managed.getPreferences().put(3, "75014");
+        manager.update(managed);
+
+        // Then
+        final User found = manager.find(User.class, 10L);
+        assertThat(found.getName()).isEqualTo("John");
+        assertThat(found.getAge()).isEqualTo(34);
+        assertThat(found.getTags()).containsOnly("java", "cassandra");
+        assertThat(found.getPreferences()).isEqualTo(ImmutableMap.of(1, "FR", 3, "75014"));
+    }
+
+    @Test
+    public void should_remove() throws Exception {
+        // Given
+        manager.insert(new User(10L, "John", 33));
+
+        // When
+        manager.removeById(User.class, 10L);
+
+        // Then
+        assertThat(manager.find(User.class, 10L)).isNull();
+    }
+
+    @Test
+    public void should_slice_clustered_entities() throws Exception {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            manager.insert(new Message(10L, i, "message" + i));
+        }
+        manager.insert(new Message(11L, 1, "other"));
+
+        // When
+        final List<Message> slice = manager.sliceQuery(Message.class)
+                .forSelect()
+                .withPartitionComponents(10L)
+                .fromClusterings(2)
+                .toClusterings(4)
+                .get();
+        final List<Message> reversed = manager.sliceQuery(Message.class)
+                .forSelect()
+                .withPartitionComponents(10L)
+                .orderByDescending()
+                .get(2);
+
+        // Then
+        assertThat(slice).hasSize(3);
+        assertThat(slice.get(0).getContent()).isEqualTo("message2");
+        assertThat(slice.get(2).getContent()).isEqualTo("message4");
+        assertThat(reversed).hasSize(2);
+        assertThat(reversed.get(0).getId().getSequence()).isEqualTo(5);
+        assertThat(reversed.get(1).getId().getSequence()).isEqualTo(4);
+    }
+
+    @Test
+    public void should_delete_slice() throws Exception {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            manager.insert(new Message(10L, i, "message" + i));
+        }
+
+        // When
+        manager.sliceQuery(Message.class)
+                .forDelete()
+                .withPartitionComponents(10L)
+                .deleteMatching(2);
+
+        // Then
+        final List<Message> remaining = manager.sliceQuery(Message.class)
+                .forSelect()
+                .withPartitionComponents(10L)
+                .get();
+        assertThat(remaining).hasSize(2);
+        assertThat(remaining.get(0).getId().getSequence()).isEqualTo(1);
+        assertThat(remaining.get(1).getId().getSequence()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_increment_and_decrement_counters() throws Exception {
+        // Given
+        final User user = new User(10L, "John", 33);
+        user.setVisits(CounterBuilder.incr(5L));
+        final User managed = manager.insert(user);
+
+        // When
+        managed.getVisits().incr(3L);
+        managed.getVisits().decr();
+        manager.update(managed);
+
+        // Then
+        final User found = manager.find(User.class, 10L);
+        assertThat(found.getVisits().get()).isEqualTo(7L);
+    }
+
+    @Test
+    public void should_insert_if_not_exists() throws Exception {
+        // Given
+        manager.insert(new User(10L, "John", 33), ifNotExists());
+
+        // When
+        exception.expect(AchillesCASException.class);
+        exception.expectMessage("CAS operation INSERT cannot be applied");
+
+        manager.insert(new User(10L, "Helen", 30), ifNotExists());
+    }
+
+    @Test
+    public void should_update_with_cas_conditions() throws Exception {
+        // Given
+        final User managed = manager.insert(new User(10L, "John", 33));
+
+        // When
+        managed.setAge(34);
+        manager.update(managed, ifConditions(new CASCondition("name", "John")));
+
+        // Then
+        assertThat(manager.find(User.class, 10L).getAge()).isEqualTo(34);
+
+        exception.expect(AchillesCASException.class);
+        exception.expectMessage("CAS operation UPDATE cannot be applied");
+
+        managed.setAge(35);
+        manager.update(managed, ifConditions(new CASCondition("name", "Helen")));
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.inmemory;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.CloseFuture;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.datastax.driver.core.exceptions.SyntaxError;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.utils.UUIDs;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class InMemorySessionTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private InMemorySession session = new InMemorySession();
+
+    @Before
+    public void setUp() {
+        session.execute("CREATE TABLE users(id bigint, name text, age int, tags set<text>, "
+                + "scores list<int>, preferences map<text,text>, PRIMARY KEY(id))");
+        session.execute("CREATE TABLE tweets(user_id bigint, tweet_id timeuuid, content text, "
+                + "PRIMARY KEY(user_id, tweet_id)) WITH CLUSTERING ORDER BY(tweet_id DESC) AND comment = 'tweets'");
+        session.execute("CREATE TABLE events(bucket text, ts int, seq int, label text, "
+                + "PRIMARY KEY((bucket), ts, seq))");
+        session.execute("CREATE TABLE counters(id bigint, name text, total counter, PRIMARY KEY(id, name))");
+    }
+
+    @Test
+    public void should_insert_and_select_by_primary_key_with_prepared_statements() throws Exception {
+        //Given
+        final PreparedStatement insert = session.prepare("INSERT INTO users(id,name,age) VALUES (:id,:name,:age);");
+        final PreparedStatement select = session.prepare("SELECT name,age FROM users WHERE id=:id;");
+
+        //When
+        session.execute(insert.bind(10L, "John", 33));
+        final Row row = session.execute(select.bind(10L)).one();
+
+        //Then
+        assertThat(insert.getVariables().size()).isEqualTo(3);
+        assertThat(insert.getVariables().getName(1)).isEqualTo("name");
+        assertThat(row.getString("name")).isEqualTo("John");
+        assertThat(row.getInt("age")).isEqualTo(33);
+        assertThat(session.execute(select.bind(11L)).one()).isNull();
+    }
+
+    @Test
+    public void should_execute_query_builder_statements_with_serialized_values() throws Exception {
+        //When
+        session.execute(QueryBuilder.insertInto("users").value("id", 10L).value("name", "John")
+                .value("tags", ImmutableSet.of("b", "a")).using(QueryBuilder.ttl(100)));
+        final Row row = session.execute(QueryBuilder.select().all().from("users")
+                .where(QueryBuilder.eq("id", 10L))).one();
+
+        //Then
+        assertThat(row.getString("name")).isEqualTo("John");
+        assertThat(row.getSet("tags", String.class)).containsExactly("a", "b");
+        assertThat(row.isNull("age")).isTrue();
+        assertThat(row.getList("scores", Integer.class)).isEmpty();
+    }
+
+    @Test
+    public void should_update_collections() throws Exception {
+        //Given
+        session.execute("INSERT INTO users(id,scores,tags,preferences) VALUES (1,[1,2],{'a'},{'k1':'v1'})");
+
+        //When
+        session.execute("UPDATE users SET scores=scores+[3],tags=tags+{'b'},preferences['k2']='v2' WHERE id=1");
+        session.execute("UPDATE users SET scores=[0]+scores,tags=tags-{'a'} WHERE id=1");
+        session.execute("UPDATE users SET scores[1]=10 WHERE id=1");
+        session.execute("DELETE preferences['k1'] FROM users WHERE id=1");
+        final Row row = session.execute("SELECT scores,tags,preferences FROM users WHERE id=1").one();
+
+        //Then
+        assertThat(row.getList("scores", Integer.class)).containsExactly(0, 10, 2, 3);
+        assertThat(row.getSet("tags", String.class)).containsExactly("b");
+        assertThat(row.getMap("preferences", String.class, String.class)).isEqualTo(ImmutableMap.of("k2", "v2"));
+    }
+
+    @Test
+    public void should_apply_collection_updates_element_by_element() throws Exception {
+        //Given
+        session.execute("INSERT INTO users(id,scores,tags) VALUES (1,[1,2],{'a'}) USING TIMESTAMP 100");
+        final PreparedStatement append = session.prepare("UPDATE users SET scores=scores+? WHERE id=1");
+        final PreparedStatement remove = session.prepare("UPDATE users SET scores=scores-? WHERE id=1");
+        final BatchStatement batch = new BatchStatement();
+        batch.add(append.bind(Arrays.asList(1, 3)));
+        batch.add(remove.bind(Arrays.asList(1)));
+
+        //When
+        session.execute("UPDATE users USING TIMESTAMP 50 SET tags=tags+{'stale'} WHERE id=1");
+        session.execute("UPDATE users SET scores=[5,6]+scores WHERE id=1");
+        session.execute(batch);
+        final Row row = session.execute("SELECT scores,tags FROM users WHERE id=1").one();
+
+        //Then
+        assertThat(row.getList("scores", Integer.class)).containsExactly(6, 5, 2, 1, 3);
+        assertThat(row.getSet("tags", String.class)).containsExactly("a");
+    }
+
+    @Test
+    public void should_evaluate_native_functions() throws Exception {
+        //Given
+        session.execute("INSERT INTO users(id,name) VALUES (1,blobAsText(textAsBlob('John')))");
+        session.execute("INSERT INTO tweets(user_id,tweet_id,content) VALUES (1,now(),'hello')");
+
+        //When
+        final Row user = session.execute("SELECT name FROM users WHERE id=1").one();
+        final Row tweet = session.execute("SELECT dateOf(tweet_id),unixTimestampOf(tweet_id) FROM tweets WHERE user_id=1").one();
+
+        //Then
+        assertThat(user.getString("name")).isEqualTo("John");
+        assertThat(tweet.getDate("dateOf(tweet_id)").getTime()).isEqualTo(tweet.getLong("unixTimestampOf(tweet_id)"));
+    }
+
+    @Test
+    public void should_slice_clustering_columns_with_order_and_limit() throws Exception {
+        //Given
+        final PreparedStatement insert = session.prepare("INSERT INTO events(bucket,ts,seq,label) VALUES (?,?,?,?)");
+        for (int ts = 1; ts <= 3; ts++) {
+            for (int seq = 1; seq <= 3; seq++) {
+                session.execute(insert.bind("b1", ts, seq, ts + "-" + seq));
+            }
+        }
+        session.execute(insert.bind("b2", 1, 1, "other"));
+        final PreparedStatement slice = session.prepare("SELECT label FROM events WHERE bucket=:bucket "
+                + "AND (ts,seq)>=(:ts1,:seq1) AND (ts)<(:ts2) ORDER BY ts DESC LIMIT :limitSize;");
+
+        //When
+        final List<Row> rows = session.execute(slice.bind("b1", 1, 2, 3, 3)).all();
+        final List<Row> all = session.execute("SELECT label FROM events WHERE bucket IN ('b2','b1') ORDER BY ts ASC")
+                .all();
+
+        //Then
+        assertThat(labels(rows)).containsExactly("2-3", "2-2", "2-1");
+        assertThat(labels(all)).hasSize(10);
+        assertThat(labels(all).get(0)).isIn("1-1", "other");
+        assertThat(labels(all).get(9)).isEqualTo("3-3");
+    }
+
+    @Test
+    public void should_honour_declared_clustering_order() throws Exception {
+        //Given
+        final UUID first = UUIDs.timeBased();
+        Thread.sleep(2);
+        final UUID second = UUIDs.timeBased();
+        session.execute("INSERT INTO tweets(user_id,tweet_id,content) VALUES (1," + first + ",'first')");
+        session.execute("INSERT INTO tweets(user_id,tweet_id,content) VALUES (1," + second + ",'second')");
+
+        //When
+        final List<Row> rows = session.execute("SELECT content FROM tweets WHERE user_id=1").all();
+        final List<Row> reversed = session.execute("SELECT content FROM tweets WHERE user_id=1 "
+                + "ORDER BY tweet_id ASC LIMIT 1").all();
+
+        //Then
+        assertThat(rows.get(0).getString("content")).isEqualTo("second");
+        assertThat(rows.get(1).getString("content")).isEqualTo("first");
+        assertThat(reversed).hasSize(1);
+        assertThat(reversed.get(0).getString("content")).isEqualTo("first");
+    }
+
+    @Test
+    public void should_increment_and_decrement_counters() throws Exception {
+        //Given
+        final PreparedStatement incr = session.prepare("UPDATE counters SET total=total+? WHERE id=? AND name=?");
+
+        //When
+        session.execute(incr.bind(5L, 1L, "a"));
+        session.execute(incr.bind(3L, 1L, "a"));
+        session.execute("UPDATE counters SET total=total-2 WHERE id=1 AND name='a'");
+        final Row row = session.execute("SELECT total FROM counters WHERE id=1 AND name='a'").one();
+
+        //Then
+        assertThat(row.getLong("total")).isEqualTo(6L);
+    }
+
+    @Test
+    public void should_apply_lightweight_transactions() throws Exception {
+        //When
+        final Row inserted = session.execute("INSERT INTO users(id,name) VALUES (1,'John') IF NOT EXISTS").one();
+        final Row duplicate = session.execute("INSERT INTO users(id,name) VALUES (1,'Helen') IF NOT EXISTS").one();
+        final Row failedUpdate = session.execute("UPDATE users SET age=10 WHERE id=1 IF name='Helen'").one();
+        final Row update = session.execute("UPDATE users SET age=10 WHERE id=1 IF name='John'").one();
+
+        //Then
+        assertThat(inserted.getBool("[applied]")).isTrue();
+        assertThat(duplicate.getBool("[applied]")).isFalse();
+        assertThat(duplicate.getString("name")).isEqualTo("John");
+        assertThat(failedUpdate.getBool("[applied]")).isFalse();
+        assertThat(failedUpdate.getString("name")).isEqualTo("John");
+        assertThat(update.getBool("[applied]")).isTrue();
+        assertThat(session.execute("SELECT age FROM users WHERE id=1").one().getInt("age")).isEqualTo(10);
+    }
+
+    @Test
+    public void should_delete_rows_and_columns() throws Exception {
+        //Given
+        session.execute("INSERT INTO users(id,name,age) VALUES (1,'John',33)");
+        session.execute("INSERT INTO users(id,name,age) VALUES (2,'Helen',35)");
+        session.execute("INSERT INTO events(bucket,ts,seq,label) VALUES ('b',1,1,'x')");
+        session.execute("INSERT INTO events(bucket,ts,seq,label) VALUES ('b',2,1,'y')");
+
+        //When
+        session.execute("DELETE age FROM users WHERE id=1");
+        session.execute("DELETE FROM users WHERE id=2");
+        session.execute("DELETE FROM events WHERE bucket='b'");
+
+        //Then
+        final Row john = session.execute("SELECT name,age FROM users WHERE id=1").one();
+        assertThat(john.getString("name")).isEqualTo("John");
+        assertThat(john.isNull("age")).isTrue();
+        assertThat(session.execute("SELECT * FROM users WHERE id=2").one()).isNull();
+        assertThat(session.execute("SELECT count(*) FROM events").one().getLong("count")).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_keep_most_recent_write() throws Exception {
+        //When
+        session.execute("INSERT INTO users(id,name) VALUES (1,'new') USING TIMESTAMP 200");
+        session.execute("INSERT INTO users(id,name) VALUES (1,'old') USING TIMESTAMP 100");
+        final Row row = session.execute("SELECT name,writetime(name) FROM users WHERE id=1").one();
+
+        //Then
+        assertThat(row.getString("name")).isEqualTo("new");
+        assertThat(row.getLong("writetime(name)")).isEqualTo(200L);
+    }
+
+    @Test
+    public void should_expire_cells_with_ttl() throws Exception {
+        //Given
+        session.execute("INSERT INTO users(id,name) VALUES (1,'John') USING TTL 1");
+
+        //When
+        final Row row = session.execute("SELECT name,ttl(name) FROM users WHERE id=1").one();
+        Thread.sleep(1100);
+
+        //Then
+        assertThat(row.getInt("ttl(name)")).isEqualTo(1);
+        assertThat(session.execute("SELECT name FROM users WHERE id=1").one()).isNull();
+    }
+
+    @Test
+    public void should_execute_batch_statement() throws Exception {
+        //Given
+        final PreparedStatement insert = session.prepare("INSERT INTO users(id,name) VALUES (?,?)");
+        final BatchStatement batch = new BatchStatement();
+        batch.add(insert.bind(1L, "John"));
+        batch.add(insert.bind(2L, "Helen"));
+
+        //When
+        session.execute(batch);
+        final ResultSet resultSet = session.execute("SELECT name FROM users");
+
+        //Then
+        assertThat(resultSet.all()).hasSize(2);
+    }
+
+    @Test
+    public void should_filter_on_regular_column() throws Exception {
+        //Given
+        session.execute("INSERT INTO users(id,name,age) VALUES (1,'John',33)");
+        session.execute("INSERT INTO users(id,name,age) VALUES (2,'Helen',35)");
+
+        //When
+        final List<Row> rows = session.execute("SELECT id FROM users WHERE age=35 ALLOW FILTERING").all();
+
+        //Then
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getLong("id")).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_store_blob_and_timestamp_values() throws Exception {
+        //Given
+        session.execute("CREATE TABLE blobs(id uuid PRIMARY KEY, data blob, created timestamp)");
+        final UUID id = UUID.randomUUID();
+        final Date now = new Date();
+
+        //When
+        session.execute("INSERT INTO blobs(id,data,created) VALUES (?,?,?)", id, ByteBuffer.wrap(new byte[] { 1, 2 }),
+                now);
+        final Row row = session.execute("SELECT data,created FROM blobs WHERE id=" + id).one();
+
+        //Then
+        assertThat(row.getBytes("data")).isEqualTo(ByteBuffer.wrap(new byte[] { 1, 2 }));
+        assertThat(row.getDate("created")).isEqualTo(now);
+    }
+
+    @Test
+    public void should_exception_when_table_does_not_exist() throws Exception {
+        exception.expect(InvalidQueryException.class);
+        exception.expectMessage("unconfigured columnfamily unknown");
+
+        session.execute("SELECT * FROM unknown");
+    }
+
+    @Test
+    public void should_exception_when_primary_key_is_incomplete() throws Exception {
+        exception.expect(InvalidQueryException.class);
+        exception.expectMessage("Missing mandatory PRIMARY KEY part tweet_id");
+
+        session.execute("UPDATE tweets SET content='x' WHERE user_id=1");
+    }
+
+    @Test
+    public void should_exception_on_invalid_syntax() throws Exception {
+        exception.expect(SyntaxError.class);
+
+        session.execute("SELECT FROM users");
+    }
+
+    @Test
+    public void should_exception_when_reading_at_each_quorum() throws Exception {
+        //Given
+        exception.expect(InvalidQueryException.class);
+        exception.expectMessage("EACH_QUORUM ConsistencyLevel is only supported for writes");
+
+        //When
+        session.execute(QueryBuilder.select().from("users").setConsistencyLevel(ConsistencyLevel.EACH_QUORUM));
+    }
+
+    @Test
+    public void should_ignore_identical_table_creation() throws Exception {
+        //Given
+        session.execute("INSERT INTO users(id,name) VALUES (1,'John')");
+
+        //When
+        session.execute("CREATE TABLE users(id bigint, name text, age int, tags set<text>, "
+                + "scores list<int>, preferences map<text,text>, PRIMARY KEY(id))");
+        session.execute("CREATE INDEX users_name ON users(name)");
+
+        //Then
+        assertThat(session.execute("SELECT name FROM users WHERE id=1").one()).isNotNull();
+    }
+
+    @Test
+    public void should_close_asynchronously() throws Exception {
+        // When
+        CloseFuture closeFuture = session.closeAsync();
+
+        // Then
+        assertThat(closeFuture.isDone()).isTrue();
+        assertThat(closeFuture.force()).isSameAs(closeFuture);
+        assertThat(session.isClosed()).isTrue();
+
+        exception.expect(IllegalStateException.class);
+        session.execute("SELECT * FROM users WHERE id = 10");
+    }
+
+    @Test
+    public void should_truncate_all_tables() throws Exception {
+        //Given
+        session.execute("INSERT INTO users(id,name) VALUES (1,'John')");
+
+        //When
+        session.truncateAll();
+
+        //Then
+        assertThat(session.execute("SELECT * FROM users").all()).isEmpty();
+        assertThat(session.hasTable("users")).isTrue();
+    }
+
+    private List<String> labels(List<Row> rows) {
+        final String[] labels = new String[rows.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = rows.get(i).getString("label");
+        }
+        return Arrays.asList(labels);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.inmemory.entity;
+
+import static info.archinnov.achilles.inmemory.entity.Message.TABLE_NAME;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.EmbeddedId;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Order;
+
+@Entity(table = TABLE_NAME)
+public class Message {
+    public static final String TABLE_NAME = "messages";
+
+    @EmbeddedId
+    private MessageKey id;
+
+    @Column
+    private String content;
+
+    public Message() {
+    }
+
+    public Message(Long userId, Integer sequence, String content) {
+        this.id = new MessageKey(userId, sequence);
+        this.content = content;
+    }
+
+    public MessageKey getId() {
+        return id;
+    }
+
+    public void setId(MessageKey id) {
+        this.id = id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public static class MessageKey {
+
+        @Column(name = "user_id")
+        @Order(1)
+        private Long userId;
+
+        @Column
+        @Order(2)
+        private Integer sequence;
+
+        public MessageKey() {
+        }
+
+        public MessageKey(Long userId, Integer sequence) {
+            this.userId = userId;
+            this.sequence = sequence;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public Integer getSequence() {
+            return sequence;
+        }
+
+        public void setSequence(Integer sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
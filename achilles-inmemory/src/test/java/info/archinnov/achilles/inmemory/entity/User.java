@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.inmemory.entity;
+
+import static info.archinnov.achilles.inmemory.entity.User.TABLE_NAME;
+import java.util.Map;
+import java.util.Set;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.type.Counter;
+
+@Entity(table = TABLE_NAME)
+public class User {
+    public static final String TABLE_NAME = "users";
+
+    @Id
+    private Long id;
+
+    @Column
+    private String name;
+
+    @Column(name = "age_in_years")
+    private Integer age;
+
+    @Column
+    private Set<String> tags;
+
+    @Column
+    private Map<Integer, String> preferences;
+
+    @Column
+    private Counter visits;
+
+    public User() {
+    }
+
+    public User(Long id, String name, Integer age) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
+    public Map<Integer, String> getPreferences() {
+        return preferences;
+    }
+
+    public void setPreferences(Map<Integer, String> preferences) {
+        this.preferences = preferences;
+    }
+
+    public Counter getVisits() {
+        return visits;
+    }
+
+    public void setVisits(Counter visits) {
+        this.visits = visits;
+    }
+}
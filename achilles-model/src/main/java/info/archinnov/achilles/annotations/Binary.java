@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import info.archinnov.achilles.codec.BinaryCodecFactory;
+
+/**
+ * <p>
+ * Store a non native property type as a compact binary <strong>blob</strong> instead of JSON text.
+ * <br/>
+ * By default the value is encoded with Jackson <em>Smile</em>, using the ObjectMapper provided
+ * by the JacksonMapperFactory for this type. A custom format can be plugged with a
+ * {@link info.archinnov.achilles.codec.BinaryCodecFactory}
+ * <br/>
+ * Values previously stored as JSON text remain readable once the column type is altered to <strong>blob</strong>
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   {@literal @}Column
+ *   <strong>{@literal @}Binary</strong>
+ *   private Address address;
+ *
+ *   {@literal @}Column
+ *   <strong>{@literal @}Binary(codecFactory = MyCodecFactory.class)</strong>
+ *   private Preferences preferences;
+ *
+ * </code></pre>
+ * </p>
+ * Only allowed on simple properties which are not part of the primary key
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface Binary {
+
+    /**
+     * Factory for the binary codec of the property
+     * <br/>
+     * Default = Jackson Smile codec
+     */
+    Class<? extends BinaryCodecFactory> codecFactory() default BinaryCodecFactory.class;
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Store a very large binary payload as a sequence of fixed-size chunks instead of a single column.
+ * <br/>
+ * Chunks are written concurrently as clustering rows of the generic <strong>achilles_chunk_table</strong>,
+ * one partition per chunked value. They are read back lazily through a stream which fetches a few chunks at a time,
+ * so the payload is never materialized as a whole, neither on the client nor on the coordinator
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   {@literal @}Column
+ *   <strong>{@literal @}Chunked(chunkSize = 128 * 1024)</strong>
+ *   private InputStream document;
+ *
+ * </code></pre>
+ * </p>
+ * Allowed on simple properties of type {@link java.io.InputStream} or {@link java.nio.channels.ReadableByteChannel},
+ * except primary keys, static columns, indexed, compressed or {@literal @}Binary properties.
+ * The stream assigned to the property is consumed (but not closed) when the entity is inserted or updated.
+ * <br/>
+ * A new value is written to a new set of chunks and only becomes visible once all of them are written, so a
+ * failure while consuming the stream leaves the previous value intact.
+ * <br/>
+ * Chunks cannot be part of a batch: writing a non-null chunked value inside a Batch raises an
+ * {@link info.archinnov.achilles.exception.AchillesException}. Removing the entity or setting the property
+ * to null is allowed
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface Chunked {
+
+    /**
+     * Size in bytes of each chunk
+     * <br/>
+     * Default = 65536
+     */
+    int chunkSize() default 64 * 1024;
+
+    /**
+     * Maximum number of chunks written in parallel, also the number of chunks fetched per page on read
+     * <br/>
+     * Default = 4
+     */
+    int concurrency() default 4;
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Compress a large text, binary or JSON property client-side before sending it to Cassandra.
+ * <br/>
+ * Encoded values whose size reaches the <em>threshold</em> are compressed with <strong>Deflate</strong>,
+ * smaller values are stored as is. In both cases the column is a <strong>blob</strong> prefixed by a small header
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   {@literal @}Column
+ *   <strong>{@literal @}Compressed(threshold = 2048)</strong>
+ *   private String biography;
+ *
+ * </code></pre>
+ * </p>
+ * Allowed on simple properties of type String, byte[], ByteBuffer or non native types (JSON or {@literal @}Binary),
+ * except primary keys and indexed properties
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface Compressed {
+
+    /**
+     * Minimum size in bytes of the encoded value to trigger compression
+     * <br/>
+     * Default = 1024
+     */
+    int threshold() default 1024;
+}
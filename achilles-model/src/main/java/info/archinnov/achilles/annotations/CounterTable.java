@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Store the simple counters of an entity in a dedicated counter table instead of the shared
+ * <strong>achilles_counter_table</strong>. The dedicated table can then be tuned (compaction, caching, gc grace)
+ * independently of the counters of other entities
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   {@literal @}Entity(table = "user")
+ *   <strong>{@literal @}CounterTable(name = "user_stats")</strong>
+ *   public class UserEntity {...}
+ *
+ * </code></pre>
+ *
+ * The dedicated table is created as
+ *
+ * <pre class="code"><code class="sql">
+ *
+ *   CREATE TABLE user_stats (
+ *      primary_key text,
+ *      property_name text,
+ *      counter_value counter,
+ *      PRIMARY KEY(primary_key,property_name));
+ *
+ * </code></pre>
+ * </p>
+ * This annotation overrides the global <em>ConfigurationParameters.DEDICATED_COUNTER_TABLES</em> option.
+ * It has no effect on clustered counter entities and on {@literal @}ShardedCounter properties
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface CounterTable {
+
+    /**
+     * Whether the simple counters of this entity use a dedicated table
+     * <br/>
+     * Default = true
+     */
+    boolean dedicated() default true;
+
+    /**
+     * (<strong>Optional</strong>) Name of the dedicated counter table. Defaults to the entity table name suffixed by
+     * <strong>_counters</strong>
+     */
+    String name() default "";
+}
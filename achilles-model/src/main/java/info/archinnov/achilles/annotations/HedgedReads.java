@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Enable hedged reads for an entity. When a read (<em>find()</em>, lazy loading of a proxy, slice query
+ * <em>get()</em> or typed query) has not completed after the configured percentile of its recent latencies,
+ * a second identical request is sent and the first answer wins, the other one being cancelled
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   {@literal @}Entity(table = "user")
+ *   <strong>{@literal @}HedgedReads</strong>
+ *   public class UserEntity {...}
+ *
+ * </code></pre>
+ * </p>
+ * This annotation overrides the global <em>ConfigurationParameters.HEDGED_READS_ENABLED</em> option.
+ * Writes are never hedged
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface HedgedReads {
+
+    /**
+     * Whether reads of this entity are hedged
+     * <br/>
+     * Default = true
+     */
+    boolean value() default true;
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Spread the increments of a hot simple counter over several shard rows instead of a single row.
+ * <br/>
+ * Each increment or decrement is written to one shard picked at random, the shard index being part of the
+ * partition key of the generic <strong>achilles_sharded_counter_table</strong>. Shards are therefore distributed
+ * over different replica sets. Reading the counter fetches all the shards in a single query and sums them
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   {@literal @}Column
+ *   <strong>{@literal @}ShardedCounter(shards = 32)</strong>
+ *   private Counter pageViews;
+ *
+ * </code></pre>
+ * </p>
+ * Allowed only on properties of type {@link info.archinnov.achilles.type.Counter} of regular entities,
+ * not on clustered counter entities. The {@link info.archinnov.achilles.type.Counter} API is left unchanged.
+ * <br/>
+ * Changing the shards count of an existing counter loses the values stored in the discarded shards
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface ShardedCounter {
+
+    /**
+     * Number of shard rows, should be at least 2
+     * <br/>
+     * Default = 16
+     */
+    int shards() default 16;
+}
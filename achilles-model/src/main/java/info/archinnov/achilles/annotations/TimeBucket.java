@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Mark a <strong>java.lang.Long</strong> partition component of an <strong>@EmbeddedId</strong> as a time bucket
+ * derived from a timestamp clustering component. The bucket holds the start of the time window, in epoch milliseconds,
+ * covering the value of the source component and is computed by Achilles on insert and on lookup by primary key
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   public static class SensorEventKey {
+ *
+ *      {@literal @}PartitionKey
+ *      {@literal @}Order(1)
+ *      private Long sensorId;
+ *
+ *      {@literal @}PartitionKey
+ *      {@literal @}Order(2)
+ *      <strong>{@literal @}TimeBucket(source = "time", unit = TimeUnit.HOURS)</strong>
+ *      private Long bucket;
+ *
+ *      {@literal @}Order(3)
+ *      private Date time;
+ *   }
+ *
+ * </code></pre>
+ * </p>
+ * <p>
+ * The source component should be the <strong>first clustering component</strong>, of type java.util.Date,
+ * java.lang.Long (epoch milliseconds) or java.util.UUID annotated with <strong>@TimeUUID</strong>.
+ * Time ranges spanning several buckets can be queried with <strong>sliceQuery(...).forBucketedSelect()</strong>
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD })
+@Documented
+public @interface TimeBucket {
+
+    /**
+     * Name of the clustering component field the bucket is derived from
+     */
+    String source();
+
+    /**
+     * Bucket width, expressed in {@link #unit()}. Default = 1
+     */
+    long size() default 1;
+
+    /**
+     * Bucket width unit. Default = TimeUnit.DAYS
+     */
+    TimeUnit unit() default TimeUnit.DAYS;
+}
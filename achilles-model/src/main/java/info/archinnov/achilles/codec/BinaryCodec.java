@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.codec;
+
+/**
+ * <p>
+ * Binary encoding of a property value, stored in Cassandra as a <strong>blob</strong>.
+ * <br/>
+ * A codec is created once per property by a {@link info.archinnov.achilles.codec.BinaryCodecFactory}
+ * and can therefore keep any per type state (readers, writers, schemas ...)
+ * </p>
+ *
+ * @param <T> type of the property
+ */
+public interface BinaryCodec<T> {
+
+    /**
+     * Encode the property value. Never called with a null value
+     */
+    byte[] encode(T value);
+
+    /**
+     * Decode the bytes read from Cassandra. Never called with null bytes.
+     * <br/>
+     * When a column has been migrated from <strong>text</strong> to <strong>blob</strong>, the bytes
+     * may contain the legacy JSON text written before the migration
+     */
+    T decode(byte[] bytes);
+}
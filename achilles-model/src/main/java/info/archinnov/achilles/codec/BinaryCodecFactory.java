@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>
+ * Create the {@link info.archinnov.achilles.codec.BinaryCodec} of a property annotated with
+ * {@link info.archinnov.achilles.annotations.Binary}.
+ * <br/>
+ * Implementations should be public and declare a default constructor
+ * </p>
+ */
+public interface BinaryCodecFactory {
+
+    /**
+     * @param type         class of the property
+     * @param objectMapper Jackson mapper configured for this type by the JacksonMapperFactory
+     * @return the codec to be used for this property
+     */
+    <T> BinaryCodec<T> create(Class<T> type, ObjectMapper objectMapper);
+}
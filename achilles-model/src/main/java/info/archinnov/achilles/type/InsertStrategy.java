@@ -22,8 +22,14 @@ package info.archinnov.achilles.type;
  * <ul>
  *     <li>{@code info.archinnov.achilles.type.InsertStrategy.ALL_FIELDS}</li>
  *     <li>{@code info.archinnov.achilles.type.InsertStrategy.NOT_NULL_FIELDS}</li>
+ *     <li>{@code info.archinnov.achilles.type.InsertStrategy.ADAPTIVE}</li>
  * </ul>
  * <br/>
+ * With {@code NOT_NULL_FIELDS}, each distinct pattern of null fields produces a distinct INSERT statement to prepare.
+ * {@code ADAPTIVE} only inserts not null fields too but keeps prepared statements for the most frequent
+ * patterns only. Rare patterns are sent as non prepared statements so that they neither evict hot statements
+ * from the cache nor write tombstones for null fields
+ * <br/>
  * Default value = {@code info.archinnov.achilles.type.InsertStrategy.ALL_FIELDS}
  *
  * <pre class="code"><code class="java">
@@ -37,5 +43,5 @@ package info.archinnov.achilles.type;
  * @see <a href="http://github.com/doanduyhai/Achilles/wiki/Insert-Strategy" target="_blank">Achilles Insert Strategies</a>
  */
 public enum InsertStrategy {
-    ALL_FIELDS, NOT_NULL_FIELDS;
+    ALL_FIELDS, NOT_NULL_FIELDS, ADAPTIVE;
 }
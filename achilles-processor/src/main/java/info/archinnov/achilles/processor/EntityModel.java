@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapping of an entity class as seen at compile time, used to generate its metamodel
+ */
+public class EntityModel {
+
+    private final String packageName;
+
+    private final String simpleName;
+
+    private final String tableName;
+
+    private final List<PropertyModel> properties = new ArrayList<>();
+
+    private final List<PropertyModel> partitionComponents = new ArrayList<>();
+
+    private final List<PropertyModel> clusteringComponents = new ArrayList<>();
+
+    public EntityModel(String packageName, String simpleName, String tableName) {
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.tableName = tableName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    public String getQualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    public String getMetamodelSimpleName() {
+        return simpleName + "_";
+    }
+
+    public String getMetamodelQualifiedName() {
+        return getQualifiedName() + "_";
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<PropertyModel> getProperties() {
+        return properties;
+    }
+
+    public List<PropertyModel> getPartitionComponents() {
+        return partitionComponents;
+    }
+
+    public List<PropertyModel> getClusteringComponents() {
+        return clusteringComponents;
+    }
+
+    void addProperty(PropertyModel property) {
+        properties.add(property);
+    }
+
+    void addPartitionComponent(PropertyModel component) {
+        partitionComponents.add(component);
+    }
+
+    void addClusteringComponent(PropertyModel component) {
+        clusteringComponents.add(component);
+    }
+}
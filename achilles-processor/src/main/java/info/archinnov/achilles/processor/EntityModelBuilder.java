@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.EmbeddedId;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.annotations.Order;
+import info.archinnov.achilles.annotations.PartitionKey;
+
+/**
+ * Build the compile time model of an entity, following the same mapping rules as the runtime entity parser:
+ * fields annotated with @Id, @EmbeddedId or @Column on the entity class and its super classes,
+ * compound primary key components annotated with @Order and @PartitionKey
+ */
+public class EntityModelBuilder {
+
+    private static final Pattern TABLE_NAME_PATTERN = Pattern.compile("[a-zA-Z0-9_]{1,48}");
+
+    private final Elements elements;
+
+    private final Types types;
+
+    public EntityModelBuilder(Elements elements, Types types) {
+        this.elements = elements;
+        this.types = types;
+    }
+
+    public EntityModel build(TypeElement entityElement) {
+        final String packageName = elements.getPackageOf(entityElement).getQualifiedName().toString();
+        final EntityModel model = new EntityModel(packageName, entityElement.getSimpleName().toString(),
+                inferTableName(entityElement));
+
+        for (TypeElement type : typeHierarchy(entityElement)) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                final Id id = field.getAnnotation(Id.class);
+                final Column column = field.getAnnotation(Column.class);
+                if (id != null) {
+                    final PropertyModel property = buildProperty(field, type, columnName(id.name(), field), packageName);
+                    model.addProperty(property);
+                    model.addPartitionComponent(property);
+                } else if (field.getAnnotation(EmbeddedId.class) != null) {
+                    model.addProperty(buildProperty(field, type, null, packageName));
+                    addCompoundKeyComponents(model, field, packageName);
+                } else if (column != null) {
+                    model.addProperty(buildProperty(field, type, columnName(column.name(), field), packageName));
+                }
+            }
+        }
+        return model;
+    }
+
+    private void addCompoundKeyComponents(EntityModel model, VariableElement embeddedIdField, String packageName) {
+        final TypeMirror embeddedIdType = embeddedIdField.asType();
+        if (embeddedIdType.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+
+        final List<VariableElement> componentFields = new ArrayList<>();
+        for (TypeElement type : typeHierarchy((TypeElement) types.asElement(embeddedIdType))) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (field.getAnnotation(Order.class) != null) {
+                    componentFields.add(field);
+                }
+            }
+        }
+        Collections.sort(componentFields, new Comparator<VariableElement>() {
+            @Override
+            public int compare(VariableElement field1, VariableElement field2) {
+                return Integer.compare(field1.getAnnotation(Order.class).value(), field2.getAnnotation(Order.class).value());
+            }
+        });
+
+        boolean hasPartitionKeyAnnotation = false;
+        for (VariableElement field : componentFields) {
+            hasPartitionKeyAnnotation = hasPartitionKeyAnnotation || field.getAnnotation(PartitionKey.class) != null;
+        }
+
+        for (int i = 0; i < componentFields.size(); i++) {
+            final VariableElement field = componentFields.get(i);
+            final Column column = field.getAnnotation(Column.class);
+            final PropertyModel component = buildProperty(field, (TypeElement) field.getEnclosingElement(),
+                    columnName(column == null ? "" : column.name(), field), packageName);
+            final boolean partitionComponent = hasPartitionKeyAnnotation ? field.getAnnotation(PartitionKey.class) != null : i == 0;
+            if (partitionComponent) {
+                model.addPartitionComponent(component);
+            } else {
+                model.addClusteringComponent(component);
+            }
+        }
+    }
+
+    private PropertyModel buildProperty(VariableElement field, TypeElement declaringType, String columnName, String packageName) {
+        final String typeName = typeName(field.asType());
+        final boolean accessible = typeName != null && isAccessible(field, declaringType, packageName);
+        return new PropertyModel(field.getSimpleName().toString(), columnName,
+                typeName == null ? Object.class.getCanonicalName() : typeName, accessible);
+    }
+
+    private boolean isAccessible(VariableElement field, TypeElement declaringType, String packageName) {
+        final Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+        if (elements.getPackageOf(declaringType).getQualifiedName().contentEquals(packageName)) {
+            return true;
+        }
+        return modifiers.contains(Modifier.PUBLIC) && declaringType.getModifiers().contains(Modifier.PUBLIC);
+    }
+
+    private String typeName(TypeMirror type) {
+        final TypeMirror erasure = types.erasure(type);
+        if (erasure.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) erasure).getQualifiedName().toString();
+        }
+        return sourceName(erasure);
+    }
+
+    private String sourceName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase();
+        } else if (type.getKind() == TypeKind.ARRAY) {
+            final String componentName = sourceName(((ArrayType) type).getComponentType());
+            return componentName == null ? null : componentName + "[]";
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        }
+        return null;
+    }
+
+    private String inferTableName(TypeElement entityElement) {
+        final Entity entity = entityElement.getAnnotation(Entity.class);
+        String tableName = entityElement.getQualifiedName().toString();
+        if (entity != null && !entity.table().trim().isEmpty()) {
+            tableName = entity.table();
+        }
+        if (!TABLE_NAME_PATTERN.matcher(tableName).matches() && tableName.contains(".")) {
+            tableName = tableName.substring(tableName.lastIndexOf('.') + 1);
+        }
+        return tableName;
+    }
+
+    private String columnName(String annotatedName, VariableElement field) {
+        return annotatedName.trim().isEmpty() ? field.getSimpleName().toString() : annotatedName;
+    }
+
+    private List<TypeElement> typeHierarchy(TypeElement typeElement) {
+        final List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement type = typeElement;
+        while (type != null && !type.getQualifiedName().contentEquals(Object.class.getCanonicalName())) {
+            hierarchy.add(type);
+            final TypeMirror superclass = type.getSuperclass();
+            type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+        }
+        return hierarchy;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import info.archinnov.achilles.annotations.Entity;
+
+/**
+ * Annotation processor generating at compile time, for the classes annotated with @Entity:
+ * <ul>
+ *     <li>the entity index <em>META-INF/achilles/entities.index</em>, used at bootstrap instead of scanning the entity packages held only by indexed jars</li>
+ *     <li>an <em>Entity_</em> metamodel class next to each top level entity, exposing the table and column names,
+ *     the primary key components and reflection-free accessors for the non private mapped fields</li>
+ * </ul>
+ * The processor is registered as a service and runs as soon as the <em>achilles-processor</em> jar is on the compilation class path
+ */
+@SupportedAnnotationTypes("info.archinnov.achilles.annotations.Entity")
+public class EntityProcessor extends AbstractProcessor {
+
+    public static final String INDEX_RESOURCE = "META-INF/achilles/entities.index";
+
+    private final Set<String> entityClassNames = new TreeSet<>();
+
+    private Elements elements;
+
+    private Filer filer;
+
+    private Messager messager;
+
+    private EntityModelBuilder modelBuilder;
+
+    private MetamodelSourceWriter sourceWriter;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+        modelBuilder = new EntityModelBuilder(elements, processingEnv.getTypeUtils());
+        sourceWriter = new MetamodelSourceWriter(findGeneratedAnnotation(),
+                elements.getTypeElement(MetamodelSourceWriter.SLICE_QUERY_CLASS) != null);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Entity.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            final TypeElement entityElement = (TypeElement) element;
+            entityClassNames.add(elements.getBinaryName(entityElement).toString());
+            if (entityElement.getNestingKind() == NestingKind.TOP_LEVEL) {
+                writeMetamodel(entityElement);
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeMetamodel(TypeElement entityElement) {
+        final EntityModel model = modelBuilder.build(entityElement);
+        try {
+            final JavaFileObject sourceFile = filer.createSourceFile(model.getMetamodelQualifiedName(), entityElement);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(sourceWriter.write(model));
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.WARNING, "Cannot generate the Achilles metamodel '"
+                    + model.getMetamodelQualifiedName() + "' : " + e.getMessage(), entityElement);
+        }
+    }
+
+    private void writeIndex() {
+        if (entityClassNames.isEmpty()) {
+            return;
+        }
+        final Set<String> indexedClassNames = new TreeSet<>(entityClassNames);
+        indexedClassNames.addAll(readPreviousIndex());
+        try {
+            final FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = index.openWriter()) {
+                writer.write("# Achilles entity index, generated at compile time\n");
+                for (String entityClassName : indexedClassNames) {
+                    writer.write(entityClassName);
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.WARNING, "Cannot write the Achilles entity index '" + INDEX_RESOURCE
+                    + "' : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Entities indexed by a previous, possibly incremental, compilation and which still exist
+     */
+    private Set<String> readPreviousIndex() {
+        final Set<String> previousClassNames = new TreeSet<>();
+        try {
+            final FileObject previousIndex = filer.getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            final BufferedReader reader = new BufferedReader(new StringReader(previousIndex.getCharContent(true).toString()));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String entityClassName = line.trim();
+                if (entityClassName.isEmpty() || entityClassName.startsWith("#")) {
+                    continue;
+                }
+                final TypeElement entityElement = elements.getTypeElement(entityClassName.replace('$', '.'));
+                if (entityElement != null && entityElement.getAnnotation(Entity.class) != null) {
+                    previousClassNames.add(entityClassName);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous index
+        }
+        return previousClassNames;
+    }
+
+    private String findGeneratedAnnotation() {
+        for (String annotation : new String[] { "javax.annotation.processing.Generated", "javax.annotation.Generated" }) {
+            if (elements.getTypeElement(annotation) != null) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+}
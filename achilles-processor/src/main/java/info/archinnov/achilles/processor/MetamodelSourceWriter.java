@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.processor;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Write the source of the <em>Entity_</em> metamodel class of an entity:
+ * <ul>
+ *     <li>the table name and column name constants</li>
+ *     <li>the partition keys and clustering columns</li>
+ *     <li>direct accessors for the mapped fields which are accessible from the package of the entity</li>
+ *     <li>for a clustered entity, when <strong>achilles-core</strong> is on the compilation class path, a type-safe
+ *     slice DSL: <em>Entity_.slice(manager).partition(...).from(...).to(...)</em></li>
+ * </ul>
+ */
+public class MetamodelSourceWriter {
+
+    static final String METAMODEL_CLASS = "info.archinnov.achilles.metamodel.EntityMetamodel";
+
+    static final String ACCESSOR_CLASS = "info.archinnov.achilles.metamodel.PropertyAccessor";
+
+    static final String SLICE_QUERY_CLASS = "info.archinnov.achilles.query.slice.GeneratedSliceQuery";
+
+    static final String SLICE_QUERY_BUILDER_CLASS = "info.archinnov.achilles.query.slice.SliceQueryBuilder";
+
+    static final String PERSISTENCE_MANAGER_CLASS = "info.archinnov.achilles.persistence.PersistenceManager";
+
+    private static final Set<String> RESERVED_CONSTANTS = new HashSet<>(Arrays.asList("TABLE", "METAMODEL"));
+
+    private final String generatedAnnotation;
+
+    private final boolean sliceQuery;
+
+    /**
+     * @param generatedAnnotation qualified name of the @Generated annotation available on the compilation class path,
+     *                            null if none
+     * @param sliceQuery whether the slice DSL of clustered entities should be generated
+     */
+    public MetamodelSourceWriter(String generatedAnnotation, boolean sliceQuery) {
+        this.generatedAnnotation = generatedAnnotation;
+        this.sliceQuery = sliceQuery;
+    }
+
+    public String write(EntityModel model) {
+        final String entityName = model.getSimpleName();
+        final String metamodelName = model.getMetamodelSimpleName();
+        final StringBuilder source = new StringBuilder();
+
+        if (!model.getPackageName().isEmpty()) {
+            source.append("package ").append(model.getPackageName()).append(";\n\n");
+        }
+        source.append("/**\n");
+        source.append(" * Metamodel of entity {@link ").append(entityName).append("}, generated by the Achilles annotation processor\n");
+        source.append(" */\n");
+        if (generatedAnnotation != null) {
+            source.append("@").append(generatedAnnotation).append("(\"").append(EntityProcessor.class.getName()).append("\")\n");
+        }
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(metamodelName).append(" extends ").append(METAMODEL_CLASS)
+                .append("<").append(entityName).append("> {\n\n");
+
+        source.append("    public static final String TABLE = ").append(literal(model.getTableName())).append(";\n\n");
+        for (Map.Entry<String, String> constant : columnConstants(model).entrySet()) {
+            source.append("    public static final String ").append(constant.getKey()).append(" = ")
+                    .append(literal(constant.getValue())).append(";\n\n");
+        }
+        source.append("    public static final ").append(metamodelName).append(" METAMODEL = new ").append(metamodelName).append("();\n\n");
+
+        source.append("    private ").append(metamodelName).append("() {\n");
+        source.append("        super(").append(entityName).append(".class, TABLE, ")
+                .append(columnList(model.getPartitionComponents())).append(", ")
+                .append(columnList(model.getClusteringComponents())).append(");\n");
+        for (PropertyModel property : accessibleProperties(model)) {
+            writeAccessor(source, entityName, property);
+        }
+        source.append("    }\n");
+        if (sliceQuery && !model.getClusteringComponents().isEmpty()) {
+            writeSliceQuery(source, model);
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private void writeSliceQuery(StringBuilder source, EntityModel model) {
+        final String entityName = model.getSimpleName();
+        final List<PropertyModel> partitionComponents = model.getPartitionComponents();
+        final List<PropertyModel> clusteringComponents = model.getClusteringComponents();
+        final String builderType = SLICE_QUERY_BUILDER_CLASS + "<" + entityName + ">";
+        final String previousStageType = SLICE_QUERY_CLASS + "<" + entityName + ", ?>";
+        String builder = "sliceQueryBuilder";
+        for (PropertyModel component : partitionComponents) {
+            if (component.getFieldName().equals(builder)) {
+                builder += "_";
+            }
+        }
+
+        source.append("\n    /**\n");
+        source.append("     * Start a type-safe slice query on entity {@link ").append(entityName).append("}\n");
+        source.append("     */\n");
+        source.append("    public static SlicePartition slice(").append(PERSISTENCE_MANAGER_CLASS).append(" manager) {\n");
+        source.append("        return new SlicePartition(manager.sliceQuery(").append(entityName).append(".class));\n");
+        source.append("    }\n");
+
+        source.append("\n    public static final class SlicePartition {\n\n");
+        source.append("        private final ").append(builderType).append(" ").append(builder).append(";\n\n");
+        source.append("        private SlicePartition(").append(builderType).append(" ").append(builder).append(") {\n");
+        source.append("            this.").append(builder).append(" = ").append(builder).append(";\n");
+        source.append("        }\n\n");
+        source.append("        public SliceFrom partition(").append(parameters(partitionComponents)).append(") {\n");
+        source.append("            return new SliceFrom(").append(builder).append(", ").append(arguments(partitionComponents)).append(");\n");
+        source.append("        }\n");
+        source.append("    }\n");
+
+        writeSliceStageHeader(source, entityName, "SliceFrom");
+        source.append("        private SliceFrom(").append(builderType).append(" ").append(builder).append(", ")
+                .append(parameters(partitionComponents)).append(") {\n");
+        source.append("            super(").append(builder).append(");\n");
+        for (PropertyModel component : partitionComponents) {
+            source.append("            partitionComponent(").append(component.getFieldName()).append(");\n");
+        }
+        source.append("        }\n");
+        writeClusteringStages(source, clusteringComponents, "from", "fromClusteringComponent", "SliceTo");
+        writeClusteringStages(source, clusteringComponents, "to", "toClusteringComponent", "SliceEnd");
+        source.append("    }\n");
+
+        writeSliceStageHeader(source, entityName, "SliceTo");
+        source.append("        private SliceTo(").append(previousStageType).append(" previousStage) {\n");
+        source.append("            super(previousStage);\n");
+        source.append("        }\n");
+        writeClusteringStages(source, clusteringComponents, "to", "toClusteringComponent", "SliceEnd");
+        source.append("    }\n");
+
+        writeSliceStageHeader(source, entityName, "SliceEnd");
+        source.append("        private SliceEnd(").append(previousStageType).append(" previousStage) {\n");
+        source.append("            super(previousStage);\n");
+        source.append("        }\n");
+        source.append("    }\n");
+    }
+
+    private void writeSliceStageHeader(StringBuilder source, String entityName, String stageName) {
+        source.append("\n    public static final class ").append(stageName).append(" extends ").append(SLICE_QUERY_CLASS)
+                .append("<").append(entityName).append(", ").append(stageName).append("> {\n\n");
+    }
+
+    private void writeClusteringStages(StringBuilder source, List<PropertyModel> clusteringComponents, String methodName,
+            String componentMethod, String nextStage) {
+        for (int size = 1; size <= clusteringComponents.size(); size++) {
+            final List<PropertyModel> prefix = clusteringComponents.subList(0, size);
+            source.append("\n        public ").append(nextStage).append(" ").append(methodName).append("(")
+                    .append(parameters(prefix)).append(") {\n");
+            for (PropertyModel component : prefix) {
+                source.append("            ").append(componentMethod).append("(").append(component.getFieldName()).append(");\n");
+            }
+            source.append("            return new ").append(nextStage).append("(this);\n");
+            source.append("        }\n");
+        }
+    }
+
+    private String parameters(List<PropertyModel> components) {
+        final StringBuilder parameters = new StringBuilder();
+        for (int i = 0; i < components.size(); i++) {
+            parameters.append(i > 0 ? ", " : "").append(components.get(i).getTypeName()).append(" ")
+                    .append(components.get(i).getFieldName());
+        }
+        return parameters.toString();
+    }
+
+    private String arguments(List<PropertyModel> components) {
+        final StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < components.size(); i++) {
+            arguments.append(i > 0 ? ", " : "").append(components.get(i).getFieldName());
+        }
+        return arguments.toString();
+    }
+
+    private void writeAccessor(StringBuilder source, String entityName, PropertyModel property) {
+        final String field = "((" + entityName + ") entity)." + property.getFieldName();
+        source.append("        addAccessor(").append(literal(property.getFieldName())).append(", new ")
+                .append(ACCESSOR_CLASS).append("() {\n");
+        source.append("            @Override\n");
+        source.append("            public Object get(Object entity) {\n");
+        source.append("                return ").append(field).append(";\n");
+        source.append("            }\n\n");
+        source.append("            @Override\n");
+        source.append("            public void set(Object entity, Object value) {\n");
+        source.append("                ").append(field).append(" = (").append(property.getTypeName()).append(") value;\n");
+        source.append("            }\n");
+        source.append("        });\n");
+    }
+
+    private Map<String, String> columnConstants(EntityModel model) {
+        final Map<String, String> constants = new LinkedHashMap<>();
+        addColumnConstants(constants, model.getProperties());
+        addColumnConstants(constants, model.getPartitionComponents());
+        addColumnConstants(constants, model.getClusteringComponents());
+        return constants;
+    }
+
+    private void addColumnConstants(Map<String, String> constants, List<PropertyModel> properties) {
+        for (PropertyModel property : properties) {
+            final String columnName = property.getColumnName();
+            if (columnName == null) {
+                continue;
+            }
+            String constantName = constantName(property.getFieldName());
+            while (RESERVED_CONSTANTS.contains(constantName)
+                    || (constants.containsKey(constantName) && !constants.get(constantName).equals(columnName))) {
+                constantName += "_";
+            }
+            constants.put(constantName, columnName);
+        }
+    }
+
+    private Set<PropertyModel> accessibleProperties(EntityModel model) {
+        final Map<String, PropertyModel> byFieldName = new LinkedHashMap<>();
+        final Set<String> shadowedFields = new HashSet<>();
+        for (PropertyModel property : model.getProperties()) {
+            if (byFieldName.put(property.getFieldName(), property) != null) {
+                shadowedFields.add(property.getFieldName());
+            }
+        }
+        final Set<PropertyModel> accessible = new LinkedHashSet<>();
+        for (PropertyModel property : byFieldName.values()) {
+            if (property.isAccessible() && !shadowedFields.contains(property.getFieldName())) {
+                accessible.add(property);
+            }
+        }
+        return accessible;
+    }
+
+    private String columnList(List<PropertyModel> components) {
+        if (components.isEmpty()) {
+            return "java.util.Collections.<String>emptyList()";
+        }
+        final StringBuilder list = new StringBuilder("java.util.Arrays.asList(");
+        for (int i = 0; i < components.size(); i++) {
+            list.append(i > 0 ? ", " : "").append(literal(components.get(i).getColumnName()));
+        }
+        return list.append(")").toString();
+    }
+
+    static String constantName(String fieldName) {
+        final StringBuilder constant = new StringBuilder();
+        for (int i = 0; i < fieldName.length(); i++) {
+            final char c = fieldName.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(fieldName.charAt(i - 1))
+                    && fieldName.charAt(i - 1) != '_') {
+                constant.append('_');
+            }
+            constant.append(Character.toUpperCase(c));
+        }
+        return constant.toString();
+    }
+
+    static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.processor;
+
+/**
+ * Mapped field of an entity or component of its compound primary key, as seen at compile time
+ */
+public class PropertyModel {
+
+    private final String fieldName;
+
+    private final String columnName;
+
+    private final String typeName;
+
+    private final boolean accessible;
+
+    public PropertyModel(String fieldName, String columnName, String typeName, boolean accessible) {
+        this.fieldName = fieldName;
+        this.columnName = columnName;
+        this.typeName = typeName;
+        this.accessible = accessible;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * CQL column name, null for the @EmbeddedId property which is not a column by itself
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * Erased type of the field, primitive types being boxed
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Whether the field can be read and written directly from the package of the entity
+     */
+    public boolean isAccessible() {
+        return accessible;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.processor;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import info.archinnov.achilles.metamodel.EntityMetamodel;
+import info.archinnov.achilles.metamodel.PropertyAccessor;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.query.slice.GeneratedSliceQuery;
+
+public class EntityProcessorTest {
+
+    private static final String USER = "package sample;\n"
+            + "import info.archinnov.achilles.annotations.*;\n"
+            + "import java.util.List;\n"
+            + "@Entity\n"
+            + "public class User {\n"
+            + "    @Id Long id;\n"
+            + "    @Column(name = \"first_name\") String firstName;\n"
+            + "    @Column int age;\n"
+            + "    @Column List<String> tags;\n"
+            + "    @Column private String secret;\n"
+            + "    @Column String table;\n"
+            + "    public static class Nested {}\n"
+            + "}\n";
+
+    private static final String TIMELINE = "package sample;\n"
+            + "import info.archinnov.achilles.annotations.*;\n"
+            + "@Entity(table = \"user_timeline\")\n"
+            + "public class Timeline {\n"
+            + "    @EmbeddedId TimelineKey id;\n"
+            + "    @Column String content;\n"
+            + "}\n";
+
+    private static final String TIMELINE_KEY = "package sample;\n"
+            + "import info.archinnov.achilles.annotations.*;\n"
+            + "import java.util.Date;\n"
+            + "public class TimelineKey {\n"
+            + "    @PartitionKey @Order(1) Long userId;\n"
+            + "    @Order(3) String author;\n"
+            + "    @Order(2) @Column(name = \"ts\") Date date;\n"
+            + "}\n";
+
+    private static final String OUTER = "package sample;\n"
+            + "import info.archinnov.achilles.annotations.*;\n"
+            + "public class Outer {\n"
+            + "    @Entity(table = \"inner\")\n"
+            + "    public static class Inner {\n"
+            + "        @Id Long id;\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String POST = "package sample;\n"
+            + "import info.archinnov.achilles.annotations.*;\n"
+            + "@Entity\n"
+            + "public class Post {\n"
+            + "    @Id Long id;\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File classesDir;
+
+    private File sourcesDir;
+
+    @Before
+    public void setUp() throws Exception {
+        classesDir = temporaryFolder.newFolder("classes");
+        sourcesDir = temporaryFolder.newFolder("generated-sources");
+    }
+
+    @Test
+    public void should_generate_entity_index() throws Exception {
+        //When
+        compile(source("sample.User", USER), source("sample.Timeline", TIMELINE),
+                source("sample.TimelineKey", TIMELINE_KEY), source("sample.Outer", OUTER));
+
+        //Then
+        assertThat(readIndex()).containsExactly("sample.Outer$Inner", "sample.Timeline", "sample.User");
+    }
+
+    @Test
+    public void should_generate_table_and_column_constants() throws Exception {
+        //When
+        compile(source("sample.User", USER));
+
+        //Then
+        final Class<?> metamodelClass = loadClass("sample.User_");
+        assertThat(metamodelClass.getField("TABLE").get(null)).isEqualTo("User");
+        assertThat(metamodelClass.getField("ID").get(null)).isEqualTo("id");
+        assertThat(metamodelClass.getField("FIRST_NAME").get(null)).isEqualTo("first_name");
+        assertThat(metamodelClass.getField("SECRET").get(null)).isEqualTo("secret");
+        assertThat(metamodelClass.getField("TABLE_").get(null)).isEqualTo("table");
+    }
+
+    @Test
+    public void should_generate_accessors_for_non_private_fields() throws Exception {
+        //Given
+        compile(source("sample.User", USER));
+        final EntityMetamodel<?> metamodel = loadMetamodel("sample.User_");
+        final Object user = metamodel.getEntityClass().newInstance();
+
+        //When
+        metamodel.getAccessor("id").set(user, 10L);
+        metamodel.getAccessor("age").set(user, 33);
+        metamodel.getAccessor("tags").set(user, Arrays.asList("a", "b"));
+
+        //Then
+        assertThat(metamodel.getAccessor("secret")).isNull();
+        assertThat(metamodel.getAccessors().keySet()).containsExactly("id", "firstName", "age", "tags", "table");
+        assertThat(metamodel.getAccessor("id").get(user)).isEqualTo(10L);
+        assertThat(metamodel.getAccessor("age").get(user)).isEqualTo(33);
+        assertThat(metamodel.getAccessor("tags").get(user)).isEqualTo(Arrays.asList("a", "b"));
+    }
+
+    @Test
+    public void should_generate_primary_key_components() throws Exception {
+        //When
+        compile(source("sample.User", USER), source("sample.Timeline", TIMELINE), source("sample.TimelineKey", TIMELINE_KEY));
+
+        //Then
+        final EntityMetamodel<?> userMetamodel = loadMetamodel("sample.User_");
+        assertThat(userMetamodel.getPartitionKeys()).containsExactly("id");
+        assertThat(userMetamodel.getClusteringColumns()).isEmpty();
+
+        final EntityMetamodel<?> timelineMetamodel = loadMetamodel("sample.Timeline_");
+        assertThat(timelineMetamodel.getTableName()).isEqualTo("user_timeline");
+        assertThat(timelineMetamodel.getPartitionKeys()).containsExactly("userId");
+        assertThat(timelineMetamodel.getClusteringColumns()).containsExactly("ts", "author");
+        assertThat(loadClass("sample.Timeline_").getField("DATE").get(null)).isEqualTo("ts");
+
+        final PropertyAccessor idAccessor = timelineMetamodel.getAccessor("id");
+        assertThat(idAccessor).isNotNull();
+    }
+
+    @Test
+    public void should_generate_slice_query_for_clustered_entity() throws Exception {
+        //When
+        compile(source("sample.User", USER), source("sample.Timeline", TIMELINE), source("sample.TimelineKey", TIMELINE_KEY));
+
+        //Then
+        final Class<?> partitionStage = loadClass("sample.Timeline_").getMethod("slice", PersistenceManager.class).getReturnType();
+        final Class<?> fromStage = partitionStage.getMethod("partition", Long.class).getReturnType();
+        final Class<?> toStage = fromStage.getMethod("from", Date.class).getReturnType();
+        final Class<?> endStage = toStage.getMethod("to", Date.class).getReturnType();
+
+        assertThat(partitionStage.getName()).isEqualTo("sample.Timeline_$SlicePartition");
+        assertThat(fromStage.getName()).isEqualTo("sample.Timeline_$SliceFrom");
+        assertThat(toStage.getName()).isEqualTo("sample.Timeline_$SliceTo");
+        assertThat(endStage.getName()).isEqualTo("sample.Timeline_$SliceEnd");
+        assertThat((Object) fromStage.getSuperclass()).isEqualTo(GeneratedSliceQuery.class);
+        assertThat((Object) fromStage.getMethod("from", Date.class, String.class).getReturnType()).isEqualTo(toStage);
+        assertThat((Object) fromStage.getMethod("to", Date.class, String.class).getReturnType()).isEqualTo(endStage);
+        assertThat((Object) endStage.getMethod("get").getReturnType()).isEqualTo(List.class);
+
+        boolean userSlice = false;
+        for (Method method : loadClass("sample.User_").getMethods()) {
+            userSlice |= method.getName().equals("slice");
+        }
+        assertThat(userSlice).isFalse();
+    }
+
+    @Test
+    public void should_not_generate_metamodel_for_nested_entity() throws Exception {
+        //When
+        compile(source("sample.Outer", OUTER));
+
+        //Then
+        assertThat(new File(sourcesDir, "sample/Outer_.java")).doesNotExist();
+        assertThat(new File(sourcesDir, "sample/Inner_.java")).doesNotExist();
+        assertThat(readIndex()).containsExactly("sample.Outer$Inner");
+    }
+
+    @Test
+    public void should_merge_previous_index_on_incremental_compilation() throws Exception {
+        //Given
+        compile(source("sample.User", USER), source("sample.Outer", OUTER));
+
+        //When
+        compile(source("sample.Post", POST));
+
+        //Then
+        assertThat(readIndex()).containsExactly("sample.Outer$Inner", "sample.Post", "sample.User");
+    }
+
+    private void compile(JavaFileObject... sources) throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final List<String> options = new ArrayList<>(Arrays.asList("-d", classesDir.getPath(), "-s", sourcesDir.getPath(),
+                    "-classpath", System.getProperty("java.class.path") + File.pathSeparator + classesDir.getPath()));
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, Arrays.asList(sources));
+            task.setProcessors(Arrays.asList(new EntityProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+    }
+
+    private List<String> readIndex() throws Exception {
+        final List<String> entityClassNames = new ArrayList<>();
+        for (String line : Files.readAllLines(new File(classesDir, EntityProcessor.INDEX_RESOURCE).toPath(), StandardCharsets.UTF_8)) {
+            if (!line.startsWith("#")) {
+                entityClassNames.add(line);
+            }
+        }
+        return entityClassNames;
+    }
+
+    private Class<?> loadClass(String className) throws Exception {
+        final URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toURI().toURL() }, getClass().getClassLoader());
+        return Class.forName(className, true, classLoader);
+    }
+
+    private EntityMetamodel<?> loadMetamodel(String className) throws Exception {
+        return (EntityMetamodel<?>) loadClass(className).getField(EntityMetamodel.INSTANCE_FIELD).get(null);
+    }
+
+    private JavaFileObject source(String className, final String content) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.processor;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class MetamodelSourceWriterTest {
+
+    @Test
+    public void should_derive_constant_name_from_field_name() throws Exception {
+        assertThat(MetamodelSourceWriter.constantName("name")).isEqualTo("NAME");
+        assertThat(MetamodelSourceWriter.constantName("firstName")).isEqualTo("FIRST_NAME");
+        assertThat(MetamodelSourceWriter.constantName("userID")).isEqualTo("USER_ID");
+        assertThat(MetamodelSourceWriter.constantName("user_name")).isEqualTo("USER_NAME");
+    }
+
+    @Test
+    public void should_write_source_without_generated_annotation() throws Exception {
+        //Given
+        EntityModel model = new EntityModel("", "Bean", "bean");
+        PropertyModel id = new PropertyModel("id", "id", "java.lang.Long", true);
+        model.addProperty(id);
+        model.addPartitionComponent(id);
+        model.addProperty(new PropertyModel("label", "bean \"label\"", "java.lang.String", false));
+
+        //When
+        String source = new MetamodelSourceWriter(null, false).write(model);
+
+        //Then
+        assertThat(source).doesNotContain("package ").doesNotContain("@Generated")
+                .contains("public final class Bean_ extends info.archinnov.achilles.metamodel.EntityMetamodel<Bean>")
+                .contains("super(Bean.class, TABLE, java.util.Arrays.asList(\"id\"), java.util.Collections.<String>emptyList());")
+                .contains("public static final String LABEL = \"bean \\\"label\\\"\";")
+                .contains("((Bean) entity).id = (java.lang.Long) value;")
+                .doesNotContain("((Bean) entity).label");
+    }
+
+    @Test
+    public void should_write_slice_query_for_clustered_entity() throws Exception {
+        //Given
+        EntityModel model = new EntityModel("sample", "Rating", "rating");
+        model.addProperty(new PropertyModel("id", null, "sample.RatingKey", true));
+        model.addPartitionComponent(new PropertyModel("articleId", "article_id", "java.lang.Long", true));
+        model.addClusteringComponent(new PropertyModel("rate", "rate", "java.lang.Integer", true));
+        model.addClusteringComponent(new PropertyModel("date", "date", "java.util.Date", true));
+
+        //When
+        String source = new MetamodelSourceWriter(null, true).write(model);
+
+        //Then
+        assertThat(source)
+                .contains("public static SlicePartition slice(info.archinnov.achilles.persistence.PersistenceManager manager) {")
+                .contains("return new SlicePartition(manager.sliceQuery(Rating.class));")
+                .contains("public SliceFrom partition(java.lang.Long articleId) {")
+                .contains("public static final class SliceFrom extends info.archinnov.achilles.query.slice.GeneratedSliceQuery<Rating, SliceFrom> {")
+                .contains("public SliceTo from(java.lang.Integer rate, java.util.Date date) {")
+                .contains("public SliceEnd to(java.lang.Integer rate) {")
+                .contains("private SliceEnd(info.archinnov.achilles.query.slice.GeneratedSliceQuery<Rating, ?> previousStage) {");
+    }
+
+    @Test
+    public void should_not_write_slice_query_when_disabled() throws Exception {
+        //Given
+        EntityModel model = new EntityModel("sample", "Rating", "rating");
+        model.addPartitionComponent(new PropertyModel("articleId", "article_id", "java.lang.Long", true));
+        model.addClusteringComponent(new PropertyModel("rate", "rate", "java.lang.Integer", true));
+
+        //When
+        String source = new MetamodelSourceWriter(null, false).write(model);
+
+        //Then
+        assertThat(source).doesNotContain("slice(").doesNotContain("GeneratedSliceQuery");
+    }
+}
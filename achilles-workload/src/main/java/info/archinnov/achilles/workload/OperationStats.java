@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies and error count of one operation type over a workload phase
+ */
+public class OperationStats {
+
+    private final String operation;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+
+    public OperationStats(String operation) {
+        this.operation = operation;
+    }
+
+    public void recordSuccess(long latencyMicros) {
+        latencies.record(latencyMicros);
+    }
+
+    public void recordError() {
+        errors.incrementAndGet();
+    }
+
+    public void add(OperationStats other) {
+        latencies.add(other.latencies);
+        errors.addAndGet(other.errors.get());
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+}
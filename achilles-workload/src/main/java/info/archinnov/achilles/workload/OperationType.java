@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload;
+
+import static info.archinnov.achilles.internal.validation.Validator.validateTrue;
+import java.util.EnumMap;
+import java.util.Map;
+
+public enum OperationType {
+
+    /**
+     * find() of a user account by its id
+     */
+    READ,
+
+    /**
+     * insert() of a new event into an existing user partition
+     */
+    INSERT,
+
+    /**
+     * update() of a proxy after changing two of its fields, only dirty fields are written
+     */
+    UPDATE,
+
+    /**
+     * slice query over the events of a user partition, limited to the slice size
+     */
+    SLICE,
+
+    /**
+     * increment of a counter column through update()
+     */
+    COUNTER,
+
+    /**
+     * logged batch inserting several events into the same user partition
+     */
+    BATCH;
+
+    public String label() {
+        return name().toLowerCase();
+    }
+
+    public static OperationType fromLabel(String label) {
+        for (OperationType type : values()) {
+            if (type.label().equals(label.trim().toLowerCase())) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation type '" + label + "'");
+    }
+
+    /**
+     * Parse a workload mix of the form <em>read=50,insert=20,update=10</em>. Missing operation types get a weight of 0
+     */
+    public static Map<OperationType, Integer> parseMix(String mix) {
+        final Map<OperationType, Integer> weights = new EnumMap<>(OperationType.class);
+        int total = 0;
+        for (String entry : mix.split(",")) {
+            final String[] keyValue = entry.split("=");
+            validateTrue(keyValue.length == 2, "Invalid workload mix entry '%s', expected <operation>=<weight>", entry);
+            final int weight = Integer.parseInt(keyValue[1].trim());
+            validateTrue(weight >= 0, "Weight of operation '%s' should be positive", keyValue[0]);
+            weights.put(fromLabel(keyValue[0]), weight);
+            total += weight;
+        }
+        validateTrue(total > 0, "The workload mix '%s' should have at least one operation with a positive weight", mix);
+        for (OperationType type : values()) {
+            if (!weights.containsKey(type)) {
+                weights.put(type, 0);
+            }
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload;
+
+import static info.archinnov.achilles.internal.validation.Validator.validateTrue;
+import java.util.Map;
+
+/**
+ * Settings of a workload run, parsed from <em>--name value</em> command line arguments
+ */
+public class WorkloadConfig {
+
+    public static final String DEFAULT_MIX = "read=50,insert=15,update=15,slice=10,counter=5,batch=5";
+
+    public static final String USAGE = "Options:\n"
+            + "  --threads <n>          worker threads, default 8\n"
+            + "  --rate <ops/s>         target throughput across all threads, 0 for unthrottled, default 0\n"
+            + "  --duration <s>         measured duration in seconds, default 60\n"
+            + "  --warmup <s>           warmup duration in seconds, not reported, default 10\n"
+            + "  --records <n>          user accounts loaded before the run, default 10000\n"
+            + "  --mix <mix>            operation weights, default " + DEFAULT_MIX + "\n"
+            + "  --slice-size <n>       events fetched by a slice query, default 20\n"
+            + "  --batch-size <n>       events inserted by a batch, default 5\n"
+            + "  --keyspace <name>      keyspace of the embedded node, default achilles_workload\n"
+            + "  --data-folder <path>   data folder of the embedded node, default target/cassandra_workload\n"
+            + "  --output <basename>    report files <basename>.csv and <basename>.json, default workload-results\n";
+
+    private int threads = 8;
+    private int targetRate = 0;
+    private int durationSeconds = 60;
+    private int warmupSeconds = 10;
+    private int records = 10000;
+    private Map<OperationType, Integer> mix = OperationType.parseMix(DEFAULT_MIX);
+    private int sliceSize = 20;
+    private int batchSize = 5;
+    private String keyspace = "achilles_workload";
+    private String dataFolder = "target/cassandra_workload";
+    private String output = "workload-results";
+
+    public static WorkloadConfig parse(String... args) {
+        validateTrue(args.length % 2 == 0, "Options should be given as '--name value' pairs");
+        final WorkloadConfig config = new WorkloadConfig();
+        for (int i = 0; i < args.length; i += 2) {
+            final String name = args[i];
+            final String value = args[i + 1];
+            switch (name) {
+                case "--threads":
+                    config.threads = parsePositive(name, value);
+                    break;
+                case "--rate":
+                    config.targetRate = Integer.parseInt(value);
+                    validateTrue(config.targetRate >= 0, "Option '%s' should be positive or 0", name);
+                    break;
+                case "--duration":
+                    config.durationSeconds = parsePositive(name, value);
+                    break;
+                case "--warmup":
+                    config.warmupSeconds = Integer.parseInt(value);
+                    validateTrue(config.warmupSeconds >= 0, "Option '%s' should be positive or 0", name);
+                    break;
+                case "--records":
+                    config.records = parsePositive(name, value);
+                    break;
+                case "--mix":
+                    config.mix = OperationType.parseMix(value);
+                    break;
+                case "--slice-size":
+                    config.sliceSize = parsePositive(name, value);
+                    break;
+                case "--batch-size":
+                    config.batchSize = parsePositive(name, value);
+                    break;
+                case "--keyspace":
+                    config.keyspace = value;
+                    break;
+                case "--data-folder":
+                    config.dataFolder = value;
+                    break;
+                case "--output":
+                    config.output = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option '" + name + "'\n" + USAGE);
+            }
+        }
+        return config;
+    }
+
+    private static int parsePositive(String name, String value) {
+        final int parsed = Integer.parseInt(value);
+        validateTrue(parsed > 0, "Option '%s' should be strictly positive", name);
+        return parsed;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getTargetRate() {
+        return targetRate;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getRecords() {
+        return records;
+    }
+
+    public Map<OperationType, Integer> getMix() {
+        return mix;
+    }
+
+    public int getSliceSize() {
+        return sliceSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public String getKeyspace() {
+        return keyspace;
+    }
+
+    public String getDataFolder() {
+        return dataFolder;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+}
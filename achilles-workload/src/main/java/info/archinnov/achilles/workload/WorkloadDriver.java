@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs the configured operation mix on a fixed number of threads for a warmup and a measured phase.
+ * <br/>
+ * <br/>
+ * When a target rate is set, each thread is paced to <em>rate / threads</em> operations per second and
+ * latencies are measured from the time an operation <strong>should</strong> have started. A stalled
+ * operation thus accounts for the operations queued behind it instead of hiding them (coordinated omission)
+ */
+public class WorkloadDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadDriver.class);
+
+    private final WorkloadConfig config;
+    private final WorkloadOperations operations;
+    private final OperationType[] weightedTypes;
+
+    private volatile Map<OperationType, OperationStats> currentStats;
+    private volatile boolean running;
+
+    public WorkloadDriver(WorkloadConfig config, WorkloadOperations operations) {
+        this.config = config;
+        this.operations = operations;
+        this.weightedTypes = expandWeights(config.getMix());
+    }
+
+    /**
+     * @return stats of the measured phase per operation type, for types with a non zero weight
+     */
+    public Map<OperationType, OperationStats> run() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(config.getThreads(),
+                new ThreadFactoryBuilder().setNameFormat("workload-%d").setDaemon(true).build());
+        running = true;
+        currentStats = newStats();
+        for (int i = 0; i < config.getThreads(); i++) {
+            executor.submit(new Worker());
+        }
+
+        if (config.getWarmupSeconds() > 0) {
+            log.info("Warming up for {} seconds", config.getWarmupSeconds());
+            SECONDS.sleep(config.getWarmupSeconds());
+        }
+
+        log.info("Measuring for {} seconds", config.getDurationSeconds());
+        final Map<OperationType, OperationStats> measured = newStats();
+        currentStats = measured;
+        SECONDS.sleep(config.getDurationSeconds());
+
+        running = false;
+        executor.shutdown();
+        executor.awaitTermination(30, SECONDS);
+        return measured;
+    }
+
+    private Map<OperationType, OperationStats> newStats() {
+        final Map<OperationType, OperationStats> stats = new EnumMap<>(OperationType.class);
+        for (Map.Entry<OperationType, Integer> entry : config.getMix().entrySet()) {
+            if (entry.getValue() > 0) {
+                stats.put(entry.getKey(), new OperationStats(entry.getKey().label()));
+            }
+        }
+        return stats;
+    }
+
+    private static OperationType[] expandWeights(Map<OperationType, Integer> mix) {
+        final List<OperationType> types = new ArrayList<>();
+        for (Map.Entry<OperationType, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                types.add(entry.getKey());
+            }
+        }
+        return types.toArray(new OperationType[types.size()]);
+    }
+
+    private class Worker implements Runnable {
+
+        @Override
+        public void run() {
+            final long intervalNanos = config.getTargetRate() > 0 ? SECONDS.toNanos(config.getThreads()) / config.getTargetRate() : 0;
+            long intendedStart = System.nanoTime();
+            while (running) {
+                final long start;
+                if (intervalNanos > 0) {
+                    final long waitNanos = intendedStart - System.nanoTime();
+                    if (waitNanos > 0) {
+                        LockSupport.parkNanos(waitNanos);
+                    }
+                    start = intendedStart;
+                    intendedStart += intervalNanos;
+                } else {
+                    start = System.nanoTime();
+                }
+
+                final OperationType type = weightedTypes[ThreadLocalRandom.current().nextInt(weightedTypes.length)];
+                final OperationStats stats = currentStats.get(type);
+                try {
+                    operations.execute(type);
+                    stats.recordSuccess(NANOSECONDS.toMicros(System.nanoTime() - start));
+                } catch (RuntimeException e) {
+                    log.debug("Operation {} failed", type, e);
+                    stats.recordError();
+                }
+            }
+        }
+    }
+}
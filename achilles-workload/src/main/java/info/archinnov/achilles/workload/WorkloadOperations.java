@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.utils.UUIDs;
+import info.archinnov.achilles.persistence.Batch;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.workload.entity.PageViews;
+import info.archinnov.achilles.workload.entity.UserAccount;
+import info.archinnov.achilles.workload.entity.UserEvent;
+import info.archinnov.achilles.workload.entity.UserEvent.EventKey;
+
+/**
+ * Executes each {@link OperationType} through the PersistenceManager on keys chosen uniformly among the loaded records
+ */
+public class WorkloadOperations {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadOperations.class);
+
+    private static final String[] EVENT_TYPES = { "login", "logout", "view", "click", "purchase" };
+
+    private final PersistenceManager manager;
+    private final WorkloadConfig config;
+
+    public WorkloadOperations(PersistenceManager manager, WorkloadConfig config) {
+        this.manager = manager;
+        this.config = config;
+    }
+
+    /**
+     * Insert one user account and one event per record, so that reads, updates and slices hit existing data
+     */
+    public void load() {
+        log.info("Loading {} user accounts", config.getRecords());
+        for (long id = 0; id < config.getRecords(); id++) {
+            manager.insertRaw(newUser(id));
+            manager.insertRaw(newEvent(id));
+        }
+    }
+
+    public Object execute(OperationType type) {
+        switch (type) {
+            case READ:
+                return manager.find(UserAccount.class, randomId());
+            case INSERT:
+                manager.insertRaw(newEvent(randomId()));
+                return null;
+            case UPDATE:
+                final UserAccount user = manager.getProxy(UserAccount.class, randomId());
+                user.setAge(ThreadLocalRandom.current().nextInt(18, 100));
+                user.setLastLogin(new Date());
+                manager.update(user);
+                return user;
+            case SLICE:
+                final List<UserEvent> events = manager.sliceQuery(UserEvent.class).forSelect()
+                        .withPartitionComponents(randomId()).get(config.getSliceSize());
+                return events;
+            case COUNTER:
+                final PageViews pageViews = manager.getProxy(PageViews.class, randomId());
+                pageViews.getViews().incr();
+                manager.update(pageViews);
+                return pageViews;
+            case BATCH:
+                final long userId = randomId();
+                final Batch batch = manager.createBatch();
+                batch.startBatch();
+                for (int i = 0; i < config.getBatchSize(); i++) {
+                    batch.insertRaw(newEvent(userId));
+                }
+                batch.endBatch();
+                return null;
+            default:
+                throw new IllegalStateException("Unsupported operation type " + type);
+        }
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(config.getRecords());
+    }
+
+    private UserAccount newUser(long id) {
+        return new UserAccount(id, "user" + id, "user" + id + "@achilles.info", 18 + (int) (id % 80), new Date());
+    }
+
+    private UserEvent newEvent(long userId) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UserEvent(new EventKey(userId, UUIDs.timeBased()), EVENT_TYPES[random.nextInt(EVENT_TYPES.length)],
+                "payload-" + random.nextLong());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Throughput and latency percentiles per operation type, plus an <em>all</em> row aggregating every operation.
+ * <br/>
+ * Latencies are expressed in microseconds
+ */
+public class WorkloadReport {
+
+    static final String ALL = "all";
+    static final String[] COLUMNS = { "operation", "count", "errors", "throughput", "mean", "p50", "p95", "p99", "p999", "max" };
+
+    private final WorkloadConfig config;
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+
+    public WorkloadReport(WorkloadConfig config, Map<OperationType, OperationStats> stats) {
+        this.config = config;
+        final OperationStats all = new OperationStats(ALL);
+        for (OperationStats operationStats : stats.values()) {
+            rows.add(toRow(operationStats));
+            all.add(operationStats);
+        }
+        rows.add(toRow(all));
+    }
+
+    private Map<String, Object> toRow(OperationStats stats) {
+        final LatencyHistogram latencies = stats.getLatencies();
+        final Map<String, Object> row = new LinkedHashMap<>();
+        row.put("operation", stats.getOperation());
+        row.put("count", latencies.getCount());
+        row.put("errors", stats.getErrors());
+        row.put("throughput", round((double) latencies.getCount() / config.getDurationSeconds()));
+        row.put("mean", round(latencies.getMean()));
+        row.put("p50", latencies.getValueAtPercentile(50));
+        row.put("p95", latencies.getValueAtPercentile(95));
+        row.put("p99", latencies.getValueAtPercentile(99));
+        row.put("p999", latencies.getValueAtPercentile(99.9));
+        row.put("max", latencies.getMax());
+        return row;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    public List<Map<String, Object>> getRows() {
+        return rows;
+    }
+
+    public String toCsv() {
+        final StringBuilder csv = new StringBuilder();
+        appendCsvLine(csv, COLUMNS);
+        for (Map<String, Object> row : rows) {
+            appendCsvLine(csv, row.values().toArray());
+        }
+        return csv.toString();
+    }
+
+    public String toJson() throws IOException {
+        final Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("threads", config.getThreads());
+        settings.put("targetRate", config.getTargetRate());
+        settings.put("durationSeconds", config.getDurationSeconds());
+        settings.put("warmupSeconds", config.getWarmupSeconds());
+        settings.put("records", config.getRecords());
+        final Map<String, Integer> mix = new LinkedHashMap<>();
+        for (Map.Entry<OperationType, Integer> entry : config.getMix().entrySet()) {
+            mix.put(entry.getKey().label(), entry.getValue());
+        }
+        settings.put("mix", mix);
+        settings.put("sliceSize", config.getSliceSize());
+        settings.put("batchSize", config.getBatchSize());
+
+        final Map<String, Object> document = new LinkedHashMap<>();
+        document.put("config", settings);
+        document.put("latencyUnit", "microseconds");
+        document.put("operations", rows);
+        return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(document);
+    }
+
+    public String toText() {
+        final StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ENGLISH, "%-10s %10s %8s %12s %10s %10s %10s %10s %10s %10s%n", (Object[]) COLUMNS));
+        for (Map<String, Object> row : rows) {
+            text.append(String.format(Locale.ENGLISH, "%-10s %10d %8d %12.2f %10.2f %10d %10d %10d %10d %10d%n", row.values().toArray()));
+        }
+        return text.toString();
+    }
+
+    public void write(String basename) throws IOException {
+        writeFile(new File(basename + ".csv"), toCsv());
+        writeFile(new File(basename + ".json"), toJson());
+    }
+
+    private static void writeFile(File file, String content) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+            writer.print(content);
+        }
+    }
+
+    private static void appendCsvLine(StringBuilder csv, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            csv.append(values[i]);
+        }
+        csv.append('\n');
+    }
+}
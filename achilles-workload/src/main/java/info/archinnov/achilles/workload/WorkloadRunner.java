@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload;
+
+import java.io.File;
+import java.util.Map;
+import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.workload.entity.PageViews;
+import info.archinnov.achilles.workload.entity.UserAccount;
+import info.archinnov.achilles.workload.entity.UserEvent;
+
+/**
+ * Entry point of the workload jar: start an embedded Cassandra node, load the records,
+ * run the operation mix then print and write the report.
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ *   java -jar workload.jar --threads 16 --rate 5000 --duration 120 --mix read=80,update=20
+ * </code></pre>
+ */
+public class WorkloadRunner {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && ("--help".equals(args[0]) || "-h".equals(args[0]))) {
+            System.out.println(WorkloadConfig.USAGE);
+            return;
+        }
+        final WorkloadConfig config = WorkloadConfig.parse(args);
+
+        final PersistenceManager manager = CassandraEmbeddedServerBuilder
+                .withEntities(UserAccount.class, UserEvent.class, PageViews.class)
+                .withKeyspaceName(config.getKeyspace())
+                .withDataFolder(folder(config, "data"))
+                .withCommitLogFolder(folder(config, "commitlog"))
+                .withSavedCachesFolder(folder(config, "saved_caches"))
+                .cleanDataFilesAtStartup(true)
+                .buildPersistenceManager();
+
+        final WorkloadOperations operations = new WorkloadOperations(manager, config);
+        operations.load();
+
+        final Map<OperationType, OperationStats> stats = new WorkloadDriver(config, operations).run();
+        final WorkloadReport report = new WorkloadReport(config, stats);
+        System.out.print(report.toText());
+        report.write(config.getOutput());
+        System.exit(0);
+    }
+
+    private static String folder(WorkloadConfig config, String name) {
+        final File folder = new File(config.getDataFolder(), name);
+        folder.mkdirs();
+        return folder.getPath();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload.entity;
+
+import java.util.UUID;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.EmbeddedId;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Order;
+import info.archinnov.achilles.annotations.TimeUUID;
+
+@Entity(table = UserEvent.TABLE_NAME)
+public class UserEvent {
+
+    public static final String TABLE_NAME = "user_event";
+
+    @EmbeddedId
+    private EventKey id;
+
+    @Column
+    private String type;
+
+    @Column
+    private String payload;
+
+    public UserEvent() {
+    }
+
+    public UserEvent(EventKey id, String type, String payload) {
+        this.id = id;
+        this.type = type;
+        this.payload = payload;
+    }
+
+    public EventKey getId() {
+        return id;
+    }
+
+    public void setId(EventKey id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public static class EventKey {
+
+        @Column
+        @Order(1)
+        private Long userId;
+
+        @Column
+        @Order(2)
+        @TimeUUID
+        private UUID eventId;
+
+        public EventKey() {
+        }
+
+        public EventKey(Long userId, UUID eventId) {
+            this.userId = userId;
+            this.eventId = eventId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public UUID getEventId() {
+            return eventId;
+        }
+
+        public void setEventId(UUID eventId) {
+            this.eventId = eventId;
+        }
+    }
+}
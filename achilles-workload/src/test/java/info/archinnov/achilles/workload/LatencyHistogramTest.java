@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void should_record_small_values_exactly() throws Exception {
+        for (long value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(10L);
+        assertThat(histogram.getMax()).isEqualTo(10L);
+        assertThat(histogram.getMean()).isEqualTo(5.5);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(5L);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10L);
+    }
+
+    @Test
+    public void should_bound_percentile_error_for_large_values() throws Exception {
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+
+        final long p99 = histogram.getValueAtPercentile(99);
+        assertThat(p99).isGreaterThanOrEqualTo(99000L);
+        assertThat(p99).isLessThanOrEqualTo((long) (99000 * 1.0625));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100000L);
+    }
+
+    @Test
+    public void should_map_every_value_to_a_bucket_containing_it() throws Exception {
+        for (long value : new long[] { 0, 31, 32, 33, 1000, 123456789L, Long.MAX_VALUE }) {
+            final int index = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void should_merge_histograms() throws Exception {
+        final LatencyHistogram other = new LatencyHistogram();
+        histogram.record(10);
+        other.record(20);
+        other.record(30);
+
+        histogram.add(other);
+
+        assertThat(histogram.getCount()).isEqualTo(3L);
+        assertThat(histogram.getMax()).isEqualTo(30L);
+        assertThat(histogram.getMean()).isEqualTo(20.0);
+    }
+
+    @Test
+    public void should_return_zero_when_empty() throws Exception {
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(0L);
+        assertThat(histogram.getMean()).isEqualTo(0.0);
+    }
+}
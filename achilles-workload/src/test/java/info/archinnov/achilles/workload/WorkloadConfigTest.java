@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.workload;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import org.junit.Test;
+import info.archinnov.achilles.exception.AchillesException;
+
+public class WorkloadConfigTest {
+
+    @Test
+    public void should_use_defaults() throws Exception {
+        final WorkloadConfig config = WorkloadConfig.parse();
+
+        assertThat(config.getThreads()).isEqualTo(8);
+        assertThat(config.getTargetRate()).isEqualTo(0);
+        assertThat(config.getMix().get(OperationType.READ)).isEqualTo(50);
+        assertThat(config.getOutput()).isEqualTo("workload-results");
+    }
+
+    @Test
+    public void should_parse_options() throws Exception {
+        final WorkloadConfig config = WorkloadConfig.parse("--threads", "16", "--rate", "5000", "--duration", "30",
+                "--mix", "read=80, UPDATE=20", "--output", "target/run1");
+
+        assertThat(config.getThreads()).isEqualTo(16);
+        assertThat(config.getTargetRate()).isEqualTo(5000);
+        assertThat(config.getDurationSeconds()).isEqualTo(30);
+        assertThat(config.getMix().get(OperationType.READ)).isEqualTo(80);
+        assertThat(config.getMix().get(OperationType.UPDATE)).isEqualTo(20);
+        assertThat(config.getMix().get(OperationType.BATCH)).isEqualTo(0);
+        assertThat(config.getOutput()).isEqualTo("target/run1");
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_exception_when_mix_has_no_positive_weight() throws Exception {
+        WorkloadConfig.parse("--mix", "read=0,insert=0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_exception_when_unknown_option() throws Exception {
+        WorkloadConfig.parse("--unknown", "1");
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_exception_when_thread_count_not_positive() throws Exception {
+        WorkloadConfig.parse("--threads", "0");
+    }
+}
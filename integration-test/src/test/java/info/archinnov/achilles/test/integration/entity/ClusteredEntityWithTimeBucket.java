@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.test.integration.entity;
+
+import static info.archinnov.achilles.test.integration.entity.ClusteredEntityWithTimeBucket.TABLE_NAME;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.EmbeddedId;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Order;
+import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.TimeBucket;
+
+@Entity(table = TABLE_NAME)
+public class ClusteredEntityWithTimeBucket {
+
+    public static final String TABLE_NAME = "clustered_with_time_bucket";
+
+    @EmbeddedId
+    private ClusteredKey id;
+
+    @Column
+    private String value;
+
+    public ClusteredEntityWithTimeBucket() {
+    }
+
+    public ClusteredEntityWithTimeBucket(Long sensorId, Date time, String value) {
+        this.id = new ClusteredKey(sensorId, time);
+        this.value = value;
+    }
+
+    public ClusteredKey getId() {
+        return id;
+    }
+
+    public void setId(ClusteredKey id) {
+        this.id = id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public static class ClusteredKey {
+        @PartitionKey
+        @Column(name = "sensor_id")
+        @Order(1)
+        private Long sensorId;
+
+        @PartitionKey
+        @TimeBucket(source = "time", unit = TimeUnit.HOURS)
+        @Column
+        @Order(2)
+        private Long bucket;
+
+        @Column
+        @Order(3)
+        private Date time;
+
+        public ClusteredKey() {
+        }
+
+        public ClusteredKey(Long sensorId, Date time) {
+            this.sensorId = sensorId;
+            this.time = time;
+        }
+
+        public Long getSensorId() {
+            return sensorId;
+        }
+
+        public void setSensorId(Long sensorId) {
+            this.sensorId = sensorId;
+        }
+
+        public Long getBucket() {
+            return bucket;
+        }
+
+        public void setBucket(Long bucket) {
+            this.bucket = bucket;
+        }
+
+        public Date getTime() {
+            return time;
+        }
+
+        public void setTime(Date time) {
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.test.integration.entity;
+
+import static info.archinnov.achilles.test.integration.entity.EntityWithChunkedProperty.TABLE_NAME;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import info.archinnov.achilles.annotations.Chunked;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+
+@Entity(table = TABLE_NAME)
+public class EntityWithChunkedProperty {
+
+    public static final String TABLE_NAME = "entity_with_chunked_property";
+
+    @Id
+    private Long id;
+
+    @Column
+    private String name;
+
+    @Column
+    @Chunked(chunkSize = 1024)
+    private InputStream document;
+
+    @Column
+    @Chunked(chunkSize = 512, concurrency = 2)
+    private ReadableByteChannel attachment;
+
+    public EntityWithChunkedProperty() {
+    }
+
+    public EntityWithChunkedProperty(Long id, String name, InputStream document) {
+        this.id = id;
+        this.name = name;
+        this.document = document;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public InputStream getDocument() {
+        return document;
+    }
+
+    public void setDocument(InputStream document) {
+        this.document = document;
+    }
+
+    public ReadableByteChannel getAttachment() {
+        return attachment;
+    }
+
+    public void setAttachment(ReadableByteChannel attachment) {
+        this.attachment = attachment;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.test.integration.entity;
+
+import static info.archinnov.achilles.test.integration.entity.EntityWithShardedCounter.TABLE_NAME;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.annotations.ShardedCounter;
+import info.archinnov.achilles.type.Counter;
+
+@Entity(table = TABLE_NAME)
+public class EntityWithShardedCounter {
+
+    public static final String TABLE_NAME = "entity_with_sharded_counter";
+
+    @Id
+    private Long id;
+
+    @Column
+    private String name;
+
+    @Column
+    @ShardedCounter(shards = 8)
+    private Counter hits;
+
+    @Column
+    private Counter likes;
+
+    public EntityWithShardedCounter() {
+    }
+
+    public EntityWithShardedCounter(Long id, String name, Counter hits) {
+        this.id = id;
+        this.name = name;
+        this.hits = hits;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Counter getHits() {
+        return hits;
+    }
+
+    public void setHits(Counter hits) {
+        this.hits = hits;
+    }
+
+    public Counter getLikes() {
+        return likes;
+    }
+
+    public void setLikes(Counter likes) {
+        this.likes = likes;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.test.integration.entity.EntityWithBinaryProperty.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.nio.ByteBuffer;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.EntityWithBinaryProperty;
+import info.archinnov.achilles.test.integration.entity.User;
+
+public class BinaryPropertyIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME);
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_persist_and_find_binary_property() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        User user = new User(RandomUtils.nextLong(), "John", "DOO");
+
+        //When
+        manager.insert(new EntityWithBinaryProperty(id, user));
+
+        //Then
+        EntityWithBinaryProperty found = manager.find(EntityWithBinaryProperty.class, id);
+        assertThat(found.getUser()).isEqualTo(user);
+
+        Row row = session.execute("SELECT user FROM " + TABLE_NAME + " WHERE id=" + id).one();
+        assertThat(row.getColumnDefinitions().getType("user")).isEqualTo(DataType.blob());
+        ByteBuffer bytes = row.getBytes("user");
+        assertThat(bytes.get(bytes.position())).isEqualTo((byte) ':');
+    }
+
+    @Test
+    public void should_update_binary_property() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        EntityWithBinaryProperty entity = manager.insert(new EntityWithBinaryProperty(id, new User(1L, "John", "DOO")));
+        User newUser = new User(2L, "Helen", "SUE");
+
+        //When
+        entity.setUser(newUser);
+        manager.update(entity);
+
+        //Then
+        assertThat(manager.find(EntityWithBinaryProperty.class, id).getUser()).isEqualTo(newUser);
+    }
+
+    @Test
+    public void should_read_legacy_json_text_from_blob_column() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        session.execute("INSERT INTO " + TABLE_NAME + "(id,user) VALUES(" + id
+                + ",textAsBlob('{\"id\":10,\"firstname\":\"John\",\"lastname\":\"DOO\"}'))");
+
+        //When
+        EntityWithBinaryProperty found = manager.find(EntityWithBinaryProperty.class, id);
+
+        //Then
+        assertThat(found.getUser()).isEqualTo(new User(10L, "John", "DOO"));
+    }
+}
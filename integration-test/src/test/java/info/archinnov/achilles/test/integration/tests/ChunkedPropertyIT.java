@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.test.integration.entity.EntityWithChunkedProperty.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Random;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.chunk.AchillesChunk;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.Batch;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.EntityWithChunkedProperty;
+
+public class ChunkedPropertyIT {
+
+    @Rule
+    public ExpectedException expectedEx = ExpectedException.none();
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME,
+            AchillesChunk.CQL_CHUNK_TABLE);
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_persist_and_stream_chunked_property() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        byte[] document = randomBytes(10 * 1024 + 100);
+
+        //When
+        manager.insert(new EntityWithChunkedProperty(id, "report", new ByteArrayInputStream(document)));
+
+        //Then
+        EntityWithChunkedProperty found = manager.find(EntityWithChunkedProperty.class, id);
+        assertThat(found.getName()).isEqualTo("report");
+        assertThat(IOUtils.toByteArray(found.getDocument())).isEqualTo(document);
+        assertThat(countChunks(id, "document")).isEqualTo(11);
+    }
+
+    @Test
+    public void should_replace_chunks_without_leaving_stale_ones() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        EntityWithChunkedProperty entity = manager.insert(new EntityWithChunkedProperty(id, "report",
+                new ByteArrayInputStream(randomBytes(5000))));
+        byte[] shorter = randomBytes(1500);
+
+        //When
+        entity.setDocument(new ByteArrayInputStream(shorter));
+        manager.update(entity);
+
+        //Then
+        assertThat(IOUtils.toByteArray(entity.getDocument())).isEqualTo(shorter);
+        assertThat(countChunks(id, "document")).isEqualTo(2);
+    }
+
+    @Test
+    public void should_remove_chunks_when_setting_null_or_removing_entity() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        EntityWithChunkedProperty entity = manager.insert(new EntityWithChunkedProperty(id, "report",
+                new ByteArrayInputStream(randomBytes(3000))));
+        entity.setAttachment(Channels.newChannel(new ByteArrayInputStream(randomBytes(1200))));
+        manager.update(entity);
+        assertThat(countChunks(id, "attachment")).isEqualTo(3);
+
+        //When
+        entity.setDocument(null);
+        manager.update(entity);
+
+        //Then
+        assertThat(manager.find(EntityWithChunkedProperty.class, id).getDocument()).isNull();
+        assertThat(countChunks(id, "document")).isEqualTo(0);
+
+        //When
+        manager.remove(entity);
+
+        //Then
+        assertThat(countChunks(id, "attachment")).isEqualTo(0);
+    }
+
+    @Test
+    public void should_stream_chunked_channel() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        byte[] attachment = randomBytes(2000);
+        EntityWithChunkedProperty entity = new EntityWithChunkedProperty(id, "report", null);
+        entity.setAttachment(Channels.newChannel(new ByteArrayInputStream(attachment)));
+
+        //When
+        manager.insert(entity);
+
+        //Then
+        EntityWithChunkedProperty found = manager.find(EntityWithChunkedProperty.class, id);
+        assertThat(found.getDocument()).isNull();
+        assertThat(IOUtils.toByteArray(Channels.newInputStream(found.getAttachment()))).isEqualTo(attachment);
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        assertThat(manager.find(EntityWithChunkedProperty.class, id).getAttachment().read(buffer)).isEqualTo(10);
+    }
+
+    @Test
+    public void should_keep_previous_value_when_stream_fails_midway() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        byte[] document = randomBytes(3000);
+        EntityWithChunkedProperty entity = manager.insert(new EntityWithChunkedProperty(id, "report",
+                new ByteArrayInputStream(document)));
+        entity.setDocument(new SequenceInputStream(new ByteArrayInputStream(randomBytes(2500)), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        }));
+
+        //When
+        try {
+            manager.update(entity);
+            fail("Expected failure");
+        } catch (AchillesException e) {
+            assertThat(e.getCause()).isInstanceOf(IOException.class);
+        }
+
+        //Then
+        EntityWithChunkedProperty found = manager.find(EntityWithChunkedProperty.class, id);
+        assertThat(IOUtils.toByteArray(found.getDocument())).isEqualTo(document);
+    }
+
+    @Test
+    public void should_exception_when_writing_chunked_property_in_batch() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        Batch batch = manager.createBatch();
+        batch.startBatch();
+
+        expectedEx.expect(AchillesException.class);
+        expectedEx.expectMessage("Cannot write @Chunked property 'document'");
+
+        //When
+        batch.insert(new EntityWithChunkedProperty(id, "report", new ByteArrayInputStream(randomBytes(100))));
+    }
+
+    private int countChunks(Long id, String propertyName) {
+        return session.execute("SELECT chunk_index FROM " + AchillesChunk.CQL_CHUNK_TABLE + " WHERE fqcn='"
+                + EntityWithChunkedProperty.class.getCanonicalName() + "' AND primary_key='" + id
+                + "' AND property_name='" + propertyName + "' AND chunk_set > " + AchillesChunk.POINTER_CHUNK_SET).all().size();
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+}
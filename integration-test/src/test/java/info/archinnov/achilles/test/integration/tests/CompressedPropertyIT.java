@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.test.integration.entity.EntityWithCompressedProperty.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.EntityWithCompressedProperty;
+import info.archinnov.achilles.type.CompressionStatistics;
+
+public class CompressedPropertyIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME);
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_persist_and_find_compressed_properties() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        String text = StringUtils.repeat("Achilles is a persistence manager for Cassandra. ", 50);
+        byte[] content = new byte[4096];
+
+        //When
+        manager.insert(new EntityWithCompressedProperty(id, text, content));
+
+        //Then
+        EntityWithCompressedProperty found = manager.find(EntityWithCompressedProperty.class, id);
+        assertThat(found.getText()).isEqualTo(text);
+        assertThat(found.getContent()).isEqualTo(content);
+
+        Row row = session.execute("SELECT text,content FROM " + TABLE_NAME + " WHERE id=" + id).one();
+        assertThat(row.getColumnDefinitions().getType("text")).isEqualTo(DataType.blob());
+        ByteBuffer storedText = row.getBytes("text");
+        assertThat(storedText.get(storedText.position())).isEqualTo((byte) 1);
+        assertThat(storedText.remaining()).isLessThan(text.length());
+        ByteBuffer storedContent = row.getBytes("content");
+        assertThat(storedContent.remaining()).isLessThan(content.length);
+    }
+
+    @Test
+    public void should_store_small_value_without_compression() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+
+        //When
+        manager.insert(new EntityWithCompressedProperty(id, "short text", null));
+
+        //Then
+        assertThat(manager.find(EntityWithCompressedProperty.class, id).getText()).isEqualTo("short text");
+
+        ByteBuffer storedText = session.execute("SELECT text FROM " + TABLE_NAME + " WHERE id=" + id).one().getBytes("text");
+        assertThat(storedText.get(storedText.position())).isEqualTo((byte) 0);
+    }
+
+    @Test
+    public void should_update_compressed_property_and_expose_statistics() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        EntityWithCompressedProperty entity = manager.insert(new EntityWithCompressedProperty(id, "short text", null));
+        String newText = StringUtils.repeat("updated ", 100);
+
+        //When
+        entity.setText(newText);
+        manager.update(entity);
+
+        //Then
+        assertThat(manager.find(EntityWithCompressedProperty.class, id).getText()).isEqualTo(newText);
+
+        Map<String, CompressionStatistics> statistics = resource.getPersistenceManagerFactory()
+                .getCompressionStatistics(EntityWithCompressedProperty.class);
+        assertThat(statistics.keySet()).containsOnly("text", "content");
+        assertThat(statistics.get("text").getCompressedValues()).isGreaterThanOrEqualTo(1L);
+        assertThat(statistics.get("text").getUncompressedValues()).isGreaterThanOrEqualTo(1L);
+        assertThat(statistics.get("text").getCompressionRatio()).isLessThan(1.0);
+    }
+}
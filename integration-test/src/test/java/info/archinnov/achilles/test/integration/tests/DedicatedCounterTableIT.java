@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
+import static info.archinnov.achilles.test.integration.entity.EntityWithDedicatedCounterTable.COUNTER_TABLE_NAME;
+import static info.archinnov.achilles.test.integration.entity.EntityWithDedicatedCounterTable.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.EntityWithDedicatedCounterTable;
+import info.archinnov.achilles.type.CounterBuilder;
+
+public class DedicatedCounterTableIT {
+
+    private static final String FQCN = EntityWithDedicatedCounterTable.class.getCanonicalName();
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME,
+            COUNTER_TABLE_NAME, CQL_COUNTER_TABLE);
+
+    private PersistenceManagerFactory pmf = resource.getPersistenceManagerFactory();
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_store_counters_in_dedicated_table() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+
+        //When
+        manager.insert(new EntityWithDedicatedCounterTable(id, "page", CounterBuilder.incr(3L)));
+        final EntityWithDedicatedCounterTable proxy = manager.getProxy(EntityWithDedicatedCounterTable.class, id);
+        proxy.getViews().incr(4L);
+        manager.update(proxy);
+
+        //Then
+        assertThat(selectDedicatedCounter(id).getLong("counter_value")).isEqualTo(7L);
+        assertThat(selectSharedCounter(id)).isNull();
+        assertThat(manager.find(EntityWithDedicatedCounterTable.class, id).getViews().get()).isEqualTo(7L);
+    }
+
+    @Test
+    public void should_remove_counters_from_dedicated_table() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        final EntityWithDedicatedCounterTable entity = manager.insert(new EntityWithDedicatedCounterTable(id, "page",
+                CounterBuilder.incr(3L)));
+
+        // Pause required to let Cassandra remove counter columns
+        Thread.sleep(1000);
+
+        //When
+        manager.remove(entity);
+
+        //Then
+        assertThat(selectDedicatedCounter(id)).isNull();
+    }
+
+    @Test
+    public void should_migrate_counters_from_shared_table() throws Exception {
+        //Given
+        Long id1 = RandomUtils.nextLong();
+        Long id2 = RandomUtils.nextLong();
+        manager.insert(new EntityWithDedicatedCounterTable(id1, "page1", null));
+        manager.insert(new EntityWithDedicatedCounterTable(id2, "page2", null));
+        incrementSharedCounter(FQCN, id1, "views", 12L);
+        incrementSharedCounter(FQCN, id2, "views", 5L);
+        incrementSharedCounter("some.other.Entity", id1, "views", 100L);
+
+        //When
+        final long migrated = pmf.migrateCountersToDedicatedTable(EntityWithDedicatedCounterTable.class);
+        final long remigrated = pmf.migrateCountersToDedicatedTable(EntityWithDedicatedCounterTable.class);
+
+        //Then
+        assertThat(migrated).isEqualTo(2L);
+        assertThat(remigrated).isEqualTo(2L);
+        assertThat(manager.find(EntityWithDedicatedCounterTable.class, id1).getViews().get()).isEqualTo(12L);
+        assertThat(manager.find(EntityWithDedicatedCounterTable.class, id2).getViews().get()).isEqualTo(5L);
+    }
+
+    private void incrementSharedCounter(String fqcn, Long id, String propertyName, long value) {
+        session.execute("UPDATE " + CQL_COUNTER_TABLE + " SET counter_value = counter_value + " + value
+                + " WHERE fqcn='" + fqcn + "' AND primary_key='" + id + "' AND property_name='" + propertyName + "'");
+    }
+
+    private Row selectDedicatedCounter(Long id) {
+        return session.execute("SELECT counter_value FROM " + COUNTER_TABLE_NAME + " WHERE primary_key='" + id
+                + "' AND property_name='views'").one();
+    }
+
+    private Row selectSharedCounter(Long id) {
+        return session.execute("SELECT counter_value FROM " + CQL_COUNTER_TABLE + " WHERE fqcn='" + FQCN
+                + "' AND primary_key='" + id + "' AND property_name='views'").one();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_ACHILLES_TEST_KEYSPACE_NAME;
+import static info.archinnov.achilles.fault.InjectedError.UNAVAILABLE;
+import static info.archinnov.achilles.fault.LatencyDistribution.fixed;
+import static info.archinnov.achilles.fault.StatementType.SELECT;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import info.archinnov.achilles.fault.FaultInjection;
+import info.archinnov.achilles.fault.FaultRule;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory.PersistenceManagerFactoryBuilder;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.User;
+
+public class FaultInjectionIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "User", ClusteredEntity.TABLE_NAME);
+
+    private Session session = resource.getNativeSession();
+
+    private PersistenceManagerFactory pmf;
+
+    @After
+    public void tearDown() {
+        if (pmf != null) {
+            pmf.shutDown();
+        }
+    }
+
+    @Test
+    public void should_inject_latency_on_matching_table_and_statement() throws Exception {
+        //Given
+        pmf = buildFactory(FaultRule.forTable("User").onStatements(SELECT).withLatency(fixed(300)).build());
+        PersistenceManager manager = pmf.createPersistenceManager();
+        User user = new User(RandomUtils.nextLong(), "DuyHai", "DOAN");
+
+        //When
+        long start = System.currentTimeMillis();
+        manager.insert(user);
+        manager.insert(new ClusteredEntity(RandomUtils.nextLong(), 1, "name", "value"));
+        final long writeDuration = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        final User found = manager.find(User.class, user.getId());
+        final long readDuration = System.currentTimeMillis() - start;
+
+        //Then
+        assertThat(found.getFirstname()).isEqualTo("DuyHai");
+        assertThat(readDuration).isGreaterThanOrEqualTo(300L);
+        assertThat(writeDuration).isLessThan(300L);
+        assertThat(pmf.getFaultInjection().getDelayedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_inject_errors_controlled_at_runtime() throws Exception {
+        //Given
+        pmf = buildFactory();
+        PersistenceManager manager = pmf.createPersistenceManager();
+        final FaultInjection faultInjection = pmf.getFaultInjection();
+        final Long id = RandomUtils.nextLong();
+        manager.insert(new User(id, "John", "DOE"));
+
+        //When
+        faultInjection.addRule(FaultRule.forTable("user").withError(UNAVAILABLE, 1.0).build());
+
+        //Then
+        try {
+            manager.find(User.class, id);
+            throw new AssertionError("The injected error should have been raised");
+        } catch (UnavailableException e) {
+            assertThat(faultInjection.getFailedCount()).isEqualTo(1L);
+        }
+
+        //When
+        faultInjection.setActive(false);
+
+        //Then
+        assertThat(manager.find(User.class, id).getFirstname()).isEqualTo("John");
+    }
+
+    @Test
+    public void should_control_fault_injection_through_jmx() throws Exception {
+        //Given
+        pmf = buildFactory();
+        PersistenceManager manager = pmf.createPersistenceManager();
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName injectorName = mBeanServer.queryNames(new ObjectName("info.archinnov.achilles:type=FaultInjection,*"), null)
+                .iterator().next();
+
+        //When
+        mBeanServer.invoke(injectorName, "addErrorRule", new Object[] { "*", "insert", "UNAVAILABLE", 1.0 },
+                new String[] { String.class.getName(), String.class.getName(), String.class.getName(), double.class.getName() });
+
+        //Then
+        try {
+            manager.insert(new User(RandomUtils.nextLong(), "DuyHai", "DOAN"));
+            throw new AssertionError("The injected error should have been raised");
+        } catch (UnavailableException e) {
+            assertThat(mBeanServer.getAttribute(injectorName, "FailedCount")).isEqualTo(1L);
+        }
+
+        //When
+        mBeanServer.setAttribute(injectorName, new Attribute("Active", false));
+
+        //Then
+        manager.insert(new User(RandomUtils.nextLong(), "DuyHai", "DOAN"));
+    }
+
+    private PersistenceManagerFactory buildFactory(FaultRule... rules) {
+        return PersistenceManagerFactoryBuilder.builder(session.getCluster())
+                .withNativeSession(session)
+                .withKeyspaceName(DEFAULT_ACHILLES_TEST_KEYSPACE_NAME)
+                .withEntities(Arrays.<Class<?>>asList(User.class, ClusteredEntity.class))
+                .faultInjectionEnabled(true)
+                .withFaultRules(Arrays.asList(rules))
+                .faultInjectionSeed(42L)
+                .faultInjectionJmxEnabled(true)
+                .build();
+    }
+}
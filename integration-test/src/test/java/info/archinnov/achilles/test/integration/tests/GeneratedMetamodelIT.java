@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.Arrays;
+import java.util.Map;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity_;
+import info.archinnov.achilles.test.integration.entity.EntityWithPackagePrivateFields;
+import info.archinnov.achilles.test.integration.entity.EntityWithPackagePrivateFields_;
+import info.archinnov.achilles.test.integration.entity.User;
+import info.archinnov.achilles.test.integration.entity.User_;
+
+public class GeneratedMetamodelIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST,
+            EntityWithPackagePrivateFields.TABLE_NAME);
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    @Test
+    public void should_expose_generated_table_and_column_names() throws Exception {
+        assertThat(User_.TABLE).isEqualTo("User");
+        assertThat(User_.FIRSTNAME).isEqualTo("firstname");
+        assertThat(User_.METAMODEL.getPartitionKeys()).containsExactly("id");
+
+        assertThat(ClusteredEntity_.TABLE).isEqualTo(ClusteredEntity.TABLE_NAME);
+        assertThat(ClusteredEntity_.METAMODEL.getPartitionKeys()).containsExactly("id");
+        assertThat(ClusteredEntity_.METAMODEL.getClusteringColumns()).containsExactly("count", "name");
+    }
+
+    @Test
+    public void should_bind_generated_accessors_of_non_private_fields() throws Exception {
+        //Given
+        Map<Class<?>, EntityMeta> entityMetaMap = Whitebox.getInternalState(resource.getPersistenceManagerFactory(), "entityMetaMap");
+
+        //When
+        EntityMeta meta = entityMetaMap.get(EntityWithPackagePrivateFields.class);
+
+        //Then
+        assertThat(meta.getIdMeta().getAccessor()).isSameAs(EntityWithPackagePrivateFields_.METAMODEL.getAccessor("id"));
+        assertThat(meta.getPropertyMetas().get("name").getAccessor()).isNotNull();
+        assertThat(meta.getPropertyMetas().get("count").getAccessor()).isNotNull();
+        assertThat(meta.getPropertyMetas().get("comment").getAccessor()).isNull();
+        assertThat(entityMetaMap.get(User.class).getIdMeta().getAccessor()).isNull();
+    }
+
+    @Test
+    public void should_persist_entity_with_generated_accessors() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        EntityWithPackagePrivateFields entity = new EntityWithPackagePrivateFields(id, "name", 3, Arrays.asList("a", "b"), "comment");
+
+        //When
+        manager.insert(entity);
+        EntityWithPackagePrivateFields proxy = manager.find(EntityWithPackagePrivateFields.class, id);
+        proxy.setName("new_name");
+        proxy.setCount(4);
+        proxy.getTags().add("c");
+        manager.update(proxy);
+
+        //Then
+        EntityWithPackagePrivateFields found = manager.find(EntityWithPackagePrivateFields.class, id);
+        assertThat(found.getName()).isEqualTo("new_name");
+        assertThat(found.getCount()).isEqualTo(4);
+        assertThat(found.getTags()).containsExactly("a", "b", "c");
+        assertThat(found.getComment()).isEqualTo("comment");
+    }
+}
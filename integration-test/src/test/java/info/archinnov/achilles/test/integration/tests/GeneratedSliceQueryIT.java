@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.statement.cache.SliceShapeCache;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity_;
+import info.archinnov.achilles.test.integration.entity.CompositeClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.CompositeClusteredEntity_;
+
+public class GeneratedSliceQueryIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST,
+            ClusteredEntity.TABLE_NAME, CompositeClusteredEntity.TABLE_NAME);
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    @Test
+    public void should_query_with_generated_slice_dsl() throws Exception {
+        //Given
+        long partitionKey = RandomUtils.nextLong();
+        insertClusteredValues(partitionKey, 1, "name1", 3);
+        insertClusteredValues(partitionKey, 2, "name2", 2);
+        insertClusteredValues(partitionKey, 3, "name3", 2);
+        insertClusteredValues(partitionKey, 4, "name4", 4);
+
+        //When
+        final List<ClusteredEntity> entities = ClusteredEntity_.slice(manager)
+                .partition(partitionKey)
+                .from(2, "name21")
+                .to(4, "name41")
+                .get();
+
+        //Then
+        assertThat(entities).hasSize(5);
+        assertThat(entities.get(0).getValue()).isEqualTo("value21");
+        assertThat(entities.get(1).getValue()).isEqualTo("value22");
+        assertThat(entities.get(2).getValue()).isEqualTo("value31");
+        assertThat(entities.get(3).getValue()).isEqualTo("value32");
+        assertThat(entities.get(4).getValue()).isEqualTo("value41");
+    }
+
+    @Test
+    public void should_query_with_bounds_ordering_and_limit() throws Exception {
+        //Given
+        long partitionKey = RandomUtils.nextLong();
+        insertClusteredValues(partitionKey, 1, "name1", 2);
+        insertClusteredValues(partitionKey, 2, "name2", 2);
+        insertClusteredValues(partitionKey, 3, "name3", 2);
+
+        //When
+        final List<ClusteredEntity> entities = ClusteredEntity_.slice(manager)
+                .partition(partitionKey)
+                .orderByDescending()
+                .withExclusiveBounds()
+                .from(1)
+                .to(3)
+                .limit(1)
+                .withConsistency(ONE)
+                .get();
+
+        final ClusteredEntity first = ClusteredEntity_.slice(manager)
+                .partition(partitionKey)
+                .to(2)
+                .getOne();
+
+        //Then
+        assertThat(entities).hasSize(1);
+        assertThat(entities.get(0).getValue()).isEqualTo("value22");
+        assertThat(first.getValue()).isEqualTo("value11");
+    }
+
+    @Test
+    public void should_query_with_composite_partition_key() throws Exception {
+        //Given
+        long partitionKey = RandomUtils.nextLong();
+        insertCompositeClusteredEntity(partitionKey, "bucket1", 1, "name1", "value11");
+        insertCompositeClusteredEntity(partitionKey, "bucket1", 2, "name2", "value12");
+        insertCompositeClusteredEntity(partitionKey, "bucket2", 1, "name1", "value21");
+
+        //When
+        final List<CompositeClusteredEntity> entities = CompositeClusteredEntity_.slice(manager)
+                .partition(partitionKey, "bucket1")
+                .from(2)
+                .get();
+
+        //Then
+        assertThat(entities).hasSize(1);
+        assertThat(entities.get(0).getValue()).isEqualTo("value12");
+    }
+
+    @Test
+    public void should_reuse_statement_of_same_shape() throws Exception {
+        //Given
+        Map<Class<?>, EntityMeta> entityMetaMap = Whitebox.getInternalState(resource.getPersistenceManagerFactory(), "entityMetaMap");
+        final SliceShapeCache sliceShapeCache = entityMetaMap.get(ClusteredEntity.class).getSliceShapeCache();
+        long partitionKey = RandomUtils.nextLong();
+        insertClusteredValues(partitionKey, 1, "name1", 1);
+        insertClusteredValues(partitionKey, 2, "name2", 1);
+
+        //When
+        final ClusteredEntity first = ClusteredEntity_.slice(manager).partition(partitionKey).from(1).to(1).getOne();
+        final int cachedShapes = countCachedShapes(sliceShapeCache);
+        final ClusteredEntity second = ClusteredEntity_.slice(manager).partition(partitionKey).from(2).to(2).getOne();
+
+        //Then
+        assertThat(first.getValue()).isEqualTo("value11");
+        assertThat(second.getValue()).isEqualTo("value21");
+        assertThat(cachedShapes).isGreaterThan(0);
+        assertThat(countCachedShapes(sliceShapeCache)).isEqualTo(cachedShapes);
+    }
+
+    private int countCachedShapes(SliceShapeCache sliceShapeCache) {
+        int count = 0;
+        for (int shapeId = 0; shapeId < sliceShapeCache.size(); shapeId++) {
+            if (sliceShapeCache.get(shapeId) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void insertClusteredValues(long partitionKey, int countValue, String name, int size) {
+        for (int i = 1; i <= size; i++) {
+            manager.insert(new ClusteredEntity(partitionKey, countValue, name + i, "value" + countValue + i));
+        }
+    }
+
+    private void insertCompositeClusteredEntity(long id, String bucket, int count, String name, String value) {
+        CompositeClusteredEntity.ClusteredKey embeddedId = new CompositeClusteredEntity.ClusteredKey(id, bucket, count, name);
+        manager.insert(new CompositeClusteredEntity(embeddedId, value));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
+import static info.archinnov.achilles.test.integration.entity.EntityWithHedgedReads.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import com.datastax.driver.core.RegularStatement;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.EntityWithHedgedReads;
+import info.archinnov.achilles.type.HedgedReadStatistics;
+
+public class HedgedReadsIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME);
+
+    private PersistenceManagerFactory pmf = resource.getPersistenceManagerFactory();
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    @Test
+    public void should_find_and_lazy_load_with_hedged_reads() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        manager.insert(new EntityWithHedgedReads(id, "John"));
+        final long readsBefore = pmf.getHedgedReadStatistics(EntityWithHedgedReads.class).getReads();
+
+        //When
+        final EntityWithHedgedReads found = manager.find(EntityWithHedgedReads.class, id);
+        final EntityWithHedgedReads proxy = manager.getProxy(EntityWithHedgedReads.class, id);
+
+        //Then
+        assertThat(found.getName()).isEqualTo("John");
+        assertThat(proxy.getName()).isEqualTo("John");
+
+        final HedgedReadStatistics statistics = pmf.getHedgedReadStatistics(EntityWithHedgedReads.class);
+        assertThat(statistics.getReads()).isEqualTo(readsBefore + 2);
+        assertThat(statistics.getHedgesWon()).isLessThanOrEqualTo(statistics.getHedgesSent());
+    }
+
+    @Test
+    public void should_execute_typed_query_with_hedged_reads() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        manager.insert(new EntityWithHedgedReads(id, "Helen"));
+        final long readsBefore = pmf.getHedgedReadStatistics(EntityWithHedgedReads.class).getReads();
+        final RegularStatement statement = select().from(TABLE_NAME).where(eq("id", bindMarker()));
+
+        //When
+        final EntityWithHedgedReads found = manager.typedQuery(EntityWithHedgedReads.class, statement, id).getFirst();
+
+        //Then
+        assertThat(found.getName()).isEqualTo("Helen");
+        assertThat(pmf.getHedgedReadStatistics(EntityWithHedgedReads.class).getReads()).isEqualTo(readsBefore + 1);
+    }
+}
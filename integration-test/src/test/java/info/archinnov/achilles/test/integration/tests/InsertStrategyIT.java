@@ -17,6 +17,8 @@
 package info.archinnov.achilles.test.integration.tests;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES;
+import static info.archinnov.achilles.type.InsertStrategy.ADAPTIVE;
 import static info.archinnov.achilles.type.InsertStrategy.ALL_FIELDS;
 import static info.archinnov.achilles.type.InsertStrategy.NOT_NULL_FIELDS;
 import static org.fest.assertions.api.Assertions.assertThat;
@@ -26,8 +28,10 @@ import com.google.common.collect.ImmutableMap;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
 import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory;
 import info.archinnov.achilles.test.integration.entity.CompleteBean;
 import info.archinnov.achilles.test.integration.entity.EntityWithNotNullInsertStrategy;
+import info.archinnov.achilles.type.InsertShapeStatistics;
 
 public class InsertStrategyIT {
 
@@ -45,6 +49,15 @@ public class InsertStrategyIT {
             .cleanDataFilesAtStartup(true)
             .buildPersistenceManager();
 
+    private PersistenceManagerFactory pmf3 = CassandraEmbeddedServerBuilder
+            .withEntities(CompleteBean.class)
+            .withKeyspaceName("ADAPTIVE_INSERT")
+            .withAchillesConfigParams(ImmutableMap.<ConfigurationParameters, Object>of(INSERT_STRATEGY, ADAPTIVE,
+                    INSERT_STRATEGY_ADAPTIVE_MAX_SHAPES, 1))
+            .cleanDataFilesAtStartup(true)
+            .buildPersistenceManagerFactory();
+
+    private PersistenceManager manager3 = pmf3.createPersistenceManager();
 
     @Test
     public void should_insert_all_fields() throws Exception {
@@ -114,4 +127,35 @@ public class InsertStrategyIT {
         assertThat(found.getAge()).isEqualTo(33L);
 
     }
+
+    @Test
+    public void should_insert_only_fields_that_are_not_null_with_adaptive_strategy() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        CompleteBean entity = new CompleteBean();
+        entity.setId(id);
+        entity.setName("John");
+        entity.setAge(33L);
+        final InsertShapeStatistics before = pmf3.getInsertShapeStatistics(CompleteBean.class);
+
+        //When
+        manager3.insert(entity);
+        manager3.insert(entity);
+        entity.setName("Helen");
+        entity.setAge(null);
+        entity.setLabel("label");
+
+        manager3.insert(entity);
+
+        //Then
+        final CompleteBean found = manager3.find(CompleteBean.class, id);
+
+        assertThat(found.getName()).isEqualTo("Helen");
+        assertThat(found.getAge()).isEqualTo(33L);
+        assertThat(found.getLabel()).isEqualTo("label");
+
+        final InsertShapeStatistics after = pmf3.getInsertShapeStatistics(CompleteBean.class);
+        assertThat(after.getHotShapeHits() + after.getRareShapeHits()).isEqualTo(before.getHotShapeHits() + before.getRareShapeHits() + 3);
+        assertThat(after.getRareShapeHits()).isGreaterThan(before.getRareShapeHits());
+    }
 }
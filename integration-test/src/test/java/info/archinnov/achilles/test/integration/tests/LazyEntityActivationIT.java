@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_ACHILLES_TEST_KEYSPACE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.powermock.reflect.Whitebox;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.EntityActivator;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory.PersistenceManagerFactoryBuilder;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.User;
+
+public class LazyEntityActivationIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "User", ClusteredEntity.TABLE_NAME);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Session session = resource.getNativeSession();
+
+    private PersistenceManagerFactory pmf;
+
+    @After
+    public void tearDown() {
+        if (pmf != null) {
+            pmf.shutDown();
+        }
+    }
+
+    @Test
+    public void should_activate_entities_on_first_use() throws Exception {
+        //Given
+        pmf = buildFactory(true, null);
+        PersistenceManager manager = pmf.createPersistenceManager();
+        EntityActivator activator = Whitebox.getInternalState(Whitebox.<DaoContext>getInternalState(pmf, "daoContext"), "entityActivator");
+        User user = new User(RandomUtils.nextLong(), "DuyHai", "DOAN");
+
+        assertThat(activator.isActivated(User.class)).isFalse();
+        assertThat(activator.isActivated(ClusteredEntity.class)).isFalse();
+
+        //When
+        manager.insert(user);
+        final User found = manager.find(User.class, user.getId());
+
+        //Then
+        assertThat(found.getFirstname()).isEqualTo("DuyHai");
+        assertThat(activator.isActivated(User.class)).isTrue();
+        assertThat(activator.isActivated(ClusteredEntity.class)).isFalse();
+
+        //When
+        final long partitionKey = RandomUtils.nextLong();
+        final List<ClusteredEntity> entities = manager.sliceQuery(ClusteredEntity.class)
+                .forSelect()
+                .withPartitionComponents(partitionKey)
+                .get();
+
+        //Then
+        assertThat(entities).isEmpty();
+        assertThat(activator.isActivated(ClusteredEntity.class)).isTrue();
+    }
+
+    @Test
+    public void should_record_fingerprints_of_validated_tables() throws Exception {
+        //Given
+        File fingerprintFile = new File(folder.getRoot(), "fingerprints.properties");
+
+        //When
+        pmf = buildFactory(false, fingerprintFile);
+        pmf.shutDown();
+        final Properties fingerprints = load(fingerprintFile);
+        pmf = buildFactory(false, fingerprintFile);
+
+        //Then
+        final String keyspace = DEFAULT_ACHILLES_TEST_KEYSPACE_NAME.toLowerCase();
+        assertThat(fingerprints.stringPropertyNames()).contains(keyspace + ".user", keyspace + "." + ClusteredEntity.TABLE_NAME.toLowerCase());
+        assertThat(load(fingerprintFile)).isEqualTo(fingerprints);
+
+        User user = new User(RandomUtils.nextLong(), "DuyHai", "DOAN");
+        PersistenceManager manager = pmf.createPersistenceManager();
+        manager.insert(user);
+        assertThat(manager.find(User.class, user.getId())).isNotNull();
+    }
+
+    private PersistenceManagerFactory buildFactory(boolean lazyEntityActivation, File fingerprintFile) {
+        return PersistenceManagerFactoryBuilder.builder(session.getCluster())
+                .withNativeSession(session)
+                .withKeyspaceName(DEFAULT_ACHILLES_TEST_KEYSPACE_NAME)
+                .withEntities(Arrays.<Class<?>>asList(User.class, ClusteredEntity.class))
+                .lazyEntityActivation(lazyEntityActivation)
+                .withSchemaFingerprintFile(fingerprintFile == null ? null : fingerprintFile.getAbsolutePath())
+                .build();
+    }
+
+    private Properties load(File file) throws Exception {
+        final Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+}
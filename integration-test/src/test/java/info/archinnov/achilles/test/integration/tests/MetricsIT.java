@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_ACHILLES_TEST_KEYSPACE_NAME;
+import static info.archinnov.achilles.metrics.Operation.BATCH;
+import static info.archinnov.achilles.metrics.Operation.FIND;
+import static info.archinnov.achilles.metrics.Operation.INSERT;
+import static info.archinnov.achilles.metrics.Operation.NATIVE_QUERY;
+import static info.archinnov.achilles.metrics.Operation.REMOVE;
+import static info.archinnov.achilles.metrics.Operation.SLICE;
+import static info.archinnov.achilles.metrics.Operation.UPDATE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.ObjectName;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.metrics.MetricsReporter;
+import info.archinnov.achilles.metrics.MetricsSnapshot;
+import info.archinnov.achilles.metrics.OperationStatistics;
+import info.archinnov.achilles.persistence.Batch;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory.PersistenceManagerFactoryBuilder;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.User;
+
+public class MetricsIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "User", ClusteredEntity.TABLE_NAME);
+
+    private Session session = resource.getNativeSession();
+
+    private PersistenceManagerFactory pmf;
+
+    @After
+    public void tearDown() {
+        if (pmf != null) {
+            pmf.shutDown();
+        }
+    }
+
+    @Test
+    public void should_record_metrics_per_entity_and_operation() throws Exception {
+        //Given
+        pmf = buildFactory(PersistenceManagerFactoryBuilder.builder(session.getCluster()));
+        PersistenceManager manager = pmf.createPersistenceManager();
+        User user = new User(RandomUtils.nextLong(), "DuyHai", "DOAN");
+        Long partitionKey = RandomUtils.nextLong();
+
+        //When
+        final User managed = manager.insert(user);
+        managed.setFirstname("Helen");
+        manager.update(managed);
+        manager.find(User.class, user.getId());
+        manager.remove(managed);
+
+        manager.insert(new ClusteredEntity(partitionKey, 1, "name", "value"));
+        manager.sliceQuery(ClusteredEntity.class).forSelect().withPartitionComponents(partitionKey).get(10);
+
+        manager.nativeQuery(new SimpleStatement("SELECT * FROM User LIMIT 1")).get();
+
+        final Batch batch = pmf.createBatch();
+        batch.startBatch();
+        batch.insert(new User(RandomUtils.nextLong(), "batch", "user"));
+        batch.endBatch();
+
+        //Then
+        final MetricsSnapshot snapshot = pmf.getMetricsSnapshot();
+        final Map<String, OperationStatistics> statistics = index(snapshot);
+        final String userEntity = User.class.getName();
+        final String clusteredEntity = ClusteredEntity.class.getName();
+
+        assertThat(statistics.get(userEntity + ":" + INSERT).getCount()).isEqualTo(1L);
+        assertThat(statistics.get(userEntity + ":" + UPDATE).getCount()).isEqualTo(1L);
+        assertThat(statistics.get(userEntity + ":" + FIND).getCount()).isEqualTo(1L);
+        assertThat(statistics.get(userEntity + ":" + REMOVE).getCount()).isEqualTo(1L);
+        assertThat(statistics.get(clusteredEntity + ":" + SLICE).getCount()).isEqualTo(1L);
+        assertThat(statistics.get("NativeQuery:" + NATIVE_QUERY).getCount()).isEqualTo(1L);
+        assertThat(statistics.get("Batch:" + BATCH).getCount()).isEqualTo(1L);
+        assertThat(statistics.get(userEntity + ":" + FIND).getErrors()).isEqualTo(0L);
+        assertThat(statistics.get(userEntity + ":" + FIND).getMaxMicros()).isGreaterThan(0L);
+        assertThat(snapshot.getProxyCreations()).isGreaterThanOrEqualTo(3L);
+        assertThat(snapshot.getPreparedStatementCacheMisses()).isGreaterThan(0L);
+
+        final ObjectName findMBean = new ObjectName("info.archinnov.achilles:type=Operation,factory=" + snapshot.getFactoryName()
+                + ",entity=" + userEntity + ",operation=FIND");
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(findMBean, "Count")).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_report_metrics_periodically() throws Exception {
+        //Given
+        final CountDownLatch reported = new CountDownLatch(1);
+        final MetricsSnapshot[] received = new MetricsSnapshot[1];
+        MetricsReporter reporter = new MetricsReporter() {
+            @Override
+            public void report(MetricsSnapshot snapshot) {
+                received[0] = snapshot;
+                reported.countDown();
+            }
+        };
+        pmf = buildFactory(PersistenceManagerFactoryBuilder.builder(session.getCluster())
+                .withMetricsReporters(Arrays.<MetricsReporter>asList(reporter))
+                .metricsReportingPeriodSeconds(1L));
+        User user = new User(RandomUtils.nextLong(), "DuyHai", "DOAN");
+
+        //When
+        pmf.createPersistenceManager().insert(user);
+
+        //Then
+        assertThat(reported.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(index(received[0]).get(User.class.getName() + ":" + INSERT).getCount()).isEqualTo(1L);
+    }
+
+    private PersistenceManagerFactory buildFactory(PersistenceManagerFactoryBuilder builder) {
+        return builder.withNativeSession(session)
+                .withKeyspaceName(DEFAULT_ACHILLES_TEST_KEYSPACE_NAME)
+                .withEntities(Arrays.<Class<?>>asList(User.class, ClusteredEntity.class))
+                .metricsEnabled(true)
+                .build();
+    }
+
+    private Map<String, OperationStatistics> index(MetricsSnapshot snapshot) {
+        Map<String, OperationStatistics> statistics = new HashMap<>();
+        for (OperationStatistics operationStatistics : snapshot.getOperations()) {
+            statistics.put(operationStatistics.getEntity() + ":" + operationStatistics.getOperation(), operationStatistics);
+        }
+        return statistics;
+    }
+}
@@ -16,6 +16,7 @@
 package info.archinnov.achilles.test.integration.tests;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.data.MapEntry.entry;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang.math.RandomUtils;
@@ -24,6 +25,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.internal.proxy.wrapper.ListWrapper;
 import info.archinnov.achilles.junit.AchillesTestResource.Steps;
@@ -77,6 +79,24 @@ public class PersistenceManagerOperationsIT {
 
     }
 
+    @Test
+    public void should_insert_raw_without_proxy() throws Exception {
+        //Given
+        CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L)
+                .addFriends("foo", "bar").version(CounterBuilder.incr(3L)).buid();
+
+        //When
+        manager.insertRaw(entity);
+
+        //Then
+        assertThat(entity).isNotInstanceOf(Factory.class);
+        CompleteBean found = manager.find(CompleteBean.class, entity.getId());
+        assertThat(found.getName()).isEqualTo("DuyHai");
+        assertThat(found.getAge()).isEqualTo(35L);
+        assertThat(found.getFriends()).containsExactly("foo", "bar");
+        assertThat(found.getVersion().get()).isEqualTo(3L);
+    }
+
     @Test
     public void should_persist_empty_entity() throws Exception {
         CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().buid();
@@ -115,6 +135,66 @@ public class PersistenceManagerOperationsIT {
 
     }
 
+    @Test
+    public void should_update_detached_entity_against_snapshot() throws Exception {
+        //Given
+        CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L)
+                .addFriends("foo", "bar").addFollowers("George", "Paul").addPreference(1, "FR")
+                .addPreference(2, "Paris").buid();
+        manager.insert(entity);
+
+        CompleteBean snapshot = manager.removeProxy(manager.find(CompleteBean.class, entity.getId()));
+        CompleteBean detached = manager.deserializeFromJSON(CompleteBean.class, manager.serializeToJSON(snapshot));
+
+        detached.setName("Helen");
+        detached.getFriends().add("qux");
+        detached.getFollowers().remove("Paul");
+        detached.getPreferences().put(2, "London");
+
+        //When
+        manager.updateDetached(detached, snapshot);
+
+        //Then
+        CompleteBean found = manager.find(CompleteBean.class, entity.getId());
+        assertThat(found.getName()).isEqualTo("Helen");
+        assertThat(found.getAge()).isEqualTo(35L);
+        assertThat(found.getFriends()).containsExactly("foo", "bar", "qux");
+        assertThat(found.getFollowers()).containsOnly("George");
+        assertThat(found.getPreferences()).contains(entry(1, "FR"), entry(2, "London"));
+    }
+
+    @Test
+    public void should_update_detached_entity_against_current_state() throws Exception {
+        //Given
+        CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L)
+                .addFollowers("George", "Paul").buid();
+        manager.insert(entity);
+
+        CompleteBean detached = CompleteBeanTestBuilder.builder().id(entity.getId()).name("DuyHai").age(36L)
+                .addFollowers("George", "John").buid();
+
+        //When
+        manager.updateDetached(detached);
+
+        //Then
+        CompleteBean found = manager.find(CompleteBean.class, entity.getId());
+        assertThat(found.getName()).isEqualTo("DuyHai");
+        assertThat(found.getAge()).isEqualTo(36L);
+        assertThat(found.getFollowers()).containsOnly("George", "John");
+    }
+
+    @Test
+    public void should_exception_when_update_detached_with_null_second_argument() throws Exception {
+        //Given
+        CompleteBean detached = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").buid();
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Options should not be null for detached update. To diff against a snapshot, use updateDetached(entity, snapshot)");
+
+        //When
+        manager.updateDetached(detached, null);
+    }
+
     @Test
     public void should_insert_or_update() throws Exception {
         //Given
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_ACHILLES_TEST_KEYSPACE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import com.datastax.driver.core.Session;
+import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory.PersistenceManagerFactoryBuilder;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.User;
+import info.archinnov.achilles.tracing.QueryTraceRecord;
+import info.archinnov.achilles.tracing.RingBufferTraceSink;
+import info.archinnov.achilles.tracing.TraceSink;
+
+public class QueryTracingIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "User", ClusteredEntity.TABLE_NAME);
+
+    private Session session = resource.getNativeSession();
+
+    private RingBufferTraceSink sink = new RingBufferTraceSink(100);
+
+    private PersistenceManagerFactory pmf;
+
+    @After
+    public void tearDown() {
+        if (pmf != null) {
+            pmf.shutDown();
+        }
+    }
+
+    @Test
+    public void should_collect_traces_of_sampled_tables_only() throws Exception {
+        //Given
+        pmf = buildFactory(1.0);
+        PersistenceManager manager = pmf.createPersistenceManager();
+        User user = new User(RandomUtils.nextLong(), "DuyHai", "DOAN");
+
+        //When
+        manager.insert(user);
+        manager.find(User.class, user.getId());
+        manager.insert(new ClusteredEntity(RandomUtils.nextLong(), 1, "name", "value"));
+
+        //Then
+        final List<QueryTraceRecord> records = waitForTraces(2);
+        assertThat(records).hasSize(2);
+        for (QueryTraceRecord record : records) {
+            assertThat(record.getEntity()).isEqualTo(User.class.getName());
+            assertThat(record.getTraceId()).isNotNull();
+            assertThat(record.getEvents()).isNotEmpty();
+        }
+    }
+
+    @Test
+    public void should_change_sample_rate_through_jmx() throws Exception {
+        //Given
+        pmf = buildFactory(0.0);
+        PersistenceManager manager = pmf.createPersistenceManager();
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName samplerName = mBeanServer.queryNames(new ObjectName("info.archinnov.achilles:type=QueryTracing,*"), null)
+                .iterator().next();
+
+        manager.insert(new User(RandomUtils.nextLong(), "John", "DOE"));
+        assertThat(sink.getTotalReceived()).isEqualTo(0L);
+
+        //When
+        mBeanServer.setAttribute(samplerName, new Attribute("DefaultSampleRate", 1.0));
+        manager.insert(new User(RandomUtils.nextLong(), "DuyHai", "DOAN"));
+
+        //Then
+        assertThat(waitForTraces(1)).hasSize(1);
+        assertThat(mBeanServer.getAttribute(samplerName, "SampledCount")).isEqualTo(1L);
+    }
+
+    private PersistenceManagerFactory buildFactory(double sampleRate) {
+        return PersistenceManagerFactoryBuilder.builder(session.getCluster())
+                .withNativeSession(session)
+                .withKeyspaceName(DEFAULT_ACHILLES_TEST_KEYSPACE_NAME)
+                .withEntities(Arrays.<Class<?>>asList(User.class, ClusteredEntity.class))
+                .queryTracingSampleRate(sampleRate)
+                .withQueryTracingSampleRateMap(ImmutableMap.of(ClusteredEntity.TABLE_NAME, 0.0))
+                .withQueryTracingSinks(Arrays.<TraceSink>asList(sink))
+                .queryTracingJmxEnabled(true)
+                .build();
+    }
+
+    private List<QueryTraceRecord> waitForTraces(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && sink.getSize() < count; i++) {
+            Thread.sleep(100);
+        }
+        return sink.getRecords();
+    }
+}
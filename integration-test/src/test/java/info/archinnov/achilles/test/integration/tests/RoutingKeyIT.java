@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.test.integration.entity.ClusteredEntityWithCompositePartitionKey.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import info.archinnov.achilles.internal.context.BatchingFlushContext;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.NativeStatementWrapper;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.Batch;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntityWithCompositePartitionKey;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntityWithCompositePartitionKey.EmbeddedKey;
+
+public class RoutingKeyIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME);
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_attach_routing_key_of_composite_partition_key_to_native_statement() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        String type = "what's up?";
+        String query = "UPDATE " + TABLE_NAME + " SET value = 'where id = ?' WHERE type = ? AND indexes = ? AND id = ?";
+        Batch batch = manager.createBatch();
+        batch.startBatch();
+
+        //When
+        batch.batchNativeStatement(new SimpleStatement(query), type, 3, id);
+
+        //Then
+        final ByteBuffer expectedRoutingKey = session.prepare(query).bind(type, 3, id).getRoutingKey();
+        assertThat(expectedRoutingKey).isNotNull();
+        assertThat(batchedStatement(batch).buildParameterizedStatement().getRoutingKey()).isEqualTo(expectedRoutingKey);
+
+        batch.endBatch();
+        final ClusteredEntityWithCompositePartitionKey found = manager.find(ClusteredEntityWithCompositePartitionKey.class,
+                new EmbeddedKey(id, type, 3));
+        assertThat(found.getValue()).isEqualTo("where id = ?");
+    }
+
+    @Test
+    public void should_not_attach_routing_key_when_bound_value_does_not_match_partition_type() throws Exception {
+        //Given
+        Batch batch = manager.createBatch();
+        batch.startBatch();
+
+        //When
+        batch.batchNativeStatement(new SimpleStatement("DELETE FROM " + TABLE_NAME + " WHERE id = ? AND type = ? AND indexes = ?"),
+                RandomUtils.nextInt(), "type", 3);
+
+        //Then
+        assertThat(batchedStatement(batch).getRoutingKey()).isNull();
+        batch.cleanBatch();
+    }
+
+    private NativeStatementWrapper batchedStatement(Batch batch) {
+        BatchingFlushContext flushContext = Whitebox.getInternalState(batch, BatchingFlushContext.class);
+        List<AbstractStatementWrapper> statementWrappers = Whitebox.getInternalState(flushContext, "statementWrappers");
+        assertThat(statementWrappers).hasSize(1);
+        return (NativeStatementWrapper) statementWrappers.get(0);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_SHARDED_COUNTER_TABLE;
+import static info.archinnov.achilles.test.integration.entity.EntityWithShardedCounter.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.List;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.EntityWithShardedCounter;
+import info.archinnov.achilles.type.CounterBuilder;
+
+public class ShardedCounterIT {
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME,
+            CQL_COUNTER_TABLE, CQL_SHARDED_COUNTER_TABLE);
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_persist_sharded_counter_on_insert() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+
+        //When
+        manager.insert(new EntityWithShardedCounter(id, "page", CounterBuilder.incr(5L)));
+
+        //Then
+        List<Row> shards = selectShards(id, "hits");
+        assertThat(shards).hasSize(1);
+        assertThat(shards.get(0).getLong("counter_value")).isEqualTo(5L);
+        assertThat(manager.find(EntityWithShardedCounter.class, id).getHits().get()).isEqualTo(5L);
+    }
+
+    @Test
+    public void should_spread_increments_over_shards_and_read_the_sum() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        manager.insert(new EntityWithShardedCounter(id, "page", null));
+
+        //When
+        for (int i = 0; i < 40; i++) {
+            EntityWithShardedCounter entity = manager.getProxy(EntityWithShardedCounter.class, id);
+            entity.getHits().incr();
+            entity.getLikes().incr(2L);
+            manager.update(entity);
+        }
+        EntityWithShardedCounter entity = manager.getProxy(EntityWithShardedCounter.class, id);
+        entity.getHits().decr(4L);
+        manager.update(entity);
+
+        //Then
+        List<Row> shards = selectShards(id, "hits");
+        assertThat(shards.size()).isGreaterThan(1).isLessThanOrEqualTo(8);
+        long sum = 0;
+        for (Row shard : shards) {
+            sum += shard.getLong("counter_value");
+        }
+        assertThat(sum).isEqualTo(36L);
+
+        EntityWithShardedCounter found = manager.find(EntityWithShardedCounter.class, id);
+        assertThat(found.getHits().get()).isEqualTo(36L);
+        assertThat(found.getLikes().get()).isEqualTo(80L);
+        assertThat(selectShards(id, "likes")).isEmpty();
+    }
+
+    @Test
+    public void should_return_null_for_never_incremented_sharded_counter() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        manager.insert(new EntityWithShardedCounter(id, "page", null));
+
+        //When
+        EntityWithShardedCounter found = manager.find(EntityWithShardedCounter.class, id);
+
+        //Then
+        assertThat(found.getHits().get()).isNull();
+    }
+
+    @Test
+    public void should_remove_all_shards() throws Exception {
+        //Given
+        Long id = RandomUtils.nextLong();
+        EntityWithShardedCounter entity = manager.insert(new EntityWithShardedCounter(id, "page", null));
+        for (int i = 0; i < 20; i++) {
+            EntityWithShardedCounter proxy = manager.getProxy(EntityWithShardedCounter.class, id);
+            proxy.getHits().incr();
+            manager.update(proxy);
+        }
+        assertThat(selectShards(id, "hits")).isNotEmpty();
+
+        // Pause required to let Cassandra remove counter columns
+        Thread.sleep(1000);
+
+        //When
+        manager.remove(entity);
+
+        //Then
+        assertThat(selectShards(id, "hits")).isEmpty();
+    }
+
+    private List<Row> selectShards(Long id, String propertyName) {
+        return session.execute("SELECT shard,counter_value FROM " + CQL_SHARDED_COUNTER_TABLE + " WHERE fqcn='"
+                + EntityWithShardedCounter.class.getCanonicalName() + "' AND primary_key='" + id
+                + "' AND shard IN (0,1,2,3,4,5,6,7) AND property_name='" + propertyName + "'").all();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.test.integration.entity.ClusteredEntityWithTimeBucket.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.persistence.PersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntityWithTimeBucket;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntityWithTimeBucket.ClusteredKey;
+
+public class TimeBucketIT {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    // Arbitrary bucket-aligned origin
+    private static final long ORIGIN = 1000 * HOUR;
+
+    @Rule
+    public ExpectedException expectedEx = ExpectedException.none();
+
+    @Rule
+    public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME);
+
+    private PersistenceManager manager = resource.getPersistenceManager();
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_compute_bucket_on_insert_and_find() throws Exception {
+        //Given
+        Long sensorId = RandomUtils.nextLong();
+        Date time = new Date(ORIGIN + 90 * 60 * 1000);
+
+        //When
+        manager.insert(new ClusteredEntityWithTimeBucket(sensorId, time, "value"));
+
+        //Then
+        final ClusteredEntityWithTimeBucket found = manager.find(ClusteredEntityWithTimeBucket.class, new ClusteredKey(sensorId, time));
+        assertThat(found.getValue()).isEqualTo("value");
+        assertThat(found.getId().getBucket()).isEqualTo(ORIGIN + HOUR);
+
+        final long rows = session.execute("SELECT COUNT(*) FROM " + TABLE_NAME + " WHERE sensor_id=" + sensorId
+                + " AND bucket=" + (ORIGIN + HOUR)).one().getLong(0);
+        assertThat(rows).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_query_time_range_across_buckets_with_global_limit() throws Exception {
+        //Given
+        Long sensorId = RandomUtils.nextLong();
+        for (int i = 0; i < 8; i++) {
+            // two events per hour over 4 hours
+            manager.insert(new ClusteredEntityWithTimeBucket(sensorId, new Date(ORIGIN + i * 30 * 60 * 1000), "event" + i));
+        }
+        manager.insert(new ClusteredEntityWithTimeBucket(sensorId + 1, new Date(ORIGIN), "other sensor"));
+
+        //When
+        final List<ClusteredEntityWithTimeBucket> ascending = manager.sliceQuery(ClusteredEntityWithTimeBucket.class)
+                .forBucketedSelect()
+                .withPartitionComponents(sensorId)
+                .between(new Date(ORIGIN + 15 * 60 * 1000), new Date(ORIGIN + 3 * HOUR))
+                .limit(4)
+                .withBucketConcurrency(2)
+                .get();
+
+        final List<ClusteredEntityWithTimeBucket> descending = manager.sliceQuery(ClusteredEntityWithTimeBucket.class)
+                .forBucketedSelect()
+                .withPartitionComponents(sensorId)
+                .between(new Date(ORIGIN), new Date(ORIGIN + 10 * HOUR))
+                .orderByDescending()
+                .limit(3)
+                .get();
+
+        //Then
+        assertThat(values(ascending)).containsExactly("event1", "event2", "event3", "event4");
+        assertThat(values(descending)).containsExactly("event7", "event6", "event5");
+    }
+
+    @Test
+    public void should_return_all_events_of_range_when_below_limit() throws Exception {
+        //Given
+        Long sensorId = RandomUtils.nextLong();
+        manager.insert(new ClusteredEntityWithTimeBucket(sensorId, new Date(ORIGIN), "first"));
+        manager.insert(new ClusteredEntityWithTimeBucket(sensorId, new Date(ORIGIN + 5 * HOUR), "last"));
+
+        //When
+        final List<ClusteredEntityWithTimeBucket> found = manager.sliceQuery(ClusteredEntityWithTimeBucket.class)
+                .forBucketedSelect()
+                .withPartitionComponents(sensorId)
+                .between(new Date(ORIGIN), new Date(ORIGIN + 5 * HOUR))
+                .get();
+
+        //Then
+        assertThat(values(found)).containsExactly("first", "last");
+    }
+
+    @Test
+    public void should_reject_time_range_covering_too_many_buckets() throws Exception {
+        //Given
+        Long sensorId = RandomUtils.nextLong();
+        manager.insert(new ClusteredEntityWithTimeBucket(sensorId, new Date(ORIGIN), "first"));
+
+        expectedEx.expect(AchillesException.class);
+        expectedEx.expectMessage("covers '11' buckets");
+
+        //When
+        manager.sliceQuery(ClusteredEntityWithTimeBucket.class)
+                .forBucketedSelect()
+                .withPartitionComponents(sensorId)
+                .between(new Date(ORIGIN), new Date(ORIGIN + 10 * HOUR))
+                .withMaxBuckets(10)
+                .get();
+    }
+
+    private List<String> values(List<ClusteredEntityWithTimeBucket> entities) {
+        final List<String> values = new ArrayList<>();
+        for (ClusteredEntityWithTimeBucket entity : entities) {
+            values.add(entity.getValue());
+        }
+        return values;
+    }
+}